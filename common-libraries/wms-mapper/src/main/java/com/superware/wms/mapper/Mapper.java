@@ -0,0 +1,32 @@
+package com.superware.wms.mapper;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an interface whose abstract methods are implemented at compile time by
+ * {@code MapperProcessor}. The generated class is named {@code <Interface>Impl}, lives in the
+ * same package and is a Spring {@code @Component} when Spring is on the compile classpath.
+ * <p>
+ * Supported method shapes:
+ * <ul>
+ *   <li>{@code T map(S source)} - copies every property that has a setter on {@code T} and a
+ *       getter of an assignable type with the same name on {@code S}</li>
+ *   <li>{@code List<T> map(List<S> sources)} (or any {@code Iterable<S>}) - maps each element
+ *       with the bean method for {@code S -> T} into a presized list</li>
+ *   <li>{@code Page<T> map(Page<S> page)} - same, wrapped in a {@code PageImpl} with the
+ *       original pageable and total</li>
+ * </ul>
+ * Null sources map to null. No reflection is used at runtime.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface Mapper {
+
+    /**
+     * How to report target properties that have no matching source property.
+     */
+    ReportingPolicy unmappedTargetPolicy() default ReportingPolicy.WARN;
+}
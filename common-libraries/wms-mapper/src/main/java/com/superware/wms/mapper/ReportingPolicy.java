@@ -0,0 +1,10 @@
+package com.superware.wms.mapper;
+
+/**
+ * Severity used by the mapper processor for mapping issues.
+ */
+public enum ReportingPolicy {
+    IGNORE,
+    WARN,
+    ERROR
+}
@@ -0,0 +1,338 @@
+package com.superware.wms.mapper.processor;
+
+import com.superware.wms.mapper.Mapper;
+import com.superware.wms.mapper.ReportingPolicy;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates implementations for interfaces annotated with {@link Mapper}.
+ * The generated code is plain getter/setter calls, equivalent to a hand-written converter.
+ */
+@SupportedAnnotationTypes("com.superware.wms.mapper.Mapper")
+public class MapperProcessor extends AbstractProcessor {
+
+    private static final String PAGE = "org.springframework.data.domain.Page";
+    private static final String PAGE_IMPL = "org.springframework.data.domain.PageImpl";
+    private static final String COMPONENT = "org.springframework.stereotype.Component";
+
+    private Elements elements;
+    private Types types;
+    private Messager messager;
+    private Filer filer;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.messager = processingEnv.getMessager();
+        this.filer = processingEnv.getFiler();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Mapper.class)) {
+            if (element.getKind() != ElementKind.INTERFACE) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "@Mapper can only be placed on interfaces", element);
+                continue;
+            }
+            try {
+                generate((TypeElement) element);
+            } catch (IOException e) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write mapper: " + e.getMessage(), element);
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement mapper) throws IOException {
+        ReportingPolicy policy = mapper.getAnnotation(Mapper.class).unmappedTargetPolicy();
+        String packageName = ((PackageElement) elements.getPackageOf(mapper)).getQualifiedName().toString();
+        String implName = mapper.getSimpleName() + "Impl";
+
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(mapper))) {
+            if (method.getModifiers().contains(Modifier.ABSTRACT)
+                    && method.getEnclosingElement().getKind() == ElementKind.INTERFACE) {
+                methods.add(method);
+            }
+        }
+
+        StringBuilder body = new StringBuilder();
+        for (ExecutableElement method : methods) {
+            if (method.getParameters().size() != 1 || method.getReturnType().getKind() != TypeKind.DECLARED) {
+                messager.printMessage(Diagnostic.Kind.ERROR,
+                        "Mapper methods must take one argument and return a class type", method);
+                continue;
+            }
+            TypeMirror sourceType = method.getParameters().get(0).asType();
+            DeclaredType targetType = (DeclaredType) method.getReturnType();
+
+            if (isPage(targetType)) {
+                writeCollectionMethod(body, methods, method, sourceType, targetType, true);
+            } else if (isList(targetType)) {
+                writeCollectionMethod(body, methods, method, sourceType, targetType, false);
+            } else {
+                writeBeanMethod(body, method, sourceType, targetType, policy);
+            }
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        if (elements.getTypeElement(COMPONENT) != null) {
+            source.append("@").append(COMPONENT).append("\n");
+        }
+        source.append("public class ").append(implName).append(" implements ")
+                .append(mapper.getQualifiedName()).append(" {\n")
+                .append(body)
+                .append("}\n");
+
+        JavaFileObject file = filer.createSourceFile(
+                packageName.isEmpty() ? implName : packageName + "." + implName, mapper);
+        try (Writer writer = file.openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    private void writeBeanMethod(StringBuilder out, ExecutableElement method, TypeMirror sourceType,
+                                 DeclaredType targetType, ReportingPolicy policy) {
+        String param = method.getParameters().get(0).getSimpleName().toString();
+        TypeElement target = (TypeElement) targetType.asElement();
+        if (sourceType.getKind() != TypeKind.DECLARED) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Mapper source must be a class type", method);
+            return;
+        }
+        if (!hasPublicNoArgConstructor(target)) {
+            messager.printMessage(Diagnostic.Kind.ERROR,
+                    target.getQualifiedName() + " needs a public no-argument constructor", method);
+            return;
+        }
+
+        Map<String, ExecutableElement> getters = getters(sourceType);
+        openMethod(out, method);
+        out.append("        if (").append(param).append(" == null) {\n")
+           .append("            return null;\n")
+           .append("        }\n")
+           .append("        ").append(targetType).append(" result = new ").append(targetType).append("();\n");
+
+        for (Map.Entry<String, List<ExecutableElement>> property : setters(targetType).entrySet()) {
+            ExecutableElement getter = getters.get(property.getKey());
+            ExecutableElement setter = null;
+            if (getter != null) {
+                TypeMirror valueType = ((ExecutableType) types.asMemberOf((DeclaredType) sourceType, getter)).getReturnType();
+                for (ExecutableElement candidate : property.getValue()) {
+                    TypeMirror parameterType = ((ExecutableType) types.asMemberOf(targetType, candidate))
+                            .getParameterTypes().get(0);
+                    if (types.isAssignable(valueType, parameterType)) {
+                        setter = candidate;
+                        break;
+                    }
+                }
+            }
+            if (setter == null) {
+                report(policy, "Unmapped target property \"" + property.getKey() + "\" in "
+                        + target.getQualifiedName(), method);
+                continue;
+            }
+            out.append("        result.").append(setter.getSimpleName()).append("(")
+               .append(param).append(".").append(getter.getSimpleName()).append("());\n");
+        }
+        out.append("        return result;\n")
+           .append("    }\n");
+    }
+
+    private void writeCollectionMethod(StringBuilder out, List<ExecutableElement> methods, ExecutableElement method,
+                                       TypeMirror sourceType, DeclaredType targetType, boolean page) {
+        String param = method.getParameters().get(0).getSimpleName().toString();
+        TypeMirror sourceElement = elementType(sourceType);
+        TypeMirror targetElement = elementType(targetType);
+        if (sourceElement == null || targetElement == null || (page && !isPage(sourceType))) {
+            messager.printMessage(Diagnostic.Kind.ERROR, page
+                    ? "Page mapping methods must map Page<S> to Page<T>"
+                    : "List mapping methods must map an Iterable<S> to List<T>", method);
+            return;
+        }
+        ExecutableElement elementMethod = findBeanMethod(methods, sourceElement, targetElement);
+        if (elementMethod == null) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "No mapping method from " + sourceElement
+                    + " to " + targetElement + " declared for " + method.getSimpleName(), method);
+            return;
+        }
+
+        String size;
+        if (page) {
+            size = param + ".getNumberOfElements()";
+        } else if (types.isAssignable(types.erasure(sourceType),
+                types.erasure(elements.getTypeElement("java.util.Collection").asType()))) {
+            size = param + ".size()";
+        } else {
+            size = "";
+        }
+
+        openMethod(out, method);
+        out.append("        if (").append(param).append(" == null) {\n")
+           .append("            return null;\n")
+           .append("        }\n")
+           .append("        java.util.List<").append(targetElement).append("> content = new java.util.ArrayList<>(")
+           .append(size).append(");\n")
+           .append("        for (").append(sourceElement).append(" element : ").append(param).append(") {\n")
+           .append("            content.add(").append(elementMethod.getSimpleName()).append("(element));\n")
+           .append("        }\n");
+        if (page) {
+            out.append("        return new ").append(PAGE_IMPL).append("<>(content, ").append(param)
+               .append(".getPageable(), ").append(param).append(".getTotalElements());\n");
+        } else {
+            out.append("        return content;\n");
+        }
+        out.append("    }\n");
+    }
+
+    private void openMethod(StringBuilder out, ExecutableElement method) {
+        VariableElement parameter = method.getParameters().get(0);
+        out.append("\n    @Override\n")
+           .append("    public ").append(method.getReturnType()).append(" ").append(method.getSimpleName())
+           .append("(").append(parameter.asType()).append(" ").append(parameter.getSimpleName()).append(") {\n");
+    }
+
+    private ExecutableElement findBeanMethod(List<ExecutableElement> methods, TypeMirror source, TypeMirror target) {
+        for (ExecutableElement candidate : methods) {
+            if (candidate.getParameters().size() == 1
+                    && types.isSameType(candidate.getParameters().get(0).asType(), source)
+                    && types.isSameType(candidate.getReturnType(), target)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    // Property name -> getter, for public no-arg getX()/isX() methods
+    private Map<String, ExecutableElement> getters(TypeMirror type) {
+        Map<String, ExecutableElement> getters = new LinkedHashMap<>();
+        TypeElement element = (TypeElement) types.asElement(type);
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(element))) {
+            if (!isPublicInstance(method) || !method.getParameters().isEmpty()
+                    || method.getReturnType().getKind() == TypeKind.VOID) {
+                continue;
+            }
+            String name = method.getSimpleName().toString();
+            String property = propertyName(name, "get");
+            if (property == null) {
+                property = propertyName(name, "is");
+            }
+            if (property != null && !property.equals("Class")) {
+                getters.putIfAbsent(property, method);
+            }
+        }
+        return getters;
+    }
+
+    // Property name -> setters in declaration order; overloads are resolved by assignability
+    private Map<String, List<ExecutableElement>> setters(DeclaredType type) {
+        Map<String, List<ExecutableElement>> setters = new LinkedHashMap<>();
+        TypeElement element = (TypeElement) type.asElement();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(element))) {
+            if (!isPublicInstance(method) || method.getParameters().size() != 1) {
+                continue;
+            }
+            String property = propertyName(method.getSimpleName().toString(), "set");
+            if (property != null) {
+                setters.computeIfAbsent(property, k -> new ArrayList<>()).add(method);
+            }
+        }
+        return setters;
+    }
+
+    private String propertyName(String methodName, String prefix) {
+        if (methodName.length() > prefix.length() && methodName.startsWith(prefix)
+                && Character.isUpperCase(methodName.charAt(prefix.length()))) {
+            return methodName.substring(prefix.length());
+        }
+        return null;
+    }
+
+    private boolean isPublicInstance(ExecutableElement method) {
+        Set<Modifier> modifiers = method.getModifiers();
+        return modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.STATIC);
+    }
+
+    private boolean hasPublicNoArgConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isPage(TypeMirror type) {
+        return hasErasure(type, PAGE);
+    }
+
+    private boolean isList(TypeMirror type) {
+        return hasErasure(type, "java.util.List");
+    }
+
+    private boolean hasErasure(TypeMirror type, String className) {
+        TypeElement element = elements.getTypeElement(className);
+        return element != null && types.isSameType(types.erasure(type), types.erasure(element.asType()));
+    }
+
+    // Element type of an Iterable<E>, List<E> or Page<E>
+    private TypeMirror elementType(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement iterable = elements.getTypeElement("java.lang.Iterable");
+        if (!types.isAssignable(types.erasure(type), types.erasure(iterable.asType()))) {
+            return null;
+        }
+        List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        return arguments.size() == 1 && arguments.get(0).getKind() == TypeKind.DECLARED ? arguments.get(0) : null;
+    }
+
+    private void report(ReportingPolicy policy, String message, Element element) {
+        if (policy == ReportingPolicy.WARN) {
+            messager.printMessage(Diagnostic.Kind.WARNING, message, element);
+        } else if (policy == ReportingPolicy.ERROR) {
+            messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.superware.wms.tenant.context;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs work as a given tenant on the current thread, e.g. from a scheduler or an endpoint that
+ * takes the tenant as a parameter.
+ */
+public final class TenantScope {
+
+    private TenantScope() {
+    }
+
+    /**
+     * Makes the tenant current for the work, then restores the thread's previous tenant, or
+     * clears the context if there was none, however the work ends.
+     *
+     * @param tenantId the tenant ID to run as
+     * @param work the work to run
+     * @return the work's result
+     */
+    public static <T> T call(String tenantId, Supplier<T> work) {
+        String previous = TenantContextHolder.getCurrentTenant();
+        TenantContextHolder.setCurrentTenant(tenantId);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                TenantContextHolder.setCurrentTenant(previous);
+            } else {
+                TenantContextHolder.clear();
+            }
+        }
+    }
+
+    /**
+     * @see #call(String, Supplier)
+     */
+    public static <T> T call(int tenantId, Supplier<T> work) {
+        return call(String.valueOf(tenantId), work);
+    }
+}
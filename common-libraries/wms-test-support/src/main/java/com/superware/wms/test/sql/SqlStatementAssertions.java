@@ -0,0 +1,48 @@
+package com.superware.wms.test.sql;
+
+/**
+ * Query budget assertions over {@link SqlStatementCounter#current()}. A failed assertion lists
+ * every statement that was counted, which usually points straight at the loop that issued them.
+ * <pre>
+ * SqlStatementCounter.reset();
+ * reservationService.confirmReservation(reservationId, userId);
+ * SqlStatementAssertions.assertMaxStatements(5);
+ * </pre>
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static void assertMaxStatements(int max) {
+        SqlStatementCount count = SqlStatementCounter.current();
+        check("statements", count.total(), max, count);
+    }
+
+    public static void assertMaxSelects(int max) {
+        SqlStatementCount count = SqlStatementCounter.current();
+        check("select statements", count.selects(), max, count);
+    }
+
+    public static void assertMaxInserts(int max) {
+        SqlStatementCount count = SqlStatementCounter.current();
+        check("insert statements", count.inserts(), max, count);
+    }
+
+    public static void assertMaxUpdates(int max) {
+        SqlStatementCount count = SqlStatementCounter.current();
+        check("update statements", count.updates(), max, count);
+    }
+
+    public static void assertMaxDeletes(int max) {
+        SqlStatementCount count = SqlStatementCounter.current();
+        check("delete statements", count.deletes(), max, count);
+    }
+
+    private static void check(String what, int actual, int max, SqlStatementCount count) {
+        if (actual > max) {
+            throw new AssertionError("Expected at most " + max + " " + what + " but " + actual
+                    + " were executed: " + count);
+        }
+    }
+}
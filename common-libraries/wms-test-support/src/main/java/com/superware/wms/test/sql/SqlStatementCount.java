@@ -0,0 +1,32 @@
+package com.superware.wms.test.sql;
+
+import java.util.List;
+
+/**
+ * Statements executed on the current thread since the last {@link SqlStatementCounter#reset()}.
+ * A JDBC batch counts once per statement, since it is one round trip to the database.
+ *
+ * @param statements the SQL of every counted statement, in execution order
+ */
+public record SqlStatementCount(int selects, int inserts, int updates, int deletes, int others,
+                                List<String> statements) {
+
+    public int total() {
+        return selects + inserts + updates + deletes + others;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder()
+                .append(total()).append(" statements (")
+                .append(selects).append(" select, ")
+                .append(inserts).append(" insert, ")
+                .append(updates).append(" update, ")
+                .append(deletes).append(" delete, ")
+                .append(others).append(" other)");
+        for (int i = 0; i < statements.size(); i++) {
+            text.append(System.lineSeparator()).append("  ").append(i + 1).append(". ").append(statements.get(i));
+        }
+        return text.toString();
+    }
+}
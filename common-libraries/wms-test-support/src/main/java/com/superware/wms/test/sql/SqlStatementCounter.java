@@ -0,0 +1,83 @@
+package com.superware.wms.test.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the SQL statements executed through a {@link #wrap(DataSource) wrapped} data source,
+ * per thread, so a test can measure exactly what one service call sent to the database.
+ * <p>
+ * Typical use: {@link #reset()} after the test data is in place, call the service, then check
+ * the result with {@link SqlStatementAssertions}. In a Spring context, register
+ * {@link SqlStatementCountingBeanPostProcessor} to wrap the {@code DataSource} bean.
+ */
+public final class SqlStatementCounter implements QueryExecutionListener {
+
+    private static final SqlStatementCounter LISTENER = new SqlStatementCounter();
+
+    private static final ThreadLocal<Recording> RECORDING = ThreadLocal.withInitial(Recording::new);
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * Wrap a data source so every statement executed through it is counted.
+     */
+    public static DataSource wrap(DataSource dataSource) {
+        if (dataSource instanceof ProxyDataSource) {
+            return dataSource;
+        }
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name("sql-statement-counter")
+                .listener(LISTENER)
+                .build();
+    }
+
+    /**
+     * Start counting from zero on the current thread.
+     */
+    public static void reset() {
+        RECORDING.remove();
+    }
+
+    /**
+     * Statements executed on the current thread since the last reset.
+     */
+    public static SqlStatementCount current() {
+        Recording recording = RECORDING.get();
+        return new SqlStatementCount(recording.counts[QueryType.SELECT.ordinal()],
+                recording.counts[QueryType.INSERT.ordinal()],
+                recording.counts[QueryType.UPDATE.ordinal()],
+                recording.counts[QueryType.DELETE.ordinal()],
+                recording.counts[QueryType.OTHER.ordinal()],
+                List.copyOf(recording.statements));
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Recording recording = RECORDING.get();
+        for (QueryInfo query : queryInfoList) {
+            QueryType type = QueryUtils.getQueryType(query.getQuery());
+            recording.counts[type.ordinal()]++;
+            recording.statements.add(query.getQuery());
+        }
+    }
+
+    private static final class Recording {
+        private final int[] counts = new int[QueryType.values().length];
+        private final List<String> statements = new ArrayList<>();
+    }
+}
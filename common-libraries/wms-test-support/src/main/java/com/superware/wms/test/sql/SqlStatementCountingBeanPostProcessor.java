@@ -0,0 +1,22 @@
+package com.superware.wms.test.sql;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every {@link DataSource} bean with {@link SqlStatementCounter#wrap(DataSource)}. Declare
+ * it as a {@code static} {@code @Bean} in a test configuration so it is registered before the
+ * data source is created.
+ */
+public class SqlStatementCountingBeanPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof DataSource dataSource) {
+            return SqlStatementCounter.wrap(dataSource);
+        }
+        return bean;
+    }
+}
@@ -1,15 +1,20 @@
 package com.superware.wms.inventory;
 
+import com.superware.wms.inventory.config.InventoryRuntimeHints;
 import com.superware.wms.inventory.repository.TenantAwareRepositoryFactoryBean;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaRepositories(
         basePackages = "com.superware.wms.inventory.repository",
         repositoryFactoryBeanClass = TenantAwareRepositoryFactoryBean.class
 )
+@EnableScheduling
+@ImportRuntimeHints(InventoryRuntimeHints.class)
 public class InventoryServiceApplication {
 
     public static void main(String[] args) {
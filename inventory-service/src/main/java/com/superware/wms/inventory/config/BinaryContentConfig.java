@@ -0,0 +1,64 @@
+package com.superware.wms.inventory.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Content negotiation for compact binary encodings of the inventory API.
+ * <p>
+ * Clients send {@code Accept: application/cbor} or {@code Accept: application/x-jackson-smile}
+ * (and the matching {@code Content-Type} on request bodies); JSON stays the default.
+ * Spring MVC registers CBOR and Smile converters on its own when the dataformats are on the
+ * classpath, but with a plain {@code ObjectMapper}. They are replaced here with mappers built
+ * from Boot's {@link Jackson2ObjectMapperBuilder} so dates and other settings match the JSON
+ * responses, or removed when {@code inventory.api.binary-formats-enabled} is false.
+ */
+@Configuration
+public class BinaryContentConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+    private final boolean binaryFormatsEnabled;
+
+    public BinaryContentConfig(Jackson2ObjectMapperBuilder objectMapperBuilder,
+                               @Value("${inventory.api.binary-formats-enabled:true}") boolean binaryFormatsEnabled) {
+        this.objectMapperBuilder = objectMapperBuilder;
+        this.binaryFormatsEnabled = binaryFormatsEnabled;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        if (binaryFormatsEnabled) {
+            converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper()));
+            converters.add(new MappingJackson2SmileHttpMessageConverter(smileMapper()));
+        }
+    }
+
+    ObjectMapper cborMapper() {
+        return objectMapperBuilder.build().copyWith(new CBORFactory());
+    }
+
+    /**
+     * Smile back-references repeated property names and short string values, so a page of
+     * DTOs carries each field name and status/unit code only once.
+     */
+    ObjectMapper smileMapper() {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return objectMapperBuilder.build().copyWith(factory);
+    }
+}
@@ -0,0 +1,117 @@
+package com.superware.wms.inventory.config;
+
+import com.superware.wms.inventory.dto.AbcClassificationDto;
+import com.superware.wms.inventory.dto.CycleCountScheduleDto;
+import com.superware.wms.inventory.dto.InventoryAdjustmentDetailDto;
+import com.superware.wms.inventory.dto.InventoryAdjustmentDto;
+import com.superware.wms.inventory.dto.InventoryCommandDto;
+import com.superware.wms.inventory.dto.InventoryCountDetailDto;
+import com.superware.wms.inventory.dto.InventoryCountDto;
+import com.superware.wms.inventory.dto.InventoryItemDto;
+import com.superware.wms.inventory.dto.InventoryPolicyDto;
+import com.superware.wms.inventory.dto.InventoryReservationDetailDto;
+import com.superware.wms.inventory.dto.InventoryReservationDto;
+import com.superware.wms.inventory.dto.InventoryTransactionDetailDto;
+import com.superware.wms.inventory.dto.InventoryTransactionDto;
+import com.superware.wms.inventory.dto.InventoryValuationDto;
+import com.superware.wms.inventory.dto.InventoryValuationRunDto;
+import com.superware.wms.inventory.dto.JournalPostingDto;
+import com.superware.wms.inventory.dto.PickSequenceDto;
+import com.superware.wms.inventory.dto.PutawaySuggestionDto;
+import com.superware.wms.inventory.dto.PutawaySuggestionRunDto;
+import com.superware.wms.inventory.dto.ReplenishmentSweepDto;
+import com.superware.wms.inventory.dto.SlottingMoveDto;
+import com.superware.wms.inventory.dto.SlottingPlanDto;
+import com.superware.wms.inventory.dto.StockAvailabilityDto;
+import com.superware.wms.inventory.dto.TenantPoolStatsDto;
+import com.superware.wms.inventory.dto.TenantRoutingStatsDto;
+import com.superware.wms.inventory.dto.WavePlanDto;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.entity.types.QuantityConstraintValidators;
+import com.superware.wms.inventory.entity.types.QuantityConverter;
+import com.superware.wms.inventory.entity.types.QuantityJsonDeserializer;
+import com.superware.wms.inventory.entity.types.QuantityJsonSerializer;
+import com.superware.wms.inventory.repository.InventoryItemRepository;
+import com.superware.wms.inventory.repository.TenantAwareRepository;
+import com.superware.wms.inventory.repository.TenantAwareRepositoryFactoryBean;
+import com.superware.wms.inventory.repository.TenantAwareRepositoryImpl;
+import com.superware.wms.inventory.service.stock.StockIndexEntityListener;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.data.projection.TargetAware;
+
+import java.util.List;
+
+/**
+ * Reflection, proxy and resource hints for the native image build (see the {@code native} profile).
+ * <p>
+ * Spring's AOT processing covers beans, entities and controller signatures on its own; these are
+ * the types it cannot see: the repository base class selected inside
+ * {@link TenantAwareRepositoryFactoryBean}, the entity listener Hibernate instantiates, interface
+ * projections from native queries, the classes behind the {@link Quantity} annotations, and the
+ * swagger-ui assets that springdoc serves from its webjar.
+ */
+public class InventoryRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> DTOS = List.of(
+            AbcClassificationDto.class, CycleCountScheduleDto.class, InventoryAdjustmentDetailDto.class,
+            InventoryAdjustmentDto.class, InventoryCommandDto.class, InventoryCountDetailDto.class,
+            InventoryCountDto.class, InventoryItemDto.class, InventoryPolicyDto.class,
+            InventoryReservationDetailDto.class, InventoryReservationDto.class, InventoryTransactionDetailDto.class,
+            InventoryTransactionDto.class, InventoryValuationDto.class, InventoryValuationRunDto.class,
+            JournalPostingDto.class, PickSequenceDto.class, PutawaySuggestionDto.class, PutawaySuggestionRunDto.class,
+            ReplenishmentSweepDto.class, SlottingMoveDto.class, SlottingPlanDto.class, StockAvailabilityDto.class,
+            TenantPoolStatsDto.class, TenantRoutingStatsDto.class, WavePlanDto.class);
+
+    private static final List<Class<?>> PROJECTIONS = List.of(
+            InventoryItemRepository.StockTotals.class, InventoryItemRepository.LocationStock.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Spring Data instantiates the base class reflectively and dispatches CRUD calls to it by Method
+        hints.reflection()
+                .registerType(TenantAwareRepositoryFactoryBean.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .registerType(TenantAwareRepositoryImpl.class,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS)
+                .registerType(TenantAwareRepository.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        // Created by Hibernate from @EntityListeners, with its ObjectProvider field injected by Spring
+        hints.reflection().registerType(StockIndexEntityListener.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS,
+                MemberCategory.DECLARED_FIELDS);
+
+        for (Class<?> projection : PROJECTIONS) {
+            hints.proxies().registerJdkProxy(projection, TargetAware.class, SpringProxy.class, DecoratingProxy.class);
+            hints.reflection().registerType(projection, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        // Jackson binding and springdoc schemas for request and response bodies; JPQL constructor
+        // expressions ("SELECT new ...Dto(...)") need the public constructors as well
+        BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+        bindings.registerReflectionHints(hints.reflection(), DTOS.toArray(Class<?>[]::new));
+        for (Class<?> dto : DTOS) {
+            hints.reflection().registerType(dto, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+
+        // Quantity: @JsonSerialize/@JsonDeserialize targets, the auto-applied JPA converter,
+        // valueOf(String) for request parameter binding, and ServiceLoader-registered validators
+        hints.reflection()
+                .registerType(QuantityJsonSerializer.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .registerType(QuantityJsonDeserializer.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .registerType(QuantityConverter.class,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS)
+                .registerType(Quantity.class, MemberCategory.INVOKE_PUBLIC_METHODS)
+                .registerType(QuantityConstraintValidators.PositiveValidator.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .registerType(QuantityConstraintValidators.PositiveOrZeroValidator.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        hints.resources().registerPattern("META-INF/services/jakarta.validation.ConstraintValidator");
+
+        // swagger-ui is served from the webjar's classpath resources
+        hints.resources()
+                .registerPattern("META-INF/resources/webjars/swagger-ui/**")
+                .registerPattern("META-INF/maven/org.webjars/swagger-ui/pom.properties");
+    }
+}
@@ -0,0 +1,66 @@
+package com.superware.wms.inventory.config;
+
+import com.superware.wms.tenant.context.TenantContextHolder;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pins a caller's reads to the primary for a short window after it commits a write,
+ * so it never reads its own changes back from a replica that has not replayed them yet.
+ * <p>
+ * A caller is the current tenant plus the authenticated user when there is one; anonymous
+ * and background callers are pinned per tenant. Registered with the transaction manager as
+ * a {@link TransactionExecutionListener}.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private final long pinMillis;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long pinMillis) {
+        this.pinMillis = pinMillis;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            pinnedUntil.put(currentCaller(), System.currentTimeMillis() + pinMillis);
+        }
+    }
+
+    /**
+     * Returns whether the current caller committed a write within the pin window.
+     */
+    public boolean isPinned() {
+        Long until = pinnedUntil.get(currentCaller());
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    /**
+     * Drop expired pins so the map only holds recently active callers.
+     */
+    public void removeExpired() {
+        long now = System.currentTimeMillis();
+        pinnedUntil.values().removeIf(until -> until <= now);
+    }
+
+    int size() {
+        return pinnedUntil.size();
+    }
+
+    private String currentCaller() {
+        String tenantId = TenantContextHolder.getCurrentTenant();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return String.valueOf(tenantId);
+        }
+        return tenantId + ":" + authentication.getName();
+    }
+}
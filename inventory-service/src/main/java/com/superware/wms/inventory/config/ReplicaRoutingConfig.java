@@ -0,0 +1,62 @@
+package com.superware.wms.inventory.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} service methods to a read replica.
+ * The primary is configured by {@code spring.datasource}, the replica by {@code inventory.replica}.
+ * Only active when {@code inventory.replica.enabled} is true.
+ */
+@Configuration
+@ConditionalOnProperty(name = "inventory.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${inventory.replica.read-your-writes-ms:5000}") long pinMillis) {
+        return new ReadYourWritesTracker(pinMillis);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties primaryProperties,
+            ReadYourWritesTracker readYourWritesTracker,
+            @Value("${inventory.replica.url}") String url,
+            @Value("${inventory.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${inventory.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${inventory.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${inventory.replica.max-lag-ms:2000}") long maxLagMillis) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(maximumPoolSize);
+        replica.setReadOnly(true);
+
+        return new ReplicaRoutingDataSource(primary, replica, readYourWritesTracker, maxLagMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
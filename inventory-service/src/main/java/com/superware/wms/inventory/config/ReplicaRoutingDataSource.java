@@ -0,0 +1,111 @@
+package com.superware.wms.inventory.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * Routes read-only transactions to a replica pool and everything else to the primary.
+ * <p>
+ * The replica is used only while its measured replay lag is within {@code maxLagMillis}
+ * and the caller is not pinned by {@link ReadYourWritesTracker}. Must be wrapped in a
+ * {@code LazyConnectionDataSourceProxy} so the connection is fetched after the transaction's
+ * read-only flag has been set.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Zero when the replica has replayed everything it received, otherwise age of the last replayed commit
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END::BIGINT";
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final long maxLagMillis;
+    private final JdbcTemplate replicaJdbcTemplate;
+
+    private volatile boolean replicaUsable;
+    private volatile long replicaLagMillis = -1;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary,
+                                    HikariDataSource replica,
+                                    ReadYourWritesTracker readYourWritesTracker,
+                                    long maxLagMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.maxLagMillis = maxLagMillis;
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && replicaUsable
+                && !readYourWritesTracker.isPinned()) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Measure replica lag; the replica stays out of rotation until the first check succeeds.
+     */
+    @Scheduled(fixedDelayString = "${inventory.replica.lag-check-interval-ms:1000}")
+    public void checkReplicaLag() {
+        Long lag;
+        try {
+            lag = replicaJdbcTemplate.queryForObject(LAG_QUERY, Long.class);
+        } catch (RuntimeException e) {
+            if (replicaUsable) {
+                log.warn("Replica lag check failed, routing reads to primary: {}", e.getMessage());
+            }
+            replicaLagMillis = -1;
+            replicaUsable = false;
+            return;
+        }
+        updateLag(lag != null ? lag : 0);
+        readYourWritesTracker.removeExpired();
+    }
+
+    void updateLag(long lagMillis) {
+        boolean usable = lagMillis <= maxLagMillis;
+        if (usable != replicaUsable) {
+            log.info("Replica lag {} ms, routing reads to {}", lagMillis, usable ? REPLICA : PRIMARY);
+        }
+        replicaLagMillis = lagMillis;
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * Returns the last measured replica lag in milliseconds, or -1 if the replica could not be reached.
+     */
+    public long getReplicaLagMillis() {
+        return replicaLagMillis;
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+}
@@ -0,0 +1,264 @@
+package com.superware.wms.inventory.config;
+
+import com.superware.wms.inventory.dto.TenantPoolStatsDto;
+import com.superware.wms.inventory.dto.TenantRoutingStatsDto;
+import com.superware.wms.inventory.exception.TenantPoolLimitException;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded registry of connection pools for tenants on the DEDICATED_DATABASE model.
+ * <p>
+ * Pools are created on a tenant's first request and closed again once they have been idle
+ * for {@code poolIdleTimeout}. At most {@code maxDedicatedPools} are open at a time; when the
+ * limit is reached the least recently used pool without active connections makes room, and if
+ * every pool is busy the request is rejected with {@link TenantPoolLimitException}.
+ * <p>
+ * A pool is only closed once nothing holds or is taking a connection from it: callers borrow
+ * through {@link #getConnection} under a lease, and eviction first retires the pool so no new
+ * lease can be taken. A caller that finds its pool retired looks it up again and gets a new one.
+ */
+public class TenantDataSourceRegistry implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantDataSourceRegistry.class);
+
+    private final TenantRoutingProperties properties;
+    private final Map<String, PoolEntry> pools = new ConcurrentHashMap<>();
+    private final Object creationLock = new Object();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public TenantDataSourceRegistry(TenantRoutingProperties properties) {
+        if (properties.getMaxDedicatedPools() < 1) {
+            throw new IllegalArgumentException("At least one dedicated pool must be allowed");
+        }
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the pool for a dedicated-database tenant, creating it if needed.
+     *
+     * @param tenantId the ID of the tenant
+     * @param route the tenant's routing entry
+     * @return the tenant's data source
+     */
+    public HikariDataSource getDataSource(String tenantId, TenantRoutingProperties.TenantRoute route) {
+        return lookup(tenantId, route).dataSource;
+    }
+
+    /**
+     * Borrows a connection from a dedicated-database tenant's pool, creating the pool if needed.
+     * Unlike a connection taken from {@link #getDataSource}, this cannot race the pool's eviction.
+     *
+     * @param tenantId the ID of the tenant
+     * @param route the tenant's routing entry
+     * @return a connection to the tenant's database
+     */
+    public Connection getConnection(String tenantId, TenantRoutingProperties.TenantRoute route) throws SQLException {
+        while (true) {
+            PoolEntry entry = lookup(tenantId, route);
+            if (!entry.acquire()) {
+                // Retired between the lookup and the lease; the next lookup finds or opens its successor
+                Thread.onSpinWait();
+                continue;
+            }
+            try {
+                return entry.dataSource.getConnection();
+            } finally {
+                entry.release();
+            }
+        }
+    }
+
+    private PoolEntry lookup(String tenantId, TenantRoutingProperties.TenantRoute route) {
+        PoolEntry entry = pools.get(tenantId);
+        if (entry != null) {
+            hits.increment();
+            entry.touch();
+            return entry;
+        }
+
+        synchronized (creationLock) {
+            entry = pools.get(tenantId);
+            if (entry == null) {
+                misses.increment();
+                if (pools.size() >= properties.getMaxDedicatedPools() && !evictLeastRecentlyUsed()) {
+                    rejected.increment();
+                    throw new TenantPoolLimitException(tenantId, properties.getMaxDedicatedPools());
+                }
+                entry = new PoolEntry(createDataSource(tenantId, route));
+                pools.put(tenantId, entry);
+                created.increment();
+                log.info("Opened dedicated connection pool for tenant {}", tenantId);
+            }
+        }
+        entry.touch();
+        return entry;
+    }
+
+    /**
+     * Close pools that have had no activity for longer than the idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${inventory.tenancy.eviction-interval-ms:60000}")
+    public void evictIdlePools() {
+        long cutoff = System.currentTimeMillis() - properties.getPoolIdleTimeout().toMillis();
+        synchronized (creationLock) {
+            for (Map.Entry<String, PoolEntry> e : pools.entrySet()) {
+                PoolEntry entry = e.getValue();
+                if (entry.lastUsed <= cutoff && entry.retire()) {
+                    close(e.getKey(), entry);
+                }
+            }
+        }
+    }
+
+    public TenantRoutingStatsDto getStats() {
+        TenantRoutingStatsDto stats = new TenantRoutingStatsDto();
+        stats.setMaxDedicatedPools(properties.getMaxDedicatedPools());
+        stats.setOpenPools(pools.size());
+        stats.setPoolHits(hits.sum());
+        stats.setPoolMisses(misses.sum());
+        stats.setPoolsCreated(created.sum());
+        stats.setPoolsEvicted(evicted.sum());
+        stats.setRejectedRequests(rejected.sum());
+
+        List<TenantPoolStatsDto> poolStats = new ArrayList<>();
+        pools.forEach((tenantId, entry) -> {
+            TenantPoolStatsDto dto = new TenantPoolStatsDto();
+            dto.setTenantId(tenantId);
+            HikariPoolMXBean pool = entry.dataSource.getHikariPoolMXBean();
+            if (pool != null) {
+                dto.setActiveConnections(pool.getActiveConnections());
+                dto.setIdleConnections(pool.getIdleConnections());
+                dto.setTotalConnections(pool.getTotalConnections());
+                dto.setThreadsAwaitingConnection(pool.getThreadsAwaitingConnection());
+            }
+            dto.setMaximumPoolSize(entry.dataSource.getMaximumPoolSize());
+            dto.setLastUsedAt(Instant.ofEpochMilli(entry.lastUsed));
+            poolStats.add(dto);
+        });
+        stats.setPools(poolStats);
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        synchronized (creationLock) {
+            pools.forEach((tenantId, entry) -> {
+                entry.leases.set(PoolEntry.RETIRED);
+                close(tenantId, entry);
+            });
+        }
+    }
+
+    // Caller holds creationLock
+    private boolean evictLeastRecentlyUsed() {
+        List<Map.Entry<String, PoolEntry>> candidates = new ArrayList<>(pools.entrySet());
+        candidates.sort(Comparator.comparingLong(e -> e.getValue().lastUsed));
+        for (Map.Entry<String, PoolEntry> e : candidates) {
+            if (e.getValue().retire()) {
+                close(e.getKey(), e.getValue());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void close(String tenantId, PoolEntry entry) {
+        pools.remove(tenantId, entry);
+        entry.dataSource.close();
+        evicted.increment();
+        log.info("Closed dedicated connection pool for tenant {}", tenantId);
+    }
+
+    private HikariDataSource createDataSource(String tenantId, TenantRoutingProperties.TenantRoute route) {
+        if (route.getUrl() == null) {
+            throw new IllegalStateException("No JDBC URL configured for dedicated tenant " + tenantId);
+        }
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("tenant-" + tenantId);
+        config.setJdbcUrl(route.getUrl());
+        config.setUsername(route.getUsername());
+        config.setPassword(route.getPassword());
+        config.setMaximumPoolSize(route.getMaximumPoolSize() != null
+                ? route.getMaximumPoolSize() : properties.getDedicatedPoolSize());
+        // Keep nothing open while the tenant is quiet; the registry closes the pool entirely later
+        config.setMinimumIdle(0);
+        config.setIdleTimeout(Math.max(10_000, properties.getPoolIdleTimeout().toMillis() / 2));
+        return new HikariDataSource(config);
+    }
+
+    private static final class PoolEntry {
+
+        private static final int RETIRED = Integer.MIN_VALUE;
+
+        private final HikariDataSource dataSource;
+        private volatile long lastUsed = System.currentTimeMillis();
+        // Callers taking a connection right now, or RETIRED once the pool is being closed
+        private final AtomicInteger leases = new AtomicInteger();
+
+        private PoolEntry(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private void touch() {
+            lastUsed = System.currentTimeMillis();
+        }
+
+        private boolean acquire() {
+            int current;
+            do {
+                current = leases.get();
+                if (current < 0) {
+                    return false;
+                }
+            } while (!leases.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        private void release() {
+            leases.decrementAndGet();
+        }
+
+        /**
+         * Stops new leases if the pool has neither leases nor active connections. A connection
+         * taken under a lease is active before the lease is released, so none can slip past.
+         *
+         * @return whether the pool may be closed
+         */
+        private boolean retire() {
+            if (!leases.compareAndSet(0, RETIRED)) {
+                return false;
+            }
+            if (activeConnections() > 0) {
+                leases.set(0);
+                return false;
+            }
+            return true;
+        }
+
+        private int activeConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+    }
+}
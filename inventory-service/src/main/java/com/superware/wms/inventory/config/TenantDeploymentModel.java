@@ -0,0 +1,10 @@
+package com.superware.wms.inventory.config;
+
+/**
+ * How a tenant's data is isolated, following the tiers in db/MULTI_TENANCY_STRATEGY.md.
+ */
+public enum TenantDeploymentModel {
+    SHARED_SCHEMA,
+    SCHEMA_PER_TENANT,
+    DEDICATED_DATABASE
+}
@@ -1,15 +1,27 @@
 package com.superware.wms.inventory.config;
 
 import com.superware.wms.tenant.context.TenantContextHolder;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+
 /**
  * Hibernate tenant identifier resolver that retrieves the current tenant ID
  * from the TenantContextHolder.
+ * <p>
+ * Handed to Hibernate as this bean instance rather than by class name, so Hibernate does not
+ * instantiate a second copy reflectively and the registration is visible to AOT processing.
  */
 @Component
-public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String> {
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String>, HibernatePropertiesCustomizer {
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, this);
+    }
 
     @Override
     public String resolveCurrentTenantIdentifier() {
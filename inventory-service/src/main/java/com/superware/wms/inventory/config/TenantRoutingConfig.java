@@ -0,0 +1,39 @@
+package com.superware.wms.inventory.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Enables Hibernate multi-tenancy with per-tenant connection routing, so tenants on the
+ * schema-per-tenant and dedicated-database tiers can run in the same deployment as
+ * shared-schema tenants. Only active when {@code inventory.tenancy.routing-enabled} is true.
+ */
+@Configuration
+@ConditionalOnProperty(name = "inventory.tenancy.routing-enabled", havingValue = "true")
+@EnableConfigurationProperties(TenantRoutingProperties.class)
+public class TenantRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    public TenantDataSourceRegistry tenantDataSourceRegistry(TenantRoutingProperties properties) {
+        return new TenantDataSourceRegistry(properties);
+    }
+
+    @Bean
+    public TenantRoutingConnectionProvider tenantRoutingConnectionProvider(DataSource dataSource,
+                                                                           TenantDataSourceRegistry registry,
+                                                                           TenantRoutingProperties properties) {
+        return new TenantRoutingConnectionProvider(dataSource, registry, properties);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer tenantRoutingHibernateCustomizer(TenantRoutingConnectionProvider connectionProvider) {
+        return hibernateProperties ->
+                hibernateProperties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, connectionProvider);
+    }
+}
@@ -0,0 +1,106 @@
+package com.superware.wms.inventory.config;
+
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.regex.Pattern;
+
+/**
+ * Hibernate connection provider that routes each session to its tenant's storage:
+ * <ul>
+ *   <li>SHARED_SCHEMA - a shared connection; rows are isolated by the tenantFilter</li>
+ *   <li>SCHEMA_PER_TENANT - a shared connection with search_path set to the tenant schema</li>
+ *   <li>DEDICATED_DATABASE - a connection from the tenant's own pool</li>
+ * </ul>
+ * The tenant identifier comes from {@link TenantIdentifierResolver}.
+ */
+public class TenantRoutingConnectionProvider implements MultiTenantConnectionProvider<String> {
+
+    private static final Pattern SCHEMA_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private final DataSource sharedDataSource;
+    private final TenantDataSourceRegistry registry;
+    private final TenantRoutingProperties properties;
+
+    public TenantRoutingConnectionProvider(DataSource sharedDataSource,
+                                           TenantDataSourceRegistry registry,
+                                           TenantRoutingProperties properties) {
+        this.sharedDataSource = sharedDataSource;
+        this.registry = registry;
+        this.properties = properties;
+        properties.getTenants().forEach((tenantId, route) -> {
+            if (route.getModel() == TenantDeploymentModel.SCHEMA_PER_TENANT
+                    && (route.getSchema() == null || !SCHEMA_NAME.matcher(route.getSchema()).matches())) {
+                throw new IllegalStateException("Invalid schema configured for tenant " + tenantId + ": " + route.getSchema());
+            }
+        });
+    }
+
+    @Override
+    public Connection getAnyConnection() throws SQLException {
+        return sharedDataSource.getConnection();
+    }
+
+    @Override
+    public void releaseAnyConnection(Connection connection) throws SQLException {
+        connection.close();
+    }
+
+    @Override
+    public Connection getConnection(String tenantIdentifier) throws SQLException {
+        TenantRoutingProperties.TenantRoute route = properties.getRoute(tenantIdentifier);
+        if (route == null) {
+            return sharedDataSource.getConnection();
+        }
+        switch (route.getModel()) {
+            case DEDICATED_DATABASE:
+                return registry.getConnection(tenantIdentifier, route);
+            case SCHEMA_PER_TENANT:
+                Connection connection = sharedDataSource.getConnection();
+                try {
+                    // The Postgres driver issues SET search_path for this
+                    connection.setSchema(route.getSchema());
+                } catch (SQLException e) {
+                    connection.close();
+                    throw e;
+                }
+                return connection;
+            default:
+                return sharedDataSource.getConnection();
+        }
+    }
+
+    @Override
+    public void releaseConnection(String tenantIdentifier, Connection connection) throws SQLException {
+        try {
+            TenantRoutingProperties.TenantRoute route = properties.getRoute(tenantIdentifier);
+            if (route != null && route.getModel() == TenantDeploymentModel.SCHEMA_PER_TENANT) {
+                // Shared connections go back to the pool, so the next borrower must not inherit the schema
+                connection.setSchema(properties.getDefaultSchema());
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isAssignableFrom(getClass());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> unwrapType) {
+        if (isUnwrappableAs(unwrapType)) {
+            return (T) this;
+        }
+        throw new IllegalArgumentException("Cannot unwrap as " + unwrapType.getName());
+    }
+}
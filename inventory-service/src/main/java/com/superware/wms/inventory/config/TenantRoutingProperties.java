@@ -0,0 +1,143 @@
+package com.superware.wms.inventory.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-tenant connection routing settings bound from {@code inventory.tenancy}.
+ * Tenants that are not listed stay on the shared schema.
+ */
+@ConfigurationProperties(prefix = "inventory.tenancy")
+public class TenantRoutingProperties {
+
+    /** Schema restored on shared connections after a schema-per-tenant session. */
+    private String defaultSchema = "public";
+
+    /** Upper bound on dedicated-database pools open at the same time. */
+    private int maxDedicatedPools = 16;
+
+    /** Dedicated pools unused for this long are closed. */
+    private Duration poolIdleTimeout = Duration.ofMinutes(10);
+
+    /** Default maximum size of each dedicated pool. */
+    private int dedicatedPoolSize = 5;
+
+    private Map<String, TenantRoute> tenants = new LinkedHashMap<>();
+
+    public String getDefaultSchema() {
+        return defaultSchema;
+    }
+
+    public void setDefaultSchema(String defaultSchema) {
+        this.defaultSchema = defaultSchema;
+    }
+
+    public int getMaxDedicatedPools() {
+        return maxDedicatedPools;
+    }
+
+    public void setMaxDedicatedPools(int maxDedicatedPools) {
+        this.maxDedicatedPools = maxDedicatedPools;
+    }
+
+    public Duration getPoolIdleTimeout() {
+        return poolIdleTimeout;
+    }
+
+    public void setPoolIdleTimeout(Duration poolIdleTimeout) {
+        this.poolIdleTimeout = poolIdleTimeout;
+    }
+
+    public int getDedicatedPoolSize() {
+        return dedicatedPoolSize;
+    }
+
+    public void setDedicatedPoolSize(int dedicatedPoolSize) {
+        this.dedicatedPoolSize = dedicatedPoolSize;
+    }
+
+    public Map<String, TenantRoute> getTenants() {
+        return tenants;
+    }
+
+    public void setTenants(Map<String, TenantRoute> tenants) {
+        this.tenants = tenants;
+    }
+
+    /**
+     * Returns the route for a tenant, or null when the tenant uses the shared schema.
+     */
+    public TenantRoute getRoute(String tenantId) {
+        return tenantId != null ? tenants.get(tenantId) : null;
+    }
+
+    /**
+     * Routing entry for one tenant.
+     */
+    public static class TenantRoute {
+
+        private TenantDeploymentModel model = TenantDeploymentModel.SHARED_SCHEMA;
+
+        /** Schema name for SCHEMA_PER_TENANT. */
+        private String schema;
+
+        /** JDBC settings for DEDICATED_DATABASE. */
+        private String url;
+        private String username;
+        private String password;
+
+        /** Overrides the default dedicated pool size when set. */
+        private Integer maximumPoolSize;
+
+        public TenantDeploymentModel getModel() {
+            return model;
+        }
+
+        public void setModel(TenantDeploymentModel model) {
+            this.model = model;
+        }
+
+        public String getSchema() {
+            return schema;
+        }
+
+        public void setSchema(String schema) {
+            this.schema = schema;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public Integer getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(Integer maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.superware.wms.inventory.controller;
+
+import com.superware.wms.inventory.dto.AbcClassificationDto;
+import com.superware.wms.inventory.service.AbcClassificationService;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for velocity-based ABC classification.
+ * Only registered when {@code inventory.abc.enabled} is true.
+ */
+@RestController
+@RequestMapping("/api/v1/inventory/admin/abc-classification")
+@ConditionalOnProperty(name = "inventory.abc.enabled", havingValue = "true")
+@Tag(name = "ABC Classification", description = "APIs for classifying products by issue velocity and value")
+public class AbcClassificationController {
+
+    private final AbcClassificationService abcClassificationService;
+
+    @Autowired
+    public AbcClassificationController(AbcClassificationService abcClassificationService) {
+        this.abcClassificationService = abcClassificationService;
+    }
+
+    /**
+     * POST /api/v1/inventory/admin/abc-classification : Classify the current tenant's products now
+     *
+     * @return The processed transaction range and the class sizes
+     */
+    @PostMapping
+    @Operation(
+        summary = "Classify the current tenant's products now",
+        description = "Rolls up the issues recorded since the last run and rewrites the ABC class of every inventory policy from the rolling window, without waiting for the nightly job."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Classification completed",
+            content = @Content(schema = @Schema(implementation = AbcClassificationDto.class))
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<AbcClassificationDto> classify() {
+        return ResponseEntity.ok(abcClassificationService.classify(Integer.valueOf(TenantContextHolder.getCurrentTenant())));
+    }
+}
@@ -0,0 +1,66 @@
+package com.superware.wms.inventory.controller;
+
+import com.superware.wms.inventory.dto.CycleCountScheduleDto;
+import com.superware.wms.inventory.service.CycleCountSchedulerService;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * REST controller for risk-based cycle count scheduling.
+ * Only registered when {@code inventory.cycle-count.enabled} is true.
+ */
+@RestController
+@RequestMapping("/api/v1/inventory/admin/cycle-counts")
+@ConditionalOnProperty(name = "inventory.cycle-count.enabled", havingValue = "true")
+@Tag(name = "Cycle Count Scheduling", description = "APIs for scheduling risk-based cycle counts")
+public class CycleCountSchedulerController {
+
+    private final CycleCountSchedulerService cycleCountSchedulerService;
+
+    @Autowired
+    public CycleCountSchedulerController(CycleCountSchedulerService cycleCountSchedulerService) {
+        this.cycleCountSchedulerService = cycleCountSchedulerService;
+    }
+
+    /**
+     * POST /api/v1/inventory/admin/cycle-counts/schedule : Schedule the current tenant's cycle counts for a day
+     *
+     * @param date The day to schedule (default today)
+     * @return What was found due and created
+     */
+    @PostMapping("/schedule")
+    @Operation(
+        summary = "Schedule the current tenant's cycle counts for a day",
+        description = "Creates pending cycle counts for the riskiest due locations of every facility within the daily labor budget. Unlike the nightly job this runs immediately, also inside picking hours."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Counts scheduled",
+            content = @Content(schema = @Schema(implementation = CycleCountScheduleDto.class))
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<CycleCountScheduleDto> scheduleCounts(
+            @Parameter(description = "Day to schedule counts for (yyyy-MM-dd), default today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(cycleCountSchedulerService.scheduleCounts(
+                Integer.valueOf(TenantContextHolder.getCurrentTenant()), date != null ? date : LocalDate.now()));
+    }
+}
@@ -3,7 +3,8 @@ package com.superware.wms.inventory.controller;
 import com.superware.wms.inventory.dto.InventoryAdjustmentDto;
 import com.superware.wms.inventory.dto.InventoryAdjustmentDetailDto;
 import com.superware.wms.inventory.entity.InventoryAdjustment;
-import com.superware.wms.inventory.entity.InventoryAdjustmentDetail;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.mapper.InventoryAdjustmentMapper;
 import com.superware.wms.inventory.service.InventoryAdjustmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -22,10 +23,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import jakarta.validation.Valid;
-import java.math.BigDecimal;
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * REST controller for managing inventory adjustments.
@@ -36,10 +35,13 @@ import java.util.stream.Collectors;
 public class InventoryAdjustmentController {
 
     private final InventoryAdjustmentService inventoryAdjustmentService;
+    private final InventoryAdjustmentMapper inventoryAdjustmentMapper;
 
     @Autowired
-    public InventoryAdjustmentController(InventoryAdjustmentService inventoryAdjustmentService) {
+    public InventoryAdjustmentController(InventoryAdjustmentService inventoryAdjustmentService,
+                                         InventoryAdjustmentMapper inventoryAdjustmentMapper) {
         this.inventoryAdjustmentService = inventoryAdjustmentService;
+        this.inventoryAdjustmentMapper = inventoryAdjustmentMapper;
     }
 
     /**
@@ -64,9 +66,7 @@ public class InventoryAdjustmentController {
     public ResponseEntity<Page<InventoryAdjustmentDto>> getAllAdjustments(
             @Parameter(description = "Pagination and sorting parameters")
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<InventoryAdjustment> adjustments = inventoryAdjustmentService.getAllAdjustments(pageable);
-        Page<InventoryAdjustmentDto> adjustmentDtos = adjustments.map(this::convertToDto);
-        return ResponseEntity.ok(adjustmentDtos);
+        return ResponseEntity.ok(inventoryAdjustmentService.getAllAdjustmentDtos(pageable));
     }
 
     /**
@@ -92,8 +92,7 @@ public class InventoryAdjustmentController {
     public ResponseEntity<InventoryAdjustmentDto> getAdjustmentById(
             @Parameter(description = "ID of the inventory adjustment to be retrieved", required = true)
             @PathVariable Integer id) {
-        InventoryAdjustment adjustment = inventoryAdjustmentService.getAdjustmentById(id);
-        return ResponseEntity.ok(convertToDto(adjustment));
+        return ResponseEntity.ok(inventoryAdjustmentService.getAdjustmentDtoById(id));
     }
 
     /**
@@ -119,7 +118,7 @@ public class InventoryAdjustmentController {
     public ResponseEntity<InventoryAdjustmentDto> createAdjustment(
             @Parameter(description = "Inventory adjustment to be created", required = true)
             @Valid @RequestBody InventoryAdjustmentDto adjustmentDto) {
-        InventoryAdjustment adjustment = convertToEntity(adjustmentDto);
+        InventoryAdjustment adjustment = inventoryAdjustmentMapper.toEntity(adjustmentDto);
         InventoryAdjustment createdAdjustment = inventoryAdjustmentService.createAdjustment(adjustment);
         
         URI location = ServletUriComponentsBuilder
@@ -128,7 +127,7 @@ public class InventoryAdjustmentController {
             .buildAndExpand(createdAdjustment.getAdjustmentId())
             .toUri();
             
-        return ResponseEntity.created(location).body(convertToDto(createdAdjustment));
+        return ResponseEntity.created(location).body(inventoryAdjustmentMapper.toDto(createdAdjustment));
     }
 
     /**
@@ -158,9 +157,9 @@ public class InventoryAdjustmentController {
             @PathVariable Integer id,
             @Parameter(description = "Updated inventory adjustment data", required = true)
             @Valid @RequestBody InventoryAdjustmentDto adjustmentDto) {
-        InventoryAdjustment adjustment = convertToEntity(adjustmentDto);
+        InventoryAdjustment adjustment = inventoryAdjustmentMapper.toEntity(adjustmentDto);
         InventoryAdjustment updatedAdjustment = inventoryAdjustmentService.updateAdjustment(id, adjustment);
-        return ResponseEntity.ok(convertToDto(updatedAdjustment));
+        return ResponseEntity.ok(inventoryAdjustmentMapper.toDto(updatedAdjustment));
     }
 
     /**
@@ -203,16 +202,13 @@ public class InventoryAdjustmentController {
             description = "Successfully retrieved inventory adjustment details",
             content = @Content(schema = @Schema(implementation = InventoryAdjustmentDetailDto.class, type = "array"))
         ),
+        @ApiResponse(responseCode = "404", description = "Inventory adjustment not found"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     public ResponseEntity<List<InventoryAdjustmentDetailDto>> getAdjustmentDetailsByAdjustmentId(
             @Parameter(description = "ID of the adjustment", required = true)
             @PathVariable Integer adjustmentId) {
-        List<InventoryAdjustmentDetail> details = inventoryAdjustmentService.getAdjustmentDetailsByAdjustmentId(adjustmentId);
-        List<InventoryAdjustmentDetailDto> detailDtos = details.stream()
-                .map(this::convertDetailToDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(detailDtos);
+        return ResponseEntity.ok(inventoryAdjustmentService.getAdjustmentDetailDtosByAdjustmentId(adjustmentId));
     }
 
     /**
@@ -243,7 +239,7 @@ public class InventoryAdjustmentController {
             @Parameter(description = "ID of the inventory item", required = true)
             @RequestParam Integer itemId,
             @Parameter(description = "Quantity to adjust (positive for increase, negative for decrease)", required = true)
-            @RequestParam BigDecimal quantity,
+            @RequestParam Quantity quantity,
             @Parameter(description = "Reason for the adjustment", required = true)
             @RequestParam String reason,
             @Parameter(description = "ID of the user performing the adjustment", required = true)
@@ -254,78 +250,6 @@ public class InventoryAdjustmentController {
             .path("/{id}")
             .buildAndExpand(adjustment.getAdjustmentId())
             .toUri();
-        return ResponseEntity.created(location).body(convertToDto(adjustment));
-    }
-
-    // Helper methods for conversion between Entity and DTO
-    private InventoryAdjustmentDto convertToDto(InventoryAdjustment adjustment) {
-        InventoryAdjustmentDto dto = new InventoryAdjustmentDto();
-        dto.setAdjustmentId(adjustment.getAdjustmentId());
-        dto.setTenantId(adjustment.getTenantId());
-        dto.setAdjustmentNumber(adjustment.getAdjustmentNumber());
-        dto.setAdjustmentDate(adjustment.getAdjustmentDate());
-        dto.setStatus(adjustment.getStatus());
-        dto.setAdjustmentType(adjustment.getAdjustmentType());
-        dto.setReasonCode(adjustment.getReasonCode());
-        dto.setReferenceNumber(adjustment.getReferenceNumber());
-        dto.setReferenceType(adjustment.getReferenceType());
-        dto.setReferenceId(adjustment.getReferenceId());
-        dto.setNotes(adjustment.getNotes());
-        dto.setIsApproved(adjustment.getIsApproved());
-        dto.setApprovedBy(adjustment.getApprovedBy());
-        dto.setApprovedAt(adjustment.getApprovedAt());
-        dto.setCreatedAt(adjustment.getCreatedAt());
-        dto.setUpdatedAt(adjustment.getUpdatedAt());
-        dto.setCreatedBy(adjustment.getCreatedBy());
-        dto.setUpdatedBy(adjustment.getUpdatedBy());
-        dto.setIsDeleted(adjustment.getIsDeleted());
-        return dto;
-    }
-
-    private InventoryAdjustment convertToEntity(InventoryAdjustmentDto dto) {
-        InventoryAdjustment adjustment = new InventoryAdjustment();
-        adjustment.setAdjustmentId(dto.getAdjustmentId());
-        adjustment.setTenantId(dto.getTenantId());
-        adjustment.setAdjustmentNumber(dto.getAdjustmentNumber());
-        adjustment.setAdjustmentDate(dto.getAdjustmentDate());
-        adjustment.setStatus(dto.getStatus());
-        adjustment.setAdjustmentType(dto.getAdjustmentType());
-        adjustment.setReasonCode(dto.getReasonCode());
-        adjustment.setReferenceNumber(dto.getReferenceNumber());
-        adjustment.setReferenceType(dto.getReferenceType());
-        adjustment.setReferenceId(dto.getReferenceId());
-        adjustment.setNotes(dto.getNotes());
-        adjustment.setIsApproved(dto.getIsApproved());
-        adjustment.setApprovedBy(dto.getApprovedBy());
-        adjustment.setApprovedAt(dto.getApprovedAt());
-        adjustment.setCreatedAt(dto.getCreatedAt());
-        adjustment.setUpdatedAt(dto.getUpdatedAt());
-        adjustment.setCreatedBy(dto.getCreatedBy());
-        adjustment.setUpdatedBy(dto.getUpdatedBy());
-        adjustment.setIsDeleted(dto.getIsDeleted());
-        return adjustment;
-    }
-
-    private InventoryAdjustmentDetailDto convertDetailToDto(InventoryAdjustmentDetail detail) {
-        InventoryAdjustmentDetailDto dto = new InventoryAdjustmentDetailDto();
-        dto.setAdjustmentDetailId(detail.getAdjustmentDetailId());
-        dto.setAdjustmentId(detail.getAdjustmentId());
-        dto.setItemId(detail.getItemId());
-        dto.setLocationId(detail.getLocationId());
-        dto.setLotNumber(detail.getLotNumber());
-        dto.setSerialNumber(detail.getSerialNumber());
-        dto.setQuantityBefore(detail.getQuantityBefore());
-        dto.setQuantityAfter(detail.getQuantityAfter());
-        dto.setQuantityAdjusted(detail.getQuantityAdjusted());
-        dto.setUnitOfMeasure(detail.getUnitOfMeasure());
-        dto.setUnitCost(detail.getUnitCost());
-        dto.setTotalCost(detail.getTotalCost());
-        dto.setNotes(detail.getNotes());
-        dto.setCreatedAt(detail.getCreatedAt());
-        dto.setUpdatedAt(detail.getUpdatedAt());
-        dto.setCreatedBy(detail.getCreatedBy());
-        dto.setUpdatedBy(detail.getUpdatedBy());
-        dto.setIsDeleted(detail.getIsDeleted());
-        return dto;
+        return ResponseEntity.created(location).body(inventoryAdjustmentMapper.toDto(adjustment));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,123 @@
+package com.superware.wms.inventory.controller;
+
+import com.superware.wms.inventory.dto.InventoryCommandDto;
+import com.superware.wms.inventory.service.InventoryCommandService;
+import com.superware.wms.inventory.service.command.InventoryCommand;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import jakarta.validation.Valid;
+import java.net.URI;
+
+/**
+ * REST controller for asynchronous intake of scanner stock movements.
+ * Only registered when {@code inventory.commands.async-enabled} is true.
+ */
+@RestController
+@RequestMapping("/api/v1/inventory/transactions/commands")
+@ConditionalOnProperty(name = "inventory.commands.async-enabled", havingValue = "true")
+@Tag(name = "Inventory Commands", description = "APIs for asynchronous inventory transaction intake")
+public class InventoryCommandController {
+
+    private final InventoryCommandService inventoryCommandService;
+
+    @Autowired
+    public InventoryCommandController(InventoryCommandService inventoryCommandService) {
+        this.inventoryCommandService = inventoryCommandService;
+    }
+
+    /**
+     * POST /api/v1/inventory/transactions/commands : Queue a stock movement command
+     *
+     * @param commandDto The command to queue
+     * @return The accepted command with its ID and QUEUED status
+     */
+    @PostMapping
+    @Operation(
+        summary = "Queue a stock movement command",
+        description = "Accepts a receipt, issue or transfer for asynchronous processing and returns a command ID to poll."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "202",
+            description = "Command accepted",
+            content = @Content(schema = @Schema(implementation = InventoryCommandDto.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid input"),
+        @ApiResponse(responseCode = "429", description = "Command queue is full"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<InventoryCommandDto> submitCommand(
+            @Parameter(description = "Command to be queued", required = true)
+            @Valid @RequestBody InventoryCommandDto commandDto) {
+        InventoryCommand command = inventoryCommandService.submit(
+                commandDto.getTransactionType(),
+                commandDto.getItemId(),
+                commandDto.getQuantity(),
+                commandDto.getFromLocationId(),
+                commandDto.getToLocationId(),
+                commandDto.getUserId());
+
+        URI location = ServletUriComponentsBuilder
+            .fromCurrentRequest()
+            .path("/{id}")
+            .buildAndExpand(command.getCommandId())
+            .toUri();
+
+        return ResponseEntity.accepted().location(location).body(convertToDto(command));
+    }
+
+    /**
+     * GET /api/v1/inventory/transactions/commands/{commandId} : Get the status of a command
+     *
+     * @param commandId The ID of the command
+     * @return The command with its current status
+     */
+    @GetMapping("/{commandId}")
+    @Operation(
+        summary = "Get the status of a command",
+        description = "Returns the processing status of a queued command and, once applied, the resulting transaction ID."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved the command",
+            content = @Content(schema = @Schema(implementation = InventoryCommandDto.class))
+        ),
+        @ApiResponse(responseCode = "404", description = "Command not found or expired"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<InventoryCommandDto> getCommand(
+            @Parameter(description = "ID of the command", required = true)
+            @PathVariable String commandId) {
+        return ResponseEntity.ok(convertToDto(inventoryCommandService.getCommand(commandId)));
+    }
+
+    // Helper method for conversion between command and DTO
+    private InventoryCommandDto convertToDto(InventoryCommand command) {
+        InventoryCommandDto dto = new InventoryCommandDto();
+        dto.setCommandId(command.getCommandId());
+        dto.setTransactionType(command.getTransactionType());
+        dto.setItemId(command.getItemId());
+        dto.setQuantity(command.getQuantity());
+        dto.setFromLocationId(command.getFromLocationId());
+        dto.setToLocationId(command.getToLocationId());
+        dto.setUserId(command.getUserId());
+        dto.setStatus(command.getStatus().name());
+        dto.setTransactionId(command.getTransactionId());
+        dto.setErrorMessage(command.getErrorMessage());
+        dto.setSubmittedAt(command.getSubmittedAt());
+        dto.setCompletedAt(command.getCompletedAt());
+        return dto;
+    }
+}
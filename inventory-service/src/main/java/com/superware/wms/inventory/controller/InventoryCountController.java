@@ -3,6 +3,8 @@ package com.superware.wms.inventory.controller;
 import com.superware.wms.inventory.dto.InventoryCountDetailDto;
 import com.superware.wms.inventory.dto.InventoryCountDto;
 import com.superware.wms.inventory.entity.InventoryCount;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.mapper.InventoryCountMapper;
 import com.superware.wms.inventory.entity.InventoryCountDetail;
 import com.superware.wms.inventory.service.InventoryCountService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,10 +23,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import jakarta.validation.Valid;
-import java.math.BigDecimal;
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * REST controller for managing inventory counts.
@@ -35,10 +35,13 @@ import java.util.stream.Collectors;
 public class InventoryCountController {
 
     private final InventoryCountService inventoryCountService;
+    private final InventoryCountMapper inventoryCountMapper;
 
     @Autowired
-    public InventoryCountController(InventoryCountService inventoryCountService) {
+    public InventoryCountController(InventoryCountService inventoryCountService,
+                                    InventoryCountMapper inventoryCountMapper) {
         this.inventoryCountService = inventoryCountService;
+        this.inventoryCountMapper = inventoryCountMapper;
     }
 
     /**
@@ -63,9 +66,7 @@ public class InventoryCountController {
     public ResponseEntity<Page<InventoryCountDto>> getAllCounts(
             @Parameter(description = "Pagination and sorting parameters")
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<InventoryCount> counts = inventoryCountService.getAllCounts(pageable);
-        Page<InventoryCountDto> countDtos = counts.map(this::convertToDto);
-        return ResponseEntity.ok(countDtos);
+        return ResponseEntity.ok(inventoryCountService.getAllCountDtos(pageable));
     }
 
     /**
@@ -91,8 +92,7 @@ public class InventoryCountController {
     public ResponseEntity<InventoryCountDto> getCountById(
             @Parameter(description = "ID of the inventory count to be retrieved", required = true)
             @PathVariable Integer id) {
-        InventoryCount count = inventoryCountService.getCountById(id);
-        return ResponseEntity.ok(convertToDto(count));
+        return ResponseEntity.ok(inventoryCountService.getCountDtoById(id));
     }
 
     /**
@@ -118,7 +118,7 @@ public class InventoryCountController {
     public ResponseEntity<InventoryCountDto> createCount(
             @Parameter(description = "Inventory count to be created", required = true)
             @Valid @RequestBody InventoryCountDto countDto) {
-        InventoryCount count = convertToEntity(countDto);
+        InventoryCount count = inventoryCountMapper.toEntity(countDto);
         InventoryCount createdCount = inventoryCountService.createCount(count);
         
         URI location = ServletUriComponentsBuilder
@@ -127,7 +127,7 @@ public class InventoryCountController {
             .buildAndExpand(createdCount.getCountId())
             .toUri();
             
-        return ResponseEntity.created(location).body(convertToDto(createdCount));
+        return ResponseEntity.created(location).body(inventoryCountMapper.toDto(createdCount));
     }
 
     /**
@@ -157,9 +157,9 @@ public class InventoryCountController {
             @PathVariable Integer id,
             @Parameter(description = "Updated inventory count data", required = true)
             @Valid @RequestBody InventoryCountDto countDto) {
-        InventoryCount count = convertToEntity(countDto);
+        InventoryCount count = inventoryCountMapper.toEntity(countDto);
         InventoryCount updatedCount = inventoryCountService.updateCount(id, count);
-        return ResponseEntity.ok(convertToDto(updatedCount));
+        return ResponseEntity.ok(inventoryCountMapper.toDto(updatedCount));
     }
 
     /**
@@ -202,16 +202,13 @@ public class InventoryCountController {
             description = "Successfully retrieved inventory count details",
             content = @Content(schema = @Schema(implementation = InventoryCountDetailDto.class, type = "array"))
         ),
+        @ApiResponse(responseCode = "404", description = "Inventory count not found"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     public ResponseEntity<List<InventoryCountDetailDto>> getCountDetailsByCountId(
             @Parameter(description = "ID of the count", required = true)
             @PathVariable Integer countId) {
-        List<InventoryCountDetail> details = inventoryCountService.getCountDetailsByCountId(countId);
-        List<InventoryCountDetailDto> detailDtos = details.stream()
-                .map(this::convertDetailToDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(detailDtos);
+        return ResponseEntity.ok(inventoryCountService.getCountDetailDtosByCountId(countId));
     }
 
     /**
@@ -246,7 +243,7 @@ public class InventoryCountController {
             .path("/{id}")
             .buildAndExpand(count.getCountId())
             .toUri();
-        return ResponseEntity.created(location).body(convertToDto(count));
+        return ResponseEntity.created(location).body(inventoryCountMapper.toDto(count));
     }
 
     /**
@@ -279,7 +276,7 @@ public class InventoryCountController {
             @Parameter(description = "ID of the inventory item", required = true)
             @RequestParam Integer itemId,
             @Parameter(description = "Quantity counted", required = true)
-            @RequestParam BigDecimal countedQuantity,
+            @RequestParam Quantity countedQuantity,
             @Parameter(description = "ID of the user performing the count", required = true)
             @RequestParam Integer userId) {
         InventoryCountDetail detail = inventoryCountService.addCountDetail(countId, itemId, countedQuantity, userId);
@@ -288,7 +285,7 @@ public class InventoryCountController {
             .path("/{id}")
             .buildAndExpand(detail.getCountDetailId())
             .toUri();
-        return ResponseEntity.created(location).body(convertDetailToDto(detail));
+        return ResponseEntity.created(location).body(inventoryCountMapper.toDetailDto(detail));
     }
 
     /**
@@ -316,77 +313,4 @@ public class InventoryCountController {
         inventoryCountService.completeCount(id, userId);
         return ResponseEntity.noContent().build();
     }
-
-    // Helper methods for conversion between Entity and DTO
-    private InventoryCountDto convertToDto(InventoryCount count) {
-        InventoryCountDto dto = new InventoryCountDto();
-        dto.setCountId(count.getCountId());
-        dto.setTenantId(count.getTenantId());
-        dto.setCountNumber(count.getCountNumber());
-        dto.setCountType(count.getCountType());
-        dto.setStatus(count.getStatus());
-        dto.setStartDate(count.getStartDate());
-        dto.setEndDate(count.getEndDate());
-        dto.setFacilityId(count.getFacilityId());
-        dto.setZoneId(count.getZoneId());
-        dto.setLocationId(count.getLocationId());
-        dto.setProductId(count.getProductId());
-        dto.setCategoryId(count.getCategoryId());
-        dto.setNotes(count.getNotes());
-        dto.setIsApproved(count.getIsApproved());
-        dto.setApprovedBy(count.getApprovedBy());
-        dto.setApprovedAt(count.getApprovedAt());
-        dto.setCreatedAt(count.getCreatedAt());
-        dto.setUpdatedAt(count.getUpdatedAt());
-        dto.setCreatedBy(count.getCreatedBy());
-        dto.setUpdatedBy(count.getUpdatedBy());
-        dto.setIsDeleted(count.getIsDeleted());
-        return dto;
-    }
-
-    private InventoryCount convertToEntity(InventoryCountDto dto) {
-        InventoryCount count = new InventoryCount();
-        count.setCountId(dto.getCountId());
-        count.setTenantId(dto.getTenantId());
-        count.setCountNumber(dto.getCountNumber());
-        count.setCountType(dto.getCountType());
-        count.setStatus(dto.getStatus());
-        count.setStartDate(dto.getStartDate());
-        count.setEndDate(dto.getEndDate());
-        count.setFacilityId(dto.getFacilityId());
-        count.setZoneId(dto.getZoneId());
-        count.setLocationId(dto.getLocationId());
-        count.setProductId(dto.getProductId());
-        count.setCategoryId(dto.getCategoryId());
-        count.setNotes(dto.getNotes());
-        count.setIsApproved(dto.getIsApproved());
-        count.setApprovedBy(dto.getApprovedBy());
-        count.setApprovedAt(dto.getApprovedAt());
-        count.setCreatedAt(dto.getCreatedAt());
-        count.setUpdatedAt(dto.getUpdatedAt());
-        count.setCreatedBy(dto.getCreatedBy());
-        count.setUpdatedBy(dto.getUpdatedBy());
-        count.setIsDeleted(dto.getIsDeleted());
-        return count;
-    }
-
-    private InventoryCountDetailDto convertDetailToDto(InventoryCountDetail detail) {
-        InventoryCountDetailDto dto = new InventoryCountDetailDto();
-        dto.setCountDetailId(detail.getCountDetailId());
-        dto.setCountId(detail.getCountId());
-        dto.setItemId(detail.getItemId());
-        dto.setExpectedQuantity(detail.getExpectedQuantity());
-        dto.setCountedQuantity(detail.getCountedQuantity());
-        dto.setVariance(detail.getVariance());
-        dto.setUnitOfMeasure(detail.getUnitOfMeasure());
-        dto.setLotNumber(detail.getLotNumber());
-        dto.setNotes(detail.getNotes());
-        dto.setIsRecounted(detail.getIsRecounted());
-        dto.setCreatedAt(detail.getCreatedAt());
-        dto.setUpdatedAt(detail.getUpdatedAt());
-        dto.setCreatedBy(detail.getCreatedBy());
-        dto.setUpdatedBy(detail.getUpdatedBy());
-        dto.setIsDeleted(detail.getIsDeleted());
-        return dto;
-    }
-}
\ No newline at end of file
+}
@@ -1,7 +1,10 @@
 package com.superware.wms.inventory.controller;
 
 import com.superware.wms.inventory.dto.InventoryItemDto;
+import com.superware.wms.inventory.dto.StockAvailabilityDto;
 import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.mapper.InventoryItemMapper;
 import com.superware.wms.inventory.service.InventoryItemService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,10 +23,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import jakarta.validation.Valid;
-import java.math.BigDecimal;
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * REST controller for managing inventory items.
@@ -34,10 +35,13 @@ import java.util.stream.Collectors;
 public class InventoryItemController {
 
     private final InventoryItemService inventoryItemService;
+    private final InventoryItemMapper inventoryItemMapper;
 
     @Autowired
-    public InventoryItemController(InventoryItemService inventoryItemService) {
+    public InventoryItemController(InventoryItemService inventoryItemService,
+                                   InventoryItemMapper inventoryItemMapper) {
         this.inventoryItemService = inventoryItemService;
+        this.inventoryItemMapper = inventoryItemMapper;
     }
 
     /**
@@ -62,9 +66,7 @@ public class InventoryItemController {
     public ResponseEntity<Page<InventoryItemDto>> getAllItems(
             @Parameter(description = "Pagination and sorting parameters")
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<InventoryItem> items = inventoryItemService.getAllItems(pageable);
-        Page<InventoryItemDto> itemDtos = items.map(this::convertToDto);
-        return ResponseEntity.ok(itemDtos);
+        return ResponseEntity.ok(inventoryItemService.getAllItemDtos(pageable));
     }
 
     /**
@@ -90,8 +92,7 @@ public class InventoryItemController {
     public ResponseEntity<InventoryItemDto> getItemById(
             @Parameter(description = "ID of the inventory item to be retrieved", required = true)
             @PathVariable Integer id) {
-        InventoryItem item = inventoryItemService.getItemById(id);
-        return ResponseEntity.ok(convertToDto(item));
+        return ResponseEntity.ok(inventoryItemService.getItemDtoById(id));
     }
 
     /**
@@ -117,7 +118,7 @@ public class InventoryItemController {
     public ResponseEntity<InventoryItemDto> createItem(
             @Parameter(description = "Inventory item to be created", required = true)
             @Valid @RequestBody InventoryItemDto itemDto) {
-        InventoryItem item = convertToEntity(itemDto);
+        InventoryItem item = inventoryItemMapper.toEntity(itemDto);
         InventoryItem createdItem = inventoryItemService.createItem(item);
         
         URI location = ServletUriComponentsBuilder
@@ -126,7 +127,7 @@ public class InventoryItemController {
             .buildAndExpand(createdItem.getItemId())
             .toUri();
             
-        return ResponseEntity.created(location).body(convertToDto(createdItem));
+        return ResponseEntity.created(location).body(inventoryItemMapper.toDto(createdItem));
     }
 
     /**
@@ -156,9 +157,9 @@ public class InventoryItemController {
             @PathVariable Integer id,
             @Parameter(description = "Updated inventory item data", required = true)
             @Valid @RequestBody InventoryItemDto itemDto) {
-        InventoryItem item = convertToEntity(itemDto);
+        InventoryItem item = inventoryItemMapper.toEntity(itemDto);
         InventoryItem updatedItem = inventoryItemService.updateItem(id, item);
-        return ResponseEntity.ok(convertToDto(updatedItem));
+        return ResponseEntity.ok(inventoryItemMapper.toDto(updatedItem));
     }
 
     /**
@@ -206,11 +207,7 @@ public class InventoryItemController {
     public ResponseEntity<List<InventoryItemDto>> getItemsByProductId(
             @Parameter(description = "Product ID to filter inventory items", required = true)
             @PathVariable Integer productId) {
-        List<InventoryItem> items = inventoryItemService.getItemsByProductId(productId);
-        List<InventoryItemDto> itemDtos = items.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(itemDtos);
+        return ResponseEntity.ok(inventoryItemService.getItemDtosByProductId(productId));
     }
 
     /**
@@ -237,11 +234,7 @@ public class InventoryItemController {
             @Parameter(description = "Status to filter inventory items (e.g., AVAILABLE, ALLOCATED, QUARANTINED)", 
                       required = true)
             @PathVariable String status) {
-        List<InventoryItem> items = inventoryItemService.getItemsByStatus(status);
-        List<InventoryItemDto> itemDtos = items.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(itemDtos);
+        return ResponseEntity.ok(inventoryItemService.getItemDtosByStatus(status));
     }
 
     /**
@@ -266,76 +259,42 @@ public class InventoryItemController {
     })
     public ResponseEntity<List<InventoryItemDto>> getItemsByQuantityOnHandGreaterThan(
             @Parameter(description = "Minimum quantity threshold", required = true)
-            @PathVariable BigDecimal quantity) {
-        List<InventoryItem> items = inventoryItemService.getItemsByQuantityOnHandGreaterThan(quantity);
-        List<InventoryItemDto> itemDtos = items.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(itemDtos);
+            @PathVariable Quantity quantity) {
+        return ResponseEntity.ok(inventoryItemService.getItemDtosByQuantityOnHandGreaterThan(quantity));
     }
 
-    // Helper methods for conversion between Entity and DTO
-    private InventoryItemDto convertToDto(InventoryItem item) {
-        InventoryItemDto dto = new InventoryItemDto();
-        dto.setItemId(item.getItemId());
-        dto.setTenantId(item.getTenantId());
-        dto.setProductId(item.getProductId());
-        dto.setVariantId(item.getVariantId());
-        dto.setLotNumber(item.getLotNumber());
-        dto.setSerialNumber(item.getSerialNumber());
-        dto.setStatus(item.getStatus());
-        dto.setCondition(item.getCondition());
-        dto.setQuantityOnHand(item.getQuantityOnHand());
-        dto.setQuantityAllocated(item.getQuantityAllocated());
-        dto.setQuantityAvailable(item.getQuantityAvailable());
-        dto.setUnitOfMeasure(item.getUnitOfMeasure());
-        dto.setLocationId(item.getLocationId());
-        dto.setFacilityId(item.getFacilityId());
-        dto.setExpiryDate(item.getExpiryDate());
-        dto.setManufactureDate(item.getManufactureDate());
-        dto.setReceivedDate(item.getReceivedDate());
-        dto.setLastCountedDate(item.getLastCountedDate());
-        dto.setUnitCost(item.getUnitCost());
-        dto.setTotalCost(item.getTotalCost());
-        dto.setNotes(item.getNotes());
-        dto.setIsActive(item.getIsActive());
-        dto.setCreatedAt(item.getCreatedAt());
-        dto.setUpdatedAt(item.getUpdatedAt());
-        dto.setCreatedBy(item.getCreatedBy());
-        dto.setUpdatedBy(item.getUpdatedBy());
-        dto.setIsDeleted(item.getIsDeleted());
-        return dto;
-    }
-
-    private InventoryItem convertToEntity(InventoryItemDto dto) {
-        InventoryItem item = new InventoryItem();
-        item.setItemId(dto.getItemId());
-        item.setTenantId(dto.getTenantId());
-        item.setProductId(dto.getProductId());
-        item.setVariantId(dto.getVariantId());
-        item.setLotNumber(dto.getLotNumber());
-        item.setSerialNumber(dto.getSerialNumber());
-        item.setStatus(dto.getStatus());
-        item.setCondition(dto.getCondition());
-        item.setQuantityOnHand(dto.getQuantityOnHand());
-        item.setQuantityAllocated(dto.getQuantityAllocated());
-        item.setQuantityAvailable(dto.getQuantityAvailable());
-        item.setUnitOfMeasure(dto.getUnitOfMeasure());
-        item.setLocationId(dto.getLocationId());
-        item.setFacilityId(dto.getFacilityId());
-        item.setExpiryDate(dto.getExpiryDate());
-        item.setManufactureDate(dto.getManufactureDate());
-        item.setReceivedDate(dto.getReceivedDate());
-        item.setLastCountedDate(dto.getLastCountedDate());
-        item.setUnitCost(dto.getUnitCost());
-        item.setTotalCost(dto.getTotalCost());
-        item.setNotes(dto.getNotes());
-        item.setIsActive(dto.getIsActive());
-        item.setCreatedAt(dto.getCreatedAt());
-        item.setUpdatedAt(dto.getUpdatedAt());
-        item.setCreatedBy(dto.getCreatedBy());
-        item.setUpdatedBy(dto.getUpdatedBy());
-        item.setIsDeleted(dto.getIsDeleted());
-        return item;
+    /**
+     * GET /api/v1/inventory/items/availability : Get stock availability for a product
+     *
+     * @param productId  The product ID
+     * @param facilityId Optional facility filter
+     * @param locationId Optional location filter
+     * @param lotNumber  Optional lot filter
+     * @return On-hand, allocated and available quantities
+     */
+    @GetMapping("/availability")
+    @Operation(
+        summary = "Get stock availability for a product",
+        description = "Sums on-hand and allocated stock for a product, optionally narrowed to a facility, location or lot. "
+                + "Served from the in-process stock index when it is enabled."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved stock availability",
+            content = @Content(schema = @Schema(implementation = StockAvailabilityDto.class))
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<StockAvailabilityDto> getStockAvailability(
+            @Parameter(description = "ID of the product", required = true)
+            @RequestParam Integer productId,
+            @Parameter(description = "ID of the facility")
+            @RequestParam(required = false) Integer facilityId,
+            @Parameter(description = "ID of the storage location")
+            @RequestParam(required = false) Integer locationId,
+            @Parameter(description = "Lot number")
+            @RequestParam(required = false) String lotNumber) {
+        return ResponseEntity.ok(inventoryItemService.getStockAvailability(productId, facilityId, locationId, lotNumber));
     }
 }
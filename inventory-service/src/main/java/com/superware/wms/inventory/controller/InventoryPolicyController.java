@@ -2,6 +2,7 @@ package com.superware.wms.inventory.controller;
 
 import com.superware.wms.inventory.dto.InventoryPolicyDto;
 import com.superware.wms.inventory.entity.InventoryPolicy;
+import com.superware.wms.inventory.mapper.InventoryPolicyMapper;
 import com.superware.wms.inventory.service.InventoryPolicyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,7 +22,6 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import jakarta.validation.Valid;
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * REST controller for managing inventory policies.
@@ -32,10 +32,13 @@ import java.util.stream.Collectors;
 public class InventoryPolicyController {
 
     private final InventoryPolicyService inventoryPolicyService;
+    private final InventoryPolicyMapper inventoryPolicyMapper;
 
     @Autowired
-    public InventoryPolicyController(InventoryPolicyService inventoryPolicyService) {
+    public InventoryPolicyController(InventoryPolicyService inventoryPolicyService,
+                                     InventoryPolicyMapper inventoryPolicyMapper) {
         this.inventoryPolicyService = inventoryPolicyService;
+        this.inventoryPolicyMapper = inventoryPolicyMapper;
     }
 
     /**
@@ -60,9 +63,7 @@ public class InventoryPolicyController {
     public ResponseEntity<Page<InventoryPolicyDto>> getAllPolicies(
             @Parameter(description = "Pagination and sorting parameters")
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<InventoryPolicy> policies = inventoryPolicyService.getAllPolicies(pageable);
-        Page<InventoryPolicyDto> policyDtos = policies.map(this::convertToDto);
-        return ResponseEntity.ok(policyDtos);
+        return ResponseEntity.ok(inventoryPolicyService.getAllPolicyDtos(pageable));
     }
 
     /**
@@ -88,8 +89,7 @@ public class InventoryPolicyController {
     public ResponseEntity<InventoryPolicyDto> getPolicyById(
             @Parameter(description = "ID of the inventory policy to be retrieved", required = true)
             @PathVariable Integer id) {
-        InventoryPolicy policy = inventoryPolicyService.getPolicyById(id);
-        return ResponseEntity.ok(convertToDto(policy));
+        return ResponseEntity.ok(inventoryPolicyService.getPolicyDtoById(id));
     }
 
     /**
@@ -115,7 +115,7 @@ public class InventoryPolicyController {
     public ResponseEntity<InventoryPolicyDto> createPolicy(
             @Parameter(description = "Inventory policy to be created", required = true)
             @Valid @RequestBody InventoryPolicyDto policyDto) {
-        InventoryPolicy policy = convertToEntity(policyDto);
+        InventoryPolicy policy = inventoryPolicyMapper.toEntity(policyDto);
         InventoryPolicy createdPolicy = inventoryPolicyService.createPolicy(policy);
         
         URI location = ServletUriComponentsBuilder
@@ -124,7 +124,7 @@ public class InventoryPolicyController {
             .buildAndExpand(createdPolicy.getPolicyId())
             .toUri();
             
-        return ResponseEntity.created(location).body(convertToDto(createdPolicy));
+        return ResponseEntity.created(location).body(inventoryPolicyMapper.toDto(createdPolicy));
     }
 
     /**
@@ -154,9 +154,9 @@ public class InventoryPolicyController {
             @PathVariable Integer id,
             @Parameter(description = "Updated inventory policy data", required = true)
             @Valid @RequestBody InventoryPolicyDto policyDto) {
-        InventoryPolicy policy = convertToEntity(policyDto);
+        InventoryPolicy policy = inventoryPolicyMapper.toEntity(policyDto);
         InventoryPolicy updatedPolicy = inventoryPolicyService.updatePolicy(id, policy);
-        return ResponseEntity.ok(convertToDto(updatedPolicy));
+        return ResponseEntity.ok(inventoryPolicyMapper.toDto(updatedPolicy));
     }
 
     /**
@@ -204,11 +204,7 @@ public class InventoryPolicyController {
     public ResponseEntity<List<InventoryPolicyDto>> getPoliciesByProductId(
             @Parameter(description = "Product ID to filter inventory policies", required = true)
             @PathVariable Integer productId) {
-        List<InventoryPolicy> policies = inventoryPolicyService.getPoliciesByProductId(productId);
-        List<InventoryPolicyDto> policyDtos = policies.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(policyDtos);
+        return ResponseEntity.ok(inventoryPolicyService.getPolicyDtosByProductId(productId));
     }
 
     /**
@@ -233,55 +229,6 @@ public class InventoryPolicyController {
     public ResponseEntity<List<InventoryPolicyDto>> getPoliciesByFacilityId(
             @Parameter(description = "Facility ID to filter inventory policies", required = true)
             @PathVariable Integer facilityId) {
-        List<InventoryPolicy> policies = inventoryPolicyService.getPoliciesByFacilityId(facilityId);
-        List<InventoryPolicyDto> policyDtos = policies.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(policyDtos);
+        return ResponseEntity.ok(inventoryPolicyService.getPolicyDtosByFacilityId(facilityId));
     }
-
-    // Helper methods for conversion between Entity and DTO
-    private InventoryPolicyDto convertToDto(InventoryPolicy policy) {
-        InventoryPolicyDto dto = new InventoryPolicyDto();
-        dto.setPolicyId(policy.getPolicyId());
-        dto.setTenantId(policy.getTenantId());
-        dto.setProductId(policy.getProductId());
-        dto.setVariantId(policy.getVariantId());
-        dto.setFacilityId(policy.getFacilityId());
-        dto.setMinStockLevel(policy.getMinStockLevel());
-        dto.setMaxStockLevel(policy.getMaxStockLevel());
-        dto.setReorderPoint(policy.getReorderPoint());
-        dto.setReorderQuantity(policy.getReorderQuantity());
-        dto.setValuationMethod(policy.getValuationMethod());
-        dto.setAbcClass(policy.getAbcClass());
-        dto.setIsActive(policy.getIsActive());
-        dto.setCreatedAt(policy.getCreatedAt());
-        dto.setUpdatedAt(policy.getUpdatedAt());
-        dto.setCreatedBy(policy.getCreatedBy());
-        dto.setUpdatedBy(policy.getUpdatedBy());
-        dto.setIsDeleted(policy.getIsDeleted());
-        return dto;
-    }
-
-    private InventoryPolicy convertToEntity(InventoryPolicyDto dto) {
-        InventoryPolicy policy = new InventoryPolicy();
-        policy.setPolicyId(dto.getPolicyId());
-        policy.setTenantId(dto.getTenantId());
-        policy.setProductId(dto.getProductId());
-        policy.setVariantId(dto.getVariantId());
-        policy.setFacilityId(dto.getFacilityId());
-        policy.setMinStockLevel(dto.getMinStockLevel());
-        policy.setMaxStockLevel(dto.getMaxStockLevel());
-        policy.setReorderPoint(dto.getReorderPoint());
-        policy.setReorderQuantity(dto.getReorderQuantity());
-        policy.setValuationMethod(dto.getValuationMethod());
-        policy.setAbcClass(dto.getAbcClass());
-        policy.setIsActive(dto.getIsActive());
-        policy.setCreatedAt(dto.getCreatedAt());
-        policy.setUpdatedAt(dto.getUpdatedAt());
-        policy.setCreatedBy(dto.getCreatedBy());
-        policy.setUpdatedBy(dto.getUpdatedBy());
-        policy.setIsDeleted(dto.getIsDeleted());
-        return policy;
-    }
-}
\ No newline at end of file
+}
@@ -3,7 +3,8 @@ package com.superware.wms.inventory.controller;
 import com.superware.wms.inventory.dto.InventoryReservationDto;
 import com.superware.wms.inventory.dto.InventoryReservationDetailDto;
 import com.superware.wms.inventory.entity.InventoryReservation;
-import com.superware.wms.inventory.entity.InventoryReservationDetail;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.mapper.InventoryReservationMapper;
 import com.superware.wms.inventory.service.InventoryReservationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,10 +22,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import jakarta.validation.Valid;
-import java.math.BigDecimal;
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * REST controller for managing inventory reservations.
@@ -35,10 +34,13 @@ import java.util.stream.Collectors;
 public class InventoryReservationController {
 
     private final InventoryReservationService inventoryReservationService;
+    private final InventoryReservationMapper inventoryReservationMapper;
 
     @Autowired
-    public InventoryReservationController(InventoryReservationService inventoryReservationService) {
+    public InventoryReservationController(InventoryReservationService inventoryReservationService,
+                                          InventoryReservationMapper inventoryReservationMapper) {
         this.inventoryReservationService = inventoryReservationService;
+        this.inventoryReservationMapper = inventoryReservationMapper;
     }
 
     /**
@@ -63,9 +65,7 @@ public class InventoryReservationController {
     public ResponseEntity<Page<InventoryReservationDto>> getAllReservations(
             @Parameter(description = "Pagination and sorting parameters")
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<InventoryReservation> reservations = inventoryReservationService.getAllReservations(pageable);
-        Page<InventoryReservationDto> reservationDtos = reservations.map(this::convertToDto);
-        return ResponseEntity.ok(reservationDtos);
+        return ResponseEntity.ok(inventoryReservationService.getAllReservationDtos(pageable));
     }
 
     /**
@@ -91,8 +91,7 @@ public class InventoryReservationController {
     public ResponseEntity<InventoryReservationDto> getReservationById(
             @Parameter(description = "ID of the inventory reservation to be retrieved", required = true)
             @PathVariable Integer id) {
-        InventoryReservation reservation = inventoryReservationService.getReservationById(id);
-        return ResponseEntity.ok(convertToDto(reservation));
+        return ResponseEntity.ok(inventoryReservationService.getReservationDtoById(id));
     }
 
     /**
@@ -118,7 +117,7 @@ public class InventoryReservationController {
     public ResponseEntity<InventoryReservationDto> createReservation(
             @Parameter(description = "Inventory reservation to be created", required = true)
             @Valid @RequestBody InventoryReservationDto reservationDto) {
-        InventoryReservation reservation = convertToEntity(reservationDto);
+        InventoryReservation reservation = inventoryReservationMapper.toEntity(reservationDto);
         InventoryReservation createdReservation = inventoryReservationService.createReservation(reservation);
         
         URI location = ServletUriComponentsBuilder
@@ -127,7 +126,7 @@ public class InventoryReservationController {
             .buildAndExpand(createdReservation.getReservationId())
             .toUri();
             
-        return ResponseEntity.created(location).body(convertToDto(createdReservation));
+        return ResponseEntity.created(location).body(inventoryReservationMapper.toDto(createdReservation));
     }
 
     /**
@@ -157,9 +156,9 @@ public class InventoryReservationController {
             @PathVariable Integer id,
             @Parameter(description = "Updated inventory reservation data", required = true)
             @Valid @RequestBody InventoryReservationDto reservationDto) {
-        InventoryReservation reservation = convertToEntity(reservationDto);
+        InventoryReservation reservation = inventoryReservationMapper.toEntity(reservationDto);
         InventoryReservation updatedReservation = inventoryReservationService.updateReservation(id, reservation);
-        return ResponseEntity.ok(convertToDto(updatedReservation));
+        return ResponseEntity.ok(inventoryReservationMapper.toDto(updatedReservation));
     }
 
     /**
@@ -202,16 +201,13 @@ public class InventoryReservationController {
             description = "Successfully retrieved inventory reservation details",
             content = @Content(schema = @Schema(implementation = InventoryReservationDetailDto.class, type = "array"))
         ),
+        @ApiResponse(responseCode = "404", description = "Inventory reservation not found"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     public ResponseEntity<List<InventoryReservationDetailDto>> getReservationDetailsByReservationId(
             @Parameter(description = "ID of the reservation", required = true)
             @PathVariable Integer reservationId) {
-        List<InventoryReservationDetail> details = inventoryReservationService.getReservationDetailsByReservationId(reservationId);
-        List<InventoryReservationDetailDto> detailDtos = details.stream()
-                .map(this::convertDetailToDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(detailDtos);
+        return ResponseEntity.ok(inventoryReservationService.getReservationDetailDtosByReservationId(reservationId));
     }
 
     /**
@@ -243,7 +239,7 @@ public class InventoryReservationController {
             @Parameter(description = "ID of the inventory item", required = true)
             @RequestParam Integer itemId,
             @Parameter(description = "Quantity to reserve", required = true)
-            @RequestParam BigDecimal quantity,
+            @RequestParam Quantity quantity,
             @Parameter(description = "Type of reference (e.g., ORDER, WORK_ORDER)", required = true)
             @RequestParam String referenceType,
             @Parameter(description = "ID of the reference", required = true)
@@ -256,7 +252,7 @@ public class InventoryReservationController {
             .path("/{id}")
             .buildAndExpand(reservation.getReservationId())
             .toUri();
-        return ResponseEntity.created(location).body(convertToDto(reservation));
+        return ResponseEntity.created(location).body(inventoryReservationMapper.toDto(reservation));
     }
 
     /**
@@ -310,66 +306,4 @@ public class InventoryReservationController {
         inventoryReservationService.confirmReservation(id, userId);
         return ResponseEntity.noContent().build();
     }
-
-    // Helper methods for conversion between Entity and DTO
-    private InventoryReservationDto convertToDto(InventoryReservation reservation) {
-        InventoryReservationDto dto = new InventoryReservationDto();
-        dto.setReservationId(reservation.getReservationId());
-        dto.setTenantId(reservation.getTenantId());
-        dto.setReservationType(reservation.getReservationType());
-        dto.setStatus(reservation.getStatus());
-        dto.setReferenceNumber(reservation.getReferenceNumber());
-        dto.setReferenceType(reservation.getReferenceType());
-        dto.setReferenceId(reservation.getReferenceId());
-        dto.setRequestedDate(reservation.getRequestedDate());
-        dto.setExpiryDate(reservation.getExpiryDate());
-        dto.setPriority(reservation.getPriority());
-        dto.setNotes(reservation.getNotes());
-        dto.setCreatedAt(reservation.getCreatedAt());
-        dto.setUpdatedAt(reservation.getUpdatedAt());
-        dto.setCreatedBy(reservation.getCreatedBy());
-        dto.setUpdatedBy(reservation.getUpdatedBy());
-        dto.setIsDeleted(reservation.getIsDeleted());
-        return dto;
-    }
-
-    private InventoryReservation convertToEntity(InventoryReservationDto dto) {
-        InventoryReservation reservation = new InventoryReservation();
-        reservation.setReservationId(dto.getReservationId());
-        reservation.setTenantId(dto.getTenantId());
-        reservation.setReservationType(dto.getReservationType());
-        reservation.setStatus(dto.getStatus());
-        reservation.setReferenceNumber(dto.getReferenceNumber());
-        reservation.setReferenceType(dto.getReferenceType());
-        reservation.setReferenceId(dto.getReferenceId());
-        reservation.setRequestedDate(dto.getRequestedDate());
-        reservation.setExpiryDate(dto.getExpiryDate());
-        reservation.setPriority(dto.getPriority());
-        reservation.setNotes(dto.getNotes());
-        reservation.setCreatedAt(dto.getCreatedAt());
-        reservation.setUpdatedAt(dto.getUpdatedAt());
-        reservation.setCreatedBy(dto.getCreatedBy());
-        reservation.setUpdatedBy(dto.getUpdatedBy());
-        reservation.setIsDeleted(dto.getIsDeleted());
-        return reservation;
-    }
-
-    private InventoryReservationDetailDto convertDetailToDto(InventoryReservationDetail detail) {
-        InventoryReservationDetailDto dto = new InventoryReservationDetailDto();
-        dto.setReservationDetailId(detail.getReservationDetailId());
-        dto.setReservationId(detail.getReservationId());
-        dto.setItemId(detail.getItemId());
-        dto.setQuantityRequested(detail.getQuantityRequested());
-        dto.setQuantityAllocated(detail.getQuantityAllocated());
-        dto.setQuantityFulfilled(detail.getQuantityFulfilled());
-        dto.setUnitOfMeasure(detail.getUnitOfMeasure());
-        dto.setLotNumber(detail.getLotNumber());
-        dto.setNotes(detail.getNotes());
-        dto.setCreatedAt(detail.getCreatedAt());
-        dto.setUpdatedAt(detail.getUpdatedAt());
-        dto.setCreatedBy(detail.getCreatedBy());
-        dto.setUpdatedBy(detail.getUpdatedBy());
-        dto.setIsDeleted(detail.getIsDeleted());
-        return dto;
-    }
-}
\ No newline at end of file
+}
@@ -3,7 +3,8 @@ package com.superware.wms.inventory.controller;
 import com.superware.wms.inventory.dto.InventoryTransactionDto;
 import com.superware.wms.inventory.dto.InventoryTransactionDetailDto;
 import com.superware.wms.inventory.entity.InventoryTransaction;
-import com.superware.wms.inventory.entity.InventoryTransactionDetail;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.mapper.InventoryTransactionMapper;
 import com.superware.wms.inventory.service.InventoryTransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,15 +17,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import jakarta.validation.Valid;
-import java.math.BigDecimal;
 import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * REST controller for managing inventory transactions.
@@ -35,22 +36,27 @@ import java.util.stream.Collectors;
 public class InventoryTransactionController {
 
     private final InventoryTransactionService inventoryTransactionService;
+    private final InventoryTransactionMapper inventoryTransactionMapper;
 
     @Autowired
-    public InventoryTransactionController(InventoryTransactionService inventoryTransactionService) {
+    public InventoryTransactionController(InventoryTransactionService inventoryTransactionService,
+                                          InventoryTransactionMapper inventoryTransactionMapper) {
         this.inventoryTransactionService = inventoryTransactionService;
+        this.inventoryTransactionMapper = inventoryTransactionMapper;
     }
 
     /**
      * GET /api/v1/inventory/transactions : Get all inventory transactions with pagination
      *
+     * @param from Optional inclusive start date; defaults to the start of the recent lookback window
+     * @param to Optional exclusive end date
      * @param pageable Pagination and sorting parameters
      * @return Paginated list of inventory transactions
      */
     @GetMapping
     @Operation(
         summary = "Get all inventory transactions with pagination",
-        description = "Retrieves a paginated list of all inventory transactions in the system."
+        description = "Retrieves a paginated list of inventory transactions. Without a date range only recent months are searched."
     )
     @ApiResponses({
         @ApiResponse(
@@ -61,10 +67,15 @@ public class InventoryTransactionController {
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     public ResponseEntity<Page<InventoryTransactionDto>> getAllTransactions(
+            @Parameter(description = "Inclusive start of the transaction date range")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Exclusive end of the transaction date range")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
             @Parameter(description = "Pagination and sorting parameters")
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<InventoryTransaction> transactions = inventoryTransactionService.getAllTransactions(pageable);
-        Page<InventoryTransactionDto> transactionDtos = transactions.map(this::convertToDto);
+        Page<InventoryTransactionDto> transactionDtos = from != null || to != null
+                ? inventoryTransactionService.getTransactionDtosByDateRange(from, to, pageable)
+                : inventoryTransactionService.getAllTransactionDtos(pageable);
         return ResponseEntity.ok(transactionDtos);
     }
 
@@ -91,8 +102,7 @@ public class InventoryTransactionController {
     public ResponseEntity<InventoryTransactionDto> getTransactionById(
             @Parameter(description = "ID of the inventory transaction to be retrieved", required = true)
             @PathVariable Integer id) {
-        InventoryTransaction transaction = inventoryTransactionService.getTransactionById(id);
-        return ResponseEntity.ok(convertToDto(transaction));
+        return ResponseEntity.ok(inventoryTransactionService.getTransactionDtoById(id));
     }
 
     /**
@@ -118,7 +128,7 @@ public class InventoryTransactionController {
     public ResponseEntity<InventoryTransactionDto> createTransaction(
             @Parameter(description = "Inventory transaction to be created", required = true)
             @Valid @RequestBody InventoryTransactionDto transactionDto) {
-        InventoryTransaction transaction = convertToEntity(transactionDto);
+        InventoryTransaction transaction = inventoryTransactionMapper.toEntity(transactionDto);
         InventoryTransaction createdTransaction = inventoryTransactionService.createTransaction(transaction);
         
         URI location = ServletUriComponentsBuilder
@@ -127,7 +137,7 @@ public class InventoryTransactionController {
             .buildAndExpand(createdTransaction.getTransactionId())
             .toUri();
             
-        return ResponseEntity.created(location).body(convertToDto(createdTransaction));
+        return ResponseEntity.created(location).body(inventoryTransactionMapper.toDto(createdTransaction));
     }
 
     /**
@@ -157,9 +167,9 @@ public class InventoryTransactionController {
             @PathVariable Integer id,
             @Parameter(description = "Updated inventory transaction data", required = true)
             @Valid @RequestBody InventoryTransactionDto transactionDto) {
-        InventoryTransaction transaction = convertToEntity(transactionDto);
+        InventoryTransaction transaction = inventoryTransactionMapper.toEntity(transactionDto);
         InventoryTransaction updatedTransaction = inventoryTransactionService.updateTransaction(id, transaction);
-        return ResponseEntity.ok(convertToDto(updatedTransaction));
+        return ResponseEntity.ok(inventoryTransactionMapper.toDto(updatedTransaction));
     }
 
     /**
@@ -202,16 +212,13 @@ public class InventoryTransactionController {
             description = "Successfully retrieved inventory transaction details",
             content = @Content(schema = @Schema(implementation = InventoryTransactionDetailDto.class, type = "array"))
         ),
+        @ApiResponse(responseCode = "404", description = "Inventory transaction not found"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     public ResponseEntity<List<InventoryTransactionDetailDto>> getTransactionDetailsByTransactionId(
             @Parameter(description = "ID of the transaction", required = true)
             @PathVariable Integer transactionId) {
-        List<InventoryTransactionDetail> details = inventoryTransactionService.getTransactionDetailsByTransactionId(transactionId);
-        List<InventoryTransactionDetailDto> detailDtos = details.stream()
-                .map(this::convertDetailToDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(detailDtos);
+        return ResponseEntity.ok(inventoryTransactionService.getTransactionDetailDtosByTransactionId(transactionId));
     }
 
     /**
@@ -243,7 +250,7 @@ public class InventoryTransactionController {
             @Parameter(description = "ID of the inventory item", required = true)
             @RequestParam Integer itemId,
             @Parameter(description = "Quantity received", required = true)
-            @RequestParam BigDecimal quantity,
+            @RequestParam Quantity quantity,
             @Parameter(description = "ID of the source location", required = true)
             @RequestParam Integer fromLocationId,
             @Parameter(description = "ID of the destination location", required = true)
@@ -256,7 +263,7 @@ public class InventoryTransactionController {
             .path("/{id}")
             .buildAndExpand(transaction.getTransactionId())
             .toUri();
-        return ResponseEntity.created(location).body(convertToDto(transaction));
+        return ResponseEntity.created(location).body(inventoryTransactionMapper.toDto(transaction));
     }
 
     /**
@@ -288,7 +295,7 @@ public class InventoryTransactionController {
             @Parameter(description = "ID of the inventory item", required = true)
             @RequestParam Integer itemId,
             @Parameter(description = "Quantity issued", required = true)
-            @RequestParam BigDecimal quantity,
+            @RequestParam Quantity quantity,
             @Parameter(description = "ID of the source location", required = true)
             @RequestParam Integer fromLocationId,
             @Parameter(description = "ID of the destination location", required = true)
@@ -301,7 +308,7 @@ public class InventoryTransactionController {
             .path("/{id}")
             .buildAndExpand(transaction.getTransactionId())
             .toUri();
-        return ResponseEntity.created(location).body(convertToDto(transaction));
+        return ResponseEntity.created(location).body(inventoryTransactionMapper.toDto(transaction));
     }
 
     /**
@@ -333,7 +340,7 @@ public class InventoryTransactionController {
             @Parameter(description = "ID of the inventory item", required = true)
             @RequestParam Integer itemId,
             @Parameter(description = "Quantity transferred", required = true)
-            @RequestParam BigDecimal quantity,
+            @RequestParam Quantity quantity,
             @Parameter(description = "ID of the source location", required = true)
             @RequestParam Integer fromLocationId,
             @Parameter(description = "ID of the destination location", required = true)
@@ -346,75 +353,6 @@ public class InventoryTransactionController {
             .path("/{id}")
             .buildAndExpand(transaction.getTransactionId())
             .toUri();
-        return ResponseEntity.created(location).body(convertToDto(transaction));
-    }
-
-    // Helper methods for conversion between Entity and DTO
-    private InventoryTransactionDto convertToDto(InventoryTransaction transaction) {
-        InventoryTransactionDto dto = new InventoryTransactionDto();
-        dto.setTransactionId(transaction.getTransactionId());
-        dto.setTenantId(transaction.getTenantId());
-        dto.setTransactionType(transaction.getTransactionType());
-        dto.setTransactionDate(transaction.getTransactionDate());
-        dto.setStatus(transaction.getStatus());
-        dto.setReferenceNumber(transaction.getReferenceNumber());
-        dto.setReferenceType(transaction.getReferenceType());
-        dto.setReferenceId(transaction.getReferenceId());
-        dto.setSourceType(transaction.getSourceType());
-        dto.setSourceId(transaction.getSourceId());
-        dto.setDestinationType(transaction.getDestinationType());
-        dto.setDestinationId(transaction.getDestinationId());
-        dto.setNotes(transaction.getNotes());
-        dto.setCreatedAt(transaction.getCreatedAt());
-        dto.setUpdatedAt(transaction.getUpdatedAt());
-        dto.setCreatedBy(transaction.getCreatedBy());
-        dto.setUpdatedBy(transaction.getUpdatedBy());
-        dto.setIsDeleted(transaction.getIsDeleted());
-        return dto;
-    }
-
-    private InventoryTransaction convertToEntity(InventoryTransactionDto dto) {
-        InventoryTransaction transaction = new InventoryTransaction();
-        transaction.setTransactionId(dto.getTransactionId());
-        transaction.setTenantId(dto.getTenantId());
-        transaction.setTransactionType(dto.getTransactionType());
-        transaction.setTransactionDate(dto.getTransactionDate());
-        transaction.setStatus(dto.getStatus());
-        transaction.setReferenceNumber(dto.getReferenceNumber());
-        transaction.setReferenceType(dto.getReferenceType());
-        transaction.setReferenceId(dto.getReferenceId());
-        transaction.setSourceType(dto.getSourceType());
-        transaction.setSourceId(dto.getSourceId());
-        transaction.setDestinationType(dto.getDestinationType());
-        transaction.setDestinationId(dto.getDestinationId());
-        transaction.setNotes(dto.getNotes());
-        transaction.setCreatedAt(dto.getCreatedAt());
-        transaction.setUpdatedAt(dto.getUpdatedAt());
-        transaction.setCreatedBy(dto.getCreatedBy());
-        transaction.setUpdatedBy(dto.getUpdatedBy());
-        transaction.setIsDeleted(dto.getIsDeleted());
-        return transaction;
-    }
-
-    private InventoryTransactionDetailDto convertDetailToDto(InventoryTransactionDetail detail) {
-        InventoryTransactionDetailDto dto = new InventoryTransactionDetailDto();
-        dto.setTransactionDetailId(detail.getTransactionDetailId());
-        dto.setTransactionId(detail.getTransactionId());
-        dto.setItemId(detail.getItemId());
-        dto.setQuantity(detail.getQuantity());
-        dto.setUnitOfMeasure(detail.getUnitOfMeasure());
-        dto.setUnitCost(detail.getUnitCost());
-        dto.setTotalCost(detail.getTotalCost());
-        dto.setLotNumber(detail.getLotNumber());
-        dto.setSerialNumber(detail.getSerialNumber());
-        dto.setFromLocationId(detail.getFromLocationId());
-        dto.setToLocationId(detail.getToLocationId());
-        dto.setNotes(detail.getNotes());
-        dto.setCreatedAt(detail.getCreatedAt());
-        dto.setUpdatedAt(detail.getUpdatedAt());
-        dto.setCreatedBy(detail.getCreatedBy());
-        dto.setUpdatedBy(detail.getUpdatedBy());
-        dto.setIsDeleted(detail.getIsDeleted());
-        return dto;
+        return ResponseEntity.created(location).body(inventoryTransactionMapper.toDto(transaction));
     }
-}
\ No newline at end of file
+}
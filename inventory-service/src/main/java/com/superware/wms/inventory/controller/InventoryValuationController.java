@@ -0,0 +1,90 @@
+package com.superware.wms.inventory.controller;
+
+import com.superware.wms.inventory.dto.InventoryValuationDto;
+import com.superware.wms.inventory.dto.InventoryValuationRunDto;
+import com.superware.wms.inventory.service.InventoryValuationService;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for inventory valuation.
+ * Only registered when {@code inventory.valuation.enabled} is true.
+ */
+@RestController
+@RequestMapping("/api/v1/inventory/admin/valuation")
+@ConditionalOnProperty(name = "inventory.valuation.enabled", havingValue = "true")
+@Tag(name = "Inventory Valuation", description = "APIs for FIFO, LIFO and weighted-average stock valuation")
+public class InventoryValuationController {
+
+    private final InventoryValuationService inventoryValuationService;
+
+    @Autowired
+    public InventoryValuationController(InventoryValuationService inventoryValuationService) {
+        this.inventoryValuationService = inventoryValuationService;
+    }
+
+    /**
+     * GET /api/v1/inventory/admin/valuation : Get the current tenant's valued stock
+     *
+     * @param facilityId Facility to report (optional)
+     * @return Valued stock per product and facility
+     */
+    @GetMapping
+    @Operation(
+        summary = "Get the current tenant's valued stock",
+        description = "Returns quantity and value per product and facility as of the last valuation run, under each product's valuation method"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Valuation retrieved",
+            content = @Content(schema = @Schema(implementation = InventoryValuationDto.class, type = "array"))
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<List<InventoryValuationDto>> getValuation(
+            @Parameter(description = "ID of the facility to report, default all")
+            @RequestParam(required = false) Integer facilityId) {
+        return ResponseEntity.ok(inventoryValuationService.getValuation(
+                Integer.valueOf(TenantContextHolder.getCurrentTenant()), facilityId));
+    }
+
+    /**
+     * POST /api/v1/inventory/admin/valuation/run : Apply the current tenant's latest movements
+     *
+     * @return The processed transaction range and what changed
+     */
+    @PostMapping("/run")
+    @Operation(
+        summary = "Apply the current tenant's latest movements",
+        description = "Brings the cost layers up to date with the movements completed since the last run, without waiting for the scheduled run"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Valuation brought up to date",
+            content = @Content(schema = @Schema(implementation = InventoryValuationRunDto.class))
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<InventoryValuationRunDto> value() {
+        return ResponseEntity.ok(inventoryValuationService.value(
+                Integer.valueOf(TenantContextHolder.getCurrentTenant())));
+    }
+}
@@ -0,0 +1,65 @@
+package com.superware.wms.inventory.controller;
+
+import com.superware.wms.inventory.dto.JournalPostingDto;
+import com.superware.wms.inventory.service.JournalPostingService;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for posting inventory movements to the general ledger.
+ * Only registered when {@code inventory.gl.enabled} is true.
+ */
+@RestController
+@RequestMapping("/api/v1/inventory/admin/journal-postings")
+@ConditionalOnProperty(name = "inventory.gl.enabled", havingValue = "true")
+@Tag(name = "GL Posting", description = "APIs for posting inventory movements to journal entries")
+public class JournalPostingController {
+
+    private final JournalPostingService journalPostingService;
+
+    @Autowired
+    public JournalPostingController(JournalPostingService journalPostingService) {
+        this.journalPostingService = journalPostingService;
+    }
+
+    /**
+     * POST /api/v1/inventory/admin/journal-postings/periods/{periodId} : Repost a financial period of the current tenant
+     *
+     * @param periodId The ID of the financial period
+     * @return What was posted and removed
+     */
+    @PostMapping("/periods/{periodId}")
+    @Operation(
+        summary = "Repost a financial period of the current tenant",
+        description = "Replaces the period's summarized inventory journal entries with ones built from the current valuation. Safe to repeat; closed periods are rejected."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Period posted",
+            content = @Content(schema = @Schema(implementation = JournalPostingDto.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Period is closed"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "404", description = "Period or a configured account not found")
+    })
+    public ResponseEntity<JournalPostingDto> postPeriod(
+            @Parameter(description = "ID of the financial period", required = true)
+            @PathVariable Integer periodId) {
+        return ResponseEntity.ok(journalPostingService.postPeriod(
+                Integer.valueOf(TenantContextHolder.getCurrentTenant()), periodId));
+    }
+}
@@ -0,0 +1,106 @@
+package com.superware.wms.inventory.controller;
+
+import com.superware.wms.inventory.dto.PickSequenceDto;
+import com.superware.wms.inventory.service.PickPathService;
+import com.superware.wms.inventory.service.picking.PickPathStrategy;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for pick path sequencing.
+ * Only registered when {@code inventory.pick-path.enabled} is true.
+ */
+@RestController
+@RequestMapping("/api/v1/inventory/admin/pick-paths")
+@ConditionalOnProperty(name = "inventory.pick-path.enabled", havingValue = "true")
+@Tag(name = "Pick Paths", description = "APIs for sequencing picks into short walks")
+public class PickPathController {
+
+    private final PickPathService pickPathService;
+
+    @Autowired
+    public PickPathController(PickPathService pickPathService) {
+        this.pickPathService = pickPathService;
+    }
+
+    /**
+     * POST /api/v1/inventory/admin/pick-paths/facilities/{facilityId}/sequence : Order locations into a walk
+     *
+     * @param facilityId The ID of the facility
+     * @param locationIds The locations to visit
+     * @param strategy The routing heuristic (default as configured)
+     * @return The locations in visiting order
+     */
+    @PostMapping("/facilities/{facilityId}/sequence")
+    @Operation(
+        summary = "Order storage locations into a pick walk",
+        description = "Returns the distinct locations in the order a picker starting and ending at the facility's depot should visit them, with the walk's length. Nothing is stored."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Locations sequenced",
+            content = @Content(schema = @Schema(implementation = PickSequenceDto.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "A location is not in the facility"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<PickSequenceDto> sequenceLocations(
+            @Parameter(description = "ID of the facility", required = true)
+            @PathVariable Integer facilityId,
+            @Parameter(description = "IDs of the storage locations to visit", required = true)
+            @RequestBody List<Integer> locationIds,
+            @Parameter(description = "SERPENTINE, LARGEST_GAP or TWO_OPT")
+            @RequestParam(required = false) PickPathStrategy strategy) {
+        return ResponseEntity.ok(pickPathService.sequenceLocations(
+                Integer.valueOf(TenantContextHolder.getCurrentTenant()), facilityId, locationIds, strategy));
+    }
+
+    /**
+     * POST /api/v1/inventory/admin/pick-paths/tasks/{pickTaskId}/sequence : Re-sequence a pick task
+     *
+     * @param pickTaskId The ID of the pick task
+     * @param strategy The routing heuristic (default as configured)
+     * @return The task's locations in visiting order
+     */
+    @PostMapping("/tasks/{pickTaskId}/sequence")
+    @Operation(
+        summary = "Re-sequence a pending pick task",
+        description = "Renumbers the task's items in walking order and stores the walk's length and location count on the task."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Task sequenced",
+            content = @Content(schema = @Schema(implementation = PickSequenceDto.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "The task is no longer pending"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "404", description = "Pick task not found")
+    })
+    public ResponseEntity<PickSequenceDto> sequenceTask(
+            @Parameter(description = "ID of the pick task", required = true)
+            @PathVariable Integer pickTaskId,
+            @Parameter(description = "SERPENTINE, LARGEST_GAP or TWO_OPT")
+            @RequestParam(required = false) PickPathStrategy strategy) {
+        return ResponseEntity.ok(pickPathService.sequenceTask(
+                Integer.valueOf(TenantContextHolder.getCurrentTenant()), pickTaskId, strategy));
+    }
+}
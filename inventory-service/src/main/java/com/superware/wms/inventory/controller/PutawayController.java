@@ -0,0 +1,72 @@
+package com.superware.wms.inventory.controller;
+
+import com.superware.wms.inventory.dto.PutawaySuggestionRunDto;
+import com.superware.wms.inventory.service.PutawayService;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for putaway location suggestions.
+ * Only registered when {@code inventory.putaway.enabled} is true.
+ */
+@RestController
+@RequestMapping("/api/v1/inventory/admin/putaway")
+@ConditionalOnProperty(name = "inventory.putaway.enabled", havingValue = "true")
+@Tag(name = "Putaway", description = "APIs for suggesting where received goods are put away")
+public class PutawayController {
+
+    private final PutawayService putawayService;
+
+    @Autowired
+    public PutawayController(PutawayService putawayService) {
+        this.putawayService = putawayService;
+    }
+
+    /**
+     * POST /api/v1/inventory/admin/putaway/facilities/{facilityId}/suggestions : Suggest locations for a receipt
+     *
+     * @param facilityId The ID of the facility the goods were received in
+     * @param referenceType The putaway tasks' reference type
+     * @param referenceId The putaway tasks' reference ID
+     * @return The suggestions made
+     */
+    @PostMapping("/facilities/{facilityId}/suggestions")
+    @Operation(
+        summary = "Suggest storage locations for a receipt's putaway tasks",
+        description = "Fills in the suggested location of every pending task of the receipt that has none, "
+                + "from the active putaway rules and the locations' free weight and volume. Tasks no location has room for keep none."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Locations suggested",
+            content = @Content(schema = @Schema(implementation = PutawaySuggestionRunDto.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Missing reference"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<PutawaySuggestionRunDto> suggestLocations(
+            @Parameter(description = "ID of the facility", required = true)
+            @PathVariable Integer facilityId,
+            @Parameter(description = "Reference type of the tasks, e.g. PURCHASE_RECEIPT", required = true)
+            @RequestParam String referenceType,
+            @Parameter(description = "Reference ID of the tasks", required = true)
+            @RequestParam Integer referenceId) {
+        return ResponseEntity.ok(putawayService.suggestLocations(
+                Integer.valueOf(TenantContextHolder.getCurrentTenant()), facilityId, referenceType, referenceId));
+    }
+}
@@ -0,0 +1,57 @@
+package com.superware.wms.inventory.controller;
+
+import com.superware.wms.inventory.dto.ReplenishmentSweepDto;
+import com.superware.wms.inventory.service.ReplenishmentService;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for pick face replenishment.
+ * Only registered when {@code inventory.replenishment.enabled} is true.
+ */
+@RestController
+@RequestMapping("/api/v1/inventory/admin/replenishment")
+@ConditionalOnProperty(name = "inventory.replenishment.enabled", havingValue = "true")
+@Tag(name = "Replenishment", description = "APIs for min/max replenishment of pick faces")
+public class ReplenishmentController {
+
+    private final ReplenishmentService replenishmentService;
+
+    @Autowired
+    public ReplenishmentController(ReplenishmentService replenishmentService) {
+        this.replenishmentService = replenishmentService;
+    }
+
+    /**
+     * POST /api/v1/inventory/admin/replenishment/sweep : Check all pick faces of the current tenant
+     *
+     * @return What the sweep found and how many tasks it created
+     */
+    @PostMapping("/sweep")
+    @Operation(
+        summary = "Check all pick faces of the current tenant",
+        description = "Compares the stock of every pick face with its inventory policy and creates replenishment tasks for those at or below the trigger level that have no open task."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Sweep completed",
+            content = @Content(schema = @Schema(implementation = ReplenishmentSweepDto.class))
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<ReplenishmentSweepDto> sweep() {
+        return ResponseEntity.ok(replenishmentService.sweep(Integer.valueOf(TenantContextHolder.getCurrentTenant())));
+    }
+}
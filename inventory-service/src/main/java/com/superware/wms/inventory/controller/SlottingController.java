@@ -0,0 +1,73 @@
+package com.superware.wms.inventory.controller;
+
+import com.superware.wms.inventory.dto.SlottingPlanDto;
+import com.superware.wms.inventory.service.SlottingService;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for velocity-driven re-slotting.
+ * Only registered when {@code inventory.slotting.enabled} is true.
+ */
+@RestController
+@RequestMapping("/api/v1/inventory/admin/slotting")
+@ConditionalOnProperty(name = "inventory.slotting.enabled", havingValue = "true")
+@Tag(name = "Slotting", description = "APIs for moving fast-moving stock closer to the depot")
+public class SlottingController {
+
+    private final SlottingService slottingService;
+
+    @Autowired
+    public SlottingController(SlottingService slottingService) {
+        this.slottingService = slottingService;
+    }
+
+    /**
+     * POST /api/v1/inventory/admin/slotting/facilities/{facilityId}/moves : Propose re-slot moves for a facility
+     *
+     * @param facilityId The ID of the facility
+     * @param maxMoves The most moves to propose
+     * @param createTransfers Whether to create pending transfer transactions for the moves
+     * @return The proposed moves
+     */
+    @PostMapping("/facilities/{facilityId}/moves")
+    @Operation(
+        summary = "Propose re-slot moves for a facility",
+        description = "Ranks moves of stock into cheaper empty locations, or swaps with slower stock, by the pick travel "
+                + "they save per transfer, from the completed issues of the configured window. Optionally records them "
+                + "as pending TRANSFER transactions; no stock is moved."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Moves proposed",
+            content = @Content(schema = @Schema(implementation = SlottingPlanDto.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid parameters"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<SlottingPlanDto> proposeMoves(
+            @Parameter(description = "ID of the facility", required = true)
+            @PathVariable Integer facilityId,
+            @Parameter(description = "Most moves to propose; the configured default when omitted")
+            @RequestParam(required = false) Integer maxMoves,
+            @Parameter(description = "Create pending transfer transactions for the moves")
+            @RequestParam(defaultValue = "false") boolean createTransfers) {
+        return ResponseEntity.ok(slottingService.proposeMoves(
+                Integer.valueOf(TenantContextHolder.getCurrentTenant()), facilityId, maxMoves, createTransfers));
+    }
+}
@@ -0,0 +1,56 @@
+package com.superware.wms.inventory.controller;
+
+import com.superware.wms.inventory.service.TenantPartitionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for tenant onboarding tasks on partitioned inventory tables.
+ * Only registered when {@code inventory.partitioning.enabled} is true.
+ */
+@RestController
+@RequestMapping("/api/v1/inventory/admin/tenants")
+@ConditionalOnProperty(name = "inventory.partitioning.enabled", havingValue = "true")
+@Tag(name = "Tenant Partitions", description = "APIs for managing tenant partitions")
+public class TenantPartitionController {
+
+    private final TenantPartitionService tenantPartitionService;
+
+    @Autowired
+    public TenantPartitionController(TenantPartitionService tenantPartitionService) {
+        this.tenantPartitionService = tenantPartitionService;
+    }
+
+    /**
+     * POST /api/v1/inventory/admin/tenants/{tenantId}/partitions : Create dedicated partitions for a tenant
+     *
+     * @param tenantId The ID of the tenant
+     * @return Created if new partitions were attached, no content if they already existed
+     */
+    @PostMapping("/{tenantId}/partitions")
+    @Operation(
+        summary = "Create dedicated partitions for a tenant",
+        description = "Moves the tenant out of the shared hash buckets into its own partitions of the inventory item and transaction tables."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "Tenant partitions created"),
+        @ApiResponse(responseCode = "204", description = "Tenant partitions already exist"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<Void> createTenantPartitions(
+            @Parameter(description = "ID of the tenant", required = true)
+            @PathVariable Integer tenantId) {
+        int created = tenantPartitionService.createTenantPartitions(tenantId);
+        return created > 0
+                ? ResponseEntity.status(HttpStatus.CREATED).build()
+                : ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.superware.wms.inventory.controller;
+
+import com.superware.wms.inventory.config.TenantDataSourceRegistry;
+import com.superware.wms.inventory.dto.TenantRoutingStatsDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing tenant connection routing metrics.
+ * Only registered when {@code inventory.tenancy.routing-enabled} is true.
+ */
+@RestController
+@RequestMapping("/api/v1/inventory/admin/tenant-pools")
+@ConditionalOnProperty(name = "inventory.tenancy.routing-enabled", havingValue = "true")
+@Tag(name = "Tenant Routing", description = "APIs for monitoring tenant connection routing")
+public class TenantRoutingController {
+
+    private final TenantDataSourceRegistry tenantDataSourceRegistry;
+
+    @Autowired
+    public TenantRoutingController(TenantDataSourceRegistry tenantDataSourceRegistry) {
+        this.tenantDataSourceRegistry = tenantDataSourceRegistry;
+    }
+
+    /**
+     * GET /api/v1/inventory/admin/tenant-pools : Get dedicated pool statistics
+     *
+     * @return Registry counters and per-tenant pool usage
+     */
+    @GetMapping
+    @Operation(
+        summary = "Get dedicated pool statistics",
+        description = "Returns pool hit/miss/eviction counters and connection usage for every open dedicated-database pool."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved pool statistics",
+            content = @Content(schema = @Schema(implementation = TenantRoutingStatsDto.class))
+        ),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<TenantRoutingStatsDto> getPoolStats() {
+        return ResponseEntity.ok(tenantDataSourceRegistry.getStats());
+    }
+}
@@ -0,0 +1,72 @@
+package com.superware.wms.inventory.controller;
+
+import com.superware.wms.inventory.dto.WavePlanDto;
+import com.superware.wms.inventory.service.WavePlanningService;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * REST controller for picking wave planning.
+ * Only registered when {@code inventory.waves.enabled} is true.
+ */
+@RestController
+@RequestMapping("/api/v1/inventory/admin/waves")
+@ConditionalOnProperty(name = "inventory.waves.enabled", havingValue = "true")
+@Tag(name = "Wave Planning", description = "APIs for grouping sales orders into picking waves")
+public class WavePlanningController {
+
+    private final WavePlanningService wavePlanningService;
+
+    @Autowired
+    public WavePlanningController(WavePlanningService wavePlanningService) {
+        this.wavePlanningService = wavePlanningService;
+    }
+
+    /**
+     * POST /api/v1/inventory/admin/waves/facilities/{facilityId}/plan : Plan waves for a facility
+     *
+     * @param facilityId The ID of the facility to pick from
+     * @param cutoffThrough The latest required date to plan (default as configured)
+     * @return Summary of the run
+     */
+    @PostMapping("/facilities/{facilityId}/plan")
+    @Operation(
+        summary = "Plan picking waves from confirmed sales orders",
+        description = "Allocates the facility's stock to confirmed orders not yet in a wave, all or nothing per order, "
+                + "and creates pending waves with one reservation per order. Orders the stock cannot cover are left confirmed."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Waves planned",
+            content = @Content(schema = @Schema(implementation = WavePlanDto.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid cutoff date"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<WavePlanDto> planWaves(
+            @Parameter(description = "ID of the facility", required = true)
+            @PathVariable Integer facilityId,
+            @Parameter(description = "Latest required date to include (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate cutoffThrough) {
+        return ResponseEntity.ok(wavePlanningService.planWaves(
+                Integer.valueOf(TenantContextHolder.getCurrentTenant()), facilityId, cutoffThrough));
+    }
+}
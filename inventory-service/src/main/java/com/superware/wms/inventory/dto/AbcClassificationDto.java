@@ -0,0 +1,128 @@
+package com.superware.wms.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.OffsetDateTime;
+
+@Schema(description = "Result of an ABC classification run for a tenant")
+public class AbcClassificationDto {
+
+    @Schema(description = "ID of the tenant", example = "1")
+    private Integer tenantId;
+
+    @Schema(description = "Start of the transaction dates rolled up by this run", example = "2024-06-01T02:00:00Z")
+    private OffsetDateTime processedFrom;
+
+    @Schema(description = "End (exclusive) of the transaction dates rolled up by this run; the next run starts here", example = "2024-06-02T02:00:00Z")
+    private OffsetDateTime processedUntil;
+
+    @Schema(description = "Products in class A", example = "1200")
+    private int classA;
+
+    @Schema(description = "Products in class B", example = "3100")
+    private int classB;
+
+    @Schema(description = "Products with activity in the window that fell in class C", example = "21000")
+    private int classC;
+
+    @Schema(description = "Policies whose class changed", example = "340")
+    private int policiesUpdated;
+
+    @Schema(description = "Wall-clock duration of the run in milliseconds", example = "1840")
+    private long durationMs;
+
+    // Constructors
+    public AbcClassificationDto() {
+    }
+
+    public AbcClassificationDto(Integer tenantId, OffsetDateTime processedFrom, OffsetDateTime processedUntil,
+                                int classA, int classB, int classC, int policiesUpdated, long durationMs) {
+        this.tenantId = tenantId;
+        this.processedFrom = processedFrom;
+        this.processedUntil = processedUntil;
+        this.classA = classA;
+        this.classB = classB;
+        this.classC = classC;
+        this.policiesUpdated = policiesUpdated;
+        this.durationMs = durationMs;
+    }
+
+    // Getters and Setters
+    public Integer getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Integer tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public OffsetDateTime getProcessedFrom() {
+        return processedFrom;
+    }
+
+    public void setProcessedFrom(OffsetDateTime processedFrom) {
+        this.processedFrom = processedFrom;
+    }
+
+    public OffsetDateTime getProcessedUntil() {
+        return processedUntil;
+    }
+
+    public void setProcessedUntil(OffsetDateTime processedUntil) {
+        this.processedUntil = processedUntil;
+    }
+
+    public int getClassA() {
+        return classA;
+    }
+
+    public void setClassA(int classA) {
+        this.classA = classA;
+    }
+
+    public int getClassB() {
+        return classB;
+    }
+
+    public void setClassB(int classB) {
+        this.classB = classB;
+    }
+
+    public int getClassC() {
+        return classC;
+    }
+
+    public void setClassC(int classC) {
+        this.classC = classC;
+    }
+
+    public int getPoliciesUpdated() {
+        return policiesUpdated;
+    }
+
+    public void setPoliciesUpdated(int policiesUpdated) {
+        this.policiesUpdated = policiesUpdated;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    @Override
+    public String toString() {
+        return "AbcClassificationDto{" +
+                "tenantId=" + tenantId +
+                ", processedFrom=" + processedFrom +
+                ", processedUntil=" + processedUntil +
+                ", classA=" + classA +
+                ", classB=" + classB +
+                ", classC=" + classC +
+                ", policiesUpdated=" + policiesUpdated +
+                ", durationMs=" + durationMs +
+                '}';
+    }
+}
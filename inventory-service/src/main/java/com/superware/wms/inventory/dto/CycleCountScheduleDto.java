@@ -0,0 +1,102 @@
+package com.superware.wms.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@Schema(description = "Cycle counts scheduled for a tenant on one day")
+public class CycleCountScheduleDto {
+
+    @Schema(description = "ID of the tenant", example = "1")
+    private Integer tenantId;
+
+    @Schema(description = "Day the counts were scheduled for", example = "2024-06-01")
+    private LocalDate countDate;
+
+    @Schema(description = "Facilities planned, each within its own labor budget", example = "3")
+    private int facilities;
+
+    @Schema(description = "Locations that were due or had reached their next count date", example = "820")
+    private int dueLocations;
+
+    @Schema(description = "Cycle counts created", example = "240")
+    private int countsCreated;
+
+    @Schema(description = "Estimated labor of the created counts in minutes", example = "1430.0")
+    private double laborMinutes;
+
+    @Schema(description = "Wall-clock duration of the run in milliseconds, including throttling pauses", example = "4200")
+    private long durationMs;
+
+    // Constructors
+    public CycleCountScheduleDto() {
+    }
+
+    public CycleCountScheduleDto(Integer tenantId, LocalDate countDate, int facilities, int dueLocations,
+                                 int countsCreated, double laborMinutes, long durationMs) {
+        this.tenantId = tenantId;
+        this.countDate = countDate;
+        this.facilities = facilities;
+        this.dueLocations = dueLocations;
+        this.countsCreated = countsCreated;
+        this.laborMinutes = laborMinutes;
+        this.durationMs = durationMs;
+    }
+
+    // Getters and Setters
+    public Integer getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Integer tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public LocalDate getCountDate() {
+        return countDate;
+    }
+
+    public void setCountDate(LocalDate countDate) {
+        this.countDate = countDate;
+    }
+
+    public int getFacilities() {
+        return facilities;
+    }
+
+    public void setFacilities(int facilities) {
+        this.facilities = facilities;
+    }
+
+    public int getDueLocations() {
+        return dueLocations;
+    }
+
+    public void setDueLocations(int dueLocations) {
+        this.dueLocations = dueLocations;
+    }
+
+    public int getCountsCreated() {
+        return countsCreated;
+    }
+
+    public void setCountsCreated(int countsCreated) {
+        this.countsCreated = countsCreated;
+    }
+
+    public double getLaborMinutes() {
+        return laborMinutes;
+    }
+
+    public void setLaborMinutes(double laborMinutes) {
+        this.laborMinutes = laborMinutes;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+}
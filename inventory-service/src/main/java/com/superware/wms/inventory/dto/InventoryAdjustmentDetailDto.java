@@ -1,5 +1,6 @@
 package com.superware.wms.inventory.dto;
 
+import com.superware.wms.inventory.entity.types.Quantity;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -31,14 +32,14 @@ public class InventoryAdjustmentDetailDto {
     private String serialNumber;
 
     @Schema(description = "Quantity before adjustment", example = "100.00")
-    private BigDecimal quantityBefore;
+    private Quantity quantityBefore;
 
     @Schema(description = "Quantity after adjustment", example = "125.00")
-    private BigDecimal quantityAfter;
+    private Quantity quantityAfter;
 
     @NotNull(message = "Quantity adjusted is required")
     @Schema(description = "Quantity adjusted", example = "25.00")
-    private BigDecimal quantityAdjusted;
+    private Quantity quantityAdjusted;
 
     @Schema(description = "Unit of measure", example = "EA")
     private String unitOfMeasure;
@@ -71,6 +72,48 @@ public class InventoryAdjustmentDetailDto {
     public InventoryAdjustmentDetailDto() {
     }
 
+    /**
+     * Constructor used by JPQL constructor projections, in field declaration order.
+     */
+    public InventoryAdjustmentDetailDto(
+            Integer adjustmentDetailId,
+            Integer adjustmentId,
+            Integer itemId,
+            Integer locationId,
+            String lotNumber,
+            String serialNumber,
+            Quantity quantityBefore,
+            Quantity quantityAfter,
+            Quantity quantityAdjusted,
+            String unitOfMeasure,
+            BigDecimal unitCost,
+            BigDecimal totalCost,
+            String notes,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            Integer createdBy,
+            Integer updatedBy,
+            Boolean isDeleted) {
+        this.adjustmentDetailId = adjustmentDetailId;
+        this.adjustmentId = adjustmentId;
+        this.itemId = itemId;
+        this.locationId = locationId;
+        this.lotNumber = lotNumber;
+        this.serialNumber = serialNumber;
+        this.quantityBefore = quantityBefore;
+        this.quantityAfter = quantityAfter;
+        this.quantityAdjusted = quantityAdjusted;
+        this.unitOfMeasure = unitOfMeasure;
+        this.unitCost = unitCost;
+        this.totalCost = totalCost;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.createdBy = createdBy;
+        this.updatedBy = updatedBy;
+        this.isDeleted = isDeleted;
+    }
+
     // Getters and Setters
     public Integer getAdjustmentDetailId() {
         return adjustmentDetailId;
@@ -120,27 +163,27 @@ public class InventoryAdjustmentDetailDto {
         this.serialNumber = serialNumber;
     }
 
-    public BigDecimal getQuantityBefore() {
+    public Quantity getQuantityBefore() {
         return quantityBefore;
     }
 
-    public void setQuantityBefore(BigDecimal quantityBefore) {
+    public void setQuantityBefore(Quantity quantityBefore) {
         this.quantityBefore = quantityBefore;
     }
 
-    public BigDecimal getQuantityAfter() {
+    public Quantity getQuantityAfter() {
         return quantityAfter;
     }
 
-    public void setQuantityAfter(BigDecimal quantityAfter) {
+    public void setQuantityAfter(Quantity quantityAfter) {
         this.quantityAfter = quantityAfter;
     }
 
-    public BigDecimal getQuantityAdjusted() {
+    public Quantity getQuantityAdjusted() {
         return quantityAdjusted;
     }
 
-    public void setQuantityAdjusted(BigDecimal quantityAdjusted) {
+    public void setQuantityAdjusted(Quantity quantityAdjusted) {
         this.quantityAdjusted = quantityAdjusted;
     }
 
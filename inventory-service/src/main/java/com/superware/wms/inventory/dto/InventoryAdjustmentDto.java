@@ -74,6 +74,50 @@ public class InventoryAdjustmentDto {
     public InventoryAdjustmentDto() {
     }
 
+    /**
+     * Constructor used by JPQL constructor projections, in field declaration order.
+     */
+    public InventoryAdjustmentDto(
+            Integer adjustmentId,
+            Integer tenantId,
+            String adjustmentNumber,
+            LocalDateTime adjustmentDate,
+            String status,
+            String adjustmentType,
+            String reasonCode,
+            String referenceNumber,
+            String referenceType,
+            Integer referenceId,
+            String notes,
+            Boolean isApproved,
+            Integer approvedBy,
+            LocalDateTime approvedAt,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            Integer createdBy,
+            Integer updatedBy,
+            Boolean isDeleted) {
+        this.adjustmentId = adjustmentId;
+        this.tenantId = tenantId;
+        this.adjustmentNumber = adjustmentNumber;
+        this.adjustmentDate = adjustmentDate;
+        this.status = status;
+        this.adjustmentType = adjustmentType;
+        this.reasonCode = reasonCode;
+        this.referenceNumber = referenceNumber;
+        this.referenceType = referenceType;
+        this.referenceId = referenceId;
+        this.notes = notes;
+        this.isApproved = isApproved;
+        this.approvedBy = approvedBy;
+        this.approvedAt = approvedAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.createdBy = createdBy;
+        this.updatedBy = updatedBy;
+        this.isDeleted = isDeleted;
+    }
+
     // Getters and Setters
     public Integer getAdjustmentId() {
         return adjustmentId;
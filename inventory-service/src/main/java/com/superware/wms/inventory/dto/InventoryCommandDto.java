@@ -0,0 +1,157 @@
+package com.superware.wms.inventory.dto;
+
+import com.superware.wms.inventory.entity.types.Quantity;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Asynchronous inventory command data transfer object")
+public class InventoryCommandDto {
+
+    @Schema(description = "Unique identifier of the command", example = "6f1c2c8e-3d4b-4c55-9a0e-2b7f1f0d8a11", accessMode = Schema.AccessMode.READ_ONLY)
+    private String commandId;
+
+    @NotBlank(message = "Transaction type is required")
+    @Pattern(regexp = "RECEIPT|ISSUE|TRANSFER", message = "Transaction type must be RECEIPT, ISSUE or TRANSFER")
+    @Schema(description = "Type of stock movement (RECEIPT, ISSUE or TRANSFER)", example = "ISSUE")
+    private String transactionType;
+
+    @NotNull(message = "Item ID is required")
+    @Schema(description = "Identifier of the inventory item", example = "1")
+    private Integer itemId;
+
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be positive")
+    @Schema(description = "Quantity moved", example = "5.00")
+    private Quantity quantity;
+
+    @Schema(description = "Identifier of the source location", example = "5")
+    private Integer fromLocationId;
+
+    @Schema(description = "Identifier of the destination location", example = "6")
+    private Integer toLocationId;
+
+    @NotNull(message = "User ID is required")
+    @Schema(description = "ID of the user performing the transaction", example = "1")
+    private Integer userId;
+
+    @Schema(description = "Processing status of the command (QUEUED, COMPLETED, FAILED)", example = "QUEUED", accessMode = Schema.AccessMode.READ_ONLY)
+    private String status;
+
+    @Schema(description = "Identifier of the inventory transaction created by the command", example = "42", accessMode = Schema.AccessMode.READ_ONLY)
+    private Integer transactionId;
+
+    @Schema(description = "Failure reason when the command could not be applied", accessMode = Schema.AccessMode.READ_ONLY)
+    private String errorMessage;
+
+    @Schema(description = "Submission timestamp", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime submittedAt;
+
+    @Schema(description = "Completion timestamp", accessMode = Schema.AccessMode.READ_ONLY)
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public InventoryCommandDto() {
+    }
+
+    // Getters and Setters
+    public String getCommandId() {
+        return commandId;
+    }
+
+    public void setCommandId(String commandId) {
+        this.commandId = commandId;
+    }
+
+    public String getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(String transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public Integer getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(Integer itemId) {
+        this.itemId = itemId;
+    }
+
+    public Quantity getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Quantity quantity) {
+        this.quantity = quantity;
+    }
+
+    public Integer getFromLocationId() {
+        return fromLocationId;
+    }
+
+    public void setFromLocationId(Integer fromLocationId) {
+        this.fromLocationId = fromLocationId;
+    }
+
+    public Integer getToLocationId() {
+        return toLocationId;
+    }
+
+    public void setToLocationId(Integer toLocationId) {
+        this.toLocationId = toLocationId;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Integer transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -1,10 +1,10 @@
 package com.superware.wms.inventory.dto;
 
+import com.superware.wms.inventory.entity.types.Quantity;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Schema(description = "Inventory count detail data transfer object")
@@ -22,14 +22,14 @@ public class InventoryCountDetailDto {
     private Integer itemId;
 
     @Schema(description = "Expected quantity", example = "100.00")
-    private BigDecimal expectedQuantity;
+    private Quantity expectedQuantity;
 
     @NotNull(message = "Counted quantity is required")
     @Schema(description = "Counted quantity", example = "95.00")
-    private BigDecimal countedQuantity;
+    private Quantity countedQuantity;
 
     @Schema(description = "Variance", example = "-5.00")
-    private BigDecimal variance;
+    private Quantity variance;
 
     @Schema(description = "Unit of measure", example = "EA")
     private String unitOfMeasure;
@@ -62,6 +62,42 @@ public class InventoryCountDetailDto {
     public InventoryCountDetailDto() {
     }
 
+    /**
+     * Constructor used by JPQL constructor projections, in field declaration order.
+     */
+    public InventoryCountDetailDto(
+            Integer countDetailId,
+            Integer countId,
+            Integer itemId,
+            Quantity expectedQuantity,
+            Quantity countedQuantity,
+            Quantity variance,
+            String unitOfMeasure,
+            String lotNumber,
+            String notes,
+            Boolean isRecounted,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            Integer createdBy,
+            Integer updatedBy,
+            Boolean isDeleted) {
+        this.countDetailId = countDetailId;
+        this.countId = countId;
+        this.itemId = itemId;
+        this.expectedQuantity = expectedQuantity;
+        this.countedQuantity = countedQuantity;
+        this.variance = variance;
+        this.unitOfMeasure = unitOfMeasure;
+        this.lotNumber = lotNumber;
+        this.notes = notes;
+        this.isRecounted = isRecounted;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.createdBy = createdBy;
+        this.updatedBy = updatedBy;
+        this.isDeleted = isDeleted;
+    }
+
     // Getters and Setters
     public Integer getCountDetailId() {
         return countDetailId;
@@ -87,27 +123,27 @@ public class InventoryCountDetailDto {
         this.itemId = itemId;
     }
 
-    public BigDecimal getExpectedQuantity() {
+    public Quantity getExpectedQuantity() {
         return expectedQuantity;
     }
 
-    public void setExpectedQuantity(BigDecimal expectedQuantity) {
+    public void setExpectedQuantity(Quantity expectedQuantity) {
         this.expectedQuantity = expectedQuantity;
     }
 
-    public BigDecimal getCountedQuantity() {
+    public Quantity getCountedQuantity() {
         return countedQuantity;
     }
 
-    public void setCountedQuantity(BigDecimal countedQuantity) {
+    public void setCountedQuantity(Quantity countedQuantity) {
         this.countedQuantity = countedQuantity;
     }
 
-    public BigDecimal getVariance() {
+    public Quantity getVariance() {
         return variance;
     }
 
-    public void setVariance(BigDecimal variance) {
+    public void setVariance(Quantity variance) {
         this.variance = variance;
     }
 
@@ -78,6 +78,54 @@ public class InventoryCountDto {
     public InventoryCountDto() {
     }
 
+    /**
+     * Constructor used by JPQL constructor projections, in field declaration order.
+     */
+    public InventoryCountDto(
+            Integer countId,
+            Integer tenantId,
+            String countNumber,
+            String countType,
+            String status,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Integer facilityId,
+            Integer zoneId,
+            Integer locationId,
+            Integer productId,
+            Integer categoryId,
+            String notes,
+            Boolean isApproved,
+            Integer approvedBy,
+            LocalDateTime approvedAt,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            Integer createdBy,
+            Integer updatedBy,
+            Boolean isDeleted) {
+        this.countId = countId;
+        this.tenantId = tenantId;
+        this.countNumber = countNumber;
+        this.countType = countType;
+        this.status = status;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.facilityId = facilityId;
+        this.zoneId = zoneId;
+        this.locationId = locationId;
+        this.productId = productId;
+        this.categoryId = categoryId;
+        this.notes = notes;
+        this.isApproved = isApproved;
+        this.approvedBy = approvedBy;
+        this.approvedAt = approvedAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.createdBy = createdBy;
+        this.updatedBy = updatedBy;
+        this.isDeleted = isDeleted;
+    }
+
     // Getters and Setters
     public Integer getCountId() {
         return countId;
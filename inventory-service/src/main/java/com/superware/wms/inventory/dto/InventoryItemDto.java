@@ -1,5 +1,6 @@
 package com.superware.wms.inventory.dto;
 
+import com.superware.wms.inventory.entity.types.Quantity;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -40,17 +41,17 @@ public class InventoryItemDto {
     @NotNull(message = "Quantity on hand is required")
     @PositiveOrZero(message = "Quantity on hand must be zero or positive")
     @Schema(description = "Quantity on hand", example = "100.00")
-    private BigDecimal quantityOnHand;
+    private Quantity quantityOnHand;
 
     @NotNull(message = "Quantity allocated is required")
     @PositiveOrZero(message = "Quantity allocated must be zero or positive")
     @Schema(description = "Quantity allocated", example = "25.00")
-    private BigDecimal quantityAllocated;
+    private Quantity quantityAllocated;
 
     @NotNull(message = "Quantity available is required")
     @PositiveOrZero(message = "Quantity available must be zero or positive")
     @Schema(description = "Quantity available", example = "75.00")
-    private BigDecimal quantityAvailable;
+    private Quantity quantityAvailable;
 
     @NotBlank(message = "Unit of measure is required")
     @Schema(description = "Unit of measure", example = "EA")
@@ -111,6 +112,66 @@ public class InventoryItemDto {
     public InventoryItemDto() {
     }
 
+    /**
+     * Constructor used by JPQL constructor projections, in field declaration order.
+     */
+    public InventoryItemDto(
+            Integer itemId,
+            Integer tenantId,
+            Integer productId,
+            Integer variantId,
+            String lotNumber,
+            String serialNumber,
+            String status,
+            String condition,
+            Quantity quantityOnHand,
+            Quantity quantityAllocated,
+            Quantity quantityAvailable,
+            String unitOfMeasure,
+            Integer locationId,
+            Integer facilityId,
+            LocalDateTime expiryDate,
+            LocalDateTime manufactureDate,
+            LocalDateTime receivedDate,
+            LocalDateTime lastCountedDate,
+            BigDecimal unitCost,
+            BigDecimal totalCost,
+            String notes,
+            Boolean isActive,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            Integer createdBy,
+            Integer updatedBy,
+            Boolean isDeleted) {
+        this.itemId = itemId;
+        this.tenantId = tenantId;
+        this.productId = productId;
+        this.variantId = variantId;
+        this.lotNumber = lotNumber;
+        this.serialNumber = serialNumber;
+        this.status = status;
+        this.condition = condition;
+        this.quantityOnHand = quantityOnHand;
+        this.quantityAllocated = quantityAllocated;
+        this.quantityAvailable = quantityAvailable;
+        this.unitOfMeasure = unitOfMeasure;
+        this.locationId = locationId;
+        this.facilityId = facilityId;
+        this.expiryDate = expiryDate;
+        this.manufactureDate = manufactureDate;
+        this.receivedDate = receivedDate;
+        this.lastCountedDate = lastCountedDate;
+        this.unitCost = unitCost;
+        this.totalCost = totalCost;
+        this.notes = notes;
+        this.isActive = isActive;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.createdBy = createdBy;
+        this.updatedBy = updatedBy;
+        this.isDeleted = isDeleted;
+    }
+
     // Getters and Setters
     public Integer getItemId() {
         return itemId;
@@ -176,27 +237,27 @@ public class InventoryItemDto {
         this.condition = condition;
     }
 
-    public BigDecimal getQuantityOnHand() {
+    public Quantity getQuantityOnHand() {
         return quantityOnHand;
     }
 
-    public void setQuantityOnHand(BigDecimal quantityOnHand) {
+    public void setQuantityOnHand(Quantity quantityOnHand) {
         this.quantityOnHand = quantityOnHand;
     }
 
-    public BigDecimal getQuantityAllocated() {
+    public Quantity getQuantityAllocated() {
         return quantityAllocated;
     }
 
-    public void setQuantityAllocated(BigDecimal quantityAllocated) {
+    public void setQuantityAllocated(Quantity quantityAllocated) {
         this.quantityAllocated = quantityAllocated;
     }
 
-    public BigDecimal getQuantityAvailable() {
+    public Quantity getQuantityAvailable() {
         return quantityAvailable;
     }
 
-    public void setQuantityAvailable(BigDecimal quantityAvailable) {
+    public void setQuantityAvailable(Quantity quantityAvailable) {
         this.quantityAvailable = quantityAvailable;
     }
 
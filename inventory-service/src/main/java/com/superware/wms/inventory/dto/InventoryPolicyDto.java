@@ -1,10 +1,10 @@
 package com.superware.wms.inventory.dto;
 
+import com.superware.wms.inventory.entity.types.Quantity;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Schema(description = "Inventory policy data transfer object")
@@ -27,16 +27,16 @@ public class InventoryPolicyDto {
     private Integer facilityId;
 
     @Schema(description = "Minimum stock level", example = "50.00")
-    private BigDecimal minStockLevel;
+    private Quantity minStockLevel;
 
     @Schema(description = "Maximum stock level", example = "500.00")
-    private BigDecimal maxStockLevel;
+    private Quantity maxStockLevel;
 
     @Schema(description = "Reorder point", example = "100.00")
-    private BigDecimal reorderPoint;
+    private Quantity reorderPoint;
 
     @Schema(description = "Reorder quantity", example = "200.00")
-    private BigDecimal reorderQuantity;
+    private Quantity reorderQuantity;
 
     @Schema(description = "Valuation method", example = "FIFO")
     private String valuationMethod;
@@ -66,6 +66,46 @@ public class InventoryPolicyDto {
     public InventoryPolicyDto() {
     }
 
+    /**
+     * Constructor used by JPQL constructor projections, in field declaration order.
+     */
+    public InventoryPolicyDto(
+            Integer policyId,
+            Integer tenantId,
+            Integer productId,
+            Integer variantId,
+            Integer facilityId,
+            Quantity minStockLevel,
+            Quantity maxStockLevel,
+            Quantity reorderPoint,
+            Quantity reorderQuantity,
+            String valuationMethod,
+            String abcClass,
+            Boolean isActive,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            Integer createdBy,
+            Integer updatedBy,
+            Boolean isDeleted) {
+        this.policyId = policyId;
+        this.tenantId = tenantId;
+        this.productId = productId;
+        this.variantId = variantId;
+        this.facilityId = facilityId;
+        this.minStockLevel = minStockLevel;
+        this.maxStockLevel = maxStockLevel;
+        this.reorderPoint = reorderPoint;
+        this.reorderQuantity = reorderQuantity;
+        this.valuationMethod = valuationMethod;
+        this.abcClass = abcClass;
+        this.isActive = isActive;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.createdBy = createdBy;
+        this.updatedBy = updatedBy;
+        this.isDeleted = isDeleted;
+    }
+
     // Getters and Setters
     public Integer getPolicyId() {
         return policyId;
@@ -107,35 +147,35 @@ public class InventoryPolicyDto {
         this.facilityId = facilityId;
     }
 
-    public BigDecimal getMinStockLevel() {
+    public Quantity getMinStockLevel() {
         return minStockLevel;
     }
 
-    public void setMinStockLevel(BigDecimal minStockLevel) {
+    public void setMinStockLevel(Quantity minStockLevel) {
         this.minStockLevel = minStockLevel;
     }
 
-    public BigDecimal getMaxStockLevel() {
+    public Quantity getMaxStockLevel() {
         return maxStockLevel;
     }
 
-    public void setMaxStockLevel(BigDecimal maxStockLevel) {
+    public void setMaxStockLevel(Quantity maxStockLevel) {
         this.maxStockLevel = maxStockLevel;
     }
 
-    public BigDecimal getReorderPoint() {
+    public Quantity getReorderPoint() {
         return reorderPoint;
     }
 
-    public void setReorderPoint(BigDecimal reorderPoint) {
+    public void setReorderPoint(Quantity reorderPoint) {
         this.reorderPoint = reorderPoint;
     }
 
-    public BigDecimal getReorderQuantity() {
+    public Quantity getReorderQuantity() {
         return reorderQuantity;
     }
 
-    public void setReorderQuantity(BigDecimal reorderQuantity) {
+    public void setReorderQuantity(Quantity reorderQuantity) {
         this.reorderQuantity = reorderQuantity;
     }
 
@@ -1,10 +1,10 @@
 package com.superware.wms.inventory.dto;
 
+import com.superware.wms.inventory.entity.types.Quantity;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Schema(description = "Inventory reservation detail data transfer object")
@@ -24,13 +24,13 @@ public class InventoryReservationDetailDto {
     @NotNull(message = "Quantity requested is required")
     @PositiveOrZero(message = "Quantity requested must be zero or positive")
     @Schema(description = "Quantity requested", example = "25.00")
-    private BigDecimal quantityRequested;
+    private Quantity quantityRequested;
 
     @Schema(description = "Quantity allocated", example = "20.00")
-    private BigDecimal quantityAllocated;
+    private Quantity quantityAllocated;
 
     @Schema(description = "Quantity fulfilled", example = "15.00")
-    private BigDecimal quantityFulfilled;
+    private Quantity quantityFulfilled;
 
     @Schema(description = "Unit of measure", example = "EA")
     private String unitOfMeasure;
@@ -60,6 +60,40 @@ public class InventoryReservationDetailDto {
     public InventoryReservationDetailDto() {
     }
 
+    /**
+     * Constructor used by JPQL constructor projections, in field declaration order.
+     */
+    public InventoryReservationDetailDto(
+            Integer reservationDetailId,
+            Integer reservationId,
+            Integer itemId,
+            Quantity quantityRequested,
+            Quantity quantityAllocated,
+            Quantity quantityFulfilled,
+            String unitOfMeasure,
+            String lotNumber,
+            String notes,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            Integer createdBy,
+            Integer updatedBy,
+            Boolean isDeleted) {
+        this.reservationDetailId = reservationDetailId;
+        this.reservationId = reservationId;
+        this.itemId = itemId;
+        this.quantityRequested = quantityRequested;
+        this.quantityAllocated = quantityAllocated;
+        this.quantityFulfilled = quantityFulfilled;
+        this.unitOfMeasure = unitOfMeasure;
+        this.lotNumber = lotNumber;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.createdBy = createdBy;
+        this.updatedBy = updatedBy;
+        this.isDeleted = isDeleted;
+    }
+
     // Getters and Setters
     public Integer getReservationDetailId() {
         return reservationDetailId;
@@ -85,27 +119,27 @@ public class InventoryReservationDetailDto {
         this.itemId = itemId;
     }
 
-    public BigDecimal getQuantityRequested() {
+    public Quantity getQuantityRequested() {
         return quantityRequested;
     }
 
-    public void setQuantityRequested(BigDecimal quantityRequested) {
+    public void setQuantityRequested(Quantity quantityRequested) {
         this.quantityRequested = quantityRequested;
     }
 
-    public BigDecimal getQuantityAllocated() {
+    public Quantity getQuantityAllocated() {
         return quantityAllocated;
     }
 
-    public void setQuantityAllocated(BigDecimal quantityAllocated) {
+    public void setQuantityAllocated(Quantity quantityAllocated) {
         this.quantityAllocated = quantityAllocated;
     }
 
-    public BigDecimal getQuantityFulfilled() {
+    public Quantity getQuantityFulfilled() {
         return quantityFulfilled;
     }
 
-    public void setQuantityFulfilled(BigDecimal quantityFulfilled) {
+    public void setQuantityFulfilled(Quantity quantityFulfilled) {
         this.quantityFulfilled = quantityFulfilled;
     }
 
@@ -64,6 +64,44 @@ public class InventoryReservationDto {
     public InventoryReservationDto() {
     }
 
+    /**
+     * Constructor used by JPQL constructor projections, in field declaration order.
+     */
+    public InventoryReservationDto(
+            Integer reservationId,
+            Integer tenantId,
+            String reservationType,
+            String status,
+            String referenceNumber,
+            String referenceType,
+            Integer referenceId,
+            LocalDateTime requestedDate,
+            LocalDateTime expiryDate,
+            Integer priority,
+            String notes,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            Integer createdBy,
+            Integer updatedBy,
+            Boolean isDeleted) {
+        this.reservationId = reservationId;
+        this.tenantId = tenantId;
+        this.reservationType = reservationType;
+        this.status = status;
+        this.referenceNumber = referenceNumber;
+        this.referenceType = referenceType;
+        this.referenceId = referenceId;
+        this.requestedDate = requestedDate;
+        this.expiryDate = expiryDate;
+        this.priority = priority;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.createdBy = createdBy;
+        this.updatedBy = updatedBy;
+        this.isDeleted = isDeleted;
+    }
+
     // Getters and Setters
     public Integer getReservationId() {
         return reservationId;
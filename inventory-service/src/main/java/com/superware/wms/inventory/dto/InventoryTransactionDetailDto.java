@@ -1,5 +1,6 @@
 package com.superware.wms.inventory.dto;
 
+import com.superware.wms.inventory.entity.types.Quantity;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -24,7 +25,7 @@ public class InventoryTransactionDetailDto {
     @NotNull(message = "Quantity is required")
     @PositiveOrZero(message = "Quantity must be zero or positive")
     @Schema(description = "Quantity", example = "25.00")
-    private BigDecimal quantity;
+    private Quantity quantity;
 
     @Schema(description = "Unit of measure", example = "EA")
     private String unitOfMeasure;
@@ -69,6 +70,46 @@ public class InventoryTransactionDetailDto {
     public InventoryTransactionDetailDto() {
     }
 
+    /**
+     * Constructor used by JPQL constructor projections, in field declaration order.
+     */
+    public InventoryTransactionDetailDto(
+            Integer transactionDetailId,
+            Integer transactionId,
+            Integer itemId,
+            Quantity quantity,
+            String unitOfMeasure,
+            BigDecimal unitCost,
+            BigDecimal totalCost,
+            String lotNumber,
+            String serialNumber,
+            Integer fromLocationId,
+            Integer toLocationId,
+            String notes,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            Integer createdBy,
+            Integer updatedBy,
+            Boolean isDeleted) {
+        this.transactionDetailId = transactionDetailId;
+        this.transactionId = transactionId;
+        this.itemId = itemId;
+        this.quantity = quantity;
+        this.unitOfMeasure = unitOfMeasure;
+        this.unitCost = unitCost;
+        this.totalCost = totalCost;
+        this.lotNumber = lotNumber;
+        this.serialNumber = serialNumber;
+        this.fromLocationId = fromLocationId;
+        this.toLocationId = toLocationId;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.createdBy = createdBy;
+        this.updatedBy = updatedBy;
+        this.isDeleted = isDeleted;
+    }
+
     // Getters and Setters
     public Integer getTransactionDetailId() {
         return transactionDetailId;
@@ -94,11 +135,11 @@ public class InventoryTransactionDetailDto {
         this.itemId = itemId;
     }
 
-    public BigDecimal getQuantity() {
+    public Quantity getQuantity() {
         return quantity;
     }
 
-    public void setQuantity(BigDecimal quantity) {
+    public void setQuantity(Quantity quantity) {
         this.quantity = quantity;
     }
 
@@ -69,6 +69,48 @@ public class InventoryTransactionDto {
     public InventoryTransactionDto() {
     }
 
+    /**
+     * Constructor used by JPQL constructor projections, in field declaration order.
+     */
+    public InventoryTransactionDto(
+            Integer transactionId,
+            Integer tenantId,
+            String transactionType,
+            LocalDateTime transactionDate,
+            String status,
+            String referenceNumber,
+            String referenceType,
+            Integer referenceId,
+            String sourceType,
+            Integer sourceId,
+            String destinationType,
+            Integer destinationId,
+            String notes,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            Integer createdBy,
+            Integer updatedBy,
+            Boolean isDeleted) {
+        this.transactionId = transactionId;
+        this.tenantId = tenantId;
+        this.transactionType = transactionType;
+        this.transactionDate = transactionDate;
+        this.status = status;
+        this.referenceNumber = referenceNumber;
+        this.referenceType = referenceType;
+        this.referenceId = referenceId;
+        this.sourceType = sourceType;
+        this.sourceId = sourceId;
+        this.destinationType = destinationType;
+        this.destinationId = destinationId;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.createdBy = createdBy;
+        this.updatedBy = updatedBy;
+        this.isDeleted = isDeleted;
+    }
+
     // Getters and Setters
     public Integer getTransactionId() {
         return transactionId;
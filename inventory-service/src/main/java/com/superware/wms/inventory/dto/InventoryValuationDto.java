@@ -0,0 +1,117 @@
+package com.superware.wms.inventory.dto;
+
+import com.superware.wms.inventory.entity.types.Quantity;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+@Schema(description = "Valued stock of a product in a facility")
+public class InventoryValuationDto {
+
+    @Schema(description = "ID of the product", example = "1")
+    private Integer productId;
+
+    @Schema(description = "ID of the facility", example = "1")
+    private Integer facilityId;
+
+    @Schema(description = "Valuation method the position was last valued under", example = "FIFO")
+    private String valuationMethod;
+
+    @Schema(description = "Quantity in open cost layers", example = "120.0000")
+    private Quantity quantity;
+
+    @Schema(description = "Value of the open cost layers", example = "1530.0000")
+    private BigDecimal value;
+
+    @Schema(description = "Average cost of the open layers, or the last known cost without stock", example = "12.750000")
+    private BigDecimal unitCost;
+
+    @Schema(description = "Quantity issued beyond the open layers and not yet settled by a receipt", example = "0.0000")
+    private Quantity shortfallQuantity;
+
+    @Schema(description = "Transactions dated before this are reflected in the position", example = "2024-06-01T02:15:00Z")
+    private OffsetDateTime valuedUntil;
+
+    // Constructors
+    public InventoryValuationDto() {
+    }
+
+    public InventoryValuationDto(Integer productId, Integer facilityId, String valuationMethod, Quantity quantity,
+                                 BigDecimal value, BigDecimal unitCost, Quantity shortfallQuantity,
+                                 OffsetDateTime valuedUntil) {
+        this.productId = productId;
+        this.facilityId = facilityId;
+        this.valuationMethod = valuationMethod;
+        this.quantity = quantity;
+        this.value = value;
+        this.unitCost = unitCost;
+        this.shortfallQuantity = shortfallQuantity;
+        this.valuedUntil = valuedUntil;
+    }
+
+    // Getters and Setters
+    public Integer getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Integer productId) {
+        this.productId = productId;
+    }
+
+    public Integer getFacilityId() {
+        return facilityId;
+    }
+
+    public void setFacilityId(Integer facilityId) {
+        this.facilityId = facilityId;
+    }
+
+    public String getValuationMethod() {
+        return valuationMethod;
+    }
+
+    public void setValuationMethod(String valuationMethod) {
+        this.valuationMethod = valuationMethod;
+    }
+
+    public Quantity getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Quantity quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    public void setValue(BigDecimal value) {
+        this.value = value;
+    }
+
+    public BigDecimal getUnitCost() {
+        return unitCost;
+    }
+
+    public void setUnitCost(BigDecimal unitCost) {
+        this.unitCost = unitCost;
+    }
+
+    public Quantity getShortfallQuantity() {
+        return shortfallQuantity;
+    }
+
+    public void setShortfallQuantity(Quantity shortfallQuantity) {
+        this.shortfallQuantity = shortfallQuantity;
+    }
+
+    public OffsetDateTime getValuedUntil() {
+        return valuedUntil;
+    }
+
+    public void setValuedUntil(OffsetDateTime valuedUntil) {
+        this.valuedUntil = valuedUntil;
+    }
+}
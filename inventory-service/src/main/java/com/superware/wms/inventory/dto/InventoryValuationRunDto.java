@@ -0,0 +1,90 @@
+package com.superware.wms.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.OffsetDateTime;
+
+@Schema(description = "Result of an incremental valuation run for a tenant")
+public class InventoryValuationRunDto {
+
+    @Schema(description = "ID of the tenant", example = "1")
+    private Integer tenantId;
+
+    @Schema(description = "Start of the transaction dates applied by this run; empty when the run opened the positions", example = "2024-06-01T02:00:00Z")
+    private OffsetDateTime processedFrom;
+
+    @Schema(description = "End (exclusive) of the transaction dates applied by this run; the next run starts here", example = "2024-06-01T02:15:00Z")
+    private OffsetDateTime processedUntil;
+
+    @Schema(description = "Transaction lines applied to the cost layers", example = "48210")
+    private long movements;
+
+    @Schema(description = "Product and facility positions written", example = "1830")
+    private int positionsUpdated;
+
+    @Schema(description = "Wall-clock duration of the run in milliseconds", example = "2310")
+    private long durationMs;
+
+    // Constructors
+    public InventoryValuationRunDto() {
+    }
+
+    public InventoryValuationRunDto(Integer tenantId, OffsetDateTime processedFrom, OffsetDateTime processedUntil,
+                                    long movements, int positionsUpdated, long durationMs) {
+        this.tenantId = tenantId;
+        this.processedFrom = processedFrom;
+        this.processedUntil = processedUntil;
+        this.movements = movements;
+        this.positionsUpdated = positionsUpdated;
+        this.durationMs = durationMs;
+    }
+
+    // Getters and Setters
+    public Integer getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Integer tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public OffsetDateTime getProcessedFrom() {
+        return processedFrom;
+    }
+
+    public void setProcessedFrom(OffsetDateTime processedFrom) {
+        this.processedFrom = processedFrom;
+    }
+
+    public OffsetDateTime getProcessedUntil() {
+        return processedUntil;
+    }
+
+    public void setProcessedUntil(OffsetDateTime processedUntil) {
+        this.processedUntil = processedUntil;
+    }
+
+    public long getMovements() {
+        return movements;
+    }
+
+    public void setMovements(long movements) {
+        this.movements = movements;
+    }
+
+    public int getPositionsUpdated() {
+        return positionsUpdated;
+    }
+
+    public void setPositionsUpdated(int positionsUpdated) {
+        this.positionsUpdated = positionsUpdated;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+}
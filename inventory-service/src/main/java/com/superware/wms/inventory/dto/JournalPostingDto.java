@@ -0,0 +1,128 @@
+package com.superware.wms.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Schema(description = "Result of posting a financial period's inventory movements to the general ledger")
+public class JournalPostingDto {
+
+    @Schema(description = "ID of the tenant", example = "1")
+    private Integer tenantId;
+
+    @Schema(description = "ID of the financial period", example = "12")
+    private Integer periodId;
+
+    @Schema(description = "First day of the period", example = "2024-06-01")
+    private LocalDate periodStart;
+
+    @Schema(description = "Last day of the period", example = "2024-06-30")
+    private LocalDate periodEnd;
+
+    @Schema(description = "Journal entries written for the period", example = "90")
+    private int entriesPosted;
+
+    @Schema(description = "Journal lines written for the period", example = "310")
+    private int linesPosted;
+
+    @Schema(description = "Entries of earlier runs removed because their interval no longer has a net change", example = "0")
+    private int entriesRemoved;
+
+    @Schema(description = "Sum of the debits posted", example = "1245300.25")
+    private BigDecimal totalDebit;
+
+    @Schema(description = "Wall-clock duration of the run in milliseconds", example = "420")
+    private long durationMs;
+
+    // Constructors
+    public JournalPostingDto() {
+    }
+
+    public JournalPostingDto(Integer tenantId, Integer periodId, LocalDate periodStart, LocalDate periodEnd,
+                             int entriesPosted, int linesPosted, int entriesRemoved, BigDecimal totalDebit,
+                             long durationMs) {
+        this.tenantId = tenantId;
+        this.periodId = periodId;
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.entriesPosted = entriesPosted;
+        this.linesPosted = linesPosted;
+        this.entriesRemoved = entriesRemoved;
+        this.totalDebit = totalDebit;
+        this.durationMs = durationMs;
+    }
+
+    // Getters and Setters
+    public Integer getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Integer tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public Integer getPeriodId() {
+        return periodId;
+    }
+
+    public void setPeriodId(Integer periodId) {
+        this.periodId = periodId;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public LocalDate getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public void setPeriodEnd(LocalDate periodEnd) {
+        this.periodEnd = periodEnd;
+    }
+
+    public int getEntriesPosted() {
+        return entriesPosted;
+    }
+
+    public void setEntriesPosted(int entriesPosted) {
+        this.entriesPosted = entriesPosted;
+    }
+
+    public int getLinesPosted() {
+        return linesPosted;
+    }
+
+    public void setLinesPosted(int linesPosted) {
+        this.linesPosted = linesPosted;
+    }
+
+    public int getEntriesRemoved() {
+        return entriesRemoved;
+    }
+
+    public void setEntriesRemoved(int entriesRemoved) {
+        this.entriesRemoved = entriesRemoved;
+    }
+
+    public BigDecimal getTotalDebit() {
+        return totalDebit;
+    }
+
+    public void setTotalDebit(BigDecimal totalDebit) {
+        this.totalDebit = totalDebit;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+}
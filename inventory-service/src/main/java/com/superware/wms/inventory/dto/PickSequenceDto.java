@@ -0,0 +1,103 @@
+package com.superware.wms.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "Pick locations in walking order")
+public class PickSequenceDto {
+
+    @Schema(description = "ID of the tenant", example = "1")
+    private Integer tenantId;
+
+    @Schema(description = "ID of the facility", example = "3")
+    private Integer facilityId;
+
+    @Schema(description = "ID of the pick task that was re-sequenced, if any", example = "5120")
+    private Integer pickTaskId;
+
+    @Schema(description = "Routing heuristic used", example = "TWO_OPT")
+    private String strategy;
+
+    @Schema(description = "Distinct locations in visiting order", example = "[101, 102, 215, 214]")
+    private List<Integer> locationIds;
+
+    @Schema(description = "Length of the walk from the depot through every location and back, in meters", example = "184.60")
+    private BigDecimal distanceMeters;
+
+    @Schema(description = "Time spent ordering the locations in microseconds, excluding database access", example = "8200")
+    private long sequencingMicros;
+
+    // Constructors
+    public PickSequenceDto() {
+    }
+
+    public PickSequenceDto(Integer tenantId, Integer facilityId, Integer pickTaskId, String strategy,
+                           List<Integer> locationIds, BigDecimal distanceMeters, long sequencingMicros) {
+        this.tenantId = tenantId;
+        this.facilityId = facilityId;
+        this.pickTaskId = pickTaskId;
+        this.strategy = strategy;
+        this.locationIds = locationIds;
+        this.distanceMeters = distanceMeters;
+        this.sequencingMicros = sequencingMicros;
+    }
+
+    // Getters and Setters
+    public Integer getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Integer tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public Integer getFacilityId() {
+        return facilityId;
+    }
+
+    public void setFacilityId(Integer facilityId) {
+        this.facilityId = facilityId;
+    }
+
+    public Integer getPickTaskId() {
+        return pickTaskId;
+    }
+
+    public void setPickTaskId(Integer pickTaskId) {
+        this.pickTaskId = pickTaskId;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
+    public List<Integer> getLocationIds() {
+        return locationIds;
+    }
+
+    public void setLocationIds(List<Integer> locationIds) {
+        this.locationIds = locationIds;
+    }
+
+    public BigDecimal getDistanceMeters() {
+        return distanceMeters;
+    }
+
+    public void setDistanceMeters(BigDecimal distanceMeters) {
+        this.distanceMeters = distanceMeters;
+    }
+
+    public long getSequencingMicros() {
+        return sequencingMicros;
+    }
+
+    public void setSequencingMicros(long sequencingMicros) {
+        this.sequencingMicros = sequencingMicros;
+    }
+}
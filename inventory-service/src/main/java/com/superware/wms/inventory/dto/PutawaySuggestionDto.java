@@ -0,0 +1,63 @@
+package com.superware.wms.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Storage location suggested for a putaway task")
+public class PutawaySuggestionDto {
+
+    @Schema(description = "ID of the putaway task", example = "8812")
+    private Integer taskId;
+
+    @Schema(description = "ID of the product to put away", example = "105")
+    private Integer productId;
+
+    @Schema(description = "ID of the suggested storage location; empty when no location has room", example = "2214")
+    private Integer suggestedLocationId;
+
+    @Schema(description = "ID of the putaway rule that chose the location; empty when no rule applied", example = "3")
+    private Integer ruleId;
+
+    // Constructors
+    public PutawaySuggestionDto() {
+    }
+
+    public PutawaySuggestionDto(Integer taskId, Integer productId, Integer suggestedLocationId, Integer ruleId) {
+        this.taskId = taskId;
+        this.productId = productId;
+        this.suggestedLocationId = suggestedLocationId;
+        this.ruleId = ruleId;
+    }
+
+    // Getters and Setters
+    public Integer getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Integer taskId) {
+        this.taskId = taskId;
+    }
+
+    public Integer getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Integer productId) {
+        this.productId = productId;
+    }
+
+    public Integer getSuggestedLocationId() {
+        return suggestedLocationId;
+    }
+
+    public void setSuggestedLocationId(Integer suggestedLocationId) {
+        this.suggestedLocationId = suggestedLocationId;
+    }
+
+    public Integer getRuleId() {
+        return ruleId;
+    }
+
+    public void setRuleId(Integer ruleId) {
+        this.ruleId = ruleId;
+    }
+}
@@ -0,0 +1,127 @@
+package com.superware.wms.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Result of suggesting storage locations for the putaway tasks of a receipt")
+public class PutawaySuggestionRunDto {
+
+    @Schema(description = "ID of the tenant", example = "1")
+    private Integer tenantId;
+
+    @Schema(description = "ID of the facility the goods are put away in", example = "3")
+    private Integer facilityId;
+
+    @Schema(description = "Reference type of the tasks", example = "PURCHASE_RECEIPT")
+    private String referenceType;
+
+    @Schema(description = "Reference ID of the tasks", example = "4410")
+    private Integer referenceId;
+
+    @Schema(description = "Pending tasks without a suggestion that were considered", example = "500")
+    private int tasksConsidered;
+
+    @Schema(description = "Tasks given a suggested location", example = "497")
+    private int tasksSuggested;
+
+    @Schema(description = "Time spent choosing locations in microseconds, excluding database access", example = "21400")
+    private long suggestingMicros;
+
+    @Schema(description = "Wall-clock duration of the run in milliseconds", example = "85")
+    private long durationMs;
+
+    @Schema(description = "Suggestion per task, in the order the tasks were placed")
+    private List<PutawaySuggestionDto> suggestions;
+
+    // Constructors
+    public PutawaySuggestionRunDto() {
+    }
+
+    public PutawaySuggestionRunDto(Integer tenantId, Integer facilityId, String referenceType, Integer referenceId,
+                                   int tasksConsidered, int tasksSuggested, long suggestingMicros, long durationMs,
+                                   List<PutawaySuggestionDto> suggestions) {
+        this.tenantId = tenantId;
+        this.facilityId = facilityId;
+        this.referenceType = referenceType;
+        this.referenceId = referenceId;
+        this.tasksConsidered = tasksConsidered;
+        this.tasksSuggested = tasksSuggested;
+        this.suggestingMicros = suggestingMicros;
+        this.durationMs = durationMs;
+        this.suggestions = suggestions;
+    }
+
+    // Getters and Setters
+    public Integer getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Integer tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public Integer getFacilityId() {
+        return facilityId;
+    }
+
+    public void setFacilityId(Integer facilityId) {
+        this.facilityId = facilityId;
+    }
+
+    public String getReferenceType() {
+        return referenceType;
+    }
+
+    public void setReferenceType(String referenceType) {
+        this.referenceType = referenceType;
+    }
+
+    public Integer getReferenceId() {
+        return referenceId;
+    }
+
+    public void setReferenceId(Integer referenceId) {
+        this.referenceId = referenceId;
+    }
+
+    public int getTasksConsidered() {
+        return tasksConsidered;
+    }
+
+    public void setTasksConsidered(int tasksConsidered) {
+        this.tasksConsidered = tasksConsidered;
+    }
+
+    public int getTasksSuggested() {
+        return tasksSuggested;
+    }
+
+    public void setTasksSuggested(int tasksSuggested) {
+        this.tasksSuggested = tasksSuggested;
+    }
+
+    public long getSuggestingMicros() {
+        return suggestingMicros;
+    }
+
+    public void setSuggestingMicros(long suggestingMicros) {
+        this.suggestingMicros = suggestingMicros;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public List<PutawaySuggestionDto> getSuggestions() {
+        return suggestions;
+    }
+
+    public void setSuggestions(List<PutawaySuggestionDto> suggestions) {
+        this.suggestions = suggestions;
+    }
+}
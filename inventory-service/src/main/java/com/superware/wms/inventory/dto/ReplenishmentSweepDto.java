@@ -0,0 +1,75 @@
+package com.superware.wms.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Result of a full replenishment sweep of a tenant's pick faces")
+public class ReplenishmentSweepDto {
+
+    @Schema(description = "ID of the tenant", example = "1")
+    private Integer tenantId;
+
+    @Schema(description = "Product ID ranges evaluated in parallel", example = "20")
+    private int chunks;
+
+    @Schema(description = "Pick faces found at or below their trigger level", example = "412")
+    private int shortages;
+
+    @Schema(description = "Replenishment tasks created; pick faces that already had an open task are skipped", example = "398")
+    private int tasksCreated;
+
+    @Schema(description = "Wall-clock duration of the sweep in milliseconds", example = "5230")
+    private long durationMs;
+
+    // Constructors
+    public ReplenishmentSweepDto() {
+    }
+
+    public ReplenishmentSweepDto(Integer tenantId, int chunks, int shortages, int tasksCreated, long durationMs) {
+        this.tenantId = tenantId;
+        this.chunks = chunks;
+        this.shortages = shortages;
+        this.tasksCreated = tasksCreated;
+        this.durationMs = durationMs;
+    }
+
+    // Getters and Setters
+    public Integer getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Integer tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+
+    public int getShortages() {
+        return shortages;
+    }
+
+    public void setShortages(int shortages) {
+        this.shortages = shortages;
+    }
+
+    public int getTasksCreated() {
+        return tasksCreated;
+    }
+
+    public void setTasksCreated(int tasksCreated) {
+        this.tasksCreated = tasksCreated;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+}
@@ -0,0 +1,90 @@
+package com.superware.wms.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Proposed re-slot move of one storage location's stock")
+public class SlottingMoveDto {
+
+    @Schema(description = "Position of the move in the ranking, 1 saving the most travel per transfer", example = "1")
+    private int rank;
+
+    @Schema(description = "ID of the location whose stock moves", example = "5120")
+    private Integer fromLocationId;
+
+    @Schema(description = "ID of the location the stock moves to", example = "1014")
+    private Integer toLocationId;
+
+    @Schema(description = "Whether the stock of the target location moves back the other way", example = "true")
+    private boolean swap;
+
+    @Schema(description = "Pick travel the move saves in meters per day", example = "84.6")
+    private double travelSavedMetersPerDay;
+
+    @Schema(description = "IDs of the pending transfer transactions created for the move; empty when none were created")
+    private List<Integer> transactionIds;
+
+    // Constructors
+    public SlottingMoveDto() {
+    }
+
+    public SlottingMoveDto(int rank, Integer fromLocationId, Integer toLocationId, boolean swap,
+                           double travelSavedMetersPerDay, List<Integer> transactionIds) {
+        this.rank = rank;
+        this.fromLocationId = fromLocationId;
+        this.toLocationId = toLocationId;
+        this.swap = swap;
+        this.travelSavedMetersPerDay = travelSavedMetersPerDay;
+        this.transactionIds = transactionIds;
+    }
+
+    // Getters and Setters
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public Integer getFromLocationId() {
+        return fromLocationId;
+    }
+
+    public void setFromLocationId(Integer fromLocationId) {
+        this.fromLocationId = fromLocationId;
+    }
+
+    public Integer getToLocationId() {
+        return toLocationId;
+    }
+
+    public void setToLocationId(Integer toLocationId) {
+        this.toLocationId = toLocationId;
+    }
+
+    public boolean isSwap() {
+        return swap;
+    }
+
+    public void setSwap(boolean swap) {
+        this.swap = swap;
+    }
+
+    public double getTravelSavedMetersPerDay() {
+        return travelSavedMetersPerDay;
+    }
+
+    public void setTravelSavedMetersPerDay(double travelSavedMetersPerDay) {
+        this.travelSavedMetersPerDay = travelSavedMetersPerDay;
+    }
+
+    public List<Integer> getTransactionIds() {
+        return transactionIds;
+    }
+
+    public void setTransactionIds(List<Integer> transactionIds) {
+        this.transactionIds = transactionIds;
+    }
+}
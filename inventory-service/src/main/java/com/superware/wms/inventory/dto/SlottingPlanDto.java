@@ -0,0 +1,152 @@
+package com.superware.wms.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Result of optimizing the slotting of a facility")
+public class SlottingPlanDto {
+
+    @Schema(description = "ID of the tenant", example = "1")
+    private Integer tenantId;
+
+    @Schema(description = "ID of the facility", example = "3")
+    private Integer facilityId;
+
+    @Schema(description = "Days of completed issues the pick rates were taken from", example = "90")
+    private int windowDays;
+
+    @Schema(description = "Storage locations considered", example = "48000")
+    private int locationsConsidered;
+
+    @Schema(description = "Locations holding stock", example = "31250")
+    private int occupiedLocations;
+
+    @Schema(description = "Re-slot moves proposed", example = "200")
+    private int movesProposed;
+
+    @Schema(description = "Pending transfer transactions created", example = "0")
+    private int transfersCreated;
+
+    @Schema(description = "Pick travel all proposed moves save in meters per day", example = "9120.5")
+    private double travelSavedMetersPerDay;
+
+    @Schema(description = "Time spent choosing moves in microseconds, excluding database access", example = "145000")
+    private long optimizingMicros;
+
+    @Schema(description = "Wall-clock duration of the run in milliseconds", example = "640")
+    private long durationMs;
+
+    @Schema(description = "Proposed moves, most travel saved per transfer first")
+    private List<SlottingMoveDto> moves;
+
+    // Constructors
+    public SlottingPlanDto() {
+    }
+
+    public SlottingPlanDto(Integer tenantId, Integer facilityId, int windowDays, int locationsConsidered,
+                           int occupiedLocations, int movesProposed, int transfersCreated,
+                           double travelSavedMetersPerDay, long optimizingMicros, long durationMs,
+                           List<SlottingMoveDto> moves) {
+        this.tenantId = tenantId;
+        this.facilityId = facilityId;
+        this.windowDays = windowDays;
+        this.locationsConsidered = locationsConsidered;
+        this.occupiedLocations = occupiedLocations;
+        this.movesProposed = movesProposed;
+        this.transfersCreated = transfersCreated;
+        this.travelSavedMetersPerDay = travelSavedMetersPerDay;
+        this.optimizingMicros = optimizingMicros;
+        this.durationMs = durationMs;
+        this.moves = moves;
+    }
+
+    // Getters and Setters
+    public Integer getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Integer tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public Integer getFacilityId() {
+        return facilityId;
+    }
+
+    public void setFacilityId(Integer facilityId) {
+        this.facilityId = facilityId;
+    }
+
+    public int getWindowDays() {
+        return windowDays;
+    }
+
+    public void setWindowDays(int windowDays) {
+        this.windowDays = windowDays;
+    }
+
+    public int getLocationsConsidered() {
+        return locationsConsidered;
+    }
+
+    public void setLocationsConsidered(int locationsConsidered) {
+        this.locationsConsidered = locationsConsidered;
+    }
+
+    public int getOccupiedLocations() {
+        return occupiedLocations;
+    }
+
+    public void setOccupiedLocations(int occupiedLocations) {
+        this.occupiedLocations = occupiedLocations;
+    }
+
+    public int getMovesProposed() {
+        return movesProposed;
+    }
+
+    public void setMovesProposed(int movesProposed) {
+        this.movesProposed = movesProposed;
+    }
+
+    public int getTransfersCreated() {
+        return transfersCreated;
+    }
+
+    public void setTransfersCreated(int transfersCreated) {
+        this.transfersCreated = transfersCreated;
+    }
+
+    public double getTravelSavedMetersPerDay() {
+        return travelSavedMetersPerDay;
+    }
+
+    public void setTravelSavedMetersPerDay(double travelSavedMetersPerDay) {
+        this.travelSavedMetersPerDay = travelSavedMetersPerDay;
+    }
+
+    public long getOptimizingMicros() {
+        return optimizingMicros;
+    }
+
+    public void setOptimizingMicros(long optimizingMicros) {
+        this.optimizingMicros = optimizingMicros;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public List<SlottingMoveDto> getMoves() {
+        return moves;
+    }
+
+    public void setMoves(List<SlottingMoveDto> moves) {
+        this.moves = moves;
+    }
+}
@@ -0,0 +1,101 @@
+package com.superware.wms.inventory.dto;
+
+import com.superware.wms.inventory.entity.types.Quantity;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "On-hand and allocated stock summed over the matching inventory items")
+public class StockAvailabilityDto {
+
+    @Schema(description = "Identifier of the product", example = "101")
+    private Integer productId;
+
+    @Schema(description = "Facility filter, or null for all facilities", example = "3")
+    private Integer facilityId;
+
+    @Schema(description = "Location filter, or null for all locations", example = "15")
+    private Integer locationId;
+
+    @Schema(description = "Lot filter, or null for all lots", example = "LOT-2024-001")
+    private String lotNumber;
+
+    @Schema(description = "Quantity on hand", example = "100.0000")
+    private Quantity quantityOnHand;
+
+    @Schema(description = "Quantity allocated", example = "25.0000")
+    private Quantity quantityAllocated;
+
+    @Schema(description = "Quantity available to promise (on hand minus allocated)", example = "75.0000")
+    private Quantity quantityAvailable;
+
+    @Schema(description = "Where the figures were read from", example = "INDEX", allowableValues = {"INDEX", "DATABASE"})
+    private String source;
+
+    // Constructors
+    public StockAvailabilityDto() {
+    }
+
+    // Getters and Setters
+    public Integer getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Integer productId) {
+        this.productId = productId;
+    }
+
+    public Integer getFacilityId() {
+        return facilityId;
+    }
+
+    public void setFacilityId(Integer facilityId) {
+        this.facilityId = facilityId;
+    }
+
+    public Integer getLocationId() {
+        return locationId;
+    }
+
+    public void setLocationId(Integer locationId) {
+        this.locationId = locationId;
+    }
+
+    public String getLotNumber() {
+        return lotNumber;
+    }
+
+    public void setLotNumber(String lotNumber) {
+        this.lotNumber = lotNumber;
+    }
+
+    public Quantity getQuantityOnHand() {
+        return quantityOnHand;
+    }
+
+    public void setQuantityOnHand(Quantity quantityOnHand) {
+        this.quantityOnHand = quantityOnHand;
+    }
+
+    public Quantity getQuantityAllocated() {
+        return quantityAllocated;
+    }
+
+    public void setQuantityAllocated(Quantity quantityAllocated) {
+        this.quantityAllocated = quantityAllocated;
+    }
+
+    public Quantity getQuantityAvailable() {
+        return quantityAvailable;
+    }
+
+    public void setQuantityAvailable(Quantity quantityAvailable) {
+        this.quantityAvailable = quantityAvailable;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+}
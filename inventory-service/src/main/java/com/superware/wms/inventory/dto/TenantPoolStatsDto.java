@@ -0,0 +1,91 @@
+package com.superware.wms.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Connection pool statistics for a dedicated-database tenant")
+public class TenantPoolStatsDto {
+
+    @Schema(description = "Identifier of the tenant", example = "42")
+    private String tenantId;
+
+    @Schema(description = "Connections currently in use", example = "2")
+    private int activeConnections;
+
+    @Schema(description = "Open connections waiting to be used", example = "1")
+    private int idleConnections;
+
+    @Schema(description = "All open connections", example = "3")
+    private int totalConnections;
+
+    @Schema(description = "Threads waiting for a connection", example = "0")
+    private int threadsAwaitingConnection;
+
+    @Schema(description = "Maximum size of the pool", example = "5")
+    private int maximumPoolSize;
+
+    @Schema(description = "Last time the pool was handed out")
+    private Instant lastUsedAt;
+
+    // Constructors
+    public TenantPoolStatsDto() {
+    }
+
+    // Getters and Setters
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public void setActiveConnections(int activeConnections) {
+        this.activeConnections = activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public void setIdleConnections(int idleConnections) {
+        this.idleConnections = idleConnections;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    public void setTotalConnections(int totalConnections) {
+        this.totalConnections = totalConnections;
+    }
+
+    public int getThreadsAwaitingConnection() {
+        return threadsAwaitingConnection;
+    }
+
+    public void setThreadsAwaitingConnection(int threadsAwaitingConnection) {
+        this.threadsAwaitingConnection = threadsAwaitingConnection;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
+    public Instant getLastUsedAt() {
+        return lastUsedAt;
+    }
+
+    public void setLastUsedAt(Instant lastUsedAt) {
+        this.lastUsedAt = lastUsedAt;
+    }
+}
@@ -0,0 +1,102 @@
+package com.superware.wms.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Tenant connection routing metrics")
+public class TenantRoutingStatsDto {
+
+    @Schema(description = "Upper bound on dedicated pools open at once", example = "16")
+    private int maxDedicatedPools;
+
+    @Schema(description = "Dedicated pools currently open", example = "3")
+    private int openPools;
+
+    @Schema(description = "Requests served by an already open pool", example = "1024")
+    private long poolHits;
+
+    @Schema(description = "Requests that had to open a pool", example = "4")
+    private long poolMisses;
+
+    @Schema(description = "Pools opened since startup", example = "4")
+    private long poolsCreated;
+
+    @Schema(description = "Pools closed for idleness or to make room", example = "1")
+    private long poolsEvicted;
+
+    @Schema(description = "Requests rejected because every pool was busy", example = "0")
+    private long rejectedRequests;
+
+    @Schema(description = "Per-tenant pool statistics")
+    private List<TenantPoolStatsDto> pools;
+
+    // Constructors
+    public TenantRoutingStatsDto() {
+    }
+
+    // Getters and Setters
+    public int getMaxDedicatedPools() {
+        return maxDedicatedPools;
+    }
+
+    public void setMaxDedicatedPools(int maxDedicatedPools) {
+        this.maxDedicatedPools = maxDedicatedPools;
+    }
+
+    public int getOpenPools() {
+        return openPools;
+    }
+
+    public void setOpenPools(int openPools) {
+        this.openPools = openPools;
+    }
+
+    public long getPoolHits() {
+        return poolHits;
+    }
+
+    public void setPoolHits(long poolHits) {
+        this.poolHits = poolHits;
+    }
+
+    public long getPoolMisses() {
+        return poolMisses;
+    }
+
+    public void setPoolMisses(long poolMisses) {
+        this.poolMisses = poolMisses;
+    }
+
+    public long getPoolsCreated() {
+        return poolsCreated;
+    }
+
+    public void setPoolsCreated(long poolsCreated) {
+        this.poolsCreated = poolsCreated;
+    }
+
+    public long getPoolsEvicted() {
+        return poolsEvicted;
+    }
+
+    public void setPoolsEvicted(long poolsEvicted) {
+        this.poolsEvicted = poolsEvicted;
+    }
+
+    public long getRejectedRequests() {
+        return rejectedRequests;
+    }
+
+    public void setRejectedRequests(long rejectedRequests) {
+        this.rejectedRequests = rejectedRequests;
+    }
+
+    public List<TenantPoolStatsDto> getPools() {
+        return pools;
+    }
+
+    public void setPools(List<TenantPoolStatsDto> pools) {
+        this.pools = pools;
+    }
+}
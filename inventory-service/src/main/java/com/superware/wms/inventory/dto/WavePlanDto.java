@@ -0,0 +1,126 @@
+package com.superware.wms.inventory.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@Schema(description = "Result of planning picking waves for a facility")
+public class WavePlanDto {
+
+    @Schema(description = "ID of the tenant", example = "1")
+    private Integer tenantId;
+
+    @Schema(description = "ID of the facility picked from", example = "3")
+    private Integer facilityId;
+
+    @Schema(description = "Latest required date of the orders considered", example = "2024-06-02")
+    private LocalDate cutoffThrough;
+
+    @Schema(description = "Confirmed orders not yet in a wave that were considered", example = "10000")
+    private int ordersConsidered;
+
+    @Schema(description = "Orders allocated, reserved and assigned to a wave", example = "9640")
+    private int ordersPlanned;
+
+    @Schema(description = "Orders left for a later run because the facility's stock could not cover them", example = "360")
+    private int ordersShort;
+
+    @Schema(description = "Waves created", example = "412")
+    private int wavesCreated;
+
+    @Schema(description = "Pick lines in the created waves, one per allocated inventory item", example = "38100")
+    private int linesPlanned;
+
+    @Schema(description = "Wall-clock duration of the run in milliseconds", example = "2300")
+    private long durationMs;
+
+    // Constructors
+    public WavePlanDto() {
+    }
+
+    public WavePlanDto(Integer tenantId, Integer facilityId, LocalDate cutoffThrough, int ordersConsidered,
+                       int ordersPlanned, int ordersShort, int wavesCreated, int linesPlanned, long durationMs) {
+        this.tenantId = tenantId;
+        this.facilityId = facilityId;
+        this.cutoffThrough = cutoffThrough;
+        this.ordersConsidered = ordersConsidered;
+        this.ordersPlanned = ordersPlanned;
+        this.ordersShort = ordersShort;
+        this.wavesCreated = wavesCreated;
+        this.linesPlanned = linesPlanned;
+        this.durationMs = durationMs;
+    }
+
+    // Getters and Setters
+    public Integer getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Integer tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public Integer getFacilityId() {
+        return facilityId;
+    }
+
+    public void setFacilityId(Integer facilityId) {
+        this.facilityId = facilityId;
+    }
+
+    public LocalDate getCutoffThrough() {
+        return cutoffThrough;
+    }
+
+    public void setCutoffThrough(LocalDate cutoffThrough) {
+        this.cutoffThrough = cutoffThrough;
+    }
+
+    public int getOrdersConsidered() {
+        return ordersConsidered;
+    }
+
+    public void setOrdersConsidered(int ordersConsidered) {
+        this.ordersConsidered = ordersConsidered;
+    }
+
+    public int getOrdersPlanned() {
+        return ordersPlanned;
+    }
+
+    public void setOrdersPlanned(int ordersPlanned) {
+        this.ordersPlanned = ordersPlanned;
+    }
+
+    public int getOrdersShort() {
+        return ordersShort;
+    }
+
+    public void setOrdersShort(int ordersShort) {
+        this.ordersShort = ordersShort;
+    }
+
+    public int getWavesCreated() {
+        return wavesCreated;
+    }
+
+    public void setWavesCreated(int wavesCreated) {
+        this.wavesCreated = wavesCreated;
+    }
+
+    public int getLinesPlanned() {
+        return linesPlanned;
+    }
+
+    public void setLinesPlanned(int linesPlanned) {
+        this.linesPlanned = linesPlanned;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+}
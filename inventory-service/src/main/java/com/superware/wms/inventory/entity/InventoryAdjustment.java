@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "inventory_adjustments")
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
-public class InventoryAdjustment {
+public class InventoryAdjustment implements TenantScoped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
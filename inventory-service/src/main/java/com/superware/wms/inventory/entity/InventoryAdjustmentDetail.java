@@ -1,6 +1,6 @@
 package com.superware.wms.inventory.entity;
 
-import org.hibernate.annotations.Filter;
+import com.superware.wms.inventory.entity.types.Quantity;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
@@ -11,7 +11,6 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "inventory_adjustment_details")
-@Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
 public class InventoryAdjustmentDetail {
 
     @Id
@@ -35,13 +34,13 @@ public class InventoryAdjustmentDetail {
     private String serialNumber;
 
     @Column(name = "quantity_before")
-    private BigDecimal quantityBefore;
+    private Quantity quantityBefore;
 
     @Column(name = "quantity_after")
-    private BigDecimal quantityAfter;
+    private Quantity quantityAfter;
 
     @Column(name = "quantity_adjusted")
-    private BigDecimal quantityAdjusted;
+    private Quantity quantityAdjusted;
 
     @Column(name = "unit_of_measure")
     private String unitOfMeasure;
@@ -122,43 +121,43 @@ public class InventoryAdjustmentDetail {
         this.serialNumber = serialNumber;
     }
 
-    public BigDecimal getQuantityBefore() {
+    public Quantity getQuantityBefore() {
         return quantityBefore;
     }
 
-    public void setQuantityBefore(BigDecimal quantityBefore) {
+    public void setQuantityBefore(Quantity quantityBefore) {
         this.quantityBefore = quantityBefore;
     }
 
-    public BigDecimal getQuantityAfter() {
+    public Quantity getQuantityAfter() {
         return quantityAfter;
     }
 
-    public void setQuantityAfter(BigDecimal quantityAfter) {
+    public void setQuantityAfter(Quantity quantityAfter) {
         this.quantityAfter = quantityAfter;
     }
 
-    public BigDecimal getQuantityAdjusted() {
+    public Quantity getQuantityAdjusted() {
         return quantityAdjusted;
     }
 
-    public void setQuantityAdjusted(BigDecimal quantityAdjusted) {
+    public void setQuantityAdjusted(Quantity quantityAdjusted) {
         this.quantityAdjusted = quantityAdjusted;
     }
 
-    public BigDecimal getPreviousQuantity() {
+    public Quantity getPreviousQuantity() {
         return quantityBefore;
     }
 
-    public void setPreviousQuantity(BigDecimal previousQuantity) {
+    public void setPreviousQuantity(Quantity previousQuantity) {
         this.quantityBefore = previousQuantity;
     }
 
-    public BigDecimal getNewQuantity() {
+    public Quantity getNewQuantity() {
         return quantityAfter;
     }
 
-    public void setNewQuantity(BigDecimal newQuantity) {
+    public void setNewQuantity(Quantity newQuantity) {
         this.quantityAfter = newQuantity;
     }
 
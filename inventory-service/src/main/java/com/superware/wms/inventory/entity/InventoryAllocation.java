@@ -1,9 +1,9 @@
 package com.superware.wms.inventory.entity;
 
+import com.superware.wms.inventory.entity.types.Quantity;
 import org.hibernate.annotations.Filter;
 
 import jakarta.persistence.*;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "inventory_allocations")
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
-public class InventoryAllocation {
+public class InventoryAllocation implements TenantScoped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -38,10 +38,10 @@ public class InventoryAllocation {
     private String serialNumber;
 
     @Column(name = "quantity_allocated")
-    private BigDecimal quantityAllocated;
+    private Quantity quantityAllocated;
 
     @Column(name = "quantity_fulfilled")
-    private BigDecimal quantityFulfilled;
+    private Quantity quantityFulfilled;
 
     @Column(name = "unit_of_measure")
     private String unitOfMeasure;
@@ -124,19 +124,19 @@ public class InventoryAllocation {
         this.serialNumber = serialNumber;
     }
 
-    public BigDecimal getQuantityAllocated() {
+    public Quantity getQuantityAllocated() {
         return quantityAllocated;
     }
 
-    public void setQuantityAllocated(BigDecimal quantityAllocated) {
+    public void setQuantityAllocated(Quantity quantityAllocated) {
         this.quantityAllocated = quantityAllocated;
     }
 
-    public BigDecimal getQuantityFulfilled() {
+    public Quantity getQuantityFulfilled() {
         return quantityFulfilled;
     }
 
-    public void setQuantityFulfilled(BigDecimal quantityFulfilled) {
+    public void setQuantityFulfilled(Quantity quantityFulfilled) {
         this.quantityFulfilled = quantityFulfilled;
     }
 
@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "inventory_counts")
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
-public class InventoryCount {
+public class InventoryCount implements TenantScoped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
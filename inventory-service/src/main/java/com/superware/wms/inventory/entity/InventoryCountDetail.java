@@ -1,9 +1,8 @@
 package com.superware.wms.inventory.entity;
 
-import org.hibernate.annotations.Filter;
+import com.superware.wms.inventory.entity.types.Quantity;
 
 import jakarta.persistence.*;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -11,7 +10,6 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "inventory_count_details")
-@Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
 public class InventoryCountDetail {
 
     @Id
@@ -26,13 +24,13 @@ public class InventoryCountDetail {
     private Integer itemId;
 
     @Column(name = "expected_quantity")
-    private BigDecimal expectedQuantity;
+    private Quantity expectedQuantity;
 
     @Column(name = "counted_quantity")
-    private BigDecimal countedQuantity;
+    private Quantity countedQuantity;
 
     @Column(name = "variance")
-    private BigDecimal variance;
+    private Quantity variance;
 
     @Column(name = "unit_of_measure")
     private String unitOfMeasure;
@@ -89,35 +87,35 @@ public class InventoryCountDetail {
         this.itemId = itemId;
     }
 
-    public BigDecimal getExpectedQuantity() {
+    public Quantity getExpectedQuantity() {
         return expectedQuantity;
     }
 
-    public void setExpectedQuantity(BigDecimal expectedQuantity) {
+    public void setExpectedQuantity(Quantity expectedQuantity) {
         this.expectedQuantity = expectedQuantity;
     }
 
-    public BigDecimal getCountedQuantity() {
+    public Quantity getCountedQuantity() {
         return countedQuantity;
     }
 
-    public void setCountedQuantity(BigDecimal countedQuantity) {
+    public void setCountedQuantity(Quantity countedQuantity) {
         this.countedQuantity = countedQuantity;
     }
 
-    public BigDecimal getVariance() {
+    public Quantity getVariance() {
         return variance;
     }
 
-    public void setVariance(BigDecimal variance) {
+    public void setVariance(Quantity variance) {
         this.variance = variance;
     }
 
-    public BigDecimal getSystemQuantity() {
+    public Quantity getSystemQuantity() {
         return expectedQuantity;
     }
 
-    public void setSystemQuantity(BigDecimal systemQuantity) {
+    public void setSystemQuantity(Quantity systemQuantity) {
         this.expectedQuantity = systemQuantity;
     }
 
@@ -1,8 +1,11 @@
 package com.superware.wms.inventory.entity;
 
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.service.stock.StockIndexEntityListener;
 import org.hibernate.annotations.Filter;
 import org.hibernate.annotations.FilterDef;
 import org.hibernate.annotations.ParamDef;
+import org.hibernate.annotations.PartitionKey;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
@@ -15,13 +18,15 @@ import java.time.LocalDateTime;
 @Table(name = "inventory_items")
 @FilterDef(name = "tenantFilter", parameters = @ParamDef(name = "tenantId", type = Integer.class))
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
-public class InventoryItem {
+@EntityListeners(StockIndexEntityListener.class)
+public class InventoryItem implements TenantScoped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "item_id")
     private Integer itemId;
 
+    @PartitionKey
     @Column(name = "tenant_id")
     private Integer tenantId;
 
@@ -44,13 +49,13 @@ public class InventoryItem {
     private String condition;
 
     @Column(name = "quantity_on_hand")
-    private BigDecimal quantityOnHand;
+    private Quantity quantityOnHand;
 
     @Column(name = "quantity_allocated")
-    private BigDecimal quantityAllocated;
+    private Quantity quantityAllocated;
 
     @Column(name = "quantity_available")
-    private BigDecimal quantityAvailable;
+    private Quantity quantityAvailable;
 
     @Column(name = "unit_of_measure")
     private String unitOfMeasure;
@@ -168,27 +173,27 @@ public class InventoryItem {
         this.condition = condition;
     }
 
-    public BigDecimal getQuantityOnHand() {
+    public Quantity getQuantityOnHand() {
         return quantityOnHand;
     }
 
-    public void setQuantityOnHand(BigDecimal quantityOnHand) {
+    public void setQuantityOnHand(Quantity quantityOnHand) {
         this.quantityOnHand = quantityOnHand;
     }
 
-    public BigDecimal getQuantityAllocated() {
+    public Quantity getQuantityAllocated() {
         return quantityAllocated;
     }
 
-    public void setQuantityAllocated(BigDecimal quantityAllocated) {
+    public void setQuantityAllocated(Quantity quantityAllocated) {
         this.quantityAllocated = quantityAllocated;
     }
 
-    public BigDecimal getQuantityAvailable() {
+    public Quantity getQuantityAvailable() {
         return quantityAvailable;
     }
 
-    public void setQuantityAvailable(BigDecimal quantityAvailable) {
+    public void setQuantityAvailable(Quantity quantityAvailable) {
         this.quantityAvailable = quantityAvailable;
     }
 
@@ -1,9 +1,9 @@
 package com.superware.wms.inventory.entity;
 
+import com.superware.wms.inventory.entity.types.Quantity;
 import org.hibernate.annotations.Filter;
 
 import jakarta.persistence.*;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "inventory_policies")
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
-public class InventoryPolicy {
+public class InventoryPolicy implements TenantScoped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -32,16 +32,16 @@ public class InventoryPolicy {
     private Integer facilityId;
 
     @Column(name = "min_stock_level")
-    private BigDecimal minStockLevel;
+    private Quantity minStockLevel;
 
     @Column(name = "max_stock_level")
-    private BigDecimal maxStockLevel;
+    private Quantity maxStockLevel;
 
     @Column(name = "reorder_point")
-    private BigDecimal reorderPoint;
+    private Quantity reorderPoint;
 
     @Column(name = "reorder_quantity")
-    private BigDecimal reorderQuantity;
+    private Quantity reorderQuantity;
 
     @Column(name = "valuation_method")
     private String valuationMethod;
@@ -103,35 +103,35 @@ public class InventoryPolicy {
         this.variantId = variantId;
     }
 
-    public BigDecimal getMinStockLevel() {
+    public Quantity getMinStockLevel() {
         return minStockLevel;
     }
 
-    public void setMinStockLevel(BigDecimal minStockLevel) {
+    public void setMinStockLevel(Quantity minStockLevel) {
         this.minStockLevel = minStockLevel;
     }
 
-    public BigDecimal getMaxStockLevel() {
+    public Quantity getMaxStockLevel() {
         return maxStockLevel;
     }
 
-    public void setMaxStockLevel(BigDecimal maxStockLevel) {
+    public void setMaxStockLevel(Quantity maxStockLevel) {
         this.maxStockLevel = maxStockLevel;
     }
 
-    public BigDecimal getReorderPoint() {
+    public Quantity getReorderPoint() {
         return reorderPoint;
     }
 
-    public void setReorderPoint(BigDecimal reorderPoint) {
+    public void setReorderPoint(Quantity reorderPoint) {
         this.reorderPoint = reorderPoint;
     }
 
-    public BigDecimal getReorderQuantity() {
+    public Quantity getReorderQuantity() {
         return reorderQuantity;
     }
 
-    public void setReorderQuantity(BigDecimal reorderQuantity) {
+    public void setReorderQuantity(Quantity reorderQuantity) {
         this.reorderQuantity = reorderQuantity;
     }
 
@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "inventory_reservations")
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
-public class InventoryReservation {
+public class InventoryReservation implements TenantScoped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,11 +1,8 @@
 package com.superware.wms.inventory.entity;
 
-import org.hibernate.annotations.Filter;
-
-import org.hibernate.annotations.Filter;
+import com.superware.wms.inventory.entity.types.Quantity;
 
 import jakarta.persistence.*;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -13,7 +10,6 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "inventory_reservation_details")
-@Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
 public class InventoryReservationDetail {
 
     @Id
@@ -28,13 +24,13 @@ public class InventoryReservationDetail {
     private Integer itemId;
 
     @Column(name = "quantity_requested")
-    private BigDecimal quantityRequested;
+    private Quantity quantityRequested;
 
     @Column(name = "quantity_allocated")
-    private BigDecimal quantityAllocated;
+    private Quantity quantityAllocated;
 
     @Column(name = "quantity_fulfilled")
-    private BigDecimal quantityFulfilled;
+    private Quantity quantityFulfilled;
 
     @Column(name = "unit_of_measure")
     private String unitOfMeasure;
@@ -88,35 +84,35 @@ public class InventoryReservationDetail {
         this.itemId = itemId;
     }
 
-    public BigDecimal getQuantityRequested() {
+    public Quantity getQuantityRequested() {
         return quantityRequested;
     }
 
-    public void setQuantityRequested(BigDecimal quantityRequested) {
+    public void setQuantityRequested(Quantity quantityRequested) {
         this.quantityRequested = quantityRequested;
     }
 
-    public BigDecimal getQuantityAllocated() {
+    public Quantity getQuantityAllocated() {
         return quantityAllocated;
     }
 
-    public void setQuantityAllocated(BigDecimal quantityAllocated) {
+    public void setQuantityAllocated(Quantity quantityAllocated) {
         this.quantityAllocated = quantityAllocated;
     }
 
-    public BigDecimal getQuantityFulfilled() {
+    public Quantity getQuantityFulfilled() {
         return quantityFulfilled;
     }
 
-    public void setQuantityFulfilled(BigDecimal quantityFulfilled) {
+    public void setQuantityFulfilled(Quantity quantityFulfilled) {
         this.quantityFulfilled = quantityFulfilled;
     }
 
-    public BigDecimal getReservedQuantity() {
+    public Quantity getReservedQuantity() {
         return quantityRequested;
     }
 
-    public void setReservedQuantity(BigDecimal reservedQuantity) {
+    public void setReservedQuantity(Quantity reservedQuantity) {
         this.quantityRequested = reservedQuantity;
     }
 
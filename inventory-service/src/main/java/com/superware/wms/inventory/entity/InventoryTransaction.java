@@ -1,6 +1,7 @@
 package com.superware.wms.inventory.entity;
 
 import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.PartitionKey;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
@@ -11,19 +12,21 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "inventory_transactions")
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
-public class InventoryTransaction {
+public class InventoryTransaction implements TenantScoped {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "transaction_id")
     private Integer transactionId;
 
+    @PartitionKey
     @Column(name = "tenant_id")
     private Integer tenantId;
 
     @Column(name = "transaction_type")
     private String transactionType;
 
+    @PartitionKey
     @Column(name = "transaction_date")
     private LocalDateTime transactionDate;
 
@@ -1,8 +1,7 @@
 package com.superware.wms.inventory.entity;
 
-import org.hibernate.annotations.Filter;
-
-import org.hibernate.annotations.Filter;
+import com.superware.wms.inventory.entity.types.Quantity;
+import org.hibernate.annotations.PartitionKey;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
@@ -13,7 +12,6 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "inventory_transaction_details")
-@Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
 public class InventoryTransactionDetail {
 
     @Id
@@ -24,11 +22,15 @@ public class InventoryTransactionDetail {
     @Column(name = "transaction_id")
     private Integer transactionId;
 
+    @PartitionKey
+    @Column(name = "transaction_date")
+    private LocalDateTime transactionDate;
+
     @Column(name = "item_id")
     private Integer itemId;
 
     @Column(name = "quantity")
-    private BigDecimal quantity;
+    private Quantity quantity;
 
     @Column(name = "unit_of_measure")
     private String unitOfMeasure;
@@ -89,6 +91,14 @@ public class InventoryTransactionDetail {
         this.transactionId = transactionId;
     }
 
+    public LocalDateTime getTransactionDate() {
+        return transactionDate;
+    }
+
+    public void setTransactionDate(LocalDateTime transactionDate) {
+        this.transactionDate = transactionDate;
+    }
+
     public Integer getItemId() {
         return itemId;
     }
@@ -97,11 +107,11 @@ public class InventoryTransactionDetail {
         this.itemId = itemId;
     }
 
-    public BigDecimal getQuantity() {
+    public Quantity getQuantity() {
         return quantity;
     }
 
-    public void setQuantity(BigDecimal quantity) {
+    public void setQuantity(Quantity quantity) {
         this.quantity = quantity;
     }
 
@@ -229,6 +239,7 @@ public class InventoryTransactionDetail {
         return "InventoryTransactionDetail{" +
                 "transactionDetailId=" + transactionDetailId +
                 ", transactionId=" + transactionId +
+                ", transactionDate=" + transactionDate +
                 ", itemId=" + itemId +
                 ", quantity=" + quantity +
                 ", unitOfMeasure='" + unitOfMeasure + '\'' +
@@ -0,0 +1,12 @@
+package com.superware.wms.inventory.entity;
+
+/**
+ * Entity that belongs to a tenant through a {@code tenant_id} column. The tenant-aware repositories
+ * stamp the current tenant on these before saving and scope lookups by primary key to it.
+ */
+public interface TenantScoped {
+
+    Integer getTenantId();
+
+    void setTenantId(Integer tenantId);
+}
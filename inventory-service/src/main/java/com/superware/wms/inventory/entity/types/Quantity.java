@@ -0,0 +1,162 @@
+package com.superware.wms.inventory.entity.types;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * Exact stock quantity stored as a {@code long} count of ten-thousandths.
+ * <p>
+ * Quantity columns are {@code NUMERIC(12,4)}, so every persisted value fits exactly. Arithmetic
+ * is checked with {@link Math#addExact}-style operations and never rounds; converting a value
+ * with more than four decimal places fails instead of truncating. Bulk paths that keep many
+ * quantities in memory should hold {@link #units()} as primitive {@code long}s and only box
+ * them back into {@code Quantity} at the edges.
+ */
+@Schema(type = "number", example = "25.0000")
+@JsonSerialize(using = QuantityJsonSerializer.class)
+@JsonDeserialize(using = QuantityJsonDeserializer.class)
+public final class Quantity implements Comparable<Quantity> {
+
+    /** Number of decimal places kept. */
+    public static final int SCALE = 4;
+
+    /** Units per whole quantity (10^SCALE). */
+    public static final long UNITS_PER_ONE = 10_000L;
+
+    public static final Quantity ZERO = new Quantity(0);
+    public static final Quantity ONE = new Quantity(UNITS_PER_ONE);
+
+    private final long units;
+
+    private Quantity(long units) {
+        this.units = units;
+    }
+
+    public static Quantity ofUnits(long units) {
+        if (units == 0) {
+            return ZERO;
+        }
+        if (units == UNITS_PER_ONE) {
+            return ONE;
+        }
+        return new Quantity(units);
+    }
+
+    public static Quantity of(long wholeUnits) {
+        return ofUnits(Math.multiplyExact(wholeUnits, UNITS_PER_ONE));
+    }
+
+    /**
+     * @throws ArithmeticException if the value has more than {@link #SCALE} decimal places
+     *         or does not fit in a {@code long} of units
+     */
+    public static Quantity of(BigDecimal value) {
+        return value == null ? null : ofUnits(toUnits(value));
+    }
+
+    /**
+     * Parses a decimal string such as {@code "12.5"}. Also used by Spring to bind request parameters.
+     */
+    public static Quantity valueOf(String value) {
+        return of(new BigDecimal(value.trim()));
+    }
+
+    public static long toUnits(BigDecimal value) {
+        return value.setScale(SCALE).unscaledValue().longValueExact();
+    }
+
+    public long units() {
+        return units;
+    }
+
+    public Quantity add(Quantity other) {
+        return ofUnits(Math.addExact(units, other.units));
+    }
+
+    public Quantity subtract(Quantity other) {
+        return ofUnits(Math.subtractExact(units, other.units));
+    }
+
+    public Quantity negate() {
+        return ofUnits(Math.negateExact(units));
+    }
+
+    public Quantity abs() {
+        return units < 0 ? negate() : this;
+    }
+
+    public int signum() {
+        return Long.signum(units);
+    }
+
+    public boolean isZero() {
+        return units == 0;
+    }
+
+    public boolean isNegative() {
+        return units < 0;
+    }
+
+    public boolean isPositive() {
+        return units > 0;
+    }
+
+    public static Quantity min(Quantity a, Quantity b) {
+        return a.units <= b.units ? a : b;
+    }
+
+    public static Quantity max(Quantity a, Quantity b) {
+        return a.units >= b.units ? a : b;
+    }
+
+    /**
+     * Multiplies by a decimal such as a unit cost. The result keeps the full precision of both operands.
+     */
+    public BigDecimal multiply(BigDecimal factor) {
+        return toBigDecimal().multiply(factor);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+
+    @Override
+    public int compareTo(Quantity other) {
+        return Long.compare(units, other.units);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Quantity other && units == other.units);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(units);
+    }
+
+    /**
+     * Plain decimal form with four decimal places, e.g. {@code "-3.2500"}.
+     */
+    @Override
+    public String toString() {
+        return format(units);
+    }
+
+    public static String format(long units) {
+        StringBuilder sb = new StringBuilder(24);
+        if (units < 0) {
+            sb.append('-');
+        }
+        long whole = Math.abs(units / UNITS_PER_ONE);
+        long fraction = Math.abs(units % UNITS_PER_ONE);
+        sb.append(whole).append('.');
+        for (long digit = UNITS_PER_ONE / 10; digit > fraction && digit > 1; digit /= 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction).toString();
+    }
+}
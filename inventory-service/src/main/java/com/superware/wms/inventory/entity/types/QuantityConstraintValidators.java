@@ -0,0 +1,32 @@
+package com.superware.wms.inventory.entity.types;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * Bean Validation support for {@link Quantity} fields annotated with the standard sign
+ * constraints. Registered through {@code META-INF/services/jakarta.validation.ConstraintValidator}.
+ */
+public final class QuantityConstraintValidators {
+
+    private QuantityConstraintValidators() {
+    }
+
+    public static class PositiveValidator implements ConstraintValidator<Positive, Quantity> {
+
+        @Override
+        public boolean isValid(Quantity value, ConstraintValidatorContext context) {
+            return value == null || value.isPositive();
+        }
+    }
+
+    public static class PositiveOrZeroValidator implements ConstraintValidator<PositiveOrZero, Quantity> {
+
+        @Override
+        public boolean isValid(Quantity value, ConstraintValidatorContext context) {
+            return value == null || !value.isNegative();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.superware.wms.inventory.entity.types;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Maps {@link Quantity} attributes to {@code NUMERIC(12,4)} columns.
+ */
+@Converter(autoApply = true)
+public class QuantityConverter implements AttributeConverter<Quantity, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Quantity quantity) {
+        return quantity == null ? null : quantity.toBigDecimal();
+    }
+
+    @Override
+    public Quantity convertToEntityAttribute(BigDecimal value) {
+        return Quantity.of(value);
+    }
+}
@@ -0,0 +1,36 @@
+package com.superware.wms.inventory.entity.types;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads a {@link Quantity} from a JSON number or numeric string. Values with more than four
+ * decimal places are rejected rather than rounded.
+ */
+public class QuantityJsonDeserializer extends StdScalarDeserializer<Quantity> {
+
+    public QuantityJsonDeserializer() {
+        super(Quantity.class);
+    }
+
+    @Override
+    public Quantity deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        try {
+            if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                return Quantity.of(p.getDecimalValue());
+            }
+            if (token == JsonToken.VALUE_STRING) {
+                return Quantity.valueOf(p.getText());
+            }
+        } catch (ArithmeticException | NumberFormatException e) {
+            return (Quantity) ctxt.handleWeirdStringValue(Quantity.class, p.getText(),
+                    "not a quantity with at most %d decimal places", Quantity.SCALE);
+        }
+        return (Quantity) ctxt.handleUnexpectedToken(Quantity.class, p);
+    }
+}
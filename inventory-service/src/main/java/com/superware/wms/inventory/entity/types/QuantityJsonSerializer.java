@@ -0,0 +1,27 @@
+package com.superware.wms.inventory.entity.types;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link Quantity} as a decimal number with four decimal places. Text formats get
+ * the digits directly; binary formats receive a {@code BigDecimal}.
+ */
+public class QuantityJsonSerializer extends StdSerializer<Quantity> {
+
+    public QuantityJsonSerializer() {
+        super(Quantity.class);
+    }
+
+    @Override
+    public void serialize(Quantity value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (gen.canWriteFormattedNumbers()) {
+            gen.writeNumber(value.toString());
+        } else {
+            gen.writeNumber(value.toBigDecimal());
+        }
+    }
+}
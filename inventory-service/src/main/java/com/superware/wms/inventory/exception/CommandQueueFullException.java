@@ -0,0 +1,25 @@
+package com.superware.wms.inventory.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.TOO_MANY_REQUESTS)
+public class CommandQueueFullException extends RuntimeException {
+
+    private final int partition;
+    private final int capacity;
+
+    public CommandQueueFullException(int partition, int capacity) {
+        super(String.format("Command queue partition %d is full (capacity: %d), retry later", partition, capacity));
+        this.partition = partition;
+        this.capacity = capacity;
+    }
+
+    public int getPartition() {
+        return partition;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
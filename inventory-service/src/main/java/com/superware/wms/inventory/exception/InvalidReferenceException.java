@@ -0,0 +1,31 @@
+package com.superware.wms.inventory.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidReferenceException extends RuntimeException {
+
+    private final String resourceName;
+    private final Integer resourceId;
+    private final String reason;
+
+    public InvalidReferenceException(String resourceName, Integer resourceId, String requestedAction, String reason) {
+        super(String.format("%s (ID: %d) cannot be used to %s: %s", resourceName, resourceId, requestedAction, reason));
+        this.resourceName = resourceName;
+        this.resourceId = resourceId;
+        this.reason = reason;
+    }
+
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    public Integer getResourceId() {
+        return resourceId;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
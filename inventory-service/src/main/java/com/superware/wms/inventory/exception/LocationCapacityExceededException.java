@@ -0,0 +1,40 @@
+package com.superware.wms.inventory.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.math.BigDecimal;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class LocationCapacityExceededException extends RuntimeException {
+
+    private final Integer locationId;
+    private final String dimension;
+    private final BigDecimal capacity;
+    private final BigDecimal required;
+
+    public LocationCapacityExceededException(Integer locationId, String dimension, BigDecimal capacity, BigDecimal required) {
+        super(String.format("StorageLocation (ID: %d) %s capacity exceeded. Capacity: %s, Required: %s",
+                locationId, dimension, capacity.toPlainString(), required.toPlainString()));
+        this.locationId = locationId;
+        this.dimension = dimension;
+        this.capacity = capacity;
+        this.required = required;
+    }
+
+    public Integer getLocationId() {
+        return locationId;
+    }
+
+    public String getDimension() {
+        return dimension;
+    }
+
+    public BigDecimal getCapacity() {
+        return capacity;
+    }
+
+    public BigDecimal getRequired() {
+        return required;
+    }
+}
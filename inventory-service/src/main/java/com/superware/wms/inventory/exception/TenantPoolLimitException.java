@@ -0,0 +1,26 @@
+package com.superware.wms.inventory.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class TenantPoolLimitException extends RuntimeException {
+
+    private final String tenantId;
+    private final int maxPools;
+
+    public TenantPoolLimitException(String tenantId, int maxPools) {
+        super(String.format("Cannot open a connection pool for tenant %s: all %d dedicated pools are in use, retry later",
+                tenantId, maxPools));
+        this.tenantId = tenantId;
+        this.maxPools = maxPools;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public int getMaxPools() {
+        return maxPools;
+    }
+}
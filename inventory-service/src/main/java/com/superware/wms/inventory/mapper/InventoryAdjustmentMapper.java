@@ -0,0 +1,30 @@
+package com.superware.wms.inventory.mapper;
+
+import com.superware.wms.inventory.dto.InventoryAdjustmentDetailDto;
+import com.superware.wms.inventory.dto.InventoryAdjustmentDto;
+import com.superware.wms.inventory.entity.InventoryAdjustment;
+import com.superware.wms.inventory.entity.InventoryAdjustmentDetail;
+import com.superware.wms.mapper.Mapper;
+import com.superware.wms.mapper.ReportingPolicy;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Maps {@link InventoryAdjustment} to and from {@link InventoryAdjustmentDto}, and its detail lines to DTOs.
+ */
+@Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface InventoryAdjustmentMapper {
+
+    InventoryAdjustmentDto toDto(InventoryAdjustment adjustment);
+
+    InventoryAdjustment toEntity(InventoryAdjustmentDto dto);
+
+    List<InventoryAdjustmentDto> toDtoList(List<InventoryAdjustment> adjustments);
+
+    Page<InventoryAdjustmentDto> toDtoPage(Page<InventoryAdjustment> page);
+
+    InventoryAdjustmentDetailDto toDetailDto(InventoryAdjustmentDetail detail);
+
+    List<InventoryAdjustmentDetailDto> toDetailDtoList(List<InventoryAdjustmentDetail> details);
+}
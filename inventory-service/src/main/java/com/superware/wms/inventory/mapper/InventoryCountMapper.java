@@ -0,0 +1,29 @@
+package com.superware.wms.inventory.mapper;
+
+import com.superware.wms.inventory.dto.InventoryCountDetailDto;
+import com.superware.wms.inventory.dto.InventoryCountDto;
+import com.superware.wms.inventory.entity.InventoryCount;
+import com.superware.wms.inventory.entity.InventoryCountDetail;
+import com.superware.wms.mapper.Mapper;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Maps {@link InventoryCount} to and from {@link InventoryCountDto}, and its detail lines to DTOs.
+ */
+@Mapper
+public interface InventoryCountMapper {
+
+    InventoryCountDto toDto(InventoryCount count);
+
+    InventoryCount toEntity(InventoryCountDto dto);
+
+    List<InventoryCountDto> toDtoList(List<InventoryCount> counts);
+
+    Page<InventoryCountDto> toDtoPage(Page<InventoryCount> page);
+
+    InventoryCountDetailDto toDetailDto(InventoryCountDetail detail);
+
+    List<InventoryCountDetailDto> toDetailDtoList(List<InventoryCountDetail> details);
+}
@@ -0,0 +1,23 @@
+package com.superware.wms.inventory.mapper;
+
+import com.superware.wms.inventory.dto.InventoryItemDto;
+import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.mapper.Mapper;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Maps {@link InventoryItem} to and from {@link InventoryItemDto}.
+ */
+@Mapper
+public interface InventoryItemMapper {
+
+    InventoryItemDto toDto(InventoryItem item);
+
+    InventoryItem toEntity(InventoryItemDto dto);
+
+    List<InventoryItemDto> toDtoList(List<InventoryItem> items);
+
+    Page<InventoryItemDto> toDtoPage(Page<InventoryItem> page);
+}
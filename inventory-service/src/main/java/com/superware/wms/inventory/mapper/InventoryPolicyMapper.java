@@ -0,0 +1,24 @@
+package com.superware.wms.inventory.mapper;
+
+import com.superware.wms.inventory.dto.InventoryPolicyDto;
+import com.superware.wms.inventory.entity.InventoryPolicy;
+import com.superware.wms.mapper.Mapper;
+import com.superware.wms.mapper.ReportingPolicy;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Maps {@link InventoryPolicy} to and from {@link InventoryPolicyDto}.
+ */
+@Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface InventoryPolicyMapper {
+
+    InventoryPolicyDto toDto(InventoryPolicy policy);
+
+    InventoryPolicy toEntity(InventoryPolicyDto dto);
+
+    List<InventoryPolicyDto> toDtoList(List<InventoryPolicy> policies);
+
+    Page<InventoryPolicyDto> toDtoPage(Page<InventoryPolicy> page);
+}
@@ -0,0 +1,29 @@
+package com.superware.wms.inventory.mapper;
+
+import com.superware.wms.inventory.dto.InventoryReservationDetailDto;
+import com.superware.wms.inventory.dto.InventoryReservationDto;
+import com.superware.wms.inventory.entity.InventoryReservation;
+import com.superware.wms.inventory.entity.InventoryReservationDetail;
+import com.superware.wms.mapper.Mapper;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Maps {@link InventoryReservation} to and from {@link InventoryReservationDto}, and its detail lines to DTOs.
+ */
+@Mapper
+public interface InventoryReservationMapper {
+
+    InventoryReservationDto toDto(InventoryReservation reservation);
+
+    InventoryReservation toEntity(InventoryReservationDto dto);
+
+    List<InventoryReservationDto> toDtoList(List<InventoryReservation> reservations);
+
+    Page<InventoryReservationDto> toDtoPage(Page<InventoryReservation> page);
+
+    InventoryReservationDetailDto toDetailDto(InventoryReservationDetail detail);
+
+    List<InventoryReservationDetailDto> toDetailDtoList(List<InventoryReservationDetail> details);
+}
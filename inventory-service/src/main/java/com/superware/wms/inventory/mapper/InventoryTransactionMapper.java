@@ -0,0 +1,30 @@
+package com.superware.wms.inventory.mapper;
+
+import com.superware.wms.inventory.dto.InventoryTransactionDetailDto;
+import com.superware.wms.inventory.dto.InventoryTransactionDto;
+import com.superware.wms.inventory.entity.InventoryTransaction;
+import com.superware.wms.inventory.entity.InventoryTransactionDetail;
+import com.superware.wms.mapper.Mapper;
+import com.superware.wms.mapper.ReportingPolicy;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Maps {@link InventoryTransaction} to and from {@link InventoryTransactionDto}, and its detail lines to DTOs.
+ */
+@Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface InventoryTransactionMapper {
+
+    InventoryTransactionDto toDto(InventoryTransaction transaction);
+
+    InventoryTransaction toEntity(InventoryTransactionDto dto);
+
+    List<InventoryTransactionDto> toDtoList(List<InventoryTransaction> transactions);
+
+    Page<InventoryTransactionDto> toDtoPage(Page<InventoryTransaction> page);
+
+    InventoryTransactionDetailDto toDetailDto(InventoryTransactionDetail detail);
+
+    List<InventoryTransactionDetailDto> toDetailDtoList(List<InventoryTransactionDetail> details);
+}
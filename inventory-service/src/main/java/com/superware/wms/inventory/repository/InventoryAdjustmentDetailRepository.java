@@ -1,5 +1,6 @@
 package com.superware.wms.inventory.repository;
 
+import com.superware.wms.inventory.dto.InventoryAdjustmentDetailDto;
 import com.superware.wms.inventory.entity.InventoryAdjustmentDetail;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,4 +16,16 @@ public interface InventoryAdjustmentDetailRepository extends InventoryRepository
     
     @Query("SELECT iad FROM InventoryAdjustmentDetail iad WHERE iad.adjustmentId = :adjustmentId")
     List<InventoryAdjustmentDetail> findByAdjustmentId(@Param("adjustmentId") Integer adjustmentId);
-}
\ No newline at end of file
+
+    // Constructor projections for read endpoints
+    String DTO_SELECT = "SELECT new com.superware.wms.inventory.dto.InventoryAdjustmentDetailDto(" +
+            "iad.adjustmentDetailId, iad.adjustmentId, iad.itemId, " +
+            "iad.locationId, iad.lotNumber, iad.serialNumber, " +
+            "iad.quantityBefore, iad.quantityAfter, iad.quantityAdjusted, " +
+            "iad.unitOfMeasure, iad.unitCost, iad.totalCost, iad.notes, " +
+            "iad.createdAt, iad.updatedAt, iad.createdBy, iad.updatedBy, " +
+            "iad.isDeleted) FROM InventoryAdjustmentDetail iad";
+
+    @Query(DTO_SELECT + " WHERE iad.adjustmentId = :adjustmentId")
+    List<InventoryAdjustmentDetailDto> findDtosByAdjustmentId(@Param("adjustmentId") Integer adjustmentId);
+}
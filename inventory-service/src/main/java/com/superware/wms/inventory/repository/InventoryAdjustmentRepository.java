@@ -1,11 +1,33 @@
 package com.superware.wms.inventory.repository;
 
+import com.superware.wms.inventory.dto.InventoryAdjustmentDto;
 import com.superware.wms.inventory.entity.InventoryAdjustment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * Repository for InventoryAdjustment entities.
  */
 @Repository
 public interface InventoryAdjustmentRepository extends InventoryRepository<InventoryAdjustment, Integer> {
-}
\ No newline at end of file
+
+    // Constructor projections for read endpoints
+    String DTO_SELECT = "SELECT new com.superware.wms.inventory.dto.InventoryAdjustmentDto(" +
+            "ia.adjustmentId, ia.tenantId, ia.adjustmentNumber, " +
+            "ia.adjustmentDate, ia.status, ia.adjustmentType, " +
+            "ia.reasonCode, ia.referenceNumber, ia.referenceType, " +
+            "ia.referenceId, ia.notes, ia.isApproved, ia.approvedBy, " +
+            "ia.approvedAt, ia.createdAt, ia.updatedAt, ia.createdBy, " +
+            "ia.updatedBy, ia.isDeleted) FROM InventoryAdjustment ia";
+
+    @Query(value = DTO_SELECT, countQuery = "SELECT COUNT(ia) FROM InventoryAdjustment ia")
+    Page<InventoryAdjustmentDto> findAllDtos(Pageable pageable);
+
+    @Query(DTO_SELECT + " WHERE ia.adjustmentId = :id")
+    Optional<InventoryAdjustmentDto> findDtoById(@Param("id") Integer id);
+}
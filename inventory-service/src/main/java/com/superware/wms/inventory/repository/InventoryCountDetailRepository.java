@@ -1,5 +1,6 @@
 package com.superware.wms.inventory.repository;
 
+import com.superware.wms.inventory.dto.InventoryCountDetailDto;
 import com.superware.wms.inventory.entity.InventoryCountDetail;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,4 +16,15 @@ public interface InventoryCountDetailRepository extends InventoryRepository<Inve
     
     @Query("SELECT icd FROM InventoryCountDetail icd WHERE icd.countId = :countId")
     List<InventoryCountDetail> findByCountId(@Param("countId") Integer countId);
-}
\ No newline at end of file
+
+    // Constructor projections for read endpoints
+    String DTO_SELECT = "SELECT new com.superware.wms.inventory.dto.InventoryCountDetailDto(" +
+            "icd.countDetailId, icd.countId, icd.itemId, " +
+            "icd.expectedQuantity, icd.countedQuantity, icd.variance, " +
+            "icd.unitOfMeasure, icd.lotNumber, icd.notes, icd.isRecounted, " +
+            "icd.createdAt, icd.updatedAt, icd.createdBy, icd.updatedBy, " +
+            "icd.isDeleted) FROM InventoryCountDetail icd";
+
+    @Query(DTO_SELECT + " WHERE icd.countId = :countId")
+    List<InventoryCountDetailDto> findDtosByCountId(@Param("countId") Integer countId);
+}
@@ -1,11 +1,33 @@
 package com.superware.wms.inventory.repository;
 
+import com.superware.wms.inventory.dto.InventoryCountDto;
 import com.superware.wms.inventory.entity.InventoryCount;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * Repository for InventoryCount entities.
  */
 @Repository
 public interface InventoryCountRepository extends InventoryRepository<InventoryCount, Integer> {
-}
\ No newline at end of file
+
+    // Constructor projections for read endpoints
+    String DTO_SELECT = "SELECT new com.superware.wms.inventory.dto.InventoryCountDto(" +
+            "ic.countId, ic.tenantId, ic.countNumber, ic.countType, " +
+            "ic.status, ic.startDate, ic.endDate, ic.facilityId, " +
+            "ic.zoneId, ic.locationId, ic.productId, ic.categoryId, " +
+            "ic.notes, ic.isApproved, ic.approvedBy, ic.approvedAt, " +
+            "ic.createdAt, ic.updatedAt, ic.createdBy, ic.updatedBy, " +
+            "ic.isDeleted) FROM InventoryCount ic";
+
+    @Query(value = DTO_SELECT, countQuery = "SELECT COUNT(ic) FROM InventoryCount ic")
+    Page<InventoryCountDto> findAllDtos(Pageable pageable);
+
+    @Query(DTO_SELECT + " WHERE ic.countId = :id")
+    Optional<InventoryCountDto> findDtoById(@Param("id") Integer id);
+}
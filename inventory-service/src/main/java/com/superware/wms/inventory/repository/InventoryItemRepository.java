@@ -1,6 +1,8 @@
 package com.superware.wms.inventory.repository;
 
+import com.superware.wms.inventory.dto.InventoryItemDto;
 import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
@@ -22,7 +24,66 @@ public interface InventoryItemRepository extends TenantAwareRepository<Inventory
     
     List<InventoryItem> findByStatus(String status);
     
-    List<InventoryItem> findByQuantityOnHandGreaterThan(BigDecimal quantity);
+    List<InventoryItem> findByQuantityOnHandGreaterThan(Quantity quantity);
     
     Optional<InventoryItem> findById(Integer id);
-}
\ No newline at end of file
+
+    // Constructor projections for read endpoints: rows go straight into DTOs without
+    // becoming managed entities, so no snapshots are kept for dirty checking.
+    String DTO_SELECT = "SELECT new com.superware.wms.inventory.dto.InventoryItemDto(" +
+            "i.itemId, i.tenantId, i.productId, i.variantId, i.lotNumber, " +
+            "i.serialNumber, i.status, i.condition, i.quantityOnHand, " +
+            "i.quantityAllocated, i.quantityAvailable, i.unitOfMeasure, " +
+            "i.locationId, i.facilityId, i.expiryDate, i.manufactureDate, " +
+            "i.receivedDate, i.lastCountedDate, i.unitCost, i.totalCost, i.notes, " +
+            "i.isActive, i.createdAt, i.updatedAt, i.createdBy, i.updatedBy, " +
+            "i.isDeleted) FROM InventoryItem i";
+
+    @Query(value = DTO_SELECT, countQuery = "SELECT COUNT(i) FROM InventoryItem i")
+    Page<InventoryItemDto> findAllDtos(Pageable pageable);
+
+    @Query(DTO_SELECT + " WHERE i.itemId = :id")
+    Optional<InventoryItemDto> findDtoById(@Param("id") Integer id);
+
+    @Query(DTO_SELECT + " WHERE i.productId = :productId")
+    List<InventoryItemDto> findDtosByProductId(@Param("productId") Integer productId);
+
+    @Query(DTO_SELECT + " WHERE i.status = :status")
+    List<InventoryItemDto> findDtosByStatus(@Param("status") String status);
+
+    @Query(DTO_SELECT + " WHERE i.quantityOnHand > :quantity")
+    List<InventoryItemDto> findDtosByQuantityOnHandGreaterThan(@Param("quantity") Quantity quantity);
+
+    // Availability totals when the in-process stock index is disabled or still loading.
+    // Native SQL is not covered by the Hibernate tenant filter, so the tenant is passed explicitly.
+    @Query(value = "SELECT COALESCE(SUM(quantity_on_hand), 0) AS \"onHand\", " +
+            "COALESCE(SUM(quantity_allocated), 0) AS \"allocated\" FROM inventory_items " +
+            "WHERE tenant_id = :tenantId AND product_id = :productId AND is_deleted IS NOT TRUE " +
+            "AND (CAST(:facilityId AS INTEGER) IS NULL OR facility_id = :facilityId) " +
+            "AND (CAST(:locationId AS INTEGER) IS NULL OR location_id = :locationId) " +
+            "AND (CAST(:lotNumber AS VARCHAR) IS NULL OR lot_number = :lotNumber)", nativeQuery = true)
+    StockTotals sumStock(@Param("tenantId") Integer tenantId,
+                         @Param("productId") Integer productId,
+                         @Param("facilityId") Integer facilityId,
+                         @Param("locationId") Integer locationId,
+                         @Param("lotNumber") String lotNumber);
+
+    // On-hand stock per product at a location, for capacity checks on putaway into it
+    @Query(value = "SELECT product_id AS \"productId\", SUM(quantity_on_hand) AS \"quantity\" FROM inventory_items " +
+            "WHERE tenant_id = :tenantId AND location_id = :locationId AND is_deleted IS NOT TRUE " +
+            "GROUP BY product_id", nativeQuery = true)
+    List<LocationStock> sumStockByProductAtLocation(@Param("tenantId") Integer tenantId,
+                                                    @Param("locationId") Integer locationId);
+
+    interface StockTotals {
+        BigDecimal getOnHand();
+
+        BigDecimal getAllocated();
+    }
+
+    interface LocationStock {
+        Integer getProductId();
+
+        BigDecimal getQuantity();
+    }
+}
@@ -1,11 +1,15 @@
 package com.superware.wms.inventory.repository;
 
+import com.superware.wms.inventory.dto.InventoryPolicyDto;
 import com.superware.wms.inventory.entity.InventoryPolicy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for InventoryPolicy entities.
@@ -18,4 +22,24 @@ public interface InventoryPolicyRepository extends InventoryRepository<Inventory
     
     @Query("SELECT ip FROM InventoryPolicy ip WHERE ip.facilityId = :facilityId")
     List<InventoryPolicy> findByFacilityId(@Param("facilityId") Integer facilityId);
-}
\ No newline at end of file
+
+    // Constructor projections for read endpoints
+    String DTO_SELECT = "SELECT new com.superware.wms.inventory.dto.InventoryPolicyDto(" +
+            "ip.policyId, ip.tenantId, ip.productId, ip.variantId, " +
+            "ip.facilityId, ip.minStockLevel, ip.maxStockLevel, " +
+            "ip.reorderPoint, ip.reorderQuantity, ip.valuationMethod, " +
+            "ip.abcClass, ip.isActive, ip.createdAt, ip.updatedAt, " +
+            "ip.createdBy, ip.updatedBy, ip.isDeleted) FROM InventoryPolicy ip";
+
+    @Query(value = DTO_SELECT, countQuery = "SELECT COUNT(ip) FROM InventoryPolicy ip")
+    Page<InventoryPolicyDto> findAllDtos(Pageable pageable);
+
+    @Query(DTO_SELECT + " WHERE ip.policyId = :id")
+    Optional<InventoryPolicyDto> findDtoById(@Param("id") Integer id);
+
+    @Query(DTO_SELECT + " WHERE ip.productId = :productId")
+    List<InventoryPolicyDto> findDtosByProductId(@Param("productId") Integer productId);
+
+    @Query(DTO_SELECT + " WHERE ip.facilityId = :facilityId")
+    List<InventoryPolicyDto> findDtosByFacilityId(@Param("facilityId") Integer facilityId);
+}
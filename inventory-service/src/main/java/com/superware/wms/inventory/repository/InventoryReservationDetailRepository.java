@@ -1,5 +1,6 @@
 package com.superware.wms.inventory.repository;
 
+import com.superware.wms.inventory.dto.InventoryReservationDetailDto;
 import com.superware.wms.inventory.entity.InventoryReservationDetail;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,4 +16,15 @@ public interface InventoryReservationDetailRepository extends InventoryRepositor
     
     @Query("SELECT ird FROM InventoryReservationDetail ird WHERE ird.reservationId = :reservationId")
     List<InventoryReservationDetail> findByReservationId(@Param("reservationId") Integer reservationId);
-}
\ No newline at end of file
+
+    // Constructor projections for read endpoints
+    String DTO_SELECT = "SELECT new com.superware.wms.inventory.dto.InventoryReservationDetailDto(" +
+            "ird.reservationDetailId, ird.reservationId, ird.itemId, " +
+            "ird.quantityRequested, ird.quantityAllocated, " +
+            "ird.quantityFulfilled, ird.unitOfMeasure, ird.lotNumber, " +
+            "ird.notes, ird.createdAt, ird.updatedAt, ird.createdBy, " +
+            "ird.updatedBy, ird.isDeleted) FROM InventoryReservationDetail ird";
+
+    @Query(DTO_SELECT + " WHERE ird.reservationId = :reservationId")
+    List<InventoryReservationDetailDto> findDtosByReservationId(@Param("reservationId") Integer reservationId);
+}
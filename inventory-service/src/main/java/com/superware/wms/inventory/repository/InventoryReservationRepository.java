@@ -1,11 +1,32 @@
 package com.superware.wms.inventory.repository;
 
+import com.superware.wms.inventory.dto.InventoryReservationDto;
 import com.superware.wms.inventory.entity.InventoryReservation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * Repository for InventoryReservation entities.
  */
 @Repository
 public interface InventoryReservationRepository extends InventoryRepository<InventoryReservation, Integer> {
-}
\ No newline at end of file
+
+    // Constructor projections for read endpoints
+    String DTO_SELECT = "SELECT new com.superware.wms.inventory.dto.InventoryReservationDto(" +
+            "ir.reservationId, ir.tenantId, ir.reservationType, ir.status, " +
+            "ir.referenceNumber, ir.referenceType, ir.referenceId, " +
+            "ir.requestedDate, ir.expiryDate, ir.priority, ir.notes, " +
+            "ir.createdAt, ir.updatedAt, ir.createdBy, ir.updatedBy, " +
+            "ir.isDeleted) FROM InventoryReservation ir";
+
+    @Query(value = DTO_SELECT, countQuery = "SELECT COUNT(ir) FROM InventoryReservation ir")
+    Page<InventoryReservationDto> findAllDtos(Pageable pageable);
+
+    @Query(DTO_SELECT + " WHERE ir.reservationId = :id")
+    Optional<InventoryReservationDto> findDtoById(@Param("id") Integer id);
+}
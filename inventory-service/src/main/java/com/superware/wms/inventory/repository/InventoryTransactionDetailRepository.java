@@ -1,5 +1,6 @@
 package com.superware.wms.inventory.repository;
 
+import com.superware.wms.inventory.dto.InventoryTransactionDetailDto;
 import com.superware.wms.inventory.entity.InventoryTransactionDetail;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,4 +16,14 @@ public interface InventoryTransactionDetailRepository extends InventoryRepositor
     
     @Query("SELECT itd FROM InventoryTransactionDetail itd WHERE itd.transactionId = :transactionId")
     List<InventoryTransactionDetail> findByTransactionId(@Param("transactionId") Integer transactionId);
-}
\ No newline at end of file
+
+    String DTO_SELECT = "SELECT new com.superware.wms.inventory.dto.InventoryTransactionDetailDto(" +
+            "itd.transactionDetailId, itd.transactionId, itd.itemId, itd.quantity, " +
+            "itd.unitOfMeasure, itd.unitCost, itd.totalCost, itd.lotNumber, " +
+            "itd.serialNumber, itd.fromLocationId, itd.toLocationId, itd.notes, " +
+            "itd.createdAt, itd.updatedAt, itd.createdBy, itd.updatedBy, " +
+            "itd.isDeleted) FROM InventoryTransactionDetail itd";
+
+    @Query(DTO_SELECT + " WHERE itd.transactionId = :transactionId")
+    List<InventoryTransactionDetailDto> findDtosByTransactionId(@Param("transactionId") Integer transactionId);
+}
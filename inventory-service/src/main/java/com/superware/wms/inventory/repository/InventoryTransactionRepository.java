@@ -1,11 +1,54 @@
 package com.superware.wms.inventory.repository;
 
+import com.superware.wms.inventory.dto.InventoryTransactionDto;
 import com.superware.wms.inventory.entity.InventoryTransaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 /**
  * Repository for InventoryTransaction entities.
+ * inventory_transactions is partitioned by month, so list queries should always bound
+ * transaction_date to let Postgres skip partitions outside the requested window.
  */
 @Repository
 public interface InventoryTransactionRepository extends InventoryRepository<InventoryTransaction, Integer> {
-}
\ No newline at end of file
+
+    @Query("SELECT it FROM InventoryTransaction it WHERE it.transactionDate >= :from")
+    Page<InventoryTransaction> findByTransactionDateFrom(@Param("from") LocalDateTime from, Pageable pageable);
+
+    @Query("SELECT it FROM InventoryTransaction it WHERE it.transactionDate >= :from AND it.transactionDate < :to")
+    Page<InventoryTransaction> findByTransactionDateRange(@Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to,
+                                                          Pageable pageable);
+
+    // Constructor projections for read endpoints
+    String DTO_SELECT = "SELECT new com.superware.wms.inventory.dto.InventoryTransactionDto(" +
+            "it.transactionId, it.tenantId, it.transactionType, " +
+            "it.transactionDate, it.status, it.referenceNumber, it.referenceType, " +
+            "it.referenceId, it.sourceType, it.sourceId, it.destinationType, " +
+            "it.destinationId, it.notes, it.createdAt, it.updatedAt, it.createdBy, " +
+            "it.updatedBy, it.isDeleted) FROM InventoryTransaction it";
+
+    @Query(value = DTO_SELECT + " WHERE it.transactionDate >= :from",
+           countQuery = "SELECT COUNT(it) FROM InventoryTransaction it WHERE it.transactionDate >= :from")
+    Page<InventoryTransactionDto> findDtosByTransactionDateFrom(@Param("from") LocalDateTime from, Pageable pageable);
+
+    @Query(value = DTO_SELECT + " WHERE it.transactionDate < :to",
+           countQuery = "SELECT COUNT(it) FROM InventoryTransaction it WHERE it.transactionDate < :to")
+    Page<InventoryTransactionDto> findDtosByTransactionDateBefore(@Param("to") LocalDateTime to, Pageable pageable);
+
+    @Query(value = DTO_SELECT + " WHERE it.transactionDate >= :from AND it.transactionDate < :to",
+           countQuery = "SELECT COUNT(it) FROM InventoryTransaction it WHERE it.transactionDate >= :from AND it.transactionDate < :to")
+    Page<InventoryTransactionDto> findDtosByTransactionDateRange(@Param("from") LocalDateTime from,
+                                                                 @Param("to") LocalDateTime to,
+                                                                 Pageable pageable);
+
+    @Query(DTO_SELECT + " WHERE it.transactionId = :id")
+    Optional<InventoryTransactionDto> findDtoById(@Param("id") Integer id);
+}
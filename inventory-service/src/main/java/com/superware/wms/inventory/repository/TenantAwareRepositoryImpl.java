@@ -1,11 +1,13 @@
 package com.superware.wms.inventory.repository;
 
-import com.superware.wms.inventory.service.TenantEntityService;
+import com.superware.wms.inventory.entity.TenantScoped;
 import com.superware.wms.tenant.context.TenantContextHolder;
 import jakarta.persistence.EntityManager;
 import org.hibernate.Filter;
 import org.hibernate.Session;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
 import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
 
@@ -19,13 +21,25 @@ import java.util.Optional;
 public class TenantAwareRepositoryImpl<T, ID extends Serializable> extends SimpleJpaRepository<T, ID> implements TenantAwareRepository<T, ID> {
 
     private final EntityManager entityManager;
-    
-    @Autowired
-    private TenantEntityService tenantEntityService;
+    private final JpaEntityInformation<T, ?> entityInformation;
+    private final boolean tenantScoped;
 
     public TenantAwareRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
         super(entityInformation, entityManager);
         this.entityManager = entityManager;
+        this.entityInformation = entityInformation;
+        this.tenantScoped = TenantScoped.class.isAssignableFrom(entityInformation.getJavaType());
+    }
+
+    /**
+     * Stamp the current tenant on a tenant-scoped entity. A plain interface call rather than a
+     * reflective setter lookup, so nothing here needs reflection hints for AOT or native images.
+     */
+    private void setTenantId(Object entity) {
+        String tenantId = TenantContextHolder.getCurrentTenant();
+        if (tenantId != null && entity instanceof TenantScoped scoped) {
+            scoped.setTenantId(Integer.valueOf(tenantId));
+        }
     }
 
     /**
@@ -37,7 +51,7 @@ public class TenantAwareRepositoryImpl<T, ID extends Serializable> extends Simpl
             try {
                 Session session = entityManager.unwrap(Session.class);
                 Filter filter = session.enableFilter("tenantFilter");
-                filter.setParameter("tenantId", tenantId);
+                filter.setParameter("tenantId", Integer.valueOf(tenantId));
             } catch (Exception e) {
                 // Log the error but don't fail the operation
                 // This allows the application to work even if tenant filtering fails
@@ -78,28 +92,56 @@ public class TenantAwareRepositoryImpl<T, ID extends Serializable> extends Simpl
 
     @Override
     public <S extends T> S save(S entity) {
-        // Set tenant ID before saving
-        if (tenantEntityService != null) {
-            tenantEntityService.setTenantIdIfPossible(entity);
-        }
+        setTenantId(entity);
         enableTenantFilter();
         return super.save(entity);
     }
 
     @Override
     public <S extends T> List<S> saveAll(Iterable<S> entities) {
-        // Set tenant ID before saving
-        if (tenantEntityService != null) {
-            tenantEntityService.setTenantIdIfPossible(entities);
+        if (tenantScoped) {
+            for (S entity : entities) {
+                setTenantId(entity);
+            }
         }
         enableTenantFilter();
         return super.saveAll(entities);
     }
 
+    /**
+     * Hibernate filters are not applied to lookups by primary key, so for entities with a
+     * tenant ID the lookup runs as a query. This keeps it tenant-isolated and lets Postgres
+     * prune to the tenant's partition instead of probing every partition's index.
+     * <p>
+     * A query always goes to the database, so an entity this session already holds for the
+     * current tenant is returned directly, the same as a primary key lookup would.
+     */
     @Override
     public Optional<T> findById(ID id) {
         enableTenantFilter();
-        return super.findById(id);
+        String tenantId = TenantContextHolder.getCurrentTenant();
+        if (!tenantScoped || tenantId == null) {
+            return super.findById(id);
+        }
+        T managed = findManaged(id);
+        if (managed != null) {
+            return Integer.valueOf(tenantId).equals(((TenantScoped) managed).getTenantId())
+                    ? Optional.of(managed) : Optional.empty();
+        }
+        String jpql = "SELECT e FROM " + entityInformation.getEntityName() + " e WHERE e."
+                + entityInformation.getIdAttribute().getName() + " = :id";
+        return entityManager.createQuery(jpql, entityInformation.getJavaType())
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    private T findManaged(ID id) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(entityInformation.getJavaType());
+        EntityKey key = session.generateEntityKey(id, persister);
+        return entityInformation.getJavaType().cast(session.getPersistenceContextInternal().getEntity(key));
     }
 
     @Override
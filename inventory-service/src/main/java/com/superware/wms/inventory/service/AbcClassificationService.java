@@ -0,0 +1,18 @@
+package com.superware.wms.inventory.service;
+
+import com.superware.wms.inventory.dto.AbcClassificationDto;
+
+/**
+ * Service interface for classifying products into ABC classes from their issue velocity and value.
+ */
+public interface AbcClassificationService {
+
+    /**
+     * Roll up the tenant's issue transactions since the last run, rank its products over the
+     * rolling window and write the resulting class to their inventory policies.
+     *
+     * @param tenantId the ID of the tenant
+     * @return the processed transaction range and the class sizes
+     */
+    AbcClassificationDto classify(Integer tenantId);
+}
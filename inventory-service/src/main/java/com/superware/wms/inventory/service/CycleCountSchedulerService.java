@@ -0,0 +1,22 @@
+package com.superware.wms.inventory.service;
+
+import com.superware.wms.inventory.dto.CycleCountScheduleDto;
+
+import java.time.LocalDate;
+
+/**
+ * Service interface for scheduling risk-based cycle counts.
+ */
+public interface CycleCountSchedulerService {
+
+    /**
+     * Create the day's cycle counts of a tenant: in every facility, the riskiest due locations
+     * that fit the daily labor budget, spread over the zones. Locations with an open count are
+     * not scheduled again.
+     *
+     * @param tenantId the ID of the tenant
+     * @param countDate the day to schedule counts for
+     * @return what was found due and created
+     */
+    CycleCountScheduleDto scheduleCounts(Integer tenantId, LocalDate countDate);
+}
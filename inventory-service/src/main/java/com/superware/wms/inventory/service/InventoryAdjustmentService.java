@@ -1,7 +1,10 @@
 package com.superware.wms.inventory.service;
 
+import com.superware.wms.inventory.dto.InventoryAdjustmentDetailDto;
+import com.superware.wms.inventory.dto.InventoryAdjustmentDto;
 import com.superware.wms.inventory.entity.InventoryAdjustment;
 import com.superware.wms.inventory.entity.InventoryAdjustmentDetail;
+import com.superware.wms.inventory.entity.types.Quantity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -74,5 +77,30 @@ public interface InventoryAdjustmentService {
      * @throws com.superware.wms.inventory.exception.ResourceNotFoundException if the inventory item is not found
      * @throws com.superware.wms.inventory.exception.InsufficientStockException if there is insufficient stock for a negative adjustment
      */
-    InventoryAdjustment adjustStock(Integer itemId, java.math.BigDecimal quantity, String reason, Integer userId);
-}
\ No newline at end of file
+    InventoryAdjustment adjustStock(Integer itemId, Quantity quantity, String reason, Integer userId);
+
+    /**
+     * Get all inventory adjustments with pagination, read directly into DTOs.
+     *
+     * @param pageable pagination information
+     * @return page of inventory adjustment DTOs
+     */
+    Page<InventoryAdjustmentDto> getAllAdjustmentDtos(Pageable pageable);
+
+    /**
+     * Get an inventory adjustment by ID, read directly into a DTO.
+     *
+     * @param id the ID of the inventory adjustment
+     * @return the inventory adjustment DTO
+     * @throws com.superware.wms.inventory.exception.ResourceNotFoundException if the inventory adjustment is not found
+     */
+    InventoryAdjustmentDto getAdjustmentDtoById(Integer id);
+
+    /**
+     * Get the details of an inventory adjustment, read directly into DTOs.
+     *
+     * @param adjustmentId the ID of the inventory adjustment
+     * @return list of inventory adjustment detail DTOs
+     */
+    List<InventoryAdjustmentDetailDto> getAdjustmentDetailDtosByAdjustmentId(Integer adjustmentId);
+}
@@ -0,0 +1,37 @@
+package com.superware.wms.inventory.service;
+
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.service.command.InventoryCommand;
+
+
+/**
+ * Service interface for the asynchronous scanner command pipeline.
+ */
+public interface InventoryCommandService {
+
+    /**
+     * Queue a stock movement for asynchronous processing. Commands for the same
+     * tenant and item are applied in submission order.
+     *
+     * @param transactionType the movement type (RECEIPT, ISSUE or TRANSFER)
+     * @param itemId the ID of the inventory item
+     * @param quantity the quantity moved
+     * @param fromLocationId the ID of the source location
+     * @param toLocationId the ID of the destination location
+     * @param userId the ID of the user performing the transaction
+     * @return the queued command
+     * @throws IllegalArgumentException if the transaction type is not supported
+     * @throws com.superware.wms.inventory.exception.CommandQueueFullException if the partition queue is full
+     */
+    InventoryCommand submit(String transactionType, Integer itemId, Quantity quantity,
+                            Integer fromLocationId, Integer toLocationId, Integer userId);
+
+    /**
+     * Get a queued or processed command by ID.
+     *
+     * @param commandId the ID of the command
+     * @return the command
+     * @throws com.superware.wms.inventory.exception.ResourceNotFoundException if the command is unknown or has expired
+     */
+    InventoryCommand getCommand(String commandId);
+}
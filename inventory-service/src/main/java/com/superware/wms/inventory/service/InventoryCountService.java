@@ -1,7 +1,10 @@
 package com.superware.wms.inventory.service;
 
+import com.superware.wms.inventory.dto.InventoryCountDetailDto;
+import com.superware.wms.inventory.dto.InventoryCountDto;
 import com.superware.wms.inventory.entity.InventoryCount;
 import com.superware.wms.inventory.entity.InventoryCountDetail;
+import com.superware.wms.inventory.entity.types.Quantity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -82,7 +85,7 @@ public interface InventoryCountService {
      * @return the created inventory count detail
      * @throws com.superware.wms.inventory.exception.ResourceNotFoundException if the inventory count or item is not found
      */
-    InventoryCountDetail addCountDetail(Integer countId, Integer itemId, java.math.BigDecimal countedQuantity, Integer userId);
+    InventoryCountDetail addCountDetail(Integer countId, Integer itemId, Quantity countedQuantity, Integer userId);
     
     /**
      * Complete an inventory count and process any variances.
@@ -92,4 +95,29 @@ public interface InventoryCountService {
      * @throws com.superware.wms.inventory.exception.ResourceNotFoundException if the inventory count is not found
      */
     void completeCount(Integer countId, Integer userId);
-}
\ No newline at end of file
+
+    /**
+     * Get all inventory counts with pagination, read directly into DTOs.
+     *
+     * @param pageable pagination information
+     * @return page of inventory count DTOs
+     */
+    Page<InventoryCountDto> getAllCountDtos(Pageable pageable);
+
+    /**
+     * Get an inventory count by ID, read directly into a DTO.
+     *
+     * @param id the ID of the inventory count
+     * @return the inventory count DTO
+     * @throws com.superware.wms.inventory.exception.ResourceNotFoundException if the inventory count is not found
+     */
+    InventoryCountDto getCountDtoById(Integer id);
+
+    /**
+     * Get the details of an inventory count, read directly into DTOs.
+     *
+     * @param countId the ID of the inventory count
+     * @return list of inventory count detail DTOs
+     */
+    List<InventoryCountDetailDto> getCountDetailDtosByCountId(Integer countId);
+}
@@ -1,11 +1,15 @@
 package com.superware.wms.inventory.service;
 
+import com.superware.wms.inventory.dto.InventoryItemDto;
+import com.superware.wms.inventory.dto.StockAvailabilityDto;
 import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for managing inventory items.
@@ -29,6 +33,15 @@ public interface InventoryItemService {
      */
     InventoryItem getItemById(Integer id);
     
+    /**
+     * Get several inventory items in one query, for flows that touch every item of a document.
+     *
+     * @param ids the IDs of the inventory items
+     * @return the inventory items by ID
+     * @throws com.superware.wms.inventory.exception.ResourceNotFoundException if any inventory item is not found
+     */
+    Map<Integer, InventoryItem> getItemsByIds(Collection<Integer> ids);
+    
     /**
      * Create a new inventory item.
      *
@@ -77,5 +90,58 @@ public interface InventoryItemService {
      * @param quantity the minimum quantity threshold
      * @return list of inventory items with quantity greater than the threshold
      */
-    List<InventoryItem> getItemsByQuantityOnHandGreaterThan(BigDecimal quantity);
+    List<InventoryItem> getItemsByQuantityOnHandGreaterThan(Quantity quantity);
+
+    /**
+     * Get all inventory items with pagination, read directly into DTOs.
+     *
+     * @param pageable pagination information
+     * @return page of inventory item DTOs
+     */
+    Page<InventoryItemDto> getAllItemDtos(Pageable pageable);
+
+    /**
+     * Get an inventory item by ID, read directly into a DTO.
+     *
+     * @param id the ID of the inventory item
+     * @return the inventory item DTO
+     * @throws com.superware.wms.inventory.exception.ResourceNotFoundException if the inventory item is not found
+     */
+    InventoryItemDto getItemDtoById(Integer id);
+
+    /**
+     * Get all inventory items for a specific product, read directly into DTOs.
+     *
+     * @param productId the ID of the product
+     * @return list of inventory item DTOs for the product
+     */
+    List<InventoryItemDto> getItemDtosByProductId(Integer productId);
+
+    /**
+     * Get all inventory items with a specific status, read directly into DTOs.
+     *
+     * @param status the status to filter by
+     * @return list of inventory item DTOs with the specified status
+     */
+    List<InventoryItemDto> getItemDtosByStatus(String status);
+
+    /**
+     * Get all inventory items with quantity greater than the specified value, read directly into DTOs.
+     *
+     * @param quantity the minimum quantity threshold
+     * @return list of inventory item DTOs with quantity greater than the threshold
+     */
+    List<InventoryItemDto> getItemDtosByQuantityOnHandGreaterThan(Quantity quantity);
+
+    /**
+     * Get on-hand, allocated and available stock for a product, served from the in-process
+     * stock index when it is enabled and loaded, otherwise summed in the database.
+     *
+     * @param productId  the product ID
+     * @param facilityId optional facility filter
+     * @param locationId optional location filter
+     * @param lotNumber  optional lot filter
+     * @return the stock totals for the current tenant
+     */
+    StockAvailabilityDto getStockAvailability(Integer productId, Integer facilityId, Integer locationId, String lotNumber);
 }
@@ -1,5 +1,6 @@
 package com.superware.wms.inventory.service;
 
+import com.superware.wms.inventory.dto.InventoryPolicyDto;
 import com.superware.wms.inventory.entity.InventoryPolicy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -69,4 +70,37 @@ public interface InventoryPolicyService {
      * @return list of inventory policies for the facility
      */
     List<InventoryPolicy> getPoliciesByFacilityId(Integer facilityId);
-}
\ No newline at end of file
+
+    /**
+     * Get all inventory policies with pagination, read directly into DTOs.
+     *
+     * @param pageable pagination information
+     * @return page of inventory policy DTOs
+     */
+    Page<InventoryPolicyDto> getAllPolicyDtos(Pageable pageable);
+
+    /**
+     * Get an inventory policy by ID, read directly into a DTO.
+     *
+     * @param id the ID of the inventory policy
+     * @return the inventory policy DTO
+     * @throws com.superware.wms.inventory.exception.ResourceNotFoundException if the inventory policy is not found
+     */
+    InventoryPolicyDto getPolicyDtoById(Integer id);
+
+    /**
+     * Get all inventory policies for a specific product, read directly into DTOs.
+     *
+     * @param productId the ID of the product
+     * @return list of inventory policy DTOs for the product
+     */
+    List<InventoryPolicyDto> getPolicyDtosByProductId(Integer productId);
+
+    /**
+     * Get all inventory policies for a specific facility, read directly into DTOs.
+     *
+     * @param facilityId the ID of the facility
+     * @return list of inventory policy DTOs for the facility
+     */
+    List<InventoryPolicyDto> getPolicyDtosByFacilityId(Integer facilityId);
+}
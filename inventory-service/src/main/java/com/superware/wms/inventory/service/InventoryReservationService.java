@@ -1,7 +1,10 @@
 package com.superware.wms.inventory.service;
 
+import com.superware.wms.inventory.dto.InventoryReservationDetailDto;
+import com.superware.wms.inventory.dto.InventoryReservationDto;
 import com.superware.wms.inventory.entity.InventoryReservation;
 import com.superware.wms.inventory.entity.InventoryReservationDetail;
+import com.superware.wms.inventory.entity.types.Quantity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -75,7 +78,7 @@ public interface InventoryReservationService {
      * @throws com.superware.wms.inventory.exception.ResourceNotFoundException if the inventory item is not found
      * @throws com.superware.wms.inventory.exception.InsufficientStockException if there is insufficient stock
      */
-    InventoryReservation reserveStock(Integer itemId, java.math.BigDecimal quantity, String referenceType, Integer referenceId, Integer userId);
+    InventoryReservation reserveStock(Integer itemId, Quantity quantity, String referenceType, Integer referenceId, Integer userId);
     
     /**
      * Release a reserved stock.
@@ -94,4 +97,29 @@ public interface InventoryReservationService {
      * @throws com.superware.wms.inventory.exception.ResourceNotFoundException if the reservation is not found
      */
     void confirmReservation(Integer reservationId, Integer userId);
-}
\ No newline at end of file
+
+    /**
+     * Get all inventory reservations with pagination, read directly into DTOs.
+     *
+     * @param pageable pagination information
+     * @return page of inventory reservation DTOs
+     */
+    Page<InventoryReservationDto> getAllReservationDtos(Pageable pageable);
+
+    /**
+     * Get an inventory reservation by ID, read directly into a DTO.
+     *
+     * @param id the ID of the inventory reservation
+     * @return the inventory reservation DTO
+     * @throws com.superware.wms.inventory.exception.ResourceNotFoundException if the inventory reservation is not found
+     */
+    InventoryReservationDto getReservationDtoById(Integer id);
+
+    /**
+     * Get the details of an inventory reservation, read directly into DTOs.
+     *
+     * @param reservationId the ID of the inventory reservation
+     * @return list of inventory reservation detail DTOs
+     */
+    List<InventoryReservationDetailDto> getReservationDetailDtosByReservationId(Integer reservationId);
+}
@@ -1,10 +1,14 @@
 package com.superware.wms.inventory.service;
 
+import com.superware.wms.inventory.dto.InventoryTransactionDetailDto;
+import com.superware.wms.inventory.dto.InventoryTransactionDto;
 import com.superware.wms.inventory.entity.InventoryTransaction;
 import com.superware.wms.inventory.entity.InventoryTransactionDetail;
+import com.superware.wms.inventory.entity.types.Quantity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -13,12 +17,23 @@ import java.util.List;
 public interface InventoryTransactionService {
     
     /**
-     * Get all inventory transactions with pagination.
+     * Get recent inventory transactions with pagination. Only the configured number of
+     * most recent months is searched; use {@link #getTransactionsByDateRange} for older data.
      *
      * @param pageable pagination information
      * @return page of inventory transactions
      */
     Page<InventoryTransaction> getAllTransactions(Pageable pageable);
+
+    /**
+     * Get inventory transactions dated within a range with pagination.
+     *
+     * @param from the inclusive start of the range, or null for no lower bound
+     * @param to the exclusive end of the range, or null for no upper bound
+     * @param pageable pagination information
+     * @return page of inventory transactions
+     */
+    Page<InventoryTransaction> getTransactionsByDateRange(LocalDateTime from, LocalDateTime to, Pageable pageable);
     
     /**
      * Get an inventory transaction by ID.
@@ -74,7 +89,7 @@ public interface InventoryTransactionService {
      * @return the created inventory transaction
      * @throws com.superware.wms.inventory.exception.ResourceNotFoundException if the inventory item is not found
      */
-    InventoryTransaction recordReceipt(Integer itemId, java.math.BigDecimal quantity, Integer fromLocationId, Integer toLocationId, Integer userId);
+    InventoryTransaction recordReceipt(Integer itemId, Quantity quantity, Integer fromLocationId, Integer toLocationId, Integer userId);
     
     /**
      * Record a stock issue transaction.
@@ -88,7 +103,7 @@ public interface InventoryTransactionService {
      * @throws com.superware.wms.inventory.exception.ResourceNotFoundException if the inventory item is not found
      * @throws com.superware.wms.inventory.exception.InsufficientStockException if there is insufficient stock
      */
-    InventoryTransaction recordIssue(Integer itemId, java.math.BigDecimal quantity, Integer fromLocationId, Integer toLocationId, Integer userId);
+    InventoryTransaction recordIssue(Integer itemId, Quantity quantity, Integer fromLocationId, Integer toLocationId, Integer userId);
     
     /**
      * Record a stock transfer transaction.
@@ -102,5 +117,40 @@ public interface InventoryTransactionService {
      * @throws com.superware.wms.inventory.exception.ResourceNotFoundException if the inventory item is not found
      * @throws com.superware.wms.inventory.exception.InsufficientStockException if there is insufficient stock
      */
-    InventoryTransaction recordTransfer(Integer itemId, java.math.BigDecimal quantity, Integer fromLocationId, Integer toLocationId, Integer userId);
-}
\ No newline at end of file
+    InventoryTransaction recordTransfer(Integer itemId, Quantity quantity, Integer fromLocationId, Integer toLocationId, Integer userId);
+
+    /**
+     * Get recent inventory transactions with pagination, read directly into DTOs.
+     *
+     * @param pageable pagination information
+     * @return page of inventory transaction DTOs
+     */
+    Page<InventoryTransactionDto> getAllTransactionDtos(Pageable pageable);
+
+    /**
+     * Get inventory transactions dated within a range with pagination, read directly into DTOs.
+     *
+     * @param from the inclusive start of the range, or null for no lower bound
+     * @param to the exclusive end of the range, or null for no upper bound
+     * @param pageable pagination information
+     * @return page of inventory transaction DTOs
+     */
+    Page<InventoryTransactionDto> getTransactionDtosByDateRange(LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    /**
+     * Get an inventory transaction by ID, read directly into a DTO.
+     *
+     * @param id the ID of the inventory transaction
+     * @return the inventory transaction DTO
+     * @throws com.superware.wms.inventory.exception.ResourceNotFoundException if the inventory transaction is not found
+     */
+    InventoryTransactionDto getTransactionDtoById(Integer id);
+
+    /**
+     * Get the details of an inventory transaction, read directly into DTOs.
+     *
+     * @param transactionId the ID of the inventory transaction
+     * @return list of inventory transaction detail DTOs
+     */
+    List<InventoryTransactionDetailDto> getTransactionDetailDtosByTransactionId(Integer transactionId);
+}
@@ -0,0 +1,31 @@
+package com.superware.wms.inventory.service;
+
+import com.superware.wms.inventory.dto.InventoryValuationDto;
+import com.superware.wms.inventory.dto.InventoryValuationRunDto;
+
+import java.util.List;
+
+/**
+ * Service interface for valuing stock under each product's valuation method (FIFO, LIFO or
+ * weighted average) from its cost layers.
+ */
+public interface InventoryValuationService {
+
+    /**
+     * Apply the tenant's movements completed since the last run to its cost layers and
+     * positions. The first run opens the positions from the current inventory items instead.
+     *
+     * @param tenantId the ID of the tenant
+     * @return the processed transaction range and what changed
+     */
+    InventoryValuationRunDto value(Integer tenantId);
+
+    /**
+     * Get the valued stock of a tenant as of its last run, per product and facility.
+     *
+     * @param tenantId the ID of the tenant
+     * @param facilityId the facility to report, or null for all
+     * @return one line per product and facility with stock, value or a shortfall
+     */
+    List<InventoryValuationDto> getValuation(Integer tenantId, Integer facilityId);
+}
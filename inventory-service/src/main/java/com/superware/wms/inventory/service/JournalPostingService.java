@@ -0,0 +1,19 @@
+package com.superware.wms.inventory.service;
+
+import com.superware.wms.inventory.dto.JournalPostingDto;
+
+/**
+ * Service interface for posting inventory movements to the general ledger.
+ */
+public interface JournalPostingService {
+
+    /**
+     * Post the tenant's valued inventory movements of a financial period as summarized journal
+     * entries per facility and interval, replacing what earlier runs posted for the period.
+     *
+     * @param tenantId the ID of the tenant
+     * @param periodId the ID of an open financial period of the tenant
+     * @return what was posted and removed
+     */
+    JournalPostingDto postPeriod(Integer tenantId, Integer periodId);
+}
@@ -0,0 +1,35 @@
+package com.superware.wms.inventory.service;
+
+import com.superware.wms.inventory.dto.PickSequenceDto;
+import com.superware.wms.inventory.service.picking.PickPathStrategy;
+
+import java.util.List;
+
+/**
+ * Service interface for sequencing picks into short walks through a facility.
+ */
+public interface PickPathService {
+
+    /**
+     * Order storage locations into a walk from the facility's depot and back.
+     *
+     * @param tenantId the ID of the tenant
+     * @param facilityId the ID of the facility the locations are in
+     * @param locationIds the locations to visit, repeats allowed
+     * @param strategy the routing heuristic, or null for the configured default
+     * @return the locations in visiting order and the walk's length
+     */
+    PickSequenceDto sequenceLocations(Integer tenantId, Integer facilityId, List<Integer> locationIds,
+                                      PickPathStrategy strategy);
+
+    /**
+     * Re-sequence the items of a pending pick task in walking order and record the walk's length
+     * on the task.
+     *
+     * @param tenantId the ID of the tenant
+     * @param pickTaskId the ID of a pending pick task of the tenant
+     * @param strategy the routing heuristic, or null for the configured default
+     * @return the locations in visiting order and the walk's length
+     */
+    PickSequenceDto sequenceTask(Integer tenantId, Integer pickTaskId, PickPathStrategy strategy);
+}
@@ -0,0 +1,22 @@
+package com.superware.wms.inventory.service;
+
+import com.superware.wms.inventory.dto.PutawaySuggestionRunDto;
+
+/**
+ * Service interface for suggesting where received goods should be put away.
+ */
+public interface PutawayService {
+
+    /**
+     * Choose a storage location for each pending putaway task of a receipt that has none yet and
+     * store it as the task's suggested location.
+     *
+     * @param tenantId the ID of the tenant
+     * @param facilityId the ID of the facility the goods were received in
+     * @param referenceType the tasks' reference type, e.g. PURCHASE_RECEIPT
+     * @param referenceId the tasks' reference ID
+     * @return the suggestions made
+     */
+    PutawaySuggestionRunDto suggestLocations(Integer tenantId, Integer facilityId, String referenceType,
+                                             Integer referenceId);
+}
@@ -0,0 +1,54 @@
+package com.superware.wms.inventory.service;
+
+import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.service.reference.ProductRef;
+import com.superware.wms.inventory.service.reference.StorageLocationRef;
+
+import java.util.Optional;
+
+/**
+ * Service interface for the tenant's storage locations and products as seen by inventory write paths.
+ * Lookups are answered from a cache, so validating a movement does not cost a query per reference.
+ */
+public interface ReferenceDataService {
+
+    /**
+     * Find a storage location of the current tenant, including inactive ones.
+     *
+     * @param locationId the location ID
+     * @return the location, or empty if it does not exist or belongs to another tenant
+     */
+    Optional<StorageLocationRef> findLocation(Integer locationId);
+
+    /**
+     * Find a product of the current tenant, including inactive ones.
+     *
+     * @param productId the product ID
+     * @return the product, or empty if it does not exist or belongs to another tenant
+     */
+    Optional<ProductRef> findProduct(Integer productId);
+
+    /**
+     * Validate the references of a stock movement before it is recorded. Source and destination
+     * locations must exist; the destination must be active and have room for the quantity by
+     * weight and volume. Receipts also require an active product.
+     *
+     * @param transactionType RECEIPT, ISSUE or TRANSFER
+     * @param item the item being moved
+     * @param quantity the quantity being moved
+     * @param fromLocationId the source location, if any
+     * @param toLocationId the destination location, if any
+     * @throws com.superware.wms.inventory.exception.InvalidReferenceException if a location or the product is unusable
+     * @throws com.superware.wms.inventory.exception.LocationCapacityExceededException if the destination is full
+     */
+    void validateMovement(String transactionType, InventoryItem item, Quantity quantity,
+                          Integer fromLocationId, Integer toLocationId);
+
+    /**
+     * Drop the cached data of a tenant so the next lookup reloads it.
+     *
+     * @param tenantId the tenant ID
+     */
+    void evict(Integer tenantId);
+}
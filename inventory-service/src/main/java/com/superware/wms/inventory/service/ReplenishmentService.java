@@ -0,0 +1,37 @@
+package com.superware.wms.inventory.service;
+
+import com.superware.wms.inventory.dto.ReplenishmentSweepDto;
+import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
+
+/**
+ * Service interface for min/max replenishment of pick faces from inventory policy thresholds.
+ */
+public interface ReplenishmentService {
+
+    /**
+     * Record stock leaving a location. Once the current transaction commits, the product's pick
+     * face stock at that location is re-checked, and a replenishment task is created if this
+     * decrease took it to or below the policy's trigger level.
+     *
+     * @param item the item whose stock decreased
+     * @param locationId the location the stock left
+     * @param quantity the quantity that left
+     */
+    void stockDecreased(InventoryItem item, Integer locationId, Quantity quantity);
+
+    /**
+     * Check every pick face of a tenant against its policy and create the missing replenishment tasks.
+     *
+     * @param tenantId the ID of the tenant
+     * @return what the sweep found and created
+     */
+    ReplenishmentSweepDto sweep(Integer tenantId);
+
+    /**
+     * Drop the cached policy thresholds of a tenant after its policies changed.
+     *
+     * @param tenantId the ID of the tenant
+     */
+    void evictPolicies(Integer tenantId);
+}
@@ -0,0 +1,21 @@
+package com.superware.wms.inventory.service;
+
+import com.superware.wms.inventory.dto.SlottingPlanDto;
+
+/**
+ * Service interface for re-slotting a facility's stock by pick velocity.
+ */
+public interface SlottingService {
+
+    /**
+     * Propose moves that bring the facility's fast-moving stock closer to the depot, ranked by
+     * the pick travel they save per transfer.
+     *
+     * @param tenantId the ID of the tenant
+     * @param facilityId the ID of the facility
+     * @param maxMoves the most moves to propose, or null (or not positive) for the configured default
+     * @param createTransfers whether to record each move as pending transfer transactions
+     * @return the proposed moves
+     */
+    SlottingPlanDto proposeMoves(Integer tenantId, Integer facilityId, Integer maxMoves, boolean createTransfers);
+}
@@ -0,0 +1,44 @@
+package com.superware.wms.inventory.service;
+
+import com.superware.wms.inventory.entity.InventoryItem;
+
+/**
+ * Service interface for the in-process stock index that answers availability queries
+ * without going to the database.
+ */
+public interface StockIndexService {
+
+    /**
+     * @return true once the index has been loaded and can serve queries
+     */
+    boolean isReady();
+
+    /**
+     * @return true if the index is ready and holds the tenant's stock; tenants routed to their
+     *         own schema or database are not indexed and must be answered from the database
+     */
+    boolean covers(int tenantId);
+
+    /**
+     * Reload the index from inventory_items. Updates committed while the rebuild runs are
+     * replayed onto the new index before it is published.
+     *
+     * @return the number of items loaded, or -1 if the index exceeded its size limit
+     */
+    long rebuild();
+
+    /**
+     * Record the saved state of an item. Applied when the surrounding transaction commits.
+     *
+     * @param item the inventory item after the change
+     */
+    void itemChanged(InventoryItem item);
+
+    /**
+     * Sum on-hand and allocated stock for a tenant's product.
+     *
+     * @return {onHand, allocated} in {@link com.superware.wms.inventory.entity.types.Quantity} units
+     * @throws IllegalStateException if the index is not ready or does not hold the tenant
+     */
+    long[] getStock(int tenantId, int productId, Integer facilityId, Integer locationId, String lotNumber);
+}
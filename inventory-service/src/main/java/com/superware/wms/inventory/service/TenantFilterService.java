@@ -24,7 +24,7 @@ public class TenantFilterService {
         if (tenantId != null) {
             Session session = entityManager.unwrap(Session.class);
             Filter filter = session.enableFilter("tenantFilter");
-            filter.setParameter("tenantId", tenantId);
+            filter.setParameter("tenantId", Integer.valueOf(tenantId));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.superware.wms.inventory.service;
+
+/**
+ * Service interface for managing tenant partitions of the high-volume inventory tables.
+ */
+public interface TenantPartitionService {
+
+    /**
+     * Give a tenant dedicated partitions of inventory_items and inventory_transactions,
+     * moving any rows it already has out of the shared hash buckets.
+     *
+     * @param tenantId the ID of the tenant
+     * @return the number of partitions created; 0 if the tenant already had them
+     */
+    int createTenantPartitions(Integer tenantId);
+}
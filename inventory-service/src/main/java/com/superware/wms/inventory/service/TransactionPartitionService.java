@@ -0,0 +1,27 @@
+package com.superware.wms.inventory.service;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Service interface for maintaining the monthly partitions of inventory_transactions
+ * and inventory_transaction_details.
+ */
+public interface TransactionPartitionService {
+
+    /**
+     * Create month partitions from the current month up to the configured number of
+     * months ahead. Months that already exist are left unchanged.
+     *
+     * @return the number of partitions created
+     */
+    int createUpcomingPartitions();
+
+    /**
+     * Detach month partitions older than the retention window, export each one to a
+     * compressed file in the archive directory and drop it.
+     *
+     * @return the archive files written
+     */
+    List<Path> archiveExpiredPartitions();
+}
@@ -0,0 +1,20 @@
+package com.superware.wms.inventory.service;
+
+/**
+ * Service interface for metering inventory activity per tenant for billing.
+ */
+public interface UsageMeteringService {
+
+    /**
+     * Count a mutation of the current tenant's inventory. Inside a transaction the count is taken
+     * once the transaction commits, and nothing is counted if it rolls back.
+     */
+    void recordMutation();
+
+    /**
+     * Add the counts taken since the last flush to usage_tracking.
+     *
+     * @return the number of usage_tracking rows written
+     */
+    int flush();
+}
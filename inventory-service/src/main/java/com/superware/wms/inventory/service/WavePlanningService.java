@@ -0,0 +1,23 @@
+package com.superware.wms.inventory.service;
+
+import com.superware.wms.inventory.dto.WavePlanDto;
+
+import java.time.LocalDate;
+
+/**
+ * Service interface for grouping releasable sales orders into picking waves.
+ */
+public interface WavePlanningService {
+
+    /**
+     * Allocate stock of a facility to the tenant's confirmed orders that are not in a wave yet and
+     * group the orders into picking waves, reserving what was allocated.
+     *
+     * @param tenantId the ID of the tenant
+     * @param facilityId the ID of the facility to pick from
+     * @param cutoffThrough orders required after this day are left for later runs; orders without a
+     *                      required date are always planned
+     * @return what was planned
+     */
+    WavePlanDto planWaves(Integer tenantId, Integer facilityId, LocalDate cutoffThrough);
+}
@@ -0,0 +1,81 @@
+package com.superware.wms.inventory.service.abc;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pareto ABC classification. Products are ranked by issued value or by pick lines, and take
+ * class A while the share of the total held by the products ranked above them is below
+ * {@code aShare}, class B while it is below {@code bShare}, and class C after that. Products
+ * without any activity are always class C.
+ */
+public class AbcClassifier {
+
+    public enum Basis {
+        /** Issued quantity at unit cost, the classic annual usage value. */
+        VALUE,
+        /** Number of pick lines, which tracks handling effort rather than money. */
+        PICKS
+    }
+
+    public enum AbcClass {
+        A, B, C
+    }
+
+    private final Basis basis;
+    private final BigDecimal aShare;
+    private final BigDecimal bShare;
+
+    public AbcClassifier(Basis basis, double aShare, double bShare) {
+        if (aShare <= 0 || aShare > bShare || bShare > 1) {
+            throw new IllegalArgumentException("Class shares must satisfy 0 < A <= B <= 1, got A=" + aShare + ", B=" + bShare);
+        }
+        this.basis = basis;
+        this.aShare = BigDecimal.valueOf(aShare);
+        this.bShare = BigDecimal.valueOf(bShare);
+    }
+
+    /**
+     * @return the product IDs of each class, highest ranked first
+     */
+    public Map<AbcClass, List<Integer>> classify(List<ProductVelocity> velocities) {
+        Map<AbcClass, List<Integer>> classes = new EnumMap<>(AbcClass.class);
+        for (AbcClass abcClass : AbcClass.values()) {
+            classes.put(abcClass, new ArrayList<>());
+        }
+
+        List<ProductVelocity> ranked = new ArrayList<>(velocities);
+        ranked.sort(Comparator.comparing(this::measure).reversed()
+                .thenComparing(Comparator.comparing(this::secondaryMeasure).reversed())
+                .thenComparingInt(ProductVelocity::productId));
+        BigDecimal total = ranked.stream().map(this::measure).reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        BigDecimal before = BigDecimal.ZERO;
+        for (ProductVelocity velocity : ranked) {
+            BigDecimal measure = measure(velocity);
+            if (measure.signum() <= 0) {
+                classes.get(AbcClass.C).add(velocity.productId());
+                continue;
+            }
+            BigDecimal share = before.divide(total, MathContext.DECIMAL64);
+            AbcClass abcClass = share.compareTo(aShare) < 0 ? AbcClass.A
+                    : share.compareTo(bShare) < 0 ? AbcClass.B : AbcClass.C;
+            classes.get(abcClass).add(velocity.productId());
+            before = before.add(measure);
+        }
+        return classes;
+    }
+
+    private BigDecimal measure(ProductVelocity velocity) {
+        return basis == Basis.VALUE ? velocity.value() : BigDecimal.valueOf(velocity.pickLines());
+    }
+
+    private BigDecimal secondaryMeasure(ProductVelocity velocity) {
+        return basis == Basis.VALUE ? BigDecimal.valueOf(velocity.pickLines()) : velocity.value();
+    }
+}
@@ -0,0 +1,15 @@
+package com.superware.wms.inventory.service.abc;
+
+import com.superware.wms.inventory.entity.types.Quantity;
+
+import java.math.BigDecimal;
+
+/**
+ * Issue activity of a product inside the classification window.
+ *
+ * @param pickLines completed issue lines
+ * @param quantity total quantity issued
+ * @param value issued quantity at unit cost
+ */
+public record ProductVelocity(int productId, long pickLines, Quantity quantity, BigDecimal value) {
+}
@@ -0,0 +1,125 @@
+package com.superware.wms.inventory.service.command;
+
+import com.superware.wms.inventory.entity.types.Quantity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A scanner stock movement accepted by the asynchronous command pipeline.
+ * The request fields are fixed at submission; the status fields are written by
+ * the partition worker that applies the command and read by status polling.
+ */
+public class InventoryCommand {
+
+    public enum Status {
+        QUEUED,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String commandId;
+    private final String tenantId;
+    private final String transactionType;
+    private final Integer itemId;
+    private final Quantity quantity;
+    private final Integer fromLocationId;
+    private final Integer toLocationId;
+    private final Integer userId;
+    private final LocalDateTime submittedAt;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Integer transactionId;
+    private volatile String errorMessage;
+    private volatile LocalDateTime completedAt;
+
+    public InventoryCommand(String tenantId, String transactionType, Integer itemId, Quantity quantity,
+                            Integer fromLocationId, Integer toLocationId, Integer userId) {
+        this.commandId = UUID.randomUUID().toString();
+        this.tenantId = tenantId;
+        this.transactionType = transactionType;
+        this.itemId = itemId;
+        this.quantity = quantity;
+        this.fromLocationId = fromLocationId;
+        this.toLocationId = toLocationId;
+        this.userId = userId;
+        this.submittedAt = LocalDateTime.now();
+    }
+
+    public void markCompleted(Integer transactionId) {
+        this.transactionId = transactionId;
+        this.completedAt = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+    }
+
+    public void markFailed(String errorMessage) {
+        this.errorMessage = errorMessage;
+        this.completedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+
+    public String getCommandId() {
+        return commandId;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public String getTransactionType() {
+        return transactionType;
+    }
+
+    public Integer getItemId() {
+        return itemId;
+    }
+
+    public Quantity getQuantity() {
+        return quantity;
+    }
+
+    public Integer getFromLocationId() {
+        return fromLocationId;
+    }
+
+    public Integer getToLocationId() {
+        return toLocationId;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Integer getTransactionId() {
+        return transactionId;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "InventoryCommand{" +
+                "commandId='" + commandId + '\'' +
+                ", tenantId='" + tenantId + '\'' +
+                ", transactionType='" + transactionType + '\'' +
+                ", itemId=" + itemId +
+                ", quantity=" + quantity +
+                ", status=" + status +
+                ", transactionId=" + transactionId +
+                '}';
+    }
+}
@@ -0,0 +1,122 @@
+package com.superware.wms.inventory.service.cyclecount;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Picks the locations to count on a day within a labor budget.
+ * <p>
+ * A location's risk is how far it is into its class's count interval (days since its oldest
+ * count divided by the interval), raised by its variance history: a location whose past counts
+ * found variances on half the lines with a variance weight of 2 is due at half its interval.
+ * Locations with risk of at least 1 are due, and so is every location whose next count date has
+ * come. Never counted locations start at twice their interval.
+ * <p>
+ * Forced locations are planned before the rest. Within each group, zones take turns, each
+ * contributing its riskiest remaining location per round, so the day's counts are spread over
+ * the zones instead of emptying the riskiest zone first. A location that does not fit the
+ * remaining budget is skipped in favour of smaller ones.
+ */
+public class CycleCountPlanner {
+
+    private static final double NEVER_COUNTED_RISK = 2.0;
+    private static final double FORCED_RISK = 100.0;
+
+    private final int intervalA;
+    private final int intervalB;
+    private final int intervalC;
+    private final double varianceWeight;
+    private final double minutesPerLocation;
+    private final double minutesPerItem;
+
+    public CycleCountPlanner(int intervalA, int intervalB, int intervalC, double varianceWeight,
+                             double minutesPerLocation, double minutesPerItem) {
+        if (intervalA <= 0 || intervalB <= 0 || intervalC <= 0) {
+            throw new IllegalArgumentException("Count intervals must be positive");
+        }
+        this.intervalA = intervalA;
+        this.intervalB = intervalB;
+        this.intervalC = intervalC;
+        this.varianceWeight = varianceWeight;
+        this.minutesPerLocation = minutesPerLocation;
+        this.minutesPerItem = minutesPerItem;
+    }
+
+    public List<PlannedCount> plan(List<LocationRisk> locations, LocalDate date, double budgetMinutes) {
+        List<PlannedCount> forced = new ArrayList<>();
+        List<PlannedCount> due = new ArrayList<>();
+        for (LocationRisk location : locations) {
+            boolean isForced = location.nextCountDate() != null && !location.nextCountDate().isAfter(date);
+            double risk = risk(location, date);
+            if (isForced) {
+                forced.add(new PlannedCount(location.locationId(), location.zoneId(), risk + FORCED_RISK, true,
+                        laborMinutes(location)));
+            } else if (risk >= 1) {
+                due.add(new PlannedCount(location.locationId(), location.zoneId(), risk, false, laborMinutes(location)));
+            }
+        }
+
+        List<PlannedCount> planned = new ArrayList<>();
+        double remaining = takeRoundRobin(forced, budgetMinutes, planned);
+        takeRoundRobin(due, remaining, planned);
+        return planned;
+    }
+
+    public double risk(LocationRisk location, LocalDate date) {
+        double overdue = location.lastCounted() == null
+                ? NEVER_COUNTED_RISK
+                : (double) ChronoUnit.DAYS.between(location.lastCounted(), date) / interval(location.abcClass());
+        return overdue * (1 + varianceWeight * location.varianceRate());
+    }
+
+    public double laborMinutes(LocationRisk location) {
+        return minutesPerLocation + minutesPerItem * location.items();
+    }
+
+    private int interval(char abcClass) {
+        return switch (abcClass) {
+            case 'A' -> intervalA;
+            case 'B' -> intervalB;
+            default -> intervalC;
+        };
+    }
+
+    /**
+     * @return the budget left
+     */
+    private static double takeRoundRobin(List<PlannedCount> candidates, double budget, List<PlannedCount> planned) {
+        candidates.sort(Comparator.comparingDouble(PlannedCount::risk).reversed()
+                .thenComparingInt(PlannedCount::locationId));
+        Map<Integer, Deque<PlannedCount>> byZone = new LinkedHashMap<>();
+        for (PlannedCount candidate : candidates) {
+            byZone.computeIfAbsent(candidate.zoneId(), zone -> new ArrayDeque<>()).add(candidate);
+        }
+
+        while (!byZone.isEmpty()) {
+            Iterator<Deque<PlannedCount>> zones = byZone.values().iterator();
+            while (zones.hasNext()) {
+                Deque<PlannedCount> zone = zones.next();
+                PlannedCount next = zone.poll();
+                while (next != null && next.laborMinutes() > budget) {
+                    next = zone.poll();
+                }
+                if (next != null) {
+                    planned.add(next);
+                    budget -= next.laborMinutes();
+                }
+                if (zone.isEmpty()) {
+                    zones.remove();
+                }
+            }
+        }
+        return budget;
+    }
+}
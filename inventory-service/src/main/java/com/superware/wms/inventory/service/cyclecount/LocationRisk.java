@@ -0,0 +1,21 @@
+package com.superware.wms.inventory.service.cyclecount;
+
+import java.time.LocalDate;
+
+/**
+ * Count risk inputs of a storage location, aggregated over the items stored there.
+ *
+ * @param items inventory items at the location, each counted as one line
+ * @param abcClass highest ABC class among the location's products: 'A', 'B' or 'C'
+ * @param lastCounted oldest last counted date of its items, or null if any item was never counted
+ * @param nextCountDate count date set on the location, or null
+ * @param countedLines count lines recorded at the location in the variance lookback
+ * @param varianceLines those of them that found a variance
+ */
+public record LocationRisk(int locationId, int zoneId, int items, char abcClass, LocalDate lastCounted,
+                           LocalDate nextCountDate, int countedLines, int varianceLines) {
+
+    public double varianceRate() {
+        return countedLines == 0 ? 0 : (double) varianceLines / countedLines;
+    }
+}
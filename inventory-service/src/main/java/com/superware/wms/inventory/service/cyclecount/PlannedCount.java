@@ -0,0 +1,11 @@
+package com.superware.wms.inventory.service.cyclecount;
+
+/**
+ * A location selected for counting on the planned day.
+ *
+ * @param risk the score it was ranked by; 1 means exactly due
+ * @param forced whether the location's next count date had come
+ * @param laborMinutes estimated time to count it
+ */
+public record PlannedCount(int locationId, int zoneId, double risk, boolean forced, double laborMinutes) {
+}
@@ -0,0 +1,134 @@
+package com.superware.wms.inventory.service.gl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Turns daily valuation changes into balanced, summarized journal entries: one entry per
+ * facility and posting interval, with one line per offset account and one for the inventory
+ * account.
+ * <p>
+ * An increase in stock value debits the inventory account and credits the offset account of the
+ * transaction type (e.g. goods received not invoiced for receipts); a decrease credits inventory
+ * and debits the offset (e.g. cost of goods sold for issues). Amounts are netted per account and
+ * rounded to cents on the offset lines; the inventory line takes the balancing amount.
+ */
+public final class InventoryJournalBuilder {
+
+    /** Span of movements summarized into one entry. Intervals never cross the period's bounds. */
+    public enum Interval {
+        DAY,
+        WEEK,
+        PERIOD
+    }
+
+    private final String inventoryAccount;
+    private final Map<String, String> offsetAccounts;
+    private final String defaultOffsetAccount;
+    private final Interval interval;
+
+    /**
+     * @param offsetAccounts account code per transaction type
+     * @param defaultOffsetAccount account code for the other transaction types
+     */
+    public InventoryJournalBuilder(String inventoryAccount, Map<String, String> offsetAccounts,
+                                   String defaultOffsetAccount, Interval interval) {
+        this.inventoryAccount = inventoryAccount;
+        this.offsetAccounts = Map.copyOf(offsetAccounts);
+        this.defaultOffsetAccount = defaultOffsetAccount;
+        this.interval = interval;
+    }
+
+    /**
+     * @return the entries of the period, ordered by facility and interval; intervals without a
+     * net change have none
+     */
+    public List<JournalEntryDraft> build(int tenantId, LocalDate periodStart, LocalDate periodEnd,
+                                         List<ValuationChange> changes) {
+        // facility -> interval start -> offset account -> net value and transaction types
+        Map<Integer, Map<LocalDate, Map<String, Offset>>> grouped = new TreeMap<>();
+        for (ValuationChange change : changes) {
+            if (change.date().isBefore(periodStart) || change.date().isAfter(periodEnd)) {
+                continue;
+            }
+            grouped.computeIfAbsent(change.facilityId(), k -> new TreeMap<>())
+                    .computeIfAbsent(intervalStart(change.date(), periodStart), k -> new TreeMap<>())
+                    .computeIfAbsent(offsetAccount(change.transactionType()), k -> new Offset())
+                    .add(change);
+        }
+
+        List<JournalEntryDraft> entries = new ArrayList<>();
+        for (Map.Entry<Integer, Map<LocalDate, Map<String, Offset>>> facility : grouped.entrySet()) {
+            for (Map.Entry<LocalDate, Map<String, Offset>> bucket : facility.getValue().entrySet()) {
+                List<JournalLineDraft> lines = new ArrayList<>();
+                BigDecimal inventory = BigDecimal.ZERO;
+                for (Map.Entry<String, Offset> offset : bucket.getValue().entrySet()) {
+                    BigDecimal amount = offset.getValue().value.negate().setScale(2, RoundingMode.HALF_UP);
+                    if (amount.signum() != 0) {
+                        lines.add(line(offset.getKey(), amount, String.join(", ", offset.getValue().types)));
+                        inventory = inventory.subtract(amount);
+                    }
+                }
+                if (lines.isEmpty()) {
+                    continue;
+                }
+                if (inventory.signum() != 0) {
+                    lines.add(0, line(inventoryAccount, inventory, "Inventory"));
+                }
+                LocalDate from = bucket.getKey();
+                entries.add(new JournalEntryDraft(
+                        "INV-" + tenantId + "-" + facility.getKey() + "-" + from.format(DateTimeFormatter.BASIC_ISO_DATE),
+                        facility.getKey(), from, intervalEnd(from, periodEnd), lines));
+            }
+        }
+        return entries;
+    }
+
+    LocalDate intervalStart(LocalDate date, LocalDate periodStart) {
+        LocalDate start = switch (interval) {
+            case DAY -> date;
+            case WEEK -> date.with(DayOfWeek.MONDAY);
+            case PERIOD -> periodStart;
+        };
+        return start.isBefore(periodStart) ? periodStart : start;
+    }
+
+    LocalDate intervalEnd(LocalDate start, LocalDate periodEnd) {
+        LocalDate end = switch (interval) {
+            case DAY -> start;
+            case WEEK -> start.with(DayOfWeek.SUNDAY);
+            case PERIOD -> periodEnd;
+        };
+        return end.isAfter(periodEnd) ? periodEnd : end;
+    }
+
+    private String offsetAccount(String transactionType) {
+        return offsetAccounts.getOrDefault(transactionType, defaultOffsetAccount);
+    }
+
+    private static JournalLineDraft line(String accountCode, BigDecimal amount, String description) {
+        return amount.signum() > 0
+                ? new JournalLineDraft(accountCode, amount, BigDecimal.ZERO.setScale(2), description)
+                : new JournalLineDraft(accountCode, BigDecimal.ZERO.setScale(2), amount.negate(), description);
+    }
+
+    private static final class Offset {
+
+        private BigDecimal value = BigDecimal.ZERO;
+        private final Set<String> types = new TreeSet<>();
+
+        void add(ValuationChange change) {
+            value = value.add(change.value());
+            types.add(change.transactionType());
+        }
+    }
+}
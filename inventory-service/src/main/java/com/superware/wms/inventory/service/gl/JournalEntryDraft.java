@@ -0,0 +1,32 @@
+package com.superware.wms.inventory.service.gl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Summarized journal entry for the movements of one facility in one posting interval.
+ *
+ * @param entryNumber stable for the tenant, facility and interval, so reposting replaces the entry
+ * @param from first day of the interval
+ * @param entryDate last day of the interval inside the period
+ */
+public record JournalEntryDraft(String entryNumber, int facilityId, LocalDate from, LocalDate entryDate,
+                                List<JournalLineDraft> lines) {
+
+    public BigDecimal totalDebit() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (JournalLineDraft line : lines) {
+            total = total.add(line.debit());
+        }
+        return total;
+    }
+
+    public BigDecimal totalCredit() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (JournalLineDraft line : lines) {
+            total = total.add(line.credit());
+        }
+        return total;
+    }
+}
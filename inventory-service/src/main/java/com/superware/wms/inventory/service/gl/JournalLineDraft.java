@@ -0,0 +1,10 @@
+package com.superware.wms.inventory.service.gl;
+
+import java.math.BigDecimal;
+
+/**
+ * Journal line before its account code is resolved to a {@code chart_of_accounts} row. Exactly
+ * one of debit and credit is non-zero.
+ */
+public record JournalLineDraft(String accountCode, BigDecimal debit, BigDecimal credit, String description) {
+}
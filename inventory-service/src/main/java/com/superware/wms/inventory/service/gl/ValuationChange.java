@@ -0,0 +1,13 @@
+package com.superware.wms.inventory.service.gl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Cost change of a facility's stock on one day from one transaction type, summed over products
+ * from {@code inventory_valuation_daily}.
+ *
+ * @param value signed: positive when stock value went up
+ */
+public record ValuationChange(LocalDate date, int facilityId, String transactionType, BigDecimal value) {
+}
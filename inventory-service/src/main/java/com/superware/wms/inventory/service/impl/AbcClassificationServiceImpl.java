@@ -0,0 +1,290 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.dto.AbcClassificationDto;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.service.AbcClassificationService;
+import com.superware.wms.inventory.service.abc.AbcClassifier;
+import com.superware.wms.inventory.service.abc.AbcClassifier.AbcClass;
+import com.superware.wms.inventory.service.abc.ProductVelocity;
+import com.superware.wms.tenant.context.TenantScope;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Implementation of the AbcClassificationService interface.
+ * <p>
+ * Each run locks the tenant's row in inventory_abc_watermarks, adds the completed ISSUE lines
+ * dated between the high-water mark and now (less a settle time for transactions still
+ * committing) to the daily rollup in inventory_product_velocity_daily, and moves the mark
+ * forward, all in one transaction so a failed or concurrent run can neither skip nor double
+ * count a day. Ranking then reads the rollup rows inside the window, and the classes are
+ * written with one UPDATE per class that only touches policies whose class changed.
+ * <p>
+ * The nightly job classifies tenants in parallel on a fixed pool.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.abc.enabled", havingValue = "true")
+public class AbcClassificationServiceImpl implements AbcClassificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(AbcClassificationServiceImpl.class);
+
+    private static final String INIT_WATERMARK_SQL = "INSERT INTO inventory_abc_watermarks (tenant_id, processed_until) "
+            + "VALUES (:tenantId, :windowStart) ON CONFLICT (tenant_id) DO NOTHING";
+
+    private static final String LOCK_WATERMARK_SQL =
+            "SELECT processed_until FROM inventory_abc_watermarks WHERE tenant_id = :tenantId FOR UPDATE";
+
+    private static final String ROLLUP_SQL =
+            "INSERT INTO inventory_product_velocity_daily (tenant_id, product_id, facility_id, activity_date, pick_lines, quantity, value) "
+            + "SELECT t.tenant_id, i.product_id, i.facility_id, CAST(d.transaction_date AS DATE), COUNT(*), SUM(d.quantity), "
+            + "SUM(d.quantity * COALESCE(d.unit_cost, i.unit_cost, 0)) "
+            + "FROM inventory_transactions t "
+            + "JOIN inventory_transaction_details d ON d.transaction_id = t.transaction_id AND d.transaction_date = t.transaction_date "
+            + "JOIN inventory_items i ON i.tenant_id = t.tenant_id AND i.item_id = d.item_id "
+            + "WHERE t.tenant_id = :tenantId AND t.transaction_type = 'ISSUE' AND t.status = 'COMPLETED' "
+            + "AND t.is_deleted IS NOT TRUE AND d.is_deleted IS NOT TRUE "
+            + "AND t.transaction_date >= :from AND t.transaction_date < :until "
+            + "AND d.transaction_date >= :from AND d.transaction_date < :until "
+            + "GROUP BY t.tenant_id, i.product_id, i.facility_id, CAST(d.transaction_date AS DATE) "
+            + "ON CONFLICT (tenant_id, activity_date, product_id, facility_id) DO UPDATE SET "
+            + "pick_lines = inventory_product_velocity_daily.pick_lines + EXCLUDED.pick_lines, "
+            + "quantity = inventory_product_velocity_daily.quantity + EXCLUDED.quantity, "
+            + "value = inventory_product_velocity_daily.value + EXCLUDED.value";
+
+    private static final String PRUNE_SQL =
+            "DELETE FROM inventory_product_velocity_daily WHERE tenant_id = :tenantId AND activity_date < :windowStart";
+
+    private static final String ADVANCE_WATERMARK_SQL = "UPDATE inventory_abc_watermarks "
+            + "SET processed_until = :processedUntil, classified_at = CURRENT_TIMESTAMP WHERE tenant_id = :tenantId";
+
+    private static final String VELOCITY_SQL =
+            "SELECT product_id, SUM(pick_lines), SUM(quantity), SUM(value) FROM inventory_product_velocity_daily "
+            + "WHERE tenant_id = :tenantId AND activity_date >= :windowStart GROUP BY product_id";
+
+    private static final String UPDATE_CLASS_SQL =
+            "UPDATE inventory_policies SET abc_class = ?, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE tenant_id = ? AND product_id = ANY (?) AND abc_class IS DISTINCT FROM ? AND is_deleted IS NOT TRUE";
+
+    private static final String UPDATE_UNRANKED_SQL =
+            "UPDATE inventory_policies SET abc_class = 'C', updated_at = CURRENT_TIMESTAMP "
+            + "WHERE tenant_id = ? AND NOT (product_id = ANY (?)) AND abc_class IS DISTINCT FROM 'C' AND is_deleted IS NOT TRUE";
+
+    private static final String POLICY_TENANTS_SQL =
+            "SELECT DISTINCT tenant_id FROM inventory_policies WHERE is_deleted IS NOT TRUE";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate writeTransaction;
+    private final AbcClassifier classifier;
+    private final int windowDays;
+    private final Duration settleTime;
+    private final ExecutorService pool;
+
+    @Autowired
+    public AbcClassificationServiceImpl(PlatformTransactionManager transactionManager,
+                                        @Value("${inventory.abc.basis:VALUE}") AbcClassifier.Basis basis,
+                                        @Value("${inventory.abc.a-share:0.8}") double aShare,
+                                        @Value("${inventory.abc.b-share:0.95}") double bShare,
+                                        @Value("${inventory.abc.window-days:90}") int windowDays,
+                                        @Value("${inventory.abc.settle-time:PT5M}") Duration settleTime,
+                                        @Value("${inventory.abc.threads:4}") int threads) {
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.classifier = new AbcClassifier(basis, aShare, bShare);
+        this.windowDays = windowDays;
+        this.settleTime = settleTime;
+        this.pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "abc-classification");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public AbcClassificationDto classify(Integer tenantId) {
+        long start = System.nanoTime();
+        AbcClassificationDto result = TenantScope.call(tenantId,
+                () -> writeTransaction.execute(status -> classifyInTransaction(tenantId)));
+        result.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        log.info("ABC classification of tenant {}: {} A, {} B, {} C, {} policies updated in {} ms",
+                tenantId, result.getClassA(), result.getClassB(), result.getClassC(),
+                result.getPoliciesUpdated(), result.getDurationMs());
+        return result;
+    }
+
+    /**
+     * Nightly classification of every tenant with policies in the shared database.
+     */
+    @Scheduled(cron = "${inventory.abc.cron:0 15 3 * * *}")
+    public void classifyAllTenants() {
+        List<Integer> tenantIds = loadTenantIds();
+        List<Callable<AbcClassificationDto>> runs = new ArrayList<>(tenantIds.size());
+        for (Integer tenantId : tenantIds) {
+            runs.add(() -> classify(tenantId));
+        }
+        try {
+            List<Future<AbcClassificationDto>> results = pool.invokeAll(runs);
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    results.get(i).get();
+                } catch (ExecutionException e) {
+                    log.error("ABC classification of tenant {} failed", tenantIds.get(i), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    AbcClassificationDto classifyInTransaction(int tenantId) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        OffsetDateTime windowStart = now.minusDays(windowDays);
+        OffsetDateTime until = now.minus(settleTime);
+
+        OffsetDateTime watermark = lockWatermark(tenantId, windowStart);
+        // After a long pause only the window is rolled up, not everything since the last run
+        OffsetDateTime from = watermark.isBefore(windowStart) ? windowStart : watermark;
+        if (from.isBefore(until)) {
+            rollUp(tenantId, from, until);
+            advanceWatermark(tenantId, until);
+        } else {
+            until = from;
+        }
+        pruneRollup(tenantId, windowStart.toLocalDate());
+
+        Map<AbcClass, List<Integer>> classes = classifier.classify(loadVelocities(tenantId, windowStart.toLocalDate()));
+        int updated = updatePolicies(tenantId, classes);
+        return new AbcClassificationDto(tenantId, from, until, classes.get(AbcClass.A).size(),
+                classes.get(AbcClass.B).size(), classes.get(AbcClass.C).size(), updated, 0);
+    }
+
+    List<Integer> loadTenantIds() {
+        return writeTransaction.execute(status -> entityManager.createNativeQuery(POLICY_TENANTS_SQL)
+                .getResultList().stream().map(id -> ((Number) id).intValue()).toList());
+    }
+
+    /**
+     * @return the tenant's high-water mark, created at {@code windowStart} on the first run and
+     * locked until the transaction ends
+     */
+    OffsetDateTime lockWatermark(int tenantId, OffsetDateTime windowStart) {
+        entityManager.createNativeQuery(INIT_WATERMARK_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("windowStart", windowStart)
+                .executeUpdate();
+        Object processedUntil = entityManager.createNativeQuery(LOCK_WATERMARK_SQL)
+                .setParameter("tenantId", tenantId)
+                .getSingleResult();
+        return toOffsetDateTime(processedUntil);
+    }
+
+    void rollUp(int tenantId, OffsetDateTime from, OffsetDateTime until) {
+        int rows = entityManager.createNativeQuery(ROLLUP_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("from", from)
+                .setParameter("until", until)
+                .executeUpdate();
+        log.debug("Rolled up issues of tenant {} from {} to {} into {} daily rows", tenantId, from, until, rows);
+    }
+
+    void advanceWatermark(int tenantId, OffsetDateTime processedUntil) {
+        entityManager.createNativeQuery(ADVANCE_WATERMARK_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("processedUntil", processedUntil)
+                .executeUpdate();
+    }
+
+    void pruneRollup(int tenantId, LocalDate windowStart) {
+        entityManager.createNativeQuery(PRUNE_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("windowStart", windowStart)
+                .executeUpdate();
+    }
+
+    List<ProductVelocity> loadVelocities(int tenantId, LocalDate windowStart) {
+        List<?> rows = entityManager.createNativeQuery(VELOCITY_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("windowStart", windowStart)
+                .getResultList();
+        List<ProductVelocity> velocities = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            velocities.add(new ProductVelocity(((Number) columns[0]).intValue(), ((Number) columns[1]).longValue(),
+                    Quantity.of((BigDecimal) columns[2]), (BigDecimal) columns[3]));
+        }
+        return velocities;
+    }
+
+    /**
+     * @return the number of policies whose class changed
+     */
+    int updatePolicies(int tenantId, Map<AbcClass, List<Integer>> classes) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            int updated = 0;
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_CLASS_SQL)) {
+                for (AbcClass abcClass : AbcClass.values()) {
+                    statement.setString(1, abcClass.name());
+                    statement.setInt(2, tenantId);
+                    statement.setArray(3, connection.createArrayOf("integer", classes.get(abcClass).toArray()));
+                    statement.setString(4, abcClass.name());
+                    statement.addBatch();
+                }
+                for (int count : statement.executeBatch()) {
+                    updated += Math.max(count, 0);
+                }
+            }
+            // Policies of products without any issue in the window
+            List<Integer> ranked = new ArrayList<>();
+            classes.values().forEach(ranked::addAll);
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_UNRANKED_SQL)) {
+                statement.setInt(1, tenantId);
+                statement.setArray(2, connection.createArrayOf("integer", ranked.toArray()));
+                updated += statement.executeUpdate();
+            }
+            return updated;
+        });
+    }
+
+    private static OffsetDateTime toOffsetDateTime(Object value) {
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime;
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant().atOffset(ZoneOffset.UTC);
+        }
+        return ((Instant) value).atOffset(ZoneOffset.UTC);
+    }
+}
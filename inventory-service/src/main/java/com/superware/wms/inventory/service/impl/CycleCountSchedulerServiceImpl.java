@@ -0,0 +1,287 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.dto.CycleCountScheduleDto;
+import com.superware.wms.inventory.service.CycleCountSchedulerService;
+import com.superware.wms.inventory.service.cyclecount.CycleCountPlanner;
+import com.superware.wms.inventory.service.cyclecount.LocationRisk;
+import com.superware.wms.inventory.service.cyclecount.PlannedCount;
+import com.superware.wms.tenant.context.TenantScope;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Implementation of the CycleCountSchedulerService interface.
+ * <p>
+ * Each facility is planned from one grouped query that returns, per location without an open
+ * count, its item lines, the highest ABC class of its products, the oldest last counted date,
+ * its next count date and its count variance history. The query runs read-only, so it goes to
+ * the read replica when one is configured. {@link CycleCountPlanner} picks the day's locations
+ * and a single INSERT ... SELECT FROM unnest(...) creates their counts.
+ * <p>
+ * The job keeps off the database while picking runs: the nightly trigger does nothing inside
+ * the configured picking hours, facilities are planned one after another with a pause in
+ * between, a run stops at the next facility once picking hours begin, and the planning query
+ * has a timeout.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.cycle-count.enabled", havingValue = "true")
+public class CycleCountSchedulerServiceImpl implements CycleCountSchedulerService {
+
+    private static final Logger log = LoggerFactory.getLogger(CycleCountSchedulerServiceImpl.class);
+
+    private static final String FACILITIES_SQL = "SELECT f.facility_id FROM warehouse_facilities f "
+            + "WHERE f.tenant_id = :tenantId AND f.is_active IS NOT FALSE AND f.is_deleted IS NOT TRUE ORDER BY f.facility_id";
+
+    private static final String TENANTS_SQL = "SELECT DISTINCT f.tenant_id FROM warehouse_facilities f "
+            + "WHERE f.is_active IS NOT FALSE AND f.is_deleted IS NOT TRUE ORDER BY f.tenant_id";
+
+    // One policy per item, the variant's over the product's, so an item with both is counted once
+    private static final String LOCATION_RISK_SQL =
+            "SELECT l.location_id, l.zone_id, COUNT(*), "
+            + "MIN(CASE p.abc_class WHEN 'A' THEN 1 WHEN 'B' THEN 2 ELSE 3 END), "
+            + "BOOL_OR(i.last_counted_date IS NULL), CAST(MIN(i.last_counted_date) AS DATE), "
+            + "CAST(l.next_count_date AS DATE), COALESCE(MAX(v.counted_lines), 0), COALESCE(MAX(v.variance_lines), 0) "
+            + "FROM storage_locations l "
+            + "JOIN storage_zones z ON z.zone_id = l.zone_id "
+            + "JOIN inventory_items i ON i.tenant_id = :tenantId AND i.location_id = l.location_id AND i.is_deleted IS NOT TRUE "
+            + "LEFT JOIN LATERAL (SELECT p.abc_class FROM inventory_policies p "
+            + "WHERE p.tenant_id = :tenantId AND p.product_id = i.product_id "
+            + "AND (p.variant_id IS NULL OR p.variant_id = i.variant_id) AND p.is_deleted IS NOT TRUE "
+            + "ORDER BY p.variant_id IS NULL, p.updated_at DESC NULLS LAST LIMIT 1) p ON TRUE "
+            + "LEFT JOIN (SELECT c.location_id, COUNT(*) AS counted_lines, "
+            + "COUNT(*) FILTER (WHERE d.variance <> 0) AS variance_lines "
+            + "FROM inventory_counts c JOIN inventory_count_details d ON d.count_id = c.count_id "
+            + "WHERE c.tenant_id = :tenantId AND c.status = 'COMPLETED' AND c.updated_at >= :varianceSince "
+            + "AND c.is_deleted IS NOT TRUE AND d.is_deleted IS NOT TRUE "
+            + "GROUP BY c.location_id) v ON v.location_id = l.location_id "
+            + "WHERE z.facility_id = :facilityId AND l.is_active IS NOT FALSE AND l.is_deleted IS NOT TRUE "
+            + "AND NOT EXISTS (SELECT 1 FROM inventory_counts o WHERE o.tenant_id = :tenantId AND o.location_id = l.location_id "
+            + "AND o.status IN ('PENDING', 'IN_PROGRESS') AND o.is_deleted IS NOT TRUE) "
+            + "GROUP BY l.location_id, l.zone_id, l.next_count_date";
+
+    private static final String INSERT_COUNTS_SQL =
+            "INSERT INTO inventory_counts (tenant_id, count_number, count_type, status, start_date, facility_id, zone_id, "
+            + "location_id, notes) "
+            + "SELECT ?, ? || s.location_id, CAST('CYCLE_COUNT' AS count_type), CAST('PENDING' AS count_status), ?, ?, "
+            + "s.zone_id, s.location_id, s.notes "
+            + "FROM unnest(CAST(? AS INT[]), CAST(? AS INT[]), CAST(? AS TEXT[])) AS s(location_id, zone_id, notes) "
+            + "WHERE NOT EXISTS (SELECT 1 FROM inventory_counts o WHERE o.tenant_id = ? AND o.location_id = s.location_id "
+            + "AND o.status IN ('PENDING', 'IN_PROGRESS') AND o.is_deleted IS NOT TRUE)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final CycleCountPlanner planner;
+    private final double laborMinutesPerDay;
+    private final int varianceLookbackDays;
+    private final LocalTime pickingStart;
+    private final LocalTime pickingEnd;
+    private final Duration throttlePause;
+    private final Duration queryTimeout;
+
+    @Autowired
+    public CycleCountSchedulerServiceImpl(PlatformTransactionManager transactionManager,
+                                          @Value("${inventory.cycle-count.interval-days.a:30}") int intervalA,
+                                          @Value("${inventory.cycle-count.interval-days.b:90}") int intervalB,
+                                          @Value("${inventory.cycle-count.interval-days.c:180}") int intervalC,
+                                          @Value("${inventory.cycle-count.variance-weight:2.0}") double varianceWeight,
+                                          @Value("${inventory.cycle-count.variance-lookback-days:180}") int varianceLookbackDays,
+                                          @Value("${inventory.cycle-count.labor-minutes-per-day:480}") double laborMinutesPerDay,
+                                          @Value("${inventory.cycle-count.minutes-per-location:2.0}") double minutesPerLocation,
+                                          @Value("${inventory.cycle-count.minutes-per-item:1.0}") double minutesPerItem,
+                                          @Value("${inventory.cycle-count.picking-hours:06:00-22:00}") String pickingHours,
+                                          @Value("${inventory.cycle-count.throttle-pause:PT2S}") Duration throttlePause,
+                                          @Value("${inventory.cycle-count.query-timeout:PT60S}") Duration queryTimeout) {
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.planner = new CycleCountPlanner(intervalA, intervalB, intervalC, varianceWeight,
+                minutesPerLocation, minutesPerItem);
+        this.laborMinutesPerDay = laborMinutesPerDay;
+        this.varianceLookbackDays = varianceLookbackDays;
+        String[] hours = pickingHours.split("-");
+        if (hours.length != 2) {
+            throw new IllegalArgumentException("Picking hours must look like 06:00-22:00, got " + pickingHours);
+        }
+        this.pickingStart = LocalTime.parse(hours[0].trim());
+        this.pickingEnd = LocalTime.parse(hours[1].trim());
+        this.throttlePause = throttlePause;
+        this.queryTimeout = queryTimeout;
+    }
+
+    @Override
+    public CycleCountScheduleDto scheduleCounts(Integer tenantId, LocalDate countDate) {
+        return TenantScope.call(tenantId, () -> schedule(tenantId, countDate));
+    }
+
+    private CycleCountScheduleDto schedule(int tenantId, LocalDate countDate) {
+        long start = System.nanoTime();
+        List<Integer> facilityIds = readTransaction.execute(status -> loadFacilityIds(tenantId));
+        int facilities = 0;
+        int due = 0;
+        int created = 0;
+        double labor = 0;
+        for (Integer facilityId : facilityIds) {
+            if (facilities > 0 && !pause()) {
+                break;
+            }
+            List<LocationRisk> risks = readTransaction.execute(status ->
+                    loadLocationRisks(tenantId, facilityId, countDate.minusDays(varianceLookbackDays)));
+            List<PlannedCount> planned = planner.plan(risks, countDate, laborMinutesPerDay);
+            due += (int) risks.stream().filter(risk -> isDue(risk, countDate)).count();
+            created += writeTransaction.execute(status -> insertCounts(tenantId, facilityId, countDate, planned));
+            labor += planned.stream().mapToDouble(PlannedCount::laborMinutes).sum();
+            facilities++;
+        }
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Scheduled {} cycle counts ({} minutes) for tenant {} on {} in {} facilities, {} locations due",
+                created, Math.round(labor), tenantId, countDate, facilities, due);
+        return new CycleCountScheduleDto(tenantId, countDate, facilities, due, created, labor, durationMs);
+    }
+
+    /**
+     * Nightly scheduling of every tenant with facilities in the shared database, for the day
+     * that starts next. Does nothing when triggered inside picking hours.
+     */
+    @Scheduled(cron = "${inventory.cycle-count.cron:0 30 4 * * *}")
+    public void scheduleAllTenants() {
+        if (isPickingHours(LocalTime.now())) {
+            log.warn("Cycle count scheduling skipped: inside picking hours {}-{}", pickingStart, pickingEnd);
+            return;
+        }
+        LocalDate countDate = LocalTime.now().isBefore(pickingStart) ? LocalDate.now() : LocalDate.now().plusDays(1);
+        List<Integer> tenantIds = readTransaction.execute(status -> loadTenantIds());
+        for (int i = 0; i < tenantIds.size(); i++) {
+            if (i > 0 && !pause()) {
+                log.warn("Cycle count scheduling stopped for picking hours, {} tenants left for the next run",
+                        tenantIds.size() - i);
+                return;
+            }
+            try {
+                scheduleCounts(tenantIds.get(i), countDate);
+            } catch (RuntimeException e) {
+                log.error("Cycle count scheduling of tenant {} failed", tenantIds.get(i), e);
+            }
+        }
+    }
+
+    boolean isPickingHours(LocalTime time) {
+        if (pickingStart.equals(pickingEnd)) {
+            return false;
+        }
+        return pickingStart.isBefore(pickingEnd)
+                ? !time.isBefore(pickingStart) && time.isBefore(pickingEnd)
+                : !time.isBefore(pickingStart) || time.isBefore(pickingEnd);
+    }
+
+    /**
+     * Wait between facilities and tenants.
+     *
+     * @return false if picking hours have begun and the run should stop
+     */
+    boolean pause() {
+        try {
+            Thread.sleep(throttlePause.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return !isPickingHours(LocalTime.now());
+    }
+
+    private boolean isDue(LocationRisk risk, LocalDate countDate) {
+        return (risk.nextCountDate() != null && !risk.nextCountDate().isAfter(countDate))
+                || planner.risk(risk, countDate) >= 1;
+    }
+
+    List<Integer> loadTenantIds() {
+        return entityManager.createNativeQuery(TENANTS_SQL).getResultList().stream()
+                .map(id -> ((Number) id).intValue()).toList();
+    }
+
+    List<Integer> loadFacilityIds(int tenantId) {
+        return entityManager.createNativeQuery(FACILITIES_SQL)
+                .setParameter("tenantId", tenantId)
+                .getResultList().stream().map(id -> ((Number) id).intValue()).toList();
+    }
+
+    List<LocationRisk> loadLocationRisks(int tenantId, int facilityId, LocalDate varianceSince) {
+        List<?> rows = entityManager.createNativeQuery(LOCATION_RISK_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("facilityId", facilityId)
+                .setParameter("varianceSince", Timestamp.valueOf(varianceSince.atStartOfDay()))
+                .setHint("jakarta.persistence.query.timeout", (int) queryTimeout.toMillis())
+                .getResultList();
+        List<LocationRisk> risks = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            boolean neverCounted = Boolean.TRUE.equals(columns[4]);
+            risks.add(new LocationRisk(((Number) columns[0]).intValue(), ((Number) columns[1]).intValue(),
+                    ((Number) columns[2]).intValue(), "ABC".charAt(((Number) columns[3]).intValue() - 1),
+                    neverCounted ? null : toLocalDate(columns[5]), toLocalDate(columns[6]),
+                    ((Number) columns[7]).intValue(), ((Number) columns[8]).intValue()));
+        }
+        return risks;
+    }
+
+    /**
+     * @return the number of counts created
+     */
+    int insertCounts(int tenantId, int facilityId, LocalDate countDate, List<PlannedCount> planned) {
+        if (planned.isEmpty()) {
+            return 0;
+        }
+        Integer[] locationIds = new Integer[planned.size()];
+        Integer[] zoneIds = new Integer[planned.size()];
+        String[] notes = new String[planned.size()];
+        for (int i = 0; i < planned.size(); i++) {
+            PlannedCount count = planned.get(i);
+            locationIds[i] = count.locationId();
+            zoneIds[i] = count.zoneId();
+            notes[i] = String.format(Locale.ROOT, "Scheduled cycle count, risk %.2f%s", count.risk(),
+                    count.forced() ? ", next count date reached" : "");
+        }
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_COUNTS_SQL)) {
+                statement.setInt(1, tenantId);
+                statement.setString(2, "CC-" + countDate.toString().replace("-", "") + "-");
+                statement.setTimestamp(3, Timestamp.valueOf(countDate.atStartOfDay()));
+                statement.setInt(4, facilityId);
+                statement.setArray(5, connection.createArrayOf("integer", locationIds));
+                statement.setArray(6, connection.createArrayOf("integer", zoneIds));
+                statement.setArray(7, connection.createArrayOf("text", notes));
+                statement.setInt(8, tenantId);
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+}
@@ -1,8 +1,11 @@
 package com.superware.wms.inventory.service.impl;
 
+import com.superware.wms.inventory.dto.InventoryAdjustmentDetailDto;
+import com.superware.wms.inventory.dto.InventoryAdjustmentDto;
 import com.superware.wms.inventory.entity.InventoryAdjustment;
 import com.superware.wms.inventory.entity.InventoryAdjustmentDetail;
 import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
 import com.superware.wms.inventory.exception.InsufficientStockException;
 import com.superware.wms.inventory.exception.ResourceNotFoundException;
 import com.superware.wms.inventory.repository.InventoryAdjustmentDetailRepository;
@@ -10,14 +13,16 @@ import com.superware.wms.inventory.repository.InventoryAdjustmentRepository;
 import com.superware.wms.inventory.repository.InventoryItemRepository;
 import com.superware.wms.inventory.service.InventoryAdjustmentService;
 import com.superware.wms.inventory.service.InventoryItemService;
+import com.superware.wms.inventory.service.TenantFilterService;
+import com.superware.wms.inventory.service.UsageMeteringService;
 import com.superware.wms.tenant.context.TenantContextHolder;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -30,27 +35,35 @@ public class InventoryAdjustmentServiceImpl implements InventoryAdjustmentServic
 
     private final InventoryAdjustmentRepository inventoryAdjustmentRepository;
     private final InventoryAdjustmentDetailRepository inventoryAdjustmentDetailRepository;
+    private final TenantFilterService tenantFilterService;
     private final InventoryItemRepository inventoryItemRepository;
     private final InventoryItemService inventoryItemService;
+    private final ObjectProvider<UsageMeteringService> usageMeteringService;
 
     @Autowired
     public InventoryAdjustmentServiceImpl(
             InventoryAdjustmentRepository inventoryAdjustmentRepository,
             InventoryAdjustmentDetailRepository inventoryAdjustmentDetailRepository,
+            TenantFilterService tenantFilterService,
             InventoryItemRepository inventoryItemRepository,
-            InventoryItemService inventoryItemService) {
+            InventoryItemService inventoryItemService,
+            ObjectProvider<UsageMeteringService> usageMeteringService) {
         this.inventoryAdjustmentRepository = inventoryAdjustmentRepository;
         this.inventoryAdjustmentDetailRepository = inventoryAdjustmentDetailRepository;
+        this.tenantFilterService = tenantFilterService;
         this.inventoryItemRepository = inventoryItemRepository;
         this.inventoryItemService = inventoryItemService;
+        this.usageMeteringService = usageMeteringService;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<InventoryAdjustment> getAllAdjustments(Pageable pageable) {
         return inventoryAdjustmentRepository.findAll(pageable);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public InventoryAdjustment getAdjustmentById(Integer id) {
         return inventoryAdjustmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("InventoryAdjustment", "id", id));
@@ -58,6 +71,7 @@ public class InventoryAdjustmentServiceImpl implements InventoryAdjustmentServic
 
     @Override
     public InventoryAdjustment createAdjustment(InventoryAdjustment adjustment) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         adjustment.setTenantId(Integer.valueOf(TenantContextHolder.getCurrentTenant()));
         adjustment.setCreatedAt(LocalDateTime.now());
         adjustment.setUpdatedAt(LocalDateTime.now());
@@ -67,6 +81,7 @@ public class InventoryAdjustmentServiceImpl implements InventoryAdjustmentServic
 
     @Override
     public InventoryAdjustment updateAdjustment(Integer id, InventoryAdjustment adjustmentDetails) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         InventoryAdjustment adjustment = getAdjustmentById(id);
         adjustment.setAdjustmentType(adjustmentDetails.getAdjustmentType());
         adjustment.setReason(adjustmentDetails.getReason());
@@ -79,6 +94,7 @@ public class InventoryAdjustmentServiceImpl implements InventoryAdjustmentServic
 
     @Override
     public void deleteAdjustment(Integer id) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         InventoryAdjustment adjustment = getAdjustmentById(id);
         adjustment.setIsDeleted(true);
         adjustment.setUpdatedAt(LocalDateTime.now());
@@ -87,17 +103,18 @@ public class InventoryAdjustmentServiceImpl implements InventoryAdjustmentServic
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<InventoryAdjustmentDetail> getAdjustmentDetailsByAdjustmentId(Integer adjustmentId) {
         return inventoryAdjustmentDetailRepository.findByAdjustmentId(adjustmentId);
     }
 
     @Override
-    public InventoryAdjustment adjustStock(Integer itemId, BigDecimal quantity, String reason, Integer userId) {
+    public InventoryAdjustment adjustStock(Integer itemId, Quantity quantity, String reason, Integer userId) {
         // Get the inventory item
         InventoryItem item = inventoryItemService.getItemById(itemId);
         
         // Validate that we have sufficient stock for negative adjustments
-        if (quantity.compareTo(BigDecimal.ZERO) < 0 && 
+        if (quantity.isNegative() && 
             item.getQuantityOnHand().compareTo(quantity.abs()) < 0) {
             throw new InsufficientStockException(
                 "InventoryItem", 
@@ -110,7 +127,7 @@ public class InventoryAdjustmentServiceImpl implements InventoryAdjustmentServic
         
         // Create the adjustment record
         InventoryAdjustment adjustment = new InventoryAdjustment();
-        adjustment.setAdjustmentType(quantity.compareTo(BigDecimal.ZERO) > 0 ? "INCREASE" : "DECREASE");
+        adjustment.setAdjustmentType(quantity.isPositive() ? "INCREASE" : "DECREASE");
         adjustment.setReason(reason);
         adjustment.setStatus("APPROVED");
         adjustment.setCreatedBy(userId);
@@ -142,6 +159,30 @@ public class InventoryAdjustmentServiceImpl implements InventoryAdjustmentServic
         return adjustment;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<InventoryAdjustmentDto> getAllAdjustmentDtos(Pageable pageable) {
+        tenantFilterService.enableTenantFilter();
+        return inventoryAdjustmentRepository.findAllDtos(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public InventoryAdjustmentDto getAdjustmentDtoById(Integer id) {
+        tenantFilterService.enableTenantFilter();
+        return inventoryAdjustmentRepository.findDtoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("InventoryAdjustment", "id", id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryAdjustmentDetailDto> getAdjustmentDetailDtosByAdjustmentId(Integer adjustmentId) {
+        if (inventoryAdjustmentRepository.findById(adjustmentId).isEmpty()) {
+            throw new ResourceNotFoundException("InventoryAdjustment", "id", adjustmentId);
+        }
+        return inventoryAdjustmentDetailRepository.findDtosByAdjustmentId(adjustmentId);
+    }
+
     private Integer getCurrentUserId() {
         // In a real implementation, this would come from the security context
         return 1;
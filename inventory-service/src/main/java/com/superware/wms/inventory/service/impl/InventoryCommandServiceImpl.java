@@ -0,0 +1,227 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.entity.InventoryTransaction;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.exception.CommandQueueFullException;
+import com.superware.wms.inventory.exception.ResourceNotFoundException;
+import com.superware.wms.inventory.service.InventoryCommandService;
+import com.superware.wms.inventory.service.InventoryTransactionService;
+import com.superware.wms.inventory.service.command.InventoryCommand;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the InventoryCommandService interface.
+ * <p>
+ * Commands are hashed by (tenant, item) onto a fixed set of bounded queues. Each queue
+ * is drained by exactly one worker thread, so commands for the same item are applied in
+ * the order they were accepted. A worker takes up to {@code batch-size} commands at a time
+ * and applies each run of same-tenant commands in a single database transaction; if that
+ * transaction fails the run is replayed one command per transaction so that only the
+ * offending command is marked FAILED.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.commands.async-enabled", havingValue = "true")
+public class InventoryCommandServiceImpl implements InventoryCommandService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryCommandServiceImpl.class);
+
+    private final InventoryTransactionService inventoryTransactionService;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitionCount;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long resultTtlSeconds;
+
+    private final Map<String, InventoryCommand> commands = new ConcurrentHashMap<>();
+    private final List<ArrayBlockingQueue<InventoryCommand>> partitions = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    @Autowired
+    public InventoryCommandServiceImpl(
+            InventoryTransactionService inventoryTransactionService,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.commands.partitions:8}") int partitionCount,
+            @Value("${inventory.commands.queue-capacity:1024}") int queueCapacity,
+            @Value("${inventory.commands.batch-size:50}") int batchSize,
+            @Value("${inventory.commands.result-ttl-seconds:600}") long resultTtlSeconds) {
+        this.inventoryTransactionService = inventoryTransactionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionCount = partitionCount;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.resultTtlSeconds = resultTtlSeconds;
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new ArrayBlockingQueue<>(queueCapacity));
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < partitionCount; i++) {
+            ArrayBlockingQueue<InventoryCommand> queue = partitions.get(i);
+            Thread worker = new Thread(() -> drain(queue), "inventory-command-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    @Override
+    public InventoryCommand submit(String transactionType, Integer itemId, Quantity quantity,
+                                   Integer fromLocationId, Integer toLocationId, Integer userId) {
+        if (!"RECEIPT".equals(transactionType) && !"ISSUE".equals(transactionType)
+                && !"TRANSFER".equals(transactionType)) {
+            throw new IllegalArgumentException("Unsupported command transaction type: " + transactionType);
+        }
+
+        String tenantId = TenantContextHolder.getCurrentTenant();
+        InventoryCommand command = new InventoryCommand(
+                tenantId, transactionType, itemId, quantity, fromLocationId, toLocationId, userId);
+
+        int partition = partitionFor(tenantId, itemId);
+        commands.put(command.getCommandId(), command);
+        if (!partitions.get(partition).offer(command)) {
+            commands.remove(command.getCommandId());
+            throw new CommandQueueFullException(partition, queueCapacity);
+        }
+        return command;
+    }
+
+    @Override
+    public InventoryCommand getCommand(String commandId) {
+        InventoryCommand command = commands.get(commandId);
+        // Another tenant's command is reported as missing, not forbidden, so its ID reveals nothing
+        if (command == null || !Objects.equals(command.getTenantId(), TenantContextHolder.getCurrentTenant())) {
+            throw new ResourceNotFoundException("InventoryCommand", "id", commandId);
+        }
+        return command;
+    }
+
+    /**
+     * Drop finished commands whose result has been retained for longer than the configured TTL.
+     */
+    @Scheduled(fixedDelayString = "${inventory.commands.eviction-interval-ms:60000}")
+    public void evictExpiredCommands() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(resultTtlSeconds);
+        commands.values().removeIf(command -> command.getCompletedAt() != null
+                && command.getCompletedAt().isBefore(cutoff));
+    }
+
+    int partitionFor(String tenantId, Integer itemId) {
+        return Math.floorMod(Objects.hash(tenantId, itemId), partitionCount);
+    }
+
+    private void drain(ArrayBlockingQueue<InventoryCommand> queue) {
+        List<InventoryCommand> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                InventoryCommand first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                applyBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected failure in command worker", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void applyBatch(List<InventoryCommand> batch) {
+        int start = 0;
+        while (start < batch.size()) {
+            String tenantId = batch.get(start).getTenantId();
+            int end = start + 1;
+            while (end < batch.size() && Objects.equals(batch.get(end).getTenantId(), tenantId)) {
+                end++;
+            }
+            applyTenantRun(tenantId, batch.subList(start, end));
+            start = end;
+        }
+    }
+
+    private void applyTenantRun(String tenantId, List<InventoryCommand> run) {
+        TenantContextHolder.setCurrentTenant(tenantId);
+        try {
+            List<Integer> transactionIds = transactionTemplate.execute(status -> {
+                List<Integer> ids = new ArrayList<>(run.size());
+                for (InventoryCommand command : run) {
+                    ids.add(apply(command).getTransactionId());
+                }
+                return ids;
+            });
+            for (int i = 0; i < run.size(); i++) {
+                run.get(i).markCompleted(transactionIds.get(i));
+            }
+        } catch (RuntimeException batchFailure) {
+            if (run.size() == 1) {
+                run.get(0).markFailed(batchFailure.getMessage());
+                return;
+            }
+            log.debug("Command batch for tenant {} failed, retrying individually: {}",
+                    tenantId, batchFailure.getMessage());
+            for (InventoryCommand command : run) {
+                try {
+                    InventoryTransaction transaction = transactionTemplate.execute(status -> apply(command));
+                    command.markCompleted(transaction.getTransactionId());
+                } catch (RuntimeException e) {
+                    command.markFailed(e.getMessage());
+                }
+            }
+        } finally {
+            TenantContextHolder.clear();
+        }
+    }
+
+    private InventoryTransaction apply(InventoryCommand command) {
+        switch (command.getTransactionType()) {
+            case "RECEIPT":
+                return inventoryTransactionService.recordReceipt(command.getItemId(), command.getQuantity(),
+                        command.getFromLocationId(), command.getToLocationId(), command.getUserId());
+            case "ISSUE":
+                return inventoryTransactionService.recordIssue(command.getItemId(), command.getQuantity(),
+                        command.getFromLocationId(), command.getToLocationId(), command.getUserId());
+            case "TRANSFER":
+                return inventoryTransactionService.recordTransfer(command.getItemId(), command.getQuantity(),
+                        command.getFromLocationId(), command.getToLocationId(), command.getUserId());
+            default:
+                throw new IllegalArgumentException("Unsupported command transaction type: " + command.getTransactionType());
+        }
+    }
+}
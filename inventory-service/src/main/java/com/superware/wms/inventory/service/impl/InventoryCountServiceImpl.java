@@ -1,8 +1,11 @@
 package com.superware.wms.inventory.service.impl;
 
+import com.superware.wms.inventory.dto.InventoryCountDetailDto;
+import com.superware.wms.inventory.dto.InventoryCountDto;
 import com.superware.wms.inventory.entity.InventoryCount;
 import com.superware.wms.inventory.entity.InventoryCountDetail;
 import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
 import com.superware.wms.inventory.exception.ResourceNotFoundException;
 import com.superware.wms.inventory.repository.InventoryCountDetailRepository;
 import com.superware.wms.inventory.repository.InventoryCountRepository;
@@ -10,16 +13,19 @@ import com.superware.wms.inventory.repository.InventoryItemRepository;
 import com.superware.wms.inventory.service.InventoryAdjustmentService;
 import com.superware.wms.inventory.service.InventoryCountService;
 import com.superware.wms.inventory.service.InventoryItemService;
+import com.superware.wms.inventory.service.TenantFilterService;
+import com.superware.wms.inventory.service.UsageMeteringService;
 import com.superware.wms.tenant.context.TenantContextHolder;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of the InventoryCountService interface.
@@ -30,30 +36,38 @@ public class InventoryCountServiceImpl implements InventoryCountService {
 
     private final InventoryCountRepository inventoryCountRepository;
     private final InventoryCountDetailRepository inventoryCountDetailRepository;
+    private final TenantFilterService tenantFilterService;
     private final InventoryItemRepository inventoryItemRepository;
     private final InventoryItemService inventoryItemService;
     private final InventoryAdjustmentService inventoryAdjustmentService;
+    private final ObjectProvider<UsageMeteringService> usageMeteringService;
 
     @Autowired
     public InventoryCountServiceImpl(
             InventoryCountRepository inventoryCountRepository,
             InventoryCountDetailRepository inventoryCountDetailRepository,
+            TenantFilterService tenantFilterService,
             InventoryItemRepository inventoryItemRepository,
             InventoryItemService inventoryItemService,
-            InventoryAdjustmentService inventoryAdjustmentService) {
+            InventoryAdjustmentService inventoryAdjustmentService,
+            ObjectProvider<UsageMeteringService> usageMeteringService) {
         this.inventoryCountRepository = inventoryCountRepository;
         this.inventoryCountDetailRepository = inventoryCountDetailRepository;
+        this.tenantFilterService = tenantFilterService;
         this.inventoryItemRepository = inventoryItemRepository;
         this.inventoryItemService = inventoryItemService;
         this.inventoryAdjustmentService = inventoryAdjustmentService;
+        this.usageMeteringService = usageMeteringService;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<InventoryCount> getAllCounts(Pageable pageable) {
         return inventoryCountRepository.findAll(pageable);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public InventoryCount getCountById(Integer id) {
         return inventoryCountRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("InventoryCount", "id", id));
@@ -61,6 +75,7 @@ public class InventoryCountServiceImpl implements InventoryCountService {
 
     @Override
     public InventoryCount createCount(InventoryCount count) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         count.setTenantId(Integer.valueOf(TenantContextHolder.getCurrentTenant()));
         count.setCreatedAt(LocalDateTime.now());
         count.setUpdatedAt(LocalDateTime.now());
@@ -70,6 +85,7 @@ public class InventoryCountServiceImpl implements InventoryCountService {
 
     @Override
     public InventoryCount updateCount(Integer id, InventoryCount countDetails) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         InventoryCount count = getCountById(id);
         count.setLocationId(countDetails.getLocationId());
         count.setStatus(countDetails.getStatus());
@@ -81,6 +97,7 @@ public class InventoryCountServiceImpl implements InventoryCountService {
 
     @Override
     public void deleteCount(Integer id) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         InventoryCount count = getCountById(id);
         count.setIsDeleted(true);
         count.setUpdatedAt(LocalDateTime.now());
@@ -89,6 +106,7 @@ public class InventoryCountServiceImpl implements InventoryCountService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<InventoryCountDetail> getCountDetailsByCountId(Integer countId) {
         return inventoryCountDetailRepository.findByCountId(countId);
     }
@@ -106,7 +124,8 @@ public class InventoryCountServiceImpl implements InventoryCountService {
     }
 
     @Override
-    public InventoryCountDetail addCountDetail(Integer countId, Integer itemId, BigDecimal countedQuantity, Integer userId) {
+    public InventoryCountDetail addCountDetail(Integer countId, Integer itemId, Quantity countedQuantity, Integer userId) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         // Verify the count exists
         getCountById(countId);
         
@@ -129,16 +148,21 @@ public class InventoryCountServiceImpl implements InventoryCountService {
 
     @Override
     public void completeCount(Integer countId, Integer userId) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         // Get the count
         InventoryCount count = getCountById(countId);
         
         // Get all count details
         List<InventoryCountDetail> details = getCountDetailsByCountId(countId);
         
+        // Load every counted item once; the adjustments below find them in the persistence context
+        Map<Integer, InventoryItem> items = inventoryItemService.getItemsByIds(
+            details.stream().map(InventoryCountDetail::getItemId).toList());
+        
         // Process variances by creating adjustments
         for (InventoryCountDetail detail : details) {
-            BigDecimal variance = detail.getVariance();
-            if (variance.compareTo(BigDecimal.ZERO) != 0) {
+            Quantity variance = detail.getVariance();
+            if (!variance.isZero()) {
                 // Create an adjustment for the variance
                 inventoryAdjustmentService.adjustStock(
                     detail.getItemId(), 
@@ -149,7 +173,7 @@ public class InventoryCountServiceImpl implements InventoryCountService {
             }
             
             // Update the inventory item's last counted date
-            InventoryItem item = inventoryItemService.getItemById(detail.getItemId());
+            InventoryItem item = items.get(detail.getItemId());
             item.setLastCountedDate(LocalDateTime.now());
             item.setUpdatedAt(LocalDateTime.now());
             item.setUpdatedBy(userId);
@@ -163,6 +187,30 @@ public class InventoryCountServiceImpl implements InventoryCountService {
         inventoryCountRepository.save(count);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<InventoryCountDto> getAllCountDtos(Pageable pageable) {
+        tenantFilterService.enableTenantFilter();
+        return inventoryCountRepository.findAllDtos(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public InventoryCountDto getCountDtoById(Integer id) {
+        tenantFilterService.enableTenantFilter();
+        return inventoryCountRepository.findDtoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("InventoryCount", "id", id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryCountDetailDto> getCountDetailDtosByCountId(Integer countId) {
+        if (inventoryCountRepository.findById(countId).isEmpty()) {
+            throw new ResourceNotFoundException("InventoryCount", "id", countId);
+        }
+        return inventoryCountDetailRepository.findDtosByCountId(countId);
+    }
+
     private Integer getCurrentUserId() {
         // In a real implementation, this would come from the security context
         return 1;
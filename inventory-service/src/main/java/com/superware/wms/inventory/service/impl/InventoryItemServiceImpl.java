@@ -1,19 +1,29 @@
 package com.superware.wms.inventory.service.impl;
 
+import com.superware.wms.inventory.dto.InventoryItemDto;
+import com.superware.wms.inventory.dto.StockAvailabilityDto;
 import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
 import com.superware.wms.inventory.exception.ResourceNotFoundException;
 import com.superware.wms.inventory.repository.InventoryItemRepository;
 import com.superware.wms.inventory.service.InventoryItemService;
+import com.superware.wms.inventory.service.StockIndexService;
+import com.superware.wms.inventory.service.TenantFilterService;
+import com.superware.wms.inventory.service.UsageMeteringService;
 import com.superware.wms.tenant.context.TenantContextHolder;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of the InventoryItemService interface.
@@ -23,25 +33,52 @@ import java.util.List;
 public class InventoryItemServiceImpl implements InventoryItemService {
 
     private final InventoryItemRepository inventoryItemRepository;
+    private final TenantFilterService tenantFilterService;
+    private final ObjectProvider<StockIndexService> stockIndexService;
+    private final ObjectProvider<UsageMeteringService> usageMeteringService;
 
     @Autowired
-    public InventoryItemServiceImpl(InventoryItemRepository inventoryItemRepository) {
+    public InventoryItemServiceImpl(InventoryItemRepository inventoryItemRepository,
+                                    TenantFilterService tenantFilterService,
+                                    ObjectProvider<StockIndexService> stockIndexService,
+                                    ObjectProvider<UsageMeteringService> usageMeteringService) {
         this.inventoryItemRepository = inventoryItemRepository;
+        this.tenantFilterService = tenantFilterService;
+        this.stockIndexService = stockIndexService;
+        this.usageMeteringService = usageMeteringService;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<InventoryItem> getAllItems(Pageable pageable) {
         return inventoryItemRepository.findAll(pageable);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public InventoryItem getItemById(Integer id) {
         return inventoryItemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("InventoryItem", "id", id));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, InventoryItem> getItemsByIds(Collection<Integer> ids) {
+        Map<Integer, InventoryItem> items = new HashMap<>();
+        for (InventoryItem item : inventoryItemRepository.findAllById(new HashSet<>(ids))) {
+            items.put(item.getItemId(), item);
+        }
+        for (Integer id : ids) {
+            if (!items.containsKey(id)) {
+                throw new ResourceNotFoundException("InventoryItem", "id", id);
+            }
+        }
+        return items;
+    }
+
     @Override
     public InventoryItem createItem(InventoryItem item) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         item.setTenantId(Integer.valueOf(TenantContextHolder.getCurrentTenant()));
         item.setCreatedAt(LocalDateTime.now());
         item.setUpdatedAt(LocalDateTime.now());
@@ -51,6 +88,7 @@ public class InventoryItemServiceImpl implements InventoryItemService {
 
     @Override
     public InventoryItem updateItem(Integer id, InventoryItem itemDetails) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         InventoryItem item = getItemById(id);
         item.setProductId(itemDetails.getProductId());
         item.setVariantId(itemDetails.getVariantId());
@@ -74,6 +112,7 @@ public class InventoryItemServiceImpl implements InventoryItemService {
 
     @Override
     public void deleteItem(Integer id) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         InventoryItem item = getItemById(id);
         item.setIsDeleted(true);
         item.setUpdatedAt(LocalDateTime.now());
@@ -82,20 +121,86 @@ public class InventoryItemServiceImpl implements InventoryItemService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<InventoryItem> getItemsByProductId(Integer productId) {
         return inventoryItemRepository.findByProductId(productId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<InventoryItem> getItemsByStatus(String status) {
         return inventoryItemRepository.findByStatus(status);
     }
 
     @Override
-    public List<InventoryItem> getItemsByQuantityOnHandGreaterThan(BigDecimal quantity) {
+    @Transactional(readOnly = true)
+    public List<InventoryItem> getItemsByQuantityOnHandGreaterThan(Quantity quantity) {
         return inventoryItemRepository.findByQuantityOnHandGreaterThan(quantity);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<InventoryItemDto> getAllItemDtos(Pageable pageable) {
+        tenantFilterService.enableTenantFilter();
+        return inventoryItemRepository.findAllDtos(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public InventoryItemDto getItemDtoById(Integer id) {
+        tenantFilterService.enableTenantFilter();
+        return inventoryItemRepository.findDtoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("InventoryItem", "id", id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryItemDto> getItemDtosByProductId(Integer productId) {
+        tenantFilterService.enableTenantFilter();
+        return inventoryItemRepository.findDtosByProductId(productId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryItemDto> getItemDtosByStatus(String status) {
+        tenantFilterService.enableTenantFilter();
+        return inventoryItemRepository.findDtosByStatus(status);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryItemDto> getItemDtosByQuantityOnHandGreaterThan(Quantity quantity) {
+        tenantFilterService.enableTenantFilter();
+        return inventoryItemRepository.findDtosByQuantityOnHandGreaterThan(quantity);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StockAvailabilityDto getStockAvailability(Integer productId, Integer facilityId, Integer locationId, String lotNumber) {
+        Integer tenantId = Integer.valueOf(TenantContextHolder.getCurrentTenant());
+        StockAvailabilityDto dto = new StockAvailabilityDto();
+        dto.setProductId(productId);
+        dto.setFacilityId(facilityId);
+        dto.setLocationId(locationId);
+        dto.setLotNumber(lotNumber);
+
+        StockIndexService index = stockIndexService.getIfAvailable();
+        if (index != null && index.covers(tenantId)) {
+            long[] stock = index.getStock(tenantId, productId, facilityId, locationId, lotNumber);
+            dto.setQuantityOnHand(Quantity.ofUnits(stock[0]));
+            dto.setQuantityAllocated(Quantity.ofUnits(stock[1]));
+            dto.setSource("INDEX");
+        } else {
+            InventoryItemRepository.StockTotals totals =
+                    inventoryItemRepository.sumStock(tenantId, productId, facilityId, locationId, lotNumber);
+            dto.setQuantityOnHand(Quantity.of(totals.getOnHand()));
+            dto.setQuantityAllocated(Quantity.of(totals.getAllocated()));
+            dto.setSource("DATABASE");
+        }
+        dto.setQuantityAvailable(dto.getQuantityOnHand().subtract(dto.getQuantityAllocated()));
+        return dto;
+    }
+
     private Integer getCurrentUserId() {
         // In a real implementation, this would come from the security context
         return 1;
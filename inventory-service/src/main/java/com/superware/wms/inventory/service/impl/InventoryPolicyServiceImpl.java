@@ -1,15 +1,21 @@
 package com.superware.wms.inventory.service.impl;
 
+import com.superware.wms.inventory.dto.InventoryPolicyDto;
 import com.superware.wms.inventory.entity.InventoryPolicy;
 import com.superware.wms.inventory.exception.ResourceNotFoundException;
 import com.superware.wms.inventory.repository.InventoryPolicyRepository;
 import com.superware.wms.inventory.service.InventoryPolicyService;
+import com.superware.wms.inventory.service.ReplenishmentService;
+import com.superware.wms.inventory.service.TenantFilterService;
 import com.superware.wms.tenant.context.TenantContextHolder;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,18 +28,26 @@ import java.util.List;
 public class InventoryPolicyServiceImpl implements InventoryPolicyService {
 
     private final InventoryPolicyRepository inventoryPolicyRepository;
+    private final TenantFilterService tenantFilterService;
+    private final ObjectProvider<ReplenishmentService> replenishmentService;
 
     @Autowired
-    public InventoryPolicyServiceImpl(InventoryPolicyRepository inventoryPolicyRepository) {
+    public InventoryPolicyServiceImpl(InventoryPolicyRepository inventoryPolicyRepository,
+                                      TenantFilterService tenantFilterService,
+                                      ObjectProvider<ReplenishmentService> replenishmentService) {
         this.inventoryPolicyRepository = inventoryPolicyRepository;
+        this.tenantFilterService = tenantFilterService;
+        this.replenishmentService = replenishmentService;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<InventoryPolicy> getAllPolicies(Pageable pageable) {
         return inventoryPolicyRepository.findAll(pageable);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public InventoryPolicy getPolicyById(Integer id) {
         return inventoryPolicyRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("InventoryPolicy", "id", id));
@@ -45,7 +59,9 @@ public class InventoryPolicyServiceImpl implements InventoryPolicyService {
         policy.setCreatedAt(LocalDateTime.now());
         policy.setUpdatedAt(LocalDateTime.now());
         policy.setCreatedBy(getCurrentUserId());
-        return inventoryPolicyRepository.save(policy);
+        InventoryPolicy saved = inventoryPolicyRepository.save(policy);
+        evictReplenishmentPolicies();
+        return saved;
     }
 
     @Override
@@ -62,7 +78,9 @@ public class InventoryPolicyServiceImpl implements InventoryPolicyService {
         policy.setIsActive(policyDetails.getIsActive());
         policy.setUpdatedAt(LocalDateTime.now());
         policy.setUpdatedBy(getCurrentUserId());
-        return inventoryPolicyRepository.save(policy);
+        InventoryPolicy saved = inventoryPolicyRepository.save(policy);
+        evictReplenishmentPolicies();
+        return saved;
     }
 
     @Override
@@ -72,18 +90,69 @@ public class InventoryPolicyServiceImpl implements InventoryPolicyService {
         policy.setUpdatedAt(LocalDateTime.now());
         policy.setUpdatedBy(getCurrentUserId());
         inventoryPolicyRepository.save(policy);
+        evictReplenishmentPolicies();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<InventoryPolicy> getPoliciesByProductId(Integer productId) {
         return inventoryPolicyRepository.findByProductId(productId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<InventoryPolicy> getPoliciesByFacilityId(Integer facilityId) {
         return inventoryPolicyRepository.findByFacilityId(facilityId);
     }
 
+    // After commit, so the replenishment evaluator cannot reload the old thresholds in between
+    private void evictReplenishmentPolicies() {
+        ReplenishmentService replenishment = replenishmentService.getIfAvailable();
+        if (replenishment == null) {
+            return;
+        }
+        Integer tenantId = Integer.valueOf(TenantContextHolder.getCurrentTenant());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    replenishment.evictPolicies(tenantId);
+                }
+            });
+        } else {
+            replenishment.evictPolicies(tenantId);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<InventoryPolicyDto> getAllPolicyDtos(Pageable pageable) {
+        tenantFilterService.enableTenantFilter();
+        return inventoryPolicyRepository.findAllDtos(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public InventoryPolicyDto getPolicyDtoById(Integer id) {
+        tenantFilterService.enableTenantFilter();
+        return inventoryPolicyRepository.findDtoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("InventoryPolicy", "id", id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryPolicyDto> getPolicyDtosByProductId(Integer productId) {
+        tenantFilterService.enableTenantFilter();
+        return inventoryPolicyRepository.findDtosByProductId(productId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryPolicyDto> getPolicyDtosByFacilityId(Integer facilityId) {
+        tenantFilterService.enableTenantFilter();
+        return inventoryPolicyRepository.findDtosByFacilityId(facilityId);
+    }
+
     private Integer getCurrentUserId() {
         // In a real implementation, this would come from the security context
         return 1;
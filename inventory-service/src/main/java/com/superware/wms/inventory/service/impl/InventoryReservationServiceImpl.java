@@ -1,8 +1,11 @@
 package com.superware.wms.inventory.service.impl;
 
+import com.superware.wms.inventory.dto.InventoryReservationDetailDto;
+import com.superware.wms.inventory.dto.InventoryReservationDto;
 import com.superware.wms.inventory.entity.InventoryItem;
 import com.superware.wms.inventory.entity.InventoryReservation;
 import com.superware.wms.inventory.entity.InventoryReservationDetail;
+import com.superware.wms.inventory.entity.types.Quantity;
 import com.superware.wms.inventory.exception.InsufficientStockException;
 import com.superware.wms.inventory.exception.ResourceNotFoundException;
 import com.superware.wms.inventory.repository.InventoryItemRepository;
@@ -10,16 +13,19 @@ import com.superware.wms.inventory.repository.InventoryReservationDetailReposito
 import com.superware.wms.inventory.repository.InventoryReservationRepository;
 import com.superware.wms.inventory.service.InventoryItemService;
 import com.superware.wms.inventory.service.InventoryReservationService;
+import com.superware.wms.inventory.service.TenantFilterService;
+import com.superware.wms.inventory.service.UsageMeteringService;
 import com.superware.wms.tenant.context.TenantContextHolder;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of the InventoryReservationService interface.
@@ -30,27 +36,35 @@ public class InventoryReservationServiceImpl implements InventoryReservationServ
 
     private final InventoryReservationRepository inventoryReservationRepository;
     private final InventoryReservationDetailRepository inventoryReservationDetailRepository;
+    private final TenantFilterService tenantFilterService;
     private final InventoryItemRepository inventoryItemRepository;
     private final InventoryItemService inventoryItemService;
+    private final ObjectProvider<UsageMeteringService> usageMeteringService;
 
     @Autowired
     public InventoryReservationServiceImpl(
             InventoryReservationRepository inventoryReservationRepository,
             InventoryReservationDetailRepository inventoryReservationDetailRepository,
+            TenantFilterService tenantFilterService,
             InventoryItemRepository inventoryItemRepository,
-            InventoryItemService inventoryItemService) {
+            InventoryItemService inventoryItemService,
+            ObjectProvider<UsageMeteringService> usageMeteringService) {
         this.inventoryReservationRepository = inventoryReservationRepository;
         this.inventoryReservationDetailRepository = inventoryReservationDetailRepository;
+        this.tenantFilterService = tenantFilterService;
         this.inventoryItemRepository = inventoryItemRepository;
         this.inventoryItemService = inventoryItemService;
+        this.usageMeteringService = usageMeteringService;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<InventoryReservation> getAllReservations(Pageable pageable) {
         return inventoryReservationRepository.findAll(pageable);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public InventoryReservation getReservationById(Integer id) {
         return inventoryReservationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("InventoryReservation", "id", id));
@@ -58,6 +72,7 @@ public class InventoryReservationServiceImpl implements InventoryReservationServ
 
     @Override
     public InventoryReservation createReservation(InventoryReservation reservation) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         reservation.setTenantId(Integer.valueOf(TenantContextHolder.getCurrentTenant()));
         reservation.setCreatedAt(LocalDateTime.now());
         reservation.setUpdatedAt(LocalDateTime.now());
@@ -67,6 +82,7 @@ public class InventoryReservationServiceImpl implements InventoryReservationServ
 
     @Override
     public InventoryReservation updateReservation(Integer id, InventoryReservation reservationDetails) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         InventoryReservation reservation = getReservationById(id);
         reservation.setReferenceType(reservationDetails.getReferenceType());
         reservation.setReferenceId(reservationDetails.getReferenceId());
@@ -79,6 +95,7 @@ public class InventoryReservationServiceImpl implements InventoryReservationServ
 
     @Override
     public void deleteReservation(Integer id) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         InventoryReservation reservation = getReservationById(id);
         reservation.setIsDeleted(true);
         reservation.setUpdatedAt(LocalDateTime.now());
@@ -87,17 +104,18 @@ public class InventoryReservationServiceImpl implements InventoryReservationServ
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<InventoryReservationDetail> getReservationDetailsByReservationId(Integer reservationId) {
         return inventoryReservationDetailRepository.findByReservationId(reservationId);
     }
 
     @Override
-    public InventoryReservation reserveStock(Integer itemId, BigDecimal quantity, String referenceType, Integer referenceId, Integer userId) {
+    public InventoryReservation reserveStock(Integer itemId, Quantity quantity, String referenceType, Integer referenceId, Integer userId) {
         // Get the inventory item
         InventoryItem item = inventoryItemService.getItemById(itemId);
         
         // Calculate available stock (on hand - allocated)
-        BigDecimal availableStock = item.getQuantityOnHand().subtract(item.getQuantityAllocated());
+        Quantity availableStock = item.getQuantityOnHand().subtract(item.getQuantityAllocated());
         
         // Validate that we have sufficient stock
         if (availableStock.compareTo(quantity) < 0) {
@@ -143,6 +161,7 @@ public class InventoryReservationServiceImpl implements InventoryReservationServ
 
     @Override
     public void releaseReservation(Integer reservationId, Integer userId) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         // Get the reservation
         InventoryReservation reservation = getReservationById(reservationId);
         
@@ -150,8 +169,9 @@ public class InventoryReservationServiceImpl implements InventoryReservationServ
         List<InventoryReservationDetail> details = getReservationDetailsByReservationId(reservationId);
         
         // Update each inventory item's allocated quantity
+        Map<Integer, InventoryItem> items = inventoryItemService.getItemsByIds(itemIds(details));
         for (InventoryReservationDetail detail : details) {
-            InventoryItem item = inventoryItemService.getItemById(detail.getItemId());
+            InventoryItem item = items.get(detail.getItemId());
             item.setQuantityAllocated(item.getQuantityAllocated().subtract(detail.getReservedQuantity()));
             item.setUpdatedAt(LocalDateTime.now());
             item.setUpdatedBy(userId);
@@ -167,6 +187,7 @@ public class InventoryReservationServiceImpl implements InventoryReservationServ
 
     @Override
     public void confirmReservation(Integer reservationId, Integer userId) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         // Get the reservation
         InventoryReservation reservation = getReservationById(reservationId);
         
@@ -174,8 +195,9 @@ public class InventoryReservationServiceImpl implements InventoryReservationServ
         List<InventoryReservationDetail> details = getReservationDetailsByReservationId(reservationId);
         
         // Update each inventory item's quantities
+        Map<Integer, InventoryItem> items = inventoryItemService.getItemsByIds(itemIds(details));
         for (InventoryReservationDetail detail : details) {
-            InventoryItem item = inventoryItemService.getItemById(detail.getItemId());
+            InventoryItem item = items.get(detail.getItemId());
             // Reduce both on-hand and allocated quantities
             item.setQuantityOnHand(item.getQuantityOnHand().subtract(detail.getReservedQuantity()));
             item.setQuantityAllocated(item.getQuantityAllocated().subtract(detail.getReservedQuantity()));
@@ -191,6 +213,34 @@ public class InventoryReservationServiceImpl implements InventoryReservationServ
         inventoryReservationRepository.save(reservation);
     }
 
+    private static List<Integer> itemIds(List<InventoryReservationDetail> details) {
+        return details.stream().map(InventoryReservationDetail::getItemId).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<InventoryReservationDto> getAllReservationDtos(Pageable pageable) {
+        tenantFilterService.enableTenantFilter();
+        return inventoryReservationRepository.findAllDtos(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public InventoryReservationDto getReservationDtoById(Integer id) {
+        tenantFilterService.enableTenantFilter();
+        return inventoryReservationRepository.findDtoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("InventoryReservation", "id", id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryReservationDetailDto> getReservationDetailDtosByReservationId(Integer reservationId) {
+        if (inventoryReservationRepository.findById(reservationId).isEmpty()) {
+            throw new ResourceNotFoundException("InventoryReservation", "id", reservationId);
+        }
+        return inventoryReservationDetailRepository.findDtosByReservationId(reservationId);
+    }
+
     private Integer getCurrentUserId() {
         // In a real implementation, this would come from the security context
         return 1;
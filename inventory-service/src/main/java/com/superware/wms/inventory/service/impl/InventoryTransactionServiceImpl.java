@@ -1,8 +1,11 @@
 package com.superware.wms.inventory.service.impl;
 
+import com.superware.wms.inventory.dto.InventoryTransactionDetailDto;
+import com.superware.wms.inventory.dto.InventoryTransactionDto;
 import com.superware.wms.inventory.entity.InventoryItem;
 import com.superware.wms.inventory.entity.InventoryTransaction;
 import com.superware.wms.inventory.entity.InventoryTransactionDetail;
+import com.superware.wms.inventory.entity.types.Quantity;
 import com.superware.wms.inventory.exception.InsufficientStockException;
 import com.superware.wms.inventory.exception.ResourceNotFoundException;
 import com.superware.wms.inventory.repository.InventoryItemRepository;
@@ -10,15 +13,21 @@ import com.superware.wms.inventory.repository.InventoryTransactionDetailReposito
 import com.superware.wms.inventory.repository.InventoryTransactionRepository;
 import com.superware.wms.inventory.service.InventoryItemService;
 import com.superware.wms.inventory.service.InventoryTransactionService;
+import com.superware.wms.inventory.service.ReferenceDataService;
+import com.superware.wms.inventory.service.ReplenishmentService;
+import com.superware.wms.inventory.service.TenantFilterService;
+import com.superware.wms.inventory.service.UsageMeteringService;
 import com.superware.wms.tenant.context.TenantContextHolder;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 
 /**
@@ -32,25 +41,55 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
     private final InventoryTransactionDetailRepository inventoryTransactionDetailRepository;
     private final InventoryItemRepository inventoryItemRepository;
     private final InventoryItemService inventoryItemService;
+    private final TenantFilterService tenantFilterService;
+    private final ObjectProvider<ReferenceDataService> referenceDataService;
+    private final ObjectProvider<ReplenishmentService> replenishmentService;
+    private final ObjectProvider<UsageMeteringService> usageMeteringService;
+    private final int lookbackMonths;
 
     @Autowired
     public InventoryTransactionServiceImpl(
             InventoryTransactionRepository inventoryTransactionRepository,
             InventoryTransactionDetailRepository inventoryTransactionDetailRepository,
             InventoryItemRepository inventoryItemRepository,
-            InventoryItemService inventoryItemService) {
+            InventoryItemService inventoryItemService,
+            TenantFilterService tenantFilterService,
+            ObjectProvider<ReferenceDataService> referenceDataService,
+            ObjectProvider<ReplenishmentService> replenishmentService,
+            ObjectProvider<UsageMeteringService> usageMeteringService,
+            @Value("${inventory.transactions.default-lookback-months:3}") int lookbackMonths) {
+        if (lookbackMonths < 1) {
+            throw new IllegalArgumentException("Default lookback must be at least one month, got " + lookbackMonths);
+        }
         this.inventoryTransactionRepository = inventoryTransactionRepository;
         this.inventoryTransactionDetailRepository = inventoryTransactionDetailRepository;
         this.inventoryItemRepository = inventoryItemRepository;
         this.inventoryItemService = inventoryItemService;
+        this.tenantFilterService = tenantFilterService;
+        this.referenceDataService = referenceDataService;
+        this.replenishmentService = replenishmentService;
+        this.usageMeteringService = usageMeteringService;
+        this.lookbackMonths = lookbackMonths;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<InventoryTransaction> getAllTransactions(Pageable pageable) {
-        return inventoryTransactionRepository.findAll(pageable);
+        return getTransactionsByDateRange(recentWindowStart(), null, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<InventoryTransaction> getTransactionsByDateRange(LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        tenantFilterService.enableTenantFilter();
+        if (to == null) {
+            return inventoryTransactionRepository.findByTransactionDateFrom(from, pageable);
+        }
+        return inventoryTransactionRepository.findByTransactionDateRange(from, to, pageable);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public InventoryTransaction getTransactionById(Integer id) {
         return inventoryTransactionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("InventoryTransaction", "id", id));
@@ -58,7 +97,12 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
 
     @Override
     public InventoryTransaction createTransaction(InventoryTransaction transaction) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         transaction.setTenantId(Integer.valueOf(TenantContextHolder.getCurrentTenant()));
+        if (transaction.getTransactionDate() == null) {
+            // transaction_date is the partition key and routes the row to its month
+            transaction.setTransactionDate(LocalDateTime.now());
+        }
         transaction.setCreatedAt(LocalDateTime.now());
         transaction.setUpdatedAt(LocalDateTime.now());
         transaction.setCreatedBy(getCurrentUserId());
@@ -67,6 +111,7 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
 
     @Override
     public InventoryTransaction updateTransaction(Integer id, InventoryTransaction transactionDetails) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         InventoryTransaction transaction = getTransactionById(id);
         transaction.setTransactionType(transactionDetails.getTransactionType());
         transaction.setFromLocationId(transactionDetails.getFromLocationId());
@@ -80,6 +125,7 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
 
     @Override
     public void deleteTransaction(Integer id) {
+        usageMeteringService.ifAvailable(UsageMeteringService::recordMutation);
         InventoryTransaction transaction = getTransactionById(id);
         transaction.setIsDeleted(true);
         transaction.setUpdatedAt(LocalDateTime.now());
@@ -88,14 +134,16 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<InventoryTransactionDetail> getTransactionDetailsByTransactionId(Integer transactionId) {
         return inventoryTransactionDetailRepository.findByTransactionId(transactionId);
     }
 
     @Override
-    public InventoryTransaction recordReceipt(Integer itemId, BigDecimal quantity, Integer fromLocationId, Integer toLocationId, Integer userId) {
+    public InventoryTransaction recordReceipt(Integer itemId, Quantity quantity, Integer fromLocationId, Integer toLocationId, Integer userId) {
         // Get the inventory item
         InventoryItem item = inventoryItemService.getItemById(itemId);
+        validateMovement("RECEIPT", item, quantity, fromLocationId, toLocationId);
         
         // Create the transaction record
         InventoryTransaction transaction = new InventoryTransaction();
@@ -112,6 +160,7 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
         // Create the transaction detail
         InventoryTransactionDetail detail = new InventoryTransactionDetail();
         detail.setTransactionId(transaction.getId());
+        detail.setTransactionDate(transaction.getTransactionDate());
         detail.setItemId(itemId);
         detail.setQuantity(quantity);
         detail.setFromLocationId(fromLocationId);
@@ -132,7 +181,7 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
     }
 
     @Override
-    public InventoryTransaction recordIssue(Integer itemId, BigDecimal quantity, Integer fromLocationId, Integer toLocationId, Integer userId) {
+    public InventoryTransaction recordIssue(Integer itemId, Quantity quantity, Integer fromLocationId, Integer toLocationId, Integer userId) {
         // Get the inventory item
         InventoryItem item = inventoryItemService.getItemById(itemId);
         
@@ -146,6 +195,7 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
                 quantity.toString()
             );
         }
+        validateMovement("ISSUE", item, quantity, fromLocationId, toLocationId);
         
         // Create the transaction record
         InventoryTransaction transaction = new InventoryTransaction();
@@ -162,6 +212,7 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
         // Create the transaction detail
         InventoryTransactionDetail detail = new InventoryTransactionDetail();
         detail.setTransactionId(transaction.getId());
+        detail.setTransactionDate(transaction.getTransactionDate());
         detail.setItemId(itemId);
         detail.setQuantity(quantity);
         detail.setFromLocationId(fromLocationId);
@@ -177,12 +228,13 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
         item.setUpdatedAt(LocalDateTime.now());
         item.setUpdatedBy(userId);
         inventoryItemRepository.save(item);
+        stockDecreased(item, fromLocationId, quantity);
         
         return transaction;
     }
 
     @Override
-    public InventoryTransaction recordTransfer(Integer itemId, BigDecimal quantity, Integer fromLocationId, Integer toLocationId, Integer userId) {
+    public InventoryTransaction recordTransfer(Integer itemId, Quantity quantity, Integer fromLocationId, Integer toLocationId, Integer userId) {
         // Get the inventory item
         InventoryItem item = inventoryItemService.getItemById(itemId);
         
@@ -196,6 +248,7 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
                 quantity.toString()
             );
         }
+        validateMovement("TRANSFER", item, quantity, fromLocationId, toLocationId);
         
         // Create the transaction record
         InventoryTransaction transaction = new InventoryTransaction();
@@ -212,6 +265,7 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
         // Create the transaction detail
         InventoryTransactionDetail detail = new InventoryTransactionDetail();
         detail.setTransactionId(transaction.getId());
+        detail.setTransactionDate(transaction.getTransactionDate());
         detail.setItemId(itemId);
         detail.setQuantity(quantity);
         detail.setFromLocationId(fromLocationId);
@@ -224,10 +278,69 @@ public class InventoryTransactionServiceImpl implements InventoryTransactionServ
         
         // Note: In a real transfer, we would also update the location of the item
         // For now, we're just updating the quantity (assuming it's a logical transfer)
+        stockDecreased(item, fromLocationId, quantity);
         
         return transaction;
     }
 
+    private void stockDecreased(InventoryItem item, Integer fromLocationId, Quantity quantity) {
+        ReplenishmentService replenishment = replenishmentService.getIfAvailable();
+        if (replenishment != null) {
+            replenishment.stockDecreased(item, fromLocationId != null ? fromLocationId : item.getLocationId(), quantity);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<InventoryTransactionDto> getAllTransactionDtos(Pageable pageable) {
+        return getTransactionDtosByDateRange(recentWindowStart(), null, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<InventoryTransactionDto> getTransactionDtosByDateRange(LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        tenantFilterService.enableTenantFilter();
+        if (to == null) {
+            return inventoryTransactionRepository.findDtosByTransactionDateFrom(from, pageable);
+        }
+        if (from == null) {
+            return inventoryTransactionRepository.findDtosByTransactionDateBefore(to, pageable);
+        }
+        return inventoryTransactionRepository.findDtosByTransactionDateRange(from, to, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public InventoryTransactionDto getTransactionDtoById(Integer id) {
+        tenantFilterService.enableTenantFilter();
+        return inventoryTransactionRepository.findDtoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("InventoryTransaction", "id", id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryTransactionDetailDto> getTransactionDetailDtosByTransactionId(Integer transactionId) {
+        // Details carry no tenant of their own; the tenant-checked parent lookup guards them
+        if (inventoryTransactionRepository.findById(transactionId).isEmpty()) {
+            throw new ResourceNotFoundException("InventoryTransaction", "id", transactionId);
+        }
+        return inventoryTransactionDetailRepository.findDtosByTransactionId(transactionId);
+    }
+
+    // Location, product and capacity checks from the reference data cache, when enabled
+    private void validateMovement(String transactionType, InventoryItem item, Quantity quantity,
+                                  Integer fromLocationId, Integer toLocationId) {
+        ReferenceDataService references = referenceDataService.getIfAvailable();
+        if (references != null) {
+            references.validateMovement(transactionType, item, quantity, fromLocationId, toLocationId);
+        }
+    }
+
+    // Bound the date so only the most recent month partitions are scanned
+    private LocalDateTime recentWindowStart() {
+        return YearMonth.now().minusMonths(lookbackMonths - 1).atDay(1).atStartOfDay();
+    }
+
     private Integer getCurrentUserId() {
         // In a real implementation, this would come from the security context
         return 1;
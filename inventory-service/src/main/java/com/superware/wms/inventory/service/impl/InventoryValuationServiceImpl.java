@@ -0,0 +1,638 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.dto.InventoryValuationDto;
+import com.superware.wms.inventory.dto.InventoryValuationRunDto;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.service.InventoryValuationService;
+import com.superware.wms.inventory.service.valuation.CostLayer;
+import com.superware.wms.inventory.service.valuation.CostLedger;
+import com.superware.wms.inventory.service.valuation.ValuationMethod;
+import com.superware.wms.inventory.service.valuation.ValuationMovement;
+import com.superware.wms.tenant.context.TenantScope;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of the InventoryValuationService interface.
+ * <p>
+ * A run locks the tenant's row in inventory_valuation_watermarks and streams the completed lines
+ * dated between the high-water mark and now (less a settle time for transactions still
+ * committing) in date order. Lines are applied in pages: the open layers of the product and
+ * facility pairs a page touches for the first time are loaded with one query, every line moves
+ * its ledger in memory, and at the end only the touched pairs are written back, one array-bound
+ * statement per table. The watermark moves in the same transaction, so no line is applied twice.
+ * A product's valuation method is re-read from its policy whenever it moves; a changed method
+ * applies from that movement on.
+ * <p>
+ * Reports read inventory_valuation_positions only and run read-only, on the replica when one is
+ * configured.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.valuation.enabled", havingValue = "true")
+public class InventoryValuationServiceImpl implements InventoryValuationService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryValuationServiceImpl.class);
+
+    private static final String INIT_WATERMARK_SQL = "INSERT INTO inventory_valuation_watermarks (tenant_id, processed_until) "
+            + "VALUES (:tenantId, :openedAt) ON CONFLICT (tenant_id) DO NOTHING";
+
+    private static final String LOCK_WATERMARK_SQL =
+            "SELECT processed_until FROM inventory_valuation_watermarks WHERE tenant_id = :tenantId FOR UPDATE";
+
+    private static final String ADVANCE_WATERMARK_SQL = "UPDATE inventory_valuation_watermarks "
+            + "SET processed_until = :processedUntil, valued_at = CURRENT_TIMESTAMP WHERE tenant_id = :tenantId";
+
+    private static final String OPENING_STOCK_SQL =
+            "SELECT product_id, facility_id, CAST(SUM(quantity_on_hand) * 10000 AS BIGINT), "
+            + "SUM(quantity_on_hand * COALESCE(unit_cost, 0)) / SUM(quantity_on_hand) "
+            + "FROM inventory_items WHERE tenant_id = :tenantId AND is_deleted IS NOT TRUE AND quantity_on_hand > 0 "
+            + "GROUP BY product_id, facility_id";
+
+    // Transfers move stock inside a facility, and reservations and allocations only earmark it, so
+    // none of them changes its value
+    private static final String MOVEMENTS_SQL =
+            "SELECT d.transaction_date, d.transaction_detail_id, CAST(t.transaction_type AS TEXT), i.product_id, i.facility_id, "
+            + "CAST(d.quantity * 10000 AS BIGINT), COALESCE(d.unit_cost, i.unit_cost) "
+            + "FROM inventory_transactions t "
+            + "JOIN inventory_transaction_details d ON d.transaction_id = t.transaction_id AND d.transaction_date = t.transaction_date "
+            + "JOIN inventory_items i ON i.tenant_id = t.tenant_id AND i.item_id = d.item_id "
+            + "WHERE t.tenant_id = ? AND t.status = 'COMPLETED' AND t.is_deleted IS NOT TRUE AND d.is_deleted IS NOT TRUE "
+            + "AND t.transaction_type NOT IN ('TRANSFER', 'RESERVATION', 'ALLOCATION', 'DEALLOCATION') "
+            + "AND t.transaction_date >= ? AND t.transaction_date < ? "
+            + "AND d.transaction_date >= ? AND d.transaction_date < ? "
+            + "ORDER BY d.transaction_date, d.transaction_detail_id";
+
+    // The product-level policy wins over variant policies
+    private static final String METHODS_SQL =
+            "SELECT DISTINCT ON (product_id) product_id, valuation_method FROM inventory_policies "
+            + "WHERE tenant_id = ? AND product_id = ANY (?) AND is_deleted IS NOT TRUE "
+            + "ORDER BY product_id, variant_id IS NOT NULL, updated_at DESC NULLS LAST";
+
+    private static final String LOAD_POSITIONS_SQL =
+            "SELECT p.product_id, p.facility_id, p.valuation_method, CAST(p.shortfall_quantity * 10000 AS BIGINT), p.last_unit_cost "
+            + "FROM inventory_valuation_positions p "
+            + "JOIN unnest(CAST(? AS INT[]), CAST(? AS INT[])) AS k(product_id, facility_id) "
+            + "ON p.product_id = k.product_id AND p.facility_id = k.facility_id WHERE p.tenant_id = ?";
+
+    private static final String LOAD_LAYERS_SQL =
+            "SELECT l.product_id, l.facility_id, l.received_at, CAST(l.quantity_remaining * 10000 AS BIGINT), l.unit_cost "
+            + "FROM inventory_cost_layers l "
+            + "JOIN unnest(CAST(? AS INT[]), CAST(? AS INT[])) AS k(product_id, facility_id) "
+            + "ON l.product_id = k.product_id AND l.facility_id = k.facility_id WHERE l.tenant_id = ? "
+            + "ORDER BY l.product_id, l.facility_id, l.layer_seq";
+
+    private static final String DELETE_LAYERS_SQL =
+            "DELETE FROM inventory_cost_layers l USING unnest(CAST(? AS INT[]), CAST(? AS INT[])) AS k(product_id, facility_id) "
+            + "WHERE l.tenant_id = ? AND l.product_id = k.product_id AND l.facility_id = k.facility_id";
+
+    private static final String INSERT_LAYERS_SQL =
+            "INSERT INTO inventory_cost_layers (tenant_id, product_id, facility_id, layer_seq, received_at, quantity_remaining, unit_cost) "
+            + "SELECT ?, * FROM unnest(CAST(? AS INT[]), CAST(? AS INT[]), CAST(? AS INT[]), CAST(? AS TIMESTAMPTZ[]), "
+            + "CAST(? AS NUMERIC[]), CAST(? AS NUMERIC[]))";
+
+    private static final String UPSERT_POSITIONS_SQL =
+            "INSERT INTO inventory_valuation_positions "
+            + "(tenant_id, product_id, facility_id, valuation_method, quantity, value, shortfall_quantity, last_unit_cost) "
+            + "SELECT ?, * FROM unnest(CAST(? AS INT[]), CAST(? AS INT[]), CAST(? AS TEXT[]), CAST(? AS NUMERIC[]), "
+            + "CAST(? AS NUMERIC[]), CAST(? AS NUMERIC[]), CAST(? AS NUMERIC[])) "
+            + "ON CONFLICT (tenant_id, product_id, facility_id) DO UPDATE SET "
+            + "valuation_method = EXCLUDED.valuation_method, quantity = EXCLUDED.quantity, value = EXCLUDED.value, "
+            + "shortfall_quantity = EXCLUDED.shortfall_quantity, last_unit_cost = EXCLUDED.last_unit_cost, "
+            + "updated_at = CURRENT_TIMESTAMP";
+
+    private static final String UPSERT_DAILY_SQL =
+            "INSERT INTO inventory_valuation_daily "
+            + "(tenant_id, activity_date, facility_id, product_id, transaction_type, quantity_change, value_change) "
+            + "SELECT ?, * FROM unnest(CAST(? AS DATE[]), CAST(? AS INT[]), CAST(? AS INT[]), CAST(? AS TEXT[]), "
+            + "CAST(? AS NUMERIC[]), CAST(? AS NUMERIC[])) "
+            + "ON CONFLICT (tenant_id, activity_date, facility_id, product_id, transaction_type) DO UPDATE SET "
+            + "quantity_change = inventory_valuation_daily.quantity_change + EXCLUDED.quantity_change, "
+            + "value_change = inventory_valuation_daily.value_change + EXCLUDED.value_change";
+
+    private static final String POSITIONS_SQL =
+            "SELECT p.product_id, p.facility_id, p.valuation_method, p.quantity, p.value, p.shortfall_quantity, "
+            + "p.last_unit_cost, w.processed_until "
+            + "FROM inventory_valuation_positions p JOIN inventory_valuation_watermarks w ON w.tenant_id = p.tenant_id "
+            + "WHERE p.tenant_id = :tenantId AND (p.quantity <> 0 OR p.shortfall_quantity <> 0)";
+
+    private static final String TENANTS_SQL = "SELECT DISTINCT f.tenant_id FROM warehouse_facilities f "
+            + "WHERE f.is_active IS NOT FALSE AND f.is_deleted IS NOT TRUE ORDER BY f.tenant_id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final int pageSize;
+    private final Duration settleTime;
+    private final ExecutorService pool;
+
+    @Autowired
+    public InventoryValuationServiceImpl(PlatformTransactionManager transactionManager,
+                                         @Value("${inventory.valuation.page-size:10000}") int pageSize,
+                                         @Value("${inventory.valuation.settle-time:PT5M}") Duration settleTime,
+                                         @Value("${inventory.valuation.threads:2}") int threads) {
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.pageSize = pageSize;
+        this.settleTime = settleTime;
+        this.pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "inventory-valuation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public InventoryValuationRunDto value(Integer tenantId) {
+        long start = System.nanoTime();
+        InventoryValuationRunDto result = TenantScope.call(tenantId,
+                () -> writeTransaction.execute(status -> valueInTransaction(tenantId)));
+        result.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        log.info("Valuation of tenant {}: {} movements up to {}, {} positions written in {} ms",
+                tenantId, result.getMovements(), result.getProcessedUntil(), result.getPositionsUpdated(),
+                result.getDurationMs());
+        return result;
+    }
+
+    @Override
+    public List<InventoryValuationDto> getValuation(Integer tenantId, Integer facilityId) {
+        return TenantScope.call(tenantId, () -> readTransaction.execute(status -> loadPositions(tenantId, facilityId)));
+    }
+
+    /**
+     * Periodic valuation of every tenant with facilities in the shared database.
+     */
+    @Scheduled(cron = "${inventory.valuation.cron:0 */15 * * * *}")
+    public void valueAllTenants() {
+        List<Integer> tenantIds = loadTenantIds();
+        List<Callable<InventoryValuationRunDto>> runs = new ArrayList<>(tenantIds.size());
+        for (Integer tenantId : tenantIds) {
+            runs.add(() -> value(tenantId));
+        }
+        try {
+            List<Future<InventoryValuationRunDto>> results = pool.invokeAll(runs);
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    results.get(i).get();
+                } catch (ExecutionException e) {
+                    log.error("Valuation of tenant {} failed", tenantIds.get(i), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    InventoryValuationRunDto valueInTransaction(int tenantId) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        OffsetDateTime watermark = lockWatermark(tenantId, now);
+        if (watermark == null) {
+            return open(tenantId, now);
+        }
+        OffsetDateTime until = now.minus(settleTime);
+        if (!watermark.isBefore(until)) {
+            return new InventoryValuationRunDto(tenantId, watermark, watermark, 0, 0, 0);
+        }
+
+        Map<PositionKey, CostLedger> ledgers = new HashMap<>();
+        Map<DailyKey, DailyChange> daily = new LinkedHashMap<>();
+        long[] movements = new long[1];
+        streamMovements(tenantId, watermark, until, page -> {
+            prepareLedgers(tenantId, page, ledgers);
+            for (ValuationMovement movement : page) {
+                apply(ledgers.get(new PositionKey(movement.productId(), movement.facilityId())), movement, daily);
+            }
+            movements[0] += page.size();
+        });
+
+        int written = ledgers.isEmpty() ? 0 : writeLedgers(tenantId, ledgers);
+        if (!daily.isEmpty()) {
+            writeDailyChanges(tenantId, daily);
+        }
+        advanceWatermark(tenantId, until);
+        return new InventoryValuationRunDto(tenantId, watermark, until, movements[0], written, 0);
+    }
+
+    /**
+     * First run of a tenant: one layer per product and facility holding its current stock at the
+     * items' average unit cost. Movements dated from {@code openedAt} on are applied by later runs.
+     */
+    private InventoryValuationRunDto open(int tenantId, OffsetDateTime openedAt) {
+        Map<PositionKey, CostLedger> ledgers = new HashMap<>();
+        List<Object[]> stock = loadOpeningStock(tenantId);
+        Set<Integer> productIds = new HashSet<>();
+        for (Object[] row : stock) {
+            productIds.add((Integer) row[0]);
+        }
+        Map<Integer, ValuationMethod> methods = loadMethods(tenantId, productIds);
+        for (Object[] row : stock) {
+            CostLedger ledger = new CostLedger(methods.getOrDefault((Integer) row[0], ValuationMethod.FIFO));
+            ledger.receive((Long) row[2], (BigDecimal) row[3], openedAt);
+            ledgers.put(new PositionKey((Integer) row[0], (Integer) row[1]), ledger);
+        }
+        int written = ledgers.isEmpty() ? 0 : writeLedgers(tenantId, ledgers);
+        return new InventoryValuationRunDto(tenantId, null, openedAt, 0, written, 0);
+    }
+
+    /**
+     * Adds the ledgers of the pairs the page touches for the first time in this run, switched to
+     * the current valuation method of their product.
+     */
+    private void prepareLedgers(int tenantId, List<ValuationMovement> page, Map<PositionKey, CostLedger> ledgers) {
+        Set<PositionKey> missing = new HashSet<>();
+        Set<Integer> productIds = new HashSet<>();
+        for (ValuationMovement movement : page) {
+            PositionKey key = new PositionKey(movement.productId(), movement.facilityId());
+            if (!ledgers.containsKey(key) && missing.add(key)) {
+                productIds.add(key.productId());
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        Map<Integer, ValuationMethod> methods = loadMethods(tenantId, productIds);
+        Map<PositionKey, CostLedger> stored = loadLedgers(tenantId, missing);
+        for (PositionKey key : missing) {
+            ValuationMethod method = methods.getOrDefault(key.productId(), ValuationMethod.FIFO);
+            CostLedger ledger = stored.get(key);
+            if (ledger == null) {
+                ledger = new CostLedger(method);
+            } else {
+                ledger.changeMethod(method);
+            }
+            ledgers.put(key, ledger);
+        }
+    }
+
+    /**
+     * Moves the ledger by one line and adds the signed quantity and value change to the day's
+     * totals for its transaction type.
+     */
+    static void apply(CostLedger ledger, ValuationMovement movement, Map<DailyKey, DailyChange> daily) {
+        long units;
+        BigDecimal value;
+        switch (movement.transactionType()) {
+            case "RECEIPT", "RETURN" -> {
+                units = movement.units();
+                value = ledger.receive(units, movement.unitCost(), movement.transactionDate());
+            }
+            case "ISSUE" -> {
+                units = -movement.units();
+                value = ledger.issue(movement.units()).negate();
+            }
+            // Write-offs take stock out whichever sign the line was recorded with
+            case "WRITE_OFF" -> {
+                units = -Math.abs(movement.units());
+                value = ledger.issue(-units).negate();
+            }
+            // Adjustments, counts and reversals carry the sign on the line
+            default -> {
+                units = movement.units();
+                value = units >= 0
+                        ? ledger.receive(units, movement.unitCost(), movement.transactionDate())
+                        : ledger.issue(-units).negate();
+            }
+        }
+        DailyKey key = new DailyKey(movement.transactionDate().withOffsetSameInstant(ZoneOffset.UTC).toLocalDate(),
+                movement.facilityId(), movement.productId(), movement.transactionType());
+        daily.computeIfAbsent(key, k -> new DailyChange()).add(units, value);
+    }
+
+    List<Integer> loadTenantIds() {
+        return readTransaction.execute(status -> entityManager.createNativeQuery(TENANTS_SQL)
+                .getResultList().stream().map(id -> ((Number) id).intValue()).toList());
+    }
+
+    /**
+     * @return the tenant's high-water mark, locked until the transaction ends, or null if this
+     * call created it at {@code openedAt}
+     */
+    OffsetDateTime lockWatermark(int tenantId, OffsetDateTime openedAt) {
+        int created = entityManager.createNativeQuery(INIT_WATERMARK_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("openedAt", openedAt)
+                .executeUpdate();
+        if (created > 0) {
+            return null;
+        }
+        Object processedUntil = entityManager.createNativeQuery(LOCK_WATERMARK_SQL)
+                .setParameter("tenantId", tenantId)
+                .getSingleResult();
+        return toOffsetDateTime(processedUntil);
+    }
+
+    void advanceWatermark(int tenantId, OffsetDateTime processedUntil) {
+        entityManager.createNativeQuery(ADVANCE_WATERMARK_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("processedUntil", processedUntil)
+                .executeUpdate();
+    }
+
+    /**
+     * @return product ID, facility ID, quantity on hand in units and average unit cost of every
+     * pair with stock
+     */
+    List<Object[]> loadOpeningStock(int tenantId) {
+        List<?> rows = entityManager.createNativeQuery(OPENING_STOCK_SQL)
+                .setParameter("tenantId", tenantId)
+                .getResultList();
+        List<Object[]> stock = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            stock.add(new Object[] {((Number) columns[0]).intValue(), ((Number) columns[1]).intValue(),
+                    ((Number) columns[2]).longValue(), (BigDecimal) columns[3]});
+        }
+        return stock;
+    }
+
+    /**
+     * Streams the lines dated in [from, until) in date order, {@code pageSize} at a time, through
+     * a server-side cursor.
+     */
+    void streamMovements(int tenantId, OffsetDateTime from, OffsetDateTime until, Consumer<List<ValuationMovement>> pages) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(MOVEMENTS_SQL)) {
+                statement.setFetchSize(pageSize);
+                statement.setInt(1, tenantId);
+                statement.setObject(2, from);
+                statement.setObject(3, until);
+                statement.setObject(4, from);
+                statement.setObject(5, until);
+                try (ResultSet rs = statement.executeQuery()) {
+                    List<ValuationMovement> page = new ArrayList<>(pageSize);
+                    while (rs.next()) {
+                        page.add(new ValuationMovement(rs.getObject(1, OffsetDateTime.class), rs.getLong(2),
+                                rs.getString(3), rs.getInt(4), rs.getInt(5), rs.getLong(6), rs.getBigDecimal(7)));
+                        if (page.size() == pageSize) {
+                            pages.accept(page);
+                            page = new ArrayList<>(pageSize);
+                        }
+                    }
+                    if (!page.isEmpty()) {
+                        pages.accept(page);
+                    }
+                }
+            }
+        });
+    }
+
+    Map<Integer, ValuationMethod> loadMethods(int tenantId, Collection<Integer> productIds) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            Map<Integer, ValuationMethod> methods = new HashMap<>();
+            try (PreparedStatement statement = connection.prepareStatement(METHODS_SQL)) {
+                statement.setInt(1, tenantId);
+                statement.setArray(2, connection.createArrayOf("integer", productIds.toArray()));
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        methods.put(rs.getInt(1), ValuationMethod.fromPolicy(rs.getString(2)));
+                    }
+                }
+            }
+            return methods;
+        });
+    }
+
+    /**
+     * @return the stored ledgers of those pairs that have a position
+     */
+    Map<PositionKey, CostLedger> loadLedgers(int tenantId, Collection<PositionKey> keys) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            Object[] productIds = keys.stream().map(PositionKey::productId).toArray();
+            Object[] facilityIds = keys.stream().map(PositionKey::facilityId).toArray();
+
+            Map<PositionKey, List<CostLayer>> layers = new HashMap<>();
+            try (PreparedStatement statement = connection.prepareStatement(LOAD_LAYERS_SQL)) {
+                statement.setArray(1, connection.createArrayOf("integer", productIds));
+                statement.setArray(2, connection.createArrayOf("integer", facilityIds));
+                statement.setInt(3, tenantId);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        layers.computeIfAbsent(new PositionKey(rs.getInt(1), rs.getInt(2)), k -> new ArrayList<>())
+                                .add(new CostLayer(rs.getObject(3, OffsetDateTime.class), rs.getLong(4), rs.getBigDecimal(5)));
+                    }
+                }
+            }
+
+            Map<PositionKey, CostLedger> ledgers = new HashMap<>();
+            try (PreparedStatement statement = connection.prepareStatement(LOAD_POSITIONS_SQL)) {
+                statement.setArray(1, connection.createArrayOf("integer", productIds));
+                statement.setArray(2, connection.createArrayOf("integer", facilityIds));
+                statement.setInt(3, tenantId);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        PositionKey key = new PositionKey(rs.getInt(1), rs.getInt(2));
+                        ledgers.put(key, new CostLedger(ValuationMethod.fromPolicy(rs.getString(3)),
+                                layers.getOrDefault(key, List.of()), rs.getLong(4), rs.getBigDecimal(5)));
+                    }
+                }
+            }
+            return ledgers;
+        });
+    }
+
+    /**
+     * Replaces the layers and positions of the given pairs.
+     *
+     * @return the number of positions written
+     */
+    int writeLedgers(int tenantId, Map<PositionKey, CostLedger> ledgers) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            int size = ledgers.size();
+            Integer[] productIds = new Integer[size];
+            Integer[] facilityIds = new Integer[size];
+            String[] methods = new String[size];
+            BigDecimal[] quantities = new BigDecimal[size];
+            BigDecimal[] values = new BigDecimal[size];
+            BigDecimal[] shortfalls = new BigDecimal[size];
+            BigDecimal[] lastCosts = new BigDecimal[size];
+
+            List<Integer> layerProducts = new ArrayList<>();
+            List<Integer> layerFacilities = new ArrayList<>();
+            List<Integer> layerSeqs = new ArrayList<>();
+            List<String> layerDates = new ArrayList<>();
+            List<BigDecimal> layerQuantities = new ArrayList<>();
+            List<BigDecimal> layerCosts = new ArrayList<>();
+
+            int i = 0;
+            for (Map.Entry<PositionKey, CostLedger> entry : ledgers.entrySet()) {
+                PositionKey key = entry.getKey();
+                CostLedger ledger = entry.getValue();
+                productIds[i] = key.productId();
+                facilityIds[i] = key.facilityId();
+                methods[i] = ledger.method().name();
+                quantities[i] = Quantity.ofUnits(ledger.units()).toBigDecimal();
+                values[i] = ledger.value();
+                shortfalls[i] = Quantity.ofUnits(ledger.shortfallUnits()).toBigDecimal();
+                lastCosts[i] = ledger.lastUnitCost();
+                i++;
+
+                int seq = 1;
+                for (CostLayer layer : ledger.layers()) {
+                    layerProducts.add(key.productId());
+                    layerFacilities.add(key.facilityId());
+                    layerSeqs.add(seq++);
+                    layerDates.add(layer.receivedAt().toString());
+                    layerQuantities.add(Quantity.ofUnits(layer.units()).toBigDecimal());
+                    layerCosts.add(layer.unitCost());
+                }
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(DELETE_LAYERS_SQL)) {
+                statement.setArray(1, connection.createArrayOf("integer", productIds));
+                statement.setArray(2, connection.createArrayOf("integer", facilityIds));
+                statement.setInt(3, tenantId);
+                statement.executeUpdate();
+            }
+            if (!layerSeqs.isEmpty()) {
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_LAYERS_SQL)) {
+                    statement.setInt(1, tenantId);
+                    statement.setArray(2, connection.createArrayOf("integer", layerProducts.toArray()));
+                    statement.setArray(3, connection.createArrayOf("integer", layerFacilities.toArray()));
+                    statement.setArray(4, connection.createArrayOf("integer", layerSeqs.toArray()));
+                    statement.setArray(5, connection.createArrayOf("text", layerDates.toArray()));
+                    statement.setArray(6, connection.createArrayOf("numeric", layerQuantities.toArray()));
+                    statement.setArray(7, connection.createArrayOf("numeric", layerCosts.toArray()));
+                    statement.executeUpdate();
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT_POSITIONS_SQL)) {
+                statement.setInt(1, tenantId);
+                statement.setArray(2, connection.createArrayOf("integer", productIds));
+                statement.setArray(3, connection.createArrayOf("integer", facilityIds));
+                statement.setArray(4, connection.createArrayOf("text", methods));
+                statement.setArray(5, connection.createArrayOf("numeric", quantities));
+                statement.setArray(6, connection.createArrayOf("numeric", values));
+                statement.setArray(7, connection.createArrayOf("numeric", shortfalls));
+                statement.setArray(8, connection.createArrayOf("numeric", lastCosts));
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    void writeDailyChanges(int tenantId, Map<DailyKey, DailyChange> daily) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            int size = daily.size();
+            String[] dates = new String[size];
+            Integer[] facilityIds = new Integer[size];
+            Integer[] productIds = new Integer[size];
+            String[] types = new String[size];
+            BigDecimal[] quantities = new BigDecimal[size];
+            BigDecimal[] values = new BigDecimal[size];
+            int i = 0;
+            for (Map.Entry<DailyKey, DailyChange> entry : daily.entrySet()) {
+                DailyKey key = entry.getKey();
+                dates[i] = key.date().toString();
+                facilityIds[i] = key.facilityId();
+                productIds[i] = key.productId();
+                types[i] = key.transactionType();
+                quantities[i] = Quantity.ofUnits(entry.getValue().units).toBigDecimal();
+                values[i] = entry.getValue().value;
+                i++;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT_DAILY_SQL)) {
+                statement.setInt(1, tenantId);
+                statement.setArray(2, connection.createArrayOf("text", dates));
+                statement.setArray(3, connection.createArrayOf("integer", facilityIds));
+                statement.setArray(4, connection.createArrayOf("integer", productIds));
+                statement.setArray(5, connection.createArrayOf("text", types));
+                statement.setArray(6, connection.createArrayOf("numeric", quantities));
+                statement.setArray(7, connection.createArrayOf("numeric", values));
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    List<InventoryValuationDto> loadPositions(int tenantId, Integer facilityId) {
+        String sql = POSITIONS_SQL + (facilityId != null ? " AND p.facility_id = :facilityId" : "")
+                + " ORDER BY p.facility_id, p.product_id";
+        Query query = entityManager.createNativeQuery(sql).setParameter("tenantId", tenantId);
+        if (facilityId != null) {
+            query.setParameter("facilityId", facilityId);
+        }
+        List<?> rows = query.getResultList();
+        List<InventoryValuationDto> positions = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            BigDecimal quantity = (BigDecimal) columns[3];
+            BigDecimal value = (BigDecimal) columns[4];
+            BigDecimal unitCost = quantity.signum() > 0
+                    ? value.divide(quantity, 6, RoundingMode.HALF_UP)
+                    : (BigDecimal) columns[6];
+            positions.add(new InventoryValuationDto(((Number) columns[0]).intValue(), ((Number) columns[1]).intValue(),
+                    (String) columns[2], Quantity.of(quantity), value, unitCost, Quantity.of((BigDecimal) columns[5]),
+                    toOffsetDateTime(columns[7])));
+        }
+        return positions;
+    }
+
+    private static OffsetDateTime toOffsetDateTime(Object value) {
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime;
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant().atOffset(ZoneOffset.UTC);
+        }
+        return ((Instant) value).atOffset(ZoneOffset.UTC);
+    }
+
+    record PositionKey(int productId, int facilityId) {
+    }
+
+    record DailyKey(LocalDate date, int facilityId, int productId, String transactionType) {
+    }
+
+    static final class DailyChange {
+
+        long units;
+        BigDecimal value = BigDecimal.ZERO;
+
+        void add(long moreUnits, BigDecimal moreValue) {
+            units = Math.addExact(units, moreUnits);
+            value = value.add(moreValue);
+        }
+    }
+}
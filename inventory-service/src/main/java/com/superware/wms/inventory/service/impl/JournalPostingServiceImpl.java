@@ -0,0 +1,338 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.dto.JournalPostingDto;
+import com.superware.wms.inventory.exception.InvalidReferenceException;
+import com.superware.wms.inventory.exception.ResourceNotFoundException;
+import com.superware.wms.inventory.service.JournalPostingService;
+import com.superware.wms.inventory.service.gl.InventoryJournalBuilder;
+import com.superware.wms.inventory.service.gl.JournalEntryDraft;
+import com.superware.wms.inventory.service.gl.JournalLineDraft;
+import com.superware.wms.inventory.service.gl.ValuationChange;
+import com.superware.wms.tenant.context.TenantScope;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Implementation of the JournalPostingService interface.
+ * <p>
+ * Postings are built from the cost changes the valuation job rolls up per day, facility and
+ * transaction type (inventory_valuation_daily), never from the transactions themselves, so the
+ * transaction write path does no accounting work. A run locks the financial period row, builds
+ * the period's entries in memory and writes them with a handful of array-bound statements:
+ * entries are upserted by their entry number, their lines replaced, and entries from earlier runs
+ * whose interval has no net change any more are deleted. Reposting an unchanged period therefore
+ * leaves the ledger as it was. Closed periods are never touched.
+ * <p>
+ * Requires {@code inventory.valuation.enabled} and the accounting schema (db/10_accounting.sql)
+ * in the tenant's database.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.gl.enabled", havingValue = "true")
+public class JournalPostingServiceImpl implements JournalPostingService {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalPostingServiceImpl.class);
+
+    static final String REFERENCE_TYPE = "INVENTORY_VALUATION";
+
+    private static final String LOCK_PERIOD_SQL = "SELECT start_date, end_date, is_closed FROM financial_periods "
+            + "WHERE tenant_id = :tenantId AND period_id = :periodId FOR UPDATE";
+
+    private static final String OPEN_PERIODS_SQL = "SELECT tenant_id, period_id FROM financial_periods "
+            + "WHERE is_closed IS NOT TRUE AND start_date <= CURRENT_DATE ORDER BY tenant_id, start_date";
+
+    private static final String CHANGES_SQL =
+            "SELECT activity_date, facility_id, transaction_type, SUM(value_change) FROM inventory_valuation_daily "
+            + "WHERE tenant_id = :tenantId AND activity_date >= :periodStart AND activity_date <= :periodEnd "
+            + "GROUP BY activity_date, facility_id, transaction_type";
+
+    private static final String ACCOUNTS_SQL = "SELECT account_code, account_id FROM chart_of_accounts "
+            + "WHERE tenant_id = ? AND account_code = ANY (?) AND is_active IS NOT FALSE AND is_deleted IS NOT TRUE";
+
+    private static final String DELETE_STALE_ENTRIES_SQL = "DELETE FROM journal_entries "
+            + "WHERE tenant_id = ? AND reference_type = '" + REFERENCE_TYPE + "' AND entry_date >= ? AND entry_date <= ? "
+            + "AND NOT (entry_number = ANY (?))";
+
+    private static final String UPSERT_ENTRIES_SQL =
+            "INSERT INTO journal_entries (tenant_id, entry_number, entry_date, reference_type, reference_id, "
+            + "journal_status, posted_at, total_debit, total_credit, description) "
+            + "SELECT ?, e.entry_number, e.entry_date, '" + REFERENCE_TYPE + "', e.facility_id, 'POSTED', CURRENT_TIMESTAMP, "
+            + "e.total, e.total, e.description "
+            + "FROM unnest(CAST(? AS TEXT[]), CAST(? AS DATE[]), CAST(? AS INT[]), CAST(? AS NUMERIC[]), CAST(? AS TEXT[])) "
+            + "AS e(entry_number, entry_date, facility_id, total, description) "
+            + "ON CONFLICT (entry_number) DO UPDATE SET entry_date = EXCLUDED.entry_date, "
+            + "total_debit = EXCLUDED.total_debit, total_credit = EXCLUDED.total_credit, "
+            + "description = EXCLUDED.description, journal_status = 'POSTED', posted_at = CURRENT_TIMESTAMP, "
+            + "is_deleted = FALSE "
+            + "RETURNING entry_id, entry_number";
+
+    private static final String DELETE_LINES_SQL = "DELETE FROM journal_entry_lines WHERE entry_id = ANY (?)";
+
+    private static final String INSERT_LINES_SQL =
+            "INSERT INTO journal_entry_lines (entry_id, tenant_id, account_id, debit_amount, credit_amount, "
+            + "reference_type, reference_id, description) "
+            + "SELECT l.entry_id, ?, l.account_id, l.debit, l.credit, 'WAREHOUSE_FACILITY', l.facility_id, l.description "
+            + "FROM unnest(CAST(? AS INT[]), CAST(? AS INT[]), CAST(? AS NUMERIC[]), CAST(? AS NUMERIC[]), "
+            + "CAST(? AS INT[]), CAST(? AS TEXT[])) AS l(entry_id, account_id, debit, credit, facility_id, description)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate writeTransaction;
+    private final InventoryJournalBuilder builder;
+
+    @Autowired
+    public JournalPostingServiceImpl(PlatformTransactionManager transactionManager,
+                                     @Value("${inventory.gl.interval:DAY}") InventoryJournalBuilder.Interval interval,
+                                     @Value("${inventory.gl.accounts.inventory:1300}") String inventoryAccount,
+                                     @Value("${inventory.gl.accounts.receipt:2150}") String receiptAccount,
+                                     @Value("${inventory.gl.accounts.issue:5000}") String issueAccount,
+                                     @Value("${inventory.gl.accounts.return:5000}") String returnAccount,
+                                     @Value("${inventory.gl.accounts.scrap:5150}") String scrapAccount,
+                                     @Value("${inventory.gl.accounts.adjustment:5100}") String adjustmentAccount) {
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.builder = new InventoryJournalBuilder(inventoryAccount, Map.of(
+                "RECEIPT", receiptAccount,
+                "ISSUE", issueAccount,
+                "RETURN", returnAccount,
+                "WRITE_OFF", scrapAccount), adjustmentAccount, interval);
+    }
+
+    @Override
+    public JournalPostingDto postPeriod(Integer tenantId, Integer periodId) {
+        long start = System.nanoTime();
+        JournalPostingDto result = TenantScope.call(tenantId,
+                () -> writeTransaction.execute(status -> postInTransaction(tenantId, periodId)));
+        result.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        log.info("Posted period {} of tenant {}: {} entries, {} lines, {} removed, {} debit in {} ms",
+                periodId, tenantId, result.getEntriesPosted(), result.getLinesPosted(),
+                result.getEntriesRemoved(), result.getTotalDebit(), result.getDurationMs());
+        return result;
+    }
+
+    /**
+     * Reposts every open period that has begun, for every tenant in the shared database.
+     */
+    @Scheduled(cron = "${inventory.gl.cron:0 30 * * * *}")
+    public void postOpenPeriods() {
+        for (int[] period : loadOpenPeriods()) {
+            try {
+                postPeriod(period[0], period[1]);
+            } catch (RuntimeException e) {
+                log.error("Posting period {} of tenant {} failed", period[1], period[0], e);
+            }
+        }
+    }
+
+    JournalPostingDto postInTransaction(int tenantId, int periodId) {
+        FinancialPeriod period = lockPeriod(tenantId, periodId);
+        if (period == null) {
+            throw new ResourceNotFoundException("FinancialPeriod", "id", periodId);
+        }
+        if (period.closed()) {
+            throw new InvalidReferenceException("FinancialPeriod", periodId, "post inventory movements",
+                    "the period is closed");
+        }
+
+        List<JournalEntryDraft> entries = builder.build(tenantId, period.start(), period.end(),
+                loadChanges(tenantId, period.start(), period.end()));
+
+        Set<String> codes = new TreeSet<>();
+        for (JournalEntryDraft entry : entries) {
+            entry.lines().forEach(line -> codes.add(line.accountCode()));
+        }
+        Map<String, Integer> accounts = codes.isEmpty() ? Map.of() : loadAccounts(tenantId, codes);
+        for (String code : codes) {
+            if (!accounts.containsKey(code)) {
+                throw new ResourceNotFoundException("Account", "account_code", code);
+            }
+        }
+
+        int removed = writeEntries(tenantId, period, entries, accounts);
+        int lines = 0;
+        BigDecimal debit = BigDecimal.ZERO;
+        for (JournalEntryDraft entry : entries) {
+            lines += entry.lines().size();
+            debit = debit.add(entry.totalDebit());
+        }
+        return new JournalPostingDto(tenantId, periodId, period.start(), period.end(), entries.size(), lines,
+                removed, debit, 0);
+    }
+
+    List<int[]> loadOpenPeriods() {
+        return writeTransaction.execute(status -> {
+            List<?> rows = entityManager.createNativeQuery(OPEN_PERIODS_SQL).getResultList();
+            List<int[]> periods = new ArrayList<>(rows.size());
+            for (Object row : rows) {
+                Object[] columns = (Object[]) row;
+                periods.add(new int[] {((Number) columns[0]).intValue(), ((Number) columns[1]).intValue()});
+            }
+            return periods;
+        });
+    }
+
+    /**
+     * @return the period, locked until the transaction ends so runs of one period do not overlap,
+     * or null if the tenant has no such period
+     */
+    FinancialPeriod lockPeriod(int tenantId, int periodId) {
+        List<?> rows = entityManager.createNativeQuery(LOCK_PERIOD_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("periodId", periodId)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] columns = (Object[]) rows.get(0);
+        return new FinancialPeriod(toLocalDate(columns[0]), toLocalDate(columns[1]), Boolean.TRUE.equals(columns[2]));
+    }
+
+    List<ValuationChange> loadChanges(int tenantId, LocalDate periodStart, LocalDate periodEnd) {
+        List<?> rows = entityManager.createNativeQuery(CHANGES_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("periodStart", periodStart)
+                .setParameter("periodEnd", periodEnd)
+                .getResultList();
+        List<ValuationChange> changes = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            changes.add(new ValuationChange(toLocalDate(columns[0]), ((Number) columns[1]).intValue(),
+                    (String) columns[2], (BigDecimal) columns[3]));
+        }
+        return changes;
+    }
+
+    Map<String, Integer> loadAccounts(int tenantId, Collection<String> codes) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            Map<String, Integer> accounts = new HashMap<>();
+            try (PreparedStatement statement = connection.prepareStatement(ACCOUNTS_SQL)) {
+                statement.setInt(1, tenantId);
+                statement.setArray(2, connection.createArrayOf("text", codes.toArray()));
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        accounts.put(rs.getString(1), rs.getInt(2));
+                    }
+                }
+            }
+            return accounts;
+        });
+    }
+
+    /**
+     * Makes the period's inventory entries exactly {@code entries}.
+     *
+     * @return the number of entries of earlier runs deleted
+     */
+    int writeEntries(int tenantId, FinancialPeriod period, List<JournalEntryDraft> entries,
+                     Map<String, Integer> accounts) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            int size = entries.size();
+            String[] numbers = new String[size];
+            String[] dates = new String[size];
+            Integer[] facilityIds = new Integer[size];
+            BigDecimal[] totals = new BigDecimal[size];
+            String[] descriptions = new String[size];
+            for (int i = 0; i < size; i++) {
+                JournalEntryDraft entry = entries.get(i);
+                numbers[i] = entry.entryNumber();
+                dates[i] = entry.entryDate().toString();
+                facilityIds[i] = entry.facilityId();
+                totals[i] = entry.totalDebit();
+                descriptions[i] = "Inventory movements of facility " + entry.facilityId() + ", "
+                        + entry.from() + (entry.from().equals(entry.entryDate()) ? "" : " to " + entry.entryDate());
+            }
+
+            int removed;
+            try (PreparedStatement statement = connection.prepareStatement(DELETE_STALE_ENTRIES_SQL)) {
+                statement.setInt(1, tenantId);
+                statement.setDate(2, Date.valueOf(period.start()));
+                statement.setDate(3, Date.valueOf(period.end()));
+                statement.setArray(4, connection.createArrayOf("text", numbers));
+                removed = statement.executeUpdate();
+            }
+            if (size == 0) {
+                return removed;
+            }
+
+            Map<String, Integer> entryIds = new HashMap<>();
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT_ENTRIES_SQL)) {
+                statement.setInt(1, tenantId);
+                statement.setArray(2, connection.createArrayOf("text", numbers));
+                statement.setArray(3, connection.createArrayOf("text", dates));
+                statement.setArray(4, connection.createArrayOf("integer", facilityIds));
+                statement.setArray(5, connection.createArrayOf("numeric", totals));
+                statement.setArray(6, connection.createArrayOf("text", descriptions));
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        entryIds.put(rs.getString(2), rs.getInt(1));
+                    }
+                }
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(DELETE_LINES_SQL)) {
+                statement.setArray(1, connection.createArrayOf("integer", entryIds.values().toArray()));
+                statement.executeUpdate();
+            }
+
+            List<Integer> lineEntries = new ArrayList<>();
+            List<Integer> lineAccounts = new ArrayList<>();
+            List<BigDecimal> debits = new ArrayList<>();
+            List<BigDecimal> credits = new ArrayList<>();
+            List<Integer> lineFacilities = new ArrayList<>();
+            List<String> lineDescriptions = new ArrayList<>();
+            for (JournalEntryDraft entry : entries) {
+                for (JournalLineDraft line : entry.lines()) {
+                    lineEntries.add(entryIds.get(entry.entryNumber()));
+                    lineAccounts.add(accounts.get(line.accountCode()));
+                    debits.add(line.debit());
+                    credits.add(line.credit());
+                    lineFacilities.add(entry.facilityId());
+                    lineDescriptions.add(line.description());
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_LINES_SQL)) {
+                statement.setInt(1, tenantId);
+                statement.setArray(2, connection.createArrayOf("integer", lineEntries.toArray()));
+                statement.setArray(3, connection.createArrayOf("integer", lineAccounts.toArray()));
+                statement.setArray(4, connection.createArrayOf("numeric", debits.toArray()));
+                statement.setArray(5, connection.createArrayOf("numeric", credits.toArray()));
+                statement.setArray(6, connection.createArrayOf("integer", lineFacilities.toArray()));
+                statement.setArray(7, connection.createArrayOf("text", lineDescriptions.toArray()));
+                statement.executeUpdate();
+            }
+            return removed;
+        });
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    record FinancialPeriod(LocalDate start, LocalDate end, boolean closed) {
+    }
+}
@@ -0,0 +1,292 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.dto.PickSequenceDto;
+import com.superware.wms.inventory.exception.InvalidReferenceException;
+import com.superware.wms.inventory.exception.ResourceNotFoundException;
+import com.superware.wms.inventory.service.PickPathService;
+import com.superware.wms.inventory.service.picking.PickPathSequencer;
+import com.superware.wms.inventory.service.picking.PickPathStrategy;
+import com.superware.wms.inventory.service.picking.PickSequence;
+import com.superware.wms.inventory.service.picking.WarehouseLayout;
+import com.superware.wms.tenant.context.TenantScope;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of the PickPathService interface.
+ * <p>
+ * Each facility's distance model is built from its storage locations' aisle and bay labels with
+ * one query and cached for {@code layout-ttl}, for at most {@code max-layouts} facilities, the
+ * least recently used being dropped first. A location the cached model does not know reloads it
+ * once before the request is rejected, so new locations are picked up without waiting for the
+ * TTL; the model then remembers the ID as unknown until it expires, so requests repeating it do
+ * not each reload the layout. Sequencing itself runs in memory (see {@link PickPathSequencer}). Re-sequencing a
+ * task rewrites its items' item_sequence and its total_distance_meters and total_locations in
+ * three statements, under a lock on the task row; only pending tasks are re-sequenced.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.pick-path.enabled", havingValue = "true")
+public class PickPathServiceImpl implements PickPathService {
+
+    private static final Logger log = LoggerFactory.getLogger(PickPathServiceImpl.class);
+
+    // Beyond this many unknown IDs a layout rejects new ones without reloading until it expires
+    private static final int MAX_MISSES_PER_LAYOUT = 10_000;
+
+    private static final String LAYOUT_SQL =
+            "SELECT l.location_id, l.aisle, l.bay FROM storage_locations l "
+            + "JOIN storage_zones z ON z.zone_id = l.zone_id "
+            + "JOIN warehouse_facilities f ON f.facility_id = z.facility_id "
+            + "WHERE f.tenant_id = :tenantId AND z.facility_id = :facilityId AND l.is_deleted IS NOT TRUE";
+
+    private static final String LOCK_TASK_SQL = "SELECT facility_id, CAST(status AS VARCHAR) FROM pick_tasks "
+            + "WHERE tenant_id = :tenantId AND pick_task_id = :pickTaskId FOR UPDATE";
+
+    private static final String TASK_ITEMS_SQL = "SELECT pick_task_item_id, location_id FROM pick_task_items "
+            + "WHERE pick_task_id = :pickTaskId ORDER BY item_sequence";
+
+    // item_sequence is unique per task and checked row by row, so the old numbers are moved out of the way first
+    private static final String PARK_SEQUENCES_SQL =
+            "UPDATE pick_task_items SET item_sequence = -item_sequence WHERE pick_task_id = ?";
+
+    private static final String RESEQUENCE_ITEMS_SQL =
+            "UPDATE pick_task_items i SET item_sequence = s.item_sequence "
+            + "FROM unnest(CAST(? AS INT[])) WITH ORDINALITY AS s(pick_task_item_id, item_sequence) "
+            + "WHERE i.pick_task_item_id = s.pick_task_item_id AND i.pick_task_id = ?";
+
+    private static final String UPDATE_TASK_SQL = "UPDATE pick_tasks SET total_distance_meters = ?, "
+            + "total_locations = ?, updated_at = CURRENT_TIMESTAMP WHERE pick_task_id = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final PickPathSequencer sequencer;
+    private final PickPathStrategy defaultStrategy;
+    private final double aisleSpacing;
+    private final double bayWidth;
+    private final long layoutTtlNanos;
+    private final LinkedHashMap<LayoutKey, CachedLayout> layouts;
+
+    @Autowired
+    public PickPathServiceImpl(PlatformTransactionManager transactionManager,
+                               @Value("${inventory.pick-path.default-strategy:TWO_OPT}") PickPathStrategy defaultStrategy,
+                               @Value("${inventory.pick-path.aisle-spacing-m:3.0}") double aisleSpacing,
+                               @Value("${inventory.pick-path.bay-width-m:1.2}") double bayWidth,
+                               @Value("${inventory.pick-path.two-opt-budget:PT0.03S}") Duration twoOptBudget,
+                               @Value("${inventory.pick-path.layout-ttl:PT10M}") Duration layoutTtl,
+                               @Value("${inventory.pick-path.max-layouts:1000}") int maxLayouts) {
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.sequencer = new PickPathSequencer(twoOptBudget.toNanos());
+        this.defaultStrategy = defaultStrategy;
+        this.aisleSpacing = aisleSpacing;
+        this.bayWidth = bayWidth;
+        this.layoutTtlNanos = layoutTtl.toNanos();
+        this.layouts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LayoutKey, CachedLayout> eldest) {
+                return size() > maxLayouts;
+            }
+        };
+    }
+
+    @Override
+    public PickSequenceDto sequenceLocations(Integer tenantId, Integer facilityId, List<Integer> locationIds,
+                                             PickPathStrategy strategy) {
+        return TenantScope.call(tenantId, () -> {
+            WarehouseLayout layout = readTransaction.execute(status -> layoutFor(tenantId, facilityId, locationIds));
+            return sequence(tenantId, facilityId, null, layout, locationIds, strategy).dto();
+        });
+    }
+
+    @Override
+    public PickSequenceDto sequenceTask(Integer tenantId, Integer pickTaskId, PickPathStrategy strategy) {
+        return TenantScope.call(tenantId, () -> writeTransaction.execute(status -> {
+            PickTask task = lockTask(tenantId, pickTaskId);
+            if (task == null) {
+                throw new ResourceNotFoundException("PickTask", "id", pickTaskId);
+            }
+            if (!"PENDING".equals(task.status())) {
+                throw new InvalidReferenceException("PickTask", pickTaskId, "sequence picks",
+                        "the task is " + task.status().toLowerCase());
+            }
+
+            // location -> the task's items there, in their current order
+            Map<Integer, List<Integer>> itemsByLocation = new LinkedHashMap<>();
+            for (int[] item : loadTaskItems(pickTaskId)) {
+                itemsByLocation.computeIfAbsent(item[1], k -> new ArrayList<>()).add(item[0]);
+            }
+            List<Integer> locationIds = new ArrayList<>(itemsByLocation.keySet());
+            WarehouseLayout layout = layoutFor(tenantId, task.facilityId(), locationIds);
+            Result result = sequence(tenantId, task.facilityId(), pickTaskId, layout, locationIds, strategy);
+
+            List<Integer> itemIds = new ArrayList<>();
+            for (Integer locationId : result.sequence().locationIds()) {
+                itemIds.addAll(itemsByLocation.get(locationId));
+            }
+            writeTaskSequence(pickTaskId, itemIds, result.dto().getDistanceMeters(), locationIds.size());
+            log.info("Sequenced pick task {} of tenant {}: {} locations, {} m ({}) in {} us", pickTaskId, tenantId,
+                    locationIds.size(), result.dto().getDistanceMeters(), result.dto().getStrategy(),
+                    result.dto().getSequencingMicros());
+            return result.dto();
+        }));
+    }
+
+    private Result sequence(int tenantId, int facilityId, Integer pickTaskId, WarehouseLayout layout,
+                            List<Integer> locationIds, PickPathStrategy strategy) {
+        PickPathStrategy used = strategy != null ? strategy : defaultStrategy;
+        long start = System.nanoTime();
+        PickSequence sequence = sequencer.sequence(layout, locationIds, used);
+        long micros = (System.nanoTime() - start) / 1_000;
+        return new Result(sequence, new PickSequenceDto(tenantId, facilityId, pickTaskId, used.name(),
+                sequence.locationIds(), BigDecimal.valueOf(sequence.distanceMeters()).setScale(2, RoundingMode.HALF_UP),
+                micros));
+    }
+
+    /**
+     * @return the facility's cached layout, reloaded if it has expired or does not know one of
+     * the locations and has not already been reloaded for it
+     * @throws InvalidReferenceException if a location is not in the facility
+     */
+    WarehouseLayout layoutFor(int tenantId, int facilityId, List<Integer> locationIds) {
+        LayoutKey key = new LayoutKey(tenantId, facilityId);
+        long now = System.nanoTime();
+        CachedLayout cached;
+        synchronized (layouts) {
+            cached = layouts.get(key);
+        }
+        if (cached == null || now - cached.loadedAt() > layoutTtlNanos || cached.mayFindNew(locationIds)) {
+            cached = new CachedLayout(WarehouseLayout.of(loadSlots(tenantId, facilityId), aisleSpacing, bayWidth), now,
+                    ConcurrentHashMap.newKeySet());
+            synchronized (layouts) {
+                layouts.put(key, cached);
+            }
+        }
+        for (Integer locationId : locationIds) {
+            if (!cached.layout().contains(locationId)) {
+                if (cached.misses().size() < MAX_MISSES_PER_LAYOUT) {
+                    cached.misses().add(locationId);
+                }
+                throw new InvalidReferenceException("StorageLocation", locationId, "sequence picks",
+                        "location is not in facility " + facilityId);
+            }
+        }
+        return cached.layout();
+    }
+
+    List<WarehouseLayout.Slot> loadSlots(int tenantId, int facilityId) {
+        List<?> rows = entityManager.createNativeQuery(LAYOUT_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("facilityId", facilityId)
+                .getResultList();
+        List<WarehouseLayout.Slot> slots = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            slots.add(new WarehouseLayout.Slot(((Number) columns[0]).intValue(), (String) columns[1], (String) columns[2]));
+        }
+        return slots;
+    }
+
+    /**
+     * @return the task, locked until the transaction ends, or null if the tenant has no such task
+     */
+    PickTask lockTask(int tenantId, int pickTaskId) {
+        List<?> rows = entityManager.createNativeQuery(LOCK_TASK_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("pickTaskId", pickTaskId)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] columns = (Object[]) rows.get(0);
+        return new PickTask(((Number) columns[0]).intValue(), (String) columns[1]);
+    }
+
+    /**
+     * @return pick_task_item_id and location_id of the task's items, in their current sequence
+     */
+    List<int[]> loadTaskItems(int pickTaskId) {
+        List<?> rows = entityManager.createNativeQuery(TASK_ITEMS_SQL)
+                .setParameter("pickTaskId", pickTaskId)
+                .getResultList();
+        List<int[]> items = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            items.add(new int[] {((Number) columns[0]).intValue(), ((Number) columns[1]).intValue()});
+        }
+        return items;
+    }
+
+    void writeTaskSequence(int pickTaskId, List<Integer> itemIds, BigDecimal distanceMeters, int locations) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            if (!itemIds.isEmpty()) {
+                try (PreparedStatement statement = connection.prepareStatement(PARK_SEQUENCES_SQL)) {
+                    statement.setInt(1, pickTaskId);
+                    statement.executeUpdate();
+                }
+                try (PreparedStatement statement = connection.prepareStatement(RESEQUENCE_ITEMS_SQL)) {
+                    statement.setArray(1, connection.createArrayOf("integer", itemIds.toArray()));
+                    statement.setInt(2, pickTaskId);
+                    statement.executeUpdate();
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_TASK_SQL)) {
+                statement.setBigDecimal(1, distanceMeters);
+                statement.setInt(2, locations);
+                statement.setInt(3, pickTaskId);
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    record PickTask(int facilityId, String status) {
+    }
+
+    private record LayoutKey(int tenantId, int facilityId) {
+    }
+
+    /**
+     * @param misses location IDs the layout was loaded without and requests have asked for since
+     */
+    private record CachedLayout(WarehouseLayout layout, long loadedAt, Set<Integer> misses) {
+
+        /**
+         * @return whether reloading could find one of the locations
+         */
+        boolean mayFindNew(List<Integer> locationIds) {
+            for (Integer locationId : locationIds) {
+                if (!layout.contains(locationId) && !misses.contains(locationId)
+                        && misses.size() < MAX_MISSES_PER_LAYOUT) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private record Result(PickSequence sequence, PickSequenceDto dto) {
+    }
+}
@@ -0,0 +1,313 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.dto.PutawaySuggestionDto;
+import com.superware.wms.inventory.dto.PutawaySuggestionRunDto;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.service.PutawayService;
+import com.superware.wms.inventory.service.putaway.PutawayLine;
+import com.superware.wms.inventory.service.putaway.PutawayPlanner;
+import com.superware.wms.inventory.service.putaway.PutawayRule;
+import com.superware.wms.inventory.service.putaway.ZoneCapacityIndex;
+import com.superware.wms.tenant.context.TenantScope;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implementation of the PutawayService interface.
+ * <p>
+ * Each facility's compiled putaway rules and {@link ZoneCapacityIndex} are loaded with three
+ * queries and cached for {@code index-ttl}. The index starts from the stock in each location
+ * plus what pending tasks have already been sent there, and every suggestion made takes its
+ * space off the cached index, so consecutive receipts do not compete for the same room. An
+ * expired index is reloaded outside the cache's lock and swapped in for the next run; runs
+ * already planning on the old one keep it. A run that fails marks the cached index for reload,
+ * since it may hold space taken by suggestions that were rolled back. A receipt's tasks are
+ * locked, placed in memory by {@link PutawayPlanner} and their suggested_location_id written
+ * with one statement.
+ * <p>
+ * putaway_rules target putaway_zones, while locations belong to storage_zones; a rule's target
+ * is the facility's storage zone with the same zone code. Rules whose conditions do not compile
+ * are logged and ignored.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.putaway.enabled", havingValue = "true")
+public class PutawayServiceImpl implements PutawayService {
+
+    private static final Logger log = LoggerFactory.getLogger(PutawayServiceImpl.class);
+
+    private static final Set<String> STAGING_ZONE_TYPES = Set.of("RECEIVING", "SHIPPING", "STAGING", "QA");
+
+    private static final String TASKS_SQL =
+            "SELECT t.task_id, t.product_id, p.category_id, t.reference_type, t.quantity_remaining, "
+            + "COALESCE(p.weight_kg, 0), COALESCE(p.volume_m3, 0), p.is_hazardous, p.is_perishable, "
+            + "p.requires_temperature_control, t.source_location_id "
+            + "FROM putaway_tasks t JOIN products p ON p.product_id = t.product_id "
+            + "WHERE t.tenant_id = :tenantId AND t.reference_type = :referenceType AND t.reference_id = :referenceId "
+            + "AND t.task_status = 'PENDING' AND t.suggested_location_id IS NULL AND t.is_deleted IS NOT TRUE "
+            + "AND t.quantity_remaining > 0 "
+            + "AND (t.source_location_id IS NULL OR EXISTS (SELECT 1 FROM storage_locations l "
+            + "JOIN storage_zones z ON z.zone_id = l.zone_id "
+            + "WHERE l.location_id = t.source_location_id AND z.facility_id = :facilityId)) "
+            + "ORDER BY t.priority, t.task_id "
+            + "FOR UPDATE OF t";
+
+    private static final String LOCATIONS_SQL =
+            "SELECT l.location_id, l.zone_id, l.aisle, l.bay, l.max_weight, l.max_volume, "
+            + "CAST(z.zone_type AS VARCHAR), z.is_temperature_controlled "
+            + "FROM storage_locations l JOIN storage_zones z ON z.zone_id = l.zone_id "
+            + "JOIN warehouse_facilities f ON f.facility_id = z.facility_id "
+            + "WHERE f.tenant_id = :tenantId AND z.facility_id = :facilityId "
+            + "AND l.is_active IS NOT FALSE AND l.is_deleted IS NOT TRUE "
+            + "AND z.is_active IS NOT FALSE AND z.is_deleted IS NOT TRUE";
+
+    // Stock in the locations plus what open tasks are already bringing there
+    private static final String STOCK_SQL =
+            "SELECT s.location_id, s.product_id, SUM(s.quantity), SUM(s.quantity * COALESCE(p.weight_kg, 0)), "
+            + "SUM(s.quantity * COALESCE(p.volume_m3, 0)) "
+            + "FROM (SELECT i.location_id, i.product_id, i.quantity_on_hand AS quantity FROM inventory_items i "
+            + "WHERE i.tenant_id = :tenantId AND i.facility_id = :facilityId AND i.location_id IS NOT NULL "
+            + "AND i.is_deleted IS NOT TRUE AND i.quantity_on_hand > 0 "
+            + "UNION ALL "
+            + "SELECT t.suggested_location_id, t.product_id, t.quantity_remaining FROM putaway_tasks t "
+            + "WHERE t.tenant_id = :tenantId AND t.suggested_location_id IS NOT NULL "
+            + "AND t.task_status IN ('PENDING', 'IN_PROGRESS') AND t.is_deleted IS NOT TRUE "
+            + "AND t.quantity_remaining > 0) s "
+            + "LEFT JOIN products p ON p.product_id = s.product_id "
+            + "GROUP BY s.location_id, s.product_id";
+
+    private static final String RULES_SQL =
+            "SELECT r.rule_id, r.priority, CAST(r.conditions AS TEXT), r.target_zone_id, "
+            + "r.max_quantity_per_location, sz.zone_id "
+            + "FROM putaway_rules r LEFT JOIN putaway_zones pz ON pz.zone_id = r.target_zone_id "
+            + "LEFT JOIN storage_zones sz ON sz.facility_id = pz.facility_id AND sz.zone_code = pz.zone_code "
+            + "AND sz.is_deleted IS NOT TRUE "
+            + "WHERE r.tenant_id = :tenantId AND r.is_active IS NOT FALSE "
+            + "AND (r.target_zone_id IS NULL OR (pz.facility_id = :facilityId AND pz.is_active IS NOT FALSE)) "
+            + "ORDER BY r.priority, r.rule_id";
+
+    private static final String WRITE_SUGGESTIONS_SQL =
+            "UPDATE putaway_tasks t SET suggested_location_id = u.location_id, updated_at = CURRENT_TIMESTAMP "
+            + "FROM unnest(CAST(? AS INT[]), CAST(? AS INT[])) AS u(task_id, location_id) "
+            + "WHERE t.tenant_id = ? AND t.task_id = u.task_id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate writeTransaction;
+    private final ZoneCapacityIndex.Weights weights;
+    private final double aisleSpacing;
+    private final double bayWidth;
+    private final long indexTtlNanos;
+    private final Map<FacilityKey, CachedFacility> facilities = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PutawayServiceImpl(PlatformTransactionManager transactionManager,
+                              @Value("${inventory.putaway.affinity-weight:1.0}") double affinityWeight,
+                              @Value("${inventory.putaway.fit-weight:0.5}") double fitWeight,
+                              @Value("${inventory.putaway.proximity-weight:0.5}") double proximityWeight,
+                              @Value("${inventory.pick-path.aisle-spacing-m:3.0}") double aisleSpacing,
+                              @Value("${inventory.pick-path.bay-width-m:1.2}") double bayWidth,
+                              @Value("${inventory.putaway.index-ttl:PT1M}") Duration indexTtl) {
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.weights = new ZoneCapacityIndex.Weights(affinityWeight, fitWeight, proximityWeight);
+        this.aisleSpacing = aisleSpacing;
+        this.bayWidth = bayWidth;
+        this.indexTtlNanos = indexTtl.toNanos();
+    }
+
+    @Override
+    public PutawaySuggestionRunDto suggestLocations(Integer tenantId, Integer facilityId, String referenceType,
+                                                    Integer referenceId) {
+        long start = System.nanoTime();
+        AtomicReference<CachedFacility> used = new AtomicReference<>();
+        PutawaySuggestionRunDto result;
+        try {
+            result = TenantScope.call(tenantId, () -> writeTransaction.execute(status ->
+                    suggestInTransaction(tenantId, facilityId, referenceType, referenceId, used)));
+        } catch (RuntimeException e) {
+            if (used.get() != null) {
+                used.get().stale().set(true);
+            }
+            throw e;
+        }
+        result.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        log.info("Suggested putaway locations for {} {} of tenant {} in facility {}: {} of {} tasks in {} ms",
+                referenceType, referenceId, tenantId, facilityId, result.getTasksSuggested(),
+                result.getTasksConsidered(), result.getDurationMs());
+        return result;
+    }
+
+    private PutawaySuggestionRunDto suggestInTransaction(int tenantId, int facilityId, String referenceType,
+                                                         int referenceId, AtomicReference<CachedFacility> used) {
+        List<PutawayLine> lines = lockTasks(tenantId, facilityId, referenceType, referenceId);
+        if (lines.isEmpty()) {
+            return new PutawaySuggestionRunDto(tenantId, facilityId, referenceType, referenceId, 0, 0, 0, 0,
+                    List.of());
+        }
+
+        CachedFacility facility = facilityFor(tenantId, facilityId);
+        used.set(facility);
+        long start = System.nanoTime();
+        List<PutawayPlanner.Suggestion> suggestions;
+        synchronized (facility.index()) {
+            suggestions = facility.planner().plan(facility.index(), lines);
+        }
+        long micros = (System.nanoTime() - start) / 1_000;
+
+        List<Integer> taskIds = new ArrayList<>();
+        List<Integer> locationIds = new ArrayList<>();
+        List<PutawaySuggestionDto> dtos = new ArrayList<>(suggestions.size());
+        for (int i = 0; i < suggestions.size(); i++) {
+            PutawayPlanner.Suggestion suggestion = suggestions.get(i);
+            if (suggestion.locationId() != null) {
+                taskIds.add(suggestion.taskId());
+                locationIds.add(suggestion.locationId());
+            }
+            dtos.add(new PutawaySuggestionDto(suggestion.taskId(), lines.get(i).productId(), suggestion.locationId(),
+                    suggestion.ruleId()));
+        }
+        if (!taskIds.isEmpty()) {
+            writeSuggestions(tenantId, taskIds, locationIds);
+        }
+        return new PutawaySuggestionRunDto(tenantId, facilityId, referenceType, referenceId, lines.size(),
+                taskIds.size(), micros, 0, dtos);
+    }
+
+    /**
+     * @return the facility's cached rules and capacity index, reloaded first if they have
+     *         expired or were marked stale
+     */
+    CachedFacility facilityFor(int tenantId, int facilityId) {
+        FacilityKey key = new FacilityKey(tenantId, facilityId);
+        CachedFacility cached = facilities.get(key);
+        long now = System.nanoTime();
+        if (cached != null && !cached.stale().get() && now - cached.loadedAt() <= indexTtlNanos) {
+            return cached;
+        }
+        ZoneCapacityIndex index = ZoneCapacityIndex.of(loadLocations(tenantId, facilityId),
+                loadStock(tenantId, facilityId), aisleSpacing, bayWidth);
+        CachedFacility loaded = new CachedFacility(new PutawayPlanner(loadRules(tenantId, facilityId), weights), index,
+                now, new AtomicBoolean());
+        // Keep an entry another run swapped in while this one was loading
+        return facilities.compute(key, (k, current) ->
+                current == null || current == cached || current.stale().get() ? loaded : current);
+    }
+
+    /**
+     * @return the receipt's pending tasks without a suggestion, locked until the transaction ends
+     */
+    List<PutawayLine> lockTasks(int tenantId, int facilityId, String referenceType, int referenceId) {
+        List<?> rows = entityManager.createNativeQuery(TASKS_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("facilityId", facilityId)
+                .setParameter("referenceType", referenceType)
+                .setParameter("referenceId", referenceId)
+                .getResultList();
+        List<PutawayLine> lines = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            lines.add(new PutawayLine(((Number) columns[0]).intValue(), ((Number) columns[1]).intValue(),
+                    columns[2] != null ? ((Number) columns[2]).intValue() : null, (String) columns[3],
+                    Quantity.toUnits((BigDecimal) columns[4]), ((Number) columns[5]).doubleValue(),
+                    ((Number) columns[6]).doubleValue(), Boolean.TRUE.equals(columns[7]),
+                    Boolean.TRUE.equals(columns[8]), Boolean.TRUE.equals(columns[9]),
+                    columns[10] != null ? ((Number) columns[10]).intValue() : null));
+        }
+        return lines;
+    }
+
+    List<ZoneCapacityIndex.Location> loadLocations(int tenantId, int facilityId) {
+        List<?> rows = entityManager.createNativeQuery(LOCATIONS_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("facilityId", facilityId)
+                .getResultList();
+        List<ZoneCapacityIndex.Location> locations = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            String zoneType = (String) columns[6];
+            locations.add(new ZoneCapacityIndex.Location(((Number) columns[0]).intValue(),
+                    ((Number) columns[1]).intValue(), (String) columns[2], (String) columns[3],
+                    columns[4] != null ? ((Number) columns[4]).doubleValue() : null,
+                    columns[5] != null ? ((Number) columns[5]).doubleValue() : null,
+                    zoneType == null || !STAGING_ZONE_TYPES.contains(zoneType), "HAZMAT".equals(zoneType),
+                    Boolean.TRUE.equals(columns[7]) || "COLD_STORAGE".equals(zoneType)));
+        }
+        return locations;
+    }
+
+    List<ZoneCapacityIndex.Stock> loadStock(int tenantId, int facilityId) {
+        List<?> rows = entityManager.createNativeQuery(STOCK_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("facilityId", facilityId)
+                .getResultList();
+        List<ZoneCapacityIndex.Stock> stock = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            stock.add(new ZoneCapacityIndex.Stock(((Number) columns[0]).intValue(), ((Number) columns[1]).intValue(),
+                    Quantity.toUnits((BigDecimal) columns[2]), ((Number) columns[3]).doubleValue(),
+                    ((Number) columns[4]).doubleValue()));
+        }
+        return stock;
+    }
+
+    List<PutawayRule> loadRules(int tenantId, int facilityId) {
+        List<?> rows = entityManager.createNativeQuery(RULES_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("facilityId", facilityId)
+                .getResultList();
+        List<PutawayRule> rules = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            int ruleId = ((Number) columns[0]).intValue();
+            int[] zoneIds = columns[3] == null ? null
+                    : columns[5] == null ? new int[0] : new int[] {((Number) columns[5]).intValue()};
+            try {
+                rules.add(PutawayRule.compile(ruleId, ((Number) columns[1]).intValue(), (String) columns[2], zoneIds,
+                        columns[4] != null ? Quantity.toUnits((BigDecimal) columns[4]) : null));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring putaway rule {} of tenant {}: {}", ruleId, tenantId, e.getMessage());
+            }
+        }
+        return rules;
+    }
+
+    void writeSuggestions(int tenantId, List<Integer> taskIds, List<Integer> locationIds) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(WRITE_SUGGESTIONS_SQL)) {
+                statement.setArray(1, connection.createArrayOf("integer", taskIds.toArray()));
+                statement.setArray(2, connection.createArrayOf("integer", locationIds.toArray()));
+                statement.setInt(3, tenantId);
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    private record FacilityKey(int tenantId, int facilityId) {
+    }
+
+    /**
+     * @param stale whether the index must be reloaded before the next run
+     */
+    record CachedFacility(PutawayPlanner planner, ZoneCapacityIndex index, long loadedAt, AtomicBoolean stale) {
+    }
+}
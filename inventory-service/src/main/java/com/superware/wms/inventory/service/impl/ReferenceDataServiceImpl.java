@@ -0,0 +1,429 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.exception.InvalidReferenceException;
+import com.superware.wms.inventory.exception.LocationCapacityExceededException;
+import com.superware.wms.inventory.repository.InventoryItemRepository;
+import com.superware.wms.inventory.service.ReferenceDataService;
+import com.superware.wms.inventory.service.reference.ProductRef;
+import com.superware.wms.inventory.service.reference.StorageLocationRef;
+import com.superware.wms.inventory.service.reference.TenantReferenceData;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of the ReferenceDataService interface.
+ * <p>
+ * Each tenant's storage locations and products are loaded with one query per table and kept
+ * in an access-ordered map bounded by the total number of cached rows; the least recently used
+ * tenants are evicted first. Data older than {@code refresh-after} is still served while a
+ * background reload replaces it, so only a tenant's first lookup, or one after
+ * {@code expire-after} of inactivity, waits for the database. A tenant too large for the bound
+ * on its own is not cached and is looked up row by row instead.
+ * <p>
+ * A product or location missing from a tenant's cached data may have been created since the
+ * load, so it is looked up on its own. IDs not found there either are remembered for
+ * {@code miss-ttl} in a map bounded by {@code max-misses}, so repeated lookups of a bad ID do
+ * not each reach the database.
+ * <p>
+ * Stock already at a location is live data and is not cached: the capacity check sums it with
+ * a single query, and only when the destination has a weight or volume limit. The destination's
+ * row is locked first, so concurrent putaways into one location are checked one after the other
+ * and cannot both fit into the same remaining capacity.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.reference-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ReferenceDataServiceImpl implements ReferenceDataService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataServiceImpl.class);
+
+    private static final String LOCATIONS_SQL =
+            "SELECT l.location_id, l.zone_id, z.facility_id, CAST(l.location_type AS VARCHAR), l.is_active IS NOT FALSE, "
+            + "l.max_weight, l.max_volume, CAST(z.zone_type AS VARCHAR) FROM storage_locations l "
+            + "JOIN storage_zones z ON z.zone_id = l.zone_id "
+            + "JOIN warehouse_facilities f ON f.facility_id = z.facility_id "
+            + "WHERE f.tenant_id = :tenantId AND l.is_deleted IS NOT TRUE";
+
+    private static final String PRODUCTS_SQL =
+            "SELECT p.product_id, p.unit_of_measure, p.weight_kg, p.volume_m3, p.is_lot_tracked IS TRUE, "
+            + "p.is_active IS NOT FALSE FROM products p WHERE p.tenant_id = :tenantId AND p.is_deleted IS NOT TRUE";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final InventoryItemRepository inventoryItemRepository;
+    private final TransactionTemplate readTransaction;
+    private final long maxEntries;
+    private final long refreshAfterNanos;
+    private final long expireAfterNanos;
+    private final long missTtlNanos;
+
+    private final LinkedHashMap<Integer, TenantReferenceData> tenants = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedEntries;
+    // Tenants found too large to cache, with the nanoTime they were last measured at
+    private final Map<Integer, Long> oversized = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<TenantReferenceData>> loading = new ConcurrentHashMap<>();
+    private final Set<Integer> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refresher;
+    // IDs found in neither the cache nor the database, with the nanoTime of the lookup
+    private final LinkedHashMap<Miss, Long> misses;
+
+    @Autowired
+    public ReferenceDataServiceImpl(InventoryItemRepository inventoryItemRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${inventory.reference-cache.max-entries:2000000}") long maxEntries,
+                                    @Value("${inventory.reference-cache.refresh-after:PT5M}") Duration refreshAfter,
+                                    @Value("${inventory.reference-cache.expire-after:PT30M}") Duration expireAfter,
+                                    @Value("${inventory.reference-cache.refresh-threads:2}") int refreshThreads,
+                                    @Value("${inventory.reference-cache.max-misses:100000}") int maxMisses,
+                                    @Value("${inventory.reference-cache.miss-ttl:PT1M}") Duration missTtl) {
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.maxEntries = maxEntries;
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.expireAfterNanos = expireAfter.toNanos();
+        this.missTtlNanos = missTtl.toNanos();
+        this.misses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Miss, Long> eldest) {
+                return size() > maxMisses;
+            }
+        };
+        this.refresher = Executors.newFixedThreadPool(refreshThreads, runnable -> {
+            Thread thread = new Thread(runnable, "reference-data-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        refresher.shutdownNow();
+    }
+
+    @Override
+    public Optional<StorageLocationRef> findLocation(Integer locationId) {
+        if (locationId == null) {
+            return Optional.empty();
+        }
+        int tenantId = currentTenant();
+        TenantReferenceData data = tenantData(tenantId);
+        StorageLocationRef location = data != null ? data.locations().get(locationId) : null;
+        return location != null ? Optional.of(location)
+                : lookUp(new Miss(tenantId, true, locationId), () -> loadLocation(tenantId, locationId));
+    }
+
+    @Override
+    public Optional<ProductRef> findProduct(Integer productId) {
+        if (productId == null) {
+            return Optional.empty();
+        }
+        int tenantId = currentTenant();
+        TenantReferenceData data = tenantData(tenantId);
+        ProductRef product = data != null ? data.products().get(productId) : null;
+        return product != null ? Optional.of(product)
+                : lookUp(new Miss(tenantId, false, productId), () -> loadProduct(tenantId, productId));
+    }
+
+    @Override
+    public void validateMovement(String transactionType, InventoryItem item, Quantity quantity,
+                                 Integer fromLocationId, Integer toLocationId) {
+        String action = switch (transactionType) {
+            case "RECEIPT" -> "receive stock";
+            case "ISSUE" -> "issue stock";
+            case "TRANSFER" -> "transfer stock";
+            default -> transactionType.toLowerCase();
+        };
+
+        ProductRef product = findProduct(item.getProductId())
+                .orElseThrow(() -> new InvalidReferenceException("Product", item.getProductId(), action, "product not found"));
+        if ("RECEIPT".equals(transactionType) && !product.active()) {
+            throw new InvalidReferenceException("Product", product.productId(), action, "product is inactive");
+        }
+
+        if (fromLocationId != null && findLocation(fromLocationId).isEmpty()) {
+            throw new InvalidReferenceException("StorageLocation", fromLocationId, action, "location not found");
+        }
+        // Stock may still leave an inactive location, but nothing is put away into one
+        if (toLocationId != null && !"ISSUE".equals(transactionType)) {
+            StorageLocationRef destination = findLocation(toLocationId)
+                    .orElseThrow(() -> new InvalidReferenceException("StorageLocation", toLocationId, action, "location not found"));
+            if (!destination.active()) {
+                throw new InvalidReferenceException("StorageLocation", toLocationId, action, "location is inactive");
+            }
+            if (!toLocationId.equals(fromLocationId)) {
+                checkCapacity(destination, product, quantity);
+            }
+        }
+    }
+
+    @Override
+    public void evict(Integer tenantId) {
+        synchronized (tenants) {
+            TenantReferenceData removed = tenants.remove(tenantId);
+            if (removed != null) {
+                cachedEntries -= removed.size();
+            }
+        }
+        oversized.remove(tenantId);
+        synchronized (misses) {
+            misses.keySet().removeIf(miss -> miss.tenantId() == tenantId);
+        }
+    }
+
+    private void checkCapacity(StorageLocationRef location, ProductRef product, Quantity quantity) {
+        boolean checkWeight = location.maxWeight() != null && product.weightKg() != null;
+        boolean checkVolume = location.maxVolume() != null && product.volumeM3() != null;
+        if (!checkWeight && !checkVolume) {
+            return;
+        }
+
+        lockLocation(location.locationId());
+        BigDecimal weight = checkWeight ? quantity.multiply(product.weightKg()) : BigDecimal.ZERO;
+        BigDecimal volume = checkVolume ? quantity.multiply(product.volumeM3()) : BigDecimal.ZERO;
+        for (InventoryItemRepository.LocationStock stock
+                : inventoryItemRepository.sumStockByProductAtLocation(currentTenant(), location.locationId())) {
+            if (stock.getQuantity() == null) {
+                continue;
+            }
+            ProductRef stored = stock.getProductId() == product.productId()
+                    ? product : findProduct(stock.getProductId()).orElse(null);
+            if (stored == null) {
+                continue;
+            }
+            if (checkWeight && stored.weightKg() != null) {
+                weight = weight.add(stock.getQuantity().multiply(stored.weightKg()));
+            }
+            if (checkVolume && stored.volumeM3() != null) {
+                volume = volume.add(stock.getQuantity().multiply(stored.volumeM3()));
+            }
+        }
+
+        if (checkWeight && weight.compareTo(location.maxWeight()) > 0) {
+            throw new LocationCapacityExceededException(location.locationId(), "weight", location.maxWeight(), weight);
+        }
+        if (checkVolume && volume.compareTo(location.maxVolume()) > 0) {
+            throw new LocationCapacityExceededException(location.locationId(), "volume", location.maxVolume(), volume);
+        }
+    }
+
+    // ---- cache ----
+
+    /**
+     * @return the tenant's data, or null if the tenant is too large to cache
+     */
+    TenantReferenceData tenantData(int tenantId) {
+        TenantReferenceData data;
+        synchronized (tenants) {
+            data = tenants.get(tenantId);
+        }
+        if (data != null) {
+            long age = System.nanoTime() - data.loadedAt();
+            if (age < expireAfterNanos) {
+                if (age >= refreshAfterNanos) {
+                    refreshInBackground(tenantId);
+                }
+                return data;
+            }
+        }
+        Long measured = oversized.get(tenantId);
+        if (measured != null && System.nanoTime() - measured < expireAfterNanos) {
+            return null;
+        }
+        return loadAndCache(tenantId);
+    }
+
+    /** Loads in the calling thread; concurrent callers for the same tenant wait for that one load. */
+    private TenantReferenceData loadAndCache(int tenantId) {
+        CompletableFuture<TenantReferenceData> mine = new CompletableFuture<>();
+        CompletableFuture<TenantReferenceData> running = loading.putIfAbsent(tenantId, mine);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            TenantReferenceData data = load(tenantId);
+            TenantReferenceData cached = cache(tenantId, data) ? data : null;
+            mine.complete(cached);
+            return cached;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(tenantId, mine);
+        }
+    }
+
+    private void refreshInBackground(int tenantId) {
+        if (!refreshing.add(tenantId)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                TenantContextHolder.setCurrentTenant(String.valueOf(tenantId));
+                try {
+                    cache(tenantId, readTransaction.execute(status -> load(tenantId)));
+                } catch (RuntimeException e) {
+                    log.warn("Refreshing reference data for tenant {} failed: {}", tenantId, e.getMessage());
+                } finally {
+                    TenantContextHolder.clear();
+                    refreshing.remove(tenantId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(tenantId);
+        }
+    }
+
+    /**
+     * @return false if the data alone is larger than the size bound and was not cached
+     */
+    private boolean cache(int tenantId, TenantReferenceData data) {
+        synchronized (tenants) {
+            TenantReferenceData previous = tenants.remove(tenantId);
+            if (previous != null) {
+                cachedEntries -= previous.size();
+            }
+            if (data.size() > maxEntries) {
+                oversized.put(tenantId, data.loadedAt());
+                log.info("Reference data of tenant {} ({} rows) exceeds the cache bound of {} and is not cached",
+                        tenantId, data.size(), maxEntries);
+                return false;
+            }
+            Iterator<TenantReferenceData> eldest = tenants.values().iterator();
+            while (cachedEntries + data.size() > maxEntries && eldest.hasNext()) {
+                cachedEntries -= eldest.next().size();
+                eldest.remove();
+            }
+            tenants.put(tenantId, data);
+            cachedEntries += data.size();
+            oversized.remove(tenantId);
+            return true;
+        }
+    }
+
+    private record Miss(int tenantId, boolean location, int id) {
+    }
+
+    /**
+     * Looks up a row missing from the cached data, unless it was also missing from the database
+     * within the last {@code miss-ttl}.
+     */
+    private <T> Optional<T> lookUp(Miss miss, Supplier<Optional<T>> loader) {
+        synchronized (misses) {
+            Long missedAt = misses.get(miss);
+            if (missedAt != null && System.nanoTime() - missedAt < missTtlNanos) {
+                return Optional.empty();
+            }
+        }
+        Optional<T> found = loader.get();
+        synchronized (misses) {
+            if (found.isEmpty()) {
+                misses.put(miss, System.nanoTime());
+            } else {
+                misses.remove(miss);
+            }
+        }
+        return found;
+    }
+
+    // ---- loading ----
+
+    /**
+     * Runs in the caller's transaction, or in a read-only one for background refreshes, so the
+     * queries are routed to the tenant's database like any other tenant query.
+     */
+    TenantReferenceData load(int tenantId) {
+        long start = System.nanoTime();
+        List<?> locationRows = entityManager.createNativeQuery(LOCATIONS_SQL)
+                .setParameter("tenantId", tenantId)
+                .getResultList();
+        List<?> productRows = entityManager.createNativeQuery(PRODUCTS_SQL)
+                .setParameter("tenantId", tenantId)
+                .getResultList();
+
+        Map<Integer, StorageLocationRef> locations = new HashMap<>(Math.max(16, locationRows.size() * 4 / 3 + 1));
+        for (Object row : locationRows) {
+            StorageLocationRef location = toLocation((Object[]) row);
+            locations.put(location.locationId(), location);
+        }
+        Map<Integer, ProductRef> products = new HashMap<>(Math.max(16, productRows.size() * 4 / 3 + 1));
+        for (Object row : productRows) {
+            ProductRef product = toProduct((Object[]) row);
+            products.put(product.productId(), product);
+        }
+        log.debug("Loaded {} locations and {} products of tenant {} in {} ms", locations.size(), products.size(),
+                tenantId, (System.nanoTime() - start) / 1_000_000);
+        return new TenantReferenceData(locations, products, start);
+    }
+
+    // Held until the movement's transaction ends
+    void lockLocation(int locationId) {
+        entityManager.createNativeQuery("SELECT location_id FROM storage_locations WHERE location_id = :locationId FOR UPDATE")
+                .setParameter("locationId", locationId)
+                .getResultList();
+    }
+
+    Optional<StorageLocationRef> loadLocation(int tenantId, int locationId) {
+        List<?> rows = entityManager.createNativeQuery(LOCATIONS_SQL + " AND l.location_id = :locationId")
+                .setParameter("tenantId", tenantId)
+                .setParameter("locationId", locationId)
+                .getResultList();
+        return rows.stream().findFirst().map(row -> toLocation((Object[]) row));
+    }
+
+    Optional<ProductRef> loadProduct(int tenantId, int productId) {
+        List<?> rows = entityManager.createNativeQuery(PRODUCTS_SQL + " AND p.product_id = :productId")
+                .setParameter("tenantId", tenantId)
+                .setParameter("productId", productId)
+                .getResultList();
+        return rows.stream().findFirst().map(row -> toProduct((Object[]) row));
+    }
+
+    private static StorageLocationRef toLocation(Object[] row) {
+        return new StorageLocationRef(((Number) row[0]).intValue(), ((Number) row[1]).intValue(),
+                ((Number) row[2]).intValue(), (String) row[3], Boolean.TRUE.equals(row[4]),
+                (BigDecimal) row[5], (BigDecimal) row[6], (String) row[7]);
+    }
+
+    private static ProductRef toProduct(Object[] row) {
+        return new ProductRef(((Number) row[0]).intValue(), (String) row[1], (BigDecimal) row[2],
+                (BigDecimal) row[3], Boolean.TRUE.equals(row[4]), Boolean.TRUE.equals(row[5]));
+    }
+
+    private static int currentTenant() {
+        return Integer.parseInt(TenantContextHolder.getCurrentTenant());
+    }
+}
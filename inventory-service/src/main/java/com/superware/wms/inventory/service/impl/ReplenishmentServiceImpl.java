@@ -0,0 +1,614 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.dto.ReplenishmentSweepDto;
+import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.service.ReferenceDataService;
+import com.superware.wms.inventory.service.ReplenishmentService;
+import com.superware.wms.inventory.service.reference.StorageLocationRef;
+import com.superware.wms.inventory.service.replenishment.ReplenishmentPolicy;
+import com.superware.wms.inventory.service.replenishment.ReplenishmentTask;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import com.superware.wms.tenant.context.TenantScope;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the ReplenishmentService interface.
+ * <p>
+ * Issues and transfers report their decrease after commit onto a bounded queue. One evaluator
+ * thread drains it in batches, sums the decreases per (tenant, product, variant, location) and
+ * re-checks only those pick faces: one query for the policies it has not cached, one for the
+ * current pick face stock. A pick face gets a task only when its decrease crossed the trigger
+ * level, so a face that was already short is not re-raised on every pick; the sweep covers
+ * those. The tasks of a batch are inserted as one JDBC batch, and an insert is skipped when
+ * the pick face already has an open task for the product and variant. The batch first takes an
+ * advisory lock on each of its pick faces, so a drain and a sweep that race on one face cannot
+ * both find it without a task.
+ * <p>
+ * The full sweep splits the tenant's policies into product ID ranges and evaluates them on a
+ * fixed pool, each range in its own transaction with a single grouped query.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.replenishment.enabled", havingValue = "true")
+public class ReplenishmentServiceImpl implements ReplenishmentService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplenishmentServiceImpl.class);
+
+    private static final String POLICY_COLUMNS =
+            "p.product_id, p.variant_id, p.min_stock_level, p.max_stock_level, p.reorder_point, p.reorder_quantity";
+
+    private static final String ACTIVE_POLICY = "p.is_active IS NOT FALSE AND p.is_deleted IS NOT TRUE";
+
+    private static final String PICK_FACE_JOIN =
+            "JOIN storage_locations l ON l.location_id = i.location_id JOIN storage_zones z ON z.zone_id = l.zone_id ";
+
+    private static final String POLICIES_SQL = "SELECT " + POLICY_COLUMNS + " FROM inventory_policies p "
+            + "WHERE p.tenant_id = :tenantId AND p.product_id IN (:productIds) AND " + ACTIVE_POLICY;
+
+    private static final String PICK_FACE_STOCK_SQL =
+            "SELECT i.product_id, i.variant_id, i.location_id, z.facility_id, SUM(i.quantity_on_hand) "
+            + "FROM inventory_items i " + PICK_FACE_JOIN
+            + "WHERE i.tenant_id = :tenantId AND i.product_id IN (:productIds) AND i.location_id IN (:locationIds) "
+            + "AND z.zone_type = 'PICKING' AND i.is_deleted IS NOT TRUE "
+            + "GROUP BY i.product_id, i.variant_id, i.location_id, z.facility_id";
+
+    private static final String RESERVE_STOCK_SQL =
+            "SELECT i.product_id, i.location_id, z.facility_id, SUM(i.quantity_on_hand - COALESCE(i.quantity_allocated, 0)) "
+            + "FROM inventory_items i " + PICK_FACE_JOIN
+            + "WHERE i.tenant_id = :tenantId AND i.product_id IN (:productIds) "
+            + "AND z.zone_type IS DISTINCT FROM 'PICKING' AND l.is_active IS NOT FALSE AND i.is_deleted IS NOT TRUE "
+            + "GROUP BY i.product_id, i.location_id, z.facility_id "
+            + "HAVING SUM(i.quantity_on_hand - COALESCE(i.quantity_allocated, 0)) > 0";
+
+    private static final String TRIGGER =
+            "CASE WHEN p.reorder_point > 0 THEN p.reorder_point ELSE p.min_stock_level END";
+
+    // Each pick face is tested against one policy, the variant's over the product's, as policyFor() picks it
+    private static final String SWEEP_SQL =
+            "SELECT s.product_id, s.variant_id, s.location_id, s.facility_id, s.on_hand, " + POLICY_COLUMNS + " "
+            + "FROM (SELECT i.product_id, i.variant_id, i.location_id, z.facility_id, SUM(i.quantity_on_hand) AS on_hand "
+            + "FROM inventory_items i " + PICK_FACE_JOIN
+            + "WHERE i.tenant_id = :tenantId AND i.product_id BETWEEN :fromProductId AND :toProductId "
+            + "AND z.zone_type = 'PICKING' AND i.is_deleted IS NOT TRUE "
+            + "GROUP BY i.product_id, i.variant_id, i.location_id, z.facility_id) s "
+            + "JOIN LATERAL (SELECT " + POLICY_COLUMNS + " FROM inventory_policies p "
+            + "WHERE p.tenant_id = :tenantId AND p.product_id = s.product_id "
+            + "AND (p.variant_id IS NULL OR p.variant_id = s.variant_id) AND " + ACTIVE_POLICY + " "
+            + "ORDER BY p.variant_id NULLS LAST LIMIT 1) p ON TRUE "
+            + "WHERE " + TRIGGER + " > 0 AND s.on_hand <= " + TRIGGER;
+
+    private static final String PRODUCT_RANGE_SQL = "SELECT MIN(p.product_id), MAX(p.product_id) "
+            + "FROM inventory_policies p WHERE p.tenant_id = :tenantId AND " + ACTIVE_POLICY;
+
+    private static final String POLICY_TENANTS_SQL =
+            "SELECT DISTINCT p.tenant_id FROM inventory_policies p WHERE " + ACTIVE_POLICY;
+
+    private static final String INSERT_TASK_SQL =
+            "INSERT INTO replenishment_tasks (tenant_id, task_number, task_type, priority, product_id, variant_id, "
+            + "quantity_to_replenish, quantity_replenished, quantity_remaining, from_location_id, to_location_id, "
+            + "task_status, trigger_type, notes) "
+            + "SELECT ?, ?, 'PICK_LOCATION_REPLENISH', ?, ?, ?, ?, 0, ?, ?, ?, 'PENDING', 'MIN_QTY', ? "
+            + "WHERE NOT EXISTS (SELECT 1 FROM replenishment_tasks t WHERE t.tenant_id = ? AND t.product_id = ? "
+            + "AND t.variant_id IS NOT DISTINCT FROM ? AND t.to_location_id = ? AND t.is_deleted IS NOT TRUE "
+            + "AND t.task_status IN ('PENDING', 'IN_PROGRESS', 'ON_HOLD', 'PARTIALLY_COMPLETED'))";
+
+    // Held to commit, so a concurrent batch sees the tasks inserted under the lock
+    private static final String LOCK_PICK_FACES_SQL = "SELECT pg_advisory_xact_lock(hashtext('inventory_replenishment'), l) "
+            + "FROM unnest(CAST(? AS INT[])) AS l ORDER BY l";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectProvider<ReferenceDataService> referenceDataService;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int batchSize;
+    private final int policyCacheSize;
+    private final long sweepChunkSize;
+
+    private final ArrayBlockingQueue<StockDecrease> decreases;
+    private final Map<Integer, Map<Integer, List<ReplenishmentPolicy>>> policies = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final ExecutorService sweepPool;
+    private Thread evaluator;
+    private volatile boolean running;
+
+    @Autowired
+    public ReplenishmentServiceImpl(ObjectProvider<ReferenceDataService> referenceDataService,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${inventory.replenishment.queue-capacity:100000}") int queueCapacity,
+                                    @Value("${inventory.replenishment.batch-size:500}") int batchSize,
+                                    @Value("${inventory.replenishment.policy-cache-size:200000}") int policyCacheSize,
+                                    @Value("${inventory.replenishment.sweep-chunk-size:50000}") long sweepChunkSize,
+                                    @Value("${inventory.replenishment.sweep-threads:4}") int sweepThreads) {
+        this.referenceDataService = referenceDataService;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.policyCacheSize = policyCacheSize;
+        this.sweepChunkSize = sweepChunkSize;
+        this.decreases = new ArrayBlockingQueue<>(queueCapacity);
+        this.sweepPool = Executors.newFixedThreadPool(sweepThreads, runnable -> {
+            Thread thread = new Thread(runnable, "replenishment-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        evaluator = new Thread(this::drain, "replenishment-evaluator");
+        evaluator.setDaemon(true);
+        evaluator.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        sweepPool.shutdownNow();
+        if (evaluator != null) {
+            evaluator.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    @Override
+    public void stockDecreased(InventoryItem item, Integer locationId, Quantity quantity) {
+        String tenantId = TenantContextHolder.getCurrentTenant();
+        if (tenantId == null || locationId == null || quantity == null || !quantity.isPositive()) {
+            return;
+        }
+        // Stock leaving reserve storage never triggers; skip it here when the location is cached
+        ReferenceDataService references = referenceDataService.getIfAvailable();
+        if (references != null) {
+            Optional<StorageLocationRef> location = references.findLocation(locationId);
+            if (location.isPresent() && !location.get().isPickFace()) {
+                return;
+            }
+        }
+
+        StockDecrease decrease = new StockDecrease(Integer.parseInt(tenantId), item.getProductId(),
+                item.getVariantId(), locationId, quantity.units());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(decrease);
+                }
+            });
+        } else {
+            enqueue(decrease);
+        }
+    }
+
+    @Override
+    public ReplenishmentSweepDto sweep(Integer tenantId) {
+        long start = System.nanoTime();
+        long[] range = TenantScope.call(tenantId, () -> readTransaction.execute(status -> loadProductRange(tenantId)));
+        if (range == null) {
+            return new ReplenishmentSweepDto(tenantId, 0, 0, 0, 0);
+        }
+
+        List<Callable<int[]>> chunks = new ArrayList<>();
+        for (long from = range[0]; from <= range[1]; from += sweepChunkSize) {
+            long to = Math.min(from + sweepChunkSize - 1, range[1]);
+            long chunkFrom = from;
+            chunks.add(() -> TenantScope.call(tenantId, () -> writeTransaction.execute(status -> {
+                List<Shortage> shortages = loadShortages(tenantId, chunkFrom, to);
+                return new int[] {shortages.size(), writeTasks(tenantId, planTasks(tenantId, shortages))};
+            })));
+        }
+
+        int shortages = 0;
+        int created = 0;
+        try {
+            for (Future<int[]> chunk : sweepPool.invokeAll(chunks)) {
+                int[] result = chunk.get();
+                shortages += result[0];
+                created += result[1];
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replenishment sweep of tenant " + tenantId + " was interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Replenishment sweep of tenant {}: {} shortages in {} chunks, {} tasks created in {} ms",
+                tenantId, shortages, chunks.size(), created, durationMs);
+        return new ReplenishmentSweepDto(tenantId, chunks.size(), shortages, created, durationMs);
+    }
+
+    /**
+     * Sweep every tenant with active policies in the shared schema. Disabled unless
+     * {@code inventory.replenishment.sweep-cron} is set.
+     */
+    @Scheduled(cron = "${inventory.replenishment.sweep-cron:-}")
+    public void sweepAllTenants() {
+        List<Integer> tenantIds = readTransaction.execute(status -> entityManager.createNativeQuery(POLICY_TENANTS_SQL)
+                .getResultList().stream().map(id -> ((Number) id).intValue()).toList());
+        for (Integer tenantId : tenantIds) {
+            try {
+                sweep(tenantId);
+            } catch (RuntimeException e) {
+                log.error("Replenishment sweep of tenant {} failed", tenantId, e);
+            }
+        }
+    }
+
+    @Override
+    public void evictPolicies(Integer tenantId) {
+        policies.remove(tenantId);
+    }
+
+    /**
+     * Decreases dropped because the queue was full since startup; the next sweep covers them.
+     */
+    public long getDroppedDecreases() {
+        return dropped.sum();
+    }
+
+    private void enqueue(StockDecrease decrease) {
+        if (!decreases.offer(decrease)) {
+            dropped.increment();
+            log.debug("Replenishment queue full, dropped decrease of product {} at location {}",
+                    decrease.productId(), decrease.locationId());
+        }
+    }
+
+    private void drain() {
+        List<StockDecrease> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                StockDecrease first = decreases.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                decreases.drainTo(batch, batchSize - 1);
+                evaluate(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void evaluate(List<StockDecrease> batch) {
+        Map<Integer, List<StockDecrease>> byTenant = batch.stream()
+                .collect(Collectors.groupingBy(StockDecrease::tenantId, LinkedHashMap::new, Collectors.toList()));
+        byTenant.forEach((tenantId, tenantDecreases) -> {
+            try {
+                TenantScope.call(tenantId,
+                        () -> writeTransaction.execute(status -> evaluateTenant(tenantId, tenantDecreases)));
+            } catch (RuntimeException e) {
+                log.warn("Replenishment check of {} decreases for tenant {} failed: {}",
+                        tenantDecreases.size(), tenantId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * @return the number of tasks created
+     */
+    int evaluateTenant(int tenantId, List<StockDecrease> tenantDecreases) {
+        Map<PickFace, Long> decreasedUnits = new HashMap<>();
+        for (StockDecrease decrease : tenantDecreases) {
+            decreasedUnits.merge(new PickFace(decrease.productId(), decrease.variantId(), decrease.locationId()),
+                    decrease.units(), Long::sum);
+        }
+
+        Map<Integer, List<ReplenishmentPolicy>> tenantPolicies = policiesFor(tenantId,
+                decreasedUnits.keySet().stream().map(PickFace::productId).collect(Collectors.toSet()));
+        decreasedUnits.keySet().removeIf(face -> policyFor(tenantPolicies, face.productId(), face.variantId()) == null);
+        if (decreasedUnits.isEmpty()) {
+            return 0;
+        }
+
+        Set<Integer> productIds = new TreeSet<>();
+        Set<Integer> locationIds = new TreeSet<>();
+        decreasedUnits.keySet().forEach(face -> {
+            productIds.add(face.productId());
+            locationIds.add(face.locationId());
+        });
+        List<Shortage> crossed = new ArrayList<>();
+        for (PickFaceStock stock : loadPickFaceStock(tenantId, productIds, locationIds)) {
+            Long units = decreasedUnits.get(stock.face());
+            if (units == null) {
+                continue;
+            }
+            ReplenishmentPolicy policy = policyFor(tenantPolicies, stock.face().productId(), stock.face().variantId());
+            if (policy.crossedBy(stock.onHand(), Quantity.ofUnits(units))) {
+                crossed.add(new Shortage(stock.face(), stock.facilityId(), stock.onHand(), policy));
+            }
+        }
+        return crossed.isEmpty() ? 0 : writeTasks(tenantId, planTasks(tenantId, crossed));
+    }
+
+    /**
+     * Size each task to the policy and pick its source: within the pick face's facility, the
+     * reserve location whose available stock covers the quantity most tightly, otherwise the one
+     * with the most. Stock assigned to a task is not offered to the next one.
+     */
+    List<ReplenishmentTask> planTasks(int tenantId, List<Shortage> shortages) {
+        if (shortages.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> productIds = shortages.stream().map(shortage -> shortage.face().productId())
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<Integer, List<ReserveStock>> reserves = loadReserveStock(tenantId, productIds).stream()
+                .collect(Collectors.groupingBy(ReserveStock::productId));
+
+        List<ReplenishmentTask> tasks = new ArrayList<>(shortages.size());
+        for (Shortage shortage : shortages) {
+            Quantity quantity = shortage.policy().quantityToReplenish(shortage.onHand());
+            if (!quantity.isPositive()) {
+                continue;
+            }
+            ReserveStock source = null;
+            for (ReserveStock reserve : reserves.getOrDefault(shortage.face().productId(), List.of())) {
+                if (reserve.facilityId() != shortage.facilityId() || reserve.availableUnits <= 0) {
+                    continue;
+                }
+                if (source == null || betterSource(reserve, source, quantity.units())) {
+                    source = reserve;
+                }
+            }
+            if (source != null) {
+                source.availableUnits -= Math.min(source.availableUnits, quantity.units());
+            }
+            tasks.add(new ReplenishmentTask(shortage.face().productId(), shortage.face().variantId(),
+                    source != null ? source.locationId() : null, shortage.face().locationId(), quantity,
+                    shortage.policy().priority(shortage.onHand()), shortage.onHand()));
+        }
+        return tasks;
+    }
+
+    private static boolean betterSource(ReserveStock candidate, ReserveStock current, long needed) {
+        boolean candidateCovers = candidate.availableUnits >= needed;
+        boolean currentCovers = current.availableUnits >= needed;
+        if (candidateCovers != currentCovers) {
+            return candidateCovers;
+        }
+        return candidateCovers
+                ? candidate.availableUnits < current.availableUnits
+                : candidate.availableUnits > current.availableUnits;
+    }
+
+    private Map<Integer, List<ReplenishmentPolicy>> policiesFor(int tenantId, Collection<Integer> productIds) {
+        Map<Integer, List<ReplenishmentPolicy>> cached = policies.computeIfAbsent(tenantId, id -> new ConcurrentHashMap<>());
+        List<Integer> missing = productIds.stream().filter(id -> !cached.containsKey(id)).sorted().toList();
+        if (!missing.isEmpty()) {
+            if (cached.size() + missing.size() > policyCacheSize) {
+                cached.clear();
+            }
+            Map<Integer, List<ReplenishmentPolicy>> loaded = loadPolicies(tenantId, missing).stream()
+                    .collect(Collectors.groupingBy(ReplenishmentPolicy::productId));
+            for (Integer productId : missing) {
+                // Products without a policy are cached too, as an empty list
+                cached.put(productId, loaded.getOrDefault(productId, List.of()));
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * The variant's own policy if it has one, otherwise the product's.
+     */
+    private static ReplenishmentPolicy policyFor(Map<Integer, List<ReplenishmentPolicy>> tenantPolicies,
+                                                 int productId, Integer variantId) {
+        ReplenishmentPolicy productPolicy = null;
+        for (ReplenishmentPolicy policy : tenantPolicies.getOrDefault(productId, List.of())) {
+            if (policy.variantId() == null) {
+                productPolicy = policy;
+            } else if (policy.variantId().equals(variantId)) {
+                return policy;
+            }
+        }
+        return productPolicy;
+    }
+
+    List<ReplenishmentPolicy> loadPolicies(int tenantId, Collection<Integer> productIds) {
+        List<?> rows = entityManager.createNativeQuery(POLICIES_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("productIds", productIds)
+                .getResultList();
+        return rows.stream().map(row -> toPolicy((Object[]) row, 0)).toList();
+    }
+
+    List<PickFaceStock> loadPickFaceStock(int tenantId, Collection<Integer> productIds, Collection<Integer> locationIds) {
+        List<?> rows = entityManager.createNativeQuery(PICK_FACE_STOCK_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("productIds", productIds)
+                .setParameter("locationIds", locationIds)
+                .getResultList();
+        List<PickFaceStock> stock = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            stock.add(new PickFaceStock(toFace(columns), ((Number) columns[3]).intValue(), quantity(columns[4])));
+        }
+        return stock;
+    }
+
+    List<ReserveStock> loadReserveStock(int tenantId, Collection<Integer> productIds) {
+        List<?> rows = entityManager.createNativeQuery(RESERVE_STOCK_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("productIds", productIds)
+                .getResultList();
+        List<ReserveStock> reserves = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            reserves.add(new ReserveStock(((Number) columns[0]).intValue(), ((Number) columns[1]).intValue(),
+                    ((Number) columns[2]).intValue(), quantity(columns[3]).units()));
+        }
+        return reserves;
+    }
+
+    /**
+     * @return the lowest and highest product ID with an active policy, or null if there is none
+     */
+    long[] loadProductRange(int tenantId) {
+        Object[] row = (Object[]) entityManager.createNativeQuery(PRODUCT_RANGE_SQL)
+                .setParameter("tenantId", tenantId)
+                .getSingleResult();
+        return row[0] == null ? null : new long[] {((Number) row[0]).longValue(), ((Number) row[1]).longValue()};
+    }
+
+    List<Shortage> loadShortages(int tenantId, long fromProductId, long toProductId) {
+        List<?> rows = entityManager.createNativeQuery(SWEEP_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("fromProductId", fromProductId)
+                .setParameter("toProductId", toProductId)
+                .getResultList();
+        List<Shortage> shortages = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            shortages.add(new Shortage(toFace(columns), ((Number) columns[3]).intValue(), quantity(columns[4]),
+                    toPolicy(columns, 5)));
+        }
+        return shortages;
+    }
+
+    /**
+     * @return the number of tasks inserted
+     */
+    int writeTasks(int tenantId, List<ReplenishmentTask> tasks) {
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            Integer[] locationIds = tasks.stream().map(ReplenishmentTask::toLocationId).distinct().sorted()
+                    .toArray(Integer[]::new);
+            try (PreparedStatement statement = connection.prepareStatement(LOCK_PICK_FACES_SQL)) {
+                statement.setArray(1, connection.createArrayOf("integer", locationIds));
+                statement.execute();
+            }
+            int created = 0;
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_TASK_SQL)) {
+                for (int i = 0; i < tasks.size(); i++) {
+                    ReplenishmentTask task = tasks.get(i);
+                    statement.setInt(1, tenantId);
+                    statement.setString(2, "RPL-" + UUID.randomUUID());
+                    statement.setInt(3, task.priority());
+                    statement.setInt(4, task.productId());
+                    statement.setObject(5, task.variantId(), Types.INTEGER);
+                    statement.setBigDecimal(6, task.quantity().toBigDecimal());
+                    statement.setBigDecimal(7, task.quantity().toBigDecimal());
+                    statement.setObject(8, task.fromLocationId(), Types.INTEGER);
+                    statement.setInt(9, task.toLocationId());
+                    statement.setString(10, "Pick face at " + task.onHand() + (task.fromLocationId() == null
+                            ? "; no reserve stock found in the facility" : ""));
+                    statement.setInt(11, tenantId);
+                    statement.setInt(12, task.productId());
+                    statement.setObject(13, task.variantId(), Types.INTEGER);
+                    statement.setInt(14, task.toLocationId());
+                    statement.addBatch();
+                    if ((i + 1) % batchSize == 0 || i == tasks.size() - 1) {
+                        for (int count : statement.executeBatch()) {
+                            created += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+                        }
+                    }
+                }
+            }
+            return created;
+        });
+    }
+
+    private static ReplenishmentPolicy toPolicy(Object[] row, int offset) {
+        return new ReplenishmentPolicy(((Number) row[offset]).intValue(),
+                row[offset + 1] != null ? ((Number) row[offset + 1]).intValue() : null,
+                quantity(row[offset + 2]), quantity(row[offset + 3]), quantity(row[offset + 4]), quantity(row[offset + 5]));
+    }
+
+    private static PickFace toFace(Object[] row) {
+        return new PickFace(((Number) row[0]).intValue(), row[1] != null ? ((Number) row[1]).intValue() : null,
+                ((Number) row[2]).intValue());
+    }
+
+    private static Quantity quantity(Object value) {
+        return value == null ? Quantity.ZERO : Quantity.of((BigDecimal) value);
+    }
+
+    record StockDecrease(int tenantId, int productId, Integer variantId, int locationId, long units) {
+    }
+
+    record PickFace(int productId, Integer variantId, int locationId) {
+    }
+
+    record PickFaceStock(PickFace face, int facilityId, Quantity onHand) {
+    }
+
+    record Shortage(PickFace face, int facilityId, Quantity onHand, ReplenishmentPolicy policy) {
+    }
+
+    static final class ReserveStock {
+        private final int productId;
+        private final int locationId;
+        private final int facilityId;
+        private long availableUnits;
+
+        ReserveStock(int productId, int locationId, int facilityId, long availableUnits) {
+            this.productId = productId;
+            this.locationId = locationId;
+            this.facilityId = facilityId;
+            this.availableUnits = availableUnits;
+        }
+
+        int productId() {
+            return productId;
+        }
+
+        int locationId() {
+            return locationId;
+        }
+
+        int facilityId() {
+            return facilityId;
+        }
+    }
+}
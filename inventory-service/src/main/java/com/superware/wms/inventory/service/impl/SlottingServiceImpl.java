@@ -0,0 +1,427 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.dto.SlottingMoveDto;
+import com.superware.wms.inventory.dto.SlottingPlanDto;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.service.SlottingService;
+import com.superware.wms.inventory.service.picking.WarehouseLayout;
+import com.superware.wms.inventory.service.slotting.PickZones;
+import com.superware.wms.inventory.service.slotting.SlottingOptimizer;
+import com.superware.wms.tenant.context.TenantScope;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Implementation of the SlottingService interface.
+ * <p>
+ * A run reads the facility's storage locations, its pick zones, the stock in each location and
+ * the number of completed ISSUE lines per product over the last {@code window-days} of
+ * inventory_transactions, five queries in all. A location's travel cost is the round trip from
+ * the depot in the pick-path distance model plus its pick zone's average pick time, converted to
+ * meters at {@code walk-speed-mps}; locations in overflow pick zones are not offered as targets.
+ * A product's picks are shared among its locations by quantity. {@link SlottingOptimizer} then
+ * chooses the moves on a dedicated fork-join pool.
+ * <p>
+ * Stock only moves between storage zones of the same type and temperature control, and staging
+ * zones take no part. Stock that is allocated or not AVAILABLE stays where it is, as do locations
+ * that already have a pending slotting transfer from the window. When asked to, the moves are
+ * recorded as PENDING TRANSFER transactions, one per direction, with a detail per item in the
+ * source location, using two array-bound statements; nothing is moved until they are carried
+ * out. Runs that create transfers for one facility are serialized by an advisory lock.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.slotting.enabled", havingValue = "true")
+public class SlottingServiceImpl implements SlottingService {
+
+    private static final Logger log = LoggerFactory.getLogger(SlottingServiceImpl.class);
+
+    static final String REFERENCE_TYPE = "SLOTTING";
+
+    private static final Set<String> STAGING_ZONE_TYPES = Set.of("RECEIVING", "SHIPPING", "STAGING", "QA");
+
+    private static final DateTimeFormatter TRANSFER_STAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+
+    private static final String LOCK_FACILITY_SQL = "SELECT pg_advisory_xact_lock(hashtext('inventory_slotting'), ?)";
+
+    private static final String LOCATIONS_SQL =
+            "SELECT l.location_id, l.aisle, l.bay, l.level, l.max_weight, l.max_volume, "
+            + "CAST(z.zone_type AS VARCHAR), z.is_temperature_controlled "
+            + "FROM storage_locations l JOIN storage_zones z ON z.zone_id = l.zone_id "
+            + "JOIN warehouse_facilities f ON f.facility_id = z.facility_id "
+            + "WHERE f.tenant_id = :tenantId AND z.facility_id = :facilityId "
+            + "AND l.is_active IS NOT FALSE AND l.is_deleted IS NOT TRUE "
+            + "AND z.is_active IS NOT FALSE AND z.is_deleted IS NOT TRUE";
+
+    private static final String PICK_ZONES_SQL =
+            "SELECT zone_id, min_aisle, max_aisle, min_level, max_level, is_overflow, average_pick_time_seconds "
+            + "FROM pick_zones WHERE tenant_id = :tenantId AND facility_id = :facilityId AND is_active IS NOT FALSE";
+
+    private static final String STOCK_SQL =
+            "SELECT i.location_id, i.product_id, SUM(i.quantity_on_hand), "
+            + "SUM(i.quantity_on_hand * COALESCE(p.weight_kg, 0)), SUM(i.quantity_on_hand * COALESCE(p.volume_m3, 0)), "
+            + "BOOL_OR(i.quantity_allocated > 0 OR i.status <> 'AVAILABLE') "
+            + "FROM inventory_items i LEFT JOIN products p ON p.product_id = i.product_id "
+            + "WHERE i.tenant_id = :tenantId AND i.facility_id = :facilityId AND i.location_id IS NOT NULL "
+            + "AND i.is_deleted IS NOT TRUE AND i.quantity_on_hand > 0 "
+            + "GROUP BY i.location_id, i.product_id";
+
+    private static final String PICKS_SQL =
+            "SELECT i.product_id, COUNT(*) "
+            + "FROM inventory_transactions t "
+            + "JOIN inventory_transaction_details d ON d.transaction_id = t.transaction_id AND d.transaction_date = t.transaction_date "
+            + "JOIN inventory_items i ON i.tenant_id = t.tenant_id AND i.item_id = d.item_id "
+            + "WHERE t.tenant_id = :tenantId AND i.facility_id = :facilityId "
+            + "AND t.transaction_type = 'ISSUE' AND t.status = 'COMPLETED' "
+            + "AND t.is_deleted IS NOT TRUE AND d.is_deleted IS NOT TRUE "
+            + "AND t.transaction_date >= :since AND d.transaction_date >= :since "
+            + "GROUP BY i.product_id";
+
+    private static final String PENDING_TRANSFERS_SQL =
+            "SELECT source_id, destination_id FROM inventory_transactions "
+            + "WHERE tenant_id = :tenantId AND transaction_type = 'TRANSFER' AND status = 'PENDING' "
+            + "AND reference_type = '" + REFERENCE_TYPE + "' AND is_deleted IS NOT TRUE AND transaction_date >= :since";
+
+    private static final String INSERT_TRANSFERS_SQL =
+            "INSERT INTO inventory_transactions (tenant_id, transaction_type, status, reference_number, reference_type, "
+            + "source_type, source_id, destination_type, destination_id, notes) "
+            + "SELECT ?, CAST('TRANSFER' AS transaction_type), CAST('PENDING' AS transaction_status), ?, "
+            + "'" + REFERENCE_TYPE + "', 'LOCATION', m.from_id, 'LOCATION', m.to_id, ? "
+            + "FROM unnest(CAST(? AS INT[]), CAST(? AS INT[])) AS m(from_id, to_id) "
+            + "RETURNING transaction_id, source_id";
+
+    // The parents' transaction_date defaults to the same CURRENT_TIMESTAMP
+    private static final String INSERT_TRANSFER_DETAILS_SQL =
+            "INSERT INTO inventory_transaction_details (transaction_id, transaction_date, item_id, quantity, "
+            + "unit_of_measure, unit_cost, lot_number, serial_number, from_location_id, to_location_id) "
+            + "SELECT m.transaction_id, CURRENT_TIMESTAMP, i.item_id, i.quantity_on_hand, i.unit_of_measure, "
+            + "i.unit_cost, i.lot_number, i.serial_number, m.from_id, m.to_id "
+            + "FROM unnest(CAST(? AS INT[]), CAST(? AS INT[]), CAST(? AS INT[])) AS m(transaction_id, from_id, to_id) "
+            + "JOIN inventory_items i ON i.tenant_id = ? AND i.facility_id = ? AND i.location_id = m.from_id "
+            + "WHERE i.is_deleted IS NOT TRUE AND i.quantity_on_hand > 0";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final ForkJoinPool pool;
+    private final SlottingOptimizer optimizer;
+    private final int windowDays;
+    private final double walkSpeed;
+    private final double aisleSpacing;
+    private final double bayWidth;
+    private final int defaultMaxMoves;
+
+    @Autowired
+    public SlottingServiceImpl(PlatformTransactionManager transactionManager,
+                               @Value("${inventory.slotting.window-days:90}") int windowDays,
+                               @Value("${inventory.slotting.walk-speed-mps:1.0}") double walkSpeed,
+                               @Value("${inventory.pick-path.aisle-spacing-m:3.0}") double aisleSpacing,
+                               @Value("${inventory.pick-path.bay-width-m:1.2}") double bayWidth,
+                               @Value("${inventory.slotting.scan-limit:1024}") int scanLimit,
+                               @Value("${inventory.slotting.min-travel-saved-m-per-day:1.0}") double minTravelSaved,
+                               @Value("${inventory.slotting.default-max-moves:100}") int defaultMaxMoves,
+                               @Value("${inventory.slotting.parallelism:4}") int parallelism) {
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.pool = new ForkJoinPool(parallelism);
+        this.optimizer = new SlottingOptimizer(pool, scanLimit, minTravelSaved);
+        this.windowDays = windowDays;
+        this.walkSpeed = walkSpeed;
+        this.aisleSpacing = aisleSpacing;
+        this.bayWidth = bayWidth;
+        this.defaultMaxMoves = defaultMaxMoves;
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public SlottingPlanDto proposeMoves(Integer tenantId, Integer facilityId, Integer maxMoves,
+                                        boolean createTransfers) {
+        long start = System.nanoTime();
+        int limit = maxMoves == null || maxMoves <= 0 ? defaultMaxMoves : maxMoves;
+        TransactionTemplate transaction = createTransfers ? writeTransaction : readTransaction;
+        SlottingPlanDto result = TenantScope.call(tenantId, () -> transaction.execute(status ->
+                proposeInTransaction(tenantId, facilityId, limit, createTransfers)));
+        result.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        log.info("Proposed {} re-slot moves for tenant {} in facility {} saving {} m/day, {} transfers created, "
+                + "in {} ms", result.getMovesProposed(), tenantId, facilityId,
+                Math.round(result.getTravelSavedMetersPerDay()), result.getTransfersCreated(),
+                result.getDurationMs());
+        return result;
+    }
+
+    private SlottingPlanDto proposeInTransaction(int tenantId, int facilityId, int maxMoves,
+                                                 boolean createTransfers) {
+        if (createTransfers) {
+            lockFacility(facilityId);
+        }
+        OffsetDateTime since = OffsetDateTime.now().minusDays(windowDays);
+        Set<Integer> pending = loadPendingTransferLocations(tenantId, since);
+        List<LocationRow> rows = new ArrayList<>();
+        for (LocationRow row : loadLocations(tenantId, facilityId)) {
+            if (!pending.contains(row.locationId())) {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return new SlottingPlanDto(tenantId, facilityId, windowDays, 0, 0, 0, 0, 0, 0, 0, List.of());
+        }
+
+        List<SlottingOptimizer.Location> locations = locationsOf(rows, PickZones.of(loadPickZones(tenantId,
+                facilityId)));
+        List<SlottingOptimizer.Contents> contents = contentsOf(loadStock(tenantId, facilityId),
+                loadPicks(tenantId, facilityId, since));
+        Set<Integer> occupied = new HashSet<>();
+        for (SlottingOptimizer.Contents content : contents) {
+            occupied.add(content.locationId());
+        }
+
+        long start = System.nanoTime();
+        List<SlottingOptimizer.Move> moves = optimizer.optimize(locations, contents, maxMoves);
+        long micros = (System.nanoTime() - start) / 1_000;
+
+        Map<Integer, Integer> transactionBySource = createTransfers && !moves.isEmpty()
+                ? createTransfers(tenantId, facilityId, moves) : Map.of();
+        double travelSaved = 0;
+        List<SlottingMoveDto> dtos = new ArrayList<>(moves.size());
+        for (SlottingOptimizer.Move move : moves) {
+            List<Integer> transactionIds = new ArrayList<>(2);
+            addIfPresent(transactionIds, transactionBySource.get(move.fromLocationId()));
+            if (move.swap()) {
+                addIfPresent(transactionIds, transactionBySource.get(move.toLocationId()));
+            }
+            travelSaved += move.travelSaved();
+            dtos.add(new SlottingMoveDto(dtos.size() + 1, move.fromLocationId(), move.toLocationId(), move.swap(),
+                    move.travelSaved(), transactionIds));
+        }
+        return new SlottingPlanDto(tenantId, facilityId, windowDays, locations.size(), occupied.size(), moves.size(),
+                transactionBySource.size(), travelSaved, micros, 0, dtos);
+    }
+
+    /**
+     * @return the locations with their travel cost per pick in meters and storage class
+     */
+    List<SlottingOptimizer.Location> locationsOf(List<LocationRow> rows, PickZones zones) {
+        List<WarehouseLayout.Slot> slots = new ArrayList<>(rows.size());
+        for (LocationRow row : rows) {
+            slots.add(new WarehouseLayout.Slot(row.locationId(), row.aisle(), row.bay()));
+        }
+        WarehouseLayout layout = WarehouseLayout.of(slots, aisleSpacing, bayWidth);
+        Map<String, Integer> classes = new HashMap<>();
+        List<SlottingOptimizer.Location> locations = new ArrayList<>(rows.size());
+        for (LocationRow row : rows) {
+            PickZones.PickZone zone = zones.zoneOf(row.aisle(), row.level());
+            double travel = 2 * layout.distance(0, 0, layout.aisleOf(row.locationId()),
+                    layout.depthOf(row.locationId()));
+            double cost = travel + (zone != null ? zone.pickSeconds() * walkSpeed : 0);
+            Integer storageClass = classes.computeIfAbsent(row.storageClass(), key -> classes.size());
+            locations.add(new SlottingOptimizer.Location(row.locationId(), storageClass, cost, row.maxWeightKg(),
+                    row.maxVolumeM3(), zone == null || !zone.overflow()));
+        }
+        return locations;
+    }
+
+    /**
+     * @return the stock of each location with its share of its product's picks per day
+     */
+    List<SlottingOptimizer.Contents> contentsOf(List<StockRow> stock, Map<Integer, Long> picks) {
+        Map<Integer, Long> unitsByProduct = new HashMap<>();
+        for (StockRow row : stock) {
+            unitsByProduct.merge(row.productId(), row.units(), Long::sum);
+        }
+        List<SlottingOptimizer.Contents> contents = new ArrayList<>(stock.size());
+        for (StockRow row : stock) {
+            double share = (double) row.units() / unitsByProduct.get(row.productId());
+            double picksPerDay = picks.getOrDefault(row.productId(), 0L) * share / windowDays;
+            contents.add(new SlottingOptimizer.Contents(row.locationId(), picksPerDay, row.weightKg(),
+                    row.volumeM3(), row.locked()));
+        }
+        return contents;
+    }
+
+    private static void addIfPresent(List<Integer> ids, Integer id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    void lockFacility(int facilityId) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(LOCK_FACILITY_SQL)) {
+                statement.setInt(1, facilityId);
+                statement.execute();
+            }
+        });
+    }
+
+    /**
+     * @return the slotting locations outside staging zones, classed by zone type and temperature control
+     */
+    List<LocationRow> loadLocations(int tenantId, int facilityId) {
+        List<?> rows = entityManager.createNativeQuery(LOCATIONS_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("facilityId", facilityId)
+                .getResultList();
+        List<LocationRow> locations = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            String zoneType = (String) columns[6];
+            if (zoneType != null && STAGING_ZONE_TYPES.contains(zoneType)) {
+                continue;
+            }
+            locations.add(new LocationRow(((Number) columns[0]).intValue(), (String) columns[1], (String) columns[2],
+                    (String) columns[3], columns[4] != null ? ((Number) columns[4]).doubleValue() : null,
+                    columns[5] != null ? ((Number) columns[5]).doubleValue() : null,
+                    zoneType + "/" + Boolean.TRUE.equals(columns[7])));
+        }
+        return locations;
+    }
+
+    List<PickZones.PickZone> loadPickZones(int tenantId, int facilityId) {
+        List<?> rows = entityManager.createNativeQuery(PICK_ZONES_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("facilityId", facilityId)
+                .getResultList();
+        List<PickZones.PickZone> zones = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            zones.add(new PickZones.PickZone(((Number) columns[0]).intValue(), (String) columns[1],
+                    (String) columns[2], (String) columns[3], (String) columns[4], Boolean.TRUE.equals(columns[5]),
+                    columns[6] != null ? ((Number) columns[6]).doubleValue() : 0));
+        }
+        return zones;
+    }
+
+    List<StockRow> loadStock(int tenantId, int facilityId) {
+        List<?> rows = entityManager.createNativeQuery(STOCK_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("facilityId", facilityId)
+                .getResultList();
+        List<StockRow> stock = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            stock.add(new StockRow(((Number) columns[0]).intValue(), ((Number) columns[1]).intValue(),
+                    Quantity.toUnits((BigDecimal) columns[2]), ((Number) columns[3]).doubleValue(),
+                    ((Number) columns[4]).doubleValue(), Boolean.TRUE.equals(columns[5])));
+        }
+        return stock;
+    }
+
+    /**
+     * @return the completed ISSUE lines per product of the facility since {@code since}
+     */
+    Map<Integer, Long> loadPicks(int tenantId, int facilityId, OffsetDateTime since) {
+        List<?> rows = entityManager.createNativeQuery(PICKS_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("facilityId", facilityId)
+                .setParameter("since", since)
+                .getResultList();
+        Map<Integer, Long> picks = new HashMap<>(rows.size() * 2);
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            picks.put(((Number) columns[0]).intValue(), ((Number) columns[1]).longValue());
+        }
+        return picks;
+    }
+
+    Set<Integer> loadPendingTransferLocations(int tenantId, OffsetDateTime since) {
+        List<?> rows = entityManager.createNativeQuery(PENDING_TRANSFERS_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("since", since)
+                .getResultList();
+        Set<Integer> locations = new HashSet<>();
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            for (Object column : columns) {
+                if (column != null) {
+                    locations.add(((Number) column).intValue());
+                }
+            }
+        }
+        return locations;
+    }
+
+    /**
+     * @return the ID of the transfer created out of each moved location
+     */
+    Map<Integer, Integer> createTransfers(int tenantId, int facilityId, List<SlottingOptimizer.Move> moves) {
+        List<Integer> from = new ArrayList<>();
+        List<Integer> to = new ArrayList<>();
+        for (SlottingOptimizer.Move move : moves) {
+            from.add(move.fromLocationId());
+            to.add(move.toLocationId());
+            if (move.swap()) {
+                from.add(move.toLocationId());
+                to.add(move.fromLocationId());
+            }
+        }
+        String referenceNumber = "SLOT-" + facilityId + "-" + LocalDateTime.now().format(TRANSFER_STAMP);
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            Map<Integer, Integer> transactionBySource = new HashMap<>(from.size() * 2);
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_TRANSFERS_SQL)) {
+                statement.setInt(1, tenantId);
+                statement.setString(2, referenceNumber);
+                statement.setString(3, "Re-slot by pick velocity");
+                statement.setArray(4, connection.createArrayOf("integer", from.toArray()));
+                statement.setArray(5, connection.createArrayOf("integer", to.toArray()));
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        transactionBySource.put(rs.getInt(2), rs.getInt(1));
+                    }
+                }
+            }
+            Integer[] transactionIds = new Integer[from.size()];
+            for (int i = 0; i < from.size(); i++) {
+                transactionIds[i] = transactionBySource.get(from.get(i));
+            }
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_TRANSFER_DETAILS_SQL)) {
+                statement.setArray(1, connection.createArrayOf("integer", transactionIds));
+                statement.setArray(2, connection.createArrayOf("integer", from.toArray()));
+                statement.setArray(3, connection.createArrayOf("integer", to.toArray()));
+                statement.setInt(4, tenantId);
+                statement.setInt(5, facilityId);
+                statement.executeUpdate();
+            }
+            return transactionBySource;
+        });
+    }
+
+    /**
+     * @param storageClass the zone type and temperature control the location shares stock with
+     */
+    record LocationRow(int locationId, String aisle, String bay, String level, Double maxWeightKg,
+                       Double maxVolumeM3, String storageClass) {
+    }
+
+    record StockRow(int locationId, int productId, long units, double weightKg, double volumeM3, boolean locked) {
+    }
+}
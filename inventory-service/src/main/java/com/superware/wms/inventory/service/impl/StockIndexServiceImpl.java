@@ -0,0 +1,400 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.config.TenantDeploymentModel;
+import com.superware.wms.inventory.config.TenantRoutingProperties;
+import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.service.StockIndexService;
+import com.superware.wms.inventory.service.stock.StockIndex;
+import com.superware.wms.inventory.service.stock.StockIndexSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of the StockIndexService interface.
+ * <p>
+ * The index is loaded in the background after startup by streaming inventory_items through
+ * a server-side cursor: rows are read as primitives straight into a {@link StockIndex} sized
+ * from the table statistics, so no entities are materialized and the tables are not rehashed
+ * during the load. Item changes reach the index through
+ * {@link com.superware.wms.inventory.service.stock.StockIndexEntityListener} after commit.
+ * The index holds the tenants in the shared schema only. Item IDs are only unique within a
+ * database, so tenants routed to their own schema or database are left out of the load, the
+ * replay and the listener, and {@link #covers(int)} sends their lookups to the database.
+ * <p>
+ * When {@code inventory.stock-index.snapshot.path} is set, the index is also written to a
+ * {@link StockIndexSnapshot} on a schedule. A restart then maps the snapshot instead of scanning
+ * inventory_items and re-reads only the items changed since its high-water mark: those updated
+ * after it, and those moved by inventory_transactions dated after it. The mark is pulled back by
+ * a safety margin to cover transactions that were still open when the snapshot was taken.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.stock-index.enabled", havingValue = "true")
+public class StockIndexServiceImpl implements StockIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockIndexServiceImpl.class);
+
+    private static final String ESTIMATE_SQL =
+            "SELECT COALESCE(SUM(GREATEST(c.reltuples, 0)), 0)::bigint FROM pg_partition_tree('inventory_items') t "
+            + "JOIN pg_class c ON c.oid = t.relid WHERE t.isleaf";
+
+    private static final String LOAD_SQL =
+            "SELECT item_id, tenant_id, product_id, facility_id, location_id, lot_number, "
+            + "(COALESCE(quantity_on_hand, 0) * 10000)::bigint, (COALESCE(quantity_allocated, 0) * 10000)::bigint "
+            + "FROM inventory_items WHERE is_deleted IS NOT TRUE";
+
+    private static final String TAIL_COLUMNS =
+            "SELECT i.item_id, i.tenant_id, i.product_id, i.facility_id, i.location_id, i.lot_number, "
+            + "(COALESCE(i.quantity_on_hand, 0) * 10000)::bigint, (COALESCE(i.quantity_allocated, 0) * 10000)::bigint, "
+            + "i.is_deleted IS TRUE FROM inventory_items i ";
+
+    // Deleted rows are included so the replay removes them from the index
+    private static final String TAIL_SQL =
+            TAIL_COLUMNS + "WHERE i.updated_at > ? "
+            + "UNION "
+            + TAIL_COLUMNS + "JOIN (SELECT DISTINCT t.tenant_id, d.item_id FROM inventory_transaction_details d "
+            + "JOIN inventory_transactions t ON t.transaction_id = d.transaction_id AND t.transaction_date = d.transaction_date "
+            + "WHERE d.transaction_date > ? AND t.transaction_date > ?) m "
+            + "ON m.tenant_id = i.tenant_id AND m.item_id = i.item_id";
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final long maxItems;
+    private final Path snapshotPath;
+    private final Duration replayMargin;
+    private final TenantRoutingProperties routing;
+
+    private volatile StockIndex index;
+    private volatile boolean rebuilding;
+    private final Queue<ItemState> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean rebuildRunning = new AtomicBoolean();
+
+    @Autowired
+    public StockIndexServiceImpl(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${inventory.stock-index.max-items:50000000}") long maxItems,
+                                 @Value("${inventory.stock-index.snapshot.path:}") String snapshotPath,
+                                 @Value("${inventory.stock-index.snapshot.replay-margin:PT5M}") Duration replayMargin,
+                                 ObjectProvider<TenantRoutingProperties> routing) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.maxItems = maxItems;
+        this.snapshotPath = snapshotPath == null || snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        this.replayMargin = replayMargin;
+        this.routing = routing.getIfAvailable();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread loader = new Thread(this::warmStart, "stock-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Restores the index from the snapshot if there is a usable one, otherwise loads it from the
+     * database and writes a first snapshot so the next restart is warm.
+     */
+    void warmStart() {
+        boolean snapshotPresent = snapshotPath != null && Files.isRegularFile(snapshotPath);
+        long items = replace(() -> {
+            StockIndex restored = snapshotPresent ? restoreSnapshot() : null;
+            return restored != null ? restored : loadFromDatabase();
+        });
+        if (items > 0) {
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * Periodic full reload, which also corrects any drift from bulk SQL that bypasses the entity listener.
+     */
+    @Scheduled(cron = "${inventory.stock-index.rebuild-cron:0 0 3 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    @Override
+    public boolean isReady() {
+        return index != null;
+    }
+
+    @Override
+    public boolean covers(int tenantId) {
+        return index != null && !routed(tenantId);
+    }
+
+    @Override
+    public long rebuild() {
+        return replace(this::loadFromDatabase);
+    }
+
+    /**
+     * Writes the current index to the snapshot file. Skipped while a rebuild is running, since
+     * the index being written could be replaced halfway through.
+     */
+    @Scheduled(cron = "${inventory.stock-index.snapshot.cron:0 */15 * * * *}")
+    public void writeSnapshot() {
+        if (snapshotPath == null || index == null || !rebuildRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            StockIndex current = index;
+            if (current == null) {
+                return;
+            }
+            long start = System.nanoTime();
+            // Database time, so the mark compares with updated_at and transaction_date
+            Timestamp now = jdbcTemplate.queryForObject("SELECT now()", Timestamp.class);
+            StockIndexSnapshot.write(current, now.toInstant(), snapshotPath);
+            log.info("Stock index snapshot of {} items written to {} in {} ms",
+                    current.getItemCount(), snapshotPath, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | DataAccessException e) {
+            log.warn("Could not write stock index snapshot to {}: {}", snapshotPath, e.getMessage());
+        } finally {
+            rebuildRunning.set(false);
+        }
+    }
+
+    /**
+     * Swaps in the index produced by {@code loader}, then replays the item changes that were
+     * committed while it was loading.
+     */
+    private long replace(Supplier<StockIndex> loader) {
+        if (!rebuildRunning.compareAndSet(false, true)) {
+            log.info("Stock index rebuild already running");
+            return 0;
+        }
+        rebuilding = true;
+        try {
+            StockIndex fresh = loader.get();
+            if (fresh == null) {
+                index = null;
+                pending.clear();
+                return -1;
+            }
+
+            index = fresh;
+            drainPending(fresh);
+            rebuilding = false;
+            drainPending(fresh);
+            return fresh.getItemCount();
+        } finally {
+            rebuilding = false;
+            rebuildRunning.set(false);
+        }
+    }
+
+    @Override
+    public void itemChanged(InventoryItem item) {
+        if (item.getItemId() == null || item.getTenantId() == null || item.getProductId() == null
+                || routed(item.getTenantId())) {
+            return;
+        }
+        ItemState state = new ItemState(item.getItemId(), item.getTenantId(), item.getProductId(),
+                item.getFacilityId() == null ? 0 : item.getFacilityId(), item.getLocationId(), item.getLotNumber(),
+                item.getQuantityOnHand() == null ? 0 : item.getQuantityOnHand().units(),
+                item.getQuantityAllocated() == null ? 0 : item.getQuantityAllocated().units(),
+                Boolean.TRUE.equals(item.getIsDeleted()));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(state);
+                }
+            });
+        } else {
+            apply(state);
+        }
+    }
+
+    @Override
+    public long[] getStock(int tenantId, int productId, Integer facilityId, Integer locationId, String lotNumber) {
+        StockIndex current = index;
+        if (current == null) {
+            throw new IllegalStateException("Stock index is not loaded");
+        }
+        if (routed(tenantId)) {
+            throw new IllegalStateException("Tenant " + tenantId + " is not in the stock index");
+        }
+        return current.sum(tenantId, productId, facilityId, locationId, lotNumber);
+    }
+
+    private void apply(ItemState state) {
+        // Queue first, then apply: an update that races the end of a rebuild either lands
+        // in the queue before the final drain or sees the new index.
+        if (rebuilding) {
+            pending.add(state);
+        }
+        StockIndex current = index;
+        if (current != null && !state.applyTo(current)) {
+            index = null;
+            log.warn("Stock index disabled: more than {} items", maxItems);
+        }
+    }
+
+    private void drainPending(StockIndex target) {
+        ItemState state;
+        while ((state = pending.poll()) != null) {
+            state.applyTo(target);
+        }
+    }
+
+    private StockIndex loadFromDatabase() {
+        long start = System.nanoTime();
+        StockIndex fresh = new StockIndex((int) Math.min(maxItems, estimateRows()), maxItems);
+        boolean complete = Boolean.TRUE.equals(readTransaction.execute(status -> load(fresh)));
+        if (!complete) {
+            log.warn("Stock index disabled: inventory_items holds more than {} items", maxItems);
+            return null;
+        }
+        log.info("Stock index loaded {} items into {} positions in {} ms",
+                fresh.getItemCount(), fresh.getPositionCount(), (System.nanoTime() - start) / 1_000_000);
+        return fresh;
+    }
+
+    private boolean load(StockIndex target) {
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(LOAD_SQL);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                if (routed(rs.getInt(2))) {
+                    return;
+                }
+                Integer locationId = rs.getInt(5);
+                if (rs.wasNull()) {
+                    locationId = null;
+                }
+                if (!target.update(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4), locationId,
+                        rs.getString(6), rs.getLong(7), rs.getLong(8), false)) {
+                    throw new IndexFullException();
+                }
+            });
+            return true;
+        } catch (IndexFullException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return the snapshot brought up to date from the database, or null if it could not be used
+     */
+    private StockIndex restoreSnapshot() {
+        long start = System.nanoTime();
+        StockIndexSnapshot.Snapshot snapshot;
+        try {
+            snapshot = StockIndexSnapshot.read(snapshotPath, maxItems);
+        } catch (IOException e) {
+            log.warn("Ignoring stock index snapshot: {}", e.getMessage());
+            return null;
+        }
+        long mapped = System.nanoTime();
+
+        Timestamp since = Timestamp.from(snapshot.highWaterMark().minus(replayMargin));
+        Boolean complete = readTransaction.execute(status -> replayTail(snapshot.index(), since));
+        if (!Boolean.TRUE.equals(complete)) {
+            log.warn("Ignoring stock index snapshot: replay exceeded {} items", maxItems);
+            return null;
+        }
+        log.info("Stock index restored {} items from {} in {} ms, replayed changes since {} in {} ms",
+                snapshot.index().getItemCount(), snapshotPath, (mapped - start) / 1_000_000,
+                since.toInstant(), (System.nanoTime() - mapped) / 1_000_000);
+        return snapshot.index();
+    }
+
+    private boolean replayTail(StockIndex target, Timestamp since) {
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(TAIL_SQL);
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setTimestamp(1, since);
+                statement.setTimestamp(2, since);
+                statement.setTimestamp(3, since);
+                return statement;
+            }, rs -> {
+                if (routed(rs.getInt(2))) {
+                    return;
+                }
+                Integer locationId = rs.getInt(5);
+                if (rs.wasNull()) {
+                    locationId = null;
+                }
+                if (!target.update(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4), locationId,
+                        rs.getString(6), rs.getLong(7), rs.getLong(8), rs.getBoolean(9))) {
+                    throw new IndexFullException();
+                }
+            });
+            return true;
+        } catch (IndexFullException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return whether the tenant is routed to its own schema or database
+     */
+    private boolean routed(int tenantId) {
+        if (routing == null) {
+            return false;
+        }
+        TenantRoutingProperties.TenantRoute route = routing.getRoute(String.valueOf(tenantId));
+        return route != null && route.getModel() != TenantDeploymentModel.SHARED_SCHEMA;
+    }
+
+    private long estimateRows() {
+        try {
+            Long estimate = jdbcTemplate.queryForObject(ESTIMATE_SQL, Long.class);
+            return estimate == null || estimate == 0 ? 1 << 16 : estimate + (estimate >> 4);
+        } catch (DataAccessException e) {
+            log.debug("Could not estimate inventory_items size: {}", e.getMessage());
+            return 1 << 16;
+        }
+    }
+
+    /** Stops the load cursor as soon as the size limit is hit. */
+    private static class IndexFullException extends RuntimeException {
+        IndexFullException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private record ItemState(int itemId, int tenantId, int productId, int facilityId, Integer locationId,
+                             String lotNumber, long onHand, long allocated, boolean deleted) {
+
+        boolean applyTo(StockIndex target) {
+            return target.update(itemId, tenantId, productId, facilityId, locationId, lotNumber,
+                    onHand, allocated, deleted);
+        }
+    }
+}
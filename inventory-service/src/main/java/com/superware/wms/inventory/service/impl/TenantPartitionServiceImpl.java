@@ -0,0 +1,30 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.service.TenantPartitionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of the TenantPartitionService interface backed by the
+ * create_tenant_partitions() database function (see V1.1__tenant_partitioning.sql).
+ */
+@Service
+@Transactional
+@ConditionalOnProperty(name = "inventory.partitioning.enabled", havingValue = "true")
+public class TenantPartitionServiceImpl implements TenantPartitionService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int createTenantPartitions(Integer tenantId) {
+        Number created = (Number) entityManager
+                .createNativeQuery("SELECT create_tenant_partitions(:tenantId)")
+                .setParameter("tenantId", tenantId)
+                .getSingleResult();
+        return created.intValue();
+    }
+}
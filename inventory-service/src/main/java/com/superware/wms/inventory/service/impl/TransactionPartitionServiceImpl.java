@@ -0,0 +1,179 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.service.TransactionPartitionService;
+import jakarta.annotation.PostConstruct;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implementation of the TransactionPartitionService interface backed by the
+ * create_transaction_month_partitions() database function (see V1.2__transaction_time_partitioning.sql).
+ * <p>
+ * Archived months are written as gzip-compressed CSV with a header row and can be restored
+ * with {@code COPY ... FROM PROGRAM 'gunzip -c <file>' (FORMAT csv, HEADER)} into a month
+ * partition recreated by the same function.
+ * <p>
+ * There is no DEFAULT month partition, so the upcoming months are also created at startup, and
+ * startup fails if next month's partitions are still missing rather than letting inserts start
+ * failing once the current month ends.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.transactions.partitioning.enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionPartitionServiceImpl implements TransactionPartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionPartitionServiceImpl.class);
+
+    private static final Pattern MONTH_PARTITION =
+            Pattern.compile("^(inventory_transactions|inventory_transaction_details)_y(\\d{4})m(\\d{2})$");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final Path archiveDir;
+
+    @Autowired
+    public TransactionPartitionServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            @Value("${inventory.transactions.partitioning.months-ahead:3}") int monthsAhead,
+            @Value("${inventory.transactions.partitioning.retention-months:24}") int retentionMonths,
+            @Value("${inventory.transactions.partitioning.archive-dir:archive/inventory-transactions}") String archiveDir) {
+        if (retentionMonths < 1) {
+            throw new IllegalArgumentException("Retention must be at least one month");
+        }
+        if (monthsAhead < 1) {
+            throw new IllegalArgumentException("Partitions must be created at least one month ahead");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archiveDir = Paths.get(archiveDir);
+    }
+
+    /**
+     * Nightly maintenance: keep future months ready so inserts never miss a partition,
+     * then move expired months out of the database.
+     */
+    @Scheduled(cron = "${inventory.transactions.partitioning.cron:0 30 2 * * *}")
+    public void maintainPartitions() {
+        int created = createUpcomingPartitions();
+        List<Path> archived = archiveExpiredPartitions();
+        log.info("Transaction partition maintenance created {} partitions and archived {}", created, archived.size());
+    }
+
+    @PostConstruct
+    public void ensureUpcomingPartitions() {
+        createUpcomingPartitions();
+        YearMonth next = YearMonth.now().plusMonths(1);
+        String suffix = String.format(Locale.ROOT, "_y%04dm%02d", next.getYear(), next.getMonthValue());
+        Boolean present = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL AND to_regclass(?) IS NOT NULL",
+                Boolean.class, "inventory_transactions" + suffix, "inventory_transaction_details" + suffix);
+        if (!Boolean.TRUE.equals(present)) {
+            throw new IllegalStateException("Transaction partitions for " + next + " are missing");
+        }
+    }
+
+    @Override
+    public int createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        int created = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            Date month = Date.valueOf(current.plusMonths(i).atDay(1));
+            Integer count = jdbcTemplate.queryForObject(
+                    "SELECT create_transaction_month_partitions(?)", Integer.class, month);
+            created += count != null ? count : 0;
+        }
+        return created;
+    }
+
+    @Override
+    public List<Path> archiveExpiredPartitions() {
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        List<String> tables = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_class c " +
+                "WHERE c.relnamespace = current_schema()::regnamespace " +
+                "AND c.relkind IN ('p', 'r') AND c.relname ~ '^inventory_(transactions|transaction_details)_y[0-9]{4}m[0-9]{2}$' " +
+                "ORDER BY c.relname",
+                String.class);
+
+        List<Path> archived = new ArrayList<>();
+        for (String table : tables) {
+            Matcher matcher = MONTH_PARTITION.matcher(table);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3)));
+            if (!month.isBefore(cutoff)) {
+                continue;
+            }
+            archived.add(archivePartition(matcher.group(1), table));
+        }
+        return archived;
+    }
+
+    private Path archivePartition(String parent, String table) {
+        Boolean attached = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_inherits WHERE inhrelid = to_regclass(?) AND inhparent = to_regclass(?))",
+                Boolean.class, table, parent);
+        if (Boolean.TRUE.equals(attached)) {
+            // CONCURRENTLY cannot be used inside a transaction, which is why this runs on plain JDBC
+            jdbcTemplate.execute("ALTER TABLE " + parent + " DETACH PARTITION " + table + " CONCURRENTLY");
+        }
+
+        Path target = archiveDir.resolve(table + ".csv.gz");
+        exportTable(table, target);
+        jdbcTemplate.execute("DROP TABLE " + table);
+        log.info("Archived partition {} to {}", table, target);
+        return target;
+    }
+
+    private void exportTable(String table, Path target) {
+        try {
+            Files.createDirectories(archiveDir);
+            Path temp = Files.createTempFile(archiveDir, table, ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+                 GZIPOutputStream out = new GZIPOutputStream(Channels.newOutputStream(channel), 64 * 1024)) {
+                // COPY cannot read a partitioned table directly, so select from it
+                jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                    try {
+                        return connection.unwrap(PGConnection.class).getCopyAPI()
+                                .copyOut("COPY (SELECT * FROM " + table + ") TO STDOUT (FORMAT csv, HEADER)", out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                out.finish();
+                // Make sure the archive is on disk before the partition is dropped
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive partition " + table, e);
+        }
+    }
+}
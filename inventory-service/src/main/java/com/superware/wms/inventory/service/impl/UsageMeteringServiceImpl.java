@@ -0,0 +1,313 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.service.UsageMeteringService;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of the UsageMeteringService interface.
+ * <p>
+ * Counts live in one {@link LongAdder} per tenant and UTC day, so recording a mutation never
+ * blocks and never touches the database. A flush drains the adders into a batch with a random
+ * ID and writes it in one transaction that first records the ID in inventory_usage_flushes; a
+ * batch whose ID is already there was applied before and is dropped. A batch that fails is kept
+ * and retried with the same ID ahead of newer counts. On shutdown whatever cannot be flushed is
+ * written to the spool directory and replayed on the next start, still under its ID, so a count
+ * reaches usage_tracking exactly once. Only counts taken since the last flush are lost if the
+ * process is killed outright.
+ * <p>
+ * usage_tracking lives in the shared database; tenants without a subscription covering the
+ * day are not billed and their counts are dropped with a warning.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.usage.enabled", havingValue = "true")
+public class UsageMeteringServiceImpl implements UsageMeteringService {
+
+    private static final Logger log = LoggerFactory.getLogger(UsageMeteringServiceImpl.class);
+
+    private static final String SPOOL_SUFFIX = ".usage";
+
+    private static final String CLAIM_BATCH_SQL =
+            "INSERT INTO inventory_usage_flushes (batch_id) VALUES (?) ON CONFLICT (batch_id) DO NOTHING";
+
+    private static final String UPSERT_USAGE_SQL =
+            "INSERT INTO usage_tracking (tenant_id, subscription_id, usage_date, transaction_count) "
+            + "SELECT u.tenant_id, s.subscription_id, u.usage_date, CAST(u.mutations AS INT) "
+            + "FROM unnest(CAST(? AS INT[]), CAST(? AS DATE[]), CAST(? AS BIGINT[])) AS u(tenant_id, usage_date, mutations) "
+            + "JOIN LATERAL (SELECT ts.subscription_id FROM tenant_subscriptions ts "
+            + "WHERE ts.tenant_id = u.tenant_id AND ts.subscription_start_date <= u.usage_date "
+            + "AND ts.subscription_end_date >= u.usage_date "
+            + "ORDER BY ts.subscription_status = 'ACTIVE' DESC, ts.subscription_start_date DESC LIMIT 1) s ON TRUE "
+            + "ON CONFLICT (tenant_id, subscription_id, usage_date) DO UPDATE SET "
+            + "transaction_count = usage_tracking.transaction_count + EXCLUDED.transaction_count";
+
+    private static final String PRUNE_FLUSHES_SQL =
+            "DELETE FROM inventory_usage_flushes WHERE flushed_at < CURRENT_TIMESTAMP - INTERVAL '30 days'";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate writeTransaction;
+    private final Path spoolDir;
+    private final ConcurrentHashMap<UsageKey, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Deque<UsageBatch> pending = new ArrayDeque<>();
+
+    @Autowired
+    public UsageMeteringServiceImpl(PlatformTransactionManager transactionManager,
+                                    @Value("${inventory.usage.spool-dir:spool/usage}") String spoolDir) {
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.spoolDir = spoolDir == null || spoolDir.isBlank() ? null : Path.of(spoolDir);
+    }
+
+    /**
+     * Picks up the batches the last shutdown could not flush.
+     */
+    @PostConstruct
+    public void start() {
+        if (spoolDir == null || !Files.isDirectory(spoolDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDir, "*" + SPOOL_SUFFIX)) {
+            for (Path file : files) {
+                UsageBatch batch = readSpool(file);
+                synchronized (pending) {
+                    pending.add(batch);
+                }
+                log.info("Recovered usage batch {} with {} counts from {}", batch.id(), batch.counts().size(), file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read usage spool " + spoolDir, e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            if (spoolDir == null) {
+                log.error("Dropping {} unflushed usage batches: no spool directory", pending.size());
+                return;
+            }
+            for (UsageBatch batch : pending) {
+                writeSpool(batch);
+            }
+            log.warn("Spooled {} unflushed usage batches to {}", pending.size(), spoolDir);
+        }
+    }
+
+    @Override
+    public void recordMutation() {
+        String tenant = TenantContextHolder.getCurrentTenant();
+        if (tenant == null) {
+            return;
+        }
+        int tenantId = Integer.parseInt(tenant);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(tenantId, 1);
+            return;
+        }
+        // Mutations of a transaction are counted on the side and only added once it commits
+        @SuppressWarnings("unchecked")
+        Map<Integer, Long> counts = (Map<Integer, Long>) TransactionSynchronizationManager.getResource(this);
+        if (counts == null) {
+            Map<Integer, Long> transactionCounts = new LinkedHashMap<>();
+            counts = transactionCounts;
+            TransactionSynchronizationManager.bindResource(this, transactionCounts);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(UsageMeteringServiceImpl.this);
+                    if (status == STATUS_COMMITTED) {
+                        transactionCounts.forEach(UsageMeteringServiceImpl.this::increment);
+                    }
+                }
+            });
+        }
+        counts.merge(tenantId, 1L, Long::sum);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.usage.flush-interval-ms:60000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @Override
+    public int flush() {
+        synchronized (pending) {
+            UsageBatch current = drain();
+            if (current != null) {
+                pending.add(current);
+            }
+            int written = 0;
+            Iterator<UsageBatch> batches = pending.iterator();
+            while (batches.hasNext()) {
+                UsageBatch batch = batches.next();
+                try {
+                    written += writeTransaction.execute(status -> writeBatch(batch));
+                } catch (RuntimeException e) {
+                    // Keep this and the newer batches for the next flush, in order
+                    log.warn("Usage flush of batch {} failed, {} batches pending: {}",
+                            batch.id(), pending.size(), e.getMessage());
+                    return written;
+                }
+                batches.remove();
+                deleteSpool(batch);
+            }
+            return written;
+        }
+    }
+
+    private void increment(int tenantId, long count) {
+        counters.computeIfAbsent(new UsageKey(tenantId, LocalDate.now(ZoneOffset.UTC)), k -> new LongAdder()).add(count);
+    }
+
+    /**
+     * @return the counts taken since the last drain, or null if there are none
+     */
+    private UsageBatch drain() {
+        LocalDate yesterday = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+        Map<UsageKey, Long> counts = new LinkedHashMap<>();
+        for (Map.Entry<UsageKey, LongAdder> entry : counters.entrySet()) {
+            long count = entry.getValue().sumThenReset();
+            if (count > 0) {
+                counts.put(entry.getKey(), count);
+            }
+            // Days before yesterday get no more increments
+            if (entry.getKey().date().isBefore(yesterday)) {
+                counters.remove(entry.getKey());
+            }
+        }
+        return counts.isEmpty() ? null : new UsageBatch(UUID.randomUUID(), counts);
+    }
+
+    // ---- database access ----
+
+    /**
+     * Adds the batch to usage_tracking unless an earlier attempt already did.
+     *
+     * @return the number of usage_tracking rows written
+     */
+    int writeBatch(UsageBatch batch) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(CLAIM_BATCH_SQL)) {
+                statement.setObject(1, batch.id());
+                if (statement.executeUpdate() == 0) {
+                    log.info("Usage batch {} was already applied", batch.id());
+                    return 0;
+                }
+            }
+            int size = batch.counts().size();
+            Integer[] tenantIds = new Integer[size];
+            String[] dates = new String[size];
+            Long[] mutations = new Long[size];
+            int i = 0;
+            for (Map.Entry<UsageKey, Long> entry : batch.counts().entrySet()) {
+                tenantIds[i] = entry.getKey().tenantId();
+                dates[i] = entry.getKey().date().toString();
+                mutations[i] = entry.getValue();
+                i++;
+            }
+            int written;
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT_USAGE_SQL)) {
+                statement.setArray(1, connection.createArrayOf("integer", tenantIds));
+                statement.setArray(2, connection.createArrayOf("text", dates));
+                statement.setArray(3, connection.createArrayOf("bigint", mutations));
+                written = statement.executeUpdate();
+            }
+            if (written < size) {
+                log.warn("Usage batch {}: {} of {} tenant days have no subscription and were not billed",
+                        batch.id(), size - written, size);
+            }
+            try (PreparedStatement statement = connection.prepareStatement(PRUNE_FLUSHES_SQL)) {
+                statement.executeUpdate();
+            }
+            return written;
+        });
+    }
+
+    // ---- spool files: one line per tenant day, "tenantId,date,count" ----
+
+    private void writeSpool(UsageBatch batch) {
+        List<String> lines = new ArrayList<>(batch.counts().size());
+        batch.counts().forEach((key, count) -> lines.add(key.tenantId() + "," + key.date() + "," + count));
+        try {
+            Files.createDirectories(spoolDir);
+            Path temp = Files.createTempFile(spoolDir, batch.id().toString(), ".tmp");
+            Files.write(temp, lines);
+            Files.move(temp, spoolDir.resolve(batch.id() + SPOOL_SUFFIX),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("Failed to spool usage batch {}, {} counts lost", batch.id(), batch.counts().size(), e);
+        }
+    }
+
+    private static UsageBatch readSpool(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        UUID id = UUID.fromString(name.substring(0, name.length() - SPOOL_SUFFIX.length()));
+        Map<UsageKey, Long> counts = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(file)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            counts.put(new UsageKey(Integer.parseInt(fields[0]), LocalDate.parse(fields[1])), Long.parseLong(fields[2]));
+        }
+        return new UsageBatch(id, counts);
+    }
+
+    private void deleteSpool(UsageBatch batch) {
+        if (spoolDir == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spoolDir.resolve(batch.id() + SPOOL_SUFFIX));
+        } catch (IOException e) {
+            // Replaying it is harmless: the batch ID is already recorded
+            log.warn("Failed to delete spooled usage batch {}: {}", batch.id(), e.getMessage());
+        }
+    }
+
+    record UsageKey(int tenantId, LocalDate date) {
+    }
+
+    record UsageBatch(UUID id, Map<UsageKey, Long> counts) {
+    }
+}
@@ -0,0 +1,470 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.dto.WavePlanDto;
+import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.service.StockIndexService;
+import com.superware.wms.inventory.service.WavePlanningService;
+import com.superware.wms.inventory.service.wave.PlannedWave;
+import com.superware.wms.inventory.service.wave.StockAllocator;
+import com.superware.wms.inventory.service.wave.WaveLimits;
+import com.superware.wms.inventory.service.wave.WaveOrder;
+import com.superware.wms.inventory.service.wave.WavePlanner;
+import com.superware.wms.tenant.context.TenantScope;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Implementation of the WavePlanningService interface.
+ * <p>
+ * Sales orders carry no facility, so a run plans one facility: the tenant's confirmed orders
+ * that are in no live wave are read with their lines in one query, the facility's available
+ * items of the ordered products are read and locked in a second, and everything else happens in
+ * memory. Orders are allocated most urgent first, first-expiry-first-out and all or nothing, so
+ * an order the stock cannot cover stays confirmed for a later run. The allocated orders are then
+ * grouped into waves by {@link WavePlanner} within the limits of the facility's pick route
+ * (the WAVE route if there is one). The waves, their assignments, one reservation per order with
+ * a detail per allocated item, the items' allocated quantities and the orders' status
+ * (PROCESSING) are written with six array-bound statements, whatever the number of orders.
+ * The allocated items bypass Hibernate, so their new state is passed to the stock index, which
+ * applies it on commit.
+ * <p>
+ * Priority comes from the order type (RUSH is 1, everything else 5), the cutoff from the
+ * required date and the carrier from the shipping method. Runs for one facility are serialized by
+ * an advisory lock. Orders are selected tenant-wide, so the selected orders are locked too and a
+ * concurrent run for another facility skips them instead of allocating them a second time.
+ */
+@Service
+@ConditionalOnProperty(name = "inventory.waves.enabled", havingValue = "true")
+public class WavePlanningServiceImpl implements WavePlanningService {
+
+    private static final Logger log = LoggerFactory.getLogger(WavePlanningServiceImpl.class);
+
+    static final int RUSH_PRIORITY = 1;
+    static final int DEFAULT_PRIORITY = 5;
+
+    private static final DateTimeFormatter WAVE_STAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+
+    private static final String LOCK_FACILITY_SQL = "SELECT pg_advisory_xact_lock(?, ?)";
+
+    private static final String ORDER_LINES_SQL =
+            "SELECT o.order_id, o.order_number, o.required_date, o.shipping_method, o.order_type, i.product_id, "
+            + "i.quantity_ordered - COALESCE(i.quantity_shipped, 0), COALESCE(p.weight_kg, 0) "
+            + "FROM sales_orders o JOIN sales_order_items i ON i.order_id = o.order_id "
+            + "LEFT JOIN products p ON p.product_id = i.product_id "
+            + "WHERE o.tenant_id = ? AND o.so_status = 'CONFIRMED' AND o.is_deleted IS NOT TRUE "
+            + "AND (o.required_date IS NULL OR o.required_date <= ?) "
+            + "AND i.quantity_ordered > COALESCE(i.quantity_shipped, 0) "
+            + "AND NOT EXISTS (SELECT 1 FROM picking_wave_assignments a JOIN picking_waves w ON w.wave_id = a.wave_id "
+            + "WHERE a.order_id = o.order_id AND w.wave_status <> 'CANCELLED' AND w.is_deleted IS NOT TRUE) "
+            + "ORDER BY o.order_id, i.line_number "
+            + "FOR UPDATE OF o SKIP LOCKED";
+
+    private static final String STOCK_SQL =
+            "SELECT i.item_id, i.product_id, l.zone_id, i.quantity_on_hand - i.quantity_allocated, i.unit_of_measure "
+            + "FROM inventory_items i LEFT JOIN storage_locations l ON l.location_id = i.location_id "
+            + "WHERE i.tenant_id = ? AND i.facility_id = ? AND i.product_id = ANY (?) AND i.status = 'AVAILABLE' "
+            + "AND i.is_deleted IS NOT TRUE AND i.quantity_on_hand > i.quantity_allocated "
+            + "ORDER BY i.product_id, i.expiry_date NULLS LAST, i.received_date, i.item_id "
+            + "FOR UPDATE OF i";
+
+    private static final String ROUTE_LIMITS_SQL = "SELECT max_items_per_picker, max_weight_per_pick FROM pick_routes "
+            + "WHERE tenant_id = :tenantId AND facility_id = :facilityId "
+            + "ORDER BY strategy = 'WAVE' DESC, route_id LIMIT 1";
+
+    private static final String INSERT_WAVES_SQL =
+            "INSERT INTO picking_waves (tenant_id, wave_number, wave_name, priority, wave_status, planned_date, "
+            + "total_orders, total_items, total_quantity, notes) "
+            + "SELECT ?, w.wave_number, w.wave_name, w.priority, 'PENDING', COALESCE(w.planned_date, CURRENT_DATE), "
+            + "w.total_orders, w.total_items, w.total_quantity, w.notes "
+            + "FROM unnest(CAST(? AS TEXT[]), CAST(? AS TEXT[]), CAST(? AS INT[]), CAST(? AS DATE[]), CAST(? AS INT[]), "
+            + "CAST(? AS INT[]), CAST(? AS NUMERIC[]), CAST(? AS TEXT[])) "
+            + "AS w(wave_number, wave_name, priority, planned_date, total_orders, total_items, total_quantity, notes) "
+            + "RETURNING wave_id, wave_number";
+
+    private static final String INSERT_ASSIGNMENTS_SQL =
+            "INSERT INTO picking_wave_assignments (wave_id, order_id, tenant_id, priority) "
+            + "SELECT a.wave_id, a.order_id, ?, a.priority "
+            + "FROM unnest(CAST(? AS INT[]), CAST(? AS INT[]), CAST(? AS INT[])) AS a(wave_id, order_id, priority)";
+
+    private static final String INSERT_RESERVATIONS_SQL =
+            "INSERT INTO inventory_reservations (tenant_id, reservation_type, status, reference_number, reference_type, "
+            + "reference_id, requested_date, priority, notes) "
+            + "SELECT ?, 'SALES_ORDER', 'ALLOCATED', r.order_number, 'SALES_ORDER', r.order_id, CURRENT_TIMESTAMP, "
+            + "r.priority, r.notes "
+            + "FROM unnest(CAST(? AS TEXT[]), CAST(? AS INT[]), CAST(? AS INT[]), CAST(? AS TEXT[])) "
+            + "AS r(order_number, order_id, priority, notes) "
+            + "RETURNING reservation_id, reference_id";
+
+    private static final String INSERT_RESERVATION_DETAILS_SQL =
+            "INSERT INTO inventory_reservation_details (reservation_id, item_id, quantity_requested, quantity_allocated, "
+            + "unit_of_measure) "
+            + "SELECT d.reservation_id, d.item_id, d.quantity, d.quantity, d.unit_of_measure "
+            + "FROM unnest(CAST(? AS INT[]), CAST(? AS INT[]), CAST(? AS NUMERIC[]), CAST(? AS TEXT[])) "
+            + "AS d(reservation_id, item_id, quantity, unit_of_measure)";
+
+    private static final String ALLOCATE_ITEMS_SQL =
+            "UPDATE inventory_items i SET quantity_allocated = i.quantity_allocated + u.quantity, "
+            + "updated_at = CURRENT_TIMESTAMP "
+            + "FROM unnest(CAST(? AS INT[]), CAST(? AS NUMERIC[])) AS u(item_id, quantity) "
+            + "WHERE i.tenant_id = ? AND i.item_id = u.item_id "
+            + "RETURNING i.item_id, i.tenant_id, i.product_id, i.facility_id, i.location_id, i.lot_number, "
+            + "i.quantity_on_hand, i.quantity_allocated, i.is_deleted";
+
+    private static final String MARK_ORDERS_SQL = "UPDATE sales_orders SET so_status = 'PROCESSING', "
+            + "updated_at = CURRENT_TIMESTAMP WHERE tenant_id = ? AND order_id = ANY (?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectProvider<StockIndexService> stockIndexService;
+    private final TransactionTemplate writeTransaction;
+    private final int maxOrdersPerWave;
+    private final int horizonDays;
+
+    @Autowired
+    public WavePlanningServiceImpl(PlatformTransactionManager transactionManager,
+                                   ObjectProvider<StockIndexService> stockIndexService,
+                                   @Value("${inventory.waves.max-orders-per-wave:50}") int maxOrdersPerWave,
+                                   @Value("${inventory.waves.horizon-days:1}") int horizonDays) {
+        this.stockIndexService = stockIndexService;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.maxOrdersPerWave = maxOrdersPerWave;
+        this.horizonDays = horizonDays;
+    }
+
+    @Override
+    public WavePlanDto planWaves(Integer tenantId, Integer facilityId, LocalDate cutoffThrough) {
+        long start = System.nanoTime();
+        LocalDate through = cutoffThrough != null ? cutoffThrough : LocalDate.now().plusDays(horizonDays);
+        WavePlanDto result = TenantScope.call(tenantId,
+                () -> writeTransaction.execute(status -> planInTransaction(tenantId, facilityId, through)));
+        result.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        log.info("Planned facility {} of tenant {} through {}: {} of {} orders in {} waves ({} short) in {} ms",
+                facilityId, tenantId, through, result.getOrdersPlanned(), result.getOrdersConsidered(),
+                result.getWavesCreated(), result.getOrdersShort(), result.getDurationMs());
+        return result;
+    }
+
+    WavePlanDto planInTransaction(int tenantId, int facilityId, LocalDate through) {
+        lockFacility(tenantId, facilityId);
+
+        Map<Integer, List<OrderLine>> linesByOrder = new LinkedHashMap<>();
+        Set<Integer> productIds = new TreeSet<>();
+        for (OrderLine line : loadOrderLines(tenantId, through)) {
+            linesByOrder.computeIfAbsent(line.orderId(), k -> new ArrayList<>()).add(line);
+            productIds.add(line.productId());
+        }
+        if (linesByOrder.isEmpty()) {
+            return new WavePlanDto(tenantId, facilityId, through, 0, 0, 0, 0, 0, 0);
+        }
+
+        // Most urgent orders get the stock first
+        List<List<OrderLine>> orders = new ArrayList<>(linesByOrder.values());
+        orders.sort(Comparator.comparingInt((List<OrderLine> lines) -> priority(lines.get(0)))
+                .thenComparing(lines -> lines.get(0).requiredDate(), Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparingInt(lines -> lines.get(0).orderId()));
+
+        StockAllocator allocator = new StockAllocator(lockStock(tenantId, facilityId, productIds));
+        Map<Integer, Integer> zoneIndexes = new HashMap<>();
+        Map<Integer, List<StockAllocator.Allocation>> allocationsByOrder = new HashMap<>();
+        List<WaveOrder> waveOrders = new ArrayList<>();
+        for (List<OrderLine> lines : orders) {
+            List<StockAllocator.Demand> demands = new ArrayList<>(lines.size());
+            double weightKg = 0;
+            for (OrderLine line : lines) {
+                demands.add(new StockAllocator.Demand(line.productId(), line.units()));
+                weightKg += line.unitWeightKg() * line.units() / Quantity.UNITS_PER_ONE;
+            }
+            List<StockAllocator.Allocation> allocations = allocator.allocate(demands);
+            if (allocations == null) {
+                continue;
+            }
+            BitSet zones = new BitSet();
+            for (StockAllocator.Allocation allocation : allocations) {
+                // Items without a location share one pseudo-zone
+                zones.set(zoneIndexes.computeIfAbsent(allocation.zoneId(), k -> zoneIndexes.size()));
+            }
+            OrderLine first = lines.get(0);
+            allocationsByOrder.put(first.orderId(), allocations);
+            waveOrders.add(new WaveOrder(first.orderId(), first.orderNumber(), first.requiredDate(),
+                    first.shippingMethod(), priority(first), allocations.size(), weightKg, zones));
+        }
+
+        RouteLimits route = loadRouteLimits(tenantId, facilityId);
+        WaveLimits limits = WaveLimits.of(route != null ? route.maxItems() : null,
+                route != null ? route.maxWeightKg() : null, maxOrdersPerWave);
+        List<PlannedWave> waves = new WavePlanner(limits).plan(waveOrders);
+        if (!waves.isEmpty()) {
+            writeWaves(tenantId, facilityId, waves, allocationsByOrder);
+        }
+
+        int lines = 0;
+        for (PlannedWave wave : waves) {
+            lines += wave.lines();
+        }
+        return new WavePlanDto(tenantId, facilityId, through, orders.size(), waveOrders.size(),
+                orders.size() - waveOrders.size(), waves.size(), lines, 0);
+    }
+
+    static int priority(OrderLine line) {
+        return "RUSH".equalsIgnoreCase(line.orderType()) ? RUSH_PRIORITY : DEFAULT_PRIORITY;
+    }
+
+    void lockFacility(int tenantId, int facilityId) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(LOCK_FACILITY_SQL)) {
+                statement.setInt(1, tenantId);
+                statement.setInt(2, facilityId);
+                statement.execute();
+            }
+        });
+    }
+
+    List<OrderLine> loadOrderLines(int tenantId, LocalDate through) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            List<OrderLine> lines = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(ORDER_LINES_SQL)) {
+                statement.setFetchSize(10_000);
+                statement.setInt(1, tenantId);
+                statement.setDate(2, Date.valueOf(through));
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        Date required = rs.getDate(3);
+                        lines.add(new OrderLine(rs.getInt(1), rs.getString(2),
+                                required != null ? required.toLocalDate() : null, rs.getString(4), rs.getString(5),
+                                rs.getInt(6), Quantity.toUnits(rs.getBigDecimal(7)), rs.getDouble(8)));
+                    }
+                }
+            }
+            return lines;
+        });
+    }
+
+    /**
+     * @return the facility's available items of the products, first to expire first, locked until
+     * the transaction ends
+     */
+    List<StockAllocator.StockSlot> lockStock(int tenantId, int facilityId, Collection<Integer> productIds) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            List<StockAllocator.StockSlot> stock = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(STOCK_SQL)) {
+                statement.setFetchSize(10_000);
+                statement.setInt(1, tenantId);
+                statement.setInt(2, facilityId);
+                statement.setArray(3, connection.createArrayOf("integer", productIds.toArray()));
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        int zoneId = rs.getInt(3);
+                        stock.add(new StockAllocator.StockSlot(rs.getInt(1), rs.getInt(2),
+                                rs.wasNull() ? null : zoneId, Quantity.toUnits(rs.getBigDecimal(4)), rs.getString(5)));
+                    }
+                }
+            }
+            return stock;
+        });
+    }
+
+    /**
+     * @return the limits of the facility's WAVE route, or of its first route, or null if it has none
+     */
+    RouteLimits loadRouteLimits(int tenantId, int facilityId) {
+        List<?> rows = entityManager.createNativeQuery(ROUTE_LIMITS_SQL)
+                .setParameter("tenantId", tenantId)
+                .setParameter("facilityId", facilityId)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] columns = (Object[]) rows.get(0);
+        return new RouteLimits(columns[0] != null ? ((Number) columns[0]).intValue() : null, (BigDecimal) columns[1]);
+    }
+
+    void writeWaves(int tenantId, int facilityId, List<PlannedWave> waves,
+                    Map<Integer, List<StockAllocator.Allocation>> allocationsByOrder) {
+        String stamp = LocalDateTime.now().format(WAVE_STAMP);
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            int size = waves.size();
+            String[] numbers = new String[size];
+            String[] names = new String[size];
+            Integer[] priorities = new Integer[size];
+            String[] plannedDates = new String[size];
+            Integer[] orderCounts = new Integer[size];
+            Integer[] lineCounts = new Integer[size];
+            BigDecimal[] quantities = new BigDecimal[size];
+            String[] notes = new String[size];
+            for (int w = 0; w < size; w++) {
+                PlannedWave wave = waves.get(w);
+                long units = 0;
+                for (WaveOrder order : wave.orders()) {
+                    for (StockAllocator.Allocation allocation : allocationsByOrder.get(order.orderId())) {
+                        units += allocation.units();
+                    }
+                }
+                numbers[w] = "WV-" + tenantId + "-" + facilityId + "-" + stamp + "-" + (w + 1);
+                names[w] = "Facility " + facilityId + " P" + wave.priority()
+                        + (wave.cutoff() != null ? " " + wave.cutoff() : "")
+                        + (wave.carrier() != null ? " " + wave.carrier() : "");
+                priorities[w] = wave.priority();
+                plannedDates[w] = wave.cutoff() != null ? wave.cutoff().toString() : null;
+                orderCounts[w] = wave.orders().size();
+                lineCounts[w] = wave.lines();
+                quantities[w] = Quantity.ofUnits(units).toBigDecimal();
+                notes[w] = "Facility " + facilityId + ", " + wave.zones().cardinality() + " zones, "
+                        + String.format(Locale.ROOT, "%.1f", wave.weightKg()) + " kg";
+            }
+
+            Map<String, Integer> waveIds = new HashMap<>();
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_WAVES_SQL)) {
+                statement.setInt(1, tenantId);
+                statement.setArray(2, connection.createArrayOf("text", numbers));
+                statement.setArray(3, connection.createArrayOf("text", names));
+                statement.setArray(4, connection.createArrayOf("integer", priorities));
+                statement.setArray(5, connection.createArrayOf("text", plannedDates));
+                statement.setArray(6, connection.createArrayOf("integer", orderCounts));
+                statement.setArray(7, connection.createArrayOf("integer", lineCounts));
+                statement.setArray(8, connection.createArrayOf("numeric", quantities));
+                statement.setArray(9, connection.createArrayOf("text", notes));
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        waveIds.put(rs.getString(2), rs.getInt(1));
+                    }
+                }
+            }
+
+            List<Integer> assignedWaves = new ArrayList<>();
+            List<Integer> orderIds = new ArrayList<>();
+            List<Integer> orderPriorities = new ArrayList<>();
+            List<String> orderNumbers = new ArrayList<>();
+            List<String> reservationNotes = new ArrayList<>();
+            for (int w = 0; w < size; w++) {
+                for (WaveOrder order : waves.get(w).orders()) {
+                    assignedWaves.add(waveIds.get(numbers[w]));
+                    orderIds.add(order.orderId());
+                    orderPriorities.add(order.priority());
+                    orderNumbers.add(order.orderNumber());
+                    reservationNotes.add("Wave " + numbers[w]);
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_ASSIGNMENTS_SQL)) {
+                statement.setInt(1, tenantId);
+                statement.setArray(2, connection.createArrayOf("integer", assignedWaves.toArray()));
+                statement.setArray(3, connection.createArrayOf("integer", orderIds.toArray()));
+                statement.setArray(4, connection.createArrayOf("integer", orderPriorities.toArray()));
+                statement.executeUpdate();
+            }
+
+            Map<Integer, Integer> reservationIds = new HashMap<>();
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_RESERVATIONS_SQL)) {
+                statement.setInt(1, tenantId);
+                statement.setArray(2, connection.createArrayOf("text", orderNumbers.toArray()));
+                statement.setArray(3, connection.createArrayOf("integer", orderIds.toArray()));
+                statement.setArray(4, connection.createArrayOf("integer", orderPriorities.toArray()));
+                statement.setArray(5, connection.createArrayOf("text", reservationNotes.toArray()));
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        reservationIds.put(rs.getInt(2), rs.getInt(1));
+                    }
+                }
+            }
+
+            List<Integer> detailReservations = new ArrayList<>();
+            List<Integer> detailItems = new ArrayList<>();
+            List<BigDecimal> detailQuantities = new ArrayList<>();
+            List<String> detailUnits = new ArrayList<>();
+            Map<Integer, Long> allocatedByItem = new LinkedHashMap<>();
+            for (Integer orderId : orderIds) {
+                for (StockAllocator.Allocation allocation : allocationsByOrder.get(orderId)) {
+                    detailReservations.add(reservationIds.get(orderId));
+                    detailItems.add(allocation.itemId());
+                    detailQuantities.add(Quantity.ofUnits(allocation.units()).toBigDecimal());
+                    detailUnits.add(allocation.unitOfMeasure());
+                    allocatedByItem.merge(allocation.itemId(), allocation.units(), Long::sum);
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_RESERVATION_DETAILS_SQL)) {
+                statement.setArray(1, connection.createArrayOf("integer", detailReservations.toArray()));
+                statement.setArray(2, connection.createArrayOf("integer", detailItems.toArray()));
+                statement.setArray(3, connection.createArrayOf("numeric", detailQuantities.toArray()));
+                statement.setArray(4, connection.createArrayOf("text", detailUnits.toArray()));
+                statement.executeUpdate();
+            }
+
+            List<BigDecimal> itemQuantities = new ArrayList<>(allocatedByItem.size());
+            allocatedByItem.values().forEach(units -> itemQuantities.add(Quantity.ofUnits(units).toBigDecimal()));
+            try (PreparedStatement statement = connection.prepareStatement(ALLOCATE_ITEMS_SQL)) {
+                statement.setArray(1, connection.createArrayOf("integer", allocatedByItem.keySet().toArray()));
+                statement.setArray(2, connection.createArrayOf("numeric", itemQuantities.toArray()));
+                statement.setInt(3, tenantId);
+                StockIndexService index = stockIndexService.getIfAvailable();
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (index != null && rs.next()) {
+                        index.itemChanged(toItem(rs));
+                    }
+                }
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(MARK_ORDERS_SQL)) {
+                statement.setInt(1, tenantId);
+                statement.setArray(2, connection.createArrayOf("integer", orderIds.toArray()));
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    private static InventoryItem toItem(ResultSet rs) throws SQLException {
+        InventoryItem item = new InventoryItem();
+        item.setItemId(rs.getInt(1));
+        item.setTenantId(rs.getInt(2));
+        item.setProductId(rs.getInt(3));
+        item.setFacilityId((Integer) rs.getObject(4));
+        item.setLocationId((Integer) rs.getObject(5));
+        item.setLotNumber(rs.getString(6));
+        item.setQuantityOnHand(Quantity.of(rs.getBigDecimal(7)));
+        item.setQuantityAllocated(Quantity.of(rs.getBigDecimal(8)));
+        item.setIsDeleted(rs.getBoolean(9));
+        return item;
+    }
+
+    /**
+     * One open line of a releasable order.
+     *
+     * @param units quantity still to ship, in {@link Quantity} units
+     */
+    record OrderLine(int orderId, String orderNumber, LocalDate requiredDate, String shippingMethod, String orderType,
+                     int productId, long units, double unitWeightKg) {
+    }
+
+    record RouteLimits(Integer maxItems, BigDecimal maxWeightKg) {
+    }
+}
@@ -0,0 +1,228 @@
+package com.superware.wms.inventory.service.picking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Orders pick locations into a walk from the depot and back over a {@link WarehouseLayout}.
+ * <p>
+ * SERPENTINE and LARGEST_GAP are the classic aisle routing heuristics and take O(n log n).
+ * TWO_OPT starts from the shorter of the two and reverses segments of the walk while that
+ * shortens it, over a distance matrix of the stops computed once per call; it stops at a local
+ * optimum or when {@code twoOptBudgetNanos} has passed, whichever is first, so a 500-stop list
+ * stays within a few tens of milliseconds. Every strategy's walk is measured with the same
+ * layout distances. Thread-safe.
+ */
+public final class PickPathSequencer {
+
+    private final long twoOptBudgetNanos;
+
+    public PickPathSequencer(long twoOptBudgetNanos) {
+        this.twoOptBudgetNanos = twoOptBudgetNanos;
+    }
+
+    /**
+     * @param locationIds locations to visit; repeats are visited once
+     * @throws IllegalArgumentException if a location is not in the layout
+     */
+    public PickSequence sequence(WarehouseLayout layout, List<Integer> locationIds, PickPathStrategy strategy) {
+        int[] stops = new LinkedHashSet<>(locationIds).stream().mapToInt(Integer::intValue).toArray();
+        int n = stops.length;
+        int[] aisles = new int[n];
+        double[] depths = new double[n];
+        for (int i = 0; i < n; i++) {
+            aisles[i] = layout.aisleOf(stops[i]);
+            depths[i] = layout.depthOf(stops[i]);
+        }
+
+        int[] order = switch (strategy) {
+            case SERPENTINE -> serpentine(aisles, depths);
+            case LARGEST_GAP -> largestGap(aisles, depths, layout.aisleLength());
+            case TWO_OPT -> twoOpt(layout, aisles, depths);
+        };
+
+        List<Integer> sequence = new ArrayList<>(n);
+        for (int stop : order) {
+            sequence.add(stops[stop]);
+        }
+        return new PickSequence(sequence, length(layout, aisles, depths, order));
+    }
+
+    /**
+     * Aisles with picks in ascending order, walked front to back and back to front in turn.
+     */
+    static int[] serpentine(int[] aisles, double[] depths) {
+        int[] order = byAisleAndDepth(aisles, depths);
+        int start = 0;
+        boolean reverse = false;
+        while (start < order.length) {
+            int end = aisleEnd(order, aisles, start);
+            if (reverse) {
+                reverse(order, start, end - 1);
+            }
+            reverse = !reverse;
+            start = end;
+        }
+        return order;
+    }
+
+    /**
+     * The first aisle is walked to the back and the last one back to the front. Between them the
+     * picker visits every inner aisle from the back cross-aisle on the way out and from the front
+     * on the way back, each time turning at the aisle's largest gap between picks (or between a
+     * pick and an aisle end).
+     */
+    static int[] largestGap(int[] aisles, double[] depths, double aisleLength) {
+        int[] sorted = byAisleAndDepth(aisles, depths);
+        List<int[]> aisleRuns = new ArrayList<>();
+        for (int start = 0; start < sorted.length; ) {
+            int end = aisleEnd(sorted, aisles, start);
+            aisleRuns.add(new int[] {start, end});
+            start = end;
+        }
+        if (aisleRuns.size() <= 1) {
+            return sorted;
+        }
+
+        int[] order = new int[sorted.length];
+        int next = 0;
+        int[] first = aisleRuns.get(0);
+        for (int i = first[0]; i < first[1]; i++) {
+            order[next++] = sorted[i];
+        }
+        // Inner aisles from the back, down to the gap, in ascending aisle order
+        int[] splits = new int[aisleRuns.size()];
+        for (int a = 1; a < aisleRuns.size() - 1; a++) {
+            int[] run = aisleRuns.get(a);
+            splits[a] = gapSplit(sorted, depths, run[0], run[1], aisleLength);
+            for (int i = run[1] - 1; i >= splits[a]; i--) {
+                order[next++] = sorted[i];
+            }
+        }
+        int[] last = aisleRuns.get(aisleRuns.size() - 1);
+        for (int i = last[1] - 1; i >= last[0]; i--) {
+            order[next++] = sorted[i];
+        }
+        // And back from the front, up to the gap, in descending aisle order
+        for (int a = aisleRuns.size() - 2; a >= 1; a--) {
+            int[] run = aisleRuns.get(a);
+            for (int i = run[0]; i < splits[a]; i++) {
+                order[next++] = sorted[i];
+            }
+        }
+        return order;
+    }
+
+    /**
+     * @return the first position of the aisle's picks reached from the back
+     */
+    private static int gapSplit(int[] sorted, double[] depths, int start, int end, double aisleLength) {
+        // Entering from the front for all picks leaves the gap to the back unwalked, and vice versa
+        int split = end;
+        double largest = aisleLength - depths[sorted[end - 1]];
+        if (depths[sorted[start]] > largest) {
+            largest = depths[sorted[start]];
+            split = start;
+        }
+        for (int i = start + 1; i < end; i++) {
+            double gap = depths[sorted[i]] - depths[sorted[i - 1]];
+            if (gap > largest) {
+                largest = gap;
+                split = i;
+            }
+        }
+        return split;
+    }
+
+    private int[] twoOpt(WarehouseLayout layout, int[] aisles, double[] depths) {
+        long deadline = System.nanoTime() + twoOptBudgetNanos;
+        int n = aisles.length;
+        int[] serpentine = serpentine(aisles, depths);
+        int[] largestGap = largestGap(aisles, depths, layout.aisleLength());
+        int[] start = length(layout, aisles, depths, serpentine) <= length(layout, aisles, depths, largestGap)
+                ? serpentine : largestGap;
+        if (n < 3) {
+            return start;
+        }
+
+        // Stop n is the depot, which opens and closes the tour
+        int size = n + 1;
+        double[] distances = new double[size * size];
+        for (int i = 0; i < size; i++) {
+            int aisleI = i < n ? aisles[i] : 0;
+            double depthI = i < n ? depths[i] : 0;
+            for (int j = i + 1; j < size; j++) {
+                double d = layout.distance(aisleI, depthI, j < n ? aisles[j] : 0, j < n ? depths[j] : 0);
+                distances[i * size + j] = d;
+                distances[j * size + i] = d;
+            }
+        }
+        int[] tour = new int[n + 2];
+        tour[0] = n;
+        tour[n + 1] = n;
+        System.arraycopy(start, 0, tour, 1, n);
+
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int i = 1; i < n; i++) {
+                int before = tour[i - 1];
+                for (int j = i + 1; j <= n; j++) {
+                    int first = tour[i];
+                    int last = tour[j];
+                    int after = tour[j + 1];
+                    double delta = distances[before * size + last] + distances[first * size + after]
+                            - distances[before * size + first] - distances[last * size + after];
+                    if (delta < -1e-9) {
+                        reverse(tour, i, j);
+                        improved = true;
+                    }
+                }
+                if (System.nanoTime() > deadline) {
+                    return Arrays.copyOfRange(tour, 1, n + 1);
+                }
+            }
+        }
+        return Arrays.copyOfRange(tour, 1, n + 1);
+    }
+
+    static double length(WarehouseLayout layout, int[] aisles, double[] depths, int[] order) {
+        double length = 0;
+        int aisle = 0;
+        double depth = 0;
+        for (int stop : order) {
+            length += layout.distance(aisle, depth, aisles[stop], depths[stop]);
+            aisle = aisles[stop];
+            depth = depths[stop];
+        }
+        return length + layout.distance(aisle, depth, 0, 0);
+    }
+
+    private static int[] byAisleAndDepth(int[] aisles, double[] depths) {
+        return IntStream.range(0, aisles.length).boxed()
+                .sorted((a, b) -> aisles[a] != aisles[b]
+                        ? Integer.compare(aisles[a], aisles[b])
+                        : Double.compare(depths[a], depths[b]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static int aisleEnd(int[] sorted, int[] aisles, int start) {
+        int end = start + 1;
+        while (end < sorted.length && aisles[sorted[end]] == aisles[sorted[start]]) {
+            end++;
+        }
+        return end;
+    }
+
+    private static void reverse(int[] values, int from, int to) {
+        for (int i = from, j = to; i < j; i++, j--) {
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+}
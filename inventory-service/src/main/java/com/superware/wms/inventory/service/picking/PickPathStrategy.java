@@ -0,0 +1,13 @@
+package com.superware.wms.inventory.service.picking;
+
+/**
+ * Order in which a picker walks the aisles of a pick list.
+ */
+public enum PickPathStrategy {
+    /** Every aisle with a pick is walked end to end, alternating direction. */
+    SERPENTINE,
+    /** Outer aisles are walked through; inner aisles are entered from both ends up to their largest gap. */
+    LARGEST_GAP,
+    /** The shorter of the two above, improved by 2-opt exchanges within a time budget. */
+    TWO_OPT
+}
@@ -0,0 +1,12 @@
+package com.superware.wms.inventory.service.picking;
+
+import java.util.List;
+
+/**
+ * An ordered walk over pick locations.
+ *
+ * @param locationIds the distinct locations in visiting order
+ * @param distanceMeters length of the walk from the depot through every location and back
+ */
+public record PickSequence(List<Integer> locationIds, double distanceMeters) {
+}
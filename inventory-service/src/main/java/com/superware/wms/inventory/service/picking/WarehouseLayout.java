@@ -0,0 +1,183 @@
+package com.superware.wms.inventory.service.picking;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Distance model of one facility's storage locations, built from their aisle and bay labels.
+ * <p>
+ * Aisles are parallel and {@code aisleSpacing} apart, in the natural order of their labels
+ * ("A2" before "A10"); bays are {@code bayWidth} deep along every aisle, also in label order.
+ * A cross-aisle runs across each end of the aisles, so a walk between two aisles leaves by the
+ * nearer end: the distance is the lateral offset plus the shorter way round. Levels and
+ * positions share their bay's point. Locations without an aisle share the first-sorted one,
+ * locations without a bay the first bay. The depot is at the front end of the first aisle.
+ * Immutable and safe to share between threads.
+ */
+public final class WarehouseLayout {
+
+    /**
+     * A storage location's labels as stored in storage_locations.
+     */
+    public record Slot(int locationId, String aisle, String bay) {
+    }
+
+    private static final Comparator<String> NATURAL_ORDER = WarehouseLayout::compareNatural;
+
+    private final Map<Integer, Integer> indexByLocation;
+    private final int[] aisles;
+    private final double[] depths;
+    private final double aisleSpacing;
+    private final double aisleLength;
+    private final int aisleCount;
+
+    private WarehouseLayout(Map<Integer, Integer> indexByLocation, int[] aisles, double[] depths,
+                            double aisleSpacing, double aisleLength, int aisleCount) {
+        this.indexByLocation = indexByLocation;
+        this.aisles = aisles;
+        this.depths = depths;
+        this.aisleSpacing = aisleSpacing;
+        this.aisleLength = aisleLength;
+        this.aisleCount = aisleCount;
+    }
+
+    public static WarehouseLayout of(List<Slot> slots, double aisleSpacing, double bayWidth) {
+        TreeSet<String> aisleLabels = new TreeSet<>(NATURAL_ORDER);
+        TreeSet<String> bayLabels = new TreeSet<>(NATURAL_ORDER);
+        for (Slot slot : slots) {
+            aisleLabels.add(label(slot.aisle()));
+            bayLabels.add(label(slot.bay()));
+        }
+        Map<String, Integer> aisleOrdinals = ordinals(aisleLabels);
+        Map<String, Integer> bayOrdinals = ordinals(bayLabels);
+
+        Map<Integer, Integer> indexByLocation = new HashMap<>(slots.size() * 2);
+        int[] aisles = new int[slots.size()];
+        double[] depths = new double[slots.size()];
+        for (Slot slot : slots) {
+            int index = indexByLocation.size();
+            if (indexByLocation.putIfAbsent(slot.locationId(), index) != null) {
+                continue;
+            }
+            aisles[index] = aisleOrdinals.get(label(slot.aisle()));
+            depths[index] = (bayOrdinals.get(label(slot.bay())) + 0.5) * bayWidth;
+        }
+        return new WarehouseLayout(indexByLocation, aisles, depths, aisleSpacing,
+                Math.max(bayLabels.size(), 1) * bayWidth, Math.max(aisleLabels.size(), 1));
+    }
+
+    public boolean contains(int locationId) {
+        return indexByLocation.containsKey(locationId);
+    }
+
+    public int size() {
+        return indexByLocation.size();
+    }
+
+    public int aisleCount() {
+        return aisleCount;
+    }
+
+    public double aisleLength() {
+        return aisleLength;
+    }
+
+    /**
+     * @return the location's aisle, 0 being the first
+     * @throws IllegalArgumentException if the location is not in the layout
+     */
+    public int aisleOf(int locationId) {
+        return aisles[indexOf(locationId)];
+    }
+
+    /**
+     * @return how far along its aisle the location is, from the front cross-aisle
+     * @throws IllegalArgumentException if the location is not in the layout
+     */
+    public double depthOf(int locationId) {
+        return depths[indexOf(locationId)];
+    }
+
+    /**
+     * Walking distance between two points given as aisle and depth; the depot is aisle 0 at
+     * depth 0.
+     */
+    public double distance(int fromAisle, double fromDepth, int toAisle, double toDepth) {
+        if (fromAisle == toAisle) {
+            return Math.abs(fromDepth - toDepth);
+        }
+        double viaFront = fromDepth + toDepth;
+        double viaBack = 2 * aisleLength - fromDepth - toDepth;
+        return Math.abs(fromAisle - toAisle) * aisleSpacing + Math.min(viaFront, viaBack);
+    }
+
+    public double distance(int fromLocationId, int toLocationId) {
+        int from = indexOf(fromLocationId);
+        int to = indexOf(toLocationId);
+        return distance(aisles[from], depths[from], aisles[to], depths[to]);
+    }
+
+    private int indexOf(int locationId) {
+        Integer index = indexByLocation.get(locationId);
+        if (index == null) {
+            throw new IllegalArgumentException("Location " + locationId + " is not in the layout");
+        }
+        return index;
+    }
+
+    private static String label(String value) {
+        return value == null ? "" : value.trim();
+    }
+
+    private static Map<String, Integer> ordinals(TreeSet<String> labels) {
+        Map<String, Integer> ordinals = new HashMap<>(labels.size() * 2);
+        for (String label : labels) {
+            ordinals.put(label, ordinals.size());
+        }
+        return ordinals;
+    }
+
+    /**
+     * Compares labels case-insensitively with runs of digits compared by value.
+     */
+    public static int compareNatural(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(j);
+            if (Character.isDigit(ca) && Character.isDigit(cb)) {
+                int endA = i;
+                while (endA < a.length() && Character.isDigit(a.charAt(endA))) {
+                    endA++;
+                }
+                int endB = j;
+                while (endB < b.length() && Character.isDigit(b.charAt(endB))) {
+                    endB++;
+                }
+                String digitsA = a.substring(i, endA).replaceFirst("^0+(?=.)", "");
+                String digitsB = b.substring(j, endB).replaceFirst("^0+(?=.)", "");
+                int result = digitsA.length() != digitsB.length()
+                        ? Integer.compare(digitsA.length(), digitsB.length())
+                        : digitsA.compareTo(digitsB);
+                if (result != 0) {
+                    return result;
+                }
+                i = endA;
+                j = endB;
+            } else {
+                int result = Character.compare(Character.toUpperCase(ca), Character.toUpperCase(cb));
+                if (result != 0) {
+                    return result;
+                }
+                i++;
+                j++;
+            }
+        }
+        int result = Integer.compare(a.length() - i, b.length() - j);
+        return result != 0 ? result : a.compareTo(b);
+    }
+}
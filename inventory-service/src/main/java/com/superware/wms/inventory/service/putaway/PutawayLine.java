@@ -0,0 +1,22 @@
+package com.superware.wms.inventory.service.putaway;
+
+import com.superware.wms.inventory.entity.types.Quantity;
+
+/**
+ * A pending putaway task with the product attributes rules are evaluated against.
+ *
+ * @param units quantity still to put away, in {@link Quantity} units
+ * @param sourceLocationId where the goods wait, usually a receiving dock, or null
+ */
+public record PutawayLine(int taskId, int productId, Integer categoryId, String referenceType, long units,
+                          double unitWeightKg, double unitVolumeM3, boolean hazardous, boolean perishable,
+                          boolean temperatureControlled, Integer sourceLocationId) {
+
+    public double weightKg() {
+        return unitWeightKg * units / Quantity.UNITS_PER_ONE;
+    }
+
+    public double volumeM3() {
+        return unitVolumeM3 * units / Quantity.UNITS_PER_ONE;
+    }
+}
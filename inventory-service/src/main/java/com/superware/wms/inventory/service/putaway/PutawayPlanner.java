@@ -0,0 +1,90 @@
+package com.superware.wms.inventory.service.putaway;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Suggests a storage location for each putaway line.
+ * <p>
+ * Rules are tried in priority order. The first rule whose conditions match and whose zones have a
+ * location with room for the line decides: the line goes to the best-scoring of those locations
+ * (see {@link ZoneCapacityIndex.Weights}). A matching rule whose zones are full falls through to
+ * the next one, and a line no rule places goes to the best location of the zones that suit its
+ * product. Lines are placed one after the other against the same index, so later lines see the
+ * space earlier ones took.
+ */
+public final class PutawayPlanner {
+
+    /**
+     * @param locationId the suggested location, or null if no location has room
+     * @param ruleId the rule that placed the line, or null if none did
+     */
+    public record Suggestion(int taskId, Integer locationId, Integer ruleId, double score) {
+    }
+
+    private final List<PutawayRule> rules;
+    private final ZoneCapacityIndex.Weights weights;
+
+    public PutawayPlanner(List<PutawayRule> rules, ZoneCapacityIndex.Weights weights) {
+        this.rules = new ArrayList<>(rules);
+        this.rules.sort(Comparator.comparingInt(PutawayRule::priority).thenComparingInt(PutawayRule::ruleId));
+        this.weights = weights;
+    }
+
+    public List<Suggestion> plan(ZoneCapacityIndex index, List<PutawayLine> lines) {
+        List<Suggestion> suggestions = new ArrayList<>(lines.size());
+        for (PutawayLine line : lines) {
+            suggestions.add(suggest(index, line));
+        }
+        return suggestions;
+    }
+
+    private Suggestion suggest(ZoneCapacityIndex index, PutawayLine line) {
+        List<Integer> fallbackZones = null;
+        for (PutawayRule rule : rules) {
+            if (!rule.matches(line)) {
+                continue;
+            }
+            ZoneCapacityIndex.Candidate best = null;
+            if (rule.zoneIds() != null) {
+                for (int zoneId : rule.zoneIds()) {
+                    best = better(best, index.best(zoneId, line, rule.maxUnitsPerLocation(), weights));
+                }
+            } else {
+                if (fallbackZones == null) {
+                    fallbackZones = index.fallbackZones(line);
+                }
+                best = bestOf(index, fallbackZones, line, rule.maxUnitsPerLocation());
+            }
+            if (best != null) {
+                index.place(best, line);
+                return new Suggestion(line.taskId(), best.locationId(), rule.ruleId(), best.score());
+            }
+        }
+
+        ZoneCapacityIndex.Candidate best = bestOf(index,
+                fallbackZones != null ? fallbackZones : index.fallbackZones(line), line, Long.MAX_VALUE);
+        if (best == null) {
+            return new Suggestion(line.taskId(), null, null, 0);
+        }
+        index.place(best, line);
+        return new Suggestion(line.taskId(), best.locationId(), null, best.score());
+    }
+
+    private ZoneCapacityIndex.Candidate bestOf(ZoneCapacityIndex index, List<Integer> zoneIds, PutawayLine line,
+                                               long maxUnitsPerLocation) {
+        ZoneCapacityIndex.Candidate best = null;
+        for (int zoneId : zoneIds) {
+            best = better(best, index.best(zoneId, line, maxUnitsPerLocation, weights));
+        }
+        return best;
+    }
+
+    private static ZoneCapacityIndex.Candidate better(ZoneCapacityIndex.Candidate a, ZoneCapacityIndex.Candidate b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.score() > a.score() ? b : a;
+    }
+}
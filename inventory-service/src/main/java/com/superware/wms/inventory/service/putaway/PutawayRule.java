@@ -0,0 +1,178 @@
+package com.superware.wms.inventory.service.putaway;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.superware.wms.inventory.entity.types.Quantity;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A putaway_rules row with its conditions compiled into a predicate.
+ * <p>
+ * Conditions are a JSON object whose entries must all hold; an empty object matches every line.
+ * Recognized keys:
+ * <ul>
+ *   <li>{@code product_id}, {@code category_id}: an ID or an array of IDs</li>
+ *   <li>{@code reference_type}: a putaway_tasks.reference_type or an array of them</li>
+ *   <li>{@code is_hazardous}, {@code is_perishable}, {@code requires_temperature_control}: the product flag</li>
+ *   <li>{@code min_quantity}, {@code max_quantity}: bounds on the quantity to put away</li>
+ *   <li>{@code min_weight_kg}, {@code max_weight_kg}: bounds on the weight to put away</li>
+ * </ul>
+ * Anything else is rejected when compiling, so a misspelt condition cannot silently widen a rule.
+ */
+public final class PutawayRule {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final int ruleId;
+    private final int priority;
+    private final Predicate<PutawayLine> condition;
+    private final int[] zoneIds;
+    private final long maxUnitsPerLocation;
+
+    private PutawayRule(int ruleId, int priority, Predicate<PutawayLine> condition, int[] zoneIds,
+                        long maxUnitsPerLocation) {
+        this.ruleId = ruleId;
+        this.priority = priority;
+        this.condition = condition;
+        this.zoneIds = zoneIds;
+        this.maxUnitsPerLocation = maxUnitsPerLocation;
+    }
+
+    /**
+     * @param conditions putaway_rules.conditions as JSON text
+     * @param zoneIds the storage zones the rule puts away to, or null for any zone a product of
+     * the line's kind may go to
+     * @param maxUnitsPerLocation most of the product one location may hold, in {@link Quantity}
+     * units, or null for no limit
+     * @throws IllegalArgumentException if the conditions are not valid
+     */
+    public static PutawayRule compile(int ruleId, int priority, String conditions, int[] zoneIds,
+                                      Long maxUnitsPerLocation) {
+        JsonNode root;
+        try {
+            root = JSON.readTree(conditions);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Rule " + ruleId + " conditions are not JSON", e);
+        }
+        if (root == null || !root.isObject()) {
+            throw new IllegalArgumentException("Rule " + ruleId + " conditions must be a JSON object");
+        }
+        Predicate<PutawayLine> condition = line -> true;
+        for (Iterator<Map.Entry<String, JsonNode>> fields = root.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            condition = condition.and(compile(ruleId, field.getKey(), field.getValue()));
+        }
+        return new PutawayRule(ruleId, priority, condition, zoneIds,
+                maxUnitsPerLocation != null && maxUnitsPerLocation > 0 ? maxUnitsPerLocation : Long.MAX_VALUE);
+    }
+
+    private static Predicate<PutawayLine> compile(int ruleId, String key, JsonNode value) {
+        switch (key) {
+            case "product_id" -> {
+                Set<Integer> ids = ids(ruleId, key, value);
+                return line -> ids.contains(line.productId());
+            }
+            case "category_id" -> {
+                Set<Integer> ids = ids(ruleId, key, value);
+                return line -> line.categoryId() != null && ids.contains(line.categoryId());
+            }
+            case "reference_type" -> {
+                Set<String> types = new HashSet<>();
+                for (JsonNode type : value.isArray() ? value : JSON.createArrayNode().add(value)) {
+                    if (!type.isTextual()) {
+                        throw invalid(ruleId, key, value);
+                    }
+                    types.add(type.asText());
+                }
+                return line -> types.contains(line.referenceType());
+            }
+            case "is_hazardous" -> {
+                boolean expected = flag(ruleId, key, value);
+                return line -> line.hazardous() == expected;
+            }
+            case "is_perishable" -> {
+                boolean expected = flag(ruleId, key, value);
+                return line -> line.perishable() == expected;
+            }
+            case "requires_temperature_control" -> {
+                boolean expected = flag(ruleId, key, value);
+                return line -> line.temperatureControlled() == expected;
+            }
+            case "min_quantity" -> {
+                long units = Quantity.toUnits(number(ruleId, key, value).decimalValue());
+                return line -> line.units() >= units;
+            }
+            case "max_quantity" -> {
+                long units = Quantity.toUnits(number(ruleId, key, value).decimalValue());
+                return line -> line.units() <= units;
+            }
+            case "min_weight_kg" -> {
+                double kg = number(ruleId, key, value).doubleValue();
+                return line -> line.weightKg() >= kg;
+            }
+            case "max_weight_kg" -> {
+                double kg = number(ruleId, key, value).doubleValue();
+                return line -> line.weightKg() <= kg;
+            }
+            default -> throw new IllegalArgumentException("Rule " + ruleId + " has an unknown condition '" + key + "'");
+        }
+    }
+
+    private static Set<Integer> ids(int ruleId, String key, JsonNode value) {
+        Set<Integer> ids = new HashSet<>();
+        for (JsonNode id : value.isArray() ? value : JSON.createArrayNode().add(value)) {
+            if (!id.canConvertToInt() || !id.isIntegralNumber()) {
+                throw invalid(ruleId, key, value);
+            }
+            ids.add(id.intValue());
+        }
+        return ids;
+    }
+
+    private static boolean flag(int ruleId, String key, JsonNode value) {
+        if (!value.isBoolean()) {
+            throw invalid(ruleId, key, value);
+        }
+        return value.booleanValue();
+    }
+
+    private static JsonNode number(int ruleId, String key, JsonNode value) {
+        if (!value.isNumber()) {
+            throw invalid(ruleId, key, value);
+        }
+        return value;
+    }
+
+    private static IllegalArgumentException invalid(int ruleId, String key, JsonNode value) {
+        return new IllegalArgumentException("Rule " + ruleId + " condition '" + key + "' has an invalid value " + value);
+    }
+
+    public boolean matches(PutawayLine line) {
+        return condition.test(line);
+    }
+
+    public int ruleId() {
+        return ruleId;
+    }
+
+    public int priority() {
+        return priority;
+    }
+
+    /**
+     * @return the storage zones to put away to, possibly none, or null for any suitable zone
+     */
+    public int[] zoneIds() {
+        return zoneIds;
+    }
+
+    public long maxUnitsPerLocation() {
+        return maxUnitsPerLocation;
+    }
+}
@@ -0,0 +1,234 @@
+package com.superware.wms.inventory.service.putaway;
+
+import com.superware.wms.inventory.service.picking.WarehouseLayout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Free weight and volume of one facility's storage locations, grouped by storage zone.
+ * <p>
+ * Each zone keeps an upper bound of its locations' free weight and volume, so a zone with no room
+ * for a line is skipped without looking at its locations. Placing a line takes its weight,
+ * volume and quantity off the location, so the lines of one receipt spread over the free space
+ * instead of all being sent to the same best location. Capacity is only ever taken here; stock
+ * that leaves a location is picked up when the index is rebuilt. Locations without a maximum
+ * weight or volume are unlimited in that dimension. Not thread-safe.
+ */
+public final class ZoneCapacityIndex {
+
+    /**
+     * A storage location with its zone's attributes.
+     *
+     * @param putawayTarget whether lines no rule places may be put away to the zone
+     * @param hazmat whether the zone is for hazardous goods
+     * @param temperatureControlled whether the zone is temperature controlled
+     */
+    public record Location(int locationId, int zoneId, String aisle, String bay, Double maxWeightKg,
+                           Double maxVolumeM3, boolean putawayTarget, boolean hazmat, boolean temperatureControlled) {
+    }
+
+    /**
+     * Quantity of a product at a location, stored or on its way there.
+     *
+     * @param units in {@link com.superware.wms.inventory.entity.types.Quantity} units
+     */
+    public record Stock(int locationId, int productId, long units, double weightKg, double volumeM3) {
+    }
+
+    /**
+     * How much each criterion counts towards a location's score.
+     *
+     * @param affinity locations already holding the product score 1, empty ones 0 and ones
+     * holding only other products -1
+     * @param fit the share of the location's weight or volume, whichever is higher, in use once
+     * the line is put away, so the tightest fit scores highest
+     * @param proximity 1 at the line's source location, falling to 0 at the far corner of the
+     * facility
+     */
+    public record Weights(double affinity, double fit, double proximity) {
+    }
+
+    /**
+     * The best location of a zone for a line.
+     */
+    public record Candidate(Slot slot, double score) {
+
+        public int locationId() {
+            return slot.locationId;
+        }
+    }
+
+    static final class Slot {
+
+        private final int locationId;
+        private final int aisle;
+        private final double depth;
+        private final double maxWeightKg;
+        private final double maxVolumeM3;
+        private double freeWeightKg;
+        private double freeVolumeM3;
+        private Map<Integer, Long> unitsByProduct = Map.of();
+
+        private Slot(int locationId, int aisle, double depth, double maxWeightKg, double maxVolumeM3) {
+            this.locationId = locationId;
+            this.aisle = aisle;
+            this.depth = depth;
+            this.maxWeightKg = maxWeightKg;
+            this.maxVolumeM3 = maxVolumeM3;
+            this.freeWeightKg = maxWeightKg;
+            this.freeVolumeM3 = maxVolumeM3;
+        }
+
+        private void add(int productId, long units, double weightKg, double volumeM3) {
+            if (unitsByProduct.isEmpty()) {
+                unitsByProduct = new HashMap<>(4);
+            }
+            unitsByProduct.merge(productId, units, Long::sum);
+            freeWeightKg -= weightKg;
+            freeVolumeM3 -= volumeM3;
+        }
+    }
+
+    private static final class Zone {
+
+        private final boolean putawayTarget;
+        private final boolean hazmat;
+        private final boolean temperatureControlled;
+        private final List<Slot> slots = new ArrayList<>();
+        private double maxFreeWeightKg = Double.NEGATIVE_INFINITY;
+        private double maxFreeVolumeM3 = Double.NEGATIVE_INFINITY;
+
+        private Zone(Location location) {
+            this.putawayTarget = location.putawayTarget();
+            this.hazmat = location.hazmat();
+            this.temperatureControlled = location.temperatureControlled();
+        }
+    }
+
+    private final Map<Integer, Zone> zones;
+    private final Map<Integer, Slot> slots;
+    private final WarehouseLayout layout;
+    private final double span;
+
+    private ZoneCapacityIndex(Map<Integer, Zone> zones, Map<Integer, Slot> slots, WarehouseLayout layout) {
+        this.zones = zones;
+        this.slots = slots;
+        this.layout = layout;
+        this.span = Math.max(1.0, layout.distance(0, 0, layout.aisleCount() - 1, layout.aisleLength()));
+    }
+
+    public static ZoneCapacityIndex of(List<Location> locations, List<Stock> stock, double aisleSpacing,
+                                       double bayWidth) {
+        List<WarehouseLayout.Slot> labels = new ArrayList<>(locations.size());
+        for (Location location : locations) {
+            labels.add(new WarehouseLayout.Slot(location.locationId(), location.aisle(), location.bay()));
+        }
+        WarehouseLayout layout = WarehouseLayout.of(labels, aisleSpacing, bayWidth);
+
+        Map<Integer, Zone> zones = new LinkedHashMap<>();
+        Map<Integer, Slot> slots = new HashMap<>(locations.size() * 2);
+        for (Location location : locations) {
+            if (slots.containsKey(location.locationId())) {
+                continue;
+            }
+            Slot slot = new Slot(location.locationId(), layout.aisleOf(location.locationId()),
+                    layout.depthOf(location.locationId()), limit(location.maxWeightKg()), limit(location.maxVolumeM3()));
+            slots.put(location.locationId(), slot);
+            zones.computeIfAbsent(location.zoneId(), k -> new Zone(location)).slots.add(slot);
+        }
+        for (Stock item : stock) {
+            Slot slot = slots.get(item.locationId());
+            if (slot != null) {
+                slot.add(item.productId(), item.units(), item.weightKg(), item.volumeM3());
+            }
+        }
+        for (Zone zone : zones.values()) {
+            for (Slot slot : zone.slots) {
+                zone.maxFreeWeightKg = Math.max(zone.maxFreeWeightKg, slot.freeWeightKg);
+                zone.maxFreeVolumeM3 = Math.max(zone.maxFreeVolumeM3, slot.freeVolumeM3);
+            }
+        }
+        return new ZoneCapacityIndex(zones, slots, layout);
+    }
+
+    private static double limit(Double max) {
+        return max != null && max > 0 ? max : Double.POSITIVE_INFINITY;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * @return the zones a line no rule places may go to: putaway targets that match the product's
+     * hazardous and temperature control flags
+     */
+    public List<Integer> fallbackZones(PutawayLine line) {
+        List<Integer> result = new ArrayList<>();
+        for (Map.Entry<Integer, Zone> entry : zones.entrySet()) {
+            Zone zone = entry.getValue();
+            if (zone.putawayTarget && zone.hazmat == line.hazardous()
+                    && zone.temperatureControlled == line.temperatureControlled()) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param maxUnitsPerLocation most of the line's product a location may hold afterwards
+     * @return the zone's best location with room for the line, or null if none has room
+     */
+    public Candidate best(int zoneId, PutawayLine line, long maxUnitsPerLocation, Weights weights) {
+        Zone zone = zones.get(zoneId);
+        double weightKg = line.weightKg();
+        double volumeM3 = line.volumeM3();
+        if (zone == null || zone.maxFreeWeightKg < weightKg || zone.maxFreeVolumeM3 < volumeM3) {
+            return null;
+        }
+        int fromAisle = 0;
+        double fromDepth = 0;
+        Slot source = line.sourceLocationId() != null ? slots.get(line.sourceLocationId()) : null;
+        if (source != null) {
+            fromAisle = source.aisle;
+            fromDepth = source.depth;
+        }
+
+        Slot best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (Slot slot : zone.slots) {
+            if (slot.freeWeightKg < weightKg || slot.freeVolumeM3 < volumeM3) {
+                continue;
+            }
+            long held = slot.unitsByProduct.getOrDefault(line.productId(), 0L);
+            if (held > maxUnitsPerLocation - line.units()) {
+                continue;
+            }
+            double affinity = held > 0 ? 1 : slot.unitsByProduct.isEmpty() ? 0 : -1;
+            double fit = Math.max(used(slot.maxWeightKg, slot.freeWeightKg - weightKg),
+                    used(slot.maxVolumeM3, slot.freeVolumeM3 - volumeM3));
+            double proximity = 1 - layout.distance(fromAisle, fromDepth, slot.aisle, slot.depth) / span;
+            double score = weights.affinity() * affinity + weights.fit() * fit + weights.proximity() * proximity;
+            if (score > bestScore) {
+                best = slot;
+                bestScore = score;
+            }
+        }
+        return best != null ? new Candidate(best, bestScore) : null;
+    }
+
+    private static double used(double max, double freeAfter) {
+        return Double.isInfinite(max) ? 0 : 1 - freeAfter / max;
+    }
+
+    /**
+     * Takes the line's weight, volume and quantity off the candidate's location.
+     */
+    public void place(Candidate candidate, PutawayLine line) {
+        candidate.slot().add(line.productId(), line.units(), line.weightKg(), line.volumeM3());
+    }
+}
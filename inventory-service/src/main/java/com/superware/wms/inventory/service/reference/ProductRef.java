@@ -0,0 +1,10 @@
+package com.superware.wms.inventory.service.reference;
+
+import java.math.BigDecimal;
+
+/**
+ * Cached view of a products row: its status and the per-unit weight and volume used for capacity checks.
+ */
+public record ProductRef(int productId, String unitOfMeasure, BigDecimal weightKg, BigDecimal volumeM3,
+                         boolean lotTracked, boolean active) {
+}
@@ -0,0 +1,25 @@
+package com.superware.wms.inventory.service.reference;
+
+import java.math.BigDecimal;
+
+/**
+ * Cached view of a storage_locations row with the attributes write paths validate against.
+ *
+ * @param maxWeight capacity in kg, or null if unlimited
+ * @param maxVolume capacity in cubic meters, or null if unlimited
+ * @param zoneType type of the location's zone, or null if not set
+ */
+public record StorageLocationRef(int locationId, int zoneId, int facilityId, String locationType,
+                                 boolean active, BigDecimal maxWeight, BigDecimal maxVolume, String zoneType) {
+
+    public boolean hasCapacityLimit() {
+        return maxWeight != null || maxVolume != null;
+    }
+
+    /**
+     * A pick face: a location in a PICKING zone, replenished from reserve storage.
+     */
+    public boolean isPickFace() {
+        return "PICKING".equals(zoneType);
+    }
+}
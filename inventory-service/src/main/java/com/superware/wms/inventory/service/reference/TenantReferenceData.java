@@ -0,0 +1,17 @@
+package com.superware.wms.inventory.service.reference;
+
+import java.util.Map;
+
+/**
+ * All storage locations and products of one tenant, loaded together and replaced as a whole on refresh.
+ *
+ * @param loadedAt {@link System#nanoTime()} at which the load started
+ */
+public record TenantReferenceData(Map<Integer, StorageLocationRef> locations, Map<Integer, ProductRef> products,
+                                  long loadedAt) {
+
+    /** Number of cached rows, which is what the cache size bound counts. */
+    public int size() {
+        return locations.size() + products.size();
+    }
+}
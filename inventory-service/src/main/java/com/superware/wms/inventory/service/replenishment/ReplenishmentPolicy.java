@@ -0,0 +1,62 @@
+package com.superware.wms.inventory.service.replenishment;
+
+import com.superware.wms.inventory.entity.types.Quantity;
+
+/**
+ * Min/max thresholds of an inventory_policies row, applied to the stock at a pick face.
+ * Missing levels count as zero.
+ *
+ * @param variantId the variant the policy is specific to, or null for every variant of the product
+ */
+public record ReplenishmentPolicy(int productId, Integer variantId, Quantity minStockLevel, Quantity maxStockLevel,
+                                  Quantity reorderPoint, Quantity reorderQuantity) {
+
+    public ReplenishmentPolicy {
+        minStockLevel = minStockLevel != null ? minStockLevel : Quantity.ZERO;
+        maxStockLevel = maxStockLevel != null ? maxStockLevel : Quantity.ZERO;
+        reorderPoint = reorderPoint != null ? reorderPoint : Quantity.ZERO;
+        reorderQuantity = reorderQuantity != null ? reorderQuantity : Quantity.ZERO;
+    }
+
+    /**
+     * The stock level at or below which a pick face is replenished: the reorder point if set,
+     * otherwise the minimum stock level. A policy with neither never triggers.
+     */
+    public Quantity trigger() {
+        return reorderPoint.isPositive() ? reorderPoint : minStockLevel;
+    }
+
+    public boolean isDue(Quantity onHand) {
+        Quantity trigger = trigger();
+        return trigger.isPositive() && onHand.compareTo(trigger) <= 0;
+    }
+
+    /**
+     * Whether a decrease of {@code decrease} that left {@code onHand} took the stock from above
+     * the trigger to at or below it.
+     */
+    public boolean crossedBy(Quantity onHand, Quantity decrease) {
+        return isDue(onHand) && !isDue(onHand.add(decrease));
+    }
+
+    /**
+     * Quantity that brings the pick face back up to the maximum stock level, or the reorder
+     * quantity if no maximum is set.
+     */
+    public Quantity quantityToReplenish(Quantity onHand) {
+        if (maxStockLevel.isPositive()) {
+            return Quantity.max(maxStockLevel.subtract(onHand), Quantity.ZERO);
+        }
+        return reorderQuantity;
+    }
+
+    /**
+     * 1 for an empty pick face, 3 at or below the minimum stock level, 5 otherwise.
+     */
+    public int priority(Quantity onHand) {
+        if (!onHand.isPositive()) {
+            return 1;
+        }
+        return minStockLevel.isPositive() && onHand.compareTo(minStockLevel) <= 0 ? 3 : 5;
+    }
+}
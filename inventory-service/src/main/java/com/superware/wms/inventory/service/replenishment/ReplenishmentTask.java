@@ -0,0 +1,13 @@
+package com.superware.wms.inventory.service.replenishment;
+
+import com.superware.wms.inventory.entity.types.Quantity;
+
+/**
+ * A replenishment_tasks row to be created for a pick face that fell to its trigger level.
+ *
+ * @param fromLocationId the reserve location to pick from, or null if no reserve stock was found
+ * @param onHand the pick face stock the task was planned against
+ */
+public record ReplenishmentTask(int productId, Integer variantId, Integer fromLocationId, int toLocationId,
+                                Quantity quantity, int priority, Quantity onHand) {
+}
@@ -0,0 +1,66 @@
+package com.superware.wms.inventory.service.slotting;
+
+import com.superware.wms.inventory.service.picking.WarehouseLayout;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A facility's pick zones, matched to storage locations by their aisle and level bounds.
+ * <p>
+ * Bounds are labels compared in natural order ("A2" before "A10"); a missing bound is open. Where
+ * zones overlap, an overflow zone wins over a regular one, so reserve storage is never taken for
+ * pick face, then the lower zone ID.
+ */
+public final class PickZones {
+
+    /**
+     * A row of pick_zones.
+     *
+     * @param pickSeconds the zone's average time to pick once at the location, 0 if unknown
+     */
+    public record PickZone(int zoneId, String minAisle, String maxAisle, String minLevel, String maxLevel,
+                           boolean overflow, double pickSeconds) {
+
+        boolean contains(String aisle, String level) {
+            return within(aisle, minAisle, maxAisle) && within(level, minLevel, maxLevel);
+        }
+
+        private static boolean within(String label, String min, String max) {
+            if (min == null && max == null) {
+                return true;
+            }
+            if (label == null) {
+                return false;
+            }
+            String value = label.trim();
+            return (min == null || WarehouseLayout.compareNatural(value, min.trim()) >= 0)
+                    && (max == null || WarehouseLayout.compareNatural(value, max.trim()) <= 0);
+        }
+    }
+
+    private final List<PickZone> zones;
+
+    private PickZones(List<PickZone> zones) {
+        this.zones = zones;
+    }
+
+    public static PickZones of(List<PickZone> zones) {
+        List<PickZone> sorted = new ArrayList<>(zones);
+        sorted.sort(Comparator.comparing(PickZone::overflow).reversed().thenComparingInt(PickZone::zoneId));
+        return new PickZones(sorted);
+    }
+
+    /**
+     * @return the zone the location is picked in, or null if it is in none
+     */
+    public PickZone zoneOf(String aisle, String level) {
+        for (PickZone zone : zones) {
+            if (zone.contains(aisle, level)) {
+                return zone;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,289 @@
+package com.superware.wms.inventory.service.slotting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Proposes re-slot moves that bring fast-moving stock closer to the depot.
+ * <p>
+ * Every location has a travel cost per pick and every occupied location a pick rate, so the
+ * travel its stock causes is rate times cost. A location's stock can move to a cheaper empty
+ * location, or swap with slower stock in a cheaper location; either saves the difference in
+ * travel. Stock only moves between locations of the same storage class, into a location that
+ * is a slotting target and takes its weight and volume, and never out of or into a location
+ * whose stock is locked. Stock in a location that is not a target, such as overflow, can move
+ * out into an empty location but is never swapped, since the swap would move stock into it.
+ * <p>
+ * Moves are chosen greedily by travel saved per transfer, a swap being two transfers. The best
+ * move of every source location is found in parallel on a fork-join pool, scanning at most
+ * {@code scanLimit} of the cheapest free locations of its class. The moves are then taken best
+ * first; a source whose target an earlier move took looks for its next best among the locations
+ * still free and rejoins the queue, so no two moves share a location.
+ */
+public final class SlottingOptimizer {
+
+    /**
+     * A storage location.
+     *
+     * @param storageClass locations only exchange stock within the same class
+     * @param travelCost the travel one pick at the location costs
+     * @param target whether stock may be moved into the location
+     */
+    public record Location(int locationId, int storageClass, double travelCost, Double maxWeightKg,
+                           Double maxVolumeM3, boolean target) {
+    }
+
+    /**
+     * The stock held in a location.
+     *
+     * @param picks the location's pick rate
+     * @param locked whether the stock must stay where it is, e.g. because it is allocated
+     */
+    public record Contents(int locationId, double picks, double weightKg, double volumeM3, boolean locked) {
+    }
+
+    /**
+     * Moving the stock of one location into another, and the other's back if it is a swap.
+     *
+     * @param travelSaved the pick rate times travel cost saved by the move
+     */
+    public record Move(int fromLocationId, int toLocationId, boolean swap, double travelSaved) {
+
+        public int transfers() {
+            return swap ? 2 : 1;
+        }
+
+        public double travelSavedPerTransfer() {
+            return travelSaved / transfers();
+        }
+    }
+
+    private static final int LEAF_SOURCES = 256;
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator
+            .comparingDouble(Candidate::perTransfer).reversed()
+            .thenComparingInt(Candidate::fromLocationId);
+
+    private final ForkJoinPool pool;
+    private final int scanLimit;
+    private final double minTravelSavedPerTransfer;
+
+    public SlottingOptimizer(ForkJoinPool pool, int scanLimit, double minTravelSavedPerTransfer) {
+        this.pool = pool;
+        this.scanLimit = scanLimit;
+        this.minTravelSavedPerTransfer = minTravelSavedPerTransfer;
+    }
+
+    /**
+     * @param contents the stock of the occupied locations; stock in a location missing from
+     *                 {@code locations} is ignored
+     * @return at most {@code maxMoves} moves, most travel saved per transfer first
+     */
+    public List<Move> optimize(List<Location> locations, List<Contents> contents, int maxMoves) {
+        Slots slots = Slots.of(locations, contents);
+        boolean[] used = new boolean[slots.size()];
+        int[] sources = slots.sources();
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(BEST_FIRST);
+        queue.addAll(pool.invoke(new CandidateTask(slots, used, sources, 0, sources.length)));
+        List<Move> moves = new ArrayList<>();
+        while (moves.size() < maxMoves && !queue.isEmpty()) {
+            Candidate candidate = queue.poll();
+            if (used[candidate.source()]) {
+                continue;
+            }
+            if (used[candidate.target()]) {
+                Candidate next = bestMove(slots, used, candidate.source());
+                if (next != null) {
+                    queue.add(next);
+                }
+                continue;
+            }
+            used[candidate.source()] = true;
+            used[candidate.target()] = true;
+            moves.add(new Move(slots.locationIds[candidate.source()], slots.locationIds[candidate.target()],
+                    candidate.swap(), candidate.saved()));
+        }
+        moves.sort(Comparator.comparingDouble(Move::travelSavedPerTransfer).reversed()
+                .thenComparingInt(Move::fromLocationId));
+        return moves;
+    }
+
+    private Candidate bestMove(Slots slots, boolean[] used, int source) {
+        double sourcePicks = slots.picks[source];
+        double sourceCost = slots.costs[source];
+        Candidate best = null;
+        int scanned = 0;
+        for (int target = slots.classStarts[source]; target < source && scanned < scanLimit; target++) {
+            if (used[target]) {
+                continue;
+            }
+            scanned++;
+            // Targets only get dearer, and no move saves more than moving into an empty location
+            double costSaved = sourceCost - slots.costs[target];
+            double bound = sourcePicks * costSaved;
+            if (bound <= 0 || bound < minTravelSavedPerTransfer || (best != null && bound <= best.perTransfer())) {
+                break;
+            }
+            if (!slots.targets[target] || slots.locked[target] || !slots.fits(source, target)) {
+                continue;
+            }
+            Candidate candidate;
+            if (!slots.occupied[target]) {
+                candidate = new Candidate(source, target, slots.locationIds[source], false, sourcePicks * costSaved);
+            } else if (slots.picks[target] < sourcePicks && slots.targets[source] && slots.fits(target, source)) {
+                candidate = new Candidate(source, target, slots.locationIds[source], true,
+                        (sourcePicks - slots.picks[target]) * costSaved);
+            } else {
+                continue;
+            }
+            if (candidate.perTransfer() >= minTravelSavedPerTransfer
+                    && (best == null || candidate.perTransfer() > best.perTransfer())) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private record Candidate(int source, int target, int fromLocationId, boolean swap, double saved) {
+
+        double perTransfer() {
+            return swap ? saved / 2 : saved;
+        }
+    }
+
+    private final class CandidateTask extends RecursiveTask<List<Candidate>> {
+
+        private final Slots slots;
+        private final boolean[] used;
+        private final int[] sources;
+        private final int from;
+        private final int to;
+
+        CandidateTask(Slots slots, boolean[] used, int[] sources, int from, int to) {
+            this.slots = slots;
+            this.used = used;
+            this.sources = sources;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Candidate> compute() {
+            if (to - from <= LEAF_SOURCES) {
+                List<Candidate> candidates = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    Candidate candidate = bestMove(slots, used, sources[i]);
+                    if (candidate != null) {
+                        candidates.add(candidate);
+                    }
+                }
+                return candidates;
+            }
+            int middle = (from + to) >>> 1;
+            CandidateTask left = new CandidateTask(slots, used, sources, from, middle);
+            left.fork();
+            List<Candidate> candidates = new CandidateTask(slots, used, sources, middle, to).compute();
+            candidates.addAll(left.join());
+            return candidates;
+        }
+    }
+
+    /**
+     * The locations as parallel arrays, grouped by storage class and cheapest first within each.
+     */
+    private static final class Slots {
+
+        private final int[] locationIds;
+        private final int[] classStarts;
+        private final double[] costs;
+        private final double[] maxWeights;
+        private final double[] maxVolumes;
+        private final boolean[] targets;
+        private final boolean[] occupied;
+        private final boolean[] locked;
+        private final double[] picks;
+        private final double[] weights;
+        private final double[] volumes;
+
+        private Slots(int size) {
+            locationIds = new int[size];
+            classStarts = new int[size];
+            costs = new double[size];
+            maxWeights = new double[size];
+            maxVolumes = new double[size];
+            targets = new boolean[size];
+            occupied = new boolean[size];
+            locked = new boolean[size];
+            picks = new double[size];
+            weights = new double[size];
+            volumes = new double[size];
+        }
+
+        static Slots of(List<Location> locations, List<Contents> contents) {
+            List<Location> sorted = new ArrayList<>(locations);
+            sorted.sort(Comparator.comparingInt(Location::storageClass)
+                    .thenComparingDouble(Location::travelCost)
+                    .thenComparingInt(Location::locationId));
+            Slots slots = new Slots(sorted.size());
+            Map<Integer, Integer> indexByLocation = new HashMap<>(sorted.size() * 2);
+            int classStart = 0;
+            for (int i = 0; i < sorted.size(); i++) {
+                Location location = sorted.get(i);
+                if (i > 0 && sorted.get(i - 1).storageClass() != location.storageClass()) {
+                    classStart = i;
+                }
+                indexByLocation.put(location.locationId(), i);
+                slots.locationIds[i] = location.locationId();
+                slots.classStarts[i] = classStart;
+                slots.costs[i] = location.travelCost();
+                slots.maxWeights[i] = location.maxWeightKg() != null ? location.maxWeightKg() : Double.MAX_VALUE;
+                slots.maxVolumes[i] = location.maxVolumeM3() != null ? location.maxVolumeM3() : Double.MAX_VALUE;
+                slots.targets[i] = location.target();
+            }
+            for (Contents content : contents) {
+                Integer index = indexByLocation.get(content.locationId());
+                if (index == null) {
+                    continue;
+                }
+                slots.occupied[index] = true;
+                slots.locked[index] |= content.locked();
+                slots.picks[index] += content.picks();
+                slots.weights[index] += content.weightKg();
+                slots.volumes[index] += content.volumeM3();
+            }
+            return slots;
+        }
+
+        int size() {
+            return locationIds.length;
+        }
+
+        /**
+         * @return the occupied locations whose stock is picked and may move
+         */
+        int[] sources() {
+            int count = 0;
+            int[] sources = new int[size()];
+            for (int i = 0; i < size(); i++) {
+                if (occupied[i] && !locked[i] && picks[i] > 0) {
+                    sources[count++] = i;
+                }
+            }
+            return Arrays.copyOf(sources, count);
+        }
+
+        /**
+         * @return whether the stock of {@code from} fits into {@code into}
+         */
+        boolean fits(int from, int into) {
+            return weights[from] <= maxWeights[into] && volumes[from] <= maxVolumes[into];
+        }
+    }
+}
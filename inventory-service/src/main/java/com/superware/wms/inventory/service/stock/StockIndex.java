@@ -0,0 +1,472 @@
+package com.superware.wms.inventory.service.stock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of on-hand and allocated stock per (tenant, product, facility, location, lot).
+ * <p>
+ * Everything is held in primitive arrays: a dense column store of stock positions, an
+ * open-addressing hash table over the position key, a chain linking the positions of each
+ * (tenant, product), and an open-addressing table from item ID to the position and quantities
+ * that item last contributed. Updates carry an item's absolute quantities, so applying the
+ * same update twice (for example while a rebuild is replaying) is harmless.
+ * <p>
+ * Quantities are scaled {@code long} units as in {@link com.superware.wms.inventory.entity.types.Quantity}.
+ * A null location or lot is stored as 0. Reads take a shared lock; updates take an exclusive
+ * lock held only for a few array writes.
+ */
+public class StockIndex {
+
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int NONE = -1;
+
+    private final long maxItems;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Stock positions (dense, append only)
+    private int positionCount;
+    private int[] tenant;
+    private int[] product;
+    private int[] facility;
+    private int[] location;
+    private int[] lot;
+    private long[] onHand;
+    private long[] allocated;
+    private int[] nextInProduct;
+
+    // Position key -> position, linear probing over position + 1 (0 = empty)
+    private int[] positionTable;
+
+    // (tenant, product) -> first position of the chain
+    private long[] productKeys;
+    private int[] productHeads;
+    private int productCount;
+
+    // Item id -> contributed position and quantities (0 key = empty)
+    private int[] itemKeys;
+    private int[] itemPosition;
+    private long[] itemOnHand;
+    private long[] itemAllocated;
+    private int itemCount;
+
+    private final Map<String, Integer> lotIds = new HashMap<>();
+    private final List<String> lotNames = new ArrayList<>();
+
+    /**
+     * @param expectedItems number of items to size the tables for, so a rebuild does not rehash
+     * @param maxItems      upper bound on indexed items; {@link #update} refuses new items beyond it
+     */
+    public StockIndex(int expectedItems, long maxItems) {
+        this.maxItems = maxItems;
+        int positions = Math.max(16, expectedItems);
+        tenant = new int[positions];
+        product = new int[positions];
+        facility = new int[positions];
+        location = new int[positions];
+        lot = new int[positions];
+        onHand = new long[positions];
+        allocated = new long[positions];
+        nextInProduct = new int[positions];
+        positionTable = new int[tableSize(positions)];
+        productKeys = new long[tableSize(Math.max(16, expectedItems / 4))];
+        productHeads = new int[productKeys.length];
+        Arrays.fill(productHeads, NONE);
+        int items = tableSize(Math.max(16, expectedItems));
+        itemKeys = new int[items];
+        itemPosition = new int[items];
+        itemOnHand = new long[items];
+        itemAllocated = new long[items];
+        lotNames.add(null);
+    }
+
+    /**
+     * Records the current state of an item. A deleted item stops contributing to any position.
+     *
+     * @return false if the item is new and the index already holds {@code maxItems} items
+     */
+    public boolean update(int itemId, int tenantId, int productId, int facilityId, Integer locationId,
+                          String lotNumber, long onHandUnits, long allocatedUnits, boolean deleted) {
+        lock.writeLock().lock();
+        try {
+            return apply(itemId, tenantId, productId, facilityId, locationId == null ? 0 : locationId,
+                    deleted ? 0 : lotId(lotNumber), onHandUnits, allocatedUnits, deleted);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sums the positions of a product for a tenant. Null filters match every facility, location or lot.
+     *
+     * @return {onHand, allocated} in quantity units
+     */
+    public long[] sum(int tenantId, int productId, Integer facilityId, Integer locationId, String lotNumber) {
+        long totalOnHand = 0;
+        long totalAllocated = 0;
+        lock.readLock().lock();
+        try {
+            int lotFilter = 0;
+            if (lotNumber != null) {
+                Integer id = lotIds.get(lotNumber);
+                if (id == null) {
+                    return new long[] {0, 0};
+                }
+                lotFilter = id;
+            }
+            int p = productHead(tenantId, productId);
+            while (p != NONE) {
+                if ((facilityId == null || facility[p] == facilityId)
+                        && (locationId == null || location[p] == locationId)
+                        && (lotNumber == null || lot[p] == lotFilter)) {
+                    totalOnHand += onHand[p];
+                    totalAllocated += allocated[p];
+                }
+                p = nextInProduct[p];
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new long[] {totalOnHand, totalAllocated};
+    }
+
+    public int getItemCount() {
+        lock.readLock().lock();
+        try {
+            return itemCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getPositionCount() {
+        lock.readLock().lock();
+        try {
+            return positionCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---- snapshots (see StockIndexSnapshot) ----
+
+    /** Receives the live items of the index in table order. */
+    interface ItemVisitor {
+
+        /**
+         * @param items number of {@link #item} calls that follow
+         * @param lots  lot dictionary; index 0 is the null lot
+         */
+        void begin(int items, List<String> lots);
+
+        void item(int itemId, int tenantId, int productId, int facilityId, int locationId, int lotId,
+                  long onHandUnits, long allocatedUnits);
+    }
+
+    /**
+     * Walks every live item under the shared lock, so updates wait until the visitor returns.
+     */
+    void forEachItem(ItemVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            int live = 0;
+            for (int i = 0; i < itemKeys.length; i++) {
+                if (itemKeys[i] != 0 && itemPosition[i] != NONE) {
+                    live++;
+                }
+            }
+            visitor.begin(live, Collections.unmodifiableList(lotNames));
+            for (int i = 0; i < itemKeys.length; i++) {
+                int p = itemPosition[i];
+                if (itemKeys[i] != 0 && p != NONE) {
+                    visitor.item(itemKeys[i], tenant[p], product[p], facility[p], location[p], lot[p],
+                            itemOnHand[i], itemAllocated[i]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the lot dictionary of an empty index, so lot ids from a snapshot can be restored as they are.
+     */
+    void restoreLots(List<String> lots) {
+        lock.writeLock().lock();
+        try {
+            if (itemCount > 0) {
+                throw new IllegalStateException("Lots can only be restored into an empty index");
+            }
+            lotIds.clear();
+            lotNames.clear();
+            lotNames.add(null);
+            for (int id = 1; id < lots.size(); id++) {
+                lotNames.add(lots.get(id));
+                lotIds.put(lots.get(id), id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean restore(int itemId, int tenantId, int productId, int facilityId, int locationId, int lotId,
+                    long onHandUnits, long allocatedUnits) {
+        lock.writeLock().lock();
+        try {
+            return apply(itemId, tenantId, productId, facilityId, locationId, lotId, onHandUnits, allocatedUnits, false);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---- positions ----
+
+    private int position(int tenantId, int productId, int facilityId, int locationId, int lotId, boolean create) {
+        int mask = positionTable.length - 1;
+        int i = mix(hash(tenantId, productId, facilityId, locationId, lotId)) & mask;
+        while (true) {
+            int entry = positionTable[i];
+            if (entry == 0) {
+                break;
+            }
+            int p = entry - 1;
+            if (tenant[p] == tenantId && product[p] == productId && facility[p] == facilityId
+                    && location[p] == locationId && lot[p] == lotId) {
+                return p;
+            }
+            i = (i + 1) & mask;
+        }
+        if (!create) {
+            return NONE;
+        }
+
+        if (positionCount == tenant.length) {
+            growPositions();
+        }
+        int p = positionCount++;
+        tenant[p] = tenantId;
+        product[p] = productId;
+        facility[p] = facilityId;
+        location[p] = locationId;
+        lot[p] = lotId;
+        linkToProduct(p);
+        if (positionCount > positionTable.length * LOAD_FACTOR) {
+            rehashPositions(positionTable.length * 2);
+        } else {
+            positionTable[i] = p + 1;
+        }
+        return p;
+    }
+
+    private void growPositions() {
+        int size = tenant.length + (tenant.length >> 1);
+        tenant = Arrays.copyOf(tenant, size);
+        product = Arrays.copyOf(product, size);
+        facility = Arrays.copyOf(facility, size);
+        location = Arrays.copyOf(location, size);
+        lot = Arrays.copyOf(lot, size);
+        onHand = Arrays.copyOf(onHand, size);
+        allocated = Arrays.copyOf(allocated, size);
+        nextInProduct = Arrays.copyOf(nextInProduct, size);
+    }
+
+    private void rehashPositions(int size) {
+        positionTable = new int[size];
+        int mask = size - 1;
+        for (int p = 0; p < positionCount; p++) {
+            int i = mix(hash(tenant[p], product[p], facility[p], location[p], lot[p])) & mask;
+            while (positionTable[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            positionTable[i] = p + 1;
+        }
+    }
+
+    // ---- product chains ----
+
+    private int productHead(int tenantId, int productId) {
+        long key = productKey(tenantId, productId);
+        int mask = productKeys.length - 1;
+        int i = mix(Long.hashCode(key)) & mask;
+        while (productHeads[i] != NONE) {
+            if (productKeys[i] == key) {
+                return productHeads[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return NONE;
+    }
+
+    private void linkToProduct(int p) {
+        long key = productKey(tenant[p], product[p]);
+        int mask = productKeys.length - 1;
+        int i = mix(Long.hashCode(key)) & mask;
+        while (productHeads[i] != NONE) {
+            if (productKeys[i] == key) {
+                nextInProduct[p] = productHeads[i];
+                productHeads[i] = p;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        nextInProduct[p] = NONE;
+        productKeys[i] = key;
+        productHeads[i] = p;
+        if (++productCount > productKeys.length * LOAD_FACTOR) {
+            rehashProducts(productKeys.length * 2);
+        }
+    }
+
+    private void rehashProducts(int size) {
+        long[] oldKeys = productKeys;
+        int[] oldHeads = productHeads;
+        productKeys = new long[size];
+        productHeads = new int[size];
+        Arrays.fill(productHeads, NONE);
+        int mask = size - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldHeads[j] != NONE) {
+                int i = mix(Long.hashCode(oldKeys[j])) & mask;
+                while (productHeads[i] != NONE) {
+                    i = (i + 1) & mask;
+                }
+                productKeys[i] = oldKeys[j];
+                productHeads[i] = oldHeads[j];
+            }
+        }
+    }
+
+    // ---- items ----
+
+    private boolean apply(int itemId, int tenantId, int productId, int facilityId, int locationId, int lotId,
+                          long onHandUnits, long allocatedUnits, boolean deleted) {
+        int itemSlot = findItem(itemId);
+        if (itemSlot < 0) {
+            if (deleted) {
+                return true;
+            }
+            if (itemCount >= maxItems) {
+                return false;
+            }
+            itemSlot = insertItem(itemId);
+        } else {
+            int previous = itemPosition[itemSlot];
+            if (previous != NONE) {
+                onHand[previous] -= itemOnHand[itemSlot];
+                allocated[previous] -= itemAllocated[itemSlot];
+            }
+        }
+
+        if (deleted) {
+            itemPosition[itemSlot] = NONE;
+            itemOnHand[itemSlot] = 0;
+            itemAllocated[itemSlot] = 0;
+            return true;
+        }
+
+        int position = position(tenantId, productId, facilityId, locationId, lotId, true);
+        onHand[position] += onHandUnits;
+        allocated[position] += allocatedUnits;
+        itemPosition[itemSlot] = position;
+        itemOnHand[itemSlot] = onHandUnits;
+        itemAllocated[itemSlot] = allocatedUnits;
+        return true;
+    }
+
+    private int findItem(int itemId) {
+        int mask = itemKeys.length - 1;
+        int i = mix(itemId) & mask;
+        while (itemKeys[i] != 0) {
+            if (itemKeys[i] == itemId) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return NONE;
+    }
+
+    private int insertItem(int itemId) {
+        if (itemCount + 1 > itemKeys.length * LOAD_FACTOR) {
+            rehashItems(itemKeys.length * 2);
+        }
+        int mask = itemKeys.length - 1;
+        int i = mix(itemId) & mask;
+        while (itemKeys[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        itemKeys[i] = itemId;
+        itemPosition[i] = NONE;
+        itemCount++;
+        return i;
+    }
+
+    private void rehashItems(int size) {
+        int[] oldKeys = itemKeys;
+        int[] oldPosition = itemPosition;
+        long[] oldOnHand = itemOnHand;
+        long[] oldAllocated = itemAllocated;
+        itemKeys = new int[size];
+        itemPosition = new int[size];
+        itemOnHand = new long[size];
+        itemAllocated = new long[size];
+        int mask = size - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != 0) {
+                int i = mix(oldKeys[j]) & mask;
+                while (itemKeys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                itemKeys[i] = oldKeys[j];
+                itemPosition[i] = oldPosition[j];
+                itemOnHand[i] = oldOnHand[j];
+                itemAllocated[i] = oldAllocated[j];
+            }
+        }
+    }
+
+    // ---- helpers ----
+
+    private int lotId(String lotNumber) {
+        if (lotNumber == null) {
+            return 0;
+        }
+        Integer id = lotIds.get(lotNumber);
+        if (id == null) {
+            id = lotNames.size();
+            lotNames.add(lotNumber);
+            lotIds.put(lotNumber, id);
+        }
+        return id;
+    }
+
+    private static long productKey(int tenantId, int productId) {
+        return ((long) tenantId << 32) | (productId & 0xFFFFFFFFL);
+    }
+
+    private static int hash(int tenantId, int productId, int facilityId, int locationId, int lotId) {
+        int h = tenantId;
+        h = h * 31 + productId;
+        h = h * 31 + facilityId;
+        h = h * 31 + locationId;
+        return h * 31 + lotId;
+    }
+
+    /** Murmur3 finalizer, so sequential ids spread over the table. */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSize(int entries) {
+        int size = Integer.highestOneBit((int) Math.min(1 << 30, (long) (entries / LOAD_FACTOR) + 1));
+        return size < entries / LOAD_FACTOR ? size << 1 : size;
+    }
+}
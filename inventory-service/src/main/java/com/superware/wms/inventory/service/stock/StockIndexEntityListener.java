@@ -0,0 +1,31 @@
+package com.superware.wms.inventory.service.stock;
+
+import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.service.StockIndexService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Forwards every inserted or updated {@link InventoryItem} to the stock index, so all write
+ * paths keep it current without each service having to call it. Hibernate creates this
+ * listener through Spring's bean container; when the index is disabled it does nothing.
+ */
+public class StockIndexEntityListener {
+
+    @Autowired
+    private ObjectProvider<StockIndexService> stockIndexService;
+
+    @PostPersist
+    @PostUpdate
+    public void itemSaved(InventoryItem item) {
+        if (stockIndexService == null) {
+            return;
+        }
+        StockIndexService index = stockIndexService.getIfAvailable();
+        if (index != null) {
+            index.itemChanged(item);
+        }
+    }
+}
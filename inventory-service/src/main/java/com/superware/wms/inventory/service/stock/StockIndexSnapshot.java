@@ -0,0 +1,236 @@
+package com.superware.wms.inventory.service.stock;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Columnar on-disk snapshot of a {@link StockIndex}, read back through memory-mapped columns.
+ * <p>
+ * Layout (little endian): a 48-byte header, then one column per item field — item, tenant,
+ * product, facility, location and lot ids as {@code int}s, on-hand and allocated units as
+ * {@code long}s — followed by the lot dictionary as length-prefixed UTF-8. Each section is
+ * mapped on its own, so files over 2 GB need no special handling. A CRC32C over the header
+ * and all sections guards against torn or truncated files.
+ * <p>
+ * The high-water mark is the database time the snapshot was taken at; the caller replays item
+ * changes after it (less a safety margin) to bring a restored index up to date.
+ */
+public final class StockIndexSnapshot {
+
+    private static final long MAGIC = 0x58494B5453534D57L; // "WMSSTKIX"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 48;
+    private static final int CHECKSUM_OFFSET = 40;
+    private static final int INT_COLUMNS = 6;
+    private static final int LONG_COLUMNS = 2;
+
+    private StockIndexSnapshot() {
+    }
+
+    /** A restored index and the high-water mark it is current up to. */
+    public record Snapshot(StockIndex index, Instant highWaterMark) {
+    }
+
+    /**
+     * Writes the index to a temporary file next to {@code target} and atomically moves it into
+     * place once it is on disk. Updates to the index wait while its items are copied out.
+     */
+    public static void write(StockIndex index, Instant highWaterMark, Path target) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ColumnWriter writer = new ColumnWriter(channel, highWaterMark);
+                index.forEachItem(writer);
+                writer.finish();
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Maps a snapshot file and restores it into a new index.
+     *
+     * @throws IOException if the file cannot be read, is not a snapshot of this version, fails its
+     *                     checksum, or holds more than {@code maxItems} items
+     */
+    public static Snapshot read(Path path, long maxItems) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("Stock index snapshot " + path + " is truncated");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getLong(0) != MAGIC || header.getInt(8) != VERSION) {
+                throw new IOException(path + " is not a version " + VERSION + " stock index snapshot");
+            }
+            int items = header.getInt(12);
+            int lots = header.getInt(16);
+            long highWaterMark = header.getLong(24);
+            long lotBytes = header.getLong(32);
+            if (items < 0 || lots < 1 || lotBytes < 0 || size != HEADER_BYTES + columnBytes(items) + lotBytes) {
+                throw new IOException("Stock index snapshot " + path + " is truncated");
+            }
+            if (items > maxItems) {
+                throw new IOException("Stock index snapshot " + path + " holds more than " + maxItems + " items");
+            }
+
+            MappedByteBuffer[] sections = mapSections(channel, FileChannel.MapMode.READ_ONLY, items, lotBytes);
+            CRC32C crc = new CRC32C();
+            crc.update(header.duplicate().limit(CHECKSUM_OFFSET));
+            for (MappedByteBuffer section : sections) {
+                crc.update(section.duplicate());
+            }
+            if ((int) crc.getValue() != header.getInt(CHECKSUM_OFFSET)) {
+                throw new IOException("Stock index snapshot " + path + " failed its checksum");
+            }
+
+            StockIndex index = new StockIndex((int) Math.min(maxItems, items + (items >> 4)), maxItems);
+            index.restoreLots(readLots(sections[INT_COLUMNS + LONG_COLUMNS], lots));
+            IntBuffer[] ints = new IntBuffer[INT_COLUMNS];
+            for (int c = 0; c < INT_COLUMNS; c++) {
+                ints[c] = sections[c].asIntBuffer();
+            }
+            LongBuffer onHand = sections[INT_COLUMNS].asLongBuffer();
+            LongBuffer allocated = sections[INT_COLUMNS + 1].asLongBuffer();
+            for (int i = 0; i < items; i++) {
+                int lot = ints[5].get(i);
+                if (lot < 0 || lot >= lots) {
+                    throw new IOException("Stock index snapshot " + path + " references unknown lot " + lot);
+                }
+                index.restore(ints[0].get(i), ints[1].get(i), ints[2].get(i), ints[3].get(i), ints[4].get(i), lot,
+                        onHand.get(i), allocated.get(i));
+            }
+            return new Snapshot(index, Instant.ofEpochMilli(highWaterMark));
+        }
+    }
+
+    private static List<String> readLots(ByteBuffer section, int lots) throws IOException {
+        List<String> names = new ArrayList<>(lots);
+        names.add(null);
+        ByteBuffer buffer = section.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        for (int id = 1; id < lots; id++) {
+            if (buffer.remaining() < Integer.BYTES) {
+                throw new IOException("Stock index snapshot lot dictionary is truncated");
+            }
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IOException("Stock index snapshot lot dictionary is truncated");
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            names.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return names;
+    }
+
+    private static long columnBytes(long items) {
+        return items * (INT_COLUMNS * Integer.BYTES + LONG_COLUMNS * Long.BYTES);
+    }
+
+    /** Maps the item columns followed by the lot dictionary. */
+    private static MappedByteBuffer[] mapSections(FileChannel channel, FileChannel.MapMode mode, int items,
+                                                  long lotBytes) throws IOException {
+        MappedByteBuffer[] sections = new MappedByteBuffer[INT_COLUMNS + LONG_COLUMNS + 1];
+        long offset = HEADER_BYTES;
+        for (int c = 0; c < sections.length; c++) {
+            long length = c < INT_COLUMNS ? (long) items * Integer.BYTES
+                    : c < INT_COLUMNS + LONG_COLUMNS ? (long) items * Long.BYTES
+                    : lotBytes;
+            sections[c] = channel.map(mode, offset, length);
+            sections[c].order(ByteOrder.LITTLE_ENDIAN);
+            offset += length;
+        }
+        return sections;
+    }
+
+    /** Streams the items of an index into mapped columns. */
+    private static final class ColumnWriter implements StockIndex.ItemVisitor {
+
+        private final FileChannel channel;
+        private final Instant highWaterMark;
+        private MappedByteBuffer header;
+        private MappedByteBuffer[] sections;
+
+        ColumnWriter(FileChannel channel, Instant highWaterMark) {
+            this.channel = channel;
+            this.highWaterMark = highWaterMark;
+        }
+
+        @Override
+        public void begin(int items, List<String> lots) {
+            try {
+                byte[][] encoded = new byte[lots.size()][];
+                long lotBytes = 0;
+                for (int id = 1; id < lots.size(); id++) {
+                    encoded[id] = lots.get(id).getBytes(StandardCharsets.UTF_8);
+                    lotBytes += Integer.BYTES + encoded[id].length;
+                }
+
+                header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+                header.order(ByteOrder.LITTLE_ENDIAN);
+                header.putLong(0, MAGIC)
+                        .putInt(8, VERSION)
+                        .putInt(12, items)
+                        .putInt(16, lots.size())
+                        .putLong(24, highWaterMark.toEpochMilli())
+                        .putLong(32, lotBytes);
+
+                sections = mapSections(channel, FileChannel.MapMode.READ_WRITE, items, lotBytes);
+                ByteBuffer lotSection = sections[INT_COLUMNS + LONG_COLUMNS];
+                for (int id = 1; id < lots.size(); id++) {
+                    lotSection.putInt(encoded[id].length).put(encoded[id]);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void item(int itemId, int tenantId, int productId, int facilityId, int locationId, int lotId,
+                         long onHandUnits, long allocatedUnits) {
+            sections[0].putInt(itemId);
+            sections[1].putInt(tenantId);
+            sections[2].putInt(productId);
+            sections[3].putInt(facilityId);
+            sections[4].putInt(locationId);
+            sections[5].putInt(lotId);
+            sections[6].putLong(onHandUnits);
+            sections[7].putLong(allocatedUnits);
+        }
+
+        /** Checksums and flushes the mapped sections; runs after the index lock is released. */
+        void finish() {
+            CRC32C crc = new CRC32C();
+            crc.update(header.duplicate().limit(CHECKSUM_OFFSET));
+            for (MappedByteBuffer section : sections) {
+                crc.update(section.duplicate().rewind());
+                section.force();
+            }
+            header.putInt(CHECKSUM_OFFSET, (int) crc.getValue());
+            header.force();
+        }
+    }
+}
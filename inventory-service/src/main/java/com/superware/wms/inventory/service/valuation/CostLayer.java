@@ -0,0 +1,21 @@
+package com.superware.wms.inventory.service.valuation;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Open quantity of one receipt at the cost it was received at.
+ *
+ * @param units remaining quantity in {@link com.superware.wms.inventory.entity.types.Quantity} units
+ * @param unitCost cost per whole unit
+ */
+public record CostLayer(OffsetDateTime receivedAt, long units, BigDecimal unitCost) {
+
+    public BigDecimal value() {
+        return CostLedger.valueOf(units, unitCost);
+    }
+
+    CostLayer withUnits(long remaining) {
+        return new CostLayer(receivedAt, remaining, unitCost);
+    }
+}
@@ -0,0 +1,177 @@
+package com.superware.wms.inventory.service.valuation;
+
+import com.superware.wms.inventory.entity.types.Quantity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Cost layers of one product in one facility.
+ * <p>
+ * Receipts append a layer; issues consume layers from the oldest end under FIFO and from the
+ * newest under LIFO. Under AVERAGE there is at most one layer, re-priced at the weighted average
+ * cost on every receipt. Quantities are {@link Quantity} units, values have four decimal places
+ * and unit costs six. Not thread-safe.
+ */
+public final class CostLedger {
+
+    static final int VALUE_SCALE = 4;
+    static final int UNIT_COST_SCALE = 6;
+
+    private static final BigDecimal UNITS_PER_ONE = BigDecimal.valueOf(Quantity.UNITS_PER_ONE);
+
+    private final Deque<CostLayer> layers;
+    private ValuationMethod method;
+    private long shortfallUnits;
+    private BigDecimal lastUnitCost;
+
+    public CostLedger(ValuationMethod method) {
+        this(method, List.of(), 0, null);
+    }
+
+    /**
+     * @param layers open layers, oldest first
+     * @param shortfallUnits quantity issued earlier without a layer to cost it from
+     */
+    public CostLedger(ValuationMethod method, List<CostLayer> layers, long shortfallUnits, BigDecimal lastUnitCost) {
+        this.method = method;
+        this.layers = new ArrayDeque<>(layers);
+        this.shortfallUnits = shortfallUnits;
+        this.lastUnitCost = lastUnitCost;
+    }
+
+    /**
+     * Switches the cost flow for the movements that follow. Moving to AVERAGE merges the open
+     * layers into one at their average cost; moving away keeps the layers as they are.
+     */
+    public void changeMethod(ValuationMethod newMethod) {
+        if (newMethod == ValuationMethod.AVERAGE && method != ValuationMethod.AVERAGE && layers.size() > 1) {
+            long units = units();
+            BigDecimal value = value();
+            OffsetDateTime receivedAt = layers.peekLast().receivedAt();
+            layers.clear();
+            layers.add(new CostLayer(receivedAt, units, unitCostOf(value, units)));
+        }
+        method = newMethod;
+    }
+
+    /**
+     * Adds received stock. A shortfall from earlier issues is settled first; only the rest opens
+     * (or, under AVERAGE, joins) a layer.
+     *
+     * @param unitCost cost per whole unit, or null to receive at the last known cost
+     * @return the value received
+     */
+    public BigDecimal receive(long units, BigDecimal unitCost, OffsetDateTime receivedAt) {
+        BigDecimal cost = unitCost != null ? unitCost : currentUnitCost();
+        lastUnitCost = cost;
+        long settled = Math.min(units, shortfallUnits);
+        shortfallUnits -= settled;
+        long remaining = units - settled;
+        if (remaining > 0) {
+            if (method == ValuationMethod.AVERAGE && !layers.isEmpty()) {
+                CostLayer average = layers.poll();
+                long total = Math.addExact(average.units(), remaining);
+                BigDecimal value = average.value().add(valueOf(remaining, cost));
+                layers.add(new CostLayer(receivedAt, total, unitCostOf(value, total)));
+            } else {
+                layers.add(new CostLayer(receivedAt, remaining, cost.setScale(UNIT_COST_SCALE, RoundingMode.HALF_UP)));
+            }
+        }
+        return valueOf(units, cost);
+    }
+
+    /**
+     * Removes issued stock at the cost of the layers it is taken from. Quantity beyond the open
+     * layers is priced at the last known cost and kept as a shortfall.
+     *
+     * @return the cost of the quantity issued
+     */
+    public BigDecimal issue(long units) {
+        BigDecimal cost = BigDecimal.ZERO.setScale(VALUE_SCALE);
+        long remaining = units;
+        while (remaining > 0 && !layers.isEmpty()) {
+            CostLayer layer = method == ValuationMethod.LIFO ? layers.pollLast() : layers.pollFirst();
+            long taken = Math.min(remaining, layer.units());
+            cost = cost.add(valueOf(taken, layer.unitCost()));
+            remaining -= taken;
+            if (taken < layer.units()) {
+                CostLayer rest = layer.withUnits(layer.units() - taken);
+                if (method == ValuationMethod.LIFO) {
+                    layers.addLast(rest);
+                } else {
+                    layers.addFirst(rest);
+                }
+            }
+            lastUnitCost = layer.unitCost();
+        }
+        if (remaining > 0) {
+            shortfallUnits = Math.addExact(shortfallUnits, remaining);
+            cost = cost.add(valueOf(remaining, currentUnitCost()));
+        }
+        return cost;
+    }
+
+    public ValuationMethod method() {
+        return method;
+    }
+
+    /**
+     * @return the open layers, oldest first
+     */
+    public List<CostLayer> layers() {
+        return new ArrayList<>(layers);
+    }
+
+    public long units() {
+        long units = 0;
+        for (CostLayer layer : layers) {
+            units = Math.addExact(units, layer.units());
+        }
+        return units;
+    }
+
+    public BigDecimal value() {
+        BigDecimal value = BigDecimal.ZERO.setScale(VALUE_SCALE);
+        for (CostLayer layer : layers) {
+            value = value.add(layer.value());
+        }
+        return value;
+    }
+
+    public long shortfallUnits() {
+        return shortfallUnits;
+    }
+
+    public BigDecimal lastUnitCost() {
+        return lastUnitCost;
+    }
+
+    private BigDecimal currentUnitCost() {
+        if (method == ValuationMethod.AVERAGE && !layers.isEmpty()) {
+            return layers.peek().unitCost();
+        }
+        if (lastUnitCost != null) {
+            return lastUnitCost;
+        }
+        CostLayer newest = layers.peekLast();
+        return newest != null ? newest.unitCost() : BigDecimal.ZERO;
+    }
+
+    static BigDecimal valueOf(long units, BigDecimal unitCost) {
+        return BigDecimal.valueOf(units).multiply(unitCost)
+                .divide(UNITS_PER_ONE, VALUE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal unitCostOf(BigDecimal value, long units) {
+        if (units == 0) {
+            return BigDecimal.ZERO.setScale(UNIT_COST_SCALE);
+        }
+        return value.multiply(UNITS_PER_ONE).divide(BigDecimal.valueOf(units), UNIT_COST_SCALE, RoundingMode.HALF_UP);
+    }
+}
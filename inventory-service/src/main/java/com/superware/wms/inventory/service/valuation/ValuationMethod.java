@@ -0,0 +1,26 @@
+package com.superware.wms.inventory.service.valuation;
+
+/**
+ * Cost flow assumption of a product, from {@code inventory_policies.valuation_method}.
+ */
+public enum ValuationMethod {
+    FIFO,
+    LIFO,
+    AVERAGE;
+
+    /**
+     * Parses a policy value. {@code WEIGHTED_AVERAGE}, {@code WAVG} and {@code AVG} are accepted
+     * for {@link #AVERAGE}; no policy or an unknown value falls back to {@code FIFO}, the column
+     * default.
+     */
+    public static ValuationMethod fromPolicy(String value) {
+        if (value == null) {
+            return FIFO;
+        }
+        return switch (value.trim().toUpperCase()) {
+            case "LIFO" -> LIFO;
+            case "AVERAGE", "WEIGHTED_AVERAGE", "WAVG", "AVG" -> AVERAGE;
+            default -> FIFO;
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.superware.wms.inventory.service.valuation;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * One completed transaction line that changes the valued stock of a product in a facility.
+ *
+ * @param units quantity in {@link com.superware.wms.inventory.entity.types.Quantity} units as
+ *        recorded on the line; signed for adjustments and counts
+ * @param unitCost cost of the line, falling back to the item's unit cost; null if neither is set
+ */
+public record ValuationMovement(OffsetDateTime transactionDate, long detailId, String transactionType,
+                                int productId, int facilityId, long units, BigDecimal unitCost) {
+}
@@ -0,0 +1,14 @@
+package com.superware.wms.inventory.service.wave;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Orders grouped into one wave; they share cutoff, carrier and priority.
+ *
+ * @param zones the storage zones the wave's pickers visit
+ */
+public record PlannedWave(LocalDate cutoff, String carrier, int priority, List<WaveOrder> orders, BitSet zones,
+                          int lines, double weightKg) {
+}
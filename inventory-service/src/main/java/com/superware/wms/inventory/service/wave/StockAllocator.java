@@ -0,0 +1,94 @@
+package com.superware.wms.inventory.service.wave;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Allocates order lines from a facility's available stock, all or nothing per order.
+ * <p>
+ * Stock is consumed in the order it is given, which the caller makes first-expiry-first-out.
+ * An order is allocated only if every one of its lines can be; otherwise nothing is taken and it
+ * waits for a later run. Quantities are {@link com.superware.wms.inventory.entity.types.Quantity}
+ * units. Not thread-safe.
+ */
+public final class StockAllocator {
+
+    /**
+     * An inventory item that can be allocated from.
+     *
+     * @param zoneId the item's storage zone, or null if it has no location
+     * @param availableUnits on hand less already allocated
+     */
+    public record StockSlot(int itemId, int productId, Integer zoneId, long availableUnits, String unitOfMeasure) {
+    }
+
+    /**
+     * Quantity of a product an order needs.
+     */
+    public record Demand(int productId, long units) {
+    }
+
+    /**
+     * Quantity taken from one inventory item.
+     */
+    public record Allocation(int itemId, int productId, Integer zoneId, long units, String unitOfMeasure) {
+    }
+
+    private final Map<Integer, List<StockSlot>> slotsByProduct = new HashMap<>();
+    private final Map<Integer, long[]> remainingByItem = new HashMap<>();
+    private final Map<Integer, long[]> remainingByProduct = new HashMap<>();
+
+    /**
+     * @param stock the available items, in the order they are to be consumed
+     */
+    public StockAllocator(List<StockSlot> stock) {
+        for (StockSlot slot : stock) {
+            if (slot.availableUnits() <= 0 || remainingByItem.containsKey(slot.itemId())) {
+                continue;
+            }
+            slotsByProduct.computeIfAbsent(slot.productId(), k -> new ArrayList<>()).add(slot);
+            remainingByItem.put(slot.itemId(), new long[] {slot.availableUnits()});
+            remainingByProduct.computeIfAbsent(slot.productId(), k -> new long[1])[0] += slot.availableUnits();
+        }
+    }
+
+    /**
+     * @return what was taken from which item, or null if the stock cannot cover every demand, in
+     * which case nothing is taken
+     */
+    public List<Allocation> allocate(List<Demand> demands) {
+        Map<Integer, Long> needed = new LinkedHashMap<>();
+        for (Demand demand : demands) {
+            needed.merge(demand.productId(), demand.units(), Long::sum);
+        }
+        for (Map.Entry<Integer, Long> product : needed.entrySet()) {
+            long[] remaining = remainingByProduct.get(product.getKey());
+            if (remaining == null || remaining[0] < product.getValue()) {
+                return null;
+            }
+        }
+
+        List<Allocation> allocations = new ArrayList<>();
+        for (Map.Entry<Integer, Long> product : needed.entrySet()) {
+            long units = product.getValue();
+            remainingByProduct.get(product.getKey())[0] -= units;
+            for (StockSlot slot : slotsByProduct.get(product.getKey())) {
+                if (units == 0) {
+                    break;
+                }
+                long[] remaining = remainingByItem.get(slot.itemId());
+                long taken = Math.min(units, remaining[0]);
+                if (taken > 0) {
+                    remaining[0] -= taken;
+                    units -= taken;
+                    allocations.add(new Allocation(slot.itemId(), slot.productId(), slot.zoneId(), taken,
+                            slot.unitOfMeasure()));
+                }
+            }
+        }
+        return allocations;
+    }
+}
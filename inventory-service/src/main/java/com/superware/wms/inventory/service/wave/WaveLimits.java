@@ -0,0 +1,24 @@
+package com.superware.wms.inventory.service.wave;
+
+import java.math.BigDecimal;
+
+/**
+ * Capacity of one wave.
+ *
+ * @param maxLines most pick lines a picker takes on
+ * @param maxWeightKg most weight a picker carries
+ * @param maxOrders most orders grouped into one wave
+ */
+public record WaveLimits(int maxLines, double maxWeightKg, int maxOrders) {
+
+    /**
+     * @param maxLines pick_routes.max_items_per_picker, or null for no limit
+     * @param maxWeightKg pick_routes.max_weight_per_pick, or null for no limit
+     */
+    public static WaveLimits of(Integer maxLines, BigDecimal maxWeightKg, int maxOrders) {
+        return new WaveLimits(
+                maxLines != null && maxLines > 0 ? maxLines : Integer.MAX_VALUE,
+                maxWeightKg != null && maxWeightKg.signum() > 0 ? maxWeightKg.doubleValue() : Double.POSITIVE_INFINITY,
+                maxOrders > 0 ? maxOrders : Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,17 @@
+package com.superware.wms.inventory.service.wave;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+/**
+ * A releasable sales order with its stock allocated, as seen by the wave planner.
+ *
+ * @param cutoff the order's required date, or null if it has none
+ * @param carrier the order's shipping method, or null
+ * @param priority 1 is the most urgent
+ * @param lines pick lines, one per allocated inventory item
+ * @param zones indexes of the storage zones the order is picked from
+ */
+public record WaveOrder(int orderId, String orderNumber, LocalDate cutoff, String carrier, int priority,
+                        int lines, double weightKg, BitSet zones) {
+}
@@ -0,0 +1,160 @@
+package com.superware.wms.inventory.service.wave;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Groups orders into waves.
+ * <p>
+ * Orders are first split by priority, cutoff and carrier, since a wave is released and shipped as
+ * one; the groups are planned most urgent first. Within a group, orders picked from exactly the
+ * same zones are bucketed together and a wave grows greedily: it starts from the order touching
+ * the most zones and then takes orders from the bucket that adds the fewest new zones (ties go to
+ * the bucket sharing the most zones with the wave), until the next order would exceed the
+ * {@link WaveLimits}. Zone sets are compared as {@code long} words, and candidates are distinct
+ * zone sets rather than orders, so ten thousand orders plan in well under a second. An order too
+ * large for the limits on its own gets a wave to itself.
+ */
+public final class WavePlanner {
+
+    private static final Comparator<Group> GROUP_ORDER = Comparator
+            .comparingInt(Group::priority)
+            .thenComparing(Group::cutoff, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Group::carrier, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final WaveLimits limits;
+
+    public WavePlanner(WaveLimits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * @return the waves, most urgent first
+     */
+    public List<PlannedWave> plan(List<WaveOrder> orders) {
+        Map<Group, List<WaveOrder>> groups = new TreeMap<>(GROUP_ORDER);
+        for (WaveOrder order : orders) {
+            groups.computeIfAbsent(new Group(order.priority(), order.cutoff(), order.carrier()), k -> new ArrayList<>())
+                    .add(order);
+        }
+        List<PlannedWave> waves = new ArrayList<>();
+        for (Map.Entry<Group, List<WaveOrder>> group : groups.entrySet()) {
+            cluster(group.getKey(), group.getValue(), waves);
+        }
+        return waves;
+    }
+
+    private void cluster(Group group, List<WaveOrder> orders, List<PlannedWave> waves) {
+        // Buckets of orders with the same zones, the widest first so waves start from them
+        List<WaveOrder> sorted = new ArrayList<>(orders);
+        sorted.sort(Comparator.comparingInt((WaveOrder order) -> -order.zones().cardinality())
+                .thenComparingInt(WaveOrder::orderId));
+        Map<BitSet, Bucket> byZones = new LinkedHashMap<>();
+        for (WaveOrder order : sorted) {
+            byZones.computeIfAbsent(order.zones(), Bucket::new).orders.add(order);
+        }
+        List<Bucket> buckets = new ArrayList<>(byZones.values());
+        int words = words(buckets);
+
+        while (!buckets.isEmpty()) {
+            Bucket seed = buckets.get(0);
+            WaveBuilder wave = new WaveBuilder(group, words);
+            wave.add(seed.orders.poll());
+            while (true) {
+                Bucket best = null;
+                int bestNew = Integer.MAX_VALUE;
+                int bestShared = -1;
+                for (Bucket bucket : buckets) {
+                    WaveOrder next = bucket.orders.peek();
+                    if (next == null || !wave.fits(next)) {
+                        continue;
+                    }
+                    int added = 0;
+                    int shared = 0;
+                    for (int i = 0; i < bucket.words.length; i++) {
+                        added += Long.bitCount(bucket.words[i] & ~wave.zones[i]);
+                        shared += Long.bitCount(bucket.words[i] & wave.zones[i]);
+                    }
+                    if (added < bestNew || (added == bestNew && shared > bestShared)) {
+                        best = bucket;
+                        bestNew = added;
+                        bestShared = shared;
+                    }
+                }
+                if (best == null) {
+                    break;
+                }
+                while (!best.orders.isEmpty() && wave.fits(best.orders.peek())) {
+                    wave.add(best.orders.poll());
+                }
+            }
+            waves.add(wave.build());
+            buckets.removeIf(bucket -> bucket.orders.isEmpty());
+        }
+    }
+
+    private static int words(List<Bucket> buckets) {
+        int words = 1;
+        for (Bucket bucket : buckets) {
+            words = Math.max(words, bucket.words.length);
+        }
+        return words;
+    }
+
+    private record Group(int priority, LocalDate cutoff, String carrier) {
+    }
+
+    private static final class Bucket {
+
+        private final long[] words;
+        private final Deque<WaveOrder> orders = new ArrayDeque<>();
+
+        Bucket(BitSet zones) {
+            this.words = zones.toLongArray();
+        }
+    }
+
+    private final class WaveBuilder {
+
+        private final Group group;
+        private final long[] zones;
+        private final List<WaveOrder> orders = new ArrayList<>();
+        private int lines;
+        private double weightKg;
+
+        WaveBuilder(Group group, int words) {
+            this.group = group;
+            this.zones = new long[words];
+        }
+
+        boolean fits(WaveOrder order) {
+            return orders.size() < limits.maxOrders()
+                    && (long) lines + order.lines() <= limits.maxLines()
+                    && weightKg + order.weightKg() <= limits.maxWeightKg();
+        }
+
+        void add(WaveOrder order) {
+            orders.add(Objects.requireNonNull(order));
+            lines += order.lines();
+            weightKg += order.weightKg();
+            long[] words = order.zones().toLongArray();
+            for (int i = 0; i < words.length; i++) {
+                zones[i] |= words[i];
+            }
+        }
+
+        PlannedWave build() {
+            return new PlannedWave(group.cutoff(), group.carrier(), group.priority(), List.copyOf(orders),
+                    BitSet.valueOf(zones), lines, weightKg);
+        }
+    }
+}
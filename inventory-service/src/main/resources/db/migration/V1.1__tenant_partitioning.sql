@@ -0,0 +1,181 @@
+-- ===================================================
+-- TENANT PARTITIONING FOR HIGH-VOLUME TABLES
+-- ===================================================
+-- inventory_items and inventory_transactions are LIST-partitioned on tenant_id.
+-- Tenants that need isolation get a dedicated partition via create_tenant_partitions();
+-- every other tenant falls into the DEFAULT partition, which is HASH-partitioned on
+-- tenant_id so small tenants are spread over a fixed number of buckets.
+--
+-- Both layouts prune on "tenant_id = ?", which is the predicate added by the
+-- Hibernate tenantFilter and the @PartitionKey mapping on the entities.
+
+-- A unique constraint on a partitioned table must contain the partition key, so the
+-- single-column foreign keys that reference item_id / transaction_id are dropped.
+-- Referential integrity for these columns is maintained by the service layer.
+ALTER TABLE inventory_transaction_details DROP CONSTRAINT IF EXISTS inventory_transaction_details_item_id_fkey;
+ALTER TABLE inventory_transaction_details DROP CONSTRAINT IF EXISTS inventory_transaction_details_transaction_id_fkey;
+ALTER TABLE inventory_count_details DROP CONSTRAINT IF EXISTS inventory_count_details_item_id_fkey;
+ALTER TABLE inventory_adjustment_details DROP CONSTRAINT IF EXISTS inventory_adjustment_details_item_id_fkey;
+ALTER TABLE inventory_reservation_details DROP CONSTRAINT IF EXISTS inventory_reservation_details_item_id_fkey;
+ALTER TABLE inventory_allocations DROP CONSTRAINT IF EXISTS inventory_allocations_item_id_fkey;
+
+-- Keep the existing id sequences when the original tables are dropped
+ALTER SEQUENCE inventory_items_item_id_seq OWNED BY NONE;
+ALTER SEQUENCE inventory_transactions_transaction_id_seq OWNED BY NONE;
+
+ALTER TABLE inventory_items RENAME TO inventory_items_unpartitioned;
+ALTER TABLE inventory_transactions RENAME TO inventory_transactions_unpartitioned;
+
+-- Inventory items
+CREATE TABLE inventory_items (
+    item_id INT NOT NULL DEFAULT nextval('inventory_items_item_id_seq'),
+    tenant_id INT NOT NULL,
+    product_id INT NOT NULL,
+    variant_id INT,
+    lot_number VARCHAR(100),
+    serial_number VARCHAR(100),
+    status inventory_item_status NOT NULL DEFAULT 'AVAILABLE',
+    condition condition_code NOT NULL DEFAULT 'NEW',
+    quantity_on_hand NUMERIC(12,4) NOT NULL DEFAULT 0,
+    quantity_allocated NUMERIC(12,4) NOT NULL DEFAULT 0,
+    quantity_available NUMERIC(12,4) GENERATED ALWAYS AS (quantity_on_hand - quantity_allocated) STORED,
+    unit_of_measure VARCHAR(20) NOT NULL,
+    location_id INT,
+    facility_id INT NOT NULL,
+    expiry_date DATE,
+    manufacture_date DATE,
+    received_date TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_counted_date TIMESTAMPTZ,
+    unit_cost NUMERIC(12,4),
+    total_cost NUMERIC(12,4) GENERATED ALWAYS AS (quantity_on_hand * COALESCE(unit_cost, 0)) STORED,
+    notes TEXT,
+    is_active BOOLEAN DEFAULT TRUE,
+    created_at TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+    created_by INT,
+    updated_by INT,
+    is_deleted BOOLEAN DEFAULT FALSE,
+    PRIMARY KEY (tenant_id, item_id),
+    FOREIGN KEY (tenant_id) REFERENCES tenants(tenant_id) ON DELETE CASCADE,
+    FOREIGN KEY (product_id) REFERENCES products(product_id) ON DELETE CASCADE,
+    FOREIGN KEY (variant_id) REFERENCES product_variants(variant_id) ON DELETE SET NULL,
+    FOREIGN KEY (location_id) REFERENCES storage_locations(location_id) ON DELETE SET NULL,
+    FOREIGN KEY (facility_id) REFERENCES warehouse_facilities(facility_id) ON DELETE CASCADE
+) PARTITION BY LIST (tenant_id);
+
+-- Inventory transactions
+CREATE TABLE inventory_transactions (
+    transaction_id INT NOT NULL DEFAULT nextval('inventory_transactions_transaction_id_seq'),
+    tenant_id INT NOT NULL,
+    transaction_type transaction_type NOT NULL,
+    transaction_date TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    status transaction_status NOT NULL DEFAULT 'COMPLETED',
+    reference_number VARCHAR(100),
+    reference_type VARCHAR(50),
+    reference_id INT,
+    source_type VARCHAR(50),
+    source_id INT,
+    destination_type VARCHAR(50),
+    destination_id INT,
+    notes TEXT,
+    created_at TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+    created_by INT,
+    updated_by INT,
+    is_deleted BOOLEAN DEFAULT FALSE,
+    PRIMARY KEY (tenant_id, transaction_id),
+    FOREIGN KEY (tenant_id) REFERENCES tenants(tenant_id) ON DELETE CASCADE
+) PARTITION BY LIST (tenant_id);
+
+ALTER SEQUENCE inventory_items_item_id_seq OWNED BY inventory_items.item_id;
+ALTER SEQUENCE inventory_transactions_transaction_id_seq OWNED BY inventory_transactions.transaction_id;
+
+-- Shared hash buckets for tenants without a dedicated partition
+CREATE TABLE inventory_items_shared PARTITION OF inventory_items DEFAULT PARTITION BY HASH (tenant_id);
+CREATE TABLE inventory_transactions_shared PARTITION OF inventory_transactions DEFAULT PARTITION BY HASH (tenant_id);
+
+DO $$
+DECLARE
+    bucket_count CONSTANT INT := 16;
+    i INT;
+BEGIN
+    FOR i IN 0 .. bucket_count - 1 LOOP
+        EXECUTE format('CREATE TABLE inventory_items_shared_%s PARTITION OF inventory_items_shared FOR VALUES WITH (MODULUS %s, REMAINDER %s)',
+                       i, bucket_count, i);
+        EXECUTE format('CREATE TABLE inventory_transactions_shared_%s PARTITION OF inventory_transactions_shared FOR VALUES WITH (MODULUS %s, REMAINDER %s)',
+                       i, bucket_count, i);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Copy existing rows (generated columns are recomputed)
+INSERT INTO inventory_items (item_id, tenant_id, product_id, variant_id, lot_number, serial_number, status, condition,
+                             quantity_on_hand, quantity_allocated, unit_of_measure, location_id, facility_id,
+                             expiry_date, manufacture_date, received_date, last_counted_date, unit_cost, notes,
+                             is_active, created_at, updated_at, created_by, updated_by, is_deleted)
+SELECT item_id, tenant_id, product_id, variant_id, lot_number, serial_number, status, condition,
+       quantity_on_hand, quantity_allocated, unit_of_measure, location_id, facility_id,
+       expiry_date, manufacture_date, received_date, last_counted_date, unit_cost, notes,
+       is_active, created_at, updated_at, created_by, updated_by, is_deleted
+FROM inventory_items_unpartitioned;
+
+INSERT INTO inventory_transactions
+SELECT * FROM inventory_transactions_unpartitioned;
+
+DROP TABLE inventory_items_unpartitioned;
+DROP TABLE inventory_transactions_unpartitioned;
+
+-- Indexes are declared on the parents and created on every partition.
+-- tenant_id leads the primary key, so no separate tenant index is needed.
+CREATE INDEX IF NOT EXISTS idx_inventory_items_product ON inventory_items(product_id);
+CREATE INDEX IF NOT EXISTS idx_inventory_items_status ON inventory_items(status);
+CREATE INDEX IF NOT EXISTS idx_inventory_items_location ON inventory_items(location_id);
+CREATE INDEX IF NOT EXISTS idx_inventory_items_facility ON inventory_items(facility_id);
+
+CREATE INDEX IF NOT EXISTS idx_inv_trans_type ON inventory_transactions(transaction_type);
+CREATE INDEX IF NOT EXISTS idx_inv_trans_date ON inventory_transactions(transaction_date);
+CREATE INDEX IF NOT EXISTS idx_inv_trans_reference ON inventory_transactions(reference_type, reference_id);
+
+CREATE TRIGGER set_updated_at_inventory_items BEFORE UPDATE ON inventory_items
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+CREATE TRIGGER set_updated_at_inventory_transactions BEFORE UPDATE ON inventory_transactions
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+-- Give a tenant its own LIST partition on every tenant-partitioned table.
+-- Rows already stored for the tenant in the shared buckets are moved across. Attaching
+-- scans the shared partition to validate it, so run this during tenant onboarding or
+-- off-peak when promoting an existing large tenant. Safe to call more than once.
+CREATE OR REPLACE FUNCTION create_tenant_partitions(p_tenant_id INT)
+RETURNS INT AS $$
+DECLARE
+    parent TEXT;
+    partition_name TEXT;
+    column_list TEXT;
+    created INT := 0;
+BEGIN
+    FOREACH parent IN ARRAY ARRAY['inventory_items', 'inventory_transactions'] LOOP
+        partition_name := format('%s_t%s', parent, p_tenant_id);
+        CONTINUE WHEN to_regclass(partition_name) IS NOT NULL;
+
+        EXECUTE format('LOCK TABLE %I IN SHARE ROW EXCLUSIVE MODE', parent);
+        EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING GENERATED)', partition_name, parent);
+        EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I CHECK (tenant_id = %s)',
+                       partition_name, partition_name || '_tenant_check', p_tenant_id);
+
+        SELECT string_agg(quote_ident(column_name), ', ' ORDER BY ordinal_position)
+        INTO column_list
+        FROM information_schema.columns
+        WHERE table_schema = current_schema()
+          AND table_name = parent
+          AND is_generated = 'NEVER';
+
+        EXECUTE format('WITH moved AS (DELETE FROM %I WHERE tenant_id = $1 RETURNING *) INSERT INTO %I (%s) SELECT %s FROM moved',
+                       parent || '_shared', partition_name, column_list, column_list)
+        USING p_tenant_id;
+
+        EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES IN (%s)', parent, partition_name, p_tenant_id);
+        created := created + 1;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
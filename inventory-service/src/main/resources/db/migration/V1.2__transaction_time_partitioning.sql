@@ -0,0 +1,226 @@
+-- ===================================================
+-- MONTHLY PARTITIONING FOR INVENTORY TRANSACTIONS
+-- ===================================================
+-- inventory_transactions is RANGE-partitioned by month on transaction_date. Each month
+-- keeps the tenant layout from V1.1: LIST on tenant_id with dedicated partitions for
+-- registered tenants and a DEFAULT partition HASH-split into 16 buckets.
+-- inventory_transaction_details gains transaction_date and is RANGE-partitioned by month.
+--
+-- Month partitions are named <table>_yYYYYmMM. The service creates upcoming months ahead
+-- of time and detaches, archives and drops months that fall out of the retention window
+-- (see TransactionPartitionServiceImpl). There is no DEFAULT month partition: a row dated
+-- outside the created months is rejected rather than landing in an unbounded catch-all.
+
+-- Tenants that have dedicated partitions; new month partitions create one for each of them
+CREATE TABLE IF NOT EXISTS inventory_tenant_partitions (
+    tenant_id INT PRIMARY KEY,
+    created_at TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (tenant_id) REFERENCES tenants(tenant_id) ON DELETE CASCADE
+);
+
+INSERT INTO inventory_tenant_partitions (tenant_id)
+SELECT substring(relname FROM '^inventory_transactions_t([0-9]+)$')::INT
+FROM pg_class
+WHERE relname ~ '^inventory_transactions_t[0-9]+$'
+ON CONFLICT DO NOTHING;
+
+ALTER SEQUENCE inventory_transactions_transaction_id_seq OWNED BY NONE;
+ALTER SEQUENCE inventory_transaction_details_transaction_detail_id_seq OWNED BY NONE;
+
+ALTER TABLE inventory_transactions RENAME TO inventory_transactions_by_tenant;
+ALTER TABLE inventory_transaction_details RENAME TO inventory_transaction_details_unpartitioned;
+
+-- Inventory transactions
+CREATE TABLE inventory_transactions (
+    transaction_id INT NOT NULL DEFAULT nextval('inventory_transactions_transaction_id_seq'),
+    tenant_id INT NOT NULL,
+    transaction_type transaction_type NOT NULL,
+    transaction_date TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    status transaction_status NOT NULL DEFAULT 'COMPLETED',
+    reference_number VARCHAR(100),
+    reference_type VARCHAR(50),
+    reference_id INT,
+    source_type VARCHAR(50),
+    source_id INT,
+    destination_type VARCHAR(50),
+    destination_id INT,
+    notes TEXT,
+    created_at TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+    created_by INT,
+    updated_by INT,
+    is_deleted BOOLEAN DEFAULT FALSE,
+    PRIMARY KEY (tenant_id, transaction_id, transaction_date),
+    FOREIGN KEY (tenant_id) REFERENCES tenants(tenant_id) ON DELETE CASCADE
+) PARTITION BY RANGE (transaction_date);
+
+-- Transaction details
+CREATE TABLE inventory_transaction_details (
+    transaction_detail_id INT NOT NULL DEFAULT nextval('inventory_transaction_details_transaction_detail_id_seq'),
+    transaction_id INT NOT NULL,
+    transaction_date TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    item_id INT NOT NULL,
+    quantity NUMERIC(12,4) NOT NULL,
+    unit_of_measure VARCHAR(20) NOT NULL,
+    unit_cost NUMERIC(12,4),
+    total_cost NUMERIC(12,4) GENERATED ALWAYS AS (quantity * COALESCE(unit_cost, 0)) STORED,
+    lot_number VARCHAR(100),
+    serial_number VARCHAR(100),
+    from_location_id INT,
+    to_location_id INT,
+    notes TEXT,
+    created_at TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+    created_by INT,
+    updated_by INT,
+    is_deleted BOOLEAN DEFAULT FALSE,
+    PRIMARY KEY (transaction_detail_id, transaction_date),
+    FOREIGN KEY (from_location_id) REFERENCES storage_locations(location_id) ON DELETE SET NULL,
+    FOREIGN KEY (to_location_id) REFERENCES storage_locations(location_id) ON DELETE SET NULL
+) PARTITION BY RANGE (transaction_date);
+
+ALTER SEQUENCE inventory_transactions_transaction_id_seq OWNED BY inventory_transactions.transaction_id;
+ALTER SEQUENCE inventory_transaction_details_transaction_detail_id_seq OWNED BY inventory_transaction_details.transaction_detail_id;
+
+-- Create the month partitions of both tables for the month containing p_month.
+-- Returns the number of tables created; safe to call repeatedly.
+CREATE OR REPLACE FUNCTION create_transaction_month_partitions(p_month DATE)
+RETURNS INT AS $$
+DECLARE
+    month_start DATE := date_trunc('month', p_month)::DATE;
+    month_end DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::DATE;
+    suffix TEXT := to_char(date_trunc('month', p_month), '"y"YYYY"m"MM');
+    month_partition TEXT := 'inventory_transactions_' || suffix;
+    detail_partition TEXT := 'inventory_transaction_details_' || suffix;
+    dedicated RECORD;
+    i INT;
+    created INT := 0;
+BEGIN
+    IF to_regclass(month_partition) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF inventory_transactions FOR VALUES FROM (%L) TO (%L) PARTITION BY LIST (tenant_id)',
+                       month_partition, month_start, month_end);
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT PARTITION BY HASH (tenant_id)',
+                       month_partition || '_shared', month_partition);
+        FOR i IN 0 .. 15 LOOP
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                           month_partition || '_shared_' || i, month_partition || '_shared', i);
+        END LOOP;
+        FOR dedicated IN SELECT tenant_id FROM inventory_tenant_partitions LOOP
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES IN (%s)',
+                           month_partition || '_t' || dedicated.tenant_id, month_partition, dedicated.tenant_id);
+        END LOOP;
+        created := created + 1;
+    END IF;
+
+    IF to_regclass(detail_partition) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF inventory_transaction_details FOR VALUES FROM (%L) TO (%L)',
+                       detail_partition, month_start, month_end);
+        created := created + 1;
+    END IF;
+
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Months covering existing data plus the next three months
+DO $$
+DECLARE
+    first_month DATE;
+    m DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(transaction_date), CURRENT_TIMESTAMP))::DATE
+    INTO first_month
+    FROM inventory_transactions_by_tenant;
+
+    FOR m IN SELECT generate_series(first_month, date_trunc('month', CURRENT_DATE + INTERVAL '3 months'), INTERVAL '1 month')::DATE LOOP
+        PERFORM create_transaction_month_partitions(m);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Copy existing rows (generated columns are recomputed)
+INSERT INTO inventory_transactions
+SELECT * FROM inventory_transactions_by_tenant;
+
+INSERT INTO inventory_transaction_details (transaction_detail_id, transaction_id, transaction_date, item_id, quantity,
+                                           unit_of_measure, unit_cost, lot_number, serial_number, from_location_id,
+                                           to_location_id, notes, created_at, updated_at, created_by, updated_by, is_deleted)
+SELECT d.transaction_detail_id, d.transaction_id, COALESCE(t.transaction_date, d.created_at, CURRENT_TIMESTAMP), d.item_id,
+       d.quantity, d.unit_of_measure, d.unit_cost, d.lot_number, d.serial_number, d.from_location_id,
+       d.to_location_id, d.notes, d.created_at, d.updated_at, d.created_by, d.updated_by, d.is_deleted
+FROM inventory_transaction_details_unpartitioned d
+LEFT JOIN inventory_transactions_by_tenant t ON t.transaction_id = d.transaction_id;
+
+DROP TABLE inventory_transactions_by_tenant;
+DROP TABLE inventory_transaction_details_unpartitioned;
+
+-- Every index is per month, so inserts only maintain the current month's small indexes.
+-- The list query filters on tenant and date, which replaces the standalone date index.
+CREATE INDEX IF NOT EXISTS idx_inv_trans_tenant_date ON inventory_transactions(tenant_id, transaction_date);
+CREATE INDEX IF NOT EXISTS idx_inv_trans_type ON inventory_transactions(transaction_type);
+CREATE INDEX IF NOT EXISTS idx_inv_trans_reference ON inventory_transactions(reference_type, reference_id);
+CREATE INDEX IF NOT EXISTS idx_transaction_details_transaction ON inventory_transaction_details(transaction_id);
+CREATE INDEX IF NOT EXISTS idx_transaction_details_item ON inventory_transaction_details(item_id);
+
+CREATE TRIGGER set_updated_at_inventory_transactions BEFORE UPDATE ON inventory_transactions
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+CREATE TRIGGER set_updated_at_inventory_transaction_details BEFORE UPDATE ON inventory_transaction_details
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+-- Move a tenant's rows out of <parent>_shared into a new dedicated LIST partition of <parent>
+CREATE OR REPLACE FUNCTION attach_tenant_partition(p_parent TEXT, p_tenant_id INT)
+RETURNS INT AS $$
+DECLARE
+    partition_name TEXT := format('%s_t%s', p_parent, p_tenant_id);
+    column_list TEXT;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN 0;
+    END IF;
+
+    EXECUTE format('LOCK TABLE %I IN SHARE ROW EXCLUSIVE MODE', p_parent);
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING GENERATED)', partition_name, p_parent);
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I CHECK (tenant_id = %s)',
+                   partition_name, partition_name || '_tenant_check', p_tenant_id);
+
+    SELECT string_agg(quote_ident(column_name), ', ' ORDER BY ordinal_position)
+    INTO column_list
+    FROM information_schema.columns
+    WHERE table_schema = current_schema()
+      AND table_name = p_parent
+      AND is_generated = 'NEVER';
+
+    EXECUTE format('WITH moved AS (DELETE FROM %I WHERE tenant_id = $1 RETURNING *) INSERT INTO %I (%s) SELECT %s FROM moved',
+                   p_parent || '_shared', partition_name, column_list, column_list)
+    USING p_tenant_id;
+
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES IN (%s)', p_parent, partition_name, p_tenant_id);
+    RETURN 1;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Give a tenant dedicated partitions of inventory_items and of every month of
+-- inventory_transactions, and register it so future months get one too.
+CREATE OR REPLACE FUNCTION create_tenant_partitions(p_tenant_id INT)
+RETURNS INT AS $$
+DECLARE
+    month_partition RECORD;
+    created INT := 0;
+BEGIN
+    INSERT INTO inventory_tenant_partitions (tenant_id) VALUES (p_tenant_id) ON CONFLICT DO NOTHING;
+
+    created := created + attach_tenant_partition('inventory_items', p_tenant_id);
+
+    FOR month_partition IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'inventory_transactions'::regclass
+        ORDER BY c.relname
+    LOOP
+        created := created + attach_tenant_partition(month_partition.relname, p_tenant_id);
+    END LOOP;
+
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
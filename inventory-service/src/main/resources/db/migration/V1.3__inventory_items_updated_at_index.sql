@@ -0,0 +1,8 @@
+-- ===================================================
+-- INDEX FOR STOCK INDEX SNAPSHOT REPLAY
+-- ===================================================
+-- On a warm start the in-process stock index is restored from its snapshot file and then
+-- re-reads the inventory_items rows updated after the snapshot's high-water mark
+-- (see StockIndexServiceImpl). Without this index that replay scans every partition.
+
+CREATE INDEX IF NOT EXISTS idx_inventory_items_updated_at ON inventory_items(updated_at);
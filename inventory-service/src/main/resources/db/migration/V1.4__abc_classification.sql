@@ -0,0 +1,31 @@
+-- ===================================================
+-- VELOCITY ROLLUP FOR ABC CLASSIFICATION
+-- ===================================================
+-- The ABC classification job (see AbcClassificationServiceImpl) sums completed ISSUE lines
+-- per product, facility and day into inventory_product_velocity_daily, reading only the
+-- transactions dated after the tenant's high-water mark in inventory_abc_watermarks.
+-- Classes are then ranked from the rollup rows inside the rolling window instead of from
+-- months of transaction history, and rows older than the window are deleted.
+
+CREATE TABLE IF NOT EXISTS inventory_product_velocity_daily (
+    tenant_id INT NOT NULL,
+    product_id INT NOT NULL,
+    facility_id INT NOT NULL,
+    activity_date DATE NOT NULL,
+    pick_lines INT NOT NULL DEFAULT 0,
+    quantity NUMERIC(16,4) NOT NULL DEFAULT 0,
+    value NUMERIC(18,4) NOT NULL DEFAULT 0,
+    PRIMARY KEY (tenant_id, activity_date, product_id, facility_id),
+    FOREIGN KEY (tenant_id) REFERENCES tenants(tenant_id) ON DELETE CASCADE
+);
+
+-- Transactions dated before processed_until have been rolled up for the tenant
+CREATE TABLE IF NOT EXISTS inventory_abc_watermarks (
+    tenant_id INT PRIMARY KEY,
+    processed_until TIMESTAMPTZ NOT NULL,
+    classified_at TIMESTAMPTZ,
+    FOREIGN KEY (tenant_id) REFERENCES tenants(tenant_id) ON DELETE CASCADE
+);
+
+-- The bulk class updates select a tenant's policies by product
+CREATE INDEX IF NOT EXISTS idx_inventory_policies_tenant_product ON inventory_policies(tenant_id, product_id);
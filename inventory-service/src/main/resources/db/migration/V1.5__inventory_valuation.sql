@@ -0,0 +1,65 @@
+-- ===================================================
+-- INCREMENTAL INVENTORY VALUATION
+-- ===================================================
+-- The valuation job (see InventoryValuationServiceImpl) keeps the cost of every product in
+-- every facility up to date by replaying only the completed movements dated after the
+-- tenant's high-water mark in inventory_valuation_watermarks. FIFO and LIFO products keep one
+-- row per open receipt layer in inventory_cost_layers; weighted-average products keep a single
+-- layer at the running average cost. inventory_valuation_positions holds the per product and
+-- facility totals that the valuation report reads, so a report never touches the movements.
+--
+-- The first run of a tenant does not replay history: it opens one layer per product and
+-- facility from inventory_items at their current unit cost and starts the watermark there.
+
+CREATE TABLE IF NOT EXISTS inventory_valuation_watermarks (
+    tenant_id INT PRIMARY KEY,
+    processed_until TIMESTAMPTZ NOT NULL,
+    valued_at TIMESTAMPTZ,
+    FOREIGN KEY (tenant_id) REFERENCES tenants(tenant_id) ON DELETE CASCADE
+);
+
+-- Open cost layers, consumed from the lowest layer_seq (FIFO) or the highest (LIFO)
+CREATE TABLE IF NOT EXISTS inventory_cost_layers (
+    tenant_id INT NOT NULL,
+    product_id INT NOT NULL,
+    facility_id INT NOT NULL,
+    layer_seq INT NOT NULL,
+    received_at TIMESTAMPTZ NOT NULL,
+    quantity_remaining NUMERIC(16,4) NOT NULL,
+    unit_cost NUMERIC(18,6) NOT NULL,
+    PRIMARY KEY (tenant_id, product_id, facility_id, layer_seq),
+    FOREIGN KEY (tenant_id) REFERENCES tenants(tenant_id) ON DELETE CASCADE
+);
+
+-- shortfall_quantity is stock issued without a layer to cost it from (priced at last_unit_cost);
+-- later receipts settle it before opening a layer
+CREATE TABLE IF NOT EXISTS inventory_valuation_positions (
+    tenant_id INT NOT NULL,
+    product_id INT NOT NULL,
+    facility_id INT NOT NULL,
+    valuation_method VARCHAR(20) NOT NULL,
+    quantity NUMERIC(16,4) NOT NULL DEFAULT 0,
+    value NUMERIC(18,4) NOT NULL DEFAULT 0,
+    shortfall_quantity NUMERIC(16,4) NOT NULL DEFAULT 0,
+    last_unit_cost NUMERIC(18,6),
+    updated_at TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (tenant_id, product_id, facility_id),
+    FOREIGN KEY (tenant_id) REFERENCES tenants(tenant_id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_valuation_positions_facility
+    ON inventory_valuation_positions(tenant_id, facility_id);
+
+-- Signed quantity and cost change per product, facility, day and transaction type, e.g. the
+-- cost of goods issued for ISSUE rows under the product's valuation method
+CREATE TABLE IF NOT EXISTS inventory_valuation_daily (
+    tenant_id INT NOT NULL,
+    activity_date DATE NOT NULL,
+    facility_id INT NOT NULL,
+    product_id INT NOT NULL,
+    transaction_type VARCHAR(30) NOT NULL,
+    quantity_change NUMERIC(16,4) NOT NULL DEFAULT 0,
+    value_change NUMERIC(18,4) NOT NULL DEFAULT 0,
+    PRIMARY KEY (tenant_id, activity_date, facility_id, product_id, transaction_type),
+    FOREIGN KEY (tenant_id) REFERENCES tenants(tenant_id) ON DELETE CASCADE
+);
@@ -0,0 +1,16 @@
+-- ===================================================
+-- USAGE METERING FLUSH LOG
+-- ===================================================
+-- The usage meter (see UsageMeteringServiceImpl) counts committed inventory mutations per
+-- tenant and day in memory and periodically adds them to usage_tracking.transaction_count
+-- (db/11_billing.sql). Every flush carries a random batch ID that is recorded here in the
+-- same transaction as the usage_tracking upsert. A batch that is retried, after a failed
+-- commit or replayed from the spool directory after a restart, finds its ID and is skipped,
+-- so no count is added twice. Rows older than 30 days are pruned by the flush itself.
+
+CREATE TABLE IF NOT EXISTS inventory_usage_flushes (
+    batch_id UUID PRIMARY KEY,
+    flushed_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_usage_flushes_flushed_at ON inventory_usage_flushes(flushed_at);
@@ -0,0 +1,16 @@
+-- ===================================================
+-- PUTAWAY SUGGESTIONS
+-- ===================================================
+-- The putaway engine (see PutawayServiceImpl) looks up a receipt's pending tasks by reference
+-- and fills in their suggested_location_id. putaway_tasks has an update trigger that stamps
+-- updated_at but no such column, so every update of a task failed; the column is added here.
+
+ALTER TABLE putaway_tasks ADD COLUMN IF NOT EXISTS updated_at TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_putaway_tasks_tenant_reference
+    ON putaway_tasks(tenant_id, reference_type, reference_id);
+
+-- Open tasks already sent to a location count against its free capacity
+CREATE INDEX IF NOT EXISTS idx_putaway_tasks_suggested_open
+    ON putaway_tasks(tenant_id, suggested_location_id)
+    WHERE suggested_location_id IS NOT NULL AND task_status IN ('PENDING', 'IN_PROGRESS');
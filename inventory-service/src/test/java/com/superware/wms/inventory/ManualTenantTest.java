@@ -1,6 +1,7 @@
 package com.superware.wms.inventory;
 
 import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
 import com.superware.wms.inventory.repository.InventoryItemRepository;
 import com.superware.wms.inventory.repository.TenantAwareRepositoryFactoryBean;
 import com.superware.wms.tenant.context.TenantContextHolder;
@@ -11,7 +12,6 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -87,7 +87,7 @@ public class ManualTenantTest implements CommandLineRunner {
         item.setProductId(productId);
         item.setLotNumber("LOT-" + productName);
         item.setStatus(status);
-        item.setQuantityOnHand(new BigDecimal("100.00"));
+        item.setQuantityOnHand(Quantity.valueOf("100.00"));
         item.setUnitOfMeasure("PCS");
         item.setFacilityId(1);
         item.setCreatedAt(LocalDateTime.now());
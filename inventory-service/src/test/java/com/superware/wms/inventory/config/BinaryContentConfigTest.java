@@ -0,0 +1,62 @@
+package com.superware.wms.inventory.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.superware.wms.inventory.dto.InventoryItemDto;
+import com.superware.wms.inventory.entity.types.Quantity;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BinaryContentConfigTest {
+
+    private final Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    public void testDefaultBinaryConvertersAreReplaced() {
+        MappingJackson2CborHttpMessageConverter defaultCbor = new MappingJackson2CborHttpMessageConverter();
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(
+                new MappingJackson2HttpMessageConverter(), defaultCbor, new MappingJackson2SmileHttpMessageConverter()));
+
+        new BinaryContentConfig(builder, true).extendMessageConverters(converters);
+
+        assertThat(converters).hasSize(3).doesNotContain(defaultCbor);
+        assertThat(converters).hasAtLeastOneElementOfType(MappingJackson2CborHttpMessageConverter.class);
+        assertThat(converters).hasAtLeastOneElementOfType(MappingJackson2SmileHttpMessageConverter.class);
+    }
+
+    @Test
+    public void testBinaryConvertersAreRemovedWhenDisabled() {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(
+                new MappingJackson2HttpMessageConverter(), new MappingJackson2CborHttpMessageConverter()));
+
+        new BinaryContentConfig(builder, false).extendMessageConverters(converters);
+
+        assertThat(converters).singleElement().isInstanceOf(MappingJackson2HttpMessageConverter.class);
+    }
+
+    @Test
+    public void testBinaryMappersRoundTripDtos() throws Exception {
+        BinaryContentConfig config = new BinaryContentConfig(builder, true);
+        InventoryItemDto item = new InventoryItemDto();
+        item.setItemId(42);
+        item.setStatus("AVAILABLE");
+        item.setQuantityOnHand(Quantity.valueOf("12.5000"));
+        item.setReceivedDate(LocalDateTime.of(2024, 3, 1, 8, 30));
+
+        for (ObjectMapper mapper : List.of(config.cborMapper(), config.smileMapper())) {
+            InventoryItemDto copy = mapper.readValue(mapper.writeValueAsBytes(item), InventoryItemDto.class);
+            assertThat(copy).usingRecursiveComparison().isEqualTo(item);
+        }
+    }
+}
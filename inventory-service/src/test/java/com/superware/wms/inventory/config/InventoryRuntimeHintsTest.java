@@ -0,0 +1,57 @@
+package com.superware.wms.inventory.config;
+
+import com.superware.wms.inventory.dto.InventoryItemDto;
+import com.superware.wms.inventory.entity.types.QuantityConverter;
+import com.superware.wms.inventory.repository.InventoryItemRepository;
+import com.superware.wms.inventory.repository.TenantAwareRepositoryImpl;
+import com.superware.wms.inventory.service.stock.StockIndexEntityListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.data.projection.TargetAware;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InventoryRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    {
+        new InventoryRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    public void testRegistersRepositoryBaseClassAndEntityListener() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(TenantAwareRepositoryImpl.class)
+                .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(StockIndexEntityListener.class)
+                .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(QuantityConverter.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS))
+                .accepts(hints);
+    }
+
+    @Test
+    public void testRegistersProjectionProxiesAndDtoBinding() {
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(InventoryItemRepository.StockTotals.class,
+                TargetAware.class, SpringProxy.class, DecoratingProxy.class))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(InventoryItemDto.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(InventoryItemDto.class, "getProductId"))
+                .accepts(hints);
+    }
+
+    @Test
+    public void testRegistersSwaggerUiResources() {
+        assertThat(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/resources/webjars/swagger-ui/5.11.8/index.html"))
+                .accepts(hints);
+    }
+}
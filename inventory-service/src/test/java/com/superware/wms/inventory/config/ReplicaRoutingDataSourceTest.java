@@ -0,0 +1,95 @@
+package com.superware.wms.inventory.config;
+
+import com.superware.wms.tenant.context.TenantContextHolder;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private ReadYourWritesTracker tracker;
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    public void setUp() {
+        tracker = new ReadYourWritesTracker(60_000);
+        dataSource = new ReplicaRoutingDataSource(pool("primary"), pool("replica"), tracker, 1000);
+        TenantContextHolder.setCurrentTenant("1");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dataSource.close();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testReadOnlyTransactionUsesReplica() throws SQLException {
+        dataSource.updateLag(0);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(connectedTo()).contains("replica");
+    }
+
+    @Test
+    public void testWriteTransactionUsesPrimary() throws SQLException {
+        dataSource.updateLag(0);
+
+        assertThat(connectedTo()).contains("primary");
+    }
+
+    @Test
+    public void testLaggingReplicaFallsBackToPrimary() throws SQLException {
+        dataSource.updateLag(5000);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(connectedTo()).contains("primary");
+    }
+
+    @Test
+    public void testUncheckedReplicaIsNotUsed() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(connectedTo()).contains("primary");
+    }
+
+    @Test
+    public void testReadsArePinnedToPrimaryAfterWrite() throws SQLException {
+        dataSource.updateLag(0);
+        TransactionExecution write = mock(TransactionExecution.class);
+        when(write.isNewTransaction()).thenReturn(true);
+        when(write.isReadOnly()).thenReturn(false);
+        tracker.afterCommit(write, null);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(connectedTo()).contains("primary");
+
+        TenantContextHolder.setCurrentTenant("2");
+        assertThat(connectedTo()).contains("replica");
+    }
+
+    private String connectedTo() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getURL();
+        }
+    }
+
+    private HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + name);
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(1);
+        return pool;
+    }
+}
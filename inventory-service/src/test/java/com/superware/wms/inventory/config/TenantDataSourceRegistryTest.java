@@ -0,0 +1,147 @@
+package com.superware.wms.inventory.config;
+
+import com.superware.wms.inventory.dto.TenantRoutingStatsDto;
+import com.superware.wms.inventory.exception.TenantPoolLimitException;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TenantDataSourceRegistryTest {
+
+    private TenantDataSourceRegistry registry;
+
+    @AfterEach
+    public void tearDown() {
+        if (registry != null) {
+            registry.close();
+        }
+    }
+
+    @Test
+    public void testPoolIsCreatedLazilyAndReused() {
+        registry = new TenantDataSourceRegistry(properties(2, Duration.ofMinutes(10)));
+
+        HikariDataSource first = registry.getDataSource("1", route("1"));
+        HikariDataSource second = registry.getDataSource("1", route("1"));
+
+        assertThat(second).isSameAs(first);
+        TenantRoutingStatsDto stats = registry.getStats();
+        assertThat(stats.getOpenPools()).isEqualTo(1);
+        assertThat(stats.getPoolMisses()).isEqualTo(1);
+        assertThat(stats.getPoolHits()).isEqualTo(1);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIdlePoolMakesRoom() throws InterruptedException {
+        registry = new TenantDataSourceRegistry(properties(2, Duration.ofMinutes(10)));
+
+        HikariDataSource oldest = registry.getDataSource("1", route("1"));
+        Thread.sleep(5);
+        registry.getDataSource("2", route("2"));
+        Thread.sleep(5);
+        registry.getDataSource("3", route("3"));
+
+        assertThat(oldest.isClosed()).isTrue();
+        assertThat(registry.getStats().getOpenPools()).isEqualTo(2);
+        assertThat(registry.getStats().getPoolsEvicted()).isEqualTo(1);
+    }
+
+    @Test
+    public void testBusyPoolsAreNotEvicted() throws Exception {
+        registry = new TenantDataSourceRegistry(properties(1, Duration.ofMinutes(10)));
+
+        try (Connection ignored = registry.getDataSource("1", route("1")).getConnection()) {
+            assertThatThrownBy(() -> registry.getDataSource("2", route("2")))
+                    .isInstanceOf(TenantPoolLimitException.class);
+        }
+        assertThat(registry.getStats().getRejectedRequests()).isEqualTo(1);
+    }
+
+    @Test
+    public void testIdlePoolsAreClosed() {
+        registry = new TenantDataSourceRegistry(properties(2, Duration.ZERO));
+        HikariDataSource dataSource = registry.getDataSource("1", route("1"));
+
+        registry.evictIdlePools();
+
+        assertThat(dataSource.isClosed()).isTrue();
+        assertThat(registry.getStats().getOpenPools()).isZero();
+    }
+
+    @Test
+    public void testConnectionsComeFromAFreshPoolAfterEviction() throws Exception {
+        registry = new TenantDataSourceRegistry(properties(2, Duration.ZERO));
+        HikariDataSource evicted = registry.getDataSource("1", route("1"));
+        registry.evictIdlePools();
+
+        try (Connection connection = registry.getConnection("1", route("1"))) {
+            assertThat(connection.isValid(1)).isTrue();
+        }
+        assertThat(evicted.isClosed()).isTrue();
+        assertThat(registry.getStats().getPoolsCreated()).isEqualTo(2);
+    }
+
+    @Test
+    public void testEvictionNeverClosesAPoolUnderABorrower() throws Exception {
+        registry = new TenantDataSourceRegistry(properties(1, Duration.ZERO));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> borrowers = new ArrayList<>();
+            for (int thread = 0; thread < 3; thread++) {
+                String tenantId = String.valueOf(thread % 2 + 1);
+                borrowers.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        try (Connection connection = registry.getConnection(tenantId, route(tenantId))) {
+                            connection.isValid(1);
+                        } catch (TenantPoolLimitException e) {
+                            // The other tenant's pool was busy
+                        }
+                    }
+                    return null;
+                }));
+            }
+            Future<?> evictor = executor.submit(() -> {
+                while (!borrowers.stream().allMatch(Future::isDone)) {
+                    registry.evictIdlePools();
+                }
+            });
+            for (Future<?> borrower : borrowers) {
+                borrower.get();
+            }
+            evictor.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        // The evictor may not have caught a pool idle while the borrowers ran; it does once they are done
+        registry.evictIdlePools();
+        assertThat(registry.getStats().getPoolsEvicted()).isPositive();
+    }
+
+    private TenantRoutingProperties properties(int maxPools, Duration idleTimeout) {
+        TenantRoutingProperties properties = new TenantRoutingProperties();
+        properties.setMaxDedicatedPools(maxPools);
+        properties.setPoolIdleTimeout(idleTimeout);
+        properties.setDedicatedPoolSize(2);
+        return properties;
+    }
+
+    private TenantRoutingProperties.TenantRoute route(String tenantId) {
+        TenantRoutingProperties.TenantRoute route = new TenantRoutingProperties.TenantRoute();
+        route.setModel(TenantDeploymentModel.DEDICATED_DATABASE);
+        route.setUrl("jdbc:h2:mem:tenant" + tenantId);
+        route.setUsername("sa");
+        route.setPassword("");
+        return route;
+    }
+}
@@ -0,0 +1,109 @@
+package com.superware.wms.inventory.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.superware.wms.inventory.dto.InventoryItemDto;
+import com.superware.wms.inventory.dto.InventoryTransactionDto;
+import com.superware.wms.inventory.entity.types.Quantity;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares serialization time and payload size of JSON, CBOR and Smile for pages of
+ * inventory DTOs. Not part of the default test run; execute with
+ * {@code mvn test -Dtest=WireFormatBenchmark}.
+ */
+public class WireFormatBenchmark {
+
+    private static final int PAGE_SIZE = 1_000;
+    private static final int WARMUP = 500;
+    private static final int ITERATIONS = 1_000;
+
+    @Test
+    public void compareWireFormats() throws Exception {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        BinaryContentConfig config = new BinaryContentConfig(builder, true);
+        ObjectMapper json = builder.build();
+        ObjectMapper cbor = config.cborMapper();
+        ObjectMapper smile = config.smileMapper();
+
+        List<InventoryItemDto> items = new ArrayList<>(PAGE_SIZE);
+        List<InventoryTransactionDto> transactions = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            items.add(item(i));
+            transactions.add(transaction(i));
+        }
+
+        for (Object[] payload : new Object[][] {{"items", items}, {"transactions", transactions}}) {
+            measure(payload[0] + " json", json, payload[1]);
+            measure(payload[0] + " cbor", cbor, payload[1]);
+            measure(payload[0] + " smile", smile, payload[1]);
+        }
+    }
+
+    private void measure(String name, ObjectMapper mapper, Object payload) throws Exception {
+        int size = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            size = mapper.writeValueAsBytes(payload).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            size = mapper.writeValueAsBytes(payload).length;
+        }
+        long serialize = System.nanoTime() - start;
+
+        byte[] bytes = mapper.writeValueAsBytes(payload);
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.readTree(bytes);
+        }
+        long parse = System.nanoTime() - start;
+        System.out.printf("%-20s %8d bytes %8.1f us write %8.1f us read%n",
+                name, size, serialize / 1_000.0 / ITERATIONS, parse / 1_000.0 / ITERATIONS);
+    }
+
+    private InventoryItemDto item(int i) {
+        InventoryItemDto dto = new InventoryItemDto();
+        dto.setItemId(100_000 + i);
+        dto.setTenantId(1);
+        dto.setProductId(5_000 + i % 400);
+        dto.setLotNumber("LOT-" + (i % 50));
+        dto.setStatus("AVAILABLE");
+        dto.setCondition("NEW");
+        dto.setQuantityOnHand(Quantity.of(i % 90 + 10));
+        dto.setQuantityAllocated(Quantity.of(i % 7));
+        dto.setQuantityAvailable(Quantity.of(i % 90 + 10 - i % 7));
+        dto.setUnitOfMeasure("EA");
+        dto.setLocationId(2_000 + i % 300);
+        dto.setFacilityId(3);
+        dto.setReceivedDate(LocalDateTime.of(2024, 3, 1, 8, 30).plusMinutes(i));
+        dto.setUnitCost(new BigDecimal("4.2500"));
+        dto.setIsActive(true);
+        dto.setIsDeleted(false);
+        dto.setCreatedAt(dto.getReceivedDate());
+        dto.setUpdatedAt(dto.getReceivedDate());
+        return dto;
+    }
+
+    private InventoryTransactionDto transaction(int i) {
+        InventoryTransactionDto dto = new InventoryTransactionDto();
+        dto.setTransactionId(900_000 + i);
+        dto.setTenantId(1);
+        dto.setTransactionType(i % 3 == 0 ? "RECEIPT" : "ISSUE");
+        dto.setTransactionDate(LocalDateTime.of(2024, 3, 1, 8, 30).plusSeconds(i * 17L));
+        dto.setStatus("COMPLETED");
+        dto.setReferenceNumber("SO-" + (40_000 + i / 4));
+        dto.setReferenceType("SALES_ORDER");
+        dto.setReferenceId(40_000 + i / 4);
+        dto.setCreatedBy(12);
+        dto.setIsDeleted(false);
+        dto.setCreatedAt(dto.getTransactionDate());
+        return dto;
+    }
+}
@@ -0,0 +1,68 @@
+package com.superware.wms.inventory.entity.types;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class QuantityTest {
+
+    @Test
+    public void testArithmeticIsExact() {
+        Quantity onHand = Quantity.valueOf("0.1");
+        Quantity total = onHand.add(Quantity.valueOf("0.2"));
+
+        assertThat(total).isEqualTo(Quantity.valueOf("0.3"));
+        assertThat(total.subtract(Quantity.of(1))).isEqualTo(Quantity.valueOf("-0.7"));
+        assertThat(total.subtract(Quantity.of(1)).abs()).isEqualTo(Quantity.valueOf("0.7"));
+        assertThat(Quantity.of(3).compareTo(Quantity.valueOf("2.9999"))).isPositive();
+    }
+
+    @Test
+    public void testMoreThanFourDecimalsIsRejected() {
+        assertThatThrownBy(() -> Quantity.valueOf("1.00001")).isInstanceOf(ArithmeticException.class);
+        assertThat(Quantity.valueOf("1.00000")).isEqualTo(Quantity.ONE);
+    }
+
+    @Test
+    public void testOverflowIsRejected() {
+        Quantity max = Quantity.ofUnits(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> max.add(Quantity.ofUnits(1))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    public void testToStringKeepsFourDecimals() {
+        assertThat(Quantity.ZERO.toString()).isEqualTo("0.0000");
+        assertThat(Quantity.valueOf("12.5").toString()).isEqualTo("12.5000");
+        assertThat(Quantity.valueOf("-0.0025").toString()).isEqualTo("-0.0025");
+        assertThat(Quantity.valueOf("99999999.9999").toBigDecimal()).isEqualByComparingTo("99999999.9999");
+    }
+
+    @Test
+    public void testConverterRoundTrip() {
+        QuantityConverter converter = new QuantityConverter();
+
+        assertThat(converter.convertToDatabaseColumn(Quantity.valueOf("7.25"))).isEqualTo(new BigDecimal("7.2500"));
+        assertThat(converter.convertToEntityAttribute(new BigDecimal("7.25"))).isEqualTo(Quantity.valueOf("7.25"));
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    public void testJsonAndCborRoundTrip() throws Exception {
+        ObjectMapper json = new ObjectMapper();
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+        Quantity quantity = Quantity.valueOf("42.125");
+
+        assertThat(json.writeValueAsString(quantity)).isEqualTo("42.1250");
+        assertThat(json.readValue("42.125", Quantity.class)).isEqualTo(quantity);
+        assertThat(json.readValue("\"42.125\"", Quantity.class)).isEqualTo(quantity);
+        assertThat(cbor.readValue(cbor.writeValueAsBytes(quantity), Quantity.class)).isEqualTo(quantity);
+        assertThatThrownBy(() -> json.readValue("1.23456", Quantity.class)).isInstanceOf(InvalidFormatException.class);
+    }
+}
@@ -0,0 +1,70 @@
+package com.superware.wms.inventory.mapper;
+
+import com.superware.wms.inventory.dto.InventoryItemDto;
+import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InventoryItemMapperTest {
+
+    private final InventoryItemMapper mapper = new InventoryItemMapperImpl();
+
+    @Test
+    public void testToDtoCopiesAllProperties() {
+        InventoryItem item = item(5);
+
+        InventoryItemDto dto = mapper.toDto(item);
+
+        assertThat(dto).usingRecursiveComparison().isEqualTo(item);
+    }
+
+    @Test
+    public void testRoundTripPreservesProperties() {
+        InventoryItem item = item(5);
+
+        InventoryItem copy = mapper.toEntity(mapper.toDto(item));
+
+        assertThat(copy).usingRecursiveComparison().isEqualTo(item);
+    }
+
+    @Test
+    public void testNullsAreMappedToNull() {
+        assertThat(mapper.toDto(null)).isNull();
+        assertThat(mapper.toEntity(null)).isNull();
+        assertThat(mapper.toDtoList(null)).isNull();
+        assertThat(mapper.toDtoPage(null)).isNull();
+    }
+
+    @Test
+    public void testPageKeepsPagingMetadata() {
+        Page<InventoryItem> page = new PageImpl<>(List.of(item(1), item(2)), PageRequest.of(3, 2), 40);
+
+        Page<InventoryItemDto> dtos = mapper.toDtoPage(page);
+
+        assertThat(dtos.getContent()).extracting(InventoryItemDto::getItemId).containsExactly(1, 2);
+        assertThat(dtos.getPageable()).isEqualTo(page.getPageable());
+        assertThat(dtos.getTotalElements()).isEqualTo(40);
+    }
+
+    static InventoryItem item(int id) {
+        InventoryItem item = new InventoryItem();
+        item.setItemId(id);
+        item.setTenantId(1);
+        item.setProductId(100 + id);
+        item.setLotNumber("LOT-" + id);
+        item.setStatus("AVAILABLE");
+        item.setQuantityOnHand(Quantity.of(id * 10L));
+        item.setQuantityAllocated(Quantity.ONE);
+        item.setUnitOfMeasure("EA");
+        item.setFacilityId(2);
+        item.setLocationId(30 + id);
+        return item;
+    }
+}
@@ -0,0 +1,62 @@
+package com.superware.wms.inventory.mapper;
+
+import com.superware.wms.inventory.entity.InventoryItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Compares per-page allocation and time of the generated list/page mapping with the
+ * {@code Page.map} and stream collector mapping the controllers used before. Not part of the default test run; execute with
+ * {@code mvn test -Dtest=MapperAllocationBenchmark}.
+ */
+public class MapperAllocationBenchmark {
+
+    private static final int PAGE_SIZE = 1_000;
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 2_000;
+
+    private final InventoryItemMapper mapper = new InventoryItemMapperImpl();
+
+    @Test
+    public void compareMappingStrategies() {
+        List<InventoryItem> items = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            items.add(InventoryItemMapperTest.item(i));
+        }
+        Page<InventoryItem> page = new PageImpl<>(items, PageRequest.of(0, PAGE_SIZE), 50_000);
+
+        measure("page.map(convertToDto)", () -> page.map(mapper::toDto));
+        measure("stream().collect(toList())", () -> items.stream().map(mapper::toDto).collect(Collectors.toList()));
+        measure("generated toDtoPage", () -> mapper.toDtoPage(page));
+        measure("generated toDtoList", () -> mapper.toDtoList(items));
+    }
+
+    private void measure(String name, Supplier<Object> mapping) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        Object sink = null;
+        for (int i = 0; i < WARMUP; i++) {
+            sink = mapping.get();
+        }
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = mapping.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+        System.out.printf("%-28s %8.1f us/page %10d bytes/page%n",
+                name, elapsed / 1_000.0 / ITERATIONS, bytes / ITERATIONS);
+        if (sink == null) {
+            throw new IllegalStateException();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.superware.wms.inventory.repository;
 
 import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
 import com.superware.wms.tenant.context.TenantContextHolder;
 import org.hibernate.Filter;
 import org.hibernate.Session;
@@ -12,7 +13,6 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.EntityManager;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -150,7 +150,7 @@ public class HibernateFilterSpringBootTest {
         item.setProductId(productId);
         item.setLotNumber("LOT-" + productName);
         item.setStatus(status);
-        item.setQuantityOnHand(new BigDecimal("100.00"));
+        item.setQuantityOnHand(Quantity.valueOf("100.00"));
         item.setUnitOfMeasure("PCS");
         item.setFacilityId(1);
         item.setCreatedAt(LocalDateTime.now());
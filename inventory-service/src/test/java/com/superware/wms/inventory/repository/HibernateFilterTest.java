@@ -2,6 +2,7 @@ package com.superware.wms.inventory.repository;
 
 import com.superware.wms.inventory.config.TestRepositoryConfig;
 import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
 import com.superware.wms.tenant.context.TenantContextHolder;
 import org.hibernate.Filter;
 import org.hibernate.Session;
@@ -14,7 +15,6 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
 
 import jakarta.persistence.EntityManager;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -92,7 +92,7 @@ public class HibernateFilterTest {
         item.setProductId(productId);
         item.setLotNumber("LOT-" + productName);
         item.setStatus(status);
-        item.setQuantityOnHand(new BigDecimal("100.00"));
+        item.setQuantityOnHand(Quantity.valueOf("100.00"));
         item.setUnitOfMeasure("PCS");
         item.setFacilityId(1);
         item.setCreatedAt(LocalDateTime.now());
@@ -2,6 +2,7 @@ package com.superware.wms.inventory.repository;
 
 import com.superware.wms.inventory.InventoryServiceApplication;
 import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
 import com.superware.wms.tenant.context.TenantContextHolder;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -9,7 +10,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -61,7 +61,7 @@ public class TenantAwareRepositoryImplementationTest {
         item.setProductId(productId);
         item.setLotNumber("LOT-" + productName);
         item.setStatus(status);
-        item.setQuantityOnHand(new BigDecimal("100.00"));
+        item.setQuantityOnHand(Quantity.valueOf("100.00"));
         item.setUnitOfMeasure("PCS");
         item.setFacilityId(1);
         item.setCreatedAt(LocalDateTime.now());
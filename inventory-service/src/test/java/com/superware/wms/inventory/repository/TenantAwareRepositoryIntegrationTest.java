@@ -1,6 +1,7 @@
 package com.superware.wms.inventory.repository;
 
 import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
 import com.superware.wms.tenant.context.TenantContextHolder;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,7 +11,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -212,7 +212,7 @@ public class TenantAwareRepositoryIntegrationTest {
         item.setProductId(productId);
         item.setLotNumber("LOT-" + productName);
         item.setStatus(status);
-        item.setQuantityOnHand(new BigDecimal("100.00"));
+        item.setQuantityOnHand(Quantity.valueOf("100.00"));
         item.setUnitOfMeasure("PCS");
         item.setFacilityId(1);
         item.setCreatedAt(LocalDateTime.now());
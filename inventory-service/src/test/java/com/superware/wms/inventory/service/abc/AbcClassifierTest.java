@@ -0,0 +1,52 @@
+package com.superware.wms.inventory.service.abc;
+
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.service.abc.AbcClassifier.AbcClass;
+import com.superware.wms.inventory.service.abc.AbcClassifier.Basis;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AbcClassifierTest {
+
+    @Test
+    public void testRanksByValueShare() {
+        // Total value 1000: 1 and 2 hold the first 80%, 3 reaches 95%, 4 and 5 the rest
+        List<ProductVelocity> velocities = List.of(
+                velocity(5, 40, "20"), velocity(1, 10, "600"), velocity(3, 5, "150"),
+                velocity(2, 200, "200"), velocity(4, 1, "30"), velocity(6, 0, "0"));
+
+        Map<AbcClass, List<Integer>> classes = new AbcClassifier(Basis.VALUE, 0.8, 0.95).classify(velocities);
+
+        assertThat(classes.get(AbcClass.A)).containsExactly(1, 2);
+        assertThat(classes.get(AbcClass.B)).containsExactly(3);
+        assertThat(classes.get(AbcClass.C)).containsExactly(4, 5, 6);
+    }
+
+    @Test
+    public void testRanksByPickLines() {
+        List<ProductVelocity> velocities = List.of(
+                velocity(1, 10, "600"), velocity(2, 200, "200"), velocity(3, 50, "0"), velocity(4, 5, "150"));
+
+        Map<AbcClass, List<Integer>> classes = new AbcClassifier(Basis.PICKS, 0.7, 0.9).classify(velocities);
+
+        assertThat(classes.get(AbcClass.A)).containsExactly(2);
+        assertThat(classes.get(AbcClass.B)).containsExactly(3);
+        assertThat(classes.get(AbcClass.C)).containsExactly(1, 4);
+    }
+
+    @Test
+    public void testRejectsInvertedShares() {
+        assertThatThrownBy(() -> new AbcClassifier(Basis.VALUE, 0.9, 0.8))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ProductVelocity velocity(int productId, long pickLines, String value) {
+        return new ProductVelocity(productId, pickLines, Quantity.of(pickLines), new BigDecimal(value));
+    }
+}
@@ -0,0 +1,78 @@
+package com.superware.wms.inventory.service.cyclecount;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class CycleCountPlannerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 1);
+
+    // A every 30 days, B every 90, C every 180; 2 minutes per location plus 1 per item
+    private final CycleCountPlanner planner = new CycleCountPlanner(30, 90, 180, 2.0, 2.0, 1.0);
+
+    @Test
+    public void testRiskGrowsWithAgeClassAndVariance() {
+        assertThat(planner.risk(location(1, 1, 'A', 30, 0, 0), TODAY)).isCloseTo(1.0, within(1e-9));
+        assertThat(planner.risk(location(2, 1, 'C', 30, 0, 0), TODAY)).isCloseTo(1.0 / 6, within(1e-9));
+        // Variances on half of the past lines double the risk at a weight of 2
+        assertThat(planner.risk(location(3, 1, 'B', 45, 10, 5), TODAY)).isCloseTo(1.0, within(1e-9));
+        assertThat(planner.risk(location(4, 1, 'B', -1, 0, 0), TODAY)).isCloseTo(2.0, within(1e-9));
+    }
+
+    @Test
+    public void testPlansOnlyDueOrForcedLocations() {
+        LocationRisk forced = new LocationRisk(5, 1, 3, 'C', TODAY.minusDays(1), TODAY, 0, 0);
+
+        List<PlannedCount> planned = planner.plan(List.of(
+                location(1, 1, 'A', 40, 0, 0),
+                location(2, 1, 'C', 40, 0, 0),
+                forced), TODAY, 1000);
+
+        assertThat(planned).extracting(PlannedCount::locationId).containsExactly(5, 1);
+        assertThat(planned.get(0).forced()).isTrue();
+    }
+
+    @Test
+    public void testSpreadsBudgetAcrossZones() {
+        // Zone 1 holds the three riskiest locations, but each zone gets a turn per round
+        List<PlannedCount> planned = planner.plan(List.of(
+                location(1, 1, 'A', 90, 0, 0),
+                location(2, 1, 'A', 80, 0, 0),
+                location(3, 1, 'A', 70, 0, 0),
+                location(4, 2, 'A', 40, 0, 0),
+                location(5, 3, 'A', 35, 0, 0)), TODAY, 15);
+
+        // 3 minutes each: five fit, in round order
+        assertThat(planned).extracting(PlannedCount::locationId).containsExactly(1, 4, 5, 2, 3);
+
+        planned = planner.plan(List.of(
+                location(1, 1, 'A', 90, 0, 0),
+                location(2, 1, 'A', 80, 0, 0),
+                location(4, 2, 'A', 40, 0, 0),
+                location(5, 3, 'A', 35, 0, 0)), TODAY, 9);
+        assertThat(planned).extracting(PlannedCount::locationId).containsExactly(1, 4, 5);
+    }
+
+    @Test
+    public void testSkipsLocationsThatDoNotFitTheRemainingBudget() {
+        LocationRisk large = new LocationRisk(1, 1, 40, 'A', TODAY.minusDays(90), null, 0, 0);
+
+        List<PlannedCount> planned = planner.plan(List.of(large, location(2, 2, 'A', 40, 0, 0)), TODAY, 10);
+
+        assertThat(planned).extracting(PlannedCount::locationId).containsExactly(2);
+    }
+
+    /**
+     * A location with one item, last counted {@code daysAgo} days ago, or never if negative.
+     */
+    private static LocationRisk location(int locationId, int zoneId, char abcClass, int daysAgo,
+                                         int countedLines, int varianceLines) {
+        return new LocationRisk(locationId, zoneId, 1, abcClass, daysAgo < 0 ? null : TODAY.minusDays(daysAgo),
+                null, countedLines, varianceLines);
+    }
+}
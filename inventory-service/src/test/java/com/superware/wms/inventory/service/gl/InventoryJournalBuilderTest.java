@@ -0,0 +1,77 @@
+package com.superware.wms.inventory.service.gl;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InventoryJournalBuilderTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 6, 1);
+    private static final LocalDate END = LocalDate.of(2024, 6, 30);
+
+    @Test
+    public void testEntriesBalanceWithTheInventoryLineTakingTheRounding() {
+        InventoryJournalBuilder builder = builder(InventoryJournalBuilder.Interval.DAY);
+
+        List<JournalEntryDraft> entries = builder.build(1, START, END, List.of(
+                change(START, 1, "RECEIPT", "100.004"),
+                change(START, 1, "ISSUE", "-30.006"),
+                change(START, 1, "COUNT", "-0.004")));
+
+        assertThat(entries).hasSize(1);
+        JournalEntryDraft entry = entries.get(0);
+        assertThat(entry.entryNumber()).isEqualTo("INV-1-1-20240601");
+        assertThat(entry.totalDebit()).isEqualByComparingTo(entry.totalCredit());
+        assertThat(entry.lines()).extracting(JournalLineDraft::accountCode).containsExactly("1300", "2150", "5000");
+        // Inventory up 70.00 net: debit inventory, credit GRNI 100.00, debit COGS 30.01; the count rounds away
+        assertThat(entry.lines().get(0).debit()).isEqualByComparingTo("69.99");
+        assertThat(entry.lines().get(1).credit()).isEqualByComparingTo("100.00");
+        assertThat(entry.lines().get(2).debit()).isEqualByComparingTo("30.01");
+    }
+
+    @Test
+    public void testWeeksAreCutAtThePeriodBounds() {
+        InventoryJournalBuilder builder = builder(InventoryJournalBuilder.Interval.WEEK);
+
+        // 2024-06-01 is a Saturday, 2024-06-30 a Sunday
+        List<JournalEntryDraft> entries = builder.build(1, START, END, List.of(
+                change(START, 1, "ISSUE", "-10"),
+                change(START.plusDays(1), 1, "ISSUE", "-10"),
+                change(START.plusDays(2), 1, "ISSUE", "-5"),
+                change(END.plusDays(1), 1, "ISSUE", "-99")));
+
+        assertThat(entries).extracting(JournalEntryDraft::from).containsExactly(START, START.plusDays(2));
+        assertThat(entries.get(0).entryDate()).isEqualTo(START.plusDays(1));
+        assertThat(entries.get(0).totalDebit()).isEqualByComparingTo("20");
+        assertThat(entries.get(1).entryDate()).isEqualTo(START.plusDays(8));
+    }
+
+    @Test
+    public void testOneEntryPerFacilityAndNoneWithoutANetChange() {
+        InventoryJournalBuilder builder = builder(InventoryJournalBuilder.Interval.PERIOD);
+
+        List<JournalEntryDraft> entries = builder.build(1, START, END, List.of(
+                change(START, 2, "ADJUSTMENT", "5"),
+                change(START.plusDays(3), 2, "CYCLE_COUNT", "-5"),
+                change(START, 1, "WRITE_OFF", "-12.50")));
+
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).facilityId()).isEqualTo(1);
+        assertThat(entries.get(0).entryDate()).isEqualTo(END);
+        assertThat(entries.get(0).lines()).extracting(JournalLineDraft::accountCode).containsExactly("1300", "5150");
+    }
+
+    private static InventoryJournalBuilder builder(InventoryJournalBuilder.Interval interval) {
+        return new InventoryJournalBuilder("1300", Map.of("RECEIPT", "2150", "ISSUE", "5000", "WRITE_OFF", "5150"),
+                "5100", interval);
+    }
+
+    private static ValuationChange change(LocalDate date, int facilityId, String type, String value) {
+        return new ValuationChange(date, facilityId, type, new BigDecimal(value));
+    }
+}
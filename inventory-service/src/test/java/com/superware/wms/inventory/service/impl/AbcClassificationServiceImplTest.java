@@ -0,0 +1,146 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.dto.AbcClassificationDto;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.service.abc.AbcClassifier;
+import com.superware.wms.inventory.service.abc.AbcClassifier.AbcClass;
+import com.superware.wms.inventory.service.abc.ProductVelocity;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+
+public class AbcClassificationServiceImplTest {
+
+    private TestService service;
+
+    @AfterEach
+    public void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testFirstRunRollsUpTheWindowAndLaterRunsResumeFromTheWatermark() {
+        service = new TestService();
+
+        AbcClassificationDto first = service.classify(1);
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        assertThat(first.getProcessedFrom()).isCloseTo(now.minusDays(90), within(5, ChronoUnit.SECONDS));
+        assertThat(first.getProcessedUntil()).isCloseTo(now.minusMinutes(5), within(5, ChronoUnit.SECONDS));
+
+        AbcClassificationDto second = service.classify(1);
+        assertThat(second.getProcessedFrom()).isEqualTo(first.getProcessedUntil());
+        assertThat(service.rollups).hasSize(2);
+        assertThat(service.pruned).allMatch(date -> date.equals(LocalDate.now(ZoneOffset.UTC).minusDays(90)));
+    }
+
+    @Test
+    public void testStaleWatermarkIsClampedToTheWindow() {
+        service = new TestService();
+        service.watermark = OffsetDateTime.now(ZoneOffset.UTC).minusYears(1);
+
+        AbcClassificationDto result = service.classify(1);
+
+        assertThat(result.getProcessedFrom()).isAfter(OffsetDateTime.now(ZoneOffset.UTC).minusDays(91));
+    }
+
+    @Test
+    public void testWritesClassesFromTheRollup() {
+        service = new TestService();
+
+        AbcClassificationDto result = service.classify(1);
+
+        assertThat(service.written.get(AbcClass.A)).containsExactly(1);
+        assertThat(service.written.get(AbcClass.B)).containsExactly(2);
+        assertThat(service.written.get(AbcClass.C)).containsExactly(3);
+        assertThat(result.getClassA()).isEqualTo(1);
+        assertThat(result.getPoliciesUpdated()).isEqualTo(3);
+    }
+
+    @Test
+    public void testClassifiesTenantsInParallelInTheirOwnContext() {
+        service = new TestService();
+        service.tenantIds = List.of(1, 2, 3);
+
+        service.classifyAllTenants();
+
+        assertThat(service.tenantsSeen).containsExactlyInAnyOrder("1", "2", "3");
+        assertThat(service.threadsSeen).allMatch(name -> name.startsWith("abc-classification"));
+    }
+
+    private static class TestService extends AbcClassificationServiceImpl {
+
+        private final List<OffsetDateTime[]> rollups = new ArrayList<>();
+        private final List<LocalDate> pruned = new ArrayList<>();
+        private final Set<String> tenantsSeen = ConcurrentHashMap.newKeySet();
+        private final Set<String> threadsSeen = ConcurrentHashMap.newKeySet();
+        private volatile OffsetDateTime watermark;
+        private Map<AbcClass, List<Integer>> written;
+        private List<Integer> tenantIds = List.of();
+
+        TestService() {
+            super(mock(PlatformTransactionManager.class), AbcClassifier.Basis.VALUE, 0.8, 0.95, 90, Duration.ofMinutes(5), 2);
+        }
+
+        @Override
+        List<Integer> loadTenantIds() {
+            return tenantIds;
+        }
+
+        @Override
+        OffsetDateTime lockWatermark(int tenantId, OffsetDateTime windowStart) {
+            tenantsSeen.add(TenantContextHolder.getCurrentTenant());
+            threadsSeen.add(Thread.currentThread().getName());
+            return watermark != null ? watermark : windowStart;
+        }
+
+        @Override
+        synchronized void rollUp(int tenantId, OffsetDateTime from, OffsetDateTime until) {
+            rollups.add(new OffsetDateTime[] {from, until});
+        }
+
+        @Override
+        void advanceWatermark(int tenantId, OffsetDateTime processedUntil) {
+            watermark = processedUntil;
+        }
+
+        @Override
+        synchronized void pruneRollup(int tenantId, LocalDate windowStart) {
+            pruned.add(windowStart);
+        }
+
+        @Override
+        List<ProductVelocity> loadVelocities(int tenantId, LocalDate windowStart) {
+            return List.of(velocity(1, "900"), velocity(2, "80"), velocity(3, "20"));
+        }
+
+        @Override
+        int updatePolicies(int tenantId, Map<AbcClass, List<Integer>> classes) {
+            written = classes;
+            return 3;
+        }
+
+        private static ProductVelocity velocity(int productId, String value) {
+            return new ProductVelocity(productId, 1, Quantity.ONE, new BigDecimal(value));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.dto.CycleCountScheduleDto;
+import com.superware.wms.inventory.service.cyclecount.LocationRisk;
+import com.superware.wms.inventory.service.cyclecount.PlannedCount;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class CycleCountSchedulerServiceImplTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 1);
+
+    @AfterEach
+    public void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testPlansEachFacilityWithinItsOwnBudget() {
+        TestService service = new TestService("06:00-22:00");
+
+        CycleCountScheduleDto result = service.scheduleCounts(1, TODAY);
+
+        assertThat(result.getFacilities()).isEqualTo(2);
+        assertThat(result.getDueLocations()).isEqualTo(6);
+        // 6 minutes of budget per facility at 3 minutes per location
+        assertThat(result.getCountsCreated()).isEqualTo(4);
+        assertThat(service.inserted).extracting(PlannedCount::locationId).containsExactly(11, 12, 21, 22);
+        assertThat(service.varianceSince).isEqualTo(TODAY.minusDays(180));
+        assertThat(service.tenants).containsOnly("1");
+    }
+
+    @Test
+    public void testPickingHoursWrapAroundMidnight() {
+        TestService day = new TestService("06:00-22:00");
+        assertThat(day.isPickingHours(LocalTime.of(5, 59))).isFalse();
+        assertThat(day.isPickingHours(LocalTime.of(6, 0))).isTrue();
+        assertThat(day.isPickingHours(LocalTime.of(22, 0))).isFalse();
+
+        TestService night = new TestService("20:00-04:00");
+        assertThat(night.isPickingHours(LocalTime.of(23, 0))).isTrue();
+        assertThat(night.isPickingHours(LocalTime.of(3, 0))).isTrue();
+        assertThat(night.isPickingHours(LocalTime.of(12, 0))).isFalse();
+    }
+
+    @Test
+    public void testStopsAtTheNextFacilityOncePickingStarts() {
+        TestService service = new TestService("06:00-22:00");
+        service.pickingStarted = true;
+
+        CycleCountScheduleDto result = service.scheduleCounts(1, TODAY);
+
+        assertThat(result.getFacilities()).isEqualTo(1);
+        assertThat(service.inserted).extracting(PlannedCount::locationId).containsExactly(11, 12);
+    }
+
+    private static class TestService extends CycleCountSchedulerServiceImpl {
+
+        private final List<PlannedCount> inserted = new ArrayList<>();
+        private final List<String> tenants = new ArrayList<>();
+        private LocalDate varianceSince;
+        private boolean pickingStarted;
+
+        TestService(String pickingHours) {
+            super(mock(PlatformTransactionManager.class), 30, 90, 180, 2.0, 180, 6, 2.0, 1.0,
+                    pickingHours, Duration.ZERO, Duration.ofSeconds(60));
+        }
+
+        @Override
+        boolean pause() {
+            return !pickingStarted;
+        }
+
+        @Override
+        List<Integer> loadFacilityIds(int tenantId) {
+            return List.of(1, 2);
+        }
+
+        @Override
+        List<LocationRisk> loadLocationRisks(int tenantId, int facilityId, LocalDate varianceSince) {
+            this.varianceSince = varianceSince;
+            tenants.add(TenantContextHolder.getCurrentTenant());
+            int base = facilityId * 10;
+            return List.of(
+                    new LocationRisk(base + 1, base, 1, 'A', TODAY.minusDays(60), null, 0, 0),
+                    new LocationRisk(base + 2, base + 1, 1, 'A', TODAY.minusDays(50), null, 0, 0),
+                    new LocationRisk(base + 3, base, 1, 'A', TODAY.minusDays(40), null, 0, 0),
+                    new LocationRisk(base + 4, base, 1, 'C', TODAY.minusDays(40), null, 0, 0));
+        }
+
+        @Override
+        int insertCounts(int tenantId, int facilityId, LocalDate countDate, List<PlannedCount> planned) {
+            inserted.addAll(planned);
+            return planned.size();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.exception.ResourceNotFoundException;
+import com.superware.wms.inventory.repository.InventoryItemRepository;
+import com.superware.wms.inventory.service.InventoryAdjustmentService;
+import com.superware.wms.inventory.service.InventoryCountService;
+import com.superware.wms.inventory.service.InventoryReservationService;
+import com.superware.wms.inventory.service.InventoryTransactionService;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Detail rows have no tenant column of their own; another tenant's details must not be readable
+ * by guessing the parent ID.
+ */
+@SpringJUnitConfig(QueryBudgetTestConfig.class)
+public class DetailTenantIsolationTest {
+
+    @Autowired private InventoryTransactionService transactionService;
+    @Autowired private InventoryAdjustmentService adjustmentService;
+    @Autowired private InventoryCountService countService;
+    @Autowired private InventoryReservationService reservationService;
+    @Autowired private InventoryItemRepository itemRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private Integer itemId;
+
+    @BeforeEach
+    public void setUp() {
+        TenantContextHolder.setCurrentTenant("2");
+        itemId = new TransactionTemplate(transactionManager).execute(status -> {
+            InventoryItem item = new InventoryItem();
+            item.setProductId(10);
+            item.setFacilityId(1);
+            item.setLocationId(2);
+            item.setQuantityOnHand(Quantity.of(100));
+            item.setQuantityAllocated(Quantity.ZERO);
+            return itemRepository.save(item).getItemId();
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testTransactionDetails() {
+        Integer transactionId = transactionService.recordReceipt(itemId, Quantity.of(5), null, 2, 1).getTransactionId();
+        assertThat(transactionService.getTransactionDetailDtosByTransactionId(transactionId)).hasSize(1);
+
+        TenantContextHolder.setCurrentTenant("1");
+        assertThatThrownBy(() -> transactionService.getTransactionDetailDtosByTransactionId(transactionId))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void testAdjustmentDetails() {
+        Integer adjustmentId = adjustmentService.adjustStock(itemId, Quantity.of(-2), "Damaged", 1).getAdjustmentId();
+        assertThat(adjustmentService.getAdjustmentDetailDtosByAdjustmentId(adjustmentId)).hasSize(1);
+
+        TenantContextHolder.setCurrentTenant("1");
+        assertThatThrownBy(() -> adjustmentService.getAdjustmentDetailDtosByAdjustmentId(adjustmentId))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void testCountDetails() {
+        Integer countId = countService.startCount(2, 1).getCountId();
+        countService.addCountDetail(countId, itemId, Quantity.of(99), 1);
+        assertThat(countService.getCountDetailDtosByCountId(countId)).hasSize(1);
+
+        TenantContextHolder.setCurrentTenant("1");
+        assertThatThrownBy(() -> countService.getCountDetailDtosByCountId(countId))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void testReservationDetails() {
+        Integer reservationId = reservationService.reserveStock(itemId, Quantity.of(1), "SALES_ORDER", 7, 1)
+                .getReservationId();
+        assertThat(reservationService.getReservationDetailDtosByReservationId(reservationId)).hasSize(1);
+
+        TenantContextHolder.setCurrentTenant("1");
+        assertThatThrownBy(() -> reservationService.getReservationDetailDtosByReservationId(reservationId))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -0,0 +1,144 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.entity.InventoryTransaction;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.exception.CommandQueueFullException;
+import com.superware.wms.inventory.exception.InsufficientStockException;
+import com.superware.wms.inventory.exception.ResourceNotFoundException;
+import com.superware.wms.inventory.service.InventoryTransactionService;
+import com.superware.wms.inventory.service.command.InventoryCommand;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InventoryCommandServiceImplTest {
+
+    private final InventoryTransactionService transactionService = mock(InventoryTransactionService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private InventoryCommandServiceImpl service;
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        if (service != null) {
+            service.stop();
+        }
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testCommandsForSameItemAreAppliedInOrder() throws InterruptedException {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        List<Quantity> applied = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger ids = new AtomicInteger();
+        when(transactionService.recordReceipt(eq(7), any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+            applied.add(invocation.getArgument(1));
+            return transaction(ids.incrementAndGet());
+        });
+
+        service = new InventoryCommandServiceImpl(transactionService, transactionManager, 4, 1000, 10, 600);
+        service.start();
+        TenantContextHolder.setCurrentTenant("1");
+        List<InventoryCommand> submitted = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            submitted.add(service.submit("RECEIPT", 7, Quantity.of(i), 1, 2, 1));
+        }
+
+        awaitFinished(submitted);
+        assertThat(applied).hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(applied.get(i)).isEqualTo(Quantity.of(i + 1));
+        }
+        assertThat(service.getCommand(submitted.get(99).getCommandId()).getStatus())
+                .isEqualTo(InventoryCommand.Status.COMPLETED);
+    }
+
+    @Test
+    public void testFailingCommandDoesNotFailItsBatch() throws InterruptedException {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(transactionService.recordIssue(eq(7), any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+            Quantity quantity = invocation.getArgument(1);
+            int units = (int) (quantity.units() / Quantity.UNITS_PER_ONE);
+            if (units == 3) {
+                throw new InsufficientStockException("InventoryItem", 7, "issue stock", "2", "3");
+            }
+            return transaction(units);
+        });
+
+        service = new InventoryCommandServiceImpl(transactionService, transactionManager, 1, 100, 10, 600);
+        TenantContextHolder.setCurrentTenant("1");
+        List<InventoryCommand> submitted = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            submitted.add(service.submit("ISSUE", 7, Quantity.of(i), 1, 2, 1));
+        }
+        service.start();
+
+        awaitFinished(submitted);
+        assertThat(submitted.get(2).getStatus()).isEqualTo(InventoryCommand.Status.FAILED);
+        assertThat(submitted.get(2).getErrorMessage()).contains("Insufficient stock");
+        assertThat(submitted.get(4).getStatus()).isEqualTo(InventoryCommand.Status.COMPLETED);
+        assertThat(submitted.get(4).getTransactionId()).isEqualTo(5);
+    }
+
+    @Test
+    public void testFullPartitionRejectsCommand() {
+        service = new InventoryCommandServiceImpl(transactionService, transactionManager, 1, 2, 10, 600);
+        TenantContextHolder.setCurrentTenant("1");
+        service.submit("RECEIPT", 1, Quantity.ONE, 1, 2, 1);
+        service.submit("RECEIPT", 1, Quantity.ONE, 1, 2, 1);
+
+        assertThatThrownBy(() -> service.submit("RECEIPT", 1, Quantity.ONE, 1, 2, 1))
+                .isInstanceOf(CommandQueueFullException.class);
+    }
+
+    @Test
+    public void testUnsupportedTransactionTypeIsRejected() {
+        service = new InventoryCommandServiceImpl(transactionService, transactionManager, 1, 2, 10, 600);
+
+        assertThatThrownBy(() -> service.submit("ADJUSTMENT", 1, Quantity.ONE, 1, 2, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testAnotherTenantsCommandIsNotFound() {
+        service = new InventoryCommandServiceImpl(transactionService, transactionManager, 1, 2, 10, 600);
+        TenantContextHolder.setCurrentTenant("1");
+        InventoryCommand command = service.submit("RECEIPT", 1, Quantity.ONE, 1, 2, 1);
+
+        assertThat(service.getCommand(command.getCommandId())).isSameAs(command);
+        TenantContextHolder.setCurrentTenant("2");
+        assertThatThrownBy(() -> service.getCommand(command.getCommandId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private void awaitFinished(List<InventoryCommand> commands) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (commands.stream().allMatch(c -> c.getStatus() != InventoryCommand.Status.QUEUED)) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Commands were not processed in time");
+    }
+
+    private InventoryTransaction transaction(int id) {
+        InventoryTransaction transaction = new InventoryTransaction();
+        transaction.setTransactionId(id);
+        return transaction;
+    }
+}
@@ -0,0 +1,49 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.entity.InventoryPolicy;
+import com.superware.wms.inventory.repository.InventoryPolicyRepository;
+import com.superware.wms.inventory.service.ReplenishmentService;
+import com.superware.wms.inventory.service.TenantFilterService;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class InventoryPolicyServiceImplTest {
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEvictsReplenishmentPoliciesOnlyAfterCommit() {
+        InventoryPolicyRepository repository = mock(InventoryPolicyRepository.class);
+        when(repository.save(any(InventoryPolicy.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        ReplenishmentService replenishment = mock(ReplenishmentService.class);
+        ObjectProvider<ReplenishmentService> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(replenishment);
+        InventoryPolicyServiceImpl service = new InventoryPolicyServiceImpl(repository, mock(TenantFilterService.class),
+                provider);
+        TenantContextHolder.setCurrentTenant("1");
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.createPolicy(new InventoryPolicy());
+        verify(replenishment, never()).evictPolicies(any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(replenishment).evictPolicies(1);
+    }
+}
@@ -0,0 +1,27 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.repository.InventoryItemRepository;
+import com.superware.wms.inventory.repository.InventoryTransactionDetailRepository;
+import com.superware.wms.inventory.repository.InventoryTransactionRepository;
+import com.superware.wms.inventory.service.InventoryItemService;
+import com.superware.wms.inventory.service.TenantFilterService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class InventoryTransactionServiceImplTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRejectsALookbackBelowOneMonth() {
+        // Zero months would start the default window next month and find nothing
+        assertThatThrownBy(() -> new InventoryTransactionServiceImpl(mock(InventoryTransactionRepository.class),
+                mock(InventoryTransactionDetailRepository.class), mock(InventoryItemRepository.class),
+                mock(InventoryItemService.class), mock(TenantFilterService.class), mock(ObjectProvider.class),
+                mock(ObjectProvider.class), mock(ObjectProvider.class), 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at least one month");
+    }
+}
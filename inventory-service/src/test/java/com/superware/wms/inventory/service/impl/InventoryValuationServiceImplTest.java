@@ -0,0 +1,185 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.dto.InventoryValuationRunDto;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.service.valuation.CostLayer;
+import com.superware.wms.inventory.service.valuation.CostLedger;
+import com.superware.wms.inventory.service.valuation.ValuationMethod;
+import com.superware.wms.inventory.service.valuation.ValuationMovement;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+
+public class InventoryValuationServiceImplTest {
+
+    private static final OffsetDateTime WATERMARK = OffsetDateTime.now(ZoneOffset.UTC).minusHours(1);
+
+    private TestService service;
+
+    @AfterEach
+    public void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testFirstRunOpensPositionsFromCurrentStock() {
+        service = new TestService();
+        service.watermark = null;
+
+        InventoryValuationRunDto result = service.value(1);
+
+        assertThat(result.getProcessedFrom()).isNull();
+        assertThat(result.getPositionsUpdated()).isEqualTo(1);
+        CostLedger opened = service.written.get(new InventoryValuationServiceImpl.PositionKey(7, 1));
+        assertThat(opened.method()).isEqualTo(ValuationMethod.AVERAGE);
+        assertThat(opened.units()).isEqualTo(Quantity.of(40).units());
+        assertThat(opened.value()).isEqualByComparingTo("100");
+        assertThat(service.movementsRead).isFalse();
+    }
+
+    @Test
+    public void testAppliesMovementsSinceTheWatermarkPageByPage() {
+        service = new TestService();
+        service.movements = List.of(
+                movement(1, "RECEIPT", 10, "4"),
+                movement(2, "ISSUE", 15, null),
+                movement(3, "ADJUSTMENT", -1, null));
+
+        InventoryValuationRunDto result = service.value(1);
+
+        assertThat(result.getProcessedFrom()).isEqualTo(WATERMARK);
+        assertThat(result.getProcessedUntil())
+                .isCloseTo(OffsetDateTime.now(ZoneOffset.UTC).minusMinutes(5), within(5, ChronoUnit.SECONDS));
+        assertThat(result.getMovements()).isEqualTo(3);
+        assertThat(service.watermark).isEqualTo(result.getProcessedUntil());
+        // Stored layers are only read for the first page that touches the pair
+        assertThat(service.ledgerLoads).isEqualTo(1);
+
+        // 10 stored at 2 then 10 received at 4: FIFO issues 10 at 2 and 5 at 4, the adjustment 1 at 4
+        CostLedger ledger = service.written.get(new InventoryValuationServiceImpl.PositionKey(7, 1));
+        assertThat(ledger.units()).isEqualTo(Quantity.of(4).units());
+        assertThat(ledger.value()).isEqualByComparingTo("16");
+        assertThat(service.daily.values()).extracting(change -> change.value)
+                .containsExactly(new BigDecimal("40.0000"), new BigDecimal("-40.0000"), new BigDecimal("-4.0000"));
+    }
+
+    @Test
+    public void testWriteOffsTakeStockOutWhateverTheirSign() {
+        service = new TestService();
+        service.movements = List.of(
+                movement(1, "WRITE_OFF", 2, null),
+                movement(2, "WRITE_OFF", -3, null));
+
+        service.value(1);
+
+        // 10 stored at 2 lose 5 at 2
+        CostLedger ledger = service.written.get(new InventoryValuationServiceImpl.PositionKey(7, 1));
+        assertThat(ledger.units()).isEqualTo(Quantity.of(5).units());
+        assertThat(ledger.value()).isEqualByComparingTo("10");
+        assertThat(service.daily.values()).extracting(change -> change.value)
+                .containsExactly(new BigDecimal("-10.0000"));
+    }
+
+    @Test
+    public void testNothingToApplyBeforeTheSettleTime() {
+        service = new TestService();
+        service.watermark = OffsetDateTime.now(ZoneOffset.UTC).minusMinutes(1);
+
+        InventoryValuationRunDto result = service.value(1);
+
+        assertThat(result.getMovements()).isZero();
+        assertThat(service.movementsRead).isFalse();
+        assertThat(service.written).isEmpty();
+    }
+
+    private static ValuationMovement movement(long detailId, String type, long quantity, String unitCost) {
+        return new ValuationMovement(WATERMARK.plusMinutes(detailId), detailId, type, 7, 1,
+                Quantity.of(quantity).units(), unitCost != null ? new BigDecimal(unitCost) : null);
+    }
+
+    private static class TestService extends InventoryValuationServiceImpl {
+
+        private OffsetDateTime watermark = WATERMARK;
+        private List<ValuationMovement> movements = List.of();
+        private boolean movementsRead;
+        private int ledgerLoads;
+        private final Map<PositionKey, CostLedger> written = new HashMap<>();
+        private Map<DailyKey, DailyChange> daily = Map.of();
+
+        TestService() {
+            super(mock(PlatformTransactionManager.class), 2, Duration.ofMinutes(5), 1);
+        }
+
+        @Override
+        OffsetDateTime lockWatermark(int tenantId, OffsetDateTime openedAt) {
+            return watermark;
+        }
+
+        @Override
+        void advanceWatermark(int tenantId, OffsetDateTime processedUntil) {
+            watermark = processedUntil;
+        }
+
+        @Override
+        List<Object[]> loadOpeningStock(int tenantId) {
+            List<Object[]> stock = new ArrayList<>();
+            stock.add(new Object[] {7, 1, Quantity.of(40).units(), new BigDecimal("2.5")});
+            return stock;
+        }
+
+        @Override
+        void streamMovements(int tenantId, OffsetDateTime from, OffsetDateTime until,
+                             Consumer<List<ValuationMovement>> pages) {
+            movementsRead = true;
+            for (int i = 0; i < movements.size(); i += 2) {
+                pages.accept(movements.subList(i, Math.min(i + 2, movements.size())));
+            }
+        }
+
+        @Override
+        Map<Integer, ValuationMethod> loadMethods(int tenantId, Collection<Integer> productIds) {
+            return Map.of(7, movementsRead ? ValuationMethod.FIFO : ValuationMethod.AVERAGE);
+        }
+
+        @Override
+        Map<PositionKey, CostLedger> loadLedgers(int tenantId, Collection<PositionKey> keys) {
+            ledgerLoads++;
+            Map<PositionKey, CostLedger> stored = new HashMap<>();
+            stored.put(new PositionKey(7, 1), new CostLedger(ValuationMethod.FIFO,
+                    List.of(new CostLayer(WATERMARK.minusDays(1), Quantity.of(10).units(), new BigDecimal("2"))),
+                    0, new BigDecimal("2")));
+            return stored;
+        }
+
+        @Override
+        int writeLedgers(int tenantId, Map<PositionKey, CostLedger> ledgers) {
+            written.putAll(ledgers);
+            return ledgers.size();
+        }
+
+        @Override
+        void writeDailyChanges(int tenantId, Map<DailyKey, DailyChange> changes) {
+            daily = changes;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.dto.JournalPostingDto;
+import com.superware.wms.inventory.exception.InvalidReferenceException;
+import com.superware.wms.inventory.exception.ResourceNotFoundException;
+import com.superware.wms.inventory.service.gl.InventoryJournalBuilder;
+import com.superware.wms.inventory.service.gl.JournalEntryDraft;
+import com.superware.wms.inventory.service.gl.ValuationChange;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class JournalPostingServiceImplTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 6, 1);
+
+    @AfterEach
+    public void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testPostsThePeriodsEntriesInTheTenantContext() {
+        TestService service = new TestService();
+
+        JournalPostingDto result = service.postPeriod(1, 12);
+
+        assertThat(result.getEntriesPosted()).isEqualTo(2);
+        assertThat(result.getLinesPosted()).isEqualTo(4);
+        assertThat(result.getTotalDebit()).isEqualByComparingTo("55");
+        assertThat(result.getPeriodEnd()).isEqualTo(START.plusDays(29));
+        assertThat(service.written).extracting(JournalEntryDraft::entryNumber)
+                .containsExactly("INV-1-1-20240601", "INV-1-1-20240602");
+        assertThat(service.tenant).isEqualTo("1");
+    }
+
+    @Test
+    public void testRejectsClosedAndUnknownPeriods() {
+        TestService service = new TestService();
+
+        service.period = new JournalPostingServiceImpl.FinancialPeriod(START, START.plusDays(29), true);
+        assertThatThrownBy(() -> service.postPeriod(1, 12)).isInstanceOf(InvalidReferenceException.class);
+
+        service.period = null;
+        assertThatThrownBy(() -> service.postPeriod(1, 12)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(service.written).isNull();
+    }
+
+    @Test
+    public void testFailsWithoutWritingWhenAnAccountIsMissing() {
+        TestService service = new TestService();
+        service.accounts.remove("5000");
+
+        assertThatThrownBy(() -> service.postPeriod(1, 12))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("5000");
+        assertThat(service.written).isNull();
+    }
+
+    private static class TestService extends JournalPostingServiceImpl {
+
+        private FinancialPeriod period = new FinancialPeriod(START, START.plusDays(29), false);
+        private final Map<String, Integer> accounts = new HashMap<>(Map.of("1300", 1, "2150", 2, "5000", 3));
+        private List<JournalEntryDraft> written;
+        private String tenant;
+
+        TestService() {
+            super(mock(PlatformTransactionManager.class), InventoryJournalBuilder.Interval.DAY,
+                    "1300", "2150", "5000", "5000", "5150", "5100");
+        }
+
+        @Override
+        FinancialPeriod lockPeriod(int tenantId, int periodId) {
+            tenant = TenantContextHolder.getCurrentTenant();
+            return period;
+        }
+
+        @Override
+        List<ValuationChange> loadChanges(int tenantId, LocalDate periodStart, LocalDate periodEnd) {
+            return List.of(
+                    new ValuationChange(START, 1, "RECEIPT", new BigDecimal("40")),
+                    new ValuationChange(START.plusDays(1), 1, "ISSUE", new BigDecimal("-15")));
+        }
+
+        @Override
+        Map<String, Integer> loadAccounts(int tenantId, Collection<String> codes) {
+            return accounts;
+        }
+
+        @Override
+        int writeEntries(int tenantId, FinancialPeriod period, List<JournalEntryDraft> entries,
+                         Map<String, Integer> accounts) {
+            written = entries;
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.dto.PickSequenceDto;
+import com.superware.wms.inventory.exception.InvalidReferenceException;
+import com.superware.wms.inventory.service.picking.PickPathStrategy;
+import com.superware.wms.inventory.service.picking.WarehouseLayout;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class PickPathServiceImplTest {
+
+    @AfterEach
+    public void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testResequencesTaskItemsByLocationAndRecordsTheDistance() {
+        TestService service = new TestService();
+        // Items 1 and 4 share location 203; 102 is the nearest to the depot
+        service.items = List.of(new int[] {1, 203}, new int[] {2, 301}, new int[] {3, 102}, new int[] {4, 203});
+
+        PickSequenceDto result = service.sequenceTask(1, 77, PickPathStrategy.SERPENTINE);
+
+        assertThat(result.getLocationIds()).containsExactly(102, 203, 301);
+        assertThat(service.itemOrder).containsExactly(3, 1, 4, 2);
+        assertThat(service.distance).isEqualByComparingTo(result.getDistanceMeters());
+        assertThat(service.distance.signum()).isPositive();
+        assertThat(service.locations).isEqualTo(3);
+        assertThat(service.tenant).isEqualTo("1");
+    }
+
+    @Test
+    public void testRejectsTasksThatAreNoLongerPending() {
+        TestService service = new TestService();
+        service.task = new PickPathServiceImpl.PickTask(3, "IN_PROGRESS");
+
+        assertThatThrownBy(() -> service.sequenceTask(1, 77, null))
+                .isInstanceOf(InvalidReferenceException.class)
+                .hasMessageContaining("in_progress");
+        assertThat(service.itemOrder).isNull();
+    }
+
+    @Test
+    public void testCachesTheLayoutAndReloadsItOnceForAnUnknownLocation() {
+        TestService service = new TestService();
+
+        service.sequenceLocations(1, 3, List.of(101, 202), null);
+        service.sequenceLocations(1, 3, List.of(303, 101), PickPathStrategy.LARGEST_GAP);
+        assertThat(service.layoutLoads).isEqualTo(1);
+
+        assertThatThrownBy(() -> service.sequenceLocations(1, 3, List.of(101, 999), null))
+                .isInstanceOf(InvalidReferenceException.class)
+                .hasMessageContaining("999");
+        assertThat(service.layoutLoads).isEqualTo(2);
+
+        // Known to be missing until the layout expires
+        assertThatThrownBy(() -> service.sequenceLocations(1, 3, List.of(999, 202), null))
+                .isInstanceOf(InvalidReferenceException.class);
+        assertThat(service.layoutLoads).isEqualTo(2);
+        assertThatThrownBy(() -> service.sequenceLocations(1, 3, List.of(998), null))
+                .isInstanceOf(InvalidReferenceException.class);
+        assertThat(service.layoutLoads).isEqualTo(3);
+    }
+
+    @Test
+    public void testDropsTheLeastRecentlyUsedLayout() {
+        TestService service = new TestService(2);
+
+        service.sequenceLocations(1, 1, List.of(101), null);
+        service.sequenceLocations(1, 2, List.of(101), null);
+        service.sequenceLocations(1, 1, List.of(101), null);
+        service.sequenceLocations(1, 3, List.of(101), null);
+        assertThat(service.layoutLoads).isEqualTo(3);
+
+        service.sequenceLocations(1, 1, List.of(101), null);
+        assertThat(service.layoutLoads).isEqualTo(3);
+        service.sequenceLocations(1, 2, List.of(101), null);
+        assertThat(service.layoutLoads).isEqualTo(4);
+    }
+
+    private static class TestService extends PickPathServiceImpl {
+
+        private PickTask task = new PickTask(3, "PENDING");
+        private List<int[]> items = List.of();
+        private int layoutLoads;
+        private List<Integer> itemOrder;
+        private BigDecimal distance;
+        private int locations;
+        private String tenant;
+
+        TestService() {
+            this(1000);
+        }
+
+        TestService(int maxLayouts) {
+            super(mock(PlatformTransactionManager.class), PickPathStrategy.TWO_OPT, 3.0, 1.0,
+                    Duration.ofMillis(30), Duration.ofMinutes(10), maxLayouts);
+        }
+
+        @Override
+        List<WarehouseLayout.Slot> loadSlots(int tenantId, int facilityId) {
+            layoutLoads++;
+            List<WarehouseLayout.Slot> slots = new ArrayList<>();
+            for (int aisle = 1; aisle <= 3; aisle++) {
+                for (int bay = 1; bay <= 9; bay++) {
+                    slots.add(new WarehouseLayout.Slot(aisle * 100 + bay, "A" + aisle, "0" + bay));
+                }
+            }
+            return slots;
+        }
+
+        @Override
+        PickTask lockTask(int tenantId, int pickTaskId) {
+            tenant = TenantContextHolder.getCurrentTenant();
+            return task;
+        }
+
+        @Override
+        List<int[]> loadTaskItems(int pickTaskId) {
+            return items;
+        }
+
+        @Override
+        void writeTaskSequence(int pickTaskId, List<Integer> itemIds, BigDecimal distanceMeters, int locations) {
+            this.itemOrder = itemIds;
+            this.distance = distanceMeters;
+            this.locations = locations;
+        }
+    }
+}
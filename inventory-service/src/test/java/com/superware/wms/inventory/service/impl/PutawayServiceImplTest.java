@@ -0,0 +1,146 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.dto.PutawaySuggestionRunDto;
+import com.superware.wms.inventory.service.putaway.PutawayLine;
+import com.superware.wms.inventory.service.putaway.PutawayRule;
+import com.superware.wms.inventory.service.putaway.ZoneCapacityIndex;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class PutawayServiceImplTest {
+
+    @AfterEach
+    public void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testWritesTheSuggestionsOfTheReceiptsTasks() {
+        TestService service = new TestService();
+        service.lines = List.of(line(1, 100, 7), line(2, 200, 8));
+
+        PutawaySuggestionRunDto result = service.suggestLocations(1, 3, "PURCHASE_RECEIPT", 44);
+
+        assertThat(result.getTasksConsidered()).isEqualTo(2);
+        assertThat(result.getTasksSuggested()).isEqualTo(2);
+        assertThat(result.getSuggestions().get(0).getRuleId()).isEqualTo(10);
+        assertThat(result.getSuggestions().get(0).getSuggestedLocationId()).isEqualTo(201);
+        assertThat(result.getSuggestions().get(1).getRuleId()).isNull();
+        assertThat(service.writtenTasks).containsExactly(1, 2);
+        assertThat(service.writtenLocations).containsExactly(201, result.getSuggestions().get(1).getSuggestedLocationId());
+        assertThat(service.tenant).isEqualTo("1");
+    }
+
+    @Test
+    public void testReusesTheCachedIndexAndItsTakenSpace() {
+        TestService service = new TestService();
+        service.lines = List.of(line(1, 100, 7));
+        service.suggestLocations(1, 3, "PURCHASE_RECEIPT", 44);
+
+        // Location 201 is full after the first receipt
+        service.lines = List.of(line(2, 100, 7));
+        PutawaySuggestionRunDto result = service.suggestLocations(1, 3, "PURCHASE_RECEIPT", 45);
+
+        assertThat(service.loads).isEqualTo(1);
+        assertThat(result.getSuggestions().get(0).getSuggestedLocationId()).isNotEqualTo(201);
+    }
+
+    @Test
+    public void testDropsTheCachedIndexWhenTheRunFails() {
+        TestService service = new TestService();
+        service.lines = List.of(line(1, 100, 7));
+        service.failWrite = true;
+
+        assertThatThrownBy(() -> service.suggestLocations(1, 3, "PURCHASE_RECEIPT", 44))
+                .isInstanceOf(IllegalStateException.class);
+
+        service.failWrite = false;
+        PutawaySuggestionRunDto result = service.suggestLocations(1, 3, "PURCHASE_RECEIPT", 44);
+
+        assertThat(service.loads).isEqualTo(2);
+        assertThat(result.getSuggestions().get(0).getSuggestedLocationId()).isEqualTo(201);
+    }
+
+    @Test
+    public void testReloadsAnExpiredIndexWhileARunPlannedOnItIsOpen() {
+        TestService service = new TestService(Duration.ZERO);
+
+        PutawayServiceImpl.CachedFacility open = service.facilityFor(1, 3);
+        PutawayServiceImpl.CachedFacility reloaded = service.facilityFor(1, 3);
+
+        assertThat(reloaded).isNotSameAs(open);
+        assertThat(service.loads).isEqualTo(2);
+    }
+
+    private static PutawayLine line(int taskId, int productId, int categoryId) {
+        // 10 units of 8 kg
+        return new PutawayLine(taskId, productId, categoryId, "PURCHASE_RECEIPT", 100_000, 8.0, 0, false, false,
+                false, null);
+    }
+
+    private static class TestService extends PutawayServiceImpl {
+
+        private List<PutawayLine> lines = List.of();
+        private boolean failWrite;
+        private int loads;
+        private List<Integer> writtenTasks;
+        private List<Integer> writtenLocations;
+        private String tenant;
+
+        TestService() {
+            this(Duration.ofMinutes(1));
+        }
+
+        TestService(Duration indexTtl) {
+            super(mock(PlatformTransactionManager.class), 1.0, 0.5, 0.5, 3.0, 1.2, indexTtl);
+        }
+
+        @Override
+        List<PutawayLine> lockTasks(int tenantId, int facilityId, String referenceType, int referenceId) {
+            tenant = TenantContextHolder.getCurrentTenant();
+            return lines;
+        }
+
+        @Override
+        List<ZoneCapacityIndex.Location> loadLocations(int tenantId, int facilityId) {
+            loads++;
+            List<ZoneCapacityIndex.Location> locations = new ArrayList<>();
+            // Zone 2 takes 100 kg per location
+            locations.add(new ZoneCapacityIndex.Location(201, 2, "A2", "01", 100.0, null, true, false, false));
+            for (int bay = 1; bay <= 5; bay++) {
+                locations.add(new ZoneCapacityIndex.Location(100 + bay, 1, "A1", "0" + bay, null, null, true, false,
+                        false));
+            }
+            return locations;
+        }
+
+        @Override
+        List<ZoneCapacityIndex.Stock> loadStock(int tenantId, int facilityId) {
+            return List.of(new ZoneCapacityIndex.Stock(201, 100, 10_000, 10.0, 0));
+        }
+
+        @Override
+        List<PutawayRule> loadRules(int tenantId, int facilityId) {
+            return List.of(PutawayRule.compile(10, 1, "{\"category_id\": 7}", new int[] {2}, null));
+        }
+
+        @Override
+        void writeSuggestions(int tenantId, List<Integer> taskIds, List<Integer> locationIds) {
+            if (failWrite) {
+                throw new IllegalStateException("write failed");
+            }
+            writtenTasks = taskIds;
+            writtenLocations = locationIds;
+        }
+    }
+}
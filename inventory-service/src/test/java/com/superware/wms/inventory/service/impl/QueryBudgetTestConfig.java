@@ -0,0 +1,70 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.repository.TenantAwareRepositoryFactoryBean;
+import com.superware.wms.inventory.service.TenantFilterService;
+import com.superware.wms.test.sql.SqlStatementCountingBeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Plain Spring context for the query budget tests: the real services, repositories and Hibernate
+ * mappings on an in-memory H2 database whose data source counts statements. No Boot
+ * auto-configuration, so exactly the statements the services issue are measured.
+ */
+@Configuration
+@EnableTransactionManagement
+@EnableJpaRepositories(
+    basePackages = "com.superware.wms.inventory.repository",
+    repositoryFactoryBeanClass = TenantAwareRepositoryFactoryBean.class
+)
+@Import({
+    TenantFilterService.class,
+    InventoryItemServiceImpl.class,
+    InventoryTransactionServiceImpl.class,
+    InventoryAdjustmentServiceImpl.class,
+    InventoryCountServiceImpl.class,
+    InventoryReservationServiceImpl.class,
+    InventoryPolicyServiceImpl.class
+})
+public class QueryBudgetTestConfig {
+
+    @Bean
+    public static SqlStatementCountingBeanPostProcessor sqlStatementCountingBeanPostProcessor() {
+        return new SqlStatementCountingBeanPostProcessor();
+    }
+
+    @Bean
+    public DataSource dataSource() {
+        return new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+    }
+
+    @Bean
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.superware.wms.inventory.entity");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+        return factory;
+    }
+
+    @Bean
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+}
@@ -0,0 +1,204 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.exception.InvalidReferenceException;
+import com.superware.wms.inventory.exception.LocationCapacityExceededException;
+import com.superware.wms.inventory.repository.InventoryItemRepository;
+import com.superware.wms.inventory.service.reference.ProductRef;
+import com.superware.wms.inventory.service.reference.StorageLocationRef;
+import com.superware.wms.inventory.service.reference.TenantReferenceData;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReferenceDataServiceImplTest {
+
+    private final InventoryItemRepository itemRepository = mock(InventoryItemRepository.class);
+    private final List<Integer> loads = new ArrayList<>();
+    private final List<Integer> rowLookups = new ArrayList<>();
+    private final List<Integer> lockedLocations = new ArrayList<>();
+    // Rows created after the tenant was loaded, found only by a row lookup
+    private final Map<Integer, StorageLocationRef> createdLocations = new HashMap<>();
+    private TestService service;
+
+    @AfterEach
+    public void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testValidatesLocationsFromOneBulkLoad() {
+        service = new TestService(100);
+        TenantContextHolder.setCurrentTenant("1");
+        InventoryItem item = item(10);
+
+        assertThatCode(() -> service.validateMovement("TRANSFER", item, Quantity.of(5), 1, 2)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> service.validateMovement("RECEIPT", item, Quantity.of(5), null, 3))
+                .isInstanceOf(InvalidReferenceException.class)
+                .hasMessageContaining("location is inactive");
+        assertThatThrownBy(() -> service.validateMovement("TRANSFER", item, Quantity.of(5), 99, 1))
+                .isInstanceOf(InvalidReferenceException.class)
+                .hasMessageContaining("location not found");
+        // Stock may be issued out of an inactive location
+        assertThatCode(() -> service.validateMovement("ISSUE", item, Quantity.of(5), 3, null)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> service.validateMovement("RECEIPT", item(11), Quantity.of(5), null, 1))
+                .isInstanceOf(InvalidReferenceException.class)
+                .hasMessageContaining("product is inactive");
+
+        assertThat(loads).containsExactly(1);
+    }
+
+    @Test
+    public void testEnforcesWeightCapacityIncludingStoredStock() {
+        service = new TestService(100);
+        TenantContextHolder.setCurrentTenant("1");
+        // Location 2 holds 100 kg: 40 units of product 10 at 2 kg and 20 units of product 12 at 1 kg
+        List<InventoryItemRepository.LocationStock> stored = List.of(stock(10, "40"), stock(12, "20"));
+        when(itemRepository.sumStockByProductAtLocation(1, 2)).thenReturn(stored);
+
+        assertThatCode(() -> service.validateMovement("RECEIPT", item(10), Quantity.of(50), null, 2))
+                .doesNotThrowAnyException();
+        assertThatThrownBy(() -> service.validateMovement("RECEIPT", item(10), Quantity.of(51), null, 2))
+                .isInstanceOf(LocationCapacityExceededException.class)
+                .hasMessageContaining("weight capacity exceeded")
+                .hasMessageContaining("Required: 202");
+        // The destination is locked before its stock is summed
+        assertThat(lockedLocations).containsExactly(2, 2);
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedTenantWhenBoundIsReached() {
+        // Each tenant has 3 locations and 3 products
+        service = new TestService(12);
+
+        TenantContextHolder.setCurrentTenant("1");
+        service.findLocation(1);
+        TenantContextHolder.setCurrentTenant("2");
+        service.findLocation(1);
+        TenantContextHolder.setCurrentTenant("1");
+        service.findLocation(2);
+        TenantContextHolder.setCurrentTenant("3");
+        service.findLocation(1);
+        TenantContextHolder.setCurrentTenant("1");
+        service.findLocation(1);
+        TenantContextHolder.setCurrentTenant("2");
+        service.findLocation(1);
+
+        assertThat(loads).containsExactly(1, 2, 3, 2);
+    }
+
+    @Test
+    public void testTenantLargerThanBoundIsLookedUpRowByRow() {
+        service = new TestService(5);
+        TenantContextHolder.setCurrentTenant("1");
+
+        assertThat(service.findLocation(1)).isPresent();
+        assertThat(service.findLocation(2)).isPresent();
+
+        assertThat(loads).containsExactly(1);
+        assertThat(rowLookups).containsExactly(1, 2);
+    }
+
+    @Test
+    public void testLooksUpRowsCreatedSinceTheLoadAndRemembersMisses() {
+        service = new TestService(100);
+        TenantContextHolder.setCurrentTenant("1");
+        service.findLocation(1);
+        createdLocations.put(4, new StorageLocationRef(4, 1, 1, "BIN", true, null, null, "BULK"));
+
+        assertThat(service.findLocation(4)).isPresent();
+        assertThat(service.findLocation(99)).isEmpty();
+        assertThat(service.findLocation(99)).isEmpty();
+        assertThat(rowLookups).containsExactly(4, 99);
+
+        // Evicting the tenant forgets its misses too
+        service.evict(1);
+        assertThat(service.findLocation(99)).isEmpty();
+        assertThat(loads).containsExactly(1, 1);
+        assertThat(rowLookups).containsExactly(4, 99, 99);
+    }
+
+    private static InventoryItem item(int productId) {
+        InventoryItem item = new InventoryItem();
+        item.setItemId(1);
+        item.setProductId(productId);
+        return item;
+    }
+
+    private static InventoryItemRepository.LocationStock stock(int productId, String quantity) {
+        return new InventoryItemRepository.LocationStock() {
+            @Override
+            public Integer getProductId() {
+                return productId;
+            }
+
+            @Override
+            public BigDecimal getQuantity() {
+                return new BigDecimal(quantity);
+            }
+        };
+    }
+
+    private static TenantReferenceData data() {
+        Map<Integer, StorageLocationRef> locations = new HashMap<>();
+        locations.put(1, new StorageLocationRef(1, 1, 1, "RACK", true, null, null, "PICKING"));
+        locations.put(2, new StorageLocationRef(2, 1, 1, "BIN", true, new BigDecimal("200.00"), null, "BULK"));
+        locations.put(3, new StorageLocationRef(3, 1, 1, "BIN", false, null, null, "BULK"));
+        Map<Integer, ProductRef> products = new HashMap<>();
+        products.put(10, new ProductRef(10, "EA", new BigDecimal("2.0000"), null, false, true));
+        products.put(11, new ProductRef(11, "EA", null, null, false, false));
+        products.put(12, new ProductRef(12, "EA", new BigDecimal("1.0000"), null, false, true));
+        return new TenantReferenceData(locations, products, System.nanoTime());
+    }
+
+    /** Serves fixed reference data instead of querying the database. */
+    private class TestService extends ReferenceDataServiceImpl {
+
+        TestService(long maxEntries) {
+            super(itemRepository, mock(PlatformTransactionManager.class), maxEntries,
+                    Duration.ofMinutes(5), Duration.ofMinutes(30), 1, 100, Duration.ofMinutes(1));
+        }
+
+        @Override
+        TenantReferenceData load(int tenantId) {
+            loads.add(tenantId);
+            return data();
+        }
+
+        @Override
+        void lockLocation(int locationId) {
+            lockedLocations.add(locationId);
+        }
+
+        @Override
+        Optional<StorageLocationRef> loadLocation(int tenantId, int locationId) {
+            rowLookups.add(locationId);
+            StorageLocationRef created = createdLocations.get(locationId);
+            return created != null ? Optional.of(created) : Optional.ofNullable(data().locations().get(locationId));
+        }
+
+        @Override
+        Optional<ProductRef> loadProduct(int tenantId, int productId) {
+            return Optional.ofNullable(data().products().get(productId));
+        }
+    }
+}
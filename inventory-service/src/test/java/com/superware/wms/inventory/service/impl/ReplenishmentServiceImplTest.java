@@ -0,0 +1,194 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.dto.ReplenishmentSweepDto;
+import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.service.ReferenceDataService;
+import com.superware.wms.inventory.service.reference.StorageLocationRef;
+import com.superware.wms.inventory.service.replenishment.ReplenishmentPolicy;
+import com.superware.wms.inventory.service.replenishment.ReplenishmentTask;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReplenishmentServiceImplTest {
+
+    private static final ReplenishmentPolicy MIN_10_MAX_50 =
+            new ReplenishmentPolicy(1, null, Quantity.of(10), Quantity.of(50), null, null);
+
+    private final ReferenceDataService referenceDataService = mock(ReferenceDataService.class);
+    private final List<Collection<Integer>> policyLoads = new ArrayList<>();
+    private final List<ReplenishmentTask> written = new CopyOnWriteArrayList<>();
+    private TestService service;
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        if (service != null) {
+            service.stop();
+        }
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testCreatesTasksOnlyForPickFacesThatCrossedTheirTrigger() {
+        service = new TestService(10_000);
+
+        service.evaluate(List.of(
+                // 13 -> 8: crossed the minimum of 10
+                decrease(1, 100, 3), decrease(1, 100, 2),
+                // 6 -> 4: was already below the minimum, the sweep covers it
+                decrease(2, 101, 2),
+                // No policy
+                decrease(3, 102, 50)));
+
+        assertThat(written).hasSize(1);
+        ReplenishmentTask task = written.get(0);
+        assertThat(task.productId()).isEqualTo(1);
+        assertThat(task.toLocationId()).isEqualTo(100);
+        assertThat(task.quantity()).isEqualTo(Quantity.of(42));
+        assertThat(task.priority()).isEqualTo(3);
+        // Tightest cover in the pick face's facility; 202 holds more but is in another facility
+        assertThat(task.fromLocationId()).isEqualTo(201);
+    }
+
+    @Test
+    public void testCachesPoliciesUntilEvicted() {
+        service = new TestService(10_000);
+
+        service.evaluate(List.of(decrease(1, 100, 5)));
+        service.evaluate(List.of(decrease(1, 100, 5), decrease(3, 102, 1)));
+        assertThat(policyLoads).containsExactly(List.of(1), List.of(3));
+
+        service.evictPolicies(1);
+        service.evaluate(List.of(decrease(1, 100, 5)));
+        assertThat(policyLoads).hasSize(3);
+    }
+
+    @Test
+    public void testSweepsProductRangeInParallelChunks() {
+        service = new TestService(10);
+
+        ReplenishmentSweepDto result = service.sweep(1);
+
+        assertThat(result.getChunks()).isEqualTo(4);
+        assertThat(result.getShortages()).isEqualTo(4);
+        assertThat(result.getTasksCreated()).isEqualTo(4);
+        assertThat(service.chunks).containsExactlyInAnyOrder("1-10", "11-20", "21-30", "31-35");
+        assertThat(service.chunkTenants).containsOnly("1");
+        assertThat(service.chunkThreads).allMatch(name -> name.startsWith("replenishment-sweep"));
+    }
+
+    @Test
+    public void testQueuesDecreasesAtPickFacesOnly() throws InterruptedException {
+        when(referenceDataService.findLocation(100))
+                .thenReturn(Optional.of(new StorageLocationRef(100, 1, 7, "BIN", true, null, null, "PICKING")));
+        when(referenceDataService.findLocation(200))
+                .thenReturn(Optional.of(new StorageLocationRef(200, 2, 7, "RACK", true, null, null, "BULK")));
+        service = new TestService(10_000);
+        service.writes = new CountDownLatch(1);
+        service.start();
+        TenantContextHolder.setCurrentTenant("1");
+
+        service.stockDecreased(item(1), 200, Quantity.of(5));
+        service.stockDecreased(item(1), 100, Quantity.of(5));
+
+        assertThat(service.writes.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(service.evaluatedLocations).containsExactly(100);
+    }
+
+    private static ReplenishmentServiceImpl.StockDecrease decrease(int productId, int locationId, long wholeUnits) {
+        return new ReplenishmentServiceImpl.StockDecrease(1, productId, null, locationId, Quantity.of(wholeUnits).units());
+    }
+
+    private static InventoryItem item(int productId) {
+        InventoryItem item = new InventoryItem();
+        item.setProductId(productId);
+        return item;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ObjectProvider<ReferenceDataService> references() {
+        ObjectProvider<ReferenceDataService> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(referenceDataService);
+        return provider;
+    }
+
+    private class TestService extends ReplenishmentServiceImpl {
+
+        private final List<String> chunks = new CopyOnWriteArrayList<>();
+        private final Set<String> chunkTenants = ConcurrentHashMap.newKeySet();
+        private final Set<String> chunkThreads = ConcurrentHashMap.newKeySet();
+        private final List<Integer> evaluatedLocations = new CopyOnWriteArrayList<>();
+        private CountDownLatch writes = new CountDownLatch(0);
+
+        TestService(long sweepChunkSize) {
+            super(references(), mock(PlatformTransactionManager.class), 100, 50, 1000, sweepChunkSize, 2);
+        }
+
+        @Override
+        List<ReplenishmentPolicy> loadPolicies(int tenantId, Collection<Integer> productIds) {
+            policyLoads.add(List.copyOf(productIds));
+            return productIds.stream()
+                    .filter(productId -> productId <= 2)
+                    .map(productId -> new ReplenishmentPolicy(productId, null, Quantity.of(10), Quantity.of(50), null, null))
+                    .toList();
+        }
+
+        @Override
+        List<PickFaceStock> loadPickFaceStock(int tenantId, Collection<Integer> productIds, Collection<Integer> locationIds) {
+            evaluatedLocations.addAll(locationIds);
+            List<PickFaceStock> stock = new ArrayList<>();
+            if (productIds.contains(1)) {
+                stock.add(new PickFaceStock(new PickFace(1, null, 100), 7, Quantity.of(8)));
+            }
+            if (productIds.contains(2)) {
+                stock.add(new PickFaceStock(new PickFace(2, null, 101), 7, Quantity.of(4)));
+            }
+            return stock;
+        }
+
+        @Override
+        List<ReserveStock> loadReserveStock(int tenantId, Collection<Integer> productIds) {
+            return List.of(
+                    new ReserveStock(1, 200, 7, Quantity.of(100).units()),
+                    new ReserveStock(1, 201, 7, Quantity.of(45).units()),
+                    new ReserveStock(1, 202, 8, Quantity.of(500).units()));
+        }
+
+        @Override
+        long[] loadProductRange(int tenantId) {
+            return new long[] {1, 35};
+        }
+
+        @Override
+        List<Shortage> loadShortages(int tenantId, long fromProductId, long toProductId) {
+            chunks.add(fromProductId + "-" + toProductId);
+            chunkTenants.add(TenantContextHolder.getCurrentTenant());
+            chunkThreads.add(Thread.currentThread().getName());
+            return List.of(new Shortage(new PickFace(1, null, 100), 7, Quantity.ZERO, MIN_10_MAX_50));
+        }
+
+        @Override
+        int writeTasks(int tenantId, List<ReplenishmentTask> tasks) {
+            written.addAll(tasks);
+            writes.countDown();
+            return tasks.size();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.entity.InventoryCount;
+import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.InventoryPolicy;
+import com.superware.wms.inventory.entity.InventoryReservation;
+import com.superware.wms.inventory.entity.InventoryReservationDetail;
+import com.superware.wms.inventory.entity.types.Quantity;
+import com.superware.wms.inventory.repository.InventoryItemRepository;
+import com.superware.wms.inventory.repository.InventoryPolicyRepository;
+import com.superware.wms.inventory.repository.InventoryReservationDetailRepository;
+import com.superware.wms.inventory.service.InventoryAdjustmentService;
+import com.superware.wms.inventory.service.InventoryCountService;
+import com.superware.wms.inventory.service.InventoryItemService;
+import com.superware.wms.inventory.service.InventoryPolicyService;
+import com.superware.wms.inventory.service.InventoryReservationService;
+import com.superware.wms.inventory.service.InventoryTransactionService;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import com.superware.wms.test.sql.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.superware.wms.test.sql.SqlStatementAssertions.assertMaxSelects;
+import static com.superware.wms.test.sql.SqlStatementAssertions.assertMaxStatements;
+
+/**
+ * Statement budgets for the inventory service flows. Multi-line flows run with several lines so
+ * a lookup per line shows up as a budget overrun; their select budget does not depend on the
+ * number of lines.
+ */
+@SpringJUnitConfig(QueryBudgetTestConfig.class)
+public class ServiceQueryBudgetTest {
+
+    private static final int LINES = 5;
+
+    @Autowired private InventoryItemService itemService;
+    @Autowired private InventoryTransactionService transactionService;
+    @Autowired private InventoryAdjustmentService adjustmentService;
+    @Autowired private InventoryCountService countService;
+    @Autowired private InventoryReservationService reservationService;
+    @Autowired private InventoryPolicyService policyService;
+    @Autowired private InventoryItemRepository itemRepository;
+    @Autowired private InventoryPolicyRepository policyRepository;
+    @Autowired private InventoryReservationDetailRepository reservationDetailRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    public void setUp() {
+        TenantContextHolder.setCurrentTenant("1");
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testItemQueries() {
+        Integer itemId = items(1).get(0);
+
+        SqlStatementCounter.reset();
+        itemService.getItemById(itemId);
+        assertMaxStatements(1);
+
+        // Page plus, when the page is full, its count query
+        SqlStatementCounter.reset();
+        itemService.getAllItemDtos(PageRequest.of(0, 20));
+        assertMaxStatements(2);
+
+        SqlStatementCounter.reset();
+        itemService.getStockAvailability(10, 1, null, null);
+        assertMaxStatements(1);
+    }
+
+    @Test
+    public void testPolicyQueries() {
+        Integer policyId = transaction.execute(status -> {
+            InventoryPolicy policy = new InventoryPolicy();
+            policy.setTenantId(1);
+            policy.setProductId(10);
+            policy.setFacilityId(1);
+            policy.setMinStockLevel(Quantity.of(10));
+            policy.setMaxStockLevel(Quantity.of(100));
+            return policyRepository.save(policy).getPolicyId();
+        });
+
+        SqlStatementCounter.reset();
+        policyService.getPolicyDtoById(policyId);
+        assertMaxStatements(1);
+
+        // Page plus, when the page is full, its count query
+        SqlStatementCounter.reset();
+        policyService.getAllPolicyDtos(PageRequest.of(0, 20));
+        assertMaxStatements(2);
+
+        SqlStatementCounter.reset();
+        policyService.getPolicyDtosByProductId(10);
+        assertMaxStatements(1);
+
+        SqlStatementCounter.reset();
+        policyService.getPolicyDtosByFacilityId(1);
+        assertMaxStatements(1);
+    }
+
+    @Test
+    public void testStockMovements() {
+        Integer itemId = items(1).get(0);
+
+        // Item lookup, transaction and detail inserts, item update
+        SqlStatementCounter.reset();
+        transactionService.recordReceipt(itemId, Quantity.of(5), null, 2, 1);
+        assertMaxStatements(4);
+
+        SqlStatementCounter.reset();
+        transactionService.recordIssue(itemId, Quantity.of(5), 2, null, 1);
+        assertMaxStatements(4);
+
+        // A transfer does not change the item
+        SqlStatementCounter.reset();
+        transactionService.recordTransfer(itemId, Quantity.of(5), 2, 3, 1);
+        assertMaxStatements(3);
+
+        SqlStatementCounter.reset();
+        adjustmentService.adjustStock(itemId, Quantity.of(-2), "Damaged", 1);
+        assertMaxStatements(4);
+    }
+
+    @Test
+    public void testReservationFlow() {
+        List<Integer> itemIds = items(LINES);
+
+        SqlStatementCounter.reset();
+        InventoryReservation confirmed = reservationService.reserveStock(itemIds.get(0), Quantity.of(1), "SALES_ORDER", 7, 1);
+        assertMaxStatements(4);
+
+        // Reservation, its details and all their items, then one update per item and the reservation
+        addReservationLines(confirmed.getId(), itemIds.subList(1, LINES));
+        SqlStatementCounter.reset();
+        reservationService.confirmReservation(confirmed.getId(), 1);
+        assertMaxSelects(3);
+        assertMaxStatements(3 + LINES + 1);
+
+        InventoryReservation released = reservationService.reserveStock(itemIds.get(0), Quantity.of(1), "SALES_ORDER", 8, 1);
+        addReservationLines(released.getId(), itemIds.subList(1, LINES));
+        SqlStatementCounter.reset();
+        reservationService.releaseReservation(released.getId(), 1);
+        assertMaxSelects(3);
+        assertMaxStatements(3 + LINES + 1);
+    }
+
+    @Test
+    public void testCountFlow() {
+        List<Integer> itemIds = items(LINES);
+
+        SqlStatementCounter.reset();
+        InventoryCount count = countService.startCount(2, 1);
+        assertMaxStatements(1);
+
+        // Count and item lookups, detail insert
+        SqlStatementCounter.reset();
+        countService.addCountDetail(count.getCountId(), itemIds.get(0), Quantity.of(100), 1);
+        assertMaxStatements(3);
+        for (int line = 1; line < LINES; line++) {
+            countService.addCountDetail(count.getCountId(), itemIds.get(line), Quantity.of(100 + line), 1);
+        }
+
+        // Count, its details and all their items; two adjustment inserts per variance, then one
+        // update per item and the count
+        SqlStatementCounter.reset();
+        countService.completeCount(count.getCountId(), 1);
+        assertMaxSelects(3);
+        assertMaxStatements(3 + 2 * (LINES - 1) + LINES + 1);
+    }
+
+    private List<Integer> items(int count) {
+        return transaction.execute(status -> {
+            List<Integer> ids = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                InventoryItem item = new InventoryItem();
+                item.setProductId(10 + i);
+                item.setFacilityId(1);
+                item.setLocationId(2);
+                item.setLotNumber("LOT-" + i);
+                item.setQuantityOnHand(Quantity.of(100));
+                item.setQuantityAllocated(Quantity.ZERO);
+                ids.add(itemRepository.save(item).getItemId());
+            }
+            return ids;
+        });
+    }
+
+    private void addReservationLines(Integer reservationId, List<Integer> itemIds) {
+        transaction.executeWithoutResult(status -> {
+            for (Integer itemId : itemIds) {
+                InventoryReservationDetail detail = new InventoryReservationDetail();
+                detail.setReservationId(reservationId);
+                detail.setItemId(itemId);
+                detail.setReservedQuantity(Quantity.of(1));
+                reservationDetailRepository.save(detail);
+            }
+        });
+    }
+}
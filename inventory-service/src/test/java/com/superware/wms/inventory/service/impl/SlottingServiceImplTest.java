@@ -0,0 +1,164 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.dto.SlottingMoveDto;
+import com.superware.wms.inventory.dto.SlottingPlanDto;
+import com.superware.wms.inventory.service.slotting.PickZones;
+import com.superware.wms.inventory.service.slotting.SlottingOptimizer;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+
+public class SlottingServiceImplTest {
+
+    private TestService service;
+
+    @AfterEach
+    public void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testMovesFastStockIntoTheNearestEmptyLocationOutsideOverflow() {
+        service = new TestService();
+        service.locations = List.of(
+                location(101, "A1", "01", "5"),
+                location(102, "A1", "02", "1"),
+                location(103, "A1", "03", "1"),
+                location(104, "A1", "04", "1"),
+                location(105, "A1", "05", "1"),
+                location(901, "A9", "10", "1"));
+        // Levels 5 and up of aisle A1 are overflow
+        service.zones = List.of(new PickZones.PickZone(1, "A1", "A1", "5", "9", true, 0),
+                new PickZones.PickZone(2, null, null, null, null, false, 0));
+        service.stock = List.of(new SlottingServiceImpl.StockRow(901, 7, 100_000, 10.0, 0, false),
+                new SlottingServiceImpl.StockRow(102, 8, 100_000, 10.0, 0, false));
+        service.picks = Map.of(7, 100L);
+
+        SlottingPlanDto result = service.proposeMoves(1, 3, null, false);
+
+        // 10 picks a day from 17 m round trip down to 5 m beats swapping with the idle stock 3 m out
+        assertThat(result.getLocationsConsidered()).isEqualTo(6);
+        assertThat(result.getOccupiedLocations()).isEqualTo(2);
+        assertThat(result.getMovesProposed()).isEqualTo(1);
+        SlottingMoveDto move = result.getMoves().get(0);
+        assertThat(move.getFromLocationId()).isEqualTo(901);
+        assertThat(move.getToLocationId()).isEqualTo(103);
+        assertThat(move.isSwap()).isFalse();
+        assertThat(move.getTravelSavedMetersPerDay()).isCloseTo(120.0, within(1e-9));
+        assertThat(move.getTransactionIds()).isEmpty();
+        assertThat(result.getTransfersCreated()).isZero();
+        assertThat(service.lockedFacility).isNull();
+        assertThat(service.tenant).isEqualTo("1");
+    }
+
+    @Test
+    public void testCreatesATransferPerDirectionAndSkipsPendingLocations() {
+        service = new TestService();
+        service.locations = List.of(
+                location(101, "A1", "01", "1"),
+                location(102, "A1", "02", "1"),
+                location(901, "A9", "02", "1"));
+        service.pending = Set.of(102);
+        service.stock = List.of(new SlottingServiceImpl.StockRow(901, 7, 100_000, 10.0, 0, false),
+                new SlottingServiceImpl.StockRow(101, 8, 100_000, 10.0, 0, false));
+        service.picks = Map.of(7, 100L);
+        service.transactions = Map.of(901, 501, 101, 502);
+
+        SlottingPlanDto result = service.proposeMoves(1, 3, 5, true);
+
+        assertThat(service.lockedFacility).isEqualTo(3);
+        assertThat(service.transferred).containsExactly(new SlottingOptimizer.Move(901, 101, true,
+                result.getTravelSavedMetersPerDay()));
+        SlottingMoveDto move = result.getMoves().get(0);
+        assertThat(move.isSwap()).isTrue();
+        assertThat(move.getTransactionIds()).containsExactly(501, 502);
+        assertThat(result.getTransfersCreated()).isEqualTo(2);
+        assertThat(result.getLocationsConsidered()).isEqualTo(2);
+    }
+
+    @Test
+    public void testSharesAProductsPicksAmongItsLocationsByQuantity() {
+        service = new TestService();
+
+        List<SlottingOptimizer.Contents> contents = service.contentsOf(List.of(
+                new SlottingServiceImpl.StockRow(1, 7, 300_000, 30.0, 0.3, false),
+                new SlottingServiceImpl.StockRow(2, 7, 100_000, 10.0, 0.1, true),
+                new SlottingServiceImpl.StockRow(2, 9, 100_000, 1.0, 0.1, false)), Map.of(7, 40L));
+
+        assertThat(contents).containsExactly(
+                new SlottingOptimizer.Contents(1, 3.0, 30.0, 0.3, false),
+                new SlottingOptimizer.Contents(2, 1.0, 10.0, 0.1, true),
+                new SlottingOptimizer.Contents(2, 0.0, 1.0, 0.1, false));
+    }
+
+    private static SlottingServiceImpl.LocationRow location(int locationId, String aisle, String bay, String level) {
+        return new SlottingServiceImpl.LocationRow(locationId, aisle, bay, level, null, null, "STORAGE/false");
+    }
+
+    private static class TestService extends SlottingServiceImpl {
+
+        private List<LocationRow> locations = List.of();
+        private List<PickZones.PickZone> zones = List.of();
+        private List<StockRow> stock = List.of();
+        private Map<Integer, Long> picks = Map.of();
+        private Set<Integer> pending = Set.of();
+        private Map<Integer, Integer> transactions = Map.of();
+        private Integer lockedFacility;
+        private List<SlottingOptimizer.Move> transferred;
+        private String tenant;
+
+        TestService() {
+            super(mock(PlatformTransactionManager.class), 10, 1.0, 3.0, 1.0, 1024, 0.1, 100, 2);
+        }
+
+        @Override
+        void lockFacility(int facilityId) {
+            lockedFacility = facilityId;
+        }
+
+        @Override
+        List<LocationRow> loadLocations(int tenantId, int facilityId) {
+            tenant = TenantContextHolder.getCurrentTenant();
+            return locations;
+        }
+
+        @Override
+        List<PickZones.PickZone> loadPickZones(int tenantId, int facilityId) {
+            return zones;
+        }
+
+        @Override
+        List<StockRow> loadStock(int tenantId, int facilityId) {
+            return stock;
+        }
+
+        @Override
+        Map<Integer, Long> loadPicks(int tenantId, int facilityId, OffsetDateTime since) {
+            return picks;
+        }
+
+        @Override
+        Set<Integer> loadPendingTransferLocations(int tenantId, OffsetDateTime since) {
+            return pending;
+        }
+
+        @Override
+        Map<Integer, Integer> createTransfers(int tenantId, int facilityId, List<SlottingOptimizer.Move> moves) {
+            transferred = moves;
+            return transactions;
+        }
+    }
+}
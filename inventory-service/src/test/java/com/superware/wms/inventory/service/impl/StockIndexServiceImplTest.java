@@ -0,0 +1,99 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.config.TenantDeploymentModel;
+import com.superware.wms.inventory.config.TenantRoutingProperties;
+import com.superware.wms.inventory.entity.InventoryItem;
+import com.superware.wms.inventory.entity.types.Quantity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StockIndexServiceImplTest {
+
+    @Test
+    public void testRoutedTenantsAreLeftOutOfTheIndex() throws SQLException {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        ResultSet shared = row(1, 1, 7, 5);
+        ResultSet routed = row(1, 2, 7, 9);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(shared);
+            handler.processRow(routed);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        StockIndexServiceImpl service = new StockIndexServiceImpl(jdbcTemplate, mock(PlatformTransactionManager.class),
+                1000, "", Duration.ofMinutes(5), routing(Map.of(
+                        "2", TenantDeploymentModel.DEDICATED_DATABASE,
+                        "3", TenantDeploymentModel.SHARED_SCHEMA)));
+
+        assertThat(service.rebuild()).isEqualTo(1);
+        // Item 1 of tenant 2's own database must not overwrite item 1 of the shared schema
+        service.itemChanged(item(1, 2, 7, 20));
+        service.itemChanged(item(2, 3, 7, 4));
+
+        assertThat(service.covers(1)).isTrue();
+        assertThat(service.covers(3)).isTrue();
+        assertThat(service.covers(2)).isFalse();
+        assertThat(service.getStock(1, 7, null, null, null)[0]).isEqualTo(Quantity.of(5).units());
+        assertThat(service.getStock(3, 7, null, null, null)[0]).isEqualTo(Quantity.of(4).units());
+        assertThatThrownBy(() -> service.getStock(2, 7, null, null, null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testCoversNoTenantUntilLoaded() {
+        StockIndexServiceImpl service = new StockIndexServiceImpl(mock(JdbcTemplate.class),
+                mock(PlatformTransactionManager.class), 1000, "", Duration.ofMinutes(5), routing(Map.of()));
+
+        assertThat(service.covers(1)).isFalse();
+    }
+
+    private static ResultSet row(int itemId, int tenantId, int productId, long onHand) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt(1)).thenReturn(itemId);
+        when(rs.getInt(2)).thenReturn(tenantId);
+        when(rs.getInt(3)).thenReturn(productId);
+        when(rs.getInt(4)).thenReturn(1);
+        when(rs.wasNull()).thenReturn(true);
+        when(rs.getLong(7)).thenReturn(Quantity.of(onHand).units());
+        return rs;
+    }
+
+    private static InventoryItem item(int itemId, int tenantId, int productId, long onHand) {
+        InventoryItem item = new InventoryItem();
+        item.setItemId(itemId);
+        item.setTenantId(tenantId);
+        item.setProductId(productId);
+        item.setFacilityId(1);
+        item.setQuantityOnHand(Quantity.of(onHand));
+        return item;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<TenantRoutingProperties> routing(Map<String, TenantDeploymentModel> models) {
+        TenantRoutingProperties properties = new TenantRoutingProperties();
+        models.forEach((tenantId, model) -> {
+            TenantRoutingProperties.TenantRoute route = new TenantRoutingProperties.TenantRoute();
+            route.setModel(model);
+            properties.getTenants().put(tenantId, route);
+        });
+        ObjectProvider<TenantRoutingProperties> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(properties);
+        return provider;
+    }
+}
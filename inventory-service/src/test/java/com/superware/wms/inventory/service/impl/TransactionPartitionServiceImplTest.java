@@ -0,0 +1,42 @@
+package com.superware.wms.inventory.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TransactionPartitionServiceImplTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    @Test
+    public void testStartupCreatesUpcomingMonthsAndFailsWhenNextMonthIsMissing() {
+        TransactionPartitionServiceImpl service = new TransactionPartitionServiceImpl(jdbcTemplate, 3, 24, "archive");
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(), any())).thenReturn(true);
+
+        assertThatCode(service::ensureUpcomingPartitions).doesNotThrowAnyException();
+        verify(jdbcTemplate, times(4)).queryForObject(eq("SELECT create_transaction_month_partitions(?)"),
+                eq(Integer.class), any(Date.class));
+
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(), any())).thenReturn(false);
+        assertThatThrownBy(service::ensureUpcomingPartitions)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("are missing");
+    }
+
+    @Test
+    public void testRejectsCreatingNoMonthAhead() {
+        assertThatThrownBy(() -> new TransactionPartitionServiceImpl(jdbcTemplate, 0, 24, "archive"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,134 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.tenant.context.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class UsageMeteringServiceImplTest {
+
+    @TempDir
+    Path spoolDir;
+
+    @AfterEach
+    public void tearDown() {
+        TenantContextHolder.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testCountsEveryMutationOfCommittedTransactions() {
+        TestService service = new TestService(spoolDir);
+        TenantContextHolder.setCurrentTenant("7");
+
+        runTransaction(service, 3, TransactionSynchronization.STATUS_COMMITTED);
+        runTransaction(service, 2, TransactionSynchronization.STATUS_ROLLED_BACK);
+        runTransaction(service, 1, TransactionSynchronization.STATUS_COMMITTED);
+        service.recordMutation();
+
+        assertThat(service.flush()).isEqualTo(1);
+        assertThat(service.applied).hasSize(1);
+        assertThat(service.applied.get(0).counts())
+                .containsExactly(Map.entry(new UsageMeteringServiceImpl.UsageKey(7, today()), 5L));
+        assertThat(service.flush()).isZero();
+    }
+
+    @Test
+    public void testRetriesAFailedBatchUnderTheSameId() {
+        TestService service = new TestService(spoolDir);
+        TenantContextHolder.setCurrentTenant("7");
+        service.recordMutation();
+        service.failures = 1;
+
+        assertThat(service.flush()).isZero();
+        service.recordMutation();
+        assertThat(service.flush()).isEqualTo(2);
+
+        // The first batch is written as it was first drained, then the newer count
+        assertThat(service.attempts).hasSize(3);
+        assertThat(service.attempts.get(1)).isEqualTo(service.attempts.get(0));
+        assertThat(service.applied).extracting(b -> b.counts().values().iterator().next()).containsExactly(1L, 1L);
+    }
+
+    @Test
+    public void testSpoolsUnflushedBatchesAndReplaysThemOnStart() throws Exception {
+        TestService service = new TestService(spoolDir);
+        TenantContextHolder.setCurrentTenant("7");
+        service.recordMutation();
+        TenantContextHolder.setCurrentTenant("8");
+        service.recordMutation();
+        service.failures = 1;
+
+        service.stop();
+        assertThat(service.applied).isEmpty();
+        assertThat(Files.list(spoolDir)).hasSize(1);
+
+        TestService restarted = new TestService(spoolDir);
+        restarted.start();
+        restarted.applied.clear();
+        assertThat(restarted.flush()).isEqualTo(2);
+        assertThat(restarted.attempts).containsExactly(service.attempts.get(0));
+        assertThat(restarted.applied.get(0).counts()).containsOnlyKeys(
+                new UsageMeteringServiceImpl.UsageKey(7, today()), new UsageMeteringServiceImpl.UsageKey(8, today()));
+        assertThat(Files.list(spoolDir)).isEmpty();
+    }
+
+    private static void runTransaction(UsageMeteringServiceImpl service, int mutations, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        for (int i = 0; i < mutations; i++) {
+            service.recordMutation();
+        }
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private static class TestService extends UsageMeteringServiceImpl {
+
+        private final Set<UUID> recorded = new HashSet<>();
+        private final List<UsageBatch> applied = new ArrayList<>();
+        private final List<UUID> attempts = new ArrayList<>();
+        private int failures;
+
+        TestService(Path spoolDir) {
+            super(mock(PlatformTransactionManager.class), spoolDir.toString());
+        }
+
+        @Override
+        int writeBatch(UsageBatch batch) {
+            attempts.add(batch.id());
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("database unavailable");
+            }
+            if (!recorded.add(batch.id())) {
+                return 0;
+            }
+            applied.add(batch);
+            return batch.counts().size();
+        }
+    }
+}
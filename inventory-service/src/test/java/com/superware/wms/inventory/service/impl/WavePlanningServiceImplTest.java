@@ -0,0 +1,146 @@
+package com.superware.wms.inventory.service.impl;
+
+import com.superware.wms.inventory.dto.WavePlanDto;
+import com.superware.wms.inventory.service.wave.PlannedWave;
+import com.superware.wms.inventory.service.wave.StockAllocator;
+import com.superware.wms.inventory.service.wave.WaveOrder;
+import com.superware.wms.tenant.context.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class WavePlanningServiceImplTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 3);
+
+    @AfterEach
+    public void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testRushOrdersGetScarceStockAndShortOrdersStayUnplanned() {
+        TestService service = new TestService();
+        service.lines = List.of(
+                line(1, TODAY, "UPS", "STANDARD", 100, 20_000),
+                line(1, TODAY, "UPS", "STANDARD", 200, 10_000),
+                line(2, TODAY.plusDays(1), "UPS", "RUSH", 100, 20_000),
+                line(3, TODAY, "UPS", "STANDARD", 200, 10_000));
+        // Product 100 covers only one of orders 1 and 2; the rush order is served first
+        service.stock = List.of(
+                new StockAllocator.StockSlot(10, 100, 7, 30_000, "EA"),
+                new StockAllocator.StockSlot(20, 200, 8, 50_000, "EA"));
+
+        WavePlanDto result = service.planWaves(1, 3, TODAY);
+
+        assertThat(result.getOrdersConsidered()).isEqualTo(3);
+        assertThat(result.getOrdersPlanned()).isEqualTo(2);
+        assertThat(result.getOrdersShort()).isEqualTo(1);
+        assertThat(result.getWavesCreated()).isEqualTo(2);
+        assertThat(result.getLinesPlanned()).isEqualTo(2);
+        assertThat(service.waves).extracting(wave -> wave.orders().get(0).orderId()).containsExactly(2, 3);
+        assertThat(service.waves.get(0).priority()).isEqualTo(WavePlanningServiceImpl.RUSH_PRIORITY);
+        assertThat(service.allocations.get(2)).containsExactly(new StockAllocator.Allocation(10, 100, 7, 20_000, "EA"));
+        assertThat(service.allocations).doesNotContainKey(1);
+        assertThat(service.productIds).containsExactly(100, 200);
+        assertThat(service.tenant).isEqualTo("1");
+    }
+
+    @Test
+    public void testOrdersShareAWaveWithinTheRouteLimits() {
+        TestService service = new TestService();
+        service.route = new WavePlanningServiceImpl.RouteLimits(3, null);
+        service.lines = List.of(
+                line(1, TODAY, "UPS", "STANDARD", 100, 10_000),
+                line(2, TODAY, "UPS", "STANDARD", 100, 10_000),
+                line(3, TODAY, "UPS", "STANDARD", 100, 10_000),
+                line(3, TODAY, "UPS", "STANDARD", 200, 10_000));
+        // Order 3 needs two items of product 100, so it brings three pick lines
+        service.stock = List.of(
+                new StockAllocator.StockSlot(10, 100, 7, 25_000, "EA"),
+                new StockAllocator.StockSlot(11, 100, 7, 25_000, "EA"),
+                new StockAllocator.StockSlot(20, 200, null, 10_000, "EA"));
+
+        WavePlanDto result = service.planWaves(1, 3, TODAY);
+
+        assertThat(result.getOrdersPlanned()).isEqualTo(3);
+        assertThat(result.getLinesPlanned()).isEqualTo(5);
+        assertThat(service.waves).allSatisfy(wave -> assertThat(wave.lines()).isLessThanOrEqualTo(3));
+        assertThat(service.waves.get(0).orders()).extracting(WaveOrder::orderId).containsExactly(3);
+        assertThat(service.waves.get(0).zones().cardinality()).isEqualTo(2);
+        assertThat(service.waves.get(1).orders()).extracting(WaveOrder::orderId).containsExactly(1, 2);
+    }
+
+    @Test
+    public void testNothingIsWrittenWhenNoOrderIsDue() {
+        TestService service = new TestService();
+
+        WavePlanDto result = service.planWaves(1, 3, TODAY);
+
+        assertThat(result.getOrdersConsidered()).isZero();
+        assertThat(result.getWavesCreated()).isZero();
+        assertThat(result.getCutoffThrough()).isEqualTo(TODAY);
+        assertThat(service.productIds).isNull();
+        assertThat(service.waves).isNull();
+    }
+
+    private static WavePlanningServiceImpl.OrderLine line(int orderId, LocalDate required, String carrier,
+                                                          String type, int productId, long units) {
+        return new WavePlanningServiceImpl.OrderLine(orderId, "SO-" + orderId, required, carrier, type, productId,
+                units, 2.0);
+    }
+
+    private static class TestService extends WavePlanningServiceImpl {
+
+        private List<OrderLine> lines = List.of();
+        private List<StockAllocator.StockSlot> stock = List.of();
+        private RouteLimits route;
+        private List<Integer> productIds;
+        private List<PlannedWave> waves;
+        private Map<Integer, List<StockAllocator.Allocation>> allocations;
+        private String tenant;
+
+        @SuppressWarnings("unchecked")
+        TestService() {
+            super(mock(PlatformTransactionManager.class), mock(ObjectProvider.class), 50, 1);
+        }
+
+        @Override
+        void lockFacility(int tenantId, int facilityId) {
+            tenant = TenantContextHolder.getCurrentTenant();
+        }
+
+        @Override
+        List<OrderLine> loadOrderLines(int tenantId, LocalDate through) {
+            return lines;
+        }
+
+        @Override
+        List<StockAllocator.StockSlot> lockStock(int tenantId, int facilityId, Collection<Integer> productIds) {
+            this.productIds = new ArrayList<>(productIds);
+            return stock;
+        }
+
+        @Override
+        RouteLimits loadRouteLimits(int tenantId, int facilityId) {
+            return route;
+        }
+
+        @Override
+        void writeWaves(int tenantId, int facilityId, List<PlannedWave> waves,
+                        Map<Integer, List<StockAllocator.Allocation>> allocationsByOrder) {
+            this.waves = waves;
+            this.allocations = allocationsByOrder;
+        }
+    }
+}
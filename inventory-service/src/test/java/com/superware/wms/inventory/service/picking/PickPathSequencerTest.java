@@ -0,0 +1,92 @@
+package com.superware.wms.inventory.service.picking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class PickPathSequencerTest {
+
+    private final PickPathSequencer sequencer = new PickPathSequencer(30_000_000L);
+
+    @Test
+    public void testLayoutOrdersLabelsNaturallyAndLeavesAislesByTheNearerEnd() {
+        // Aisles 3 m apart, ten 1 m bays each: location 1005 is aisle A10, bay 05
+        WarehouseLayout layout = layout(10, 10);
+
+        assertThat(layout.aisleOf(205)).isEqualTo(1);
+        assertThat(layout.aisleOf(1005)).isEqualTo(9);
+        assertThat(layout.distance(102, 108)).isCloseTo(6.0, within(1e-9));
+        // Bays 02 and 03 are near the front: 1.5 + 2.5 via the front plus one aisle across
+        assertThat(layout.distance(102, 203)).isCloseTo(7.0, within(1e-9));
+        // Bays 09 and 08 are near the back: 1.5 + 2.5 via the back plus two aisles across
+        assertThat(layout.distance(109, 308)).isCloseTo(10.0, within(1e-9));
+    }
+
+    @Test
+    public void testSerpentineAlternatesDirectionPerAisle() {
+        WarehouseLayout layout = layout(3, 10);
+
+        PickSequence sequence = sequencer.sequence(layout, List.of(203, 105, 301, 102, 208, 105),
+                PickPathStrategy.SERPENTINE);
+
+        assertThat(sequence.locationIds()).containsExactly(102, 105, 208, 203, 301);
+        // Measured stop to stop, from the depot at the front of A1 and back
+        double expected = layout.distance(0, 0, 0, 1.5) + layout.distance(102, 105) + layout.distance(105, 208)
+                + layout.distance(208, 203) + layout.distance(203, 301) + layout.distance(2, 0.5, 0, 0);
+        assertThat(sequence.distanceMeters()).isCloseTo(expected, within(1e-9));
+    }
+
+    @Test
+    public void testLargestGapSplitsInnerAislesAtTheirWidestGap() {
+        WarehouseLayout layout = layout(3, 10);
+
+        // Aisle A2's widest gap is between bays 02 and 09, so 09 is picked from the back on the way
+        // out and 01, 02 from the front on the way home
+        PickSequence sequence = sequencer.sequence(layout, List.of(201, 202, 209, 105, 303),
+                PickPathStrategy.LARGEST_GAP);
+
+        assertThat(sequence.locationIds()).containsExactly(105, 209, 303, 201, 202);
+    }
+
+    @Test
+    public void testTwoOptSequencesFiveHundredStopsQuicklyAndNoWorseThanTheHeuristics() {
+        WarehouseLayout layout = layout(40, 60);
+        Random random = new Random(42);
+        List<Integer> stops = new ArrayList<>();
+        while (stops.size() < 500) {
+            int location = (1 + random.nextInt(40)) * 100 + 1 + random.nextInt(60);
+            if (!stops.contains(location)) {
+                stops.add(location);
+            }
+        }
+        sequencer.sequence(layout, stops, PickPathStrategy.TWO_OPT);
+
+        long start = System.nanoTime();
+        PickSequence twoOpt = sequencer.sequence(layout, stops, PickPathStrategy.TWO_OPT);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(millis).isLessThan(50);
+        assertThat(twoOpt.locationIds()).hasSize(500).containsExactlyInAnyOrderElementsOf(stops);
+        double serpentine = sequencer.sequence(layout, stops, PickPathStrategy.SERPENTINE).distanceMeters();
+        double largestGap = sequencer.sequence(layout, stops, PickPathStrategy.LARGEST_GAP).distanceMeters();
+        assertThat(twoOpt.distanceMeters()).isLessThanOrEqualTo(Math.min(serpentine, largestGap) + 1e-6);
+    }
+
+    /**
+     * Aisles A1..An, 3 m apart, with bays 01..nn of 1 m; location ID is aisle * 100 + bay.
+     */
+    private static WarehouseLayout layout(int aisles, int bays) {
+        List<WarehouseLayout.Slot> slots = new ArrayList<>();
+        for (int aisle = aisles; aisle >= 1; aisle--) {
+            for (int bay = 1; bay <= bays; bay++) {
+                slots.add(new WarehouseLayout.Slot(aisle * 100 + bay, "A" + aisle, String.format("%02d", bay)));
+            }
+        }
+        return WarehouseLayout.of(slots, 3.0, 1.0);
+    }
+}
@@ -0,0 +1,154 @@
+package com.superware.wms.inventory.service.putaway;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PutawayPlannerTest {
+
+    private static final ZoneCapacityIndex.Weights WEIGHTS = new ZoneCapacityIndex.Weights(1.0, 0.5, 0.5);
+
+    @Test
+    public void testCompiledConditionsMustAllHoldAndUnknownOnesAreRejected() {
+        PutawayRule rule = PutawayRule.compile(1, 5,
+                "{\"category_id\": [7, 8], \"is_hazardous\": false, \"min_quantity\": 10, \"max_weight_kg\": 100}",
+                null, null);
+
+        assertThat(rule.matches(line(1, 100, 7, 20, 1.0, false))).isTrue();
+        assertThat(rule.matches(line(1, 100, 9, 20, 1.0, false))).isFalse();
+        assertThat(rule.matches(line(1, 100, 7, 5, 1.0, false))).isFalse();
+        assertThat(rule.matches(line(1, 100, 7, 20, 10.0, false))).isFalse();
+        assertThat(rule.matches(line(1, 100, 7, 20, 1.0, true))).isFalse();
+        assertThat(PutawayRule.compile(2, 5, "{}", null, null).matches(line(1, 100, null, 1, 1.0, true))).isTrue();
+
+        assertThatThrownBy(() -> PutawayRule.compile(3, 5, "{\"categroy_id\": 7}", null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("categroy_id");
+        assertThatThrownBy(() -> PutawayRule.compile(4, 5, "{\"is_perishable\": \"yes\"}", null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testHigherPriorityRulesWinAndFullZonesFallThrough() {
+        // Zone 1 holds 50 kg per location, zone 2 is unlimited, zone 9 is receiving
+        ZoneCapacityIndex index = ZoneCapacityIndex.of(List.of(
+                location(101, 1, "A1", "01", 50.0, true, false),
+                location(102, 1, "A1", "02", 50.0, true, false),
+                location(201, 2, "A2", "01", null, true, false),
+                location(901, 9, "A9", "01", null, false, false)), List.of(), 3.0, 1.0);
+        PutawayPlanner planner = new PutawayPlanner(List.of(
+                PutawayRule.compile(20, 5, "{}", new int[] {2}, null),
+                PutawayRule.compile(10, 1, "{\"category_id\": 7}", new int[] {1}, null)), WEIGHTS);
+
+        List<PutawayPlanner.Suggestion> suggestions = planner.plan(index, List.of(
+                line(1, 100, 7, 40, 1.0, false),
+                line(2, 101, 7, 40, 1.0, false),
+                line(3, 102, 7, 40, 1.0, false),
+                line(4, 103, 8, 1, 1.0, false)));
+
+        // Each 40 kg line fills a zone 1 location, so the third falls through to the catch-all rule
+        assertThat(suggestions).extracting(PutawayPlanner.Suggestion::ruleId).containsExactly(10, 10, 20, 20);
+        assertThat(suggestions.get(0).locationId()).isNotEqualTo(suggestions.get(1).locationId());
+        assertThat(List.of(suggestions.get(0).locationId(), suggestions.get(1).locationId()))
+                .containsExactlyInAnyOrder(101, 102);
+        assertThat(suggestions.get(2).locationId()).isEqualTo(201);
+    }
+
+    @Test
+    public void testUnplacedLinesPreferTheProductsLocationAndMatchingZones() {
+        ZoneCapacityIndex index = ZoneCapacityIndex.of(List.of(
+                location(101, 1, "A1", "01", null, true, false),
+                location(108, 1, "A1", "08", null, true, false),
+                location(109, 1, "A1", "09", null, true, false),
+                location(301, 3, "A3", "01", null, true, true)),
+                List.of(new ZoneCapacityIndex.Stock(108, 100, 50_000, 5.0, 0.1),
+                        new ZoneCapacityIndex.Stock(101, 555, 10_000, 1.0, 0.1)), 3.0, 1.0);
+        PutawayPlanner planner = new PutawayPlanner(List.of(
+                PutawayRule.compile(1, 1, "{\"product_id\": 100}", new int[0], null)), WEIGHTS);
+
+        List<PutawayPlanner.Suggestion> suggestions = planner.plan(index, List.of(
+                line(1, 100, null, 1, 1.0, false),
+                line(2, 200, null, 1, 1.0, false),
+                line(3, 300, null, 1, 1.0, true)));
+
+        // The rule's putaway zone has no storage zone, so product 100 is placed by affinity alone
+        assertThat(suggestions.get(0).locationId()).isEqualTo(108);
+        assertThat(suggestions.get(0).ruleId()).isNull();
+        // An empty location beats one holding another product, however close
+        assertThat(suggestions.get(1).locationId()).isEqualTo(109);
+        // Hazardous goods only go to hazmat zones
+        assertThat(suggestions.get(2).locationId()).isEqualTo(301);
+    }
+
+    @Test
+    public void testRespectsTheRulesMaximumPerLocation() {
+        // Not a putaway target, so only the rule sends goods there
+        ZoneCapacityIndex index = ZoneCapacityIndex.of(List.of(
+                location(101, 1, "A1", "01", null, false, false),
+                location(102, 1, "A1", "02", null, false, false)), List.of(), 3.0, 1.0);
+        PutawayPlanner planner = new PutawayPlanner(List.of(
+                PutawayRule.compile(1, 1, "{}", new int[] {1}, 150_000L)), WEIGHTS);
+
+        List<PutawayPlanner.Suggestion> suggestions = planner.plan(index, List.of(
+                line(1, 100, null, 10, 1.0, false),
+                line(2, 100, null, 10, 1.0, false),
+                line(3, 100, null, 10, 1.0, false)));
+
+        assertThat(suggestions).extracting(PutawayPlanner.Suggestion::locationId).containsExactly(101, 102, null);
+    }
+
+    @Test
+    public void testSuggestsFiveHundredLinesQuickly() {
+        Random random = new Random(49);
+        List<ZoneCapacityIndex.Location> locations = new ArrayList<>();
+        List<ZoneCapacityIndex.Stock> stock = new ArrayList<>();
+        for (int aisle = 1; aisle <= 40; aisle++) {
+            for (int bay = 1; bay <= 125; bay++) {
+                int locationId = aisle * 1000 + bay;
+                locations.add(location(locationId, aisle % 10, "A" + aisle, String.valueOf(bay), 500.0, true, false));
+                if (random.nextInt(3) == 0) {
+                    stock.add(new ZoneCapacityIndex.Stock(locationId, random.nextInt(2000), 100_000,
+                            random.nextDouble() * 400, 0));
+                }
+            }
+        }
+        List<PutawayRule> rules = new ArrayList<>();
+        for (int r = 0; r < 20; r++) {
+            rules.add(PutawayRule.compile(r, r % 5, "{\"category_id\": " + r + "}", new int[] {r % 10}, null));
+        }
+        List<PutawayLine> lines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            lines.add(line(i, random.nextInt(2000), random.nextInt(30), 1 + random.nextInt(20),
+                    random.nextDouble() * 5, false));
+        }
+        PutawayPlanner planner = new PutawayPlanner(rules, WEIGHTS);
+        // Warm up on a separate index
+        planner.plan(ZoneCapacityIndex.of(locations, stock, 3.0, 1.2), lines);
+
+        ZoneCapacityIndex index = ZoneCapacityIndex.of(locations, stock, 3.0, 1.2);
+        long start = System.nanoTime();
+        List<PutawayPlanner.Suggestion> suggestions = planner.plan(index, lines);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(index.size()).isEqualTo(5000);
+        assertThat(suggestions).allSatisfy(suggestion -> assertThat(suggestion.locationId()).isNotNull());
+        assertThat(elapsedMillis).isLessThan(100);
+    }
+
+    private static PutawayLine line(int taskId, int productId, Integer categoryId, long quantity, double unitWeightKg,
+                                    boolean hazardous) {
+        return new PutawayLine(taskId, productId, categoryId, "PURCHASE_RECEIPT", quantity * 10_000, unitWeightKg, 0,
+                hazardous, false, false, null);
+    }
+
+    private static ZoneCapacityIndex.Location location(int locationId, int zoneId, String aisle, String bay,
+                                                       Double maxWeightKg, boolean putawayTarget, boolean hazmat) {
+        return new ZoneCapacityIndex.Location(locationId, zoneId, aisle, bay, maxWeightKg, null, putawayTarget, hazmat,
+                false);
+    }
+}
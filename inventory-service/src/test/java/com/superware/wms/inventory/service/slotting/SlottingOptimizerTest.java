@@ -0,0 +1,149 @@
+package com.superware.wms.inventory.service.slotting;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SlottingOptimizerTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterAll
+    public static void shutDown() {
+        POOL.shutdownNow();
+    }
+
+    @Test
+    public void testMovesFastStockIntoTheCheapestEmptyLocation() {
+        SlottingOptimizer optimizer = new SlottingOptimizer(POOL, 512, 1.0);
+
+        List<SlottingOptimizer.Move> moves = optimizer.optimize(List.of(
+                location(1, 0, 2.0, null, true),
+                location(2, 0, 4.0, null, true),
+                location(3, 0, 20.0, null, true)), List.of(
+                contents(2, 1.0, 5.0, false),
+                contents(3, 10.0, 5.0, false)), 10);
+
+        // Moving saves 10 x 18, swapping with location 2 only (10 - 1) x 16 over two transfers
+        assertThat(moves).containsExactly(new SlottingOptimizer.Move(3, 1, false, 180.0));
+    }
+
+    @Test
+    public void testSwapsWithSlowerStockWithinTheStorageClassAndCapacity() {
+        SlottingOptimizer optimizer = new SlottingOptimizer(POOL, 512, 1.0);
+
+        List<SlottingOptimizer.Move> moves = optimizer.optimize(List.of(
+                // Overflow, too small, or in another storage class
+                location(1, 0, 1.0, null, false),
+                location(6, 0, 1.5, 1.0, true),
+                location(5, 1, 0.5, null, true),
+                location(2, 0, 2.0, null, true),
+                location(3, 0, 3.0, null, true),
+                location(4, 0, 10.0, null, true)), List.of(
+                contents(2, 0.5, 10.0, false),
+                contents(3, 0.0, 10.0, true),
+                contents(4, 5.0, 10.0, false)), 10);
+
+        assertThat(moves).containsExactly(new SlottingOptimizer.Move(4, 2, true, 36.0));
+        assertThat(moves.get(0).travelSavedPerTransfer()).isEqualTo(18.0);
+    }
+
+    @Test
+    public void testNeverSwapsSlowerStockIntoAnOverflowLocation() {
+        SlottingOptimizer optimizer = new SlottingOptimizer(POOL, 512, 1.0);
+
+        List<SlottingOptimizer.Move> moves = optimizer.optimize(List.of(
+                location(2, 0, 2.0, null, true),
+                location(9, 0, 9.0, null, true),
+                location(10, 0, 10.0, null, false)), List.of(
+                contents(2, 0.5, 10.0, false),
+                contents(10, 5.0, 10.0, false)), 10);
+
+        // A swap with location 2 would save 4.5 x 8 over two transfers, but location 10 is overflow
+        assertThat(moves).containsExactly(new SlottingOptimizer.Move(10, 9, false, 5.0));
+    }
+
+    @Test
+    public void testLosersTryAgainAndMovesShareNoLocation() {
+        SlottingOptimizer optimizer = new SlottingOptimizer(POOL, 512, 1.0);
+
+        // Two empty front locations and three fast locations at the back all wanting location 1
+        List<SlottingOptimizer.Move> moves = optimizer.optimize(List.of(
+                location(1, 0, 1.0, null, true),
+                location(2, 0, 2.0, null, true),
+                location(10, 0, 30.0, null, true),
+                location(11, 0, 31.0, null, true),
+                location(12, 0, 32.0, null, true)), List.of(
+                contents(10, 3.0, 1.0, false),
+                contents(11, 2.0, 1.0, false),
+                contents(12, 1.0, 1.0, false)), 10);
+
+        assertThat(moves).extracting(SlottingOptimizer.Move::fromLocationId).containsExactly(10, 11);
+        assertThat(moves).extracting(SlottingOptimizer.Move::toLocationId).containsExactly(1, 2);
+
+        assertThat(optimizer.optimize(List.of(
+                location(1, 0, 1.0, null, true),
+                location(10, 0, 1.5, null, true)), List.of(contents(10, 1.0, 1.0, false)), 10))
+                .as("saves less than the minimum").isEmpty();
+    }
+
+    @Test
+    public void testOptimizesFiftyThousandLocationsQuicklyAndTheSameOnAnyPool() {
+        Random random = new Random(50);
+        List<SlottingOptimizer.Location> locations = new ArrayList<>();
+        List<SlottingOptimizer.Contents> contents = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            int locationId = 100_000 + i;
+            locations.add(location(locationId, i % 4, random.nextDouble() * 400, 500.0, random.nextInt(20) != 0));
+            if (random.nextInt(3) != 0) {
+                double picks = random.nextInt(10) == 0 ? random.nextDouble() * 50 : random.nextDouble();
+                contents.add(contents(locationId, picks, random.nextDouble() * 400, random.nextInt(50) == 0));
+            }
+        }
+        SlottingOptimizer optimizer = new SlottingOptimizer(POOL, 512, 1.0);
+        // Warm up
+        optimizer.optimize(locations, contents, 500);
+
+        long start = System.nanoTime();
+        List<SlottingOptimizer.Move> moves = optimizer.optimize(locations, contents, 500);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(moves).hasSize(500);
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0; i < moves.size(); i++) {
+            SlottingOptimizer.Move move = moves.get(i);
+            assertThat(used.add(move.fromLocationId())).isTrue();
+            assertThat(used.add(move.toLocationId())).isTrue();
+            if (i > 0) {
+                assertThat(move.travelSavedPerTransfer()).isLessThanOrEqualTo(moves.get(i - 1).travelSavedPerTransfer());
+            }
+        }
+        assertThat(elapsedMillis).isLessThan(500);
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            assertThat(new SlottingOptimizer(single, 512, 1.0).optimize(locations, contents, 500))
+                    .isEqualTo(moves);
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    private static SlottingOptimizer.Location location(int locationId, int storageClass, double travelCost,
+                                                       Double maxWeightKg, boolean target) {
+        return new SlottingOptimizer.Location(locationId, storageClass, travelCost, maxWeightKg, null, target);
+    }
+
+    private static SlottingOptimizer.Contents contents(int locationId, double picks, double weightKg,
+                                                       boolean locked) {
+        return new SlottingOptimizer.Contents(locationId, picks, weightKg, 0, locked);
+    }
+}
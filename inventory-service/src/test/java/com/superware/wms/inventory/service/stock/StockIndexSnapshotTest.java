@@ -0,0 +1,83 @@
+package com.superware.wms.inventory.service.stock;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StockIndexSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testRoundTripRestoresItemsLotsAndHighWaterMark() throws IOException {
+        StockIndex index = new StockIndex(16, 100_000);
+        for (int item = 1; item <= 5_000; item++) {
+            index.update(item, 1 + item % 3, item % 200, 1, item % 40 == 0 ? null : item % 40,
+                    item % 5 == 0 ? null : "LOT-" + item % 11, 1_0000 + item, item % 4, false);
+        }
+        index.update(17, 1, 17, 1, 17, "LOT-6", 1_0017, 1, true);
+        Instant highWaterMark = Instant.parse("2026-03-01T10:15:30.123Z");
+        Path file = directory.resolve("stock-index.snapshot");
+
+        StockIndexSnapshot.write(index, highWaterMark, file);
+        StockIndexSnapshot.Snapshot snapshot = StockIndexSnapshot.read(file, 100_000);
+
+        StockIndex restored = snapshot.index();
+        assertThat(snapshot.highWaterMark()).isEqualTo(highWaterMark);
+        assertThat(restored.getItemCount()).isEqualTo(4_999);
+        // Positions left empty by deleted items are not carried over
+        assertThat(restored.getPositionCount()).isLessThanOrEqualTo(index.getPositionCount());
+        for (int tenant = 1; tenant <= 3; tenant++) {
+            for (int product = 0; product < 200; product++) {
+                assertThat(restored.sum(tenant, product, null, null, null))
+                        .containsExactly(index.sum(tenant, product, null, null, null));
+                assertThat(restored.sum(tenant, product, 1, null, "LOT-" + product % 11))
+                        .containsExactly(index.sum(tenant, product, 1, null, "LOT-" + product % 11));
+            }
+        }
+
+        // The restored index keeps taking updates, including for lots it has not seen
+        restored.update(1, 2, 1, 1, 1, "LOT-NEW", 5_0000, 0, false);
+        assertThat(restored.sum(2, 1, null, null, "LOT-NEW")).containsExactly(5_0000, 0);
+    }
+
+    @Test
+    public void testRejectsCorruptSnapshot() throws IOException {
+        StockIndex index = new StockIndex(16, 100);
+        index.update(1, 1, 100, 3, 10, "LOT-A", 50_0000, 5_0000, false);
+        Path file = directory.resolve("stock-index.snapshot");
+        StockIndexSnapshot.write(index, Instant.now(), file);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {42}), channel.size() - 12);
+        }
+
+        assertThatThrownBy(() -> StockIndexSnapshot.read(file, 100))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    @Test
+    public void testRejectsSnapshotOverLimit() throws IOException {
+        StockIndex index = new StockIndex(16, 100);
+        for (int item = 1; item <= 10; item++) {
+            index.update(item, 1, item, 1, null, null, 1_0000, 0, false);
+        }
+        Path file = directory.resolve("stock-index.snapshot");
+        StockIndexSnapshot.write(index, Instant.now(), file);
+
+        assertThatThrownBy(() -> StockIndexSnapshot.read(file, 5))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("more than 5 items");
+    }
+}
@@ -0,0 +1,56 @@
+package com.superware.wms.inventory.service.stock;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StockIndexTest {
+
+    @Test
+    public void testSumsPositionsWithFilters() {
+        StockIndex index = new StockIndex(4, 100);
+        index.update(1, 1, 100, 3, 10, "LOT-A", 50_0000, 5_0000, false);
+        index.update(2, 1, 100, 3, 11, "LOT-B", 20_0000, 0, false);
+        index.update(3, 1, 100, 4, 10, null, 7_0000, 2_0000, false);
+        index.update(4, 2, 100, 3, 10, "LOT-A", 99_0000, 0, false);
+
+        assertThat(index.sum(1, 100, null, null, null)).containsExactly(77_0000, 7_0000);
+        assertThat(index.sum(1, 100, 3, null, null)).containsExactly(70_0000, 5_0000);
+        assertThat(index.sum(1, 100, 3, 10, "LOT-A")).containsExactly(50_0000, 5_0000);
+        assertThat(index.sum(1, 100, null, null, "LOT-C")).containsExactly(0, 0);
+        assertThat(index.sum(2, 100, null, null, null)).containsExactly(99_0000, 0);
+        assertThat(index.sum(1, 999, null, null, null)).containsExactly(0, 0);
+    }
+
+    @Test
+    public void testUpdateReplacesPreviousContributionOfItem() {
+        StockIndex index = new StockIndex(4, 100);
+        index.update(1, 1, 100, 3, 10, null, 50_0000, 0, false);
+        index.update(1, 1, 100, 3, 10, null, 45_0000, 5_0000, false);
+        index.update(1, 1, 100, 3, 10, null, 45_0000, 5_0000, false);
+
+        assertThat(index.sum(1, 100, 3, 10, null)).containsExactly(45_0000, 5_0000);
+
+        // Moving the item to another location moves its stock
+        index.update(1, 1, 100, 3, 12, null, 45_0000, 5_0000, false);
+        assertThat(index.sum(1, 100, 3, 10, null)).containsExactly(0, 0);
+        assertThat(index.sum(1, 100, 3, 12, null)).containsExactly(45_0000, 5_0000);
+
+        index.update(1, 1, 100, 3, 12, null, 45_0000, 5_0000, true);
+        assertThat(index.sum(1, 100, null, null, null)).containsExactly(0, 0);
+    }
+
+    @Test
+    public void testGrowsPastInitialSizeAndRespectsLimit() {
+        StockIndex index = new StockIndex(16, 10_000);
+        for (int item = 1; item <= 10_000; item++) {
+            assertThat(index.update(item, 1 + item % 3, item % 500, 1, item % 40, "L" + item % 7, 1_0000, 0, false)).isTrue();
+        }
+
+        assertThat(index.getItemCount()).isEqualTo(10_000);
+        assertThat(index.sum(1, 7, null, null, null)[0] + index.sum(2, 7, null, null, null)[0]
+                + index.sum(3, 7, null, null, null)[0]).isEqualTo(20 * 1_0000);
+        assertThat(index.update(10_001, 1, 1, 1, 1, null, 1, 0, false)).isFalse();
+        assertThat(index.update(5, 1, 1, 1, 1, null, 1, 0, false)).isTrue();
+    }
+}
@@ -0,0 +1,79 @@
+package com.superware.wms.inventory.service.valuation;
+
+import com.superware.wms.inventory.entity.types.Quantity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CostLedgerTest {
+
+    private static final OffsetDateTime DAY = OffsetDateTime.of(2024, 6, 1, 8, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    public void testFifoIssuesFromTheOldestLayer() {
+        CostLedger ledger = receiveTenAtTwoThenTenAtFour(ValuationMethod.FIFO);
+
+        assertThat(ledger.issue(units(15))).isEqualByComparingTo("40");
+        assertThat(ledger.units()).isEqualTo(units(5));
+        assertThat(ledger.value()).isEqualByComparingTo("20");
+    }
+
+    @Test
+    public void testLifoIssuesFromTheNewestLayer() {
+        CostLedger ledger = receiveTenAtTwoThenTenAtFour(ValuationMethod.LIFO);
+
+        assertThat(ledger.issue(units(15))).isEqualByComparingTo("50");
+        assertThat(ledger.layers()).hasSize(1);
+        assertThat(ledger.value()).isEqualByComparingTo("10");
+    }
+
+    @Test
+    public void testAverageKeepsOneLayerAtTheWeightedCost() {
+        CostLedger ledger = receiveTenAtTwoThenTenAtFour(ValuationMethod.AVERAGE);
+
+        assertThat(ledger.layers()).hasSize(1);
+        assertThat(ledger.layers().get(0).unitCost()).isEqualByComparingTo("3");
+        assertThat(ledger.issue(units(5))).isEqualByComparingTo("15");
+        assertThat(ledger.value()).isEqualByComparingTo("45");
+    }
+
+    @Test
+    public void testShortfallIsCostedAtTheLastCostAndSettledByTheNextReceipt() {
+        CostLedger ledger = new CostLedger(ValuationMethod.FIFO);
+        ledger.receive(units(2), new BigDecimal("5"), DAY);
+
+        assertThat(ledger.issue(units(3))).isEqualByComparingTo("15");
+        assertThat(ledger.shortfallUnits()).isEqualTo(units(1));
+
+        ledger.receive(units(4), new BigDecimal("6"), DAY.plusDays(1));
+        assertThat(ledger.shortfallUnits()).isZero();
+        assertThat(ledger.units()).isEqualTo(units(3));
+        assertThat(ledger.value()).isEqualByComparingTo("18");
+    }
+
+    @Test
+    public void testChangingToAverageMergesTheLayers() {
+        CostLedger ledger = receiveTenAtTwoThenTenAtFour(ValuationMethod.FIFO);
+
+        ledger.changeMethod(ValuationMethod.AVERAGE);
+
+        assertThat(ledger.layers()).hasSize(1);
+        assertThat(ledger.units()).isEqualTo(units(20));
+        assertThat(ledger.value()).isEqualByComparingTo("60");
+    }
+
+    private static CostLedger receiveTenAtTwoThenTenAtFour(ValuationMethod method) {
+        CostLedger ledger = new CostLedger(method);
+        ledger.receive(units(10), new BigDecimal("2"), DAY);
+        ledger.receive(units(10), new BigDecimal("4"), DAY.plusDays(1));
+        return ledger;
+    }
+
+    private static long units(long wholeUnits) {
+        return Quantity.of(wholeUnits).units();
+    }
+}
@@ -0,0 +1,140 @@
+package com.superware.wms.inventory.service.wave;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WavePlannerTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 3);
+
+    @Test
+    public void testSplitsByPriorityCutoffAndCarrierMostUrgentFirst() {
+        List<WaveOrder> orders = List.of(
+                order(1, MONDAY.plusDays(1), "UPS", 5, 1, 0),
+                order(2, MONDAY, "UPS", 5, 1, 0),
+                order(3, MONDAY, "FEDEX", 5, 1, 0),
+                order(4, MONDAY.plusDays(1), "UPS", 1, 1, 0),
+                order(5, MONDAY, "UPS", 5, 1, 0));
+
+        List<PlannedWave> waves = new WavePlanner(WaveLimits.of(null, null, 0)).plan(orders);
+
+        assertThat(waves).extracting(wave -> ids(wave)).containsExactly(
+                List.of(4), List.of(3), List.of(2, 5), List.of(1));
+        assertThat(waves.get(0).priority()).isEqualTo(1);
+        assertThat(waves.get(1).carrier()).isEqualTo("FEDEX");
+    }
+
+    @Test
+    public void testClustersOrdersThatShareZones() {
+        // Two families of orders, zones {0,1} and {5,6}, interleaved by order id
+        List<WaveOrder> orders = List.of(
+                order(1, MONDAY, "UPS", 5, 1, 0, 1),
+                order(2, MONDAY, "UPS", 5, 1, 5, 6),
+                order(3, MONDAY, "UPS", 5, 1, 0),
+                order(4, MONDAY, "UPS", 5, 1, 6),
+                order(5, MONDAY, "UPS", 5, 1, 1),
+                order(6, MONDAY, "UPS", 5, 1, 5));
+
+        List<PlannedWave> waves = new WavePlanner(WaveLimits.of(null, null, 3)).plan(orders);
+
+        assertThat(waves).hasSize(2);
+        assertThat(ids(waves.get(0))).containsExactlyInAnyOrder(1, 3, 5);
+        assertThat(waves.get(0).zones()).isEqualTo(zones(0, 1));
+        assertThat(ids(waves.get(1))).containsExactlyInAnyOrder(2, 4, 6);
+        assertThat(waves.get(1).zones()).isEqualTo(zones(5, 6));
+    }
+
+    @Test
+    public void testRespectsLineWeightAndOrderLimits() {
+        List<WaveOrder> orders = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            orders.add(new WaveOrder(i, "SO-" + i, MONDAY, "UPS", 5, 1 + i % 4, 2.5 * (i % 3), zones(i % 5)));
+        }
+        // Order 21 alone is over the line limit and still gets planned
+        orders.add(new WaveOrder(21, "SO-21", MONDAY, "UPS", 5, 40, 1.0, zones(0)));
+
+        List<PlannedWave> waves = new WavePlanner(new WaveLimits(10, 12.0, 4)).plan(orders);
+
+        assertThat(waves.stream().mapToInt(wave -> wave.orders().size()).sum()).isEqualTo(21);
+        for (PlannedWave wave : waves) {
+            if (wave.orders().size() == 1) {
+                continue;
+            }
+            assertThat(wave.orders().size()).isLessThanOrEqualTo(4);
+            assertThat(wave.lines()).isLessThanOrEqualTo(10);
+            assertThat(wave.weightKg()).isLessThanOrEqualTo(12.0);
+        }
+        assertThat(waves).anySatisfy(wave -> assertThat(ids(wave)).containsExactly(21));
+    }
+
+    @Test
+    public void testPlansTenThousandOrdersQuickly() {
+        Random random = new Random(48);
+        List<WaveOrder> orders = new ArrayList<>();
+        for (int i = 1; i <= 10_000; i++) {
+            BitSet zones = new BitSet();
+            int lines = 1 + random.nextInt(6);
+            for (int line = 0; line < lines; line++) {
+                zones.set(random.nextInt(40));
+            }
+            orders.add(new WaveOrder(i, "SO-" + i, MONDAY.plusDays(random.nextInt(3)),
+                    random.nextBoolean() ? "UPS" : "FEDEX", random.nextInt(10) == 0 ? 1 : 5, lines,
+                    random.nextDouble() * 20, zones));
+        }
+        WavePlanner planner = new WavePlanner(WaveLimits.of(120, null, 50));
+        // Warm up
+        planner.plan(orders);
+
+        long start = System.nanoTime();
+        List<PlannedWave> waves = planner.plan(orders);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(waves.stream().mapToInt(wave -> wave.orders().size()).sum()).isEqualTo(10_000);
+        assertThat(elapsedMillis).isLessThan(1_000);
+    }
+
+    @Test
+    public void testAllocatorTakesStockFirstExpiryFirstAndAllOrNothing() {
+        StockAllocator allocator = new StockAllocator(List.of(
+                new StockAllocator.StockSlot(11, 1, 7, 30_000, "EA"),
+                new StockAllocator.StockSlot(12, 1, 8, 50_000, "EA"),
+                new StockAllocator.StockSlot(21, 2, 8, 10_000, "EA")));
+
+        List<StockAllocator.Allocation> first = allocator.allocate(List.of(
+                new StockAllocator.Demand(1, 40_000), new StockAllocator.Demand(2, 10_000)));
+        assertThat(first).containsExactly(
+                new StockAllocator.Allocation(11, 1, 7, 30_000, "EA"),
+                new StockAllocator.Allocation(12, 1, 8, 10_000, "EA"),
+                new StockAllocator.Allocation(21, 2, 8, 10_000, "EA"));
+
+        // Product 2 is gone, so product 1 must stay untouched
+        assertThat(allocator.allocate(List.of(
+                new StockAllocator.Demand(1, 10_000), new StockAllocator.Demand(2, 1)))).isNull();
+        assertThat(allocator.allocate(List.of(new StockAllocator.Demand(1, 40_000))))
+                .containsExactly(new StockAllocator.Allocation(12, 1, 8, 40_000, "EA"));
+        assertThat(allocator.allocate(List.of(new StockAllocator.Demand(1, 1)))).isNull();
+    }
+
+    private static WaveOrder order(int id, LocalDate cutoff, String carrier, int priority, int lines, int... zones) {
+        return new WaveOrder(id, "SO-" + id, cutoff, carrier, priority, lines, 1.0, zones(zones));
+    }
+
+    private static BitSet zones(int... indexes) {
+        BitSet zones = new BitSet();
+        for (int index : indexes) {
+            zones.set(index);
+        }
+        return zones;
+    }
+
+    private static List<Integer> ids(PlannedWave wave) {
+        return wave.orders().stream().map(WaveOrder::orderId).toList();
+    }
+}
@@ -0,0 +1,35 @@
+package com.superware.wms.tenant.context;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TenantScopeTest {
+
+    @AfterEach
+    public void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void testRunsAsTheTenantAndClearsAnEmptyContext() {
+        String result = TenantScope.call(7, TenantContextHolder::getCurrentTenant);
+
+        assertThat(result).isEqualTo("7");
+        assertThat(TenantContextHolder.getCurrentTenant()).isNull();
+    }
+
+    @Test
+    public void testRestoresThePreviousTenantWhenTheWorkFails() {
+        TenantContextHolder.setCurrentTenant("1");
+
+        assertThatThrownBy(() -> TenantScope.call(2, () -> {
+            assertThat(TenantContextHolder.getCurrentTenant()).isEqualTo("2");
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(TenantContextHolder.getCurrentTenant()).isEqualTo("1");
+    }
+}
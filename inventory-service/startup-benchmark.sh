@@ -0,0 +1,83 @@
+#!/bin/bash
+
+# Compares startup time, first-request latency and memory footprint of inventory-service with
+# and without Spring AOT and the AppCDS archive, and as a native executable when one is built.
+#
+# Build first:   mvn -Paot package -DskipTests
+#                mvn -Pnative package -DskipTests   (optional, needs GraalVM; adds the native mode)
+# Run:           ./startup-benchmark.sh [runs] [path]
+#
+# Each mode is started [runs] times (default 5); the JVM modes use the extracted jar in target/cds.
+# Startup is the "process running for" time Spring Boot logs once the application is ready; first
+# request is the latency of the first GET of [path] (default /api/v1/inventory/items?page=0&size=20)
+# with X-Tenant-ID: 1, and RSS is the resident set size right after it. Extra options can be passed
+# in JAVA_OPTS, e.g. to start without a database:
+# JAVA_OPTS="-Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false"
+
+RUNS=${1:-5}
+REQUEST_PATH=${2:-"/api/v1/inventory/items?page=0&size=20"}
+PORT=${PORT:-18082}
+TARGET="$(cd "$(dirname "$0")" && pwd)/target"
+DIR="$TARGET/cds"
+JAR="inventory-service-1.0.0-SNAPSHOT.jar"
+ARCHIVE="inventory-service.jsa"
+
+if [ ! -f "$DIR/$JAR" ] || [ ! -f "$DIR/$ARCHIVE" ]; then
+    echo "❌ $DIR does not contain $JAR and $ARCHIVE. Build with: mvn -Paot package -DskipTests"
+    exit 1
+fi
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { if (NR % 2) print values[(NR + 1) / 2]; else print (values[NR / 2] + values[NR / 2 + 1]) / 2 }'
+}
+
+run_mode() {
+    local name=$1
+    shift
+    local startups=()
+    local requests=()
+    local memory=()
+    for ((run = 1; run <= RUNS; run++)); do
+        local log
+        log=$(mktemp)
+        (cd "$DIR" && exec "$@" $JAVA_OPTS --server.port="$PORT" > "$log" 2>&1) &
+        local pid=$!
+
+        local started=""
+        for ((wait = 0; wait < 1200; wait++)); do
+            started=$(grep -o "process running for [0-9.]*" "$log" | awk '{ print $4 }')
+            if [ -n "$started" ] || ! kill -0 "$pid" 2> /dev/null; then
+                break
+            fi
+            sleep 0.05
+        done
+        if [ -z "$started" ]; then
+            echo "❌ $name did not start, see $log"
+            kill "$pid" 2> /dev/null
+            return 1
+        fi
+
+        local first
+        first=$(curl -s -o /dev/null -w "%{time_total}" -H "X-Tenant-ID: 1" "http://localhost:$PORT$REQUEST_PATH")
+        memory+=("$(awk '/VmRSS/ { printf "%.0f", $2 / 1024 }' "/proc/$pid/status")")
+        kill "$pid" 2> /dev/null
+        wait "$pid" 2> /dev/null
+        rm -f "$log"
+
+        startups+=("$started")
+        requests+=("$(awk -v t="$first" 'BEGIN { printf "%.0f", t * 1000 }')")
+    done
+    printf "%-10s startup %6.2f s   first request %5s ms   RSS %5s MB   (median of %d)\n" "$name" \
+        "$(printf "%s\n" "${startups[@]}" | median)" "$(printf "%s\n" "${requests[@]}" | median)" \
+        "$(printf "%s\n" "${memory[@]}" | median)" "$RUNS"
+}
+
+echo "Benchmarking inventory-service startup ($RUNS runs per mode, GET $REQUEST_PATH)..."
+run_mode "jar" java -jar "$JAR"
+run_mode "aot" java -Dspring.aot.enabled=true -jar "$JAR"
+run_mode "cds" java -XX:SharedArchiveFile="$ARCHIVE" -Xlog:cds=off -Xlog:cds+dynamic=off -jar "$JAR"
+run_mode "aot+cds" java -XX:SharedArchiveFile="$ARCHIVE" -Xlog:cds=off -Xlog:cds+dynamic=off \
+    -Dspring.aot.enabled=true -jar "$JAR"
+if [ -x "$TARGET/inventory-service" ]; then
+    run_mode "native" "$TARGET/inventory-service"
+fi